@@ -60,6 +60,7 @@ public class CassandraConfigurationReadingTest {
                 .blobPartSize(9)
                 .attachmentV2MigrationReadTimeout(10)
                 .messageAttachmentIdsReadTimeout(11)
+                .blobReadConcurrency(12)
                 .build());
     }
 
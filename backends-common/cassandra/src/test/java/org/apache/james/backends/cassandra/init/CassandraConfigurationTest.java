@@ -185,6 +185,20 @@ public class CassandraConfigurationTest {
             .isInstanceOf(IllegalArgumentException.class);
     }
 
+    @Test
+    public void blobReadConcurrencyShouldThrowOnZero() {
+        assertThatThrownBy(() -> CassandraConfiguration.builder()
+                .blobReadConcurrency(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void blobReadConcurrencyShouldThrowOnNegativeValue() {
+        assertThatThrownBy(() -> CassandraConfiguration.builder()
+                .blobReadConcurrency(-1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     public void builderShouldCreateTheRightObject() {
         int aclMaxRetry = 1;
@@ -198,6 +212,7 @@ public class CassandraConfigurationTest {
         int blobPartSize = 10;
         int attachmentV2MigrationReadTimeout = 11;
         int messageAttachmentIdReadTimeout = 12;
+        int blobReadConcurrency = 13;
 
         CassandraConfiguration configuration = CassandraConfiguration.builder()
             .aclMaxRetry(aclMaxRetry)
@@ -211,6 +226,7 @@ public class CassandraConfigurationTest {
             .blobPartSize(blobPartSize)
             .attachmentV2MigrationReadTimeout(attachmentV2MigrationReadTimeout)
             .messageAttachmentIdsReadTimeout(messageAttachmentIdReadTimeout)
+            .blobReadConcurrency(blobReadConcurrency)
             .build();
 
         softly.assertThat(configuration.getAclMaxRetry()).isEqualTo(aclMaxRetry);
@@ -224,6 +240,7 @@ public class CassandraConfigurationTest {
         softly.assertThat(configuration.getBlobPartSize()).isEqualTo(blobPartSize);
         softly.assertThat(configuration.getAttachmentV2MigrationReadTimeout()).isEqualTo(attachmentV2MigrationReadTimeout);
         softly.assertThat(configuration.getMessageAttachmentIdsReadTimeout()).isEqualTo(messageAttachmentIdReadTimeout);
+        softly.assertThat(configuration.getBlobReadConcurrency()).isEqualTo(blobReadConcurrency);
     }
 
 }
@@ -0,0 +1,206 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.backends.es;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Tuning of the {@link ElasticSearchBulkIndexer}.
+ *
+ * Pending operations are flushed as a bulk request as soon as maxActions operations or maxSizeInBytes bytes are
+ * accumulated, or after flushInterval. Item failures caused by a saturated cluster are retried up to maxRetries times.
+ */
+public class BulkIndexingConfiguration {
+
+    public static class Builder {
+        private Optional<Integer> maxActions;
+        private Optional<Long> maxSizeInBytes;
+        private Optional<Duration> flushInterval;
+        private Optional<Integer> maxConcurrentRequests;
+        private Optional<Integer> maxPendingActions;
+        private Optional<Integer> maxRetries;
+        private Optional<Duration> minRetryBackoff;
+
+        Builder() {
+            maxActions = Optional.empty();
+            maxSizeInBytes = Optional.empty();
+            flushInterval = Optional.empty();
+            maxConcurrentRequests = Optional.empty();
+            maxPendingActions = Optional.empty();
+            maxRetries = Optional.empty();
+            minRetryBackoff = Optional.empty();
+        }
+
+        public Builder maxActions(int maxActions) {
+            this.maxActions = Optional.of(maxActions);
+            return this;
+        }
+
+        public Builder maxSizeInBytes(long maxSizeInBytes) {
+            this.maxSizeInBytes = Optional.of(maxSizeInBytes);
+            return this;
+        }
+
+        public Builder flushInterval(Duration flushInterval) {
+            this.flushInterval = Optional.of(flushInterval);
+            return this;
+        }
+
+        public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = Optional.of(maxConcurrentRequests);
+            return this;
+        }
+
+        public Builder maxPendingActions(int maxPendingActions) {
+            this.maxPendingActions = Optional.of(maxPendingActions);
+            return this;
+        }
+
+        public Builder maxRetries(int maxRetries) {
+            this.maxRetries = Optional.of(maxRetries);
+            return this;
+        }
+
+        public Builder minRetryBackoff(Duration minRetryBackoff) {
+            this.minRetryBackoff = Optional.of(minRetryBackoff);
+            return this;
+        }
+
+        public BulkIndexingConfiguration build() {
+            int actions = maxActions.orElse(DEFAULT_MAX_ACTIONS);
+            long sizeInBytes = maxSizeInBytes.orElse(DEFAULT_MAX_SIZE_IN_BYTES);
+            Duration interval = flushInterval.orElse(DEFAULT_FLUSH_INTERVAL);
+            int concurrentRequests = maxConcurrentRequests.orElse(DEFAULT_MAX_CONCURRENT_REQUESTS);
+            int pendingActions = maxPendingActions.orElse(DEFAULT_MAX_PENDING_ACTIONS);
+            int retries = maxRetries.orElse(DEFAULT_MAX_RETRIES);
+            Duration retryBackoff = minRetryBackoff.orElse(DEFAULT_MIN_RETRY_BACKOFF);
+
+            Preconditions.checkArgument(actions > 0, "'maxActions' should be strictly positive");
+            Preconditions.checkArgument(sizeInBytes > 0, "'maxSizeInBytes' should be strictly positive");
+            Preconditions.checkArgument(!interval.isNegative() && !interval.isZero(), "'flushInterval' should be strictly positive");
+            Preconditions.checkArgument(concurrentRequests > 0, "'maxConcurrentRequests' should be strictly positive");
+            Preconditions.checkArgument(pendingActions >= actions, "'maxPendingActions' should be greater than or equal to 'maxActions'");
+            Preconditions.checkArgument(retries >= 0, "'maxRetries' should be positive");
+            Preconditions.checkArgument(!retryBackoff.isNegative(), "'minRetryBackoff' should be positive");
+
+            return new BulkIndexingConfiguration(actions, sizeInBytes, interval, concurrentRequests, pendingActions, retries, retryBackoff);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final int DEFAULT_MAX_ACTIONS = 100;
+    public static final long DEFAULT_MAX_SIZE_IN_BYTES = 5 * 1024 * 1024;
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(50);
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+    public static final int DEFAULT_MAX_PENDING_ACTIONS = 1000;
+    public static final int DEFAULT_MAX_RETRIES = 3;
+    public static final Duration DEFAULT_MIN_RETRY_BACKOFF = Duration.ofMillis(100);
+
+    public static final BulkIndexingConfiguration DEFAULT_CONFIGURATION = builder().build();
+
+    private final int maxActions;
+    private final long maxSizeInBytes;
+    private final Duration flushInterval;
+    private final int maxConcurrentRequests;
+    private final int maxPendingActions;
+    private final int maxRetries;
+    private final Duration minRetryBackoff;
+
+    private BulkIndexingConfiguration(int maxActions, long maxSizeInBytes, Duration flushInterval, int maxConcurrentRequests,
+                                      int maxPendingActions, int maxRetries, Duration minRetryBackoff) {
+        this.maxActions = maxActions;
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.flushInterval = flushInterval;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.maxPendingActions = maxPendingActions;
+        this.maxRetries = maxRetries;
+        this.minRetryBackoff = minRetryBackoff;
+    }
+
+    public int getMaxActions() {
+        return maxActions;
+    }
+
+    public long getMaxSizeInBytes() {
+        return maxSizeInBytes;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public int getMaxPendingActions() {
+        return maxPendingActions;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public Duration getMinRetryBackoff() {
+        return minRetryBackoff;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof BulkIndexingConfiguration) {
+            BulkIndexingConfiguration that = (BulkIndexingConfiguration) o;
+
+            return Objects.equals(this.maxActions, that.maxActions)
+                && Objects.equals(this.maxSizeInBytes, that.maxSizeInBytes)
+                && Objects.equals(this.flushInterval, that.flushInterval)
+                && Objects.equals(this.maxConcurrentRequests, that.maxConcurrentRequests)
+                && Objects.equals(this.maxPendingActions, that.maxPendingActions)
+                && Objects.equals(this.maxRetries, that.maxRetries)
+                && Objects.equals(this.minRetryBackoff, that.minRetryBackoff);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(maxActions, maxSizeInBytes, flushInterval, maxConcurrentRequests, maxPendingActions, maxRetries, minRetryBackoff);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("maxActions", maxActions)
+            .add("maxSizeInBytes", maxSizeInBytes)
+            .add("flushInterval", flushInterval)
+            .add("maxConcurrentRequests", maxConcurrentRequests)
+            .add("maxPendingActions", maxPendingActions)
+            .add("maxRetries", maxRetries)
+            .add("minRetryBackoff", minRetryBackoff)
+            .toString();
+    }
+}
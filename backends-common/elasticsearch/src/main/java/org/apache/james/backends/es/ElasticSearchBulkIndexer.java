@@ -0,0 +1,535 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.backends.es;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.james.metrics.api.Metric;
+import org.apache.james.metrics.api.MetricFactory;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.rest.RestStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.Multimaps;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.publisher.UnicastProcessor;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Indexes documents through bulk requests rather than one request per document.
+ *
+ * Operations are accumulated then grouped per {@link RoutingKey}, so that each bulk request targets a single shard.
+ * Bulks never exceed {@link BulkIndexingConfiguration#getMaxActions()} operations nor
+ * {@link BulkIndexingConfiguration#getMaxSizeInBytes()}. {@link Flush#BATCHED} operations are sent once
+ * {@link BulkIndexingConfiguration#getMaxActions()} operations are pending or after
+ * {@link BulkIndexingConfiguration#getFlushInterval()}. {@link Flush#IMMEDIATE} operations are sent right away, along
+ * with the other immediate operations submitted meanwhile.
+ *
+ * At most {@link BulkIndexingConfiguration#getMaxConcurrentRequests()} bulks are in flight. Operations submitted
+ * while {@link BulkIndexingConfiguration#getMaxPendingActions()} operations are not acknowledged yet wait for some to
+ * complete before being batched. Callers are never blocked: they are notified through the returned {@link Mono}.
+ *
+ * Items rejected because the cluster is overloaded, as well as bulks failing on IO errors, are retried with an
+ * exponential backoff.
+ *
+ * Should the batching pipeline fail unexpectedly, the operations it holds are failed and it is restarted. Operations
+ * not acknowledged once {@link #close()} is done are failed as well.
+ */
+public class ElasticSearchBulkIndexer {
+    /**
+     * When submitted operations are sent.
+     */
+    public enum Flush {
+        /**
+         * Waits for other operations in order to send bulks as big as possible. Suited to callers not waiting for
+         * the result.
+         */
+        BATCHED,
+        /**
+         * Sends the operation without waiting for the flush interval. Suited to callers waiting for the result.
+         */
+        IMMEDIATE
+    }
+
+    public static final String BULK_LATENCY_METRIC_NAME = "es:bulk:latency";
+    public static final String BULK_REQUESTS_METRIC_NAME = "es:bulk:requests";
+    public static final String BULK_ACTIONS_METRIC_NAME = "es:bulk:actions";
+    public static final String BULK_RETRIES_METRIC_NAME = "es:bulk:retries";
+    public static final String BULK_FAILURES_METRIC_NAME = "es:bulk:failures";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElasticSearchBulkIndexer.class);
+    private static final int OPERATION_OVERHEAD_IN_BYTES = 50;
+    private static final Duration FLUSH_ON_CLOSE_TIMEOUT = Duration.ofSeconds(30);
+
+    private static class Operation {
+        private final RoutingKey routingKey;
+        private final DocWriteRequest<?> request;
+        private final long estimatedSizeInBytes;
+        private final Flush flush;
+        private final MonoProcessor<BulkItemResponse> result;
+        private final AtomicBoolean acknowledged;
+        private volatile int attempt;
+
+        private Operation(RoutingKey routingKey, DocWriteRequest<?> request, long estimatedSizeInBytes, Flush flush) {
+            this.routingKey = routingKey;
+            this.request = request;
+            this.estimatedSizeInBytes = estimatedSizeInBytes;
+            this.flush = flush;
+            this.result = MonoProcessor.create();
+            this.acknowledged = new AtomicBoolean(false);
+            this.attempt = 0;
+        }
+
+        private boolean isAcknowledged() {
+            return acknowledged.get();
+        }
+    }
+
+    private static class Bulk {
+        private final List<Operation> operations;
+
+        private Bulk(List<Operation> operations) {
+            this.operations = operations;
+        }
+
+        private BulkRequest toRequest() {
+            BulkRequest request = new BulkRequest();
+            operations.forEach(operation -> request.add(operation.request));
+            return request;
+        }
+    }
+
+    private final RestHighLevelClient client;
+    private final AliasName aliasName;
+    private final BulkIndexingConfiguration configuration;
+    private final MetricFactory metricFactory;
+    private final Metric bulkRequests;
+    private final Metric bulkActions;
+    private final Metric retries;
+    private final Metric failures;
+    private final Semaphore pendingPermits;
+    private final Queue<Operation> waitingOperations;
+    private final Set<Operation> submittedOperations;
+    private final Queue<Operation> immediateOperations;
+    private final FluxSink<Operation> operationSink;
+    private final FluxSink<Boolean> immediateFlushSink;
+    private final MonoProcessor<Void> terminated;
+    private volatile boolean closed;
+
+    public ElasticSearchBulkIndexer(RestHighLevelClient client, WriteAliasName aliasName,
+                                    BulkIndexingConfiguration configuration, MetricFactory metricFactory) {
+        this.client = client;
+        this.aliasName = aliasName;
+        this.configuration = configuration;
+        this.metricFactory = metricFactory;
+        this.bulkRequests = metricFactory.generate(BULK_REQUESTS_METRIC_NAME);
+        this.bulkActions = metricFactory.generate(BULK_ACTIONS_METRIC_NAME);
+        this.retries = metricFactory.generate(BULK_RETRIES_METRIC_NAME);
+        this.failures = metricFactory.generate(BULK_FAILURES_METRIC_NAME);
+        this.pendingPermits = new Semaphore(configuration.getMaxPendingActions());
+        this.waitingOperations = new ConcurrentLinkedQueue<>();
+        this.submittedOperations = ConcurrentHashMap.newKeySet();
+        this.immediateOperations = new ConcurrentLinkedQueue<>();
+        this.terminated = MonoProcessor.create();
+        this.closed = false;
+
+        UnicastProcessor<Operation> processor = UnicastProcessor.create();
+        this.operationSink = processor.sink();
+        UnicastProcessor<Boolean> immediateFlushProcessor = UnicastProcessor.create();
+        this.immediateFlushSink = immediateFlushProcessor.sink();
+        // Shared so that the pipeline can be subscribed again after a failure
+        Flux<Operation> operations = processor.publish().autoConnect();
+        Flux<Boolean> immediateFlushes = immediateFlushProcessor.publish().autoConnect();
+        Flux.merge(
+                operations
+                    .filter(operation -> !operation.isAcknowledged())
+                    .bufferTimeout(configuration.getMaxActions(), configuration.getFlushInterval())
+                    // Buffers are emitted upon timeout regardless of the demand: keep them while bulks are in flight
+                    .onBackpressureBuffer(),
+                immediateFlushes
+                    // Draining asynchronously groups the immediate operations submitted in a row
+                    .onBackpressureLatest()
+                    .publishOn(Schedulers.boundedElastic(), 1)
+                    .map(any -> drainImmediateOperations()))
+            .concatMapIterable(this::toBulks)
+            .flatMap(this::execute, configuration.getMaxConcurrentRequests())
+            .doOnError(e -> {
+                LOGGER.error("Bulk indexing pipeline failed, restarting it", e);
+                failSubmittedOperations(e);
+            })
+            .retry()
+            .doFinally(any -> terminated.onComplete())
+            .subscribe();
+    }
+
+    /**
+     * @return a Mono completing once the document is indexed, failing if ElasticSearch rejected it.
+     */
+    public Mono<Void> index(DocumentId id, String content, RoutingKey routingKey) {
+        return index(id, content, routingKey, Flush.BATCHED);
+    }
+
+    /**
+     * @return a Mono completing once the document is indexed, failing if ElasticSearch rejected it.
+     */
+    public Mono<Void> index(DocumentId id, String content, RoutingKey routingKey, Flush flush) {
+        Preconditions.checkArgument(content != null, "content should be provided");
+        Preconditions.checkNotNull(routingKey);
+
+        IndexRequest request = new IndexRequest(aliasName.getValue())
+            .type(NodeMappingFactory.DEFAULT_MAPPING_NAME)
+            .id(id.asString())
+            .source(content, XContentType.JSON)
+            .routing(routingKey.asString());
+
+        return submit(new Operation(routingKey, request, estimateSize(id, content), flush))
+            .flatMap(this::failIfRejected);
+    }
+
+    /**
+     * @return a Mono completing once every part is processed. Like {@link ElasticSearchIndexer#update(List, RoutingKey)},
+     * items rejected by ElasticSearch, for instance because the document is missing, are only logged.
+     */
+    public Mono<Void> update(List<UpdatedRepresentation> updatedDocumentParts, RoutingKey routingKey) {
+        return update(updatedDocumentParts, routingKey, Flush.BATCHED);
+    }
+
+    /**
+     * @return a Mono completing once every part is processed, item failures being only logged.
+     */
+    public Mono<Void> update(List<UpdatedRepresentation> updatedDocumentParts, RoutingKey routingKey, Flush flush) {
+        Preconditions.checkNotNull(updatedDocumentParts);
+        Preconditions.checkNotNull(routingKey);
+
+        ImmutableList<Operation> operations = updatedDocumentParts.stream()
+            .map(updatedDocumentPart -> new Operation(routingKey,
+                new UpdateRequest(aliasName.getValue(),
+                    NodeMappingFactory.DEFAULT_MAPPING_NAME,
+                    updatedDocumentPart.getId().asString())
+                    .doc(updatedDocumentPart.getUpdatedDocumentPart(), XContentType.JSON)
+                    .routing(routingKey.asString()),
+                estimateSize(updatedDocumentPart.getId(), updatedDocumentPart.getUpdatedDocumentPart()),
+                flush))
+            .collect(ImmutableList.toImmutableList());
+
+        return submitAll(operations);
+    }
+
+    /**
+     * @return a Mono completing once every deletion is processed, item failures being only logged.
+     */
+    public Mono<Void> delete(List<DocumentId> ids, RoutingKey routingKey) {
+        return delete(ids, routingKey, Flush.BATCHED);
+    }
+
+    /**
+     * @return a Mono completing once every deletion is processed, item failures being only logged.
+     */
+    public Mono<Void> delete(List<DocumentId> ids, RoutingKey routingKey, Flush flush) {
+        Preconditions.checkNotNull(ids);
+        Preconditions.checkNotNull(routingKey);
+
+        ImmutableList<Operation> operations = ids.stream()
+            .map(id -> new Operation(routingKey,
+                new DeleteRequest(aliasName.getValue())
+                    .type(NodeMappingFactory.DEFAULT_MAPPING_NAME)
+                    .id(id.asString())
+                    .routing(routingKey.asString()),
+                estimateSize(id, ""),
+                flush))
+            .collect(ImmutableList.toImmutableList());
+
+        return submitAll(operations);
+    }
+
+    /**
+     * @return a Mono completing once the operations submitted so far for the given routing key are acknowledged,
+     * whatever their outcome. Requests not going through bulks can wait for it in order not to race with them.
+     */
+    public Mono<Void> awaitPending(RoutingKey routingKey) {
+        return Flux.defer(() -> Flux.fromIterable(ImmutableList.<Operation>builder()
+                .addAll(waitingOperations)
+                .addAll(submittedOperations)
+                .build()))
+            .filter(operation -> operation.routingKey.equals(routingKey))
+            .flatMap(operation -> operation.result.onErrorResume(e -> Mono.empty()))
+            .then();
+    }
+
+    /**
+     * Stops accepting new operations and flushes the submitted ones. Operations still not acknowledged afterwards,
+     * for instance awaiting a retry, are failed.
+     */
+    @PreDestroy
+    public void close() {
+        closed = true;
+        failWaitingOperations();
+        operationSink.complete();
+        immediateFlushSink.complete();
+        terminated.timeout(FLUSH_ON_CLOSE_TIMEOUT)
+            .onErrorResume(e -> {
+                LOGGER.warn("Pending bulk requests did not complete within {}", FLUSH_ON_CLOSE_TIMEOUT);
+                return Mono.empty();
+            })
+            .block();
+        failSubmittedOperations(closedException());
+    }
+
+    private long estimateSize(DocumentId id, String content) {
+        return OPERATION_OVERHEAD_IN_BYTES + id.asString().length() + content.length();
+    }
+
+    private Mono<Void> submitAll(List<Operation> operations) {
+        return Flux.fromIterable(operations)
+            .flatMap(this::submit)
+            .filter(BulkItemResponse::isFailed)
+            .doOnNext(item -> LOGGER.warn("Error while processing {} on document {}: {}",
+                item.getOpType(), item.getId(), item.getFailureMessage()))
+            .then();
+    }
+
+    private Mono<BulkItemResponse> submit(Operation operation) {
+        return Mono.fromRunnable(() -> enqueue(operation))
+            .then(operation.result);
+    }
+
+    private void enqueue(Operation operation) {
+        if (closed) {
+            fail(operation, closedException());
+            return;
+        }
+        waitingOperations.add(operation);
+        if (closed) {
+            failWaitingOperations();
+            return;
+        }
+        submitWaitingOperations();
+    }
+
+    private void submitWaitingOperations() {
+        while (!waitingOperations.isEmpty() && pendingPermits.tryAcquire()) {
+            Operation operation = waitingOperations.poll();
+            if (operation == null) {
+                pendingPermits.release();
+            } else {
+                submittedOperations.add(operation);
+                dispatch(operation);
+            }
+        }
+    }
+
+    private void dispatch(Operation operation) {
+        if (operation.flush == Flush.IMMEDIATE) {
+            immediateOperations.add(operation);
+            immediateFlushSink.next(true);
+        } else {
+            operationSink.next(operation);
+        }
+    }
+
+    private List<Operation> drainImmediateOperations() {
+        ImmutableList.Builder<Operation> operations = ImmutableList.builder();
+        Operation operation = immediateOperations.poll();
+        while (operation != null) {
+            if (!operation.isAcknowledged()) {
+                operations.add(operation);
+            }
+            operation = immediateOperations.poll();
+        }
+        return operations.build();
+    }
+
+    private void failWaitingOperations() {
+        Operation operation = waitingOperations.poll();
+        while (operation != null) {
+            fail(operation, closedException());
+            operation = waitingOperations.poll();
+        }
+    }
+
+    private void failSubmittedOperations(Throwable throwable) {
+        ImmutableList.copyOf(submittedOperations)
+            .forEach(operation -> fail(operation, throwable));
+    }
+
+    private IllegalStateException closedException() {
+        return new IllegalStateException("ElasticSearch bulk indexer is closed");
+    }
+
+    private Mono<Void> failIfRejected(BulkItemResponse item) {
+        if (item.isFailed()) {
+            return Mono.error(item.getFailure().getCause());
+        }
+        return Mono.empty();
+    }
+
+    private List<Bulk> toBulks(List<Operation> operations) {
+        ImmutableListMultimap<RoutingKey, Operation> operationsByRoutingKey = Multimaps.index(operations, operation -> operation.routingKey);
+
+        ImmutableList.Builder<Bulk> bulks = ImmutableList.builder();
+        operationsByRoutingKey.asMap().values().forEach(sameRoutingOperations -> {
+            List<Operation> current = new ArrayList<>();
+            long currentSize = 0;
+            for (Operation operation : sameRoutingOperations) {
+                if (!current.isEmpty() && (current.size() >= configuration.getMaxActions()
+                        || currentSize + operation.estimatedSizeInBytes > configuration.getMaxSizeInBytes())) {
+                    bulks.add(new Bulk(current));
+                    current = new ArrayList<>();
+                    currentSize = 0;
+                }
+                current.add(operation);
+                currentSize += operation.estimatedSizeInBytes;
+            }
+            bulks.add(new Bulk(current));
+        });
+        return bulks.build();
+    }
+
+    private Mono<Void> execute(Bulk bulk) {
+        bulkRequests.increment();
+        bulkActions.add(bulk.operations.size());
+
+        return metricFactory.runPublishingTimerMetric(BULK_LATENCY_METRIC_NAME, Mono.defer(() -> {
+                ListenerToFuture<BulkResponse> listener = new ListenerToFuture<>();
+                client.bulkAsync(bulk.toRequest(), RequestOptions.DEFAULT, listener);
+                return Mono.fromFuture(listener.getFuture());
+            }))
+            .doOnNext(response -> handleResponse(bulk, response))
+            .onErrorResume(e -> {
+                bulk.operations.forEach(operation -> retryOrFail(operation, e));
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    private void handleResponse(Bulk bulk, BulkResponse response) {
+        BulkItemResponse[] items = response.getItems();
+        for (int i = 0; i < items.length; i++) {
+            BulkItemResponse item = items[i];
+            Operation operation = bulk.operations.get(i);
+            if (item.isFailed() && item.status() == RestStatus.TOO_MANY_REQUESTS) {
+                retryOrComplete(operation, item);
+            } else {
+                complete(operation, item);
+            }
+        }
+    }
+
+    private void retryOrComplete(Operation operation, BulkItemResponse item) {
+        if (operation.attempt < configuration.getMaxRetries()) {
+            retry(operation);
+        } else {
+            complete(operation, item);
+        }
+    }
+
+    private void retryOrFail(Operation operation, Throwable throwable) {
+        if (isRetryable(throwable) && operation.attempt < configuration.getMaxRetries()) {
+            retry(operation);
+        } else {
+            LOGGER.warn("Error while executing bulk request", throwable);
+            fail(operation, throwable);
+        }
+    }
+
+    private boolean isRetryable(Throwable throwable) {
+        if (throwable instanceof ElasticsearchStatusException) {
+            return ((ElasticsearchStatusException) throwable).status() == RestStatus.TOO_MANY_REQUESTS;
+        }
+        return throwable instanceof IOException;
+    }
+
+    private void retry(Operation operation) {
+        if (operation.isAcknowledged()) {
+            return;
+        }
+        if (closed) {
+            fail(operation, closedException());
+            return;
+        }
+        retries.increment();
+        Duration backoff = configuration.getMinRetryBackoff().multipliedBy(1L << operation.attempt);
+        operation.attempt++;
+        Mono.delay(backoff)
+            .subscribe(any -> {
+                if (closed) {
+                    fail(operation, closedException());
+                } else {
+                    dispatch(operation);
+                }
+            });
+    }
+
+    private void complete(Operation operation, BulkItemResponse item) {
+        if (acknowledge(operation)) {
+            if (item.isFailed()) {
+                failures.increment();
+            }
+            operation.result.onNext(item);
+        }
+    }
+
+    private void fail(Operation operation, Throwable throwable) {
+        if (acknowledge(operation)) {
+            failures.increment();
+            operation.result.onError(throwable);
+        }
+    }
+
+    private boolean acknowledge(Operation operation) {
+        if (!operation.acknowledged.compareAndSet(false, true)) {
+            return false;
+        }
+        if (submittedOperations.remove(operation)) {
+            pendingPermits.release();
+            submitWaitingOperations();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,77 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.backends.es;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+public class BulkIndexingConfigurationTest {
+    @Test
+    public void shouldRespectBeanContract() {
+        EqualsVerifier.forClass(BulkIndexingConfiguration.class)
+            .verify();
+    }
+
+    @Test
+    public void buildShouldUseDefaultValues() {
+        BulkIndexingConfiguration configuration = BulkIndexingConfiguration.builder().build();
+
+        assertThat(configuration.getMaxActions()).isEqualTo(BulkIndexingConfiguration.DEFAULT_MAX_ACTIONS);
+        assertThat(configuration.getMaxSizeInBytes()).isEqualTo(BulkIndexingConfiguration.DEFAULT_MAX_SIZE_IN_BYTES);
+        assertThat(configuration.getFlushInterval()).isEqualTo(BulkIndexingConfiguration.DEFAULT_FLUSH_INTERVAL);
+        assertThat(configuration.getMaxConcurrentRequests()).isEqualTo(BulkIndexingConfiguration.DEFAULT_MAX_CONCURRENT_REQUESTS);
+        assertThat(configuration.getMaxPendingActions()).isEqualTo(BulkIndexingConfiguration.DEFAULT_MAX_PENDING_ACTIONS);
+        assertThat(configuration.getMaxRetries()).isEqualTo(BulkIndexingConfiguration.DEFAULT_MAX_RETRIES);
+        assertThat(configuration.getMinRetryBackoff()).isEqualTo(BulkIndexingConfiguration.DEFAULT_MIN_RETRY_BACKOFF);
+    }
+
+    @Test
+    public void buildShouldThrowWhenMaxActionsIsNotPositive() {
+        assertThatThrownBy(() -> BulkIndexingConfiguration.builder().maxActions(0).build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void buildShouldThrowWhenFlushIntervalIsZero() {
+        assertThatThrownBy(() -> BulkIndexingConfiguration.builder().flushInterval(Duration.ZERO).build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void buildShouldThrowWhenMaxPendingActionsIsLowerThanMaxActions() {
+        assertThatThrownBy(() -> BulkIndexingConfiguration.builder()
+                .maxActions(10)
+                .maxPendingActions(9)
+                .build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void buildShouldThrowWhenMaxRetriesIsNegative() {
+        assertThatThrownBy(() -> BulkIndexingConfiguration.builder().maxRetries(-1).build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
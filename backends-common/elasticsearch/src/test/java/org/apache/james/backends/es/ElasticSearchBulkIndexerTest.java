@@ -0,0 +1,272 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.backends.es;
+
+import static org.apache.james.backends.es.ElasticSearchIndexerTest.useDocumentId;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import org.apache.james.backends.es.ElasticSearchBulkIndexer.Flush;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
+
+public class ElasticSearchBulkIndexerTest {
+    private static final IndexName INDEX_NAME = new IndexName("index_name");
+    private static final WriteAliasName ALIAS_NAME = new WriteAliasName("alias_name");
+    private static final RoutingKey ROUTING = RoutingKey.fromString("routing");
+    private static final DocumentId DOCUMENT_ID = DocumentId.fromString("1");
+    private static final int MAX_ACTIONS = 10;
+
+    @Rule
+    public DockerElasticSearchRule elasticSearch = new DockerElasticSearchRule();
+    private RecordingMetricFactory metricFactory;
+    private ElasticSearchBulkIndexer testee;
+    private RestHighLevelClient client;
+
+    @Before
+    public void setup() {
+        client = elasticSearch.clientProvider().get();
+        new IndexCreationFactory(ElasticSearchConfiguration.DEFAULT_CONFIGURATION)
+            .useIndex(INDEX_NAME)
+            .addAlias(ALIAS_NAME)
+            .createIndexAndAliases(client);
+        metricFactory = new RecordingMetricFactory();
+        testee = new ElasticSearchBulkIndexer(client, ALIAS_NAME,
+            BulkIndexingConfiguration.builder()
+                .maxActions(MAX_ACTIONS)
+                .flushInterval(Duration.ofMillis(100))
+                .build(),
+            metricFactory);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        testee.close();
+        client.close();
+    }
+
+    @Test
+    public void indexShouldWork() throws Exception {
+        testee.index(DOCUMENT_ID, "{\"message\": \"trying out Elasticsearch\"}", ROUTING).block();
+        elasticSearch.awaitForElasticSearch();
+
+        assertThat(countMatching(QueryBuilders.matchQuery("message", "trying"))).isEqualTo(1);
+    }
+
+    @Test
+    public void indexShouldThrowWhenJsonIsNull() {
+        assertThatThrownBy(() -> testee.index(DOCUMENT_ID, null, ROUTING))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void indexShouldFailWhenTheDocumentIsRejected() {
+        assertThatThrownBy(() -> testee.index(DOCUMENT_ID, "{\"message\": ", ROUTING).block())
+            .isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    public void concurrentIndexingShouldBeGroupedInBulks() throws Exception {
+        int documentCount = 5 * MAX_ACTIONS;
+
+        Flux.range(0, documentCount)
+            .flatMap(i -> testee.index(DocumentId.fromString(String.valueOf(i)), "{\"message\": \"bulk\"}", ROUTING), documentCount)
+            .blockLast();
+        elasticSearch.awaitForElasticSearch();
+
+        assertThat(countMatching(QueryBuilders.matchQuery("message", "bulk"))).isEqualTo(documentCount);
+        assertThat(metricFactory.countFor(ElasticSearchBulkIndexer.BULK_ACTIONS_METRIC_NAME)).isEqualTo(documentCount);
+        assertThat(metricFactory.countFor(ElasticSearchBulkIndexer.BULK_REQUESTS_METRIC_NAME)).isLessThan(documentCount);
+        assertThat(metricFactory.executionTimesFor(ElasticSearchBulkIndexer.BULK_LATENCY_METRIC_NAME)).isNotEmpty();
+    }
+
+    @Test
+    public void operationsShouldBeGroupedByRoutingKey() throws Exception {
+        Flux.range(0, MAX_ACTIONS)
+            .flatMap(i -> {
+                DocumentId documentId = DocumentId.fromString(String.valueOf(i));
+                return testee.index(documentId, "{\"message\": \"routed\"}", useDocumentId(documentId));
+            }, MAX_ACTIONS)
+            .blockLast();
+        elasticSearch.awaitForElasticSearch();
+
+        assertThat(countMatching(QueryBuilders.matchQuery("message", "routed"))).isEqualTo(MAX_ACTIONS);
+        assertThat(metricFactory.countFor(ElasticSearchBulkIndexer.BULK_REQUESTS_METRIC_NAME)).isEqualTo(MAX_ACTIONS);
+    }
+
+    @Test
+    public void bulksShouldNotExceedMaxSize() throws Exception {
+        testee.close();
+        testee = new ElasticSearchBulkIndexer(client, ALIAS_NAME,
+            BulkIndexingConfiguration.builder()
+                .maxActions(MAX_ACTIONS)
+                .maxSizeInBytes(1)
+                .build(),
+            metricFactory);
+
+        Flux.range(0, MAX_ACTIONS)
+            .flatMap(i -> testee.index(DocumentId.fromString(String.valueOf(i)), "{\"message\": \"sized\"}", ROUTING), MAX_ACTIONS)
+            .blockLast();
+
+        assertThat(metricFactory.countFor(ElasticSearchBulkIndexer.BULK_REQUESTS_METRIC_NAME)).isEqualTo(MAX_ACTIONS);
+    }
+
+    @Test
+    public void operationsExceedingMaxPendingActionsShouldWaitForPreviousOnes() throws Exception {
+        testee.close();
+        testee = new ElasticSearchBulkIndexer(client, ALIAS_NAME,
+            BulkIndexingConfiguration.builder()
+                .maxActions(MAX_ACTIONS)
+                .maxPendingActions(2)
+                .flushInterval(Duration.ofMillis(10))
+                .build(),
+            metricFactory);
+        int documentCount = 5 * MAX_ACTIONS;
+
+        Flux.range(0, documentCount)
+            .flatMap(i -> testee.index(DocumentId.fromString(String.valueOf(i)), "{\"message\": \"pending\"}", ROUTING), documentCount)
+            .blockLast();
+        elasticSearch.awaitForElasticSearch();
+
+        assertThat(countMatching(QueryBuilders.matchQuery("message", "pending"))).isEqualTo(documentCount);
+    }
+
+    @Test
+    public void immediateOperationsShouldNotWaitForTheFlushInterval() throws Exception {
+        testee.close();
+        testee = new ElasticSearchBulkIndexer(client, ALIAS_NAME,
+            BulkIndexingConfiguration.builder()
+                .maxActions(MAX_ACTIONS)
+                .flushInterval(Duration.ofHours(1))
+                .build(),
+            metricFactory);
+
+        testee.index(DOCUMENT_ID, "{\"message\": \"immediate\"}", ROUTING, Flush.IMMEDIATE)
+            .block(Duration.ofSeconds(10));
+        elasticSearch.awaitForElasticSearch();
+
+        assertThat(countMatching(QueryBuilders.matchQuery("message", "immediate"))).isEqualTo(1);
+    }
+
+    @Test
+    public void immediateOperationsShouldNotExceedMaxActionsPerBulk() {
+        int documentCount = 5 * MAX_ACTIONS;
+
+        Flux.range(0, documentCount)
+            .flatMap(i -> testee.index(DocumentId.fromString(String.valueOf(i)), "{\"message\": \"immediate\"}", ROUTING, Flush.IMMEDIATE), documentCount)
+            .blockLast();
+
+        assertThat(metricFactory.countFor(ElasticSearchBulkIndexer.BULK_ACTIONS_METRIC_NAME)).isEqualTo(documentCount);
+        assertThat(metricFactory.countFor(ElasticSearchBulkIndexer.BULK_REQUESTS_METRIC_NAME)).isGreaterThanOrEqualTo(5);
+    }
+
+    @Test
+    public void awaitPendingShouldWaitForSubmittedOperations() throws Exception {
+        testee.index(DOCUMENT_ID, "{\"message\": \"pending\"}", ROUTING).subscribe();
+
+        testee.awaitPending(ROUTING).block();
+        elasticSearch.awaitForElasticSearch();
+
+        assertThat(countMatching(QueryBuilders.matchQuery("message", "pending"))).isEqualTo(1);
+    }
+
+    @Test
+    public void awaitPendingShouldCompleteWhenNoOperation() {
+        assertThat(testee.awaitPending(ROUTING).block(Duration.ofSeconds(1))).isNull();
+    }
+
+    @Test
+    public void indexShouldFailWhenClosed() {
+        testee.close();
+
+        assertThatThrownBy(() -> testee.index(DOCUMENT_ID, "{\"message\": \"closed\"}", ROUTING).block())
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void updateShouldWork() throws Exception {
+        testee.index(DOCUMENT_ID, "{\"message\": \"trying out Elasticsearch\",\"field\":\"Should be unchanged\"}", ROUTING).block();
+        elasticSearch.awaitForElasticSearch();
+
+        testee.update(ImmutableList.of(new UpdatedRepresentation(DOCUMENT_ID, "{\"message\": \"mastering out Elasticsearch\"}")), ROUTING).block();
+        elasticSearch.awaitForElasticSearch();
+
+        assertThat(countMatching(QueryBuilders.matchQuery("message", "mastering"))).isEqualTo(1);
+        assertThat(countMatching(QueryBuilders.matchQuery("field", "unchanged"))).isEqualTo(1);
+    }
+
+    @Test
+    public void updateShouldNotFailWhenTheDocumentIsMissing() {
+        testee.update(ImmutableList.of(new UpdatedRepresentation(DOCUMENT_ID, "{\"message\": \"mastering out Elasticsearch\"}")), ROUTING).block();
+
+        assertThat(metricFactory.countFor(ElasticSearchBulkIndexer.BULK_FAILURES_METRIC_NAME)).isEqualTo(1);
+    }
+
+    @Test
+    public void updateShouldThrowWhenRoutingKeyIsNull() {
+        assertThatThrownBy(() -> testee.update(ImmutableList.of(
+                new UpdatedRepresentation(DOCUMENT_ID, "{\"message\": \"mastering out Elasticsearch\"}")), null))
+            .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void deleteShouldWorkWhenMultipleDocuments() throws Exception {
+        IntStream.range(0, 3)
+            .forEach(i -> testee.index(DocumentId.fromString(String.valueOf(i)), "{\"message\": \"deleted\"}", ROUTING).block());
+        elasticSearch.awaitForElasticSearch();
+
+        testee.delete(ImmutableList.of(DocumentId.fromString("0"), DocumentId.fromString("2")), ROUTING).block();
+        elasticSearch.awaitForElasticSearch();
+
+        assertThat(countMatching(QueryBuilders.matchAllQuery())).isEqualTo(1);
+    }
+
+    @Test
+    public void deleteShouldNotFailWhenTheDocumentIsMissing() {
+        testee.delete(ImmutableList.of(DOCUMENT_ID), ROUTING).block();
+
+        assertThat(metricFactory.countFor(ElasticSearchBulkIndexer.BULK_FAILURES_METRIC_NAME)).isEqualTo(0);
+    }
+
+    private long countMatching(QueryBuilder query) throws IOException {
+        return client.search(
+                new SearchRequest(INDEX_NAME.getValue())
+                    .source(new SearchSourceBuilder().query(query)),
+                RequestOptions.DEFAULT)
+            .getHits().getTotalHits();
+    }
+}
@@ -26,6 +26,7 @@ import org.apache.james.mailbox.exception.AttachmentNotFoundException;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.model.Attachment;
 import org.apache.james.mailbox.model.AttachmentId;
+import org.apache.james.mailbox.model.Blob;
 import org.apache.james.mailbox.model.MessageId;
 
 public interface AttachmentManager {
@@ -34,6 +35,12 @@ public interface AttachmentManager {
 
     Attachment getAttachment(AttachmentId attachmentId, MailboxSession mailboxSession) throws MailboxException, AttachmentNotFoundException;
 
+    /**
+     * @return the attachment as a blob whose payload is at most length bytes of its content, starting at offset,
+     * and whose size is the one of the full content.
+     */
+    Blob getAttachmentRange(AttachmentId attachmentId, long offset, long length, MailboxSession mailboxSession) throws MailboxException, AttachmentNotFoundException;
+
     List<Attachment> getAttachments(List<AttachmentId> attachmentIds, MailboxSession mailboxSession) throws MailboxException;
 
     void storeAttachment(Attachment attachment, MailboxSession mailboxSession) throws MailboxException;
@@ -29,4 +29,12 @@ public interface BlobManager {
     BlobId toBlobId(MessageId messageId);
 
     Blob retrieve(BlobId blobId, MailboxSession mailboxSession) throws MailboxException, BlobNotFoundException;
+
+    /**
+     * @return the blob whose payload is at most length bytes of its content, starting at offset, and whose size is
+     * the one of the full content.
+     */
+    default Blob retrieve(BlobId blobId, long offset, long length, MailboxSession mailboxSession) throws MailboxException, BlobNotFoundException {
+        return retrieve(blobId, mailboxSession).range(offset, length);
+    }
 }
@@ -43,6 +43,14 @@ public interface MessageIdManager {
 
     List<MessageResult> getMessages(List<MessageId> messageId, FetchGroup minimal, MailboxSession mailboxSession) throws MailboxException;
 
+    /**
+     * Unlike {@link #getMessages(List, FetchGroup, MailboxSession)}, which always loads the full messages, only loads
+     * what the fetch group requires. Reading parts not covered by the fetch group from the results is not supported.
+     */
+    default List<MessageResult> getMessagesHonoringFetchGroup(List<MessageId> messageIds, FetchGroup fetchGroup, MailboxSession mailboxSession) throws MailboxException {
+        return getMessages(messageIds, fetchGroup, mailboxSession);
+    }
+
     DeleteResult delete(MessageId messageId, List<MailboxId> mailboxIds, MailboxSession mailboxSession) throws MailboxException;
 
     DeleteResult delete(List<MessageId> messageId, MailboxSession mailboxSession) throws MailboxException;
@@ -0,0 +1,83 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.events;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Window used for grouping the events delivered to a {@link MailboxListener.BatchingMailboxListener}: a batch is
+ * delivered once it holds maxSize events, or maxDelay after its first event.
+ */
+public class BatchConfiguration {
+    static final int DEFAULT_MAX_SIZE = 50;
+    static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(100);
+    public static final BatchConfiguration DEFAULT = of(DEFAULT_MAX_SIZE, DEFAULT_MAX_DELAY);
+
+    public static BatchConfiguration of(int maxSize, Duration maxDelay) {
+        return new BatchConfiguration(maxSize, maxDelay);
+    }
+
+    private final int maxSize;
+    private final Duration maxDelay;
+
+    private BatchConfiguration(int maxSize, Duration maxDelay) {
+        Preconditions.checkArgument(maxSize > 0, "maxSize should be strictly positive");
+        Preconditions.checkArgument(!maxDelay.isNegative() && !maxDelay.isZero(), "maxDelay should be strictly positive");
+
+        this.maxSize = maxSize;
+        this.maxDelay = maxDelay;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof BatchConfiguration) {
+            BatchConfiguration that = (BatchConfiguration) o;
+
+            return Objects.equals(this.maxSize, that.maxSize)
+                && Objects.equals(this.maxDelay, that.maxDelay);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(maxSize, maxDelay);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("maxSize", maxSize)
+            .add("maxDelay", maxDelay)
+            .toString();
+    }
+}
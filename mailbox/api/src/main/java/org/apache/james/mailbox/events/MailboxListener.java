@@ -54,6 +54,32 @@ public interface MailboxListener {
         Group getDefaultGroup();
     }
 
+    /**
+     * Group listener handling events in batches, allowing it to issue bulk writes against its backend.
+     *
+     * Event buses group the handled events into batches as described by {@link #getBatchConfiguration()}. When
+     * {@link #event(List)} fails, every event of the batch is retried, then stored in the dead letters, unless the
+     * listener reports the events that failed with a {@link PartialBatchFailure}: only those are then retried.
+     */
+    interface BatchingMailboxListener extends GroupMailboxListener {
+        default BatchConfiguration getBatchConfiguration() {
+            return BatchConfiguration.DEFAULT;
+        }
+
+        /**
+         * Informs this listener about the given events.
+         *
+         * @param events not empty, each event being handled by this listener
+         * @throws PartialBatchFailure when only some of the events could not be handled
+         */
+        void event(List<Event> events) throws Exception;
+
+        @Override
+        default void event(Event event) throws Exception {
+            event(ImmutableList.of(event));
+        }
+    }
+
     enum ExecutionMode {
         SYNCHRONOUS,
         ASYNCHRONOUS
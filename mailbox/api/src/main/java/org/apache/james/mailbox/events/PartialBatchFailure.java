@@ -0,0 +1,45 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.events;
+
+import java.util.List;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Thrown by {@link MailboxListener.BatchingMailboxListener#event(List)} when only some events of the batch failed.
+ *
+ * Event buses retry, then store in the dead letters, only the failed events: the other events of the batch are
+ * considered handled.
+ */
+public class PartialBatchFailure extends Exception {
+    private final List<Event> failedEvents;
+
+    public PartialBatchFailure(List<Event> failedEvents, Throwable cause) {
+        super("Could not handle " + failedEvents.size() + " events of the batch", cause);
+        Preconditions.checkArgument(!failedEvents.isEmpty(), "'failedEvents' should not be empty");
+        this.failedEvents = ImmutableList.copyOf(failedEvents);
+    }
+
+    public List<Event> getFailedEvents() {
+        return failedEvents;
+    }
+}
@@ -19,10 +19,23 @@
 
 package org.apache.james.mailbox.indexer;
 
+import java.util.Set;
+
+import org.apache.james.mailbox.model.MailboxId;
+
+import com.google.common.collect.ImmutableSet;
+
 public interface IndexingDetailInformation {
     int getSuccessfullyReprocessedMailCount();
 
     int getFailedReprocessedMailCount();
 
     ReIndexingExecutionFailures failures();
+
+    /**
+     * @return the mailboxes fully processed by the task, which a task resuming it skips
+     */
+    default Set<MailboxId> processedMailboxIds() {
+        return ImmutableSet.of();
+    }
 }
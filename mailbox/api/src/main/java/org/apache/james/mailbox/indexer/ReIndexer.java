@@ -19,6 +19,8 @@
 
 package org.apache.james.mailbox.indexer;
 
+import java.util.Set;
+
 import org.apache.james.core.User;
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.exception.MailboxException;
@@ -26,15 +28,49 @@ import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MailboxPath;
 import org.apache.james.task.Task;
 
+import com.google.common.collect.ImmutableSet;
+
 public interface ReIndexer {
 
-    Task reIndex(User user) throws MailboxException;
+    default Task reIndex(User user) throws MailboxException {
+        return reIndex(user, RunningOptions.DEFAULT);
+    }
+
+    default Task reIndex(User user, RunningOptions runningOptions) throws MailboxException {
+        return reIndex(user, runningOptions, ImmutableSet.of());
+    }
+
+    /**
+     * Re-indexes the mailboxes of this user, skipping the already processed ones, typically the
+     * {@link IndexingDetailInformation#processedMailboxIds()} of a previous, interrupted, re-indexing task.
+     */
+    Task reIndex(User user, RunningOptions runningOptions, Set<MailboxId> processedMailboxIds) throws MailboxException;
+
+    default Task reIndex(MailboxPath path) throws MailboxException {
+        return reIndex(path, RunningOptions.DEFAULT);
+    }
+
+    Task reIndex(MailboxPath path, RunningOptions runningOptions) throws MailboxException;
+
+    default Task reIndex(MailboxId mailboxId) throws MailboxException {
+        return reIndex(mailboxId, RunningOptions.DEFAULT);
+    }
+
+    Task reIndex(MailboxId mailboxId, RunningOptions runningOptions) throws MailboxException;
 
-    Task reIndex(MailboxPath path) throws MailboxException;
+    default Task reIndex() throws MailboxException {
+        return reIndex(RunningOptions.DEFAULT);
+    }
 
-    Task reIndex(MailboxId mailboxId) throws MailboxException;
+    default Task reIndex(RunningOptions runningOptions) throws MailboxException {
+        return reIndex(runningOptions, ImmutableSet.of());
+    }
 
-    Task reIndex() throws MailboxException;
+    /**
+     * Re-indexes all the mailboxes, skipping the already processed ones, typically the
+     * {@link IndexingDetailInformation#processedMailboxIds()} of a previous, interrupted, re-indexing task.
+     */
+    Task reIndex(RunningOptions runningOptions, Set<MailboxId> processedMailboxIds) throws MailboxException;
 
     Task reIndex(MailboxPath path, MessageUid uid) throws MailboxException;
 
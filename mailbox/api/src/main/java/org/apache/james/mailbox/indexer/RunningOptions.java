@@ -0,0 +1,123 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.indexer;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Tuning of the re-indexing tasks.
+ *
+ * - mailboxConcurrency: count of mailboxes re-indexed concurrently
+ * - fetchBatchSize: count of messages fully read at once from a mailbox, then handed together to the index. Up to
+ *   mailboxConcurrency * fetchBatchSize messages are held in memory.
+ * - messagesPerSecond: optional throttle on the count of messages re-indexed per second, across all mailboxes of a task
+ */
+public class RunningOptions {
+    public static final int DEFAULT_MAILBOX_CONCURRENCY = 4;
+    public static final int DEFAULT_FETCH_BATCH_SIZE = 20;
+    public static final RunningOptions DEFAULT = builder().build();
+
+    public static class Builder {
+        private Optional<Integer> mailboxConcurrency = Optional.empty();
+        private Optional<Integer> fetchBatchSize = Optional.empty();
+        private Optional<Integer> messagesPerSecond = Optional.empty();
+
+        public Builder mailboxConcurrency(int mailboxConcurrency) {
+            Preconditions.checkArgument(mailboxConcurrency > 0, "mailboxConcurrency should be strictly positive");
+            this.mailboxConcurrency = Optional.of(mailboxConcurrency);
+            return this;
+        }
+
+        public Builder fetchBatchSize(int fetchBatchSize) {
+            Preconditions.checkArgument(fetchBatchSize > 0, "fetchBatchSize should be strictly positive");
+            this.fetchBatchSize = Optional.of(fetchBatchSize);
+            return this;
+        }
+
+        public Builder messagesPerSecond(int messagesPerSecond) {
+            Preconditions.checkArgument(messagesPerSecond > 0, "messagesPerSecond should be strictly positive");
+            this.messagesPerSecond = Optional.of(messagesPerSecond);
+            return this;
+        }
+
+        public RunningOptions build() {
+            return new RunningOptions(
+                mailboxConcurrency.orElse(DEFAULT_MAILBOX_CONCURRENCY),
+                fetchBatchSize.orElse(DEFAULT_FETCH_BATCH_SIZE),
+                messagesPerSecond);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final int mailboxConcurrency;
+    private final int fetchBatchSize;
+    private final Optional<Integer> messagesPerSecond;
+
+    private RunningOptions(int mailboxConcurrency, int fetchBatchSize, Optional<Integer> messagesPerSecond) {
+        this.mailboxConcurrency = mailboxConcurrency;
+        this.fetchBatchSize = fetchBatchSize;
+        this.messagesPerSecond = messagesPerSecond;
+    }
+
+    public int getMailboxConcurrency() {
+        return mailboxConcurrency;
+    }
+
+    public int getFetchBatchSize() {
+        return fetchBatchSize;
+    }
+
+    public Optional<Integer> getMessagesPerSecond() {
+        return messagesPerSecond;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof RunningOptions) {
+            RunningOptions that = (RunningOptions) o;
+
+            return Objects.equals(this.mailboxConcurrency, that.mailboxConcurrency)
+                && Objects.equals(this.fetchBatchSize, that.fetchBatchSize)
+                && Objects.equals(this.messagesPerSecond, that.messagesPerSecond);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(mailboxConcurrency, fetchBatchSize, messagesPerSecond);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("mailboxConcurrency", mailboxConcurrency)
+            .add("fetchBatchSize", fetchBatchSize)
+            .add("messagesPerSecond", messagesPerSecond)
+            .toString();
+    }
+}
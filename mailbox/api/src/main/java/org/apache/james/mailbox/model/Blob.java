@@ -22,7 +22,9 @@ package org.apache.james.mailbox.model;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.Optional;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
@@ -34,8 +36,10 @@ public class Blob {
         private BlobId blobId;
         private byte[] payload;
         private String contentType;
+        private Optional<Long> size;
 
         private Builder() {
+            size = Optional.empty();
         }
 
         public Builder id(BlobId id) {
@@ -53,12 +57,21 @@ public class Blob {
             return this;
         }
 
+        /**
+         * Size of the full content, when the payload only holds a range of it. Defaults to the payload length.
+         */
+        public Builder size(long size) {
+            this.size = Optional.of(size);
+            return this;
+        }
+
         public Blob build() {
             Preconditions.checkState(blobId != null, "id can not be empty");
             Preconditions.checkState(payload != null, "payload can not be empty");
             Preconditions.checkState(contentType != null, "contentType can not be empty");
+            Preconditions.checkState(size.orElse((long) payload.length) >= payload.length, "size can not be smaller than the payload");
 
-            return new Blob(blobId, payload, contentType);
+            return new Blob(blobId, payload, contentType, size.orElse((long) payload.length));
         }
     }
 
@@ -73,10 +86,27 @@ public class Blob {
 
     @VisibleForTesting
     Blob(BlobId blobId, byte[] payload, String contentType) {
+        this(blobId, payload, contentType, payload.length);
+    }
+
+    private Blob(BlobId blobId, byte[] payload, String contentType, long size) {
         this.blobId = blobId;
         this.payload = payload;
         this.contentType = contentType;
-        this.size = payload.length;
+        this.size = size;
+    }
+
+    /**
+     * @return a blob whose payload is at most length bytes of this blob payload, starting at offset. Its size stays the
+     * one of the full content.
+     */
+    public Blob range(long offset, long length) {
+        Preconditions.checkArgument(offset >= 0, "'offset' should not be negative");
+        Preconditions.checkArgument(length >= 0, "'length' should not be negative");
+
+        int from = (int) Math.min(offset, payload.length);
+        int to = (int) Math.min(payload.length, from + Math.min(length, Integer.MAX_VALUE));
+        return new Blob(blobId, Arrays.copyOfRange(payload, from, to), contentType, size);
     }
 
     public BlobId getBlobId() {
@@ -19,11 +19,15 @@
 
 package org.apache.james.mailbox.model;
 
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 
 import org.apache.james.mailbox.exception.MailboxException;
 
+import com.google.common.io.ByteStreams;
+
 /**
  * IMAP needs to know the size of the content before it starts to write it out.
  * This interface allows direct writing whilst exposing total size.
@@ -38,7 +42,24 @@ public interface Content {
      * @throws IOException
      */
     InputStream getInputStream() throws IOException;
-    
+
+    /**
+     * Return at most length octets of the content, starting at offset. An empty stream is returned when offset is
+     * past the end of the content.
+     *
+     * The default implementation skips the leading octets of {@link #getInputStream()}.
+     */
+    default InputStream getInputStream(long offset, long length) throws IOException {
+        InputStream inputStream = getInputStream();
+        try {
+            ByteStreams.skipFully(inputStream, offset);
+            return ByteStreams.limit(inputStream, length);
+        } catch (EOFException e) {
+            inputStream.close();
+            return new ByteArrayInputStream(new byte[0]);
+        }
+    }
+
     /**
      * Size (in octets) of the content.
      * 
@@ -101,6 +101,13 @@ public interface MessageResult extends Comparable<MessageResult> {
 
         int MIME_CONTENT = 0x1000;
 
+        /**
+         * The full content is only read by ranges, through {@link Content#getInputStream(long, long)}. Implementations
+         * might then read these ranges on demand rather than loading the full content. Superseded by
+         * {@link #FULL_CONTENT}.
+         */
+        int FULL_CONTENT_RANGES = 0x2000;
+
         /**
          * Contents to be fetched. Composed bitwise.
          * 
@@ -112,6 +119,7 @@ public interface MessageResult extends Comparable<MessageResult> {
          * @see #BODY_CONTENT
          * @see #MIME_HEADERS
          * @see #MIME_CONTENT
+         * @see #FULL_CONTENT_RANGES
          */
         int content();
 
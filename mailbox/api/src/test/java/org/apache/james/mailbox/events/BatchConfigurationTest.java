@@ -0,0 +1,58 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.events;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+class BatchConfigurationTest {
+
+    @Test
+    void shouldMatchBeanContract() {
+        EqualsVerifier.forClass(BatchConfiguration.class)
+            .verify();
+    }
+
+    @Test
+    void ofShouldThrowWhenMaxSizeIsNotPositive() {
+        assertThatThrownBy(() -> BatchConfiguration.of(0, BatchConfiguration.DEFAULT_MAX_DELAY))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("maxSize should be strictly positive");
+    }
+
+    @Test
+    void ofShouldThrowWhenMaxDelayIsZero() {
+        assertThatThrownBy(() -> BatchConfiguration.of(BatchConfiguration.DEFAULT_MAX_SIZE, Duration.ZERO))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("maxDelay should be strictly positive");
+    }
+
+    @Test
+    void ofShouldThrowWhenMaxDelayIsNegative() {
+        assertThatThrownBy(() -> BatchConfiguration.of(BatchConfiguration.DEFAULT_MAX_SIZE, Duration.ofMillis(-1)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("maxDelay should be strictly positive");
+    }
+}
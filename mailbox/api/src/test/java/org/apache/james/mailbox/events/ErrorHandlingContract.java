@@ -30,12 +30,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.spy;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.james.mailbox.events.EventBusTestFixture.BatchCollectingListener;
 import org.apache.james.mailbox.util.EventCollector;
 import org.assertj.core.api.SoftAssertions;
 import org.junit.jupiter.api.Disabled;
@@ -266,6 +268,39 @@ interface ErrorHandlingContract extends EventBusContract {
             .isEmpty();
     }
 
+    @Test
+    default void deadLetterShouldStoreEveryEventOfABatchFailingGreaterThanMaxRetries() {
+        BatchCollectingListener listener = new BatchCollectingListener(BatchConfiguration.of(2, Duration.ofMillis(100)), Integer.MAX_VALUE);
+
+        eventBus().register(listener, GROUP_A);
+        eventBus().dispatch(EVENT, NO_KEYS).block();
+        eventBus().dispatch(EVENT_2, NO_KEYS).block();
+
+        WAIT_CONDITION.untilAsserted(() -> assertThat(deadLetter().failedIds(GROUP_A)
+                .flatMap(insertionId -> deadLetter().failedEvent(GROUP_A, insertionId))
+                .toIterable())
+            .containsOnly(EVENT, EVENT_2));
+        assertThat(listener.getEvents())
+            .isEmpty();
+    }
+
+    @Test
+    default void deadLetterShouldStoreOnlyTheFailedEventsOfAPartiallyFailingBatch() {
+        BatchCollectingListener listener = new BatchCollectingListener(BatchConfiguration.of(2, Duration.ofMillis(100)))
+            .failingOn(EVENT_2, Integer.MAX_VALUE);
+
+        eventBus().register(listener, GROUP_A);
+        eventBus().dispatch(EVENT, NO_KEYS).block();
+        eventBus().dispatch(EVENT_2, NO_KEYS).block();
+
+        WAIT_CONDITION.untilAsserted(() -> assertThat(deadLetter().failedIds(GROUP_A)
+                .flatMap(insertionId -> deadLetter().failedEvent(GROUP_A, insertionId))
+                .toIterable())
+            .containsOnly(EVENT_2));
+        assertThat(listener.getEvents())
+            .containsOnly(EVENT);
+    }
+
     @Test
     default void deadLetterShouldStoreWhenRedeliverFailsGreaterThanMaxRetries() {
         EventCollector eventCollector = eventCollector();
@@ -25,6 +25,9 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.james.core.User;
@@ -37,6 +40,7 @@ import org.awaitility.Duration;
 import org.awaitility.core.ConditionFactory;
 
 import com.google.common.collect.ImmutableList;
+import com.github.steveash.guavate.Guavate;
 import com.google.common.collect.ImmutableSet;
 
 public interface EventBusTestFixture {
@@ -80,6 +84,93 @@ public interface EventBusTestFixture {
         }
     }
 
+    class BatchCollectingListener implements MailboxListener.BatchingMailboxListener {
+        private final BatchConfiguration batchConfiguration;
+        private final AtomicInteger remainingFailures;
+        private final ConcurrentLinkedQueue<List<Event>> batches;
+        private final ConcurrentHashMap<Event, AtomicInteger> remainingEventFailures;
+        private final ExecutionMode executionMode;
+
+        BatchCollectingListener(BatchConfiguration batchConfiguration) {
+            this(batchConfiguration, 0);
+        }
+
+        BatchCollectingListener(BatchConfiguration batchConfiguration, int failureCount) {
+            this(batchConfiguration, failureCount, ExecutionMode.ASYNCHRONOUS);
+        }
+
+        BatchCollectingListener(BatchConfiguration batchConfiguration, int failureCount, ExecutionMode executionMode) {
+            this.batchConfiguration = batchConfiguration;
+            this.remainingFailures = new AtomicInteger(failureCount);
+            this.batches = new ConcurrentLinkedQueue<>();
+            this.remainingEventFailures = new ConcurrentHashMap<>();
+            this.executionMode = executionMode;
+        }
+
+        /**
+         * Makes the batches containing the given event fail partially, only this event being reported as failed.
+         */
+        BatchCollectingListener failingOn(Event event, int failureCount) {
+            remainingEventFailures.put(event, new AtomicInteger(failureCount));
+            return this;
+        }
+
+        @Override
+        public Group getDefaultGroup() {
+            return new GroupA();
+        }
+
+        @Override
+        public ExecutionMode getExecutionMode() {
+            return executionMode;
+        }
+
+        @Override
+        public BatchConfiguration getBatchConfiguration() {
+            return batchConfiguration;
+        }
+
+        @Override
+        public boolean isHandling(Event event) {
+            return event instanceof MailboxAdded;
+        }
+
+        @Override
+        public void event(List<Event> events) throws PartialBatchFailure {
+            if (remainingFailures.getAndDecrement() > 0) {
+                throw new RuntimeException("batch triggers throwing");
+            }
+            List<Event> failedEvents = events.stream()
+                .filter(this::fails)
+                .collect(Guavate.toImmutableList());
+            List<Event> handledEvents = events.stream()
+                .filter(event -> !failedEvents.contains(event))
+                .collect(Guavate.toImmutableList());
+            if (!handledEvents.isEmpty()) {
+                batches.add(handledEvents);
+            }
+            if (!failedEvents.isEmpty()) {
+                throw new PartialBatchFailure(failedEvents, new RuntimeException("event triggers throwing"));
+            }
+        }
+
+        private boolean fails(Event event) {
+            return Optional.ofNullable(remainingEventFailures.get(event))
+                .map(failures -> failures.getAndDecrement() > 0)
+                .orElse(false);
+        }
+
+        List<List<Event>> getBatches() {
+            return ImmutableList.copyOf(batches);
+        }
+
+        List<Event> getEvents() {
+            return batches.stream()
+                .flatMap(List::stream)
+                .collect(Guavate.toImmutableList());
+        }
+    }
+
     class GroupA extends Group {
 
     }
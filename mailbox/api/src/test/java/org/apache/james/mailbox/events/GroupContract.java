@@ -26,8 +26,12 @@ import static org.apache.james.mailbox.events.EventBusTestFixture.EVENT_UNSUPPOR
 import static org.apache.james.mailbox.events.EventBusTestFixture.FIVE_HUNDRED_MS;
 import static org.apache.james.mailbox.events.EventBusTestFixture.GROUP_A;
 import static org.apache.james.mailbox.events.EventBusTestFixture.GROUP_B;
+import static org.apache.james.mailbox.events.EventBusTestFixture.MAILBOX_PATH;
 import static org.apache.james.mailbox.events.EventBusTestFixture.NO_KEYS;
 import static org.apache.james.mailbox.events.EventBusTestFixture.ONE_SECOND;
+import static org.apache.james.mailbox.events.EventBusTestFixture.SESSION_ID;
+import static org.apache.james.mailbox.events.EventBusTestFixture.TEST_ID;
+import static org.apache.james.mailbox.events.EventBusTestFixture.USER;
 import static org.apache.james.mailbox.events.EventBusTestFixture.WAIT_CONDITION;
 import static org.apache.james.mailbox.events.EventBusTestFixture.newListener;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -48,10 +52,12 @@ import java.util.stream.IntStream;
 
 import org.apache.james.core.User;
 import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.events.EventBusTestFixture.BatchCollectingListener;
 import org.apache.james.mailbox.model.MailboxPath;
 import org.apache.james.mailbox.model.TestId;
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedMap;
 
@@ -135,6 +141,70 @@ public interface GroupContract {
             verify(listener, timeout(ONE_SECOND.toMillis()).times(1)).event(any());
         }
 
+        @Test
+        default void batchingListenerShouldReceiveEventsInBatches() {
+            BatchCollectingListener listener = new BatchCollectingListener(BatchConfiguration.of(3, Duration.ofSeconds(2)));
+            MailboxListener.MailboxAdded event3 = new MailboxListener.MailboxAdded(SESSION_ID, USER, MAILBOX_PATH, TEST_ID, Event.EventId.random());
+
+            eventBus().register(listener, GROUP_A);
+
+            eventBus().dispatch(EVENT, NO_KEYS).block();
+            eventBus().dispatch(EVENT_2, NO_KEYS).block();
+            eventBus().dispatch(event3, NO_KEYS).block();
+
+            WAIT_CONDITION.untilAsserted(() -> assertThat(listener.getBatches())
+                .containsExactly(ImmutableList.of(EVENT, EVENT_2, event3)));
+        }
+
+        @Test
+        default void batchingListenerShouldReceiveIncompleteBatchesAfterMaxDelay() {
+            BatchCollectingListener listener = new BatchCollectingListener(BatchConfiguration.of(10, Duration.ofMillis(100)));
+
+            eventBus().register(listener, GROUP_A);
+
+            eventBus().dispatch(EVENT, NO_KEYS).block();
+
+            WAIT_CONDITION.untilAsserted(() -> assertThat(listener.getBatches())
+                .containsExactly(ImmutableList.of(EVENT)));
+        }
+
+        @Test
+        default void batchingListenerShouldReceiveOnlyHandledEvents() throws Exception {
+            BatchCollectingListener listener = new BatchCollectingListener(BatchConfiguration.of(10, Duration.ofMillis(100)));
+
+            eventBus().register(listener, GROUP_A);
+
+            eventBus().dispatch(EVENT_UNSUPPORTED_BY_LISTENER, NO_KEYS).block();
+            eventBus().dispatch(EVENT, NO_KEYS).block();
+
+            WAIT_CONDITION.untilAsserted(() -> assertThat(listener.getEvents()).containsExactly(EVENT));
+        }
+
+        @Test
+        default void failingBatchesShouldBeRetried() {
+            BatchCollectingListener listener = new BatchCollectingListener(BatchConfiguration.of(2, Duration.ofMillis(100)), 1);
+
+            eventBus().register(listener, GROUP_A);
+
+            eventBus().dispatch(EVENT, NO_KEYS).block();
+            eventBus().dispatch(EVENT_2, NO_KEYS).block();
+
+            WAIT_CONDITION.untilAsserted(() -> assertThat(listener.getEvents()).containsExactlyInAnyOrder(EVENT, EVENT_2));
+        }
+
+        @Test
+        default void partiallyFailingBatchesShouldRetryOnlyFailedEvents() {
+            BatchCollectingListener listener = new BatchCollectingListener(BatchConfiguration.of(2, Duration.ofMillis(100)))
+                .failingOn(EVENT_2, 1);
+
+            eventBus().register(listener, GROUP_A);
+
+            eventBus().dispatch(EVENT, NO_KEYS).block();
+            eventBus().dispatch(EVENT_2, NO_KEYS).block();
+
+            WAIT_CONDITION.untilAsserted(() -> assertThat(listener.getEvents()).containsExactlyInAnyOrder(EVENT, EVENT_2));
+        }
+
         @Test
         default void groupListenersShouldNotReceiveNoopEvents() throws Exception {
             MailboxListener listener = newListener();
@@ -0,0 +1,53 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.james.core.User;
+import org.junit.jupiter.api.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+class UserRegistrationKeyTest {
+    private static final String USER = "user@domain.tld";
+
+    private static final UserRegistrationKey.Factory FACTORY = new UserRegistrationKey.Factory();
+
+    private static final UserRegistrationKey USER_REGISTRATION_KEY = new UserRegistrationKey(User.fromUsername(USER));
+
+    @Test
+    void shouldRespectBeanContract() {
+        EqualsVerifier.forClass(UserRegistrationKey.class)
+            .verify();
+    }
+
+    @Test
+    void asStringShouldReturnTheUsername() {
+        assertThat(USER_REGISTRATION_KEY.asString())
+            .isEqualTo(USER);
+    }
+
+    @Test
+    void fromStringShouldReturnCorrespondingRegistrationKey() {
+        assertThat(FACTORY.fromString(USER))
+            .isEqualTo(USER_REGISTRATION_KEY);
+    }
+}
@@ -0,0 +1,67 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.indexer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class RunningOptionsTest {
+    @Test
+    void builderShouldUseDefaultValues() {
+        RunningOptions runningOptions = RunningOptions.builder().build();
+
+        assertThat(runningOptions.getMailboxConcurrency()).isEqualTo(RunningOptions.DEFAULT_MAILBOX_CONCURRENCY);
+        assertThat(runningOptions.getFetchBatchSize()).isEqualTo(RunningOptions.DEFAULT_FETCH_BATCH_SIZE);
+        assertThat(runningOptions.getMessagesPerSecond()).isEmpty();
+    }
+
+    @Test
+    void builderShouldUseSuppliedValues() {
+        RunningOptions runningOptions = RunningOptions.builder()
+            .mailboxConcurrency(8)
+            .fetchBatchSize(50)
+            .messagesPerSecond(200)
+            .build();
+
+        assertThat(runningOptions.getMailboxConcurrency()).isEqualTo(8);
+        assertThat(runningOptions.getFetchBatchSize()).isEqualTo(50);
+        assertThat(runningOptions.getMessagesPerSecond()).contains(200);
+    }
+
+    @Test
+    void mailboxConcurrencyShouldBeStrictlyPositive() {
+        assertThatThrownBy(() -> RunningOptions.builder().mailboxConcurrency(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fetchBatchSizeShouldBeStrictlyPositive() {
+        assertThatThrownBy(() -> RunningOptions.builder().fetchBatchSize(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void messagesPerSecondShouldBeStrictlyPositive() {
+        assertThatThrownBy(() -> RunningOptions.builder().messagesPerSecond(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
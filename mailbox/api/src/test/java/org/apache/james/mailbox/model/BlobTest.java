@@ -82,4 +82,38 @@ public class BlobTest {
                 .build())
             .isInstanceOf(IllegalStateException.class);
     }
+
+    @Test
+    public void buildShouldThrowWhenSizeIsSmallerThanPayload() {
+        assertThatThrownBy(() ->
+            Blob.builder()
+                .id(ID)
+                .contentType(CONTENT_TYPE)
+                .payload(PAYLOAD)
+                .size(2)
+                .build())
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void rangeShouldSlicePayloadAndKeepSize() {
+        Blob range = new Blob(ID, PAYLOAD, CONTENT_TYPE).range(1, 1);
+
+        assertThat(range.getPayload()).isEqualTo("b".getBytes(StandardCharsets.UTF_8));
+        assertThat(range.getSize()).isEqualTo(3);
+    }
+
+    @Test
+    public void rangeShouldStopAtPayloadEnd() {
+        Blob range = new Blob(ID, PAYLOAD, CONTENT_TYPE).range(1, Long.MAX_VALUE);
+
+        assertThat(range.getPayload()).isEqualTo("bc".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void rangeShouldBeEmptyWhenOffsetIsAfterPayload() {
+        Blob range = new Blob(ID, PAYLOAD, CONTENT_TYPE).range(5, 2);
+
+        assertThat(range.getPayload()).isEmpty();
+    }
 }
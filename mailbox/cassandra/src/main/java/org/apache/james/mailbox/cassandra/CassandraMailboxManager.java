@@ -20,6 +20,7 @@
 package org.apache.james.mailbox.cassandra;
 
 import java.util.EnumSet;
+import java.util.Optional;
 
 import javax.inject.Inject;
 
@@ -29,6 +30,7 @@ import org.apache.james.mailbox.MailboxSession;
 import org.apache.james.mailbox.events.EventBus;
 import org.apache.james.mailbox.model.Mailbox;
 import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.mailbox.store.MailboxHierarchyCache;
 import org.apache.james.mailbox.store.MailboxManagerConfiguration;
 import org.apache.james.mailbox.store.PreDeletionHooks;
 import org.apache.james.mailbox.store.SessionProvider;
@@ -56,7 +58,6 @@ public class CassandraMailboxManager extends StoreMailboxManager {
     private final MailboxPathLocker locker;
     private final CassandraMailboxSessionMapperFactory mapperFactory;
 
-    @Inject
     public CassandraMailboxManager(CassandraMailboxSessionMapperFactory mapperFactory, SessionProvider sessionProvider,
                                    MailboxPathLocker locker, MessageParser messageParser,
                                    MessageId.Factory messageIdFactory, EventBus eventBus,
@@ -64,6 +65,29 @@ public class CassandraMailboxManager extends StoreMailboxManager {
                                    QuotaComponents quotaComponents, MessageSearchIndex index,
                                    MailboxManagerConfiguration configuration,
                                    PreDeletionHooks preDeletionHooks) {
+        this(mapperFactory, sessionProvider, locker, messageParser, messageIdFactory, eventBus, annotationManager,
+            storeRightManager, quotaComponents, index, configuration, preDeletionHooks, Optional.empty());
+    }
+
+    @Inject
+    public CassandraMailboxManager(CassandraMailboxSessionMapperFactory mapperFactory, SessionProvider sessionProvider,
+                                   MailboxPathLocker locker, MessageParser messageParser,
+                                   MessageId.Factory messageIdFactory, EventBus eventBus,
+                                   StoreMailboxAnnotationManager annotationManager, StoreRightManager storeRightManager,
+                                   QuotaComponents quotaComponents, MessageSearchIndex index,
+                                   MailboxManagerConfiguration configuration,
+                                   PreDeletionHooks preDeletionHooks, MailboxHierarchyCache hierarchyCache) {
+        this(mapperFactory, sessionProvider, locker, messageParser, messageIdFactory, eventBus, annotationManager,
+            storeRightManager, quotaComponents, index, configuration, preDeletionHooks, Optional.of(hierarchyCache));
+    }
+
+    private CassandraMailboxManager(CassandraMailboxSessionMapperFactory mapperFactory, SessionProvider sessionProvider,
+                                    MailboxPathLocker locker, MessageParser messageParser,
+                                    MessageId.Factory messageIdFactory, EventBus eventBus,
+                                    StoreMailboxAnnotationManager annotationManager, StoreRightManager storeRightManager,
+                                    QuotaComponents quotaComponents, MessageSearchIndex index,
+                                    MailboxManagerConfiguration configuration,
+                                    PreDeletionHooks preDeletionHooks, Optional<MailboxHierarchyCache> hierarchyCache) {
         super(mapperFactory,
             sessionProvider,
             locker,
@@ -75,7 +99,8 @@ public class CassandraMailboxManager extends StoreMailboxManager {
             quotaComponents,
             index,
             configuration,
-            preDeletionHooks);
+            preDeletionHooks,
+            hierarchyCache);
         this.locker = locker;
         this.mapperFactory = mapperFactory;
     }
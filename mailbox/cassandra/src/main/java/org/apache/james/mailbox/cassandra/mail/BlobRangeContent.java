@@ -0,0 +1,76 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.cassandra.mail;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+
+import javax.mail.internet.SharedInputStream;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.BlobStore;
+import org.apache.james.blob.api.BucketName;
+
+/**
+ * Message content stored as a header blob followed by a body blob, whose streams are only opened on demand and
+ * limited to the requested range through {@link BlobStore#read(BucketName, BlobId, long, long)}.
+ */
+public class BlobRangeContent implements SharedInputStream {
+    private final BlobStore blobStore;
+    private final BucketName bucketName;
+    private final BlobId headerBlobId;
+    private final BlobId bodyBlobId;
+    private final long bodyStartOctet;
+    private final long size;
+
+    public BlobRangeContent(BlobStore blobStore, BucketName bucketName, BlobId headerBlobId, BlobId bodyBlobId, long bodyStartOctet, long size) {
+        this.blobStore = blobStore;
+        this.bucketName = bucketName;
+        this.headerBlobId = headerBlobId;
+        this.bodyBlobId = bodyBlobId;
+        this.bodyStartOctet = bodyStartOctet;
+        this.size = size;
+    }
+
+    @Override
+    public long getPosition() {
+        return 0;
+    }
+
+    @Override
+    public InputStream newStream(long start, long end) {
+        long from = Math.min(Math.max(start, 0), size);
+        long to = end < 0 ? size : Math.min(Math.max(end, from), size);
+
+        if (from == to) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        if (to <= bodyStartOctet) {
+            return blobStore.read(bucketName, headerBlobId, from, to - from);
+        }
+        if (from >= bodyStartOctet) {
+            return blobStore.read(bucketName, bodyBlobId, from - bodyStartOctet, to - from);
+        }
+        return new SequenceInputStream(
+            blobStore.read(bucketName, headerBlobId, from, bodyStartOctet - from),
+            blobStore.read(bucketName, bodyBlobId, 0, to - bodyStartOctet));
+    }
+}
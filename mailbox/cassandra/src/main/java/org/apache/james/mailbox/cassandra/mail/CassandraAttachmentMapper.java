@@ -19,17 +19,23 @@
 
 package org.apache.james.mailbox.cassandra.mail;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import javax.inject.Inject;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.james.blob.api.BlobStore;
 import org.apache.james.mailbox.cassandra.mail.CassandraAttachmentDAOV2.DAOAttachment;
 import org.apache.james.mailbox.exception.AttachmentNotFoundException;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.model.Attachment;
 import org.apache.james.mailbox.model.AttachmentId;
+import org.apache.james.mailbox.model.Blob;
+import org.apache.james.mailbox.model.BlobId;
 import org.apache.james.mailbox.model.MessageId;
 import org.apache.james.mailbox.store.mail.AttachmentMapper;
 import org.apache.james.mailbox.store.mail.model.Username;
@@ -78,6 +84,29 @@ public class CassandraAttachmentMapper implements AttachmentMapper {
             .orElseThrow(() -> new AttachmentNotFoundException(attachmentId.getId()));
     }
 
+    @Override
+    public Blob getAttachmentRange(AttachmentId attachmentId, long offset, long length) throws MailboxException {
+        Preconditions.checkArgument(attachmentId != null);
+        Optional<DAOAttachment> daoAttachment = attachmentDAOV2.getAttachment(attachmentId).blockOptional();
+        if (!daoAttachment.isPresent()) {
+            return AttachmentMapper.super.getAttachmentRange(attachmentId, offset, length);
+        }
+        return Blob.builder()
+            .id(BlobId.fromString(attachmentId.getId()))
+            .contentType(daoAttachment.get().getType())
+            .payload(readRange(daoAttachment.get(), offset, length))
+            .size(daoAttachment.get().getSize())
+            .build();
+    }
+
+    private byte[] readRange(DAOAttachment daoAttachment, long offset, long length) throws MailboxException {
+        try (InputStream content = blobStore.read(blobStore.getDefaultBucketName(), daoAttachment.getBlobId(), offset, length)) {
+            return IOUtils.toByteArray(content);
+        } catch (IOException e) {
+            throw new MailboxException("Error reading attachment content", e);
+        }
+    }
+
     private Mono<Attachment> retrievePayload(DAOAttachment daoAttachment) {
         return blobStore.readBytes(blobStore.getDefaultBucketName(), daoAttachment.getBlobId())
             .map(daoAttachment::toAttachment);
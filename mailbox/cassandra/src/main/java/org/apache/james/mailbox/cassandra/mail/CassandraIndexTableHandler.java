@@ -19,6 +19,8 @@
 
 package org.apache.james.mailbox.cassandra.mail;
 
+import java.util.Optional;
+
 import javax.inject.Inject;
 import javax.mail.Flags;
 
@@ -53,13 +55,14 @@ public class CassandraIndexTableHandler {
         this.deletedMessageDAO = deletedMessageDAO;
     }
 
-    public Mono<Void> updateIndexOnDelete(ComposedMessageIdWithMetaData composedMessageIdWithMetaData, CassandraId mailboxId) {
+    public Mono<Void> updateIndexOnDelete(ComposedMessageIdWithMetaData composedMessageIdWithMetaData, CassandraId mailboxId, Optional<Long> size) {
         MessageUid uid = composedMessageIdWithMetaData.getComposedMessageId().getUid();
 
         return Flux.merge(
                updateFirstUnseenOnDelete(mailboxId, composedMessageIdWithMetaData.getFlags(), composedMessageIdWithMetaData.getComposedMessageId().getUid()),
                mailboxRecentDAO.removeFromRecent(mailboxId, composedMessageIdWithMetaData.getComposedMessageId().getUid()),
                mailboxCounterDAO.decrementCount(mailboxId),
+               removeFromUsage(mailboxId, size),
                deletedMessageDAO.removeDeleted(mailboxId, uid),
                decrementUnseenOnDelete(mailboxId, composedMessageIdWithMetaData.getFlags()))
                 .then();
@@ -74,6 +77,7 @@ public class CassandraIndexTableHandler {
                addRecentOnSave(mailboxId, message),
                incrementUnseenOnSave(mailboxId, flags),
                mailboxCounterDAO.incrementCount(mailboxId),
+               mailboxCounterDAO.addToUsage(mailboxId, message.getFullContentOctets()),
                applicableFlagDAO.updateApplicableFlags(mailboxId, ImmutableSet.copyOf(flags.getUserFlags())))
                 .then();
     }
@@ -98,6 +102,12 @@ public class CassandraIndexTableHandler {
         }
     }
 
+    private Mono<Void> removeFromUsage(CassandraId mailboxId, Optional<Long> size) {
+        // An unknown size leaves the usage of the mailbox mismatching its message count, thus not trusted until recomputed
+        return size.map(value -> mailboxCounterDAO.removeFromUsage(mailboxId, value))
+            .orElse(Mono.empty());
+    }
+
     private Mono<Void> decrementUnseenOnDelete(CassandraId mailboxId, Flags flags) {
         if (flags.contains(Flags.Flag.SEEN)) {
             return Mono.empty();
@@ -28,9 +28,11 @@ import static com.datastax.driver.core.querybuilder.QueryBuilder.update;
 
 import javax.inject.Inject;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.james.backends.cassandra.utils.CassandraAsyncExecutor;
 import org.apache.james.mailbox.cassandra.ids.CassandraId;
 import org.apache.james.mailbox.cassandra.table.CassandraMailboxCountersTable;
+import org.apache.james.mailbox.cassandra.table.CassandraMailboxUsageTable;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.model.Mailbox;
 import org.apache.james.mailbox.model.MailboxCounters;
@@ -49,6 +51,10 @@ public class CassandraMailboxCounterDAO {
     private final PreparedStatement incrementMessageCountStatement;
     private final PreparedStatement decrementUnseenCountStatement;
     private final PreparedStatement decrementMessageCountStatement;
+    private final PreparedStatement readUsageStatement;
+    private final PreparedStatement addToUsageStatement;
+    private final PreparedStatement removeFromUsageStatement;
+    private final PreparedStatement shiftUsageStatement;
 
     @Inject
     public CassandraMailboxCounterDAO(Session session) {
@@ -58,6 +64,31 @@ public class CassandraMailboxCounterDAO {
         incrementUnseenCountStatement = updateMailboxStatement(session, incr(CassandraMailboxCountersTable.UNSEEN));
         decrementMessageCountStatement = updateMailboxStatement(session, decr(CassandraMailboxCountersTable.COUNT));
         decrementUnseenCountStatement = updateMailboxStatement(session, decr(CassandraMailboxCountersTable.UNSEEN));
+        readUsageStatement = createReadUsageStatement(session);
+        addToUsageStatement = updateUsageStatement(session,
+            incr(CassandraMailboxUsageTable.COUNT),
+            incr(CassandraMailboxUsageTable.SIZE, bindMarker(CassandraMailboxUsageTable.SIZE)));
+        removeFromUsageStatement = updateUsageStatement(session,
+            decr(CassandraMailboxUsageTable.COUNT),
+            decr(CassandraMailboxUsageTable.SIZE, bindMarker(CassandraMailboxUsageTable.SIZE)));
+        shiftUsageStatement = updateUsageStatement(session,
+            incr(CassandraMailboxUsageTable.COUNT, bindMarker(CassandraMailboxUsageTable.COUNT)),
+            incr(CassandraMailboxUsageTable.SIZE, bindMarker(CassandraMailboxUsageTable.SIZE)));
+    }
+
+    private PreparedStatement createReadUsageStatement(Session session) {
+        return session.prepare(
+            select(CassandraMailboxUsageTable.COUNT, CassandraMailboxUsageTable.SIZE)
+                .from(CassandraMailboxUsageTable.TABLE_NAME)
+                .where(eq(CassandraMailboxUsageTable.MAILBOX_ID, bindMarker(CassandraMailboxUsageTable.MAILBOX_ID))));
+    }
+
+    private PreparedStatement updateUsageStatement(Session session, Assignment countOperation, Assignment sizeOperation) {
+        return session.prepare(
+            update(CassandraMailboxUsageTable.TABLE_NAME)
+                .with(countOperation)
+                .and(sizeOperation)
+                .where(eq(CassandraMailboxUsageTable.MAILBOX_ID, bindMarker(CassandraMailboxUsageTable.MAILBOX_ID))));
     }
 
     private PreparedStatement createReadStatement(Session session) {
@@ -118,6 +149,49 @@ public class CassandraMailboxCounterDAO {
         return cassandraAsyncExecutor.executeVoid(bindWithMailbox(mailboxId, incrementUnseenCountStatement));
     }
 
+    /**
+     * @return the total size of the messages of this mailbox, or empty when the usage of this mailbox is not known,
+     * for instance for mailboxes populated before the usage was maintained. Such usages are recomputed by
+     * {@link org.apache.james.mailbox.cassandra.mail.task.MailboxUsageSolveInconsistenciesTask}.
+     */
+    public Mono<Long> retrieveMailboxSize(CassandraId mailboxId) {
+        return Mono.zip(
+                countMessagesInMailbox(mailboxId),
+                cassandraAsyncExecutor.executeSingleRow(bindWithMailbox(mailboxId, readUsageStatement)))
+            .filter(countAndUsage -> countAndUsage.getT1() == countAndUsage.getT2().getLong(CassandraMailboxUsageTable.COUNT))
+            .map(countAndUsage -> countAndUsage.getT2().getLong(CassandraMailboxUsageTable.SIZE));
+    }
+
+    public Mono<Void> addToUsage(CassandraId mailboxId, long size) {
+        return cassandraAsyncExecutor.executeVoid(bindWithMailbox(mailboxId, addToUsageStatement)
+            .setLong(CassandraMailboxUsageTable.SIZE, size));
+    }
+
+    public Mono<Void> removeFromUsage(CassandraId mailboxId, long size) {
+        return cassandraAsyncExecutor.executeVoid(bindWithMailbox(mailboxId, removeFromUsageStatement)
+            .setLong(CassandraMailboxUsageTable.SIZE, size));
+    }
+
+    /**
+     * Sets the usage of this mailbox to the given values, for instance once recomputed from the messages it contains.
+     *
+     * Counters can only be shifted: usage updates concurrent to this reset might be mis-accounted.
+     */
+    public Mono<Void> resetUsage(CassandraId mailboxId, long count, long size) {
+        return cassandraAsyncExecutor.executeSingleRow(bindWithMailbox(mailboxId, readUsageStatement))
+            .map(row -> Pair.of(
+                count - row.getLong(CassandraMailboxUsageTable.COUNT),
+                size - row.getLong(CassandraMailboxUsageTable.SIZE)))
+            .defaultIfEmpty(Pair.of(count, size))
+            .flatMap(shift -> shiftUsage(mailboxId, shift.getLeft(), shift.getRight()));
+    }
+
+    private Mono<Void> shiftUsage(CassandraId mailboxId, long countShift, long sizeShift) {
+        return cassandraAsyncExecutor.executeVoid(bindWithMailbox(mailboxId, shiftUsageStatement)
+            .setLong(CassandraMailboxUsageTable.COUNT, countShift)
+            .setLong(CassandraMailboxUsageTable.SIZE, sizeShift));
+    }
+
     private BoundStatement bindWithMailbox(CassandraId mailboxId, PreparedStatement statement) {
         return statement.bind()
             .setUUID(CassandraMailboxCountersTable.MAILBOX_ID, mailboxId.asUuid());
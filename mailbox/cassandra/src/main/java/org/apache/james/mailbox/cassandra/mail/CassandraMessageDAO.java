@@ -48,6 +48,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.inject.Inject;
+import javax.mail.internet.SharedInputStream;
 import javax.mail.util.SharedByteArrayInputStream;
 
 import org.apache.commons.io.IOUtils;
@@ -72,6 +73,8 @@ import org.apache.james.mailbox.store.mail.MessageMapper.FetchType;
 import org.apache.james.mailbox.store.mail.model.MailboxMessage;
 import org.apache.james.mailbox.store.mail.model.impl.PropertyBuilder;
 import org.apache.james.mailbox.store.mail.model.impl.SimpleProperty;
+import org.apache.james.metrics.api.MetricFactory;
+import org.apache.james.metrics.api.NoopMetricFactory;
 import org.apache.james.util.streams.Limit;
 
 import com.datastax.driver.core.BoundStatement;
@@ -96,6 +99,8 @@ import reactor.util.function.Tuple2;
 
 public class CassandraMessageDAO {
     public static final long DEFAULT_LONG_VALUE = 0L;
+    public static final String SAVE_TIMER_NAME = "cassandra-message-dao-save";
+    public static final String RETRIEVE_TIMER_NAME = "cassandra-message-dao-retrieve";
     private static final byte[] EMPTY_BYTE_ARRAY = {};
 
     private final CassandraAsyncExecutor cassandraAsyncExecutor;
@@ -104,6 +109,7 @@ public class CassandraMessageDAO {
     private final BlobId.Factory blobIdFactory;
     private final CassandraConfiguration configuration;
     private final CassandraMessageId.Factory messageIdFactory;
+    private final MetricFactory metricFactory;
     private final PreparedStatement insert;
     private final PreparedStatement delete;
     private final PreparedStatement selectMetadata;
@@ -116,13 +122,14 @@ public class CassandraMessageDAO {
     @Inject
     public CassandraMessageDAO(Session session, CassandraTypesProvider typesProvider, BlobStore blobStore,
             BlobId.Factory blobIdFactory, CassandraConfiguration cassandraConfiguration,
-            CassandraMessageId.Factory messageIdFactory) {
+            CassandraMessageId.Factory messageIdFactory, MetricFactory metricFactory) {
         this.cassandraAsyncExecutor = new CassandraAsyncExecutor(session);
         this.typesProvider = typesProvider;
         this.blobStore = blobStore;
         this.blobIdFactory = blobIdFactory;
         this.configuration = cassandraConfiguration;
         this.messageIdFactory = messageIdFactory;
+        this.metricFactory = metricFactory;
 
         this.insert = prepareInsert(session);
         this.delete = prepareDelete(session);
@@ -137,7 +144,8 @@ public class CassandraMessageDAO {
     @VisibleForTesting
     public CassandraMessageDAO(Session session, CassandraTypesProvider typesProvider, BlobStore blobStore,
                                BlobId.Factory blobIdFactory, CassandraMessageId.Factory messageIdFactory) {
-        this(session, typesProvider, blobStore,  blobIdFactory, CassandraConfiguration.DEFAULT_CONFIGURATION, messageIdFactory);
+        this(session, typesProvider, blobStore,  blobIdFactory, CassandraConfiguration.DEFAULT_CONFIGURATION, messageIdFactory,
+            new NoopMetricFactory());
     }
 
     private PreparedStatement prepareSelect(Session session, String[] fields) {
@@ -172,9 +180,9 @@ public class CassandraMessageDAO {
     }
 
     public Mono<Void> save(MailboxMessage message) throws MailboxException {
-        return saveContent(message)
+        return metricFactory.runPublishingTimerMetric(SAVE_TIMER_NAME, saveContent(message)
             .flatMap(pair -> cassandraAsyncExecutor.executeVoid(boundWriteStatement(message, pair)))
-            .then();
+            .then());
     }
 
     private Mono<Tuple2<BlobId, BlobId>> saveContent(MailboxMessage message) throws MailboxException {
@@ -235,10 +243,11 @@ public class CassandraMessageDAO {
     }
 
     public Flux<MessageResult> retrieveMessages(List<ComposedMessageIdWithMetaData> messageIds, FetchType fetchType, Limit limit) {
-        return Flux.fromStream(limit.applyOnStream(messageIds.stream().distinct()))
-            .publishOn(Schedulers.boundedElastic())
-            .flatMap(id -> retrieveRow(id, fetchType)
-                .flatMap(resultSet -> message(resultSet, id, fetchType)), configuration.getMessageReadChunkSize());
+        return metricFactory.runPublishingTimerMetric(RETRIEVE_TIMER_NAME,
+            Flux.fromStream(limit.applyOnStream(messageIds.stream().distinct()))
+                .publishOn(Schedulers.boundedElastic())
+                .flatMap(id -> retrieveRow(id, fetchType)
+                    .flatMap(resultSet -> message(resultSet, id, fetchType)), configuration.getMessageReadChunkSize()));
     }
 
     private Mono<ResultSet> retrieveRow(ComposedMessageIdWithMetaData messageId, FetchType fetchType) {
@@ -265,7 +274,7 @@ public class CassandraMessageDAO {
                     row.getTimestamp(INTERNAL_DATE),
                     row.getLong(FULL_CONTENT_OCTETS),
                     row.getInt(BODY_START_OCTET),
-                    new SharedByteArrayInputStream(content),
+                    content,
                     messageIdWithMetaData.getFlags(),
                     getPropertyBuilder(row),
                     messageId.getMailboxId(),
@@ -315,6 +324,7 @@ public class CassandraMessageDAO {
             case Body:
                 return selectBody;
             case Full:
+            case FullContentRanges:
                 return selectFields;
             case Headers:
                 return selectHeaders;
@@ -330,17 +340,26 @@ public class CassandraMessageDAO {
             .setUUID(MESSAGE_ID, messageId.get()));
     }
 
-    private Mono<byte[]> buildContentRetriever(FetchType fetchType, Row row) {
+    private Mono<SharedInputStream> buildContentRetriever(FetchType fetchType, Row row) {
         switch (fetchType) {
             case Full:
-                return getFullContent(row);
+                return getFullContent(row)
+                    .map(SharedByteArrayInputStream::new);
             case Headers:
-                return getHeaderContent(row);
+                return getHeaderContent(row)
+                    .map(SharedByteArrayInputStream::new);
             case Body:
                 return getBodyContent(row)
-                    .map(data -> Bytes.concat(new byte[row.getInt(BODY_START_OCTET)], data));
+                    .map(data -> Bytes.concat(new byte[row.getInt(BODY_START_OCTET)], data))
+                    .map(SharedByteArrayInputStream::new);
             case Metadata:
-                return Mono.just(EMPTY_BYTE_ARRAY);
+                return Mono.just(new SharedByteArrayInputStream(EMPTY_BYTE_ARRAY));
+            case FullContentRanges:
+                return Mono.just(new BlobRangeContent(blobStore, blobStore.getDefaultBucketName(),
+                    blobIdFactory.from(row.getString(HEADER_CONTENT)),
+                    blobIdFactory.from(row.getString(BODY_CONTENT)),
+                    row.getInt(BODY_START_OCTET),
+                    row.getLong(FULL_CONTENT_OCTETS)));
             default:
                 throw new RuntimeException("Unknown FetchType " + fetchType);
         }
@@ -51,6 +51,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.steveash.guavate.Guavate;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Multimap;
 
 import reactor.core.publisher.Flux;
@@ -183,6 +184,16 @@ public class CassandraMessageIdMapper implements MessageIdMapper {
             .block();
     }
 
+    @Override
+    public void delete(List<MailboxMessage> messages) {
+        Flux.fromIterable(messages)
+            .publishOn(Schedulers.boundedElastic())
+            .flatMap(message -> deleteIds(message.getComposedMessageIdWithMetaData(), Optional.of(message.getFullContentOctets())),
+                cassandraConfiguration.getExpungeChunkSize())
+            .then()
+            .block();
+    }
+
     private Mono<Void> retrieveAndDeleteIndices(CassandraMessageId messageId, Optional<CassandraId> mailboxId) {
         return imapUidDAO.retrieve(messageId, mailboxId)
             .flatMap(this::deleteIds)
@@ -197,12 +208,27 @@ public class CassandraMessageIdMapper implements MessageIdMapper {
     }
 
     private Mono<Void> deleteIds(ComposedMessageIdWithMetaData metaData) {
+        return retrieveSize(metaData)
+            .flatMap(size -> deleteIds(metaData, size));
+    }
+
+    private Mono<Void> deleteIds(ComposedMessageIdWithMetaData metaData, Optional<Long> size) {
         CassandraMessageId messageId = (CassandraMessageId) metaData.getComposedMessageId().getMessageId();
         CassandraId mailboxId = (CassandraId) metaData.getComposedMessageId().getMailboxId();
         return Flux.merge(
                 imapUidDAO.delete(messageId, mailboxId),
                 messageIdDAO.delete(mailboxId, metaData.getComposedMessageId().getUid()))
-            .then(indexTableHandler.updateIndexOnDelete(metaData, mailboxId));
+            .then(indexTableHandler.updateIndexOnDelete(metaData, mailboxId, size));
+    }
+
+    private Mono<Optional<Long>> retrieveSize(ComposedMessageIdWithMetaData metaData) {
+        return messageDAO.retrieveMessages(ImmutableList.of(metaData), FetchType.Metadata, Limit.unlimited())
+            .filter(CassandraMessageDAO.MessageResult::isFound)
+            .map(CassandraMessageDAO.MessageResult::message)
+            .map(pair -> pair.getKey().getSize())
+            .next()
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty());
     }
 
     @Override
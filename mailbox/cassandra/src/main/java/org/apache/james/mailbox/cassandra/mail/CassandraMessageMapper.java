@@ -136,6 +136,13 @@ public class CassandraMessageMapper implements MessageMapper {
                 .block();
     }
 
+    @Override
+    public Optional<Long> getMailboxSize(Mailbox mailbox) {
+        CassandraId mailboxId = (CassandraId) mailbox.getMailboxId();
+        return mailboxCounterDAO.retrieveMailboxSize(mailboxId)
+                .blockOptional();
+    }
+
     @Override
     public void delete(Mailbox mailbox, MailboxMessage message) {
         deleteAsFuture(message)
@@ -145,10 +152,10 @@ public class CassandraMessageMapper implements MessageMapper {
     private Mono<Void> deleteAsFuture(MailboxMessage message) {
         ComposedMessageIdWithMetaData composedMessageIdWithMetaData = message.getComposedMessageIdWithMetaData();
 
-        return deleteUsingMailboxId(composedMessageIdWithMetaData);
+        return deleteUsingMailboxId(composedMessageIdWithMetaData, Optional.of(message.getFullContentOctets()));
     }
 
-    private Mono<Void> deleteUsingMailboxId(ComposedMessageIdWithMetaData composedMessageIdWithMetaData) {
+    private Mono<Void> deleteUsingMailboxId(ComposedMessageIdWithMetaData composedMessageIdWithMetaData, Optional<Long> size) {
         ComposedMessageId composedMessageId = composedMessageIdWithMetaData.getComposedMessageId();
         CassandraMessageId messageId = (CassandraMessageId) composedMessageId.getMessageId();
         CassandraId mailboxId = (CassandraId) composedMessageId.getMailboxId();
@@ -156,7 +163,7 @@ public class CassandraMessageMapper implements MessageMapper {
         return Flux.merge(
                 imapUidDAO.delete(messageId, mailboxId),
                 messageIdDAO.delete(mailboxId, uid))
-            .then(indexTableHandler.updateIndexOnDelete(composedMessageIdWithMetaData, mailboxId));
+            .then(indexTableHandler.updateIndexOnDelete(composedMessageIdWithMetaData, mailboxId, size));
     }
 
     @Override
@@ -219,12 +226,20 @@ public class CassandraMessageMapper implements MessageMapper {
 
     private Flux<SimpleMailboxMessage> expungeOne(CassandraId mailboxId, MessageUid messageUid) {
         return retrieveComposedId(mailboxId, messageUid)
-            .flatMap(idWithMetadata -> deleteUsingMailboxId(idWithMetadata).thenReturn(idWithMetadata))
-            .flatMapMany(idWithMetadata ->
-                messageDAO.retrieveMessages(ImmutableList.of(idWithMetadata), FetchType.Metadata, Limit.unlimited()))
+            .flatMap(idWithMetadata -> retrieveMetadata(idWithMetadata)
+                .flatMap(message -> deleteUsingMailboxId(idWithMetadata, message.map(MailboxMessage::getFullContentOctets))
+                    .then(Mono.justOrEmpty(message))))
+            .flux();
+    }
+
+    private Mono<Optional<SimpleMailboxMessage>> retrieveMetadata(ComposedMessageIdWithMetaData idWithMetadata) {
+        return messageDAO.retrieveMessages(ImmutableList.of(idWithMetadata), FetchType.Metadata, Limit.unlimited())
             .filter(CassandraMessageDAO.MessageResult::isFound)
             .map(CassandraMessageDAO.MessageResult::message)
-            .map(pair -> pair.getKey().toMailboxMessage(ImmutableList.of()));
+            .map(pair -> pair.getKey().toMailboxMessage(ImmutableList.of()))
+            .next()
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty());
     }
 
     private Mono<ComposedMessageIdWithMetaData> retrieveComposedId(CassandraId mailboxId, MessageUid uid) {
@@ -239,7 +254,25 @@ public class CassandraMessageMapper implements MessageMapper {
         ComposedMessageIdWithMetaData composedMessageIdWithMetaData = original.getComposedMessageIdWithMetaData();
 
         MessageMetaData messageMetaData = copy(destinationMailbox, original);
-        deleteUsingMailboxId(composedMessageIdWithMetaData).block();
+        deleteUsingMailboxId(composedMessageIdWithMetaData, Optional.of(original.getFullContentOctets())).block();
+
+        return messageMetaData;
+    }
+
+    @Override
+    public List<MessageMetaData> move(Mailbox destinationMailbox, List<MailboxMessage> originals) throws MailboxException {
+        List<ComposedMessageIdWithMetaData> composedMessageIds = originals.stream()
+            .map(MailboxMessage::getComposedMessageIdWithMetaData)
+            .collect(Guavate.toImmutableList());
+        List<Long> sizes = originals.stream()
+            .map(MailboxMessage::getFullContentOctets)
+            .collect(Guavate.toImmutableList());
+
+        List<MessageMetaData> messageMetaData = copy(destinationMailbox, originals);
+        Flux.range(0, composedMessageIds.size())
+            .concatMap(i -> deleteUsingMailboxId(composedMessageIds.get(i), Optional.of(sizes.get(i))))
+            .then()
+            .block();
 
         return messageMetaData;
     }
@@ -349,6 +382,38 @@ public class CassandraMessageMapper implements MessageMapper {
         return setInMailbox(mailbox, original);
     }
 
+    /**
+     * Allocates the uids of the copies at once, and gives them a single modseq.
+     */
+    @Override
+    public List<MessageMetaData> copy(Mailbox mailbox, List<MailboxMessage> originals) throws MailboxException {
+        if (originals.isEmpty()) {
+            return ImmutableList.of();
+        }
+        CassandraId mailboxId = (CassandraId) mailbox.getMailboxId();
+        List<MessageUid> uids = uidProvider.nextUids(mailboxId, originals.size())
+            .blockOptional()
+            .orElseThrow(() -> new MailboxException("Can not find UIDs to copy " + originals.size() + " messages in " + mailboxId));
+        long modSeq = modSeqProvider.nextModSeq(mailboxId)
+            .blockOptional()
+            .orElseThrow(() -> new MailboxException("Can not find a MODSEQ to copy " + originals.size() + " messages in " + mailboxId));
+
+        ImmutableList.Builder<MessageMetaData> copied = ImmutableList.builder();
+        for (int i = 0; i < originals.size(); i++) {
+            MailboxMessage message = originals.get(i);
+            message.setFlags(new FlagsBuilder().add(message.createFlags()).add(Flag.RECENT).build());
+            message.setUid(uids.get(i));
+            message.setModSeq(modSeq);
+            copied.add(message.metaData());
+        }
+        Flux.fromIterable(originals)
+            .concatMap(message -> insertIds(message, mailboxId)
+                .thenEmpty(indexTableHandler.updateIndexOnAdd(message, mailboxId)))
+            .then()
+            .block();
+        return copied.build();
+    }
+
     @Override
     public Optional<MessageUid> getLastUid(Mailbox mailbox) throws MailboxException {
         return uidProvider.lastUid(mailboxSession, mailbox);
@@ -29,7 +29,9 @@ import static org.apache.james.mailbox.cassandra.table.CassandraMessageUidTable.
 import static org.apache.james.mailbox.cassandra.table.CassandraMessageUidTable.NEXT_UID;
 import static org.apache.james.mailbox.cassandra.table.CassandraMessageUidTable.TABLE_NAME;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import javax.inject.Inject;
 
@@ -46,6 +48,8 @@ import org.apache.james.mailbox.store.mail.UidProvider;
 import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Session;
+import com.github.steveash.guavate.Guavate;
+
 import reactor.core.publisher.Mono;
 
 public class CassandraUidProvider implements UidProvider {
@@ -81,7 +85,7 @@ public class CassandraUidProvider implements UidProvider {
 
     private PreparedStatement prepareInsert(Session session) {
         return session.prepare(insertInto(TABLE_NAME)
-            .value(NEXT_UID, MessageUid.MIN_VALUE.asLong())
+            .value(NEXT_UID, bindMarker(NEXT_UID))
             .value(MAILBOX_ID, bindMarker(MAILBOX_ID))
             .ifNotExists());
     }
@@ -99,12 +103,41 @@ public class CassandraUidProvider implements UidProvider {
             .orElseThrow(() -> new MailboxException("Error during Uid update"));
     }
 
+    @Override
+    public List<MessageUid> nextUids(MailboxSession session, MailboxId mailboxId, int count) throws MailboxException {
+        return nextUids((CassandraId) mailboxId, count)
+            .blockOptional()
+            .orElseThrow(() -> new MailboxException("Error during Uid update"));
+    }
+
     public Mono<MessageUid> nextUid(CassandraId cassandraId) {
+        return nextUids(cassandraId, 1)
+            .map(uids -> uids.get(0));
+    }
+
+    /**
+     * Allocates count consecutive UIDs with a single lightweight transaction.
+     *
+     * UIDs are never reserved ahead of their use: the stored highest UID is what UIDNEXT is computed from, and a
+     * UID lower than an already advertised UIDNEXT must never be attributed.
+     */
+    public Mono<List<MessageUid>> nextUids(CassandraId cassandraId, int count) {
+        return reserve(cassandraId, count)
+            .map(highestUid -> uidRange(highestUid.asLong() - count + 1, count));
+    }
+
+    private List<MessageUid> uidRange(long firstUid, int count) {
+        return LongStream.range(firstUid, firstUid + count)
+            .mapToObj(MessageUid::of)
+            .collect(Guavate.toImmutableList());
+    }
+
+    private Mono<MessageUid> reserve(CassandraId cassandraId, int count) {
         Mono<MessageUid> updateUid = findHighestUid(cassandraId)
-            .flatMap(messageUid -> tryUpdateUid(cassandraId, messageUid));
+            .flatMap(messageUid -> tryUpdateUid(cassandraId, messageUid, count));
 
         return updateUid
-            .switchIfEmpty(tryInsert(cassandraId))
+            .switchIfEmpty(tryInsert(cassandraId, count))
             .switchIfEmpty(updateUid)
             .single()
             .retry(maxUidRetries);
@@ -124,8 +157,8 @@ public class CassandraUidProvider implements UidProvider {
             .map(row -> MessageUid.of(row.getLong(NEXT_UID))));
     }
 
-    private Mono<MessageUid> tryUpdateUid(CassandraId mailboxId, MessageUid uid) {
-        MessageUid nextUid = uid.next();
+    private Mono<MessageUid> tryUpdateUid(CassandraId mailboxId, MessageUid uid, int count) {
+        MessageUid nextUid = MessageUid.of(uid.asLong() + count);
         return Mono.defer(() -> executor.executeReturnApplied(
                 updateStatement.bind()
                         .setUUID(MAILBOX_ID, mailboxId.asUuid())
@@ -134,11 +167,13 @@ public class CassandraUidProvider implements UidProvider {
                 .flatMap(success -> successToUid(nextUid, success)));
     }
 
-    private Mono<MessageUid> tryInsert(CassandraId mailboxId) {
+    private Mono<MessageUid> tryInsert(CassandraId mailboxId, int count) {
+        MessageUid nextUid = MessageUid.of(MessageUid.MIN_VALUE.asLong() + count - 1);
         return Mono.defer(() -> executor.executeReturnApplied(
             insertStatement.bind()
-                .setUUID(MAILBOX_ID, mailboxId.asUuid()))
-            .flatMap(success -> successToUid(MessageUid.MIN_VALUE, success)));
+                .setUUID(MAILBOX_ID, mailboxId.asUuid())
+                .setLong(NEXT_UID, nextUid.asLong()))
+            .flatMap(success -> successToUid(nextUid, success)));
     }
 
     private Mono<MessageUid> successToUid(MessageUid uid, Boolean success) {
@@ -19,10 +19,11 @@
 
 package org.apache.james.mailbox.cassandra.mail;
 
+import java.io.InputStream;
 import java.util.Date;
 import java.util.List;
 import javax.mail.Flags;
-import javax.mail.util.SharedByteArrayInputStream;
+import javax.mail.internet.SharedInputStream;
 
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.model.ComposedMessageId;
@@ -38,14 +39,14 @@ public class MessageWithoutAttachment {
     private final Date internalDate;
     private final Long size;
     private final Integer bodySize;
-    private final SharedByteArrayInputStream content;
+    private final SharedInputStream content;
     private final Flags flags;
     private final PropertyBuilder propertyBuilder;
     private final MailboxId mailboxId;
     private final MessageUid messageUid;
     private final long modSeq;
 
-    public MessageWithoutAttachment(MessageId messageId, Date internalDate, Long size, Integer bodySize, SharedByteArrayInputStream content,
+    public MessageWithoutAttachment(MessageId messageId, Date internalDate, Long size, Integer bodySize, SharedInputStream content,
                                     Flags flags, PropertyBuilder propertyBuilder, MailboxId mailboxId, MessageUid messageUid, long modSeq) {
         this.messageId = messageId;
         this.internalDate = internalDate;
@@ -87,8 +88,12 @@ public class MessageWithoutAttachment {
         return new ComposedMessageIdWithMetaData(new ComposedMessageId(mailboxId, messageId, messageUid), flags, modSeq);
     }
 
-    public SharedByteArrayInputStream getContent() {
-        return content;
+    public long getSize() {
+        return size;
+    }
+
+    public InputStream getContent() {
+        return content.newStream(0, -1);
     }
 
     public PropertyBuilder getPropertyBuilder() {
@@ -0,0 +1,116 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.cassandra.mail.task;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.james.task.Task;
+import org.apache.james.task.TaskExecutionDetails;
+import org.apache.james.task.TaskType;
+
+/**
+ * Recomputes the usage (message count and size) of every mailbox from the messages it contains.
+ *
+ * This backfills the usage of mailboxes populated before it was maintained, and fixes the usage of mailboxes
+ * for which the size of a deleted message could not be read.
+ */
+public class MailboxUsageSolveInconsistenciesTask implements Task {
+    public static final TaskType TYPE = TaskType.of("cassandra-mailbox-usage-solve-inconsistencies");
+
+    public static class Details implements TaskExecutionDetails.AdditionalInformation {
+        private final long processedMailboxCount;
+        private final long failedMailboxCount;
+        private final Instant timestamp;
+
+        public Details(long processedMailboxCount, long failedMailboxCount, Instant timestamp) {
+            this.processedMailboxCount = processedMailboxCount;
+            this.failedMailboxCount = failedMailboxCount;
+            this.timestamp = timestamp;
+        }
+
+        public long getProcessedMailboxCount() {
+            return processedMailboxCount;
+        }
+
+        public long getFailedMailboxCount() {
+            return failedMailboxCount;
+        }
+
+        @Override
+        public Instant timestamp() {
+            return timestamp;
+        }
+    }
+
+    public static class Context {
+        private final AtomicLong processedMailboxCount;
+        private final AtomicLong failedMailboxCount;
+
+        public Context() {
+            this.processedMailboxCount = new AtomicLong(0L);
+            this.failedMailboxCount = new AtomicLong(0L);
+        }
+
+        public long getProcessedMailboxCount() {
+            return processedMailboxCount.get();
+        }
+
+        public long getFailedMailboxCount() {
+            return failedMailboxCount.get();
+        }
+
+        public void incrementProcessedCount() {
+            processedMailboxCount.incrementAndGet();
+        }
+
+        public void incrementFailedCount() {
+            failedMailboxCount.incrementAndGet();
+        }
+    }
+
+    private final MailboxUsageSolveInconsistenciesTaskRunner taskRunner;
+    private final Context context;
+
+    public MailboxUsageSolveInconsistenciesTask(MailboxUsageSolveInconsistenciesTaskRunner taskRunner) {
+        this.taskRunner = taskRunner;
+        this.context = new Context();
+    }
+
+    @Override
+    public Result run() {
+        return taskRunner.run(context);
+    }
+
+    @Override
+    public TaskType type() {
+        return TYPE;
+    }
+
+    @Override
+    public Optional<TaskExecutionDetails.AdditionalInformation> details() {
+        return Optional.of(new Details(
+            context.getProcessedMailboxCount(),
+            context.getFailedMailboxCount(),
+            Clock.systemUTC().instant()));
+    }
+}
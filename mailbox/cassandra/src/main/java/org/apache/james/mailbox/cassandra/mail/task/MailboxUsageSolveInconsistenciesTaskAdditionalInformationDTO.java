@@ -0,0 +1,86 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.cassandra.mail.task;
+
+import java.time.Instant;
+
+import org.apache.james.json.DTOModule;
+import org.apache.james.server.task.json.dto.AdditionalInformationDTO;
+import org.apache.james.server.task.json.dto.AdditionalInformationDTOModule;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class MailboxUsageSolveInconsistenciesTaskAdditionalInformationDTO implements AdditionalInformationDTO {
+    private static MailboxUsageSolveInconsistenciesTaskAdditionalInformationDTO fromDomainObject(MailboxUsageSolveInconsistenciesTask.Details details, String type) {
+        return new MailboxUsageSolveInconsistenciesTaskAdditionalInformationDTO(
+            type,
+            details.getProcessedMailboxCount(),
+            details.getFailedMailboxCount(),
+            details.timestamp());
+    }
+
+    public static final AdditionalInformationDTOModule<MailboxUsageSolveInconsistenciesTask.Details, MailboxUsageSolveInconsistenciesTaskAdditionalInformationDTO> SERIALIZATION_MODULE =
+        DTOModule.forDomainObject(MailboxUsageSolveInconsistenciesTask.Details.class)
+            .convertToDTO(MailboxUsageSolveInconsistenciesTaskAdditionalInformationDTO.class)
+            .toDomainObjectConverter(MailboxUsageSolveInconsistenciesTaskAdditionalInformationDTO::toDomainObject)
+            .toDTOConverter(MailboxUsageSolveInconsistenciesTaskAdditionalInformationDTO::fromDomainObject)
+            .typeName(MailboxUsageSolveInconsistenciesTask.TYPE.asString())
+            .withFactory(AdditionalInformationDTOModule::new);
+
+    private final String type;
+    private final long processedMailboxCount;
+    private final long failedMailboxCount;
+    private final Instant timestamp;
+
+    public MailboxUsageSolveInconsistenciesTaskAdditionalInformationDTO(@JsonProperty("type") String type,
+                                                                        @JsonProperty("processedMailboxCount") long processedMailboxCount,
+                                                                        @JsonProperty("failedMailboxCount") long failedMailboxCount,
+                                                                        @JsonProperty("timestamp") Instant timestamp) {
+        this.type = type;
+        this.processedMailboxCount = processedMailboxCount;
+        this.failedMailboxCount = failedMailboxCount;
+        this.timestamp = timestamp;
+    }
+
+    public long getProcessedMailboxCount() {
+        return processedMailboxCount;
+    }
+
+    public long getFailedMailboxCount() {
+        return failedMailboxCount;
+    }
+
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    private MailboxUsageSolveInconsistenciesTask.Details toDomainObject() {
+        return new MailboxUsageSolveInconsistenciesTask.Details(
+            processedMailboxCount,
+            failedMailboxCount,
+            timestamp);
+    }
+}
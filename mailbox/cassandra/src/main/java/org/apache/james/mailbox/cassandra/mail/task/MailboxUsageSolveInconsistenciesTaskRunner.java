@@ -0,0 +1,91 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.cassandra.mail.task;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.james.mailbox.cassandra.ids.CassandraId;
+import org.apache.james.mailbox.cassandra.mail.CassandraMailboxCounterDAO;
+import org.apache.james.mailbox.cassandra.mail.CassandraMailboxDAO;
+import org.apache.james.mailbox.cassandra.mail.CassandraMessageDAO;
+import org.apache.james.mailbox.cassandra.mail.CassandraMessageIdDAO;
+import org.apache.james.mailbox.model.MessageRange;
+import org.apache.james.mailbox.store.mail.MessageMapper.FetchType;
+import org.apache.james.task.Task;
+import org.apache.james.util.streams.Limit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reactor.core.publisher.Mono;
+
+public class MailboxUsageSolveInconsistenciesTaskRunner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MailboxUsageSolveInconsistenciesTaskRunner.class);
+    private static final int MESSAGE_BATCH_SIZE = 100;
+    private static final long UNKNOWN_SIZE = 0L;
+
+    private final CassandraMailboxDAO mailboxDAO;
+    private final CassandraMessageIdDAO messageIdDAO;
+    private final CassandraMessageDAO messageDAO;
+    private final CassandraMailboxCounterDAO counterDAO;
+
+    @Inject
+    public MailboxUsageSolveInconsistenciesTaskRunner(CassandraMailboxDAO mailboxDAO, CassandraMessageIdDAO messageIdDAO,
+                                                      CassandraMessageDAO messageDAO, CassandraMailboxCounterDAO counterDAO) {
+        this.mailboxDAO = mailboxDAO;
+        this.messageIdDAO = messageIdDAO;
+        this.messageDAO = messageDAO;
+        this.counterDAO = counterDAO;
+    }
+
+    public Task.Result run(MailboxUsageSolveInconsistenciesTask.Context context) {
+        return mailboxDAO.retrieveAllMailboxes()
+            .map(mailbox -> (CassandraId) mailbox.getMailboxId())
+            .concatMap(mailboxId -> recomputeUsage(mailboxId, context))
+            .reduce(Task.Result.COMPLETED, Task::combine)
+            .block();
+    }
+
+    private Mono<Task.Result> recomputeUsage(CassandraId mailboxId, MailboxUsageSolveInconsistenciesTask.Context context) {
+        return messageIdDAO.retrieveMessages(mailboxId, MessageRange.all())
+            .buffer(MESSAGE_BATCH_SIZE)
+            .concatMap(ids -> messageDAO.retrieveMessages(ids, FetchType.Metadata, Limit.unlimited()))
+            .map(this::sizeOf)
+            .reduce(Pair.of(0L, 0L), (usage, size) -> Pair.of(usage.getLeft() + 1, usage.getRight() + size))
+            .flatMap(usage -> counterDAO.resetUsage(mailboxId, usage.getLeft(), usage.getRight()))
+            .then(Mono.fromCallable(() -> {
+                context.incrementProcessedCount();
+                return Task.Result.COMPLETED;
+            }))
+            .onErrorResume(e -> {
+                LOGGER.error("Failed recomputing the usage of mailbox {}", mailboxId.serialize(), e);
+                context.incrementFailedCount();
+                return Mono.just(Task.Result.PARTIAL);
+            });
+    }
+
+    private long sizeOf(CassandraMessageDAO.MessageResult result) {
+        if (result.isFound()) {
+            return result.message().getKey().getSize();
+        }
+        // Still counted so that the usage matches the mailbox counters, which index this message too
+        return UNKNOWN_SIZE;
+    }
+}
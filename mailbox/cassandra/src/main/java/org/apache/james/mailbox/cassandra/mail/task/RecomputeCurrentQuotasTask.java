@@ -0,0 +1,131 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.cassandra.mail.task;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.james.task.Task;
+import org.apache.james.task.TaskExecutionDetails;
+import org.apache.james.task.TaskType;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Recomputes the current quotas of every user owning a mailbox from the usage of its mailboxes, at the optional
+ * usersPerSecond pace.
+ */
+public class RecomputeCurrentQuotasTask implements Task {
+    public static final TaskType TYPE = TaskType.of("cassandra-recompute-current-quotas");
+
+    public static class Details implements TaskExecutionDetails.AdditionalInformation {
+        private final long processedQuotaRootCount;
+        private final long failedQuotaRootCount;
+        private final Optional<Integer> usersPerSecond;
+        private final Instant timestamp;
+
+        public Details(long processedQuotaRootCount, long failedQuotaRootCount, Optional<Integer> usersPerSecond, Instant timestamp) {
+            this.processedQuotaRootCount = processedQuotaRootCount;
+            this.failedQuotaRootCount = failedQuotaRootCount;
+            this.usersPerSecond = usersPerSecond;
+            this.timestamp = timestamp;
+        }
+
+        public long getProcessedQuotaRootCount() {
+            return processedQuotaRootCount;
+        }
+
+        public long getFailedQuotaRootCount() {
+            return failedQuotaRootCount;
+        }
+
+        public Optional<Integer> getUsersPerSecond() {
+            return usersPerSecond;
+        }
+
+        @Override
+        public Instant timestamp() {
+            return timestamp;
+        }
+    }
+
+    public static class Context {
+        private final AtomicLong processedQuotaRootCount;
+        private final AtomicLong failedQuotaRootCount;
+
+        public Context() {
+            this.processedQuotaRootCount = new AtomicLong(0L);
+            this.failedQuotaRootCount = new AtomicLong(0L);
+        }
+
+        public long getProcessedQuotaRootCount() {
+            return processedQuotaRootCount.get();
+        }
+
+        public long getFailedQuotaRootCount() {
+            return failedQuotaRootCount.get();
+        }
+
+        public void incrementProcessedCount() {
+            processedQuotaRootCount.incrementAndGet();
+        }
+
+        public void incrementFailedCount() {
+            failedQuotaRootCount.incrementAndGet();
+        }
+    }
+
+    private final RecomputeCurrentQuotasTaskRunner taskRunner;
+    private final Optional<Integer> usersPerSecond;
+    private final Context context;
+
+    public RecomputeCurrentQuotasTask(RecomputeCurrentQuotasTaskRunner taskRunner, Optional<Integer> usersPerSecond) {
+        Preconditions.checkArgument(usersPerSecond.map(value -> value > 0).orElse(true), "'usersPerSecond' should be strictly positive");
+
+        this.taskRunner = taskRunner;
+        this.usersPerSecond = usersPerSecond;
+        this.context = new Context();
+    }
+
+    @Override
+    public Result run() {
+        return taskRunner.run(context, usersPerSecond);
+    }
+
+    @Override
+    public TaskType type() {
+        return TYPE;
+    }
+
+    public Optional<Integer> getUsersPerSecond() {
+        return usersPerSecond;
+    }
+
+    @Override
+    public Optional<TaskExecutionDetails.AdditionalInformation> details() {
+        return Optional.of(new Details(
+            context.getProcessedQuotaRootCount(),
+            context.getFailedQuotaRootCount(),
+            usersPerSecond,
+            Clock.systemUTC().instant()));
+    }
+}
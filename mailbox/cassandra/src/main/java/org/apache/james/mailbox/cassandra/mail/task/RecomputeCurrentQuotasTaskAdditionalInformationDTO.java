@@ -0,0 +1,96 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.cassandra.mail.task;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.apache.james.json.DTOModule;
+import org.apache.james.server.task.json.dto.AdditionalInformationDTO;
+import org.apache.james.server.task.json.dto.AdditionalInformationDTOModule;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class RecomputeCurrentQuotasTaskAdditionalInformationDTO implements AdditionalInformationDTO {
+    private static RecomputeCurrentQuotasTaskAdditionalInformationDTO fromDomainObject(RecomputeCurrentQuotasTask.Details details, String type) {
+        return new RecomputeCurrentQuotasTaskAdditionalInformationDTO(
+            type,
+            details.getProcessedQuotaRootCount(),
+            details.getFailedQuotaRootCount(),
+            details.getUsersPerSecond(),
+            details.timestamp());
+    }
+
+    public static final AdditionalInformationDTOModule<RecomputeCurrentQuotasTask.Details, RecomputeCurrentQuotasTaskAdditionalInformationDTO> SERIALIZATION_MODULE =
+        DTOModule.forDomainObject(RecomputeCurrentQuotasTask.Details.class)
+            .convertToDTO(RecomputeCurrentQuotasTaskAdditionalInformationDTO.class)
+            .toDomainObjectConverter(RecomputeCurrentQuotasTaskAdditionalInformationDTO::toDomainObject)
+            .toDTOConverter(RecomputeCurrentQuotasTaskAdditionalInformationDTO::fromDomainObject)
+            .typeName(RecomputeCurrentQuotasTask.TYPE.asString())
+            .withFactory(AdditionalInformationDTOModule::new);
+
+    private final String type;
+    private final long processedQuotaRootCount;
+    private final long failedQuotaRootCount;
+    private final Optional<Integer> usersPerSecond;
+    private final Instant timestamp;
+
+    public RecomputeCurrentQuotasTaskAdditionalInformationDTO(@JsonProperty("type") String type,
+                                                              @JsonProperty("processedQuotaRootCount") long processedQuotaRootCount,
+                                                              @JsonProperty("failedQuotaRootCount") long failedQuotaRootCount,
+                                                              @JsonProperty("usersPerSecond") Optional<Integer> usersPerSecond,
+                                                              @JsonProperty("timestamp") Instant timestamp) {
+        this.type = type;
+        this.processedQuotaRootCount = processedQuotaRootCount;
+        this.failedQuotaRootCount = failedQuotaRootCount;
+        this.usersPerSecond = usersPerSecond;
+        this.timestamp = timestamp;
+    }
+
+    public long getProcessedQuotaRootCount() {
+        return processedQuotaRootCount;
+    }
+
+    public long getFailedQuotaRootCount() {
+        return failedQuotaRootCount;
+    }
+
+    public Optional<Integer> getUsersPerSecond() {
+        return usersPerSecond;
+    }
+
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    private RecomputeCurrentQuotasTask.Details toDomainObject() {
+        return new RecomputeCurrentQuotasTask.Details(
+            processedQuotaRootCount,
+            failedQuotaRootCount,
+            usersPerSecond,
+            timestamp);
+    }
+}
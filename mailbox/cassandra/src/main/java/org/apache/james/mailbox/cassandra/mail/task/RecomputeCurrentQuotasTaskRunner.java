@@ -0,0 +1,108 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.cassandra.mail.task;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.inject.Inject;
+
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.cassandra.mail.CassandraMailboxDAO;
+import org.apache.james.mailbox.cassandra.quota.CassandraCurrentQuotaManager;
+import org.apache.james.mailbox.model.Mailbox;
+import org.apache.james.mailbox.model.MailboxConstants;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.QuotaRoot;
+import org.apache.james.mailbox.quota.QuotaRootResolver;
+import org.apache.james.mailbox.store.SessionProvider;
+import org.apache.james.mailbox.store.quota.CurrentQuotaCalculator;
+import org.apache.james.task.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.fge.lambdas.Throwing;
+import com.google.common.util.concurrent.RateLimiter;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Users are handled one at a time. The current quotas of a user are computed by {@link CurrentQuotaCalculator}, which
+ * sums the usage maintained for each of its mailboxes, then the current quota counters are shifted to these values.
+ */
+public class RecomputeCurrentQuotasTaskRunner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RecomputeCurrentQuotasTaskRunner.class);
+
+    private final CassandraMailboxDAO mailboxDAO;
+    private final SessionProvider sessionProvider;
+    private final QuotaRootResolver quotaRootResolver;
+    private final CurrentQuotaCalculator currentQuotaCalculator;
+    private final CassandraCurrentQuotaManager currentQuotaManager;
+
+    @Inject
+    public RecomputeCurrentQuotasTaskRunner(CassandraMailboxDAO mailboxDAO, SessionProvider sessionProvider, QuotaRootResolver quotaRootResolver,
+                                            CurrentQuotaCalculator currentQuotaCalculator, CassandraCurrentQuotaManager currentQuotaManager) {
+        this.mailboxDAO = mailboxDAO;
+        this.sessionProvider = sessionProvider;
+        this.quotaRootResolver = quotaRootResolver;
+        this.currentQuotaCalculator = currentQuotaCalculator;
+        this.currentQuotaManager = currentQuotaManager;
+    }
+
+    public Task.Result run(RecomputeCurrentQuotasTask.Context context, Optional<Integer> usersPerSecond) {
+        Optional<RateLimiter> throttle = usersPerSecond.map(RateLimiter::create);
+
+        return mailboxDAO.retrieveAllMailboxes()
+            .map(Mailbox::getUser)
+            .filter(Objects::nonNull)
+            .distinct()
+            // The throttle blocks: keep it off the Cassandra driver threads
+            .publishOn(Schedulers.boundedElastic())
+            .concatMap(user -> {
+                throttle.ifPresent(RateLimiter::acquire);
+                return recomputeCurrentQuotas(user, context);
+            })
+            .reduce(Task.Result.COMPLETED, Task::combine)
+            .block();
+    }
+
+    private Mono<Task.Result> recomputeCurrentQuotas(String user, RecomputeCurrentQuotasTask.Context context) {
+        MailboxSession session = sessionProvider.createSystemSession(user);
+        return Mono.fromCallable(() -> quotaRootResolver.getQuotaRoot(MailboxPath.forUser(user, MailboxConstants.INBOX)))
+            .flatMap(quotaRoot -> currentQuotaCalculator.recalculateCurrentQuotasReactive(quotaRoot, session)
+                .flatMap(quotas -> reset(quotaRoot, quotas)))
+            .then(Mono.fromCallable(() -> {
+                context.incrementProcessedCount();
+                return Task.Result.COMPLETED;
+            }))
+            .onErrorResume(e -> {
+                LOGGER.error("Failed recomputing the current quotas of user {}", user, e);
+                context.incrementFailedCount();
+                return Mono.just(Task.Result.PARTIAL);
+            });
+    }
+
+    private Mono<Void> reset(QuotaRoot quotaRoot, CurrentQuotaCalculator.CurrentQuotas quotas) {
+        return Mono.fromRunnable(Throwing.runnable(() -> currentQuotaManager.resetCurrentQuotas(quotaRoot, quotas.getCount(), quotas.getSize())))
+            .subscribeOn(Schedulers.boundedElastic())
+            .then();
+    }
+}
@@ -25,6 +25,7 @@ import static com.datastax.driver.core.DataType.timeuuid;
 import org.apache.james.backends.cassandra.components.CassandraModule;
 import org.apache.james.backends.cassandra.utils.CassandraConstants;
 import org.apache.james.mailbox.cassandra.table.CassandraMailboxCountersTable;
+import org.apache.james.mailbox.cassandra.table.CassandraMailboxUsageTable;
 
 import com.datastax.driver.core.schemabuilder.SchemaBuilder;
 
@@ -39,5 +40,17 @@ public interface CassandraMailboxCounterModule {
             .addPartitionKey(CassandraMailboxCountersTable.MAILBOX_ID, timeuuid())
             .addColumn(CassandraMailboxCountersTable.COUNT, counter())
             .addColumn(CassandraMailboxCountersTable.UNSEEN, counter()))
+        .table(CassandraMailboxUsageTable.TABLE_NAME)
+        .comment("Holds messages count and the total size of these messages for each mailbox. Allows recomputing " +
+            "current quotas without reading every message. Only trusted when its count matches the mailboxCounters one, " +
+            "as mailboxes populated before this table was introduced are not accounted.")
+        .options(options -> options
+            .compactionOptions(SchemaBuilder.leveledStrategy())
+            .caching(SchemaBuilder.KeyCaching.ALL,
+                SchemaBuilder.rows(CassandraConstants.DEFAULT_CACHED_ROW_PER_PARTITION)))
+        .statement(statement -> statement
+            .addPartitionKey(CassandraMailboxUsageTable.MAILBOX_ID, timeuuid())
+            .addColumn(CassandraMailboxUsageTable.COUNT, counter())
+            .addColumn(CassandraMailboxUsageTable.SIZE, counter()))
         .build();
 }
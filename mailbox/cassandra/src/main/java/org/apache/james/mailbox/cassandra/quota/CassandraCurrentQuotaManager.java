@@ -79,6 +79,18 @@ public class CassandraCurrentQuotaManager implements StoreCurrentQuotaManager {
         session.execute(decreaseStatement.bind(count, size, quotaRoot.getValue()));
     }
 
+    /**
+     * Shifts the current quotas of the quota root to the given values. Messages added or deleted meanwhile might be
+     * mis-accounted.
+     */
+    public void resetCurrentQuotas(QuotaRoot quotaRoot, long count, long size) throws MailboxException {
+        long countDelta = count - getCurrentMessageCount(quotaRoot).asLong();
+        long sizeDelta = size - getCurrentStorage(quotaRoot).asLong();
+        if (countDelta != 0 || sizeDelta != 0) {
+            session.execute(increaseStatement.bind(countDelta, sizeDelta, quotaRoot.getValue()));
+        }
+    }
+
     @Override
     public QuotaCount getCurrentMessageCount(QuotaRoot quotaRoot) throws MailboxException {
         ResultSet resultSet = session.execute(getCurrentMessageCountStatement.bind(quotaRoot.getValue()));
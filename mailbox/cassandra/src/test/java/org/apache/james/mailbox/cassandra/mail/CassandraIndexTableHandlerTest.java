@@ -23,6 +23,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.Optional;
+
 import javax.mail.Flags;
 
 import org.apache.james.backends.cassandra.CassandraCluster;
@@ -58,6 +60,7 @@ class CassandraIndexTableHandlerTest {
     private static final CassandraMessageId CASSANDRA_MESSAGE_ID = new CassandraMessageId.Factory().generate();
     private static final int UID_VALIDITY = 15;
     private static final long MODSEQ = 17;
+    private static final long MESSAGE_SIZE = 42;
 
     @RegisterExtension
     static CassandraClusterExtension cassandraCluster = new CassandraClusterExtension(
@@ -170,12 +173,61 @@ class CassandraIndexTableHandlerTest {
                 new ComposedMessageId(MAILBOX_ID, CASSANDRA_MESSAGE_ID, MESSAGE_UID),
                 new Flags(Flags.Flag.RECENT),
                 MODSEQ),
-            MAILBOX_ID).block();
+            MAILBOX_ID, Optional.of(MESSAGE_SIZE)).block();
 
         Long actual = mailboxCounterDAO.countMessagesInMailbox(mailbox).block();
         assertThat(actual).isEqualTo(0);
     }
 
+    @Test
+    void updateIndexOnAddShouldIncrementMailboxSize() {
+        MailboxMessage message = mock(MailboxMessage.class);
+        when(message.createFlags()).thenReturn(new Flags());
+        when(message.getUid()).thenReturn(MESSAGE_UID);
+        when(message.getFullContentOctets()).thenReturn(MESSAGE_SIZE);
+
+        testee.updateIndexOnAdd(message, MAILBOX_ID).block();
+
+        assertThat(mailboxCounterDAO.retrieveMailboxSize(MAILBOX_ID).blockOptional())
+            .contains(MESSAGE_SIZE);
+    }
+
+    @Test
+    void updateIndexOnDeleteShouldDecrementMailboxSize() {
+        MailboxMessage message = mock(MailboxMessage.class);
+        when(message.createFlags()).thenReturn(new Flags());
+        when(message.getUid()).thenReturn(MESSAGE_UID);
+        when(message.getFullContentOctets()).thenReturn(MESSAGE_SIZE);
+        testee.updateIndexOnAdd(message, MAILBOX_ID).block();
+
+        testee.updateIndexOnDelete(new ComposedMessageIdWithMetaData(
+                new ComposedMessageId(MAILBOX_ID, CASSANDRA_MESSAGE_ID, MESSAGE_UID),
+                new Flags(),
+                MODSEQ),
+            MAILBOX_ID, Optional.of(MESSAGE_SIZE)).block();
+
+        assertThat(mailboxCounterDAO.retrieveMailboxSize(MAILBOX_ID).blockOptional())
+            .contains(0L);
+    }
+
+    @Test
+    void updateIndexOnDeleteShouldInvalidateMailboxSizeWhenSizeIsUnknown() {
+        MailboxMessage message = mock(MailboxMessage.class);
+        when(message.createFlags()).thenReturn(new Flags());
+        when(message.getUid()).thenReturn(MESSAGE_UID);
+        when(message.getFullContentOctets()).thenReturn(MESSAGE_SIZE);
+        testee.updateIndexOnAdd(message, MAILBOX_ID).block();
+
+        testee.updateIndexOnDelete(new ComposedMessageIdWithMetaData(
+                new ComposedMessageId(MAILBOX_ID, CASSANDRA_MESSAGE_ID, MESSAGE_UID),
+                new Flags(),
+                MODSEQ),
+            MAILBOX_ID, Optional.empty()).block();
+
+        assertThat(mailboxCounterDAO.retrieveMailboxSize(MAILBOX_ID).blockOptional())
+            .isEmpty();
+    }
+
     @Test
     void updateIndexOnDeleteShouldDecrementUnseenMessageCountWhenUnseen() throws Exception {
         MailboxMessage message = mock(MailboxMessage.class);
@@ -187,7 +239,7 @@ class CassandraIndexTableHandlerTest {
                 new ComposedMessageId(MAILBOX_ID, CASSANDRA_MESSAGE_ID, MESSAGE_UID),
                 new Flags(),
                 MODSEQ),
-            MAILBOX_ID).block();
+            MAILBOX_ID, Optional.of(MESSAGE_SIZE)).block();
 
         Long actual = mailboxCounterDAO.countUnseenMessagesInMailbox(mailbox).block();
         assertThat(actual).isEqualTo(0);
@@ -204,7 +256,7 @@ class CassandraIndexTableHandlerTest {
                 new ComposedMessageId(MAILBOX_ID, CASSANDRA_MESSAGE_ID, MESSAGE_UID),
                 new Flags(Flags.Flag.SEEN),
                 MODSEQ),
-            MAILBOX_ID).block();
+            MAILBOX_ID, Optional.of(MESSAGE_SIZE)).block();
 
         Long actual = mailboxCounterDAO.countUnseenMessagesInMailbox(mailbox).block();
         assertThat(actual).isEqualTo(1);
@@ -221,7 +273,7 @@ class CassandraIndexTableHandlerTest {
                 new ComposedMessageId(MAILBOX_ID, CASSANDRA_MESSAGE_ID, MESSAGE_UID),
                 new Flags(Flags.Flag.RECENT),
                 MODSEQ),
-            MAILBOX_ID).block();
+            MAILBOX_ID, Optional.of(MESSAGE_SIZE)).block();
 
         assertThat(mailboxRecentsDAO.getRecentMessageUidsInMailbox(MAILBOX_ID)
             .collectList()
@@ -241,7 +293,7 @@ class CassandraIndexTableHandlerTest {
                 new ComposedMessageId(MAILBOX_ID, CASSANDRA_MESSAGE_ID, MESSAGE_UID),
                 new Flags(),
                 MODSEQ),
-            MAILBOX_ID).block();
+            MAILBOX_ID, Optional.of(MESSAGE_SIZE)).block();
 
         assertThat(mailboxRecentsDAO.getRecentMessageUidsInMailbox(MAILBOX_ID)
             .collectList()
@@ -259,7 +311,7 @@ class CassandraIndexTableHandlerTest {
                 new ComposedMessageId(MAILBOX_ID, CASSANDRA_MESSAGE_ID, MESSAGE_UID),
                 new Flags(),
                 MODSEQ),
-            MAILBOX_ID).block();
+            MAILBOX_ID, Optional.of(MESSAGE_SIZE)).block();
 
         assertThat(
             deletedMessageDAO
@@ -627,7 +679,7 @@ class CassandraIndexTableHandlerTest {
         testee.updateIndexOnDelete(new ComposedMessageIdWithMetaData(
             new ComposedMessageId(MAILBOX_ID, CASSANDRA_MESSAGE_ID, MESSAGE_UID),
             new Flags(),
-            MODSEQ), MAILBOX_ID).block();
+            MODSEQ), MAILBOX_ID, Optional.of(MESSAGE_SIZE)).block();
 
         Boolean actual = firstUnseenDAO.retrieveFirstUnread(MAILBOX_ID).hasElement().block();
         assertThat(actual).isFalse();
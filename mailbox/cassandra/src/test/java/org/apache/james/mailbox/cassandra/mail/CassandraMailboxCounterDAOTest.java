@@ -186,4 +186,64 @@ class CassandraMailboxCounterDAOTest {
         assertThat(testee.countUnseenMessagesInMailbox(mailbox).block())
             .isEqualTo(-1L);
     }
+
+    @Test
+    void retrieveMailboxSizeShouldReturnEmptyByDefault() {
+        assertThat(testee.retrieveMailboxSize(MAILBOX_ID).hasElement().block()).isFalse();
+    }
+
+    @Test
+    void retrieveMailboxSizeShouldReturnTheSumOfAddedSizes() {
+        testee.incrementCount(MAILBOX_ID).block();
+        testee.addToUsage(MAILBOX_ID, 12).block();
+        testee.incrementCount(MAILBOX_ID).block();
+        testee.addToUsage(MAILBOX_ID, 30).block();
+
+        assertThat(testee.retrieveMailboxSize(MAILBOX_ID).block()).isEqualTo(42L);
+    }
+
+    @Test
+    void removeFromUsageShouldDecrementTheMailboxSize() {
+        testee.incrementCount(MAILBOX_ID).block();
+        testee.addToUsage(MAILBOX_ID, 12).block();
+        testee.incrementCount(MAILBOX_ID).block();
+        testee.addToUsage(MAILBOX_ID, 30).block();
+
+        testee.decrementCount(MAILBOX_ID).block();
+        testee.removeFromUsage(MAILBOX_ID, 12).block();
+
+        assertThat(testee.retrieveMailboxSize(MAILBOX_ID).block()).isEqualTo(30L);
+    }
+
+    @Test
+    void retrieveMailboxSizeShouldReturnEmptyWhenUsageDoesNotMatchTheMessageCount() {
+        testee.incrementCount(MAILBOX_ID).block();
+        testee.incrementCount(MAILBOX_ID).block();
+        testee.addToUsage(MAILBOX_ID, 30).block();
+
+        assertThat(testee.retrieveMailboxSize(MAILBOX_ID).hasElement().block()).isFalse();
+    }
+
+    @Test
+    void resetUsageShouldSetTheUsageOfAnUnknownMailbox() {
+        testee.incrementCount(MAILBOX_ID).block();
+        testee.incrementCount(MAILBOX_ID).block();
+
+        testee.resetUsage(MAILBOX_ID, 2, 42).block();
+
+        assertThat(testee.retrieveMailboxSize(MAILBOX_ID).block()).isEqualTo(42L);
+    }
+
+    @Test
+    void resetUsageShouldOverrideAMismatchingUsage() {
+        testee.incrementCount(MAILBOX_ID).block();
+        testee.addToUsage(MAILBOX_ID, 12).block();
+        testee.incrementCount(MAILBOX_ID).block();
+        testee.addToUsage(MAILBOX_ID, 30).block();
+        testee.decrementCount(MAILBOX_ID).block();
+
+        testee.resetUsage(MAILBOX_ID, 1, 30).block();
+
+        assertThat(testee.retrieveMailboxSize(MAILBOX_ID).block()).isEqualTo(30L);
+    }
 }
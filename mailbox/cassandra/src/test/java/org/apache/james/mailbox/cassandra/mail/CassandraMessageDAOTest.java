@@ -177,6 +177,61 @@ class CassandraMessageDAOTest {
             .isEqualTo(CONTENT.substring(0, BODY_START));
     }
 
+    @Test
+    void retrieveMessagesShouldReadFullContentWhenFetchingContentRanges() throws Exception {
+        message = createMessage(messageId, CONTENT, BODY_START, new PropertyBuilder(), NO_ATTACHMENT);
+
+        testee.save(message).block();
+
+        MessageWithoutAttachment attachmentRepresentation =
+            toMessage(testee.retrieveMessages(messageIds, MessageMapper.FetchType.FullContentRanges, Limit.unlimited()));
+
+        assertThat(IOUtils.toString(attachmentRepresentation.getContent(), StandardCharsets.UTF_8))
+            .isEqualTo(CONTENT);
+    }
+
+    @Test
+    void retrieveMessagesShouldReadRangesAcrossHeadersAndBodyWhenFetchingContentRanges() throws Exception {
+        message = createMessage(messageId, CONTENT, BODY_START, new PropertyBuilder(), NO_ATTACHMENT);
+
+        testee.save(message).block();
+
+        SimpleMailboxMessage mailboxMessage =
+            toMessage(testee.retrieveMessages(messageIds, MessageMapper.FetchType.FullContentRanges, Limit.unlimited()))
+                .toMailboxMessage(NO_ATTACHMENT);
+
+        assertThat(IOUtils.toString(mailboxMessage.getFullContent(9, 10), StandardCharsets.UTF_8))
+            .isEqualTo(CONTENT.substring(9, 19));
+    }
+
+    @Test
+    void retrieveMessagesShouldReadRangesWithinBodyWhenFetchingContentRanges() throws Exception {
+        message = createMessage(messageId, CONTENT, BODY_START, new PropertyBuilder(), NO_ATTACHMENT);
+
+        testee.save(message).block();
+
+        SimpleMailboxMessage mailboxMessage =
+            toMessage(testee.retrieveMessages(messageIds, MessageMapper.FetchType.FullContentRanges, Limit.unlimited()))
+                .toMailboxMessage(NO_ATTACHMENT);
+
+        assertThat(IOUtils.toString(mailboxMessage.getFullContent(BODY_START + 1, 100), StandardCharsets.UTF_8))
+            .isEqualTo(CONTENT.substring(BODY_START + 1));
+    }
+
+    @Test
+    void retrieveMessagesShouldReadEmptyRangesPastContentWhenFetchingContentRanges() throws Exception {
+        message = createMessage(messageId, CONTENT, BODY_START, new PropertyBuilder(), NO_ATTACHMENT);
+
+        testee.save(message).block();
+
+        SimpleMailboxMessage mailboxMessage =
+            toMessage(testee.retrieveMessages(messageIds, MessageMapper.FetchType.FullContentRanges, Limit.unlimited()))
+                .toMailboxMessage(NO_ATTACHMENT);
+
+        assertThat(IOUtils.toString(mailboxMessage.getFullContent(CONTENT.length() + 1, 10), StandardCharsets.UTF_8))
+            .isEmpty();
+    }
+
     private SimpleMailboxMessage createMessage(MessageId messageId, String content, int bodyStart, PropertyBuilder propertyBuilder, Collection<MessageAttachment> attachments) {
         return SimpleMailboxMessage.builder()
             .messageId(messageId)
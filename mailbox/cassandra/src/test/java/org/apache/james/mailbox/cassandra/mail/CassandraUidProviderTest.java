@@ -98,4 +98,26 @@ class CassandraUidProviderTest {
 
         assertThat(messageUids).hasSize(nbEntries);
     }
+
+    @Test
+    void nextUidsShouldReturnConsecutiveUids() throws Exception {
+        uidProvider.nextUid(null, mailbox);
+
+        assertThat(uidProvider.nextUids(null, CASSANDRA_ID, 3))
+            .containsExactly(MessageUid.of(2), MessageUid.of(3), MessageUid.of(4));
+        assertThat(uidProvider.lastUid(null, mailbox)).contains(MessageUid.of(4));
+    }
+
+    @Test
+    void nextUidsShouldWorkOnEmptyMailbox() throws Exception {
+        assertThat(uidProvider.nextUids(null, CASSANDRA_ID, 3))
+            .containsExactly(MessageUid.of(1), MessageUid.of(2), MessageUid.of(3));
+    }
+
+    @Test
+    void lastUidShouldBeTheHighestAttributedUid() throws Exception {
+        uidProvider.nextUids(null, CASSANDRA_ID, 3);
+
+        assertThat(uidProvider.lastUid(null, mailbox)).contains(MessageUid.of(3));
+    }
 }
@@ -0,0 +1,68 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.cassandra.mail.task;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import org.apache.james.server.task.json.JsonTaskAdditionalInformationSerializer;
+import org.apache.james.server.task.json.JsonTaskSerializer;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+class MailboxUsageSolveInconsistenciesTaskTest {
+    private static final Instant TIMESTAMP = Instant.parse("2018-11-13T12:00:55Z");
+    private static final String SERIALIZED = "{\"type\":\"cassandra-mailbox-usage-solve-inconsistencies\"}";
+    private static final String SERIALIZED_ADDITIONAL_INFORMATION = "{\"type\":\"cassandra-mailbox-usage-solve-inconsistencies\",\"processedMailboxCount\":10,\"failedMailboxCount\":2,\"timestamp\":\"2018-11-13T12:00:55Z\"}";
+    private static final MailboxUsageSolveInconsistenciesTaskRunner TASK_RUNNER = mock(MailboxUsageSolveInconsistenciesTaskRunner.class);
+    private static final MailboxUsageSolveInconsistenciesTask TASK = new MailboxUsageSolveInconsistenciesTask(TASK_RUNNER);
+    private static final MailboxUsageSolveInconsistenciesTask.Details DETAILS = new MailboxUsageSolveInconsistenciesTask.Details(10, 2, TIMESTAMP);
+    private static final JsonTaskAdditionalInformationSerializer JSON_TASK_ADDITIONAL_INFORMATION_SERIALIZER = new JsonTaskAdditionalInformationSerializer(MailboxUsageSolveInconsistenciesTaskAdditionalInformationDTO.SERIALIZATION_MODULE);
+    private static final JsonTaskSerializer TESTEE = new JsonTaskSerializer(MailboxUsageSolveInconsistenciesTaskDTO.module(TASK_RUNNER));
+
+    @Test
+    void taskShouldBeSerializable() throws JsonProcessingException {
+        assertThatJson(TESTEE.serialize(TASK))
+            .isEqualTo(SERIALIZED);
+    }
+
+    @Test
+    void taskShouldBeDeserializable() throws IOException {
+        assertThat(TESTEE.deserialize(SERIALIZED))
+            .isEqualToComparingFieldByFieldRecursively(TASK);
+    }
+
+    @Test
+    void additionalInformationShouldBeSerializable() throws JsonProcessingException {
+        assertThatJson(JSON_TASK_ADDITIONAL_INFORMATION_SERIALIZER.serialize(DETAILS))
+            .isEqualTo(SERIALIZED_ADDITIONAL_INFORMATION);
+    }
+
+    @Test
+    void additionalInformationShouldBeDeserializable() throws IOException {
+        assertThat(JSON_TASK_ADDITIONAL_INFORMATION_SERIALIZER.deserialize(SERIALIZED_ADDITIONAL_INFORMATION))
+            .isEqualToComparingFieldByField(DETAILS);
+    }
+}
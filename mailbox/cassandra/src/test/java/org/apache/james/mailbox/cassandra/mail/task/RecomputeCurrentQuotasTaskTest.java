@@ -0,0 +1,83 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.cassandra.mail.task;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.apache.james.server.task.json.JsonTaskAdditionalInformationSerializer;
+import org.apache.james.server.task.json.JsonTaskSerializer;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+class RecomputeCurrentQuotasTaskTest {
+    private static final Instant TIMESTAMP = Instant.parse("2018-11-13T12:00:55Z");
+    private static final String SERIALIZED = "{\"type\":\"cassandra-recompute-current-quotas\",\"usersPerSecond\":20}";
+    private static final String SERIALIZED_WITHOUT_THROTTLE = "{\"type\":\"cassandra-recompute-current-quotas\"}";
+    private static final String SERIALIZED_ADDITIONAL_INFORMATION = "{\"type\":\"cassandra-recompute-current-quotas\",\"processedQuotaRootCount\":10,\"failedQuotaRootCount\":2,\"usersPerSecond\":20,\"timestamp\":\"2018-11-13T12:00:55Z\"}";
+    private static final RecomputeCurrentQuotasTaskRunner TASK_RUNNER = mock(RecomputeCurrentQuotasTaskRunner.class);
+    private static final RecomputeCurrentQuotasTask TASK = new RecomputeCurrentQuotasTask(TASK_RUNNER, Optional.of(20));
+    private static final RecomputeCurrentQuotasTask.Details DETAILS = new RecomputeCurrentQuotasTask.Details(10, 2, Optional.of(20), TIMESTAMP);
+    private static final JsonTaskAdditionalInformationSerializer JSON_TASK_ADDITIONAL_INFORMATION_SERIALIZER = new JsonTaskAdditionalInformationSerializer(RecomputeCurrentQuotasTaskAdditionalInformationDTO.SERIALIZATION_MODULE);
+    private static final JsonTaskSerializer TESTEE = new JsonTaskSerializer(RecomputeCurrentQuotasTaskDTO.module(TASK_RUNNER));
+
+    @Test
+    void taskShouldBeSerializable() throws JsonProcessingException {
+        assertThatJson(TESTEE.serialize(TASK))
+            .isEqualTo(SERIALIZED);
+    }
+
+    @Test
+    void taskShouldBeDeserializable() throws IOException {
+        assertThat(TESTEE.deserialize(SERIALIZED))
+            .isEqualToComparingFieldByFieldRecursively(TASK);
+    }
+
+    @Test
+    void taskWithoutThrottleShouldBeDeserializable() throws IOException {
+        assertThat(TESTEE.deserialize(SERIALIZED_WITHOUT_THROTTLE))
+            .isEqualToComparingFieldByFieldRecursively(new RecomputeCurrentQuotasTask(TASK_RUNNER, Optional.empty()));
+    }
+
+    @Test
+    void taskShouldRejectNonPositiveThrottle() {
+        assertThatThrownBy(() -> new RecomputeCurrentQuotasTask(TASK_RUNNER, Optional.of(0)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void additionalInformationShouldBeSerializable() throws JsonProcessingException {
+        assertThatJson(JSON_TASK_ADDITIONAL_INFORMATION_SERIALIZER.serialize(DETAILS))
+            .isEqualTo(SERIALIZED_ADDITIONAL_INFORMATION);
+    }
+
+    @Test
+    void additionalInformationShouldBeDeserializable() throws IOException {
+        assertThat(JSON_TASK_ADDITIONAL_INFORMATION_SERIALIZER.deserialize(SERIALIZED_ADDITIONAL_INFORMATION))
+            .isEqualToComparingFieldByField(DETAILS);
+    }
+}
@@ -19,14 +19,19 @@
 
 package org.apache.james.mailbox.cassandra.quota;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import org.apache.james.backends.cassandra.CassandraCluster;
 import org.apache.james.backends.cassandra.DockerCassandraRule;
+import org.apache.james.core.quota.QuotaCount;
+import org.apache.james.core.quota.QuotaSize;
 import org.apache.james.mailbox.cassandra.modules.CassandraQuotaModule;
 import org.apache.james.mailbox.store.quota.StoreCurrentQuotaManager;
 import org.apache.james.mailbox.store.quota.StoreCurrentQuotaManagerTest;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
+import org.junit.Test;
 
 public class CassandraCurrentQuotaManagerTest extends StoreCurrentQuotaManagerTest {
 
@@ -46,6 +51,28 @@ public class CassandraCurrentQuotaManagerTest extends StoreCurrentQuotaManagerTe
         return new CassandraCurrentQuotaManager(cassandra.getConf());
     }
 
+    @Test
+    public void resetCurrentQuotasShouldSetTheGivenValues() throws Exception {
+        CassandraCurrentQuotaManager testee = new CassandraCurrentQuotaManager(cassandra.getConf());
+        testee.increase(QUOTA_ROOT, 10, 100);
+
+        testee.resetCurrentQuotas(QUOTA_ROOT, 3, 300);
+
+        assertThat(testee.getCurrentMessageCount(QUOTA_ROOT)).isEqualTo(QuotaCount.count(3));
+        assertThat(testee.getCurrentStorage(QUOTA_ROOT)).isEqualTo(QuotaSize.size(300));
+    }
+
+    @Test
+    public void resetCurrentQuotasShouldSetZeroValues() throws Exception {
+        CassandraCurrentQuotaManager testee = new CassandraCurrentQuotaManager(cassandra.getConf());
+        testee.increase(QUOTA_ROOT, 10, 100);
+
+        testee.resetCurrentQuotas(QUOTA_ROOT, 0, 0);
+
+        assertThat(testee.getCurrentMessageCount(QUOTA_ROOT)).isEqualTo(QuotaCount.count(0));
+        assertThat(testee.getCurrentStorage(QUOTA_ROOT)).isEqualTo(QuotaSize.size(0));
+    }
+
     @After
     public void tearDown() {
         cassandra.clearTables();
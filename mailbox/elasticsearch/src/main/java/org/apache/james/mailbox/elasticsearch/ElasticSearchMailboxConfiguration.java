@@ -23,9 +23,11 @@ import java.util.Objects;
 import java.util.Optional;
 
 import org.apache.commons.configuration2.Configuration;
+import org.apache.james.backends.es.BulkIndexingConfiguration;
 import org.apache.james.backends.es.IndexName;
 import org.apache.james.backends.es.ReadAliasName;
 import org.apache.james.backends.es.WriteAliasName;
+import org.apache.james.util.DurationParser;
 import org.apache.james.util.OptionalUtils;
 
 public class ElasticSearchMailboxConfiguration {
@@ -35,12 +37,14 @@ public class ElasticSearchMailboxConfiguration {
         private Optional<ReadAliasName> readAliasMailboxName;
         private Optional<WriteAliasName> writeAliasMailboxName;
         private Optional<IndexAttachments> indexAttachment;
+        private Optional<BulkIndexingConfiguration> bulkIndexingConfiguration;
 
         Builder() {
             indexMailboxName = Optional.empty();
             readAliasMailboxName = Optional.empty();
             writeAliasMailboxName = Optional.empty();
             indexAttachment = Optional.empty();
+            bulkIndexingConfiguration = Optional.empty();
         }
 
         Builder indexMailboxName(Optional<IndexName> indexMailboxName) {
@@ -64,6 +68,11 @@ public class ElasticSearchMailboxConfiguration {
             return this;
         }
 
+        Builder bulkIndexingConfiguration(BulkIndexingConfiguration bulkIndexingConfiguration) {
+            this.bulkIndexingConfiguration = Optional.of(bulkIndexingConfiguration);
+            return this;
+        }
+
 
 
         public ElasticSearchMailboxConfiguration build() {
@@ -71,7 +80,8 @@ public class ElasticSearchMailboxConfiguration {
                 indexMailboxName.orElse(MailboxElasticSearchConstants.DEFAULT_MAILBOX_INDEX),
                 readAliasMailboxName.orElse(MailboxElasticSearchConstants.DEFAULT_MAILBOX_READ_ALIAS),
                 writeAliasMailboxName.orElse(MailboxElasticSearchConstants.DEFAULT_MAILBOX_WRITE_ALIAS),
-                indexAttachment.orElse(IndexAttachments.YES));
+                indexAttachment.orElse(IndexAttachments.YES),
+                bulkIndexingConfiguration.orElse(BulkIndexingConfiguration.DEFAULT_CONFIGURATION));
         }
     }
 
@@ -86,6 +96,12 @@ public class ElasticSearchMailboxConfiguration {
     private static final String ELASTICSEARCH_ALIAS_READ_MAILBOX_NAME = "elasticsearch.alias.read.mailbox.name";
     private static final String ELASTICSEARCH_ALIAS_WRITE_MAILBOX_NAME = "elasticsearch.alias.write.mailbox.name";
     private static final String ELASTICSEARCH_INDEX_ATTACHMENTS = "elasticsearch.indexAttachments";
+    private static final String ELASTICSEARCH_BULK_MAX_ACTIONS = "elasticsearch.bulk.maxActions";
+    private static final String ELASTICSEARCH_BULK_MAX_SIZE_IN_BYTES = "elasticsearch.bulk.maxSizeInBytes";
+    private static final String ELASTICSEARCH_BULK_FLUSH_INTERVAL = "elasticsearch.bulk.flushInterval";
+    private static final String ELASTICSEARCH_BULK_MAX_CONCURRENT_REQUESTS = "elasticsearch.bulk.maxConcurrentRequests";
+    private static final String ELASTICSEARCH_BULK_MAX_PENDING_ACTIONS = "elasticsearch.bulk.maxPendingActions";
+    private static final String ELASTICSEARCH_BULK_MAX_RETRIES = "elasticsearch.bulk.maxRetries";
     private static final boolean DEFAULT_INDEX_ATTACHMENTS = true;
 
     public static final ElasticSearchMailboxConfiguration DEFAULT_CONFIGURATION = builder().build();
@@ -96,6 +112,7 @@ public class ElasticSearchMailboxConfiguration {
             .readAliasMailboxName(computeMailboxReadAlias(configuration))
             .writeAliasMailboxName(computeMailboxWriteAlias(configuration))
             .indexAttachment(provideIndexAttachments(configuration))
+            .bulkIndexingConfiguration(computeBulkIndexingConfiguration(configuration))
             .build();
     }
 
@@ -124,6 +141,24 @@ public class ElasticSearchMailboxConfiguration {
     }
 
 
+    static BulkIndexingConfiguration computeBulkIndexingConfiguration(Configuration configuration) {
+        BulkIndexingConfiguration.Builder builder = BulkIndexingConfiguration.builder();
+        Optional.ofNullable(configuration.getInteger(ELASTICSEARCH_BULK_MAX_ACTIONS, null))
+            .ifPresent(builder::maxActions);
+        Optional.ofNullable(configuration.getLong(ELASTICSEARCH_BULK_MAX_SIZE_IN_BYTES, null))
+            .ifPresent(builder::maxSizeInBytes);
+        Optional.ofNullable(configuration.getString(ELASTICSEARCH_BULK_FLUSH_INTERVAL))
+            .map(DurationParser::parse)
+            .ifPresent(builder::flushInterval);
+        Optional.ofNullable(configuration.getInteger(ELASTICSEARCH_BULK_MAX_CONCURRENT_REQUESTS, null))
+            .ifPresent(builder::maxConcurrentRequests);
+        Optional.ofNullable(configuration.getInteger(ELASTICSEARCH_BULK_MAX_PENDING_ACTIONS, null))
+            .ifPresent(builder::maxPendingActions);
+        Optional.ofNullable(configuration.getInteger(ELASTICSEARCH_BULK_MAX_RETRIES, null))
+            .ifPresent(builder::maxRetries);
+        return builder.build();
+    }
+
     private static IndexAttachments provideIndexAttachments(Configuration configuration) {
         if (configuration.getBoolean(ELASTICSEARCH_INDEX_ATTACHMENTS, DEFAULT_INDEX_ATTACHMENTS)) {
             return IndexAttachments.YES;
@@ -136,13 +171,16 @@ public class ElasticSearchMailboxConfiguration {
     private final ReadAliasName readAliasMailboxName;
     private final WriteAliasName writeAliasMailboxName;
     private final IndexAttachments indexAttachment;
+    private final BulkIndexingConfiguration bulkIndexingConfiguration;
 
     private ElasticSearchMailboxConfiguration(IndexName indexMailboxName, ReadAliasName readAliasMailboxName,
-                                              WriteAliasName writeAliasMailboxName, IndexAttachments indexAttachment) {
+                                              WriteAliasName writeAliasMailboxName, IndexAttachments indexAttachment,
+                                              BulkIndexingConfiguration bulkIndexingConfiguration) {
         this.indexMailboxName = indexMailboxName;
         this.readAliasMailboxName = readAliasMailboxName;
         this.writeAliasMailboxName = writeAliasMailboxName;
         this.indexAttachment = indexAttachment;
+        this.bulkIndexingConfiguration = bulkIndexingConfiguration;
     }
 
 
@@ -162,6 +200,10 @@ public class ElasticSearchMailboxConfiguration {
         return indexAttachment;
     }
 
+    public BulkIndexingConfiguration getBulkIndexingConfiguration() {
+        return bulkIndexingConfiguration;
+    }
+
     @Override
     public final boolean equals(Object o) {
         if (o instanceof ElasticSearchMailboxConfiguration) {
@@ -170,13 +212,14 @@ public class ElasticSearchMailboxConfiguration {
             return Objects.equals(this.indexAttachment, that.indexAttachment)
                 && Objects.equals(this.indexMailboxName, that.indexMailboxName)
                 && Objects.equals(this.readAliasMailboxName, that.readAliasMailboxName)
-                && Objects.equals(this.writeAliasMailboxName, that.writeAliasMailboxName);
+                && Objects.equals(this.writeAliasMailboxName, that.writeAliasMailboxName)
+                && Objects.equals(this.bulkIndexingConfiguration, that.bulkIndexingConfiguration);
         }
         return false;
     }
 
     @Override
     public final int hashCode() {
-        return Objects.hash(indexMailboxName, readAliasMailboxName, writeAliasMailboxName, indexAttachment, writeAliasMailboxName);
+        return Objects.hash(indexMailboxName, readAliasMailboxName, writeAliasMailboxName, indexAttachment, writeAliasMailboxName, bulkIndexingConfiguration);
     }
 }
@@ -18,6 +18,7 @@
  ****************************************************************/
 package org.apache.james.mailbox.elasticsearch.events;
 
+import static org.apache.james.backends.es.ElasticSearchBulkIndexer.Flush.IMMEDIATE;
 import static org.elasticsearch.index.query.QueryBuilders.termQuery;
 
 import java.io.IOException;
@@ -31,6 +32,7 @@ import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.apache.james.backends.es.DocumentId;
+import org.apache.james.backends.es.ElasticSearchBulkIndexer;
 import org.apache.james.backends.es.ElasticSearchIndexer;
 import org.apache.james.backends.es.RoutingKey;
 import org.apache.james.backends.es.UpdatedRepresentation;
@@ -63,6 +65,9 @@ import com.github.steveash.guavate.Guavate;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 public class ElasticSearchListeningMessageSearchIndex extends ListeningMessageSearchIndex {
     public static class ElasticSearchListeningMessageSearchIndexGroup extends Group {
 
@@ -73,6 +78,7 @@ public class ElasticSearchListeningMessageSearchIndex extends ListeningMessageSe
     private static final Group GROUP = new ElasticSearchListeningMessageSearchIndexGroup();
 
     private final ElasticSearchIndexer elasticSearchIndexer;
+    private final ElasticSearchBulkIndexer bulkIndexer;
     private final ElasticSearchSearcher searcher;
     private final MessageToElasticSearchJson messageToElasticSearchJson;
     private final RoutingKey.Factory<MailboxId> routingKeyFactory;
@@ -80,10 +86,12 @@ public class ElasticSearchListeningMessageSearchIndex extends ListeningMessageSe
     @Inject
     public ElasticSearchListeningMessageSearchIndex(MailboxSessionMapperFactory factory,
                                                     @Named(MailboxElasticSearchConstants.InjectionNames.MAILBOX) ElasticSearchIndexer indexer,
+                                                    @Named(MailboxElasticSearchConstants.InjectionNames.MAILBOX) ElasticSearchBulkIndexer bulkIndexer,
                                                     ElasticSearchSearcher searcher, MessageToElasticSearchJson messageToElasticSearchJson,
                                                     SessionProvider sessionProvider, RoutingKey.Factory<MailboxId> routingKeyFactory) {
         super(factory, sessionProvider);
         this.elasticSearchIndexer = indexer;
+        this.bulkIndexer = bulkIndexer;
         this.messageToElasticSearchJson = messageToElasticSearchJson;
         this.searcher = searcher;
         this.routingKeyFactory = routingKeyFactory;
@@ -144,7 +152,35 @@ public class ElasticSearchListeningMessageSearchIndex extends ListeningMessageSe
 
         String jsonContent = generateIndexedJson(mailbox, message, session);
 
-        elasticSearchIndexer.index(indexIdFor(mailbox, message.getUid()), jsonContent, routingKeyFactory.from(mailbox.getMailboxId()));
+        bulkIndexer.index(indexIdFor(mailbox, message.getUid()), jsonContent, routingKeyFactory.from(mailbox.getMailboxId()), IMMEDIATE)
+            .block();
+    }
+
+    @Override
+    public List<MessageUid> add(MailboxSession session, Mailbox mailbox, List<MailboxMessage> messages) {
+        LOGGER.info("Indexing {} messages in mailbox {}-{} of user {}",
+            messages.size(),
+            mailbox.getName(),
+            mailbox.getMailboxId(),
+            session.getUser().asString());
+
+        if (messages.isEmpty()) {
+            return ImmutableList.of();
+        }
+        RoutingKey routingKey = routingKeyFactory.from(mailbox.getMailboxId());
+
+        // Every message is submitted to the bulk indexer before waiting for their acknowledgement
+        return Flux.fromIterable(messages)
+            .flatMap(message -> Mono.fromCallable(() -> generateIndexedJson(mailbox, message, session))
+                    .flatMap(jsonContent -> bulkIndexer.index(indexIdFor(mailbox, message.getUid()), jsonContent, routingKey, IMMEDIATE))
+                    .then(Mono.<MessageUid>empty())
+                    .onErrorResume(e -> {
+                        LOGGER.warn("Could not index message {} in mailbox {}", message.getUid(), mailbox.getMailboxId().serialize(), e);
+                        return Mono.just(message.getUid());
+                    }),
+                messages.size())
+            .collect(Guavate.toImmutableList())
+            .block();
     }
 
     private String generateIndexedJson(Mailbox mailbox, MailboxMessage message, MailboxSession session) throws JsonProcessingException {
@@ -163,11 +199,13 @@ public class ElasticSearchListeningMessageSearchIndex extends ListeningMessageSe
 
     @Override
     public void delete(MailboxSession session, Mailbox mailbox, Collection<MessageUid> expungedUids) throws IOException {
-            elasticSearchIndexer
+            bulkIndexer
                 .delete(expungedUids.stream()
                     .map(uid ->  indexIdFor(mailbox, uid))
                     .collect(Guavate.toImmutableList()),
-                    routingKeyFactory.from(mailbox.getMailboxId()));
+                    routingKeyFactory.from(mailbox.getMailboxId()),
+                    IMMEDIATE)
+                .block();
     }
 
     @Override
@@ -176,8 +214,12 @@ public class ElasticSearchListeningMessageSearchIndex extends ListeningMessageSe
             JsonMessageConstants.MAILBOX_ID,
             mailboxId.serialize());
 
+        RoutingKey routingKey = routingKeyFactory.from(mailboxId);
+
+        // Pending or retried bulk operations of the mailbox would otherwise be applied after the deletion
+        bulkIndexer.awaitPending(routingKey).block();
         elasticSearchIndexer
-                .deleteAllMatchingQuery(queryBuilder, routingKeyFactory.from(mailboxId));
+                .deleteAllMatchingQuery(queryBuilder, routingKey);
     }
 
     @Override
@@ -188,7 +230,8 @@ public class ElasticSearchListeningMessageSearchIndex extends ListeningMessageSe
                 .sneakyThrow())
             .collect(Guavate.toImmutableList());
 
-        elasticSearchIndexer.update(updates, routingKeyFactory.from(mailbox.getMailboxId()));
+        bulkIndexer.update(updates, routingKeyFactory.from(mailbox.getMailboxId()), IMMEDIATE)
+            .block();
     }
 
     private UpdatedRepresentation createUpdatedDocumentPartFromUpdatedFlags(Mailbox mailbox, UpdatedFlags updatedFlags) throws JsonProcessingException {
@@ -21,7 +21,10 @@ package org.apache.james.mailbox.elasticsearch;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Duration;
+
 import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.apache.james.backends.es.BulkIndexingConfiguration;
 import org.apache.james.backends.es.IndexName;
 import org.apache.james.backends.es.ReadAliasName;
 import org.apache.james.backends.es.WriteAliasName;
@@ -224,4 +227,37 @@ public class ElasticSearchMailboxConfigurationTest {
             .isEqualTo(IndexAttachments.YES);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void getBulkIndexingConfigurationShouldReturnConfiguredValues() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("elasticsearch.bulk.maxActions", 20);
+        configuration.addProperty("elasticsearch.bulk.maxSizeInBytes", 1024);
+        configuration.addProperty("elasticsearch.bulk.flushInterval", "2s");
+        configuration.addProperty("elasticsearch.bulk.maxConcurrentRequests", 2);
+        configuration.addProperty("elasticsearch.bulk.maxPendingActions", 200);
+        configuration.addProperty("elasticsearch.bulk.maxRetries", 5);
+
+        ElasticSearchMailboxConfiguration elasticSearchConfiguration = ElasticSearchMailboxConfiguration.fromProperties(configuration);
+
+        assertThat(elasticSearchConfiguration.getBulkIndexingConfiguration())
+            .isEqualTo(BulkIndexingConfiguration.builder()
+                .maxActions(20)
+                .maxSizeInBytes(1024)
+                .flushInterval(Duration.ofSeconds(2))
+                .maxConcurrentRequests(2)
+                .maxPendingActions(200)
+                .maxRetries(5)
+                .build());
+    }
+
+    @Test
+    public void getBulkIndexingConfigurationShouldReturnDefaultValueWhenMissing() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("elasticsearch.hosts", "127.0.0.1");
+
+        ElasticSearchMailboxConfiguration elasticSearchConfiguration = ElasticSearchMailboxConfiguration.fromProperties(configuration);
+
+        assertThat(elasticSearchConfiguration.getBulkIndexingConfiguration())
+            .isEqualTo(BulkIndexingConfiguration.DEFAULT_CONFIGURATION);
+    }
+}
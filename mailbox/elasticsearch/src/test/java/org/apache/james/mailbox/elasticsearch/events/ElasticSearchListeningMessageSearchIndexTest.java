@@ -31,7 +31,9 @@ import java.util.Date;
 import javax.mail.Flags;
 import javax.mail.util.SharedByteArrayInputStream;
 
+import org.apache.james.backends.es.BulkIndexingConfiguration;
 import org.apache.james.backends.es.DockerElasticSearchRule;
+import org.apache.james.backends.es.ElasticSearchBulkIndexer;
 import org.apache.james.backends.es.ElasticSearchIndexer;
 import org.apache.james.mailbox.DefaultMailboxes;
 import org.apache.james.mailbox.MailboxSession;
@@ -44,7 +46,9 @@ import org.apache.james.mailbox.elasticsearch.json.MessageToElasticSearchJson;
 import org.apache.james.mailbox.elasticsearch.query.CriterionConverter;
 import org.apache.james.mailbox.elasticsearch.query.QueryConverter;
 import org.apache.james.mailbox.elasticsearch.search.ElasticSearchSearcher;
+import org.apache.james.mailbox.events.Event;
 import org.apache.james.mailbox.events.Group;
+import org.apache.james.mailbox.events.MailboxListener;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.extractor.ParsedContent;
 import org.apache.james.mailbox.extractor.TextExtractor;
@@ -57,6 +61,7 @@ import org.apache.james.mailbox.model.Mailbox;
 import org.apache.james.mailbox.model.MailboxPath;
 import org.apache.james.mailbox.model.MessageAttachment;
 import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.mailbox.model.MessageMetaData;
 import org.apache.james.mailbox.model.SearchQuery;
 import org.apache.james.mailbox.model.TestId;
 import org.apache.james.mailbox.model.TestMessageId;
@@ -67,8 +72,11 @@ import org.apache.james.mailbox.store.FakeAuthorizator;
 import org.apache.james.mailbox.store.MailboxSessionMapperFactory;
 import org.apache.james.mailbox.store.SessionProvider;
 import org.apache.james.mailbox.store.extractor.DefaultTextExtractor;
+import org.apache.james.mailbox.store.mail.MessageMapper;
+import org.apache.james.mailbox.store.mail.model.MailboxMessage;
 import org.apache.james.mailbox.store.mail.model.impl.PropertyBuilder;
 import org.apache.james.mailbox.store.mail.model.impl.SimpleMailboxMessage;
+import org.apache.james.metrics.api.NoopMetricFactory;
 import org.awaitility.Duration;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.junit.Before;
@@ -76,6 +84,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.testcontainers.shaded.com.google.common.collect.ImmutableList;
 
+import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.Lists;
 
 public class ElasticSearchListeningMessageSearchIndexTest {
@@ -135,6 +144,7 @@ public class ElasticSearchListeningMessageSearchIndexTest {
     private Mailbox mailbox;
     private MailboxSessionMapperFactory mapperFactory;
     private ElasticSearchIndexer elasticSearchIndexer;
+    private ElasticSearchBulkIndexer bulkIndexer;
     private ElasticSearchSearcher elasticSearchSearcher;
     private SessionProvider sessionProvider;
 
@@ -170,8 +180,10 @@ public class ElasticSearchListeningMessageSearchIndexTest {
         sessionProvider = new SessionProvider(fakeAuthenticator, authorizator);
 
         elasticSearchIndexer = new ElasticSearchIndexer(client, MailboxElasticSearchConstants.DEFAULT_MAILBOX_WRITE_ALIAS);
+        bulkIndexer = new ElasticSearchBulkIndexer(client, MailboxElasticSearchConstants.DEFAULT_MAILBOX_WRITE_ALIAS,
+            BulkIndexingConfiguration.DEFAULT_CONFIGURATION, new NoopMetricFactory());
         
-        testee = new ElasticSearchListeningMessageSearchIndex(mapperFactory, elasticSearchIndexer, elasticSearchSearcher,
+        testee = new ElasticSearchListeningMessageSearchIndex(mapperFactory, elasticSearchIndexer, bulkIndexer, elasticSearchSearcher,
             messageToElasticSearchJson, sessionProvider, new MailboxIdRoutingKeyFactory());
         session = sessionProvider.createSystemSession(USERNAME);
 
@@ -230,6 +242,35 @@ public class ElasticSearchListeningMessageSearchIndexTest {
             .containsExactly(MESSAGE_1.getUid(), MESSAGE_2.getUid());
     }
 
+    @Test
+    public void addShouldIndexBatchesOfMessages() throws Exception {
+        assertThat(testee.add(session, mailbox, ImmutableList.<MailboxMessage>of(MESSAGE_1, MESSAGE_2))).isEmpty();
+        elasticSearch.awaitForElasticSearch();
+
+        SearchQuery query = new SearchQuery(SearchQuery.all());
+        assertThat(testee.search(session, mailbox, query))
+            .containsExactly(MESSAGE_1.getUid(), MESSAGE_2.getUid());
+    }
+
+    @Test
+    public void eventsShouldIndexMessagesAddedByConsecutiveEvents() throws Exception {
+        MessageMapper messageMapper = mapperFactory.getMessageMapper(session);
+        MessageMetaData metaData1 = messageMapper.add(mailbox, MESSAGE_BUILDER.messageId(MESSAGE_ID_1).uid(MESSAGE_UID_1).build());
+        MessageMetaData metaData2 = messageMapper.add(mailbox, MESSAGE_BUILDER.messageId(MESSAGE_ID_2).uid(MESSAGE_UID_2).build());
+
+        testee.event(ImmutableList.<Event>of(added(metaData1), added(metaData2)));
+        elasticSearch.awaitForElasticSearch();
+
+        SearchQuery query = new SearchQuery(SearchQuery.all());
+        assertThat(testee.search(session, mailbox, query))
+            .containsExactly(metaData1.getUid(), metaData2.getUid());
+    }
+
+    private MailboxListener.Added added(MessageMetaData metaData) {
+        return new MailboxListener.Added(session.getSessionId(), session.getUser(), mailbox.generateAssociatedPath(),
+            mailbox.getMailboxId(), ImmutableSortedMap.of(metaData.getUid(), metaData), Event.EventId.random());
+    }
+
     @Test
     public void addShouldIndexEmailBodyWhenNotIndexableAttachment() throws Exception {
         MessageToElasticSearchJson messageToElasticSearchJson = new MessageToElasticSearchJson(
@@ -237,7 +278,7 @@ public class ElasticSearchListeningMessageSearchIndexTest {
             ZoneId.of("Europe/Paris"),
             IndexAttachments.YES);
 
-        testee = new ElasticSearchListeningMessageSearchIndex(mapperFactory, elasticSearchIndexer, elasticSearchSearcher,
+        testee = new ElasticSearchListeningMessageSearchIndex(mapperFactory, elasticSearchIndexer, bulkIndexer, elasticSearchSearcher,
             messageToElasticSearchJson, sessionProvider, new MailboxIdRoutingKeyFactory());
 
         testee.add(session, mailbox, MESSAGE_WITH_ATTACHMENT);
@@ -25,6 +25,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import javax.inject.Inject;
 
+import org.apache.james.mailbox.events.delivery.BatchingEventDelivery;
 import org.apache.james.mailbox.events.delivery.EventDelivery;
 import org.apache.james.mailbox.events.delivery.EventDelivery.PermanentFailureHandler.StoreToDeadLetters;
 import org.apache.james.mailbox.events.delivery.EventDelivery.Retryer.BackoffRetryer;
@@ -42,6 +43,7 @@ public class InVMEventBus implements EventBus {
 
     private final Multimap<RegistrationKey, MailboxListener> registrations;
     private final ConcurrentHashMap<Group, MailboxListener> groups;
+    private final ConcurrentHashMap<Group, BatchingEventDelivery> batchingDeliveries;
     private final EventDelivery eventDelivery;
     private final RetryBackoffConfiguration retryBackoff;
     private final EventDeadLetters eventDeadLetters;
@@ -53,6 +55,7 @@ public class InVMEventBus implements EventBus {
         this.eventDeadLetters = eventDeadLetters;
         this.registrations = Multimaps.synchronizedSetMultimap(HashMultimap.create());
         this.groups = new ConcurrentHashMap<>();
+        this.batchingDeliveries = new ConcurrentHashMap<>();
     }
 
     @VisibleForTesting
@@ -70,11 +73,23 @@ public class InVMEventBus implements EventBus {
     public Registration register(MailboxListener listener, Group group) {
         MailboxListener previous = groups.putIfAbsent(group, listener);
         if (previous == null) {
-            return () -> groups.remove(group, listener);
+            if (listener instanceof MailboxListener.BatchingMailboxListener) {
+                batchingDeliveries.put(group, BatchingEventDelivery.start(eventDelivery,
+                    (MailboxListener.BatchingMailboxListener) listener,
+                    groupDeliveryOption(listener, group)));
+            }
+            return () -> unregister(group, listener);
         }
         throw new GroupAlreadyRegistered(group);
     }
 
+    private void unregister(Group group, MailboxListener listener) {
+        if (groups.remove(group, listener)) {
+            Optional.ofNullable(batchingDeliveries.remove(group))
+                .ifPresent(BatchingEventDelivery::stop);
+        }
+    }
+
     @Override
     public Mono<Void> dispatch(Event event, Set<RegistrationKey> keys) {
         if (!event.isNoop()) {
@@ -113,12 +128,20 @@ public class InVMEventBus implements EventBus {
     }
 
     private EventDelivery.ExecutionStages groupDelivery(Event event, MailboxListener mailboxListener, Group group) {
+        BatchingEventDelivery batchingDelivery = batchingDeliveries.get(group);
+        if (batchingDelivery != null) {
+            return batchingDelivery.deliver(event);
+        }
         return eventDelivery.deliver(
             mailboxListener,
             event,
-            EventDelivery.DeliveryOption.of(
-                BackoffRetryer.of(retryBackoff, mailboxListener),
-                StoreToDeadLetters.of(group, eventDeadLetters)));
+            groupDeliveryOption(mailboxListener, group));
+    }
+
+    private EventDelivery.DeliveryOption groupDeliveryOption(MailboxListener mailboxListener, Group group) {
+        return EventDelivery.DeliveryOption.of(
+            BackoffRetryer.of(retryBackoff, mailboxListener),
+            StoreToDeadLetters.of(group, eventDeadLetters));
     }
 
     public Set<Group> registeredGroups() {
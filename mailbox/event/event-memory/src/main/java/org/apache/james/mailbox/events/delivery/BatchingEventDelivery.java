@@ -0,0 +1,114 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.events.delivery;
+
+import java.util.List;
+
+import org.apache.james.mailbox.events.BatchConfiguration;
+import org.apache.james.mailbox.events.Event;
+import org.apache.james.mailbox.events.MailboxListener;
+
+import com.github.steveash.guavate.Guavate;
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.publisher.UnicastProcessor;
+
+/**
+ * Groups the events delivered to a {@link MailboxListener.BatchingMailboxListener} according to its
+ * {@link BatchConfiguration}, batches being delivered one after the other.
+ *
+ * Synchronous listeners are not batched: the dispatching thread waits for them, so each event is delivered at once
+ * as a batch of its own rather than after the batch delay.
+ */
+public class BatchingEventDelivery {
+    private static class PendingEvent {
+        private final Event event;
+        private final MonoProcessor<Void> completion;
+
+        private PendingEvent(Event event) {
+            this.event = event;
+            this.completion = MonoProcessor.create();
+        }
+    }
+
+    public static BatchingEventDelivery start(EventDelivery eventDelivery, MailboxListener.BatchingMailboxListener listener, EventDelivery.DeliveryOption option) {
+        return new BatchingEventDelivery(eventDelivery, listener, option);
+    }
+
+    private final EventDelivery eventDelivery;
+    private final MailboxListener.BatchingMailboxListener listener;
+    private final EventDelivery.DeliveryOption option;
+    private final FluxSink<PendingEvent> pendingEvents;
+
+    private BatchingEventDelivery(EventDelivery eventDelivery, MailboxListener.BatchingMailboxListener listener, EventDelivery.DeliveryOption option) {
+        this.eventDelivery = eventDelivery;
+        this.listener = listener;
+        this.option = option;
+
+        BatchConfiguration batchConfiguration = listener.getBatchConfiguration();
+        UnicastProcessor<PendingEvent> processor = UnicastProcessor.create();
+        this.pendingEvents = processor.sink();
+        processor
+            .bufferTimeout(batchConfiguration.getMaxSize(), batchConfiguration.getMaxDelay())
+            .onBackpressureBuffer()
+            .concatMap(this::deliverBatch)
+            .subscribe();
+    }
+
+    public EventDelivery.ExecutionStages deliver(Event event) {
+        if (!listener.isHandling(event)) {
+            return EventDelivery.ExecutionStages.empty();
+        }
+        if (isSynchronous()) {
+            return EventDelivery.ExecutionStages.synchronous(
+                eventDelivery.deliverBatch(listener, ImmutableList.of(event), option));
+        }
+        PendingEvent pendingEvent = new PendingEvent(event);
+        pendingEvents.next(pendingEvent);
+        return EventDelivery.ExecutionStages.asynchronous(pendingEvent.completion);
+    }
+
+    /**
+     * Delivers the pending events then stops accepting new ones.
+     */
+    public void stop() {
+        pendingEvents.complete();
+    }
+
+    private boolean isSynchronous() {
+        return listener.getExecutionMode().equals(MailboxListener.ExecutionMode.SYNCHRONOUS);
+    }
+
+    private Mono<Void> deliverBatch(List<PendingEvent> batch) {
+        List<Event> events = batch.stream()
+            .map(pendingEvent -> pendingEvent.event)
+            .collect(Guavate.toImmutableList());
+
+        return eventDelivery.deliverBatch(listener, events, option)
+            .doOnSuccess(any -> batch.forEach(pendingEvent -> pendingEvent.completion.onComplete()))
+            .onErrorResume(throwable -> {
+                batch.forEach(pendingEvent -> pendingEvent.completion.onError(throwable));
+                return Mono.empty();
+            });
+    }
+}
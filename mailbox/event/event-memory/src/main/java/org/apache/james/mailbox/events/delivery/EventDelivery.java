@@ -23,6 +23,7 @@ import static org.apache.james.mailbox.events.delivery.EventDelivery.PermanentFa
 import static org.apache.james.mailbox.events.delivery.EventDelivery.Retryer.NO_RETRYER;
 
 import java.time.Duration;
+import java.util.List;
 
 import org.apache.james.mailbox.events.Event;
 import org.apache.james.mailbox.events.EventDeadLetters;
@@ -169,4 +170,10 @@ public interface EventDelivery {
     }
 
     ExecutionStages deliver(MailboxListener listener, Event event, DeliveryOption option);
+
+    /**
+     * Delivers the given events to the listener at once. Retries apply to the whole batch, and every event of the
+     * batch goes to the permanent failure handler once they are exhausted.
+     */
+    Mono<Void> deliverBatch(MailboxListener.BatchingMailboxListener listener, List<Event> events, DeliveryOption option);
 }
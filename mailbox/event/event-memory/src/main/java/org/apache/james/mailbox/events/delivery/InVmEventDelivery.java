@@ -22,12 +22,15 @@ package org.apache.james.mailbox.events.delivery;
 import static org.apache.james.mailbox.events.EventBus.Metrics.timerName;
 
 import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.inject.Inject;
 
 import org.apache.james.mailbox.events.Event;
 import org.apache.james.mailbox.events.EventBus;
 import org.apache.james.mailbox.events.MailboxListener;
+import org.apache.james.mailbox.events.PartialBatchFailure;
 import org.apache.james.metrics.api.MetricFactory;
 import org.apache.james.metrics.api.TimeMetric;
 import org.apache.james.util.MDCBuilder;
@@ -37,6 +40,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
+
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoProcessor;
 import reactor.core.scheduler.Schedulers;
@@ -59,6 +64,21 @@ public class InVmEventDelivery implements EventDelivery {
         return toExecutionStages(listener.getExecutionMode(), executionResult);
     }
 
+    @Override
+    public Mono<Void> deliverBatch(MailboxListener.BatchingMailboxListener listener, List<Event> events, DeliveryOption option) {
+        AtomicReference<List<Event>> remainingEvents = new AtomicReference<>(events);
+        Mono<Void> deliveryToListener = Mono.fromRunnable(() -> doDeliverBatchToListener(listener, remainingEvents))
+            .doOnError(throwable -> structuredLogger(events.get(0), listener)
+                .log(logger -> logger.error("Error while processing listener on a batch of {} events", remainingEvents.get().size(), throwable)))
+            .subscribeOn(Schedulers.boundedElastic())
+            .then();
+
+        return option.getRetrier().doRetry(deliveryToListener, events.get(0))
+            .onErrorResume(throwable -> Flux.fromIterable(remainingEvents.get())
+                .concatMap(event -> option.getPermanentFailureHandler().handle(event))
+                .then());
+    }
+
     private ExecutionStages toExecutionStages(MailboxListener.ExecutionMode executionMode, Mono<Void> executionResult) {
         if (executionMode.equals(MailboxListener.ExecutionMode.SYNCHRONOUS)) {
             return ExecutionStages.synchronous(executionResult);
@@ -94,6 +114,21 @@ public class InVmEventDelivery implements EventDelivery {
         }
     }
 
+    private void doDeliverBatchToListener(MailboxListener.BatchingMailboxListener mailboxListener, AtomicReference<List<Event>> remainingEvents) {
+        List<Event> events = remainingEvents.get();
+        TimeMetric timer = metricFactory.timer(timerName(mailboxListener));
+        try (Closeable mdc = buildMDC(mailboxListener, events.get(0))) {
+            mailboxListener.event(events);
+        } catch (PartialBatchFailure e) {
+            remainingEvents.set(e.getFailedEvents());
+            throw new RuntimeException(e);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        } finally {
+            timer.stopAndPublish();
+        }
+    }
+
     private Closeable buildMDC(MailboxListener mailboxListener, Event event) {
         return MDCBuilder.create()
             .addContext(EventBus.StructuredLoggingFields.EVENT_ID, event.getEventId())
@@ -19,9 +19,20 @@
 
 package org.apache.james.mailbox.events;
 
+import static org.apache.james.mailbox.events.EventBusTestFixture.EVENT;
+import static org.apache.james.mailbox.events.EventBusTestFixture.GROUP_A;
+import static org.apache.james.mailbox.events.EventBusTestFixture.NO_KEYS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.apache.james.mailbox.events.EventBusTestFixture.BatchCollectingListener;
 import org.apache.james.mailbox.events.delivery.InVmEventDelivery;
 import org.apache.james.metrics.api.NoopMetricFactory;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
 
 public class InVMEventBusTest implements KeyContract.SingleEventBusKeyContract, GroupContract.SingleEventBusGroupContract,
     ErrorHandlingContract {
@@ -45,4 +56,15 @@ public class InVMEventBusTest implements KeyContract.SingleEventBusKeyContract,
     public EventDeadLetters deadLetter() {
         return deadLetters;
     }
-}
\ No newline at end of file
+
+    @Test
+    void synchronousBatchingListenerShouldBeCalledWithoutWaitingForTheBatchDelay() {
+        BatchCollectingListener listener = new BatchCollectingListener(BatchConfiguration.of(10, Duration.ofHours(1)), 0,
+            MailboxListener.ExecutionMode.SYNCHRONOUS);
+        eventBus.register(listener, GROUP_A);
+
+        eventBus.dispatch(EVENT, NO_KEYS).block();
+
+        assertThat(listener.getBatches()).containsExactly(ImmutableList.of(EVENT));
+    }
+}
@@ -0,0 +1,300 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.events;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import javax.inject.Inject;
+import javax.mail.Flags;
+
+import org.apache.james.core.User;
+import org.apache.james.mailbox.FlagsBuilder;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.mailbox.model.MessageMetaData;
+import org.apache.james.mailbox.model.UpdatedFlags;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Compact, versioned binary encoding of the high volume mailbox events: {@link MailboxListener.Added},
+ * {@link MailboxListener.Expunged} and {@link MailboxListener.FlagsUpdated}.
+ *
+ * The first byte of the payload is the format version, followed by the event type. Message UIDs are encoded as runs of
+ * consecutive values (start, length), preserving the iteration order of the event, then the per message data follows
+ * in that same order.
+ *
+ * Other events are not supported and remain serialized as JSON.
+ */
+public class BinaryEventSerializer {
+    static final byte VERSION = 1;
+
+    private static final byte ADDED = 1;
+    private static final byte EXPUNGED = 2;
+    private static final byte FLAGS_UPDATED = 3;
+
+    private static final Flags.Flag[] SYSTEM_FLAGS = {
+        Flags.Flag.ANSWERED,
+        Flags.Flag.DELETED,
+        Flags.Flag.DRAFT,
+        Flags.Flag.FLAGGED,
+        Flags.Flag.RECENT,
+        Flags.Flag.SEEN
+    };
+
+    @FunctionalInterface
+    private interface MetadataWriter<T> {
+        void write(DataOutputStream output, T value) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface MetadataReader<T> {
+        T read(DataInputStream input, MessageUid uid) throws IOException;
+    }
+
+    private final MailboxId.Factory mailboxIdFactory;
+    private final MessageId.Factory messageIdFactory;
+
+    @Inject
+    public BinaryEventSerializer(MailboxId.Factory mailboxIdFactory, MessageId.Factory messageIdFactory) {
+        this.mailboxIdFactory = mailboxIdFactory;
+        this.messageIdFactory = messageIdFactory;
+    }
+
+    public boolean supports(Event event) {
+        return event instanceof MailboxListener.Added
+            || event instanceof MailboxListener.Expunged
+            || event instanceof MailboxListener.FlagsUpdated;
+    }
+
+    public byte[] toBytes(Event event) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeByte(VERSION);
+            if (event instanceof MailboxListener.Added) {
+                MailboxListener.Added added = (MailboxListener.Added) event;
+                output.writeByte(ADDED);
+                writeMailboxEvent(output, added);
+                writeUidMap(output, added.getAdded(), this::writeMetaData);
+            } else if (event instanceof MailboxListener.Expunged) {
+                MailboxListener.Expunged expunged = (MailboxListener.Expunged) event;
+                output.writeByte(EXPUNGED);
+                writeMailboxEvent(output, expunged);
+                writeUidMap(output, expunged.getExpunged(), this::writeMetaData);
+            } else if (event instanceof MailboxListener.FlagsUpdated) {
+                MailboxListener.FlagsUpdated flagsUpdated = (MailboxListener.FlagsUpdated) event;
+                output.writeByte(FLAGS_UPDATED);
+                writeMailboxEvent(output, flagsUpdated);
+                writeUidMap(output, asUidMap(flagsUpdated.getUpdatedFlags()), this::writeUpdatedFlags);
+            } else {
+                throw new IllegalArgumentException(event.getClass().getName() + " is not supported by the binary event format");
+            }
+            output.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Event fromBytes(byte[] bytes) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte version = input.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported binary event format version " + version);
+            }
+            byte type = input.readByte();
+            Event.EventId eventId = Event.EventId.of(new UUID(input.readLong(), input.readLong()));
+            MailboxSession.SessionId sessionId = MailboxSession.SessionId.of(input.readLong());
+            User user = User.fromUsername(input.readUTF());
+            MailboxPath path = new MailboxPath(readOptionalString(input), readOptionalString(input), input.readUTF());
+            MailboxId mailboxId = mailboxIdFactory.fromString(input.readUTF());
+
+            switch (type) {
+                case ADDED:
+                    return new MailboxListener.Added(sessionId, user, path, mailboxId,
+                        new TreeMap<>(readUidMap(input, this::readMetaData)), eventId);
+                case EXPUNGED:
+                    return new MailboxListener.Expunged(sessionId, user, path, mailboxId,
+                        readUidMap(input, this::readMetaData), eventId);
+                case FLAGS_UPDATED:
+                    return new MailboxListener.FlagsUpdated(sessionId, user, path, mailboxId,
+                        ImmutableList.copyOf(readUidMap(input, this::readUpdatedFlags).values()), eventId);
+                default:
+                    throw new IllegalArgumentException("Unknown binary event type " + type);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeMailboxEvent(DataOutputStream output, MailboxListener.MailboxEvent event) throws IOException {
+        output.writeLong(event.getEventId().getId().getMostSignificantBits());
+        output.writeLong(event.getEventId().getId().getLeastSignificantBits());
+        output.writeLong(event.getSessionId().getValue());
+        output.writeUTF(event.getUser().asString());
+        writeOptionalString(output, event.getMailboxPath().getNamespace());
+        writeOptionalString(output, event.getMailboxPath().getUser());
+        output.writeUTF(event.getMailboxPath().getName());
+        output.writeUTF(event.getMailboxId().serialize());
+    }
+
+    private Map<MessageUid, UpdatedFlags> asUidMap(List<UpdatedFlags> updatedFlags) {
+        ImmutableMap.Builder<MessageUid, UpdatedFlags> result = ImmutableMap.builder();
+        updatedFlags.forEach(flags -> result.put(flags.getUid(), flags));
+        return result.build();
+    }
+
+    private <T> void writeUidMap(DataOutputStream output, Map<MessageUid, T> values, MetadataWriter<T> writer) throws IOException {
+        List<long[]> ranges = toRanges(values.keySet().iterator());
+        output.writeInt(ranges.size());
+        for (long[] range : ranges) {
+            output.writeLong(range[0]);
+            output.writeInt((int) range[1]);
+        }
+        for (T value : values.values()) {
+            writer.write(output, value);
+        }
+    }
+
+    private <T> Map<MessageUid, T> readUidMap(DataInputStream input, MetadataReader<T> reader) throws IOException {
+        int rangeCount = input.readInt();
+        List<MessageUid> uids = new ArrayList<>();
+        for (int i = 0; i < rangeCount; i++) {
+            long start = input.readLong();
+            int length = input.readInt();
+            for (int j = 0; j < length; j++) {
+                uids.add(MessageUid.of(start + j));
+            }
+        }
+        ImmutableMap.Builder<MessageUid, T> result = ImmutableMap.builder();
+        for (MessageUid uid : uids) {
+            result.put(uid, reader.read(input, uid));
+        }
+        return result.build();
+    }
+
+    private List<long[]> toRanges(Iterator<MessageUid> uids) {
+        List<long[]> ranges = new ArrayList<>();
+        long[] current = null;
+        while (uids.hasNext()) {
+            long uid = uids.next().asLong();
+            if (current != null && current[0] + current[1] == uid) {
+                current[1]++;
+            } else {
+                current = new long[] {uid, 1};
+                ranges.add(current);
+            }
+        }
+        return ranges;
+    }
+
+    private void writeMetaData(DataOutputStream output, MessageMetaData metaData) throws IOException {
+        output.writeLong(metaData.getModSeq());
+        writeFlags(output, metaData.getFlags());
+        output.writeLong(metaData.getSize());
+        output.writeLong(metaData.getInternalDate().getTime());
+        output.writeUTF(metaData.getMessageId().serialize());
+    }
+
+    private MessageMetaData readMetaData(DataInputStream input, MessageUid uid) throws IOException {
+        long modSeq = input.readLong();
+        Flags flags = readFlags(input);
+        long size = input.readLong();
+        Date internalDate = new Date(input.readLong());
+        MessageId messageId = messageIdFactory.fromString(input.readUTF());
+        return new MessageMetaData(uid, modSeq, flags, size, internalDate, messageId);
+    }
+
+    private void writeUpdatedFlags(DataOutputStream output, UpdatedFlags updatedFlags) throws IOException {
+        output.writeLong(updatedFlags.getModSeq());
+        writeFlags(output, updatedFlags.getOldFlags());
+        writeFlags(output, updatedFlags.getNewFlags());
+    }
+
+    private UpdatedFlags readUpdatedFlags(DataInputStream input, MessageUid uid) throws IOException {
+        return UpdatedFlags.builder()
+            .uid(uid)
+            .modSeq(input.readLong())
+            .oldFlags(readFlags(input))
+            .newFlags(readFlags(input))
+            .build();
+    }
+
+    private void writeFlags(DataOutputStream output, Flags flags) throws IOException {
+        int systemFlags = 0;
+        for (int i = 0; i < SYSTEM_FLAGS.length; i++) {
+            if (flags.contains(SYSTEM_FLAGS[i])) {
+                systemFlags |= 1 << i;
+            }
+        }
+        output.writeByte(systemFlags);
+        String[] userFlags = flags.getUserFlags();
+        output.writeInt(userFlags.length);
+        for (String userFlag : userFlags) {
+            output.writeUTF(userFlag);
+        }
+    }
+
+    private Flags readFlags(DataInputStream input) throws IOException {
+        FlagsBuilder builder = FlagsBuilder.builder();
+        int systemFlags = input.readByte();
+        for (int i = 0; i < SYSTEM_FLAGS.length; i++) {
+            if ((systemFlags & (1 << i)) != 0) {
+                builder.add(SYSTEM_FLAGS[i]);
+            }
+        }
+        int userFlagCount = input.readInt();
+        for (int i = 0; i < userFlagCount; i++) {
+            builder.add(input.readUTF());
+        }
+        return builder.build();
+    }
+
+    private void writeOptionalString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private String readOptionalString(DataInputStream input) throws IOException {
+        if (input.readBoolean()) {
+            return input.readUTF();
+        }
+        return null;
+    }
+}
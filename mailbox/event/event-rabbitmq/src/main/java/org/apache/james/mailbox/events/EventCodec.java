@@ -0,0 +1,73 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.events;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import org.apache.james.event.json.EventSerializer;
+
+import com.rabbitmq.client.AMQP;
+
+class EventCodec {
+    private final EventSerializer eventSerializer;
+    private final BinaryEventSerializer binaryEventSerializer;
+    private final EventWireFormat publishFormat;
+
+    EventCodec(EventSerializer eventSerializer, BinaryEventSerializer binaryEventSerializer, EventWireFormat publishFormat) {
+        this.eventSerializer = eventSerializer;
+        this.binaryEventSerializer = binaryEventSerializer;
+        this.publishFormat = publishFormat;
+    }
+
+    EventWireFormat formatFor(Event event) {
+        if (publishFormat == EventWireFormat.BINARY && binaryEventSerializer.supports(event)) {
+            return EventWireFormat.BINARY;
+        }
+        return EventWireFormat.JSON;
+    }
+
+    byte[] serialize(Event event, EventWireFormat format) {
+        switch (format) {
+            case BINARY:
+                return binaryEventSerializer.toBytes(event);
+            case JSON:
+                return eventSerializer.toJson(event).getBytes(StandardCharsets.UTF_8);
+            default:
+                throw new IllegalArgumentException("Unsupported event wire format " + format);
+        }
+    }
+
+    Event deserialize(byte[] body, AMQP.BasicProperties properties) {
+        EventWireFormat format = Optional.ofNullable(properties.getContentType())
+            .map(contentType -> EventWireFormat.fromContentType(contentType)
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported event content type " + contentType)))
+            .orElse(EventWireFormat.JSON);
+
+        switch (format) {
+            case BINARY:
+                return binaryEventSerializer.fromBytes(body);
+            case JSON:
+                return eventSerializer.fromJson(new String(body, StandardCharsets.UTF_8)).get();
+            default:
+                throw new IllegalArgumentException("Unsupported event wire format " + format);
+        }
+    }
+}
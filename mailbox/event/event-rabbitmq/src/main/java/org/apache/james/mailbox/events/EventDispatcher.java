@@ -24,12 +24,11 @@ import static org.apache.james.backends.rabbitmq.Constants.DURABLE;
 import static org.apache.james.mailbox.events.RabbitMQEventBus.EVENT_BUS_ID;
 import static org.apache.james.mailbox.events.RabbitMQEventBus.MAILBOX_EVENT_EXCHANGE_NAME;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Set;
 import java.util.stream.Stream;
 
-import org.apache.james.event.json.EventSerializer;
 import org.apache.james.mailbox.events.RoutingKeyConverter.RoutingKey;
+import org.apache.james.metrics.api.MetricFactory;
 import org.apache.james.util.MDCBuilder;
 import org.apache.james.util.MDCStructuredLogger;
 import org.apache.james.util.StructuredLogger;
@@ -51,21 +50,24 @@ import reactor.util.function.Tuples;
 
 class EventDispatcher {
     private static final Logger LOGGER = LoggerFactory.getLogger(EventDispatcher.class);
+    static final String DISPATCH_TIMER_NAME = "mailbox-event-dispatch";
 
-    private final EventSerializer eventSerializer;
+    private final EventCodec eventCodec;
     private final Sender sender;
     private final LocalListenerRegistry localListenerRegistry;
     private final AMQP.BasicProperties basicProperties;
     private final MailboxListenerExecutor mailboxListenerExecutor;
+    private final MetricFactory metricFactory;
 
-    EventDispatcher(EventBusId eventBusId, EventSerializer eventSerializer, Sender sender, LocalListenerRegistry localListenerRegistry, MailboxListenerExecutor mailboxListenerExecutor) {
-        this.eventSerializer = eventSerializer;
+    EventDispatcher(EventBusId eventBusId, EventCodec eventCodec, Sender sender, LocalListenerRegistry localListenerRegistry, MailboxListenerExecutor mailboxListenerExecutor, MetricFactory metricFactory) {
+        this.eventCodec = eventCodec;
         this.sender = sender;
         this.localListenerRegistry = localListenerRegistry;
         this.basicProperties = new AMQP.BasicProperties.Builder()
             .headers(ImmutableMap.of(EVENT_BUS_ID, eventBusId.asString()))
             .build();
         this.mailboxListenerExecutor = mailboxListenerExecutor;
+        this.metricFactory = metricFactory;
     }
 
     void start() {
@@ -76,10 +78,10 @@ class EventDispatcher {
     }
 
     Mono<Void> dispatch(Event event, Set<RegistrationKey> keys) {
-        return Flux
-            .concat(
-                dispatchToLocalListeners(event, keys),
-                dispatchToRemoteListeners(serializeEvent(event), keys))
+        return metricFactory.runPublishingTimerMetric(DISPATCH_TIMER_NAME,
+                Flux.concat(
+                    dispatchToLocalListeners(event, keys),
+                    dispatchToRemoteListeners(event, keys)))
             .subscribeOn(Schedulers.boundedElastic())
             .doOnError(throwable -> LOGGER.error("error while dispatching event", throwable))
             .then()
@@ -119,16 +121,17 @@ class EventDispatcher {
             .addField(EventBus.StructuredLoggingFields.REGISTRATION_KEYS, keys);
     }
 
-    private Mono<Void> dispatchToRemoteListeners(byte[] serializedEvent, Set<RegistrationKey> keys) {
+    private Mono<Void> dispatchToRemoteListeners(Event event, Set<RegistrationKey> keys) {
+        EventWireFormat format = eventCodec.formatFor(event);
+        byte[] serializedEvent = eventCodec.serialize(event, format);
+        AMQP.BasicProperties properties = basicProperties.builder()
+            .contentType(format.getContentType())
+            .build();
         Stream<RoutingKey> routingKeys = Stream.concat(Stream.of(RoutingKey.empty()), keys.stream().map(RoutingKey::of));
 
         Stream<OutboundMessage> outboundMessages = routingKeys
-            .map(routingKey -> new OutboundMessage(MAILBOX_EVENT_EXCHANGE_NAME, routingKey.asString(), basicProperties, serializedEvent));
+            .map(routingKey -> new OutboundMessage(MAILBOX_EVENT_EXCHANGE_NAME, routingKey.asString(), properties, serializedEvent));
 
         return sender.send(Flux.fromStream(outboundMessages));
     }
-
-    private byte[] serializeEvent(Event event) {
-        return eventSerializer.toJson(event).getBytes(StandardCharsets.UTF_8);
-    }
 }
@@ -0,0 +1,59 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.events;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Encoding used for publishing mailbox events on RabbitMQ, carried by the AMQP content type property.
+ *
+ * Consumers always decode both formats, a missing content type standing for JSON. Publishing {@link #BINARY} should
+ * only be enabled once every node of the cluster understands it.
+ */
+public enum EventWireFormat {
+    JSON("application/json"),
+    BINARY("application/vnd.james.event+binary;v=" + BinaryEventSerializer.VERSION);
+
+    public static final EventWireFormat DEFAULT = JSON;
+
+    public static EventWireFormat parse(String value) {
+        return Arrays.stream(values())
+            .filter(format -> format.name().equalsIgnoreCase(value.trim()))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown event wire format '" + value + "', expecting one of " + Arrays.toString(values())));
+    }
+
+    static Optional<EventWireFormat> fromContentType(String contentType) {
+        return Arrays.stream(values())
+            .filter(format -> format.contentType.equals(contentType))
+            .findFirst();
+    }
+
+    private final String contentType;
+
+    EventWireFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
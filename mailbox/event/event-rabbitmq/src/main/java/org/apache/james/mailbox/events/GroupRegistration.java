@@ -27,15 +27,16 @@ import static org.apache.james.backends.rabbitmq.Constants.NO_ARGUMENTS;
 import static org.apache.james.mailbox.events.RabbitMQEventBus.MAILBOX_EVENT;
 import static org.apache.james.mailbox.events.RabbitMQEventBus.MAILBOX_EVENT_EXCHANGE_NAME;
 
-import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 import org.apache.james.backends.rabbitmq.ReactorRabbitMQChannelPool;
-import org.apache.james.event.json.EventSerializer;
 import org.apache.james.util.MDCBuilder;
 
 import com.github.fge.lambdas.Throwing;
+import com.github.steveash.guavate.Guavate;
 import com.google.common.base.Preconditions;
 
 import reactor.core.Disposable;
@@ -48,6 +49,8 @@ import reactor.rabbitmq.ConsumeOptions;
 import reactor.rabbitmq.QueueSpecification;
 import reactor.rabbitmq.Receiver;
 import reactor.rabbitmq.Sender;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 class GroupRegistration implements Registration {
     static class WorkQueueName {
@@ -77,18 +80,18 @@ class GroupRegistration implements Registration {
     private final Receiver receiver;
     private final Runnable unregisterGroup;
     private final Sender sender;
-    private final EventSerializer eventSerializer;
+    private final EventCodec eventCodec;
     private final GroupConsumerRetry retryHandler;
     private final WaitDelayGenerator delayGenerator;
     private final Group group;
     private final MailboxListenerExecutor mailboxListenerExecutor;
     private Optional<Disposable> receiverSubscriber;
 
-    GroupRegistration(ReactorRabbitMQChannelPool reactorRabbitMQChannelPool, EventSerializer eventSerializer,
+    GroupRegistration(ReactorRabbitMQChannelPool reactorRabbitMQChannelPool, EventCodec eventCodec,
                       MailboxListener mailboxListener, Group group, RetryBackoffConfiguration retryBackoff,
                       EventDeadLetters eventDeadLetters,
                       Runnable unregisterGroup, MailboxListenerExecutor mailboxListenerExecutor) {
-        this.eventSerializer = eventSerializer;
+        this.eventCodec = eventCodec;
         this.mailboxListener = mailboxListener;
         this.queueName = WorkQueueName.of(group);
         this.sender = reactorRabbitMQChannelPool.getSender();
@@ -96,7 +99,7 @@ class GroupRegistration implements Registration {
         this.mailboxListenerExecutor = mailboxListenerExecutor;
         this.receiverSubscriber = Optional.empty();
         this.unregisterGroup = unregisterGroup;
-        this.retryHandler = new GroupConsumerRetry(sender, group, retryBackoff, eventDeadLetters, eventSerializer);
+        this.retryHandler = new GroupConsumerRetry(sender, group, retryBackoff, eventDeadLetters, eventCodec);
         this.delayGenerator = WaitDelayGenerator.of(retryBackoff);
         this.group = group;
     }
@@ -125,6 +128,9 @@ class GroupRegistration implements Registration {
     }
 
     private Disposable consumeWorkQueue() {
+        if (mailboxListener instanceof MailboxListener.BatchingMailboxListener) {
+            return consumeWorkQueueInBatches((MailboxListener.BatchingMailboxListener) mailboxListener);
+        }
         return receiver.consumeManualAck(queueName.asString(), new ConsumeOptions().qos(EventBus.EXECUTION_RATE))
             .publishOn(Schedulers.parallel())
             .filter(delivery -> Objects.nonNull(delivery.getBody()))
@@ -132,9 +138,71 @@ class GroupRegistration implements Registration {
             .subscribe();
     }
 
+    private Disposable consumeWorkQueueInBatches(MailboxListener.BatchingMailboxListener batchingListener) {
+        BatchConfiguration batchConfiguration = batchingListener.getBatchConfiguration();
+        int prefetch = Math.max(EventBus.EXECUTION_RATE, batchConfiguration.getMaxSize());
+
+        return receiver.consumeManualAck(queueName.asString(), new ConsumeOptions().qos(prefetch))
+            .publishOn(Schedulers.parallel())
+            .filter(delivery -> Objects.nonNull(delivery.getBody()))
+            .bufferTimeout(batchConfiguration.getMaxSize(), batchConfiguration.getMaxDelay())
+            // bufferTimeout ignores demand on timeout: batches wait here, bounded by the unacknowledged prefetch
+            .onBackpressureBuffer()
+            // Up to EXECUTION_RATE batches are handled concurrently: a batch can complete before an earlier one,
+            // just like single events delivered with flatMap
+            .flatMap(deliveries -> deliverBatch(batchingListener, deliveries), EventBus.EXECUTION_RATE)
+            .subscribe();
+    }
+
+    private Mono<Void> deliverBatch(MailboxListener.BatchingMailboxListener batchingListener, List<AcknowledgableDelivery> deliveries) {
+        List<Tuple2<Event, Integer>> eventsWithRetryCount = deliveries.stream()
+            .map(delivery -> Tuples.of(eventCodec.deserialize(delivery.getBody(), delivery.getProperties()), getRetryCount(delivery)))
+            .filter(eventWithRetryCount -> batchingListener.isHandling(eventWithRetryCount.getT1()))
+            .collect(Guavate.toImmutableList());
+        List<Event> events = eventsWithRetryCount.stream()
+            .map(Tuple2::getT1)
+            .collect(Guavate.toImmutableList());
+        int maxRetryCount = eventsWithRetryCount.stream()
+            .mapToInt(Tuple2::getT2)
+            .max()
+            .orElse(DEFAULT_RETRY_COUNT);
+
+        if (events.isEmpty()) {
+            return Mono.fromRunnable(() -> deliveries.forEach(AcknowledgableDelivery::ack));
+        }
+        return delayGenerator.delayIfHaveTo(maxRetryCount)
+            .publishOn(Schedulers.boundedElastic())
+            .flatMap(any -> Mono.fromRunnable(Throwing.runnable(() -> runBatchListener(batchingListener, events))))
+            .onErrorResume(throwable -> Flux.fromIterable(failedEvents(eventsWithRetryCount, throwable))
+                .concatMap(eventWithRetryCount -> retryHandler.handleRetry(eventWithRetryCount.getT1(), eventWithRetryCount.getT2(), throwable))
+                .then())
+            .then(Mono.fromRunnable(() -> deliveries.forEach(AcknowledgableDelivery::ack)));
+    }
+
+    private List<Tuple2<Event, Integer>> failedEvents(List<Tuple2<Event, Integer>> eventsWithRetryCount, Throwable throwable) {
+        if (!(throwable instanceof PartialBatchFailure)) {
+            return eventsWithRetryCount;
+        }
+        Set<Event.EventId> failedEventIds = ((PartialBatchFailure) throwable).getFailedEvents()
+            .stream()
+            .map(Event::getEventId)
+            .collect(Guavate.toImmutableSet());
+        return eventsWithRetryCount.stream()
+            .filter(eventWithRetryCount -> failedEventIds.contains(eventWithRetryCount.getT1().getEventId()))
+            .collect(Guavate.toImmutableList());
+    }
+
+    private void runBatchListener(MailboxListener.BatchingMailboxListener batchingListener, List<Event> events) throws Exception {
+        mailboxListenerExecutor.executeBatch(
+            batchingListener,
+            MDCBuilder.create()
+                .addContext(EventBus.StructuredLoggingFields.GROUP, group),
+            events);
+    }
+
     private Mono<Void> deliver(AcknowledgableDelivery acknowledgableDelivery) {
         byte[] eventAsBytes = acknowledgableDelivery.getBody();
-        Event event = eventSerializer.fromJson(new String(eventAsBytes, StandardCharsets.UTF_8)).get();
+        Event event = eventCodec.deserialize(eventAsBytes, acknowledgableDelivery.getProperties());
         int currentRetryCount = getRetryCount(acknowledgableDelivery);
 
         return delayGenerator.delayIfHaveTo(currentRetryCount)
@@ -24,20 +24,19 @@ import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.james.backends.rabbitmq.ReactorRabbitMQChannelPool;
-import org.apache.james.event.json.EventSerializer;
 
 class GroupRegistrationHandler {
     private final Map<Group, GroupRegistration> groupRegistrations;
-    private final EventSerializer eventSerializer;
+    private final EventCodec eventCodec;
     private final RetryBackoffConfiguration retryBackoff;
     private final EventDeadLetters eventDeadLetters;
     private final MailboxListenerExecutor mailboxListenerExecutor;
     private final ReactorRabbitMQChannelPool reactorRabbitMQChannelPool;
 
-    GroupRegistrationHandler(EventSerializer eventSerializer, ReactorRabbitMQChannelPool reactorRabbitMQChannelPool,
+    GroupRegistrationHandler(EventCodec eventCodec, ReactorRabbitMQChannelPool reactorRabbitMQChannelPool,
                              RetryBackoffConfiguration retryBackoff,
                              EventDeadLetters eventDeadLetters, MailboxListenerExecutor mailboxListenerExecutor) {
-        this.eventSerializer = eventSerializer;
+        this.eventCodec = eventCodec;
         this.reactorRabbitMQChannelPool = reactorRabbitMQChannelPool;
         this.retryBackoff = retryBackoff;
         this.eventDeadLetters = eventDeadLetters;
@@ -68,7 +67,7 @@ class GroupRegistrationHandler {
     private GroupRegistration newGroupRegistration(MailboxListener listener, Group group) {
         return new GroupRegistration(
             reactorRabbitMQChannelPool,
-            eventSerializer,
+            eventCodec,
             listener,
             group,
             retryBackoff,
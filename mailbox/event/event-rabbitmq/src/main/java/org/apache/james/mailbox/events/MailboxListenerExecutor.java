@@ -22,6 +22,7 @@ package org.apache.james.mailbox.events;
 import static org.apache.james.mailbox.events.EventBus.Metrics.timerName;
 
 import java.io.Closeable;
+import java.util.List;
 
 import org.apache.james.metrics.api.MetricFactory;
 import org.apache.james.metrics.api.TimeMetric;
@@ -45,6 +46,15 @@ public class MailboxListenerExecutor {
         }
     }
 
+    void executeBatch(MailboxListener.BatchingMailboxListener listener, MDCBuilder mdcBuilder, List<Event> events) throws Exception {
+        TimeMetric timer = metricFactory.timer(timerName(listener));
+        try (Closeable mdc = buildMDC(listener, mdcBuilder, events.get(0))) {
+            listener.event(events);
+        } finally {
+            timer.stopAndPublish();
+        }
+    }
+
     private Closeable buildMDC(MailboxListener listener, MDCBuilder mdcBuilder, Event event) {
         return mdcBuilder
             .addContext(EventBus.StructuredLoggingFields.EVENT_ID, event.getEventId())
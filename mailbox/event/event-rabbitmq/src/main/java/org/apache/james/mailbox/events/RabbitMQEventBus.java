@@ -39,13 +39,14 @@ public class RabbitMQEventBus implements EventBus, Startable {
     static final String MAILBOX_EVENT_EXCHANGE_NAME = MAILBOX_EVENT + "-exchange";
     static final String EVENT_BUS_ID = "eventBusId";
 
-    private final EventSerializer eventSerializer;
+    private final EventCodec eventCodec;
     private final RoutingKeyConverter routingKeyConverter;
     private final RetryBackoffConfiguration retryBackoff;
     private final EventBusId eventBusId;
     private final EventDeadLetters eventDeadLetters;
     private final ReactorRabbitMQChannelPool channelPool;
     private final MailboxListenerExecutor mailboxListenerExecutor;
+    private final MetricFactory metricFactory;
 
     private volatile boolean isRunning;
     private volatile boolean isStopping;
@@ -55,13 +56,15 @@ public class RabbitMQEventBus implements EventBus, Startable {
 
     @Inject
     public RabbitMQEventBus(ReactorRabbitMQChannelPool reactorRabbitMQChannelPool, EventSerializer eventSerializer,
+                     BinaryEventSerializer binaryEventSerializer, EventWireFormat publishFormat,
                      RetryBackoffConfiguration retryBackoff,
                      RoutingKeyConverter routingKeyConverter,
                      EventDeadLetters eventDeadLetters, MetricFactory metricFactory) {
         this.channelPool = reactorRabbitMQChannelPool;
         this.mailboxListenerExecutor = new MailboxListenerExecutor(metricFactory);
+        this.metricFactory = metricFactory;
         this.eventBusId = EventBusId.random();
-        this.eventSerializer = eventSerializer;
+        this.eventCodec = new EventCodec(eventSerializer, binaryEventSerializer, publishFormat);
         this.routingKeyConverter = routingKeyConverter;
         this.retryBackoff = retryBackoff;
         this.eventDeadLetters = eventDeadLetters;
@@ -73,9 +76,9 @@ public class RabbitMQEventBus implements EventBus, Startable {
         if (!isRunning && !isStopping) {
 
             LocalListenerRegistry localListenerRegistry = new LocalListenerRegistry();
-            keyRegistrationHandler = new KeyRegistrationHandler(eventBusId, eventSerializer, channelPool, routingKeyConverter, localListenerRegistry, mailboxListenerExecutor);
-            groupRegistrationHandler = new GroupRegistrationHandler(eventSerializer, channelPool, retryBackoff, eventDeadLetters, mailboxListenerExecutor);
-            eventDispatcher = new EventDispatcher(eventBusId, eventSerializer, channelPool.getSender(), localListenerRegistry, mailboxListenerExecutor);
+            keyRegistrationHandler = new KeyRegistrationHandler(eventBusId, eventCodec, channelPool, routingKeyConverter, localListenerRegistry, mailboxListenerExecutor);
+            groupRegistrationHandler = new GroupRegistrationHandler(eventCodec, channelPool, retryBackoff, eventDeadLetters, mailboxListenerExecutor);
+            eventDispatcher = new EventDispatcher(eventBusId, eventCodec, channelPool.getSender(), localListenerRegistry, mailboxListenerExecutor, metricFactory);
 
             eventDispatcher.start();
             keyRegistrationHandler.start();
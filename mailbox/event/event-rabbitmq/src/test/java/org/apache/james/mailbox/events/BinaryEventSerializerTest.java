@@ -0,0 +1,189 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.TreeMap;
+
+import javax.mail.Flags;
+
+import org.apache.james.core.User;
+import org.apache.james.event.json.EventSerializer;
+import org.apache.james.mailbox.FlagsBuilder;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.model.MailboxConstants;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageMetaData;
+import org.apache.james.mailbox.model.TestId;
+import org.apache.james.mailbox.model.TestMessageId;
+import org.apache.james.mailbox.model.UpdatedFlags;
+import org.apache.james.mailbox.store.quota.DefaultUserQuotaRootResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+
+class BinaryEventSerializerTest {
+    private static final Event.EventId EVENT_ID = Event.EventId.of("6e0dd59d-660e-4d9b-b22f-0354479f47b4");
+    private static final MailboxSession.SessionId SESSION_ID = MailboxSession.SessionId.of(42);
+    private static final User USER = User.fromUsername("user");
+    private static final MailboxPath MAILBOX_PATH = new MailboxPath(MailboxConstants.USER_NAMESPACE, "user", "mailboxName");
+    private static final MailboxId MAILBOX_ID = TestId.of(18);
+    private static final Flags FLAGS = FlagsBuilder.builder()
+        .add(Flags.Flag.SEEN, Flags.Flag.DRAFT)
+        .add("custom")
+        .build();
+    private static final MessageMetaData META_DATA_1 = new MessageMetaData(MessageUid.of(1), 35, FLAGS, 45, new Date(1537890000000L), TestMessageId.of(42));
+    private static final MessageMetaData META_DATA_2 = new MessageMetaData(MessageUid.of(2), 36, new Flags(), 46, new Date(1537890001000L), TestMessageId.of(43));
+    private static final MessageMetaData META_DATA_5 = new MessageMetaData(MessageUid.of(5), 37, new Flags(Flags.Flag.RECENT), 47, new Date(1537890002000L), TestMessageId.of(44));
+
+    private BinaryEventSerializer testee;
+
+    @BeforeEach
+    void setUp() {
+        testee = new BinaryEventSerializer(new TestId.Factory(), new TestMessageId.Factory());
+    }
+
+    @Test
+    void addedShouldBeSupported() {
+        assertThat(testee.supports(added())).isTrue();
+    }
+
+    @Test
+    void mailboxAddedShouldNotBeSupported() {
+        assertThat(testee.supports(new MailboxListener.MailboxAdded(SESSION_ID, USER, MAILBOX_PATH, MAILBOX_ID, EVENT_ID)))
+            .isFalse();
+    }
+
+    @Test
+    void toBytesShouldThrowOnUnsupportedEvents() {
+        assertThatThrownBy(() -> testee.toBytes(new MailboxListener.MailboxAdded(SESSION_ID, USER, MAILBOX_PATH, MAILBOX_ID, EVENT_ID)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void addedShouldBeWellRoundTripped() {
+        MailboxListener.Added added = added();
+
+        MailboxListener.Added result = (MailboxListener.Added) testee.fromBytes(testee.toBytes(added));
+
+        assertThat(result).isEqualTo(added);
+        assertThat(result.getMetaData(MessageUid.of(1))).isEqualToComparingFieldByField(META_DATA_1);
+        assertThat(result.getMetaData(MessageUid.of(2))).isEqualToComparingFieldByField(META_DATA_2);
+        assertThat(result.getMetaData(MessageUid.of(5))).isEqualToComparingFieldByField(META_DATA_5);
+    }
+
+    @Test
+    void expungedShouldBeWellRoundTripped() {
+        MailboxListener.Expunged expunged = new MailboxListener.Expunged(SESSION_ID, USER, MAILBOX_PATH, MAILBOX_ID,
+            ImmutableMap.of(MessageUid.of(5), META_DATA_5, MessageUid.of(1), META_DATA_1), EVENT_ID);
+
+        MailboxListener.Expunged result = (MailboxListener.Expunged) testee.fromBytes(testee.toBytes(expunged));
+
+        assertThat(result).isEqualTo(expunged);
+        assertThat(result.getUids()).containsExactly(MessageUid.of(5), MessageUid.of(1));
+        assertThat(result.getMetaData(MessageUid.of(5))).isEqualToComparingFieldByField(META_DATA_5);
+    }
+
+    @Test
+    void flagsUpdatedShouldBeWellRoundTripped() {
+        MailboxListener.FlagsUpdated flagsUpdated = new MailboxListener.FlagsUpdated(SESSION_ID, USER, MAILBOX_PATH, MAILBOX_ID,
+            ImmutableList.of(
+                UpdatedFlags.builder()
+                    .uid(MessageUid.of(3))
+                    .modSeq(35)
+                    .oldFlags(new Flags())
+                    .newFlags(FLAGS)
+                    .build(),
+                UpdatedFlags.builder()
+                    .uid(MessageUid.of(4))
+                    .modSeq(36)
+                    .oldFlags(FLAGS)
+                    .newFlags(new Flags(Flags.Flag.ANSWERED))
+                    .build()),
+            EVENT_ID);
+
+        assertThat(testee.fromBytes(testee.toBytes(flagsUpdated))).isEqualTo(flagsUpdated);
+    }
+
+    @Test
+    void mailboxPathWithoutUserShouldBeWellRoundTripped() {
+        MailboxPath publicPath = new MailboxPath("#public", null, "shared");
+        MailboxListener.Added added = new MailboxListener.Added(SESSION_ID, USER, publicPath, MAILBOX_ID,
+            ImmutableSortedMap.of(MessageUid.of(1), META_DATA_1), EVENT_ID);
+
+        assertThat(((MailboxListener.Added) testee.fromBytes(testee.toBytes(added))).getMailboxPath())
+            .isEqualTo(publicPath);
+    }
+
+    @Test
+    void fromBytesShouldThrowOnUnknownVersion() {
+        byte[] bytes = testee.toBytes(added());
+        bytes[0] = BinaryEventSerializer.VERSION + 1;
+
+        assertThatThrownBy(() -> testee.fromBytes(bytes))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void consecutiveUidsShouldBeEncodedAsASingleRange() {
+        TreeMap<MessageUid, MessageMetaData> manyMessages = new TreeMap<>();
+        TreeMap<MessageUid, MessageMetaData> sparseMessages = new TreeMap<>();
+        for (long uid = 1; uid <= 100; uid++) {
+            manyMessages.put(MessageUid.of(uid), new MessageMetaData(MessageUid.of(uid), 35, FLAGS, 45, new Date(1537890000000L), TestMessageId.of(uid)));
+            sparseMessages.put(MessageUid.of(uid * 2), new MessageMetaData(MessageUid.of(uid * 2), 35, FLAGS, 45, new Date(1537890000000L), TestMessageId.of(uid)));
+        }
+
+        int consecutiveSize = testee.toBytes(new MailboxListener.Added(SESSION_ID, USER, MAILBOX_PATH, MAILBOX_ID, manyMessages, EVENT_ID)).length;
+        int sparseSize = testee.toBytes(new MailboxListener.Added(SESSION_ID, USER, MAILBOX_PATH, MAILBOX_ID, sparseMessages, EVENT_ID)).length;
+
+        // each additional range costs a start and a length
+        assertThat(sparseSize - consecutiveSize).isEqualTo(99 * (Long.BYTES + Integer.BYTES));
+    }
+
+    @Test
+    void toBytesShouldBeSmallerThanTheJsonEncoding() {
+        EventSerializer eventSerializer = new EventSerializer(new TestId.Factory(), new TestMessageId.Factory(),
+            new DefaultUserQuotaRootResolver.DefaultQuotaRootDeserializer());
+        TreeMap<MessageUid, MessageMetaData> messages = new TreeMap<>();
+        for (long uid = 1; uid <= 100; uid++) {
+            messages.put(MessageUid.of(uid), new MessageMetaData(MessageUid.of(uid), uid, FLAGS, 4096, new Date(1537890000000L), TestMessageId.of(uid)));
+        }
+        MailboxListener.Added added = new MailboxListener.Added(SESSION_ID, USER, MAILBOX_PATH, MAILBOX_ID, messages, EVENT_ID);
+
+        int jsonSize = eventSerializer.toJson(added).getBytes(StandardCharsets.UTF_8).length;
+
+        assertThat(testee.toBytes(added).length).isLessThan(jsonSize / 2);
+    }
+
+    private MailboxListener.Added added() {
+        return new MailboxListener.Added(SESSION_ID, USER, MAILBOX_PATH, MAILBOX_ID,
+            ImmutableSortedMap.of(MessageUid.of(1), META_DATA_1, MessageUid.of(2), META_DATA_2, MessageUid.of(5), META_DATA_5),
+            EVENT_ID);
+    }
+}
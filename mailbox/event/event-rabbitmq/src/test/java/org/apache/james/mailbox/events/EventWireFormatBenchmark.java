@@ -0,0 +1,142 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.events;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.mail.Flags;
+
+import org.apache.james.core.User;
+import org.apache.james.event.json.EventSerializer;
+import org.apache.james.mailbox.FlagsBuilder;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.model.MailboxConstants;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageMetaData;
+import org.apache.james.mailbox.model.TestId;
+import org.apache.james.mailbox.model.TestMessageId;
+import org.apache.james.mailbox.store.quota.DefaultUserQuotaRootResolver;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the JSON and the binary encodings of an {@link MailboxListener.Added} event.
+ *
+ * The encoded sizes are reported by the serialization benchmarks as the jsonBytes and binaryBytes secondary results.
+ * Run it with the main method once test classes are compiled, for instance
+ * from the IDE.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventWireFormatBenchmark {
+    private static final Flags FLAGS = FlagsBuilder.builder()
+        .add(Flags.Flag.SEEN, Flags.Flag.RECENT)
+        .add("$Forwarded")
+        .build();
+
+    @Param({"1", "100", "10000"})
+    public int messageCount;
+
+    private EventSerializer eventSerializer;
+    private BinaryEventSerializer binaryEventSerializer;
+    private MailboxListener.Added event;
+    private String json;
+    private byte[] binary;
+
+    @Setup(Level.Trial)
+    public void generateEvent() {
+        TestId.Factory mailboxIdFactory = new TestId.Factory();
+        TestMessageId.Factory messageIdFactory = new TestMessageId.Factory();
+        eventSerializer = new EventSerializer(mailboxIdFactory, messageIdFactory, new DefaultUserQuotaRootResolver.DefaultQuotaRootDeserializer());
+        binaryEventSerializer = new BinaryEventSerializer(mailboxIdFactory, messageIdFactory);
+
+        TreeMap<MessageUid, MessageMetaData> added = new TreeMap<>();
+        for (long uid = 1; uid <= messageCount; uid++) {
+            added.put(MessageUid.of(uid), new MessageMetaData(MessageUid.of(uid), uid, FLAGS, 4096, new Date(), TestMessageId.of(uid)));
+        }
+        event = new MailboxListener.Added(MailboxSession.SessionId.of(42), User.fromUsername("user@domain.tld"),
+            new MailboxPath(MailboxConstants.USER_NAMESPACE, "user@domain.tld", "INBOX"), TestId.of(18), added, Event.EventId.random());
+
+        json = eventSerializer.toJson(event);
+        binary = binaryEventSerializer.toBytes(event);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSizes {
+        public long jsonBytes;
+        public long binaryBytes;
+
+        @Setup(Level.Iteration)
+        public void measure(EventWireFormatBenchmark benchmark) {
+            jsonBytes = benchmark.json.getBytes(StandardCharsets.UTF_8).length;
+            binaryBytes = benchmark.binary.length;
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeJson(EncodedSizes encodedSizes) {
+        return eventSerializer.toJson(event).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] serializeBinary(EncodedSizes encodedSizes) {
+        return binaryEventSerializer.toBytes(event);
+    }
+
+    @Benchmark
+    public Event deserializeJson() {
+        return eventSerializer.fromJson(json).get();
+    }
+
+    @Benchmark
+    public Event deserializeBinary() {
+        return binaryEventSerializer.fromBytes(binary);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(EventWireFormatBenchmark.class.getSimpleName())
+            .build())
+            .run();
+    }
+}
@@ -30,7 +30,11 @@ import static org.apache.james.mailbox.events.EventBusTestFixture.ALL_GROUPS;
 import static org.apache.james.mailbox.events.EventBusTestFixture.EVENT;
 import static org.apache.james.mailbox.events.EventBusTestFixture.GROUP_A;
 import static org.apache.james.mailbox.events.EventBusTestFixture.KEY_1;
+import static org.apache.james.mailbox.events.EventBusTestFixture.MAILBOX_PATH;
 import static org.apache.james.mailbox.events.EventBusTestFixture.NO_KEYS;
+import static org.apache.james.mailbox.events.EventBusTestFixture.SESSION_ID;
+import static org.apache.james.mailbox.events.EventBusTestFixture.TEST_ID;
+import static org.apache.james.mailbox.events.EventBusTestFixture.USER;
 import static org.apache.james.mailbox.events.EventBusTestFixture.WAIT_CONDITION;
 import static org.apache.james.mailbox.events.EventBusTestFixture.newListener;
 import static org.apache.james.mailbox.events.GroupRegistration.WorkQueueName.MAILBOX_EVENT_WORK_QUEUE_PREFIX;
@@ -50,16 +54,21 @@ import static org.mockito.Mockito.when;
 import java.io.Closeable;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Date;
 import java.util.concurrent.TimeUnit;
 
+import javax.mail.Flags;
+
 import org.apache.james.backends.rabbitmq.RabbitMQExtension;
 import org.apache.james.backends.rabbitmq.RabbitMQExtension.DockerRestartPolicy;
 import org.apache.james.backends.rabbitmq.RabbitMQFixture;
 import org.apache.james.backends.rabbitmq.RabbitMQManagementAPI;
 import org.apache.james.backends.rabbitmq.ReactorRabbitMQChannelPool;
 import org.apache.james.event.json.EventSerializer;
+import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.events.EventBusTestFixture.GroupA;
 import org.apache.james.mailbox.events.EventBusTestFixture.MailboxListenerCountingSuccessfulExecution;
+import org.apache.james.mailbox.model.MessageMetaData;
 import org.apache.james.mailbox.model.TestId;
 import org.apache.james.mailbox.model.TestMessageId;
 import org.apache.james.mailbox.store.quota.DefaultUserQuotaRootResolver;
@@ -75,6 +84,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import org.mockito.stubbing.Answer;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedMap;
+
 import reactor.rabbitmq.BindingSpecification;
 import reactor.rabbitmq.ExchangeSpecification;
 import reactor.rabbitmq.QueueSpecification;
@@ -92,6 +104,7 @@ class RabbitMQEventBusTest implements GroupContract.SingleEventBusGroupContract,
     private RabbitMQEventBus eventBus2;
     private RabbitMQEventBus eventBus3;
     private EventSerializer eventSerializer;
+    private BinaryEventSerializer binaryEventSerializer;
     private RoutingKeyConverter routingKeyConverter;
     private MemoryEventDeadLetters memoryEventDeadLetters;
 
@@ -101,6 +114,7 @@ class RabbitMQEventBusTest implements GroupContract.SingleEventBusGroupContract,
 
         TestId.Factory mailboxIdFactory = new TestId.Factory();
         eventSerializer = new EventSerializer(mailboxIdFactory, new TestMessageId.Factory(), new DefaultUserQuotaRootResolver.DefaultQuotaRootDeserializer());
+        binaryEventSerializer = new BinaryEventSerializer(mailboxIdFactory, new TestMessageId.Factory());
         routingKeyConverter = RoutingKeyConverter.forFactories(new MailboxIdRegistrationKey.Factory(mailboxIdFactory));
 
         eventBus = newEventBus();
@@ -131,7 +145,12 @@ class RabbitMQEventBusTest implements GroupContract.SingleEventBusGroupContract,
     }
 
     private RabbitMQEventBus newEventBus(ReactorRabbitMQChannelPool rabbitMQChannelPool) {
-        return new RabbitMQEventBus(rabbitMQChannelPool, eventSerializer, RetryBackoffConfiguration.DEFAULT, routingKeyConverter, memoryEventDeadLetters, new NoopMetricFactory());
+        return newEventBus(rabbitMQChannelPool, EventWireFormat.DEFAULT);
+    }
+
+    private RabbitMQEventBus newEventBus(ReactorRabbitMQChannelPool rabbitMQChannelPool, EventWireFormat publishFormat) {
+        return new RabbitMQEventBus(rabbitMQChannelPool, eventSerializer, binaryEventSerializer, publishFormat,
+            RetryBackoffConfiguration.DEFAULT, routingKeyConverter, memoryEventDeadLetters, new NoopMetricFactory());
     }
 
     @Override
@@ -297,6 +316,66 @@ class RabbitMQEventBusTest implements GroupContract.SingleEventBusGroupContract,
         }
     }
 
+    @Nested
+    class BinaryWireFormatTest {
+        private final MailboxListener.Added added = new MailboxListener.Added(SESSION_ID, USER, MAILBOX_PATH, TEST_ID,
+            ImmutableSortedMap.of(MessageUid.of(1), new MessageMetaData(MessageUid.of(1), 35, new Flags(), 45, new Date(), TestMessageId.of(42))),
+            Event.EventId.random());
+
+        private RabbitMQEventBus binaryEventBus;
+
+        @BeforeEach
+        void setUp() {
+            binaryEventBus = newEventBus(rabbitMQExtension.getRabbitChannelPool(), EventWireFormat.BINARY);
+            binaryEventBus.start();
+        }
+
+        @AfterEach
+        void tearDown() {
+            binaryEventBus.stop();
+        }
+
+        @Test
+        void groupListenersShouldReceiveBinaryEventsFromAnotherEventBus() {
+            EventCollector listener = new EventCollector();
+            eventBus.register(listener, GROUP_A);
+
+            binaryEventBus.dispatch(added, NO_KEYS).block();
+
+            WAIT_CONDITION.untilAsserted(() -> assertThat(listener.getEvents()).containsOnly(added));
+        }
+
+        @Test
+        void keyListenersShouldReceiveBinaryEventsFromAnotherEventBus() {
+            EventCollector listener = new EventCollector();
+            eventBus.register(listener, KEY_1);
+
+            binaryEventBus.dispatch(added, ImmutableSet.of(KEY_1)).block();
+
+            WAIT_CONDITION.untilAsserted(() -> assertThat(listener.getEvents()).containsOnly(added));
+        }
+
+        @Test
+        void binaryEventBusShouldReceiveJsonEventsFromAnotherEventBus() {
+            EventCollector listener = new EventCollector();
+            binaryEventBus.register(listener, GROUP_A);
+
+            eventBus.dispatch(added, NO_KEYS).block();
+
+            WAIT_CONDITION.untilAsserted(() -> assertThat(listener.getEvents()).containsOnly(added));
+        }
+
+        @Test
+        void binaryEventBusShouldPublishUnsupportedEventsAsJson() {
+            EventCollector listener = new EventCollector();
+            eventBus.register(listener, GROUP_A);
+
+            binaryEventBus.dispatch(EVENT, NO_KEYS).block();
+
+            WAIT_CONDITION.untilAsserted(() -> assertThat(listener.getEvents()).containsOnly(EVENT));
+        }
+    }
+
     @Nested
     class LifeCycleTest {
         private static final int THREAD_COUNT = 10;
@@ -0,0 +1,218 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.lucene.search;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.steveash.guavate.Guavate;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Spreads mailboxes over several Lucene indexes according to the hash of their id, so that writes to distinct shards
+ * do not contend on the same {@link org.apache.lucene.index.IndexWriter}, and a large mailbox only slows down the
+ * searches of its own shard.
+ *
+ * Shards are opened lazily and kept in a LRU cache, as described by the {@link ShardingConfiguration}. Evicted shards
+ * are closed in the background once their current users released them, a shard being reopened only once its previous
+ * instance is closed.
+ */
+public class HashedIndexShards implements IndexShards {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HashedIndexShards.class);
+    private static final Duration ACQUIRE_TIMEOUT = Duration.ofMinutes(1);
+
+    @FunctionalInterface
+    public interface IndexWriterConfigFactory {
+        IndexWriterConfig create(boolean dropIndex);
+    }
+
+    private final ShardDirectoryFactory directoryFactory;
+    private final IndexWriterConfigFactory configFactory;
+    private final RefreshPolicy refreshPolicy;
+    private final ShardingConfiguration configuration;
+    private final boolean dropIndexOnStart;
+    private final Set<Integer> openedShards;
+    private final Map<Integer, LuceneIndexShard> unclosedShards;
+    private final LoadingCache<Integer, LuceneIndexShard> openShards;
+    private final Disposable periodicCleanUp;
+
+    public HashedIndexShards(ShardDirectoryFactory directoryFactory, IndexWriterConfigFactory configFactory, boolean dropIndexOnStart,
+                             RefreshPolicy refreshPolicy, ShardingConfiguration configuration) {
+        this.directoryFactory = directoryFactory;
+        this.configFactory = configFactory;
+        this.refreshPolicy = refreshPolicy;
+        this.configuration = configuration;
+        this.dropIndexOnStart = dropIndexOnStart;
+        this.openedShards = ConcurrentHashMap.newKeySet();
+        this.unclosedShards = new ConcurrentHashMap<>();
+        this.openShards = CacheBuilder.newBuilder()
+            .maximumSize(configuration.getMaxOpenShards())
+            .expireAfterAccess(configuration.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+            .<Integer, LuceneIndexShard>removalListener(this::onRemoval)
+            .build(new CacheLoader<Integer, LuceneIndexShard>() {
+                @Override
+                public LuceneIndexShard load(Integer shard) throws IOException {
+                    return open(shard);
+                }
+            });
+        // Expiration otherwise only happens upon cache accesses
+        this.periodicCleanUp = Flux.interval(configuration.getIdleTimeout(), Schedulers.boundedElastic())
+            .subscribe(any -> openShards.cleanUp());
+    }
+
+    @VisibleForTesting
+    int shardFor(MailboxId mailboxId) {
+        return Math.floorMod(mailboxId.serialize().hashCode(), configuration.getShardCount());
+    }
+
+    @VisibleForTesting
+    long openShardCount() {
+        return unclosedShards.size();
+    }
+
+    @Override
+    public LuceneIndexShard acquire(MailboxId mailboxId) throws IOException {
+        return acquire(shardFor(mailboxId));
+    }
+
+    @Override
+    public List<LuceneIndexShard> acquire(Collection<MailboxId> mailboxIds) throws IOException {
+        // Shards are acquired in ascending order so that concurrent searches never wait on each other
+        ImmutableList<Integer> shards = mailboxIds.stream()
+            .map(this::shardFor)
+            .distinct()
+            .sorted()
+            .collect(Guavate.toImmutableList());
+
+        List<LuceneIndexShard> acquired = new ArrayList<>();
+        try {
+            for (int shard : shards) {
+                acquired.add(acquire(shard));
+            }
+            return acquired;
+        } catch (IOException | RuntimeException e) {
+            acquired.forEach(LuceneIndexShard::release);
+            throw e;
+        }
+    }
+
+    private LuceneIndexShard acquire(int shard) throws IOException {
+        long deadline = System.nanoTime() + ACQUIRE_TIMEOUT.toNanos();
+        try {
+            while (System.nanoTime() < deadline) {
+                LuceneIndexShard indexShard = get(shard);
+                if (indexShard.tryAcquire(Duration.ofNanos(deadline - System.nanoTime()))) {
+                    return indexShard;
+                }
+                if (indexShard.isClosed()) {
+                    // Load a new instance upon next attempt
+                    openShards.asMap().remove(shard, indexShard);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while acquiring Lucene index shard " + shard, e);
+        }
+        throw new IOException("Could not acquire Lucene index shard " + shard + " within " + ACQUIRE_TIMEOUT);
+    }
+
+    private LuceneIndexShard get(int shard) throws IOException {
+        try {
+            return openShards.get(shard);
+        } catch (ExecutionException e) {
+            Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private LuceneIndexShard open(int shard) throws IOException {
+        LuceneIndexShard evicted = unclosedShards.get(shard);
+        if (evicted != null) {
+            // Its writer still holds the lock of the directory
+            close(shard, evicted);
+        }
+        boolean dropIndex = dropIndexOnStart && openedShards.add(shard);
+        LuceneIndexShard indexShard = LuceneIndexShard.open(directoryFactory.directoryFor(shard), configFactory.create(dropIndex), refreshPolicy);
+        unclosedShards.put(shard, indexShard);
+        return indexShard;
+    }
+
+    private void onRemoval(RemovalNotification<Integer, LuceneIndexShard> notification) {
+        Mono.fromRunnable(() -> closeQuietly(notification.getKey(), notification.getValue()))
+            .subscribeOn(Schedulers.boundedElastic())
+            .subscribe();
+    }
+
+    private void closeQuietly(int shard, LuceneIndexShard indexShard) {
+        try {
+            close(shard, indexShard);
+        } catch (IOException e) {
+            LOGGER.error("Error while closing Lucene index shard {}", shard, e);
+        }
+    }
+
+    private void close(int shard, LuceneIndexShard indexShard) throws IOException {
+        try {
+            indexShard.close();
+        } finally {
+            unclosedShards.remove(shard, indexShard);
+        }
+    }
+
+    @Override
+    public void commit() throws IOException {
+        for (LuceneIndexShard indexShard : unclosedShards.values()) {
+            indexShard.commit();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        periodicCleanUp.dispose();
+        openShards.invalidateAll();
+        for (Map.Entry<Integer, LuceneIndexShard> entry : unclosedShards.entrySet()) {
+            close(entry.getKey(), entry.getValue());
+        }
+    }
+}
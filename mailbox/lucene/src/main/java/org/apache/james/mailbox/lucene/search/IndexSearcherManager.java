@@ -0,0 +1,160 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.lucene.search;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Shares near real time {@link IndexSearcher}s opened on an {@link IndexWriter} amongst concurrent searches.
+ *
+ * Searchers are reopened by a {@link SearcherManager}, which only opens readers for the segments that changed,
+ * and only when writes happened since the last refresh, according to the {@link RefreshPolicy}.
+ */
+public class IndexSearcherManager implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndexSearcherManager.class);
+
+    @FunctionalInterface
+    private interface IndexOperation {
+        void run() throws IOException;
+    }
+
+    /**
+     * A searcher borrowed from the manager, to be closed once the search is done.
+     */
+    public class Lease implements Closeable {
+        private final IndexSearcher searcher;
+
+        private Lease(IndexSearcher searcher) {
+            this.searcher = searcher;
+        }
+
+        public IndexSearcher getSearcher() {
+            return searcher;
+        }
+
+        @Override
+        public void close() throws IOException {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private final IndexWriter writer;
+    private final RefreshPolicy refreshPolicy;
+    private final SearcherManager searcherManager;
+    private final AtomicLong writeGeneration;
+    private final Object refreshLock;
+    private final Object commitLock;
+    private final Disposable periodicRefresh;
+    private final Disposable periodicCommit;
+    private volatile long refreshedGeneration;
+    private long committedGeneration;
+
+    public IndexSearcherManager(IndexWriter writer, RefreshPolicy refreshPolicy) throws IOException {
+        this.writer = writer;
+        this.refreshPolicy = refreshPolicy;
+        this.searcherManager = new SearcherManager(writer, true, new SearcherFactory());
+        this.writeGeneration = new AtomicLong();
+        this.refreshLock = new Object();
+        this.commitLock = new Object();
+        this.refreshedGeneration = 0;
+        this.committedGeneration = 0;
+        this.periodicRefresh = schedule(refreshPolicy.getRefreshInterval(), this::refresh, "refresh");
+        this.periodicCommit = schedule(refreshPolicy.getCommitInterval(), this::commit, "commit");
+    }
+
+    /**
+     * Records a write on the underlying {@link IndexWriter}, to be taken into account by the next refresh and commit.
+     */
+    public void changed() {
+        writeGeneration.incrementAndGet();
+    }
+
+    public Lease acquire() throws IOException {
+        if (refreshPolicy.isRefreshOnRead()) {
+            refresh();
+        }
+        return new Lease(searcherManager.acquire());
+    }
+
+    /**
+     * Makes the writes recorded so far visible to the searchers acquired afterward.
+     */
+    public void refresh() throws IOException {
+        long targetGeneration = writeGeneration.get();
+        if (refreshedGeneration >= targetGeneration) {
+            return;
+        }
+        synchronized (refreshLock) {
+            if (refreshedGeneration >= targetGeneration) {
+                return;
+            }
+            long generation = writeGeneration.get();
+            // Refreshes are serialized by the lock, thus maybeRefresh always does the refresh
+            searcherManager.maybeRefresh();
+            refreshedGeneration = generation;
+        }
+    }
+
+    public void commit() throws IOException {
+        synchronized (commitLock) {
+            long generation = writeGeneration.get();
+            if (committedGeneration < generation) {
+                writer.commit();
+                committedGeneration = generation;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        periodicRefresh.dispose();
+        periodicCommit.dispose();
+        try {
+            commit();
+        } finally {
+            searcherManager.close();
+        }
+    }
+
+    private Disposable schedule(Duration interval, IndexOperation operation, String operationName) {
+        return Flux.interval(interval, Schedulers.boundedElastic())
+            .subscribe(any -> {
+                try {
+                    operation.run();
+                } catch (Exception e) {
+                    LOGGER.error("Error while running periodic {} of the Lucene index", operationName, e);
+                }
+            });
+    }
+}
@@ -0,0 +1,45 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.lucene.search;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.james.mailbox.model.MailboxId;
+
+/**
+ * Locates the {@link LuceneIndexShard} holding the documents of a mailbox.
+ *
+ * Acquired shards need to be released by the caller. Implementations acquire shards in a consistent order, thus
+ * callers should not acquire several shards by other means than {@link #acquire(Collection)}.
+ */
+public interface IndexShards extends Closeable {
+
+    LuceneIndexShard acquire(MailboxId mailboxId) throws IOException;
+
+    /**
+     * @return the distinct shards holding the documents of these mailboxes.
+     */
+    List<LuceneIndexShard> acquire(Collection<MailboxId> mailboxIds) throws IOException;
+
+    void commit() throws IOException;
+}
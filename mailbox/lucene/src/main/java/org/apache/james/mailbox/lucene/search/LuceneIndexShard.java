@@ -0,0 +1,143 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.lucene.search;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.Directory;
+
+/**
+ * A Lucene index, with its {@link IndexWriter} and shared searchers.
+ *
+ * Users {@link #tryAcquire()} the shard before using it and {@link #release()} it afterward. Closing the shard waits
+ * for its current users.
+ */
+public class LuceneIndexShard implements Closeable {
+    public static LuceneIndexShard open(Directory directory, IndexWriterConfig config, RefreshPolicy refreshPolicy) throws IOException {
+        IndexWriter writer = new IndexWriter(directory, config);
+        try {
+            return new LuceneIndexShard(directory, writer, new IndexSearcherManager(writer, refreshPolicy));
+        } catch (IOException e) {
+            writer.close();
+            throw e;
+        }
+    }
+
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final IndexSearcherManager searcherManager;
+    private final ReadWriteLock lock;
+    private volatile boolean closed;
+
+    private LuceneIndexShard(Directory directory, IndexWriter writer, IndexSearcherManager searcherManager) {
+        this.directory = directory;
+        this.writer = writer;
+        this.searcherManager = searcherManager;
+        this.lock = new ReentrantReadWriteLock();
+        this.closed = false;
+    }
+
+    public IndexWriter getWriter() {
+        return writer;
+    }
+
+    public IndexSearcherManager getSearcherManager() {
+        return searcherManager;
+    }
+
+    /**
+     * @return false if the shard is closed, in which case it should not be used nor released.
+     */
+    public boolean tryAcquire() {
+        lock.readLock().lock();
+        if (closed) {
+            lock.readLock().unlock();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Same as {@link #tryAcquire()}, giving up when the shard could not be acquired within the given timeout, e.g.
+     * because it is being closed.
+     *
+     * @return false if the shard is closed or could not be acquired in time, in which case it should not be used nor
+     * released.
+     */
+    public boolean tryAcquire(Duration timeout) throws InterruptedException {
+        if (!lock.readLock().tryLock(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            return false;
+        }
+        if (closed) {
+            lock.readLock().unlock();
+            return false;
+        }
+        return true;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public void release() {
+        lock.readLock().unlock();
+    }
+
+    public void commit() throws IOException {
+        if (tryAcquire()) {
+            try {
+                searcherManager.commit();
+            } finally {
+                release();
+            }
+        }
+    }
+
+    /**
+     * Commits then closes the index once it is no longer in use. Closing an already closed shard does nothing.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                searcherManager.close();
+                writer.close();
+            } finally {
+                if (IndexWriter.isLocked(directory)) {
+                    IndexWriter.unlock(directory);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
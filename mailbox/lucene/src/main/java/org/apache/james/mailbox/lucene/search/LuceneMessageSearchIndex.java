@@ -97,9 +97,9 @@ import org.apache.lucene.document.Field.Index;
 import org.apache.lucene.document.Field.Store;
 import org.apache.lucene.document.NumericField;
 import org.apache.lucene.index.IndexReader;
-import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.index.MultiReader;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
@@ -360,21 +360,30 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
     
     private final MailboxId.Factory mailboxIdFactory;
     private final MessageId.Factory messageIdFactory;
-    private final IndexWriter writer;
-    private final Directory directory;
+    private final IndexShards shards;
 
     private int maxQueryResults = DEFAULT_MAX_QUERY_RESULTS;
 
     private boolean suffixMatch = false;
 
-    @Inject
     public LuceneMessageSearchIndex(
         MailboxSessionMapperFactory factory,
         MailboxId.Factory mailboxIdFactory,
         Directory directory,
         MessageId.Factory messageIdFactory,
         SessionProvider sessionProvider) throws IOException {
-        this(factory, mailboxIdFactory, directory, false, true, messageIdFactory, sessionProvider);
+        this(factory, mailboxIdFactory, directory, messageIdFactory, sessionProvider, RefreshPolicy.DEFAULT);
+    }
+
+    @Inject
+    public LuceneMessageSearchIndex(
+        MailboxSessionMapperFactory factory,
+        MailboxId.Factory mailboxIdFactory,
+        Directory directory,
+        MessageId.Factory messageIdFactory,
+        SessionProvider sessionProvider,
+        RefreshPolicy refreshPolicy) throws IOException {
+        this(factory, mailboxIdFactory, directory, false, true, messageIdFactory, sessionProvider, refreshPolicy);
     }
 
     public LuceneMessageSearchIndex(
@@ -385,22 +394,48 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
             boolean lenient,
             MessageId.Factory messageIdFactory,
             SessionProvider sessionProvider) throws IOException {
+        this(factory, mailboxIdFactory, directory, dropIndexOnStart, lenient, messageIdFactory, sessionProvider, RefreshPolicy.DEFAULT);
+    }
+
+    public LuceneMessageSearchIndex(
+            MailboxSessionMapperFactory factory,
+            MailboxId.Factory mailboxIdFactory,
+            Directory directory,
+            boolean dropIndexOnStart,
+            boolean lenient,
+            MessageId.Factory messageIdFactory,
+            SessionProvider sessionProvider,
+            RefreshPolicy refreshPolicy) throws IOException {
         super(factory, sessionProvider);
         this.mailboxIdFactory = mailboxIdFactory;
         this.messageIdFactory = messageIdFactory;
-        this.directory = directory;
-        this.writer = new IndexWriter(this.directory,  createConfig(createAnalyzer(lenient), dropIndexOnStart));
+        this.shards = new SingleIndexShards(LuceneIndexShard.open(directory, createConfig(createAnalyzer(lenient), dropIndexOnStart), refreshPolicy));
+    }
+
+    /**
+     * Stores the index in several shards, see {@link ShardingConfiguration}.
+     */
+    public LuceneMessageSearchIndex(
+            MailboxSessionMapperFactory factory,
+            MailboxId.Factory mailboxIdFactory,
+            ShardDirectoryFactory directoryFactory,
+            ShardingConfiguration shardingConfiguration,
+            boolean dropIndexOnStart,
+            boolean lenient,
+            MessageId.Factory messageIdFactory,
+            SessionProvider sessionProvider,
+            RefreshPolicy refreshPolicy) {
+        super(factory, sessionProvider);
+        this.mailboxIdFactory = mailboxIdFactory;
+        this.messageIdFactory = messageIdFactory;
+        Analyzer analyzer = createAnalyzer(lenient);
+        this.shards = new HashedIndexShards(directoryFactory, dropIndex -> createConfig(analyzer, dropIndex), dropIndexOnStart,
+            refreshPolicy, shardingConfiguration);
     }
 
     @PreDestroy
     public void close() throws IOException {
-        try {
-            writer.close();
-        } finally {
-            if (IndexWriter.isLocked(directory)) {
-                IndexWriter.unlock(directory);
-            }
-        }
+        shards.close();
     }
 
     @Override
@@ -489,35 +524,78 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
     }
     
     private List<SearchResult> searchMultimap(Collection<MailboxId> mailboxIds, SearchQuery searchQuery) throws MailboxException {
+        List<LuceneIndexShard> acquiredShards = acquireShards(mailboxIds);
+        List<IndexSearcherManager.Lease> leases = new ArrayList<>();
+        try {
+            for (LuceneIndexShard shard : acquiredShards) {
+                leases.add(shard.getSearcherManager().acquire());
+            }
+            if (leases.size() == 1) {
+                return searchMultimap(leases.get(0).getSearcher(), mailboxIds, searchQuery);
+            }
+            // Searches all the shards at once, so that results get sorted as a whole
+            try (MultiReader reader = new MultiReader(toReaders(leases), false)) {
+                return searchMultimap(new IndexSearcher(reader), mailboxIds, searchQuery);
+            }
+        } catch (IOException e) {
+            throw new MailboxException("Unable to search the mailbox", e);
+        } finally {
+            releaseAll(acquiredShards, leases);
+        }
+    }
+
+    private List<SearchResult> searchMultimap(IndexSearcher searcher, Collection<MailboxId> mailboxIds, SearchQuery searchQuery) throws MailboxException, IOException {
         ImmutableList.Builder<SearchResult> results = ImmutableList.builder();
 
         Query inMailboxes = buildQueryFromMailboxes(mailboxIds);
-        
-        try (IndexSearcher searcher = new IndexSearcher(IndexReader.open(writer, true))) {
-            BooleanQuery query = new BooleanQuery();
-            query.add(inMailboxes, BooleanClause.Occur.MUST);
-            // Not return flags documents
-            query.add(new PrefixQuery(new Term(FLAGS_FIELD, "")), BooleanClause.Occur.MUST_NOT);
 
-            List<Criterion> crits = searchQuery.getCriterias();
-            for (Criterion crit : crits) {
-                query.add(createQuery(crit, inMailboxes, searchQuery.getRecentMessageUids()), BooleanClause.Occur.MUST);
-            }
+        BooleanQuery query = new BooleanQuery();
+        query.add(inMailboxes, BooleanClause.Occur.MUST);
+        // Not return flags documents
+        query.add(new PrefixQuery(new Term(FLAGS_FIELD, "")), BooleanClause.Occur.MUST_NOT);
 
-            // query for all the documents sorted as specified in the SearchQuery
-            TopDocs docs = searcher.search(query, null, maxQueryResults, createSort(searchQuery.getSorts()));
-            ScoreDoc[] sDocs = docs.scoreDocs;
-            for (ScoreDoc sDoc : sDocs) {
-                Document doc = searcher.doc(sDoc.doc);
-                MessageUid uid = MessageUid.of(Long.parseLong(doc.get(UID_FIELD)));
-                MailboxId mailboxId = mailboxIdFactory.fromString(doc.get(MAILBOX_ID_FIELD));
-                Optional<MessageId> messageId = toMessageId(Optional.ofNullable(doc.get(MESSAGE_ID_FIELD)));
-                results.add(new SearchResult(messageId, mailboxId, uid));
+        List<Criterion> crits = searchQuery.getCriterias();
+        for (Criterion crit : crits) {
+            query.add(createQuery(crit, searcher, inMailboxes, searchQuery.getRecentMessageUids()), BooleanClause.Occur.MUST);
+        }
+
+        // query for all the documents sorted as specified in the SearchQuery
+        TopDocs docs = searcher.search(query, null, maxQueryResults, createSort(searchQuery.getSorts()));
+        ScoreDoc[] sDocs = docs.scoreDocs;
+        for (ScoreDoc sDoc : sDocs) {
+            Document doc = searcher.doc(sDoc.doc);
+            MessageUid uid = MessageUid.of(Long.parseLong(doc.get(UID_FIELD)));
+            MailboxId mailboxId = mailboxIdFactory.fromString(doc.get(MAILBOX_ID_FIELD));
+            Optional<MessageId> messageId = toMessageId(Optional.ofNullable(doc.get(MESSAGE_ID_FIELD)));
+            results.add(new SearchResult(messageId, mailboxId, uid));
+        }
+        return results.build();
+    }
+
+    private List<LuceneIndexShard> acquireShards(Collection<MailboxId> mailboxIds) throws MailboxException {
+        try {
+            return shards.acquire(mailboxIds);
+        } catch (IOException e) {
+            throw new MailboxException("Unable to open the index", e);
+        }
+    }
+
+    private IndexReader[] toReaders(List<IndexSearcherManager.Lease> leases) {
+        return leases.stream()
+            .map(lease -> lease.getSearcher().getIndexReader())
+            .toArray(IndexReader[]::new);
+    }
+
+    private void releaseAll(List<LuceneIndexShard> acquiredShards, List<IndexSearcherManager.Lease> leases) throws MailboxException {
+        try {
+            for (IndexSearcherManager.Lease lease : leases) {
+                lease.close();
             }
         } catch (IOException e) {
-            throw new MailboxException("Unable to search the mailbox", e);
+            throw new MailboxException("Unable to release the index searcher", e);
+        } finally {
+            acquiredShards.forEach(LuceneIndexShard::release);
         }
-        return results.build();
     }
 
     private Optional<MessageId> toMessageId(Optional<String> messageIdField) {
@@ -958,7 +1036,7 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
      * @return query
      * @throws MailboxException
      */
-    private Query createFlagQuery(String flag, boolean isSet, Query inMailboxes, Collection<MessageUid> recentUids) throws MailboxException {
+    private Query createFlagQuery(String flag, boolean isSet, IndexSearcher searcher, Query inMailboxes, Collection<MessageUid> recentUids) throws MailboxException {
         BooleanQuery query = new BooleanQuery();
         
         if (isSet) {   
@@ -974,7 +1052,7 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
         query.add(inMailboxes, BooleanClause.Occur.MUST);
 
 
-        try (IndexSearcher searcher = new IndexSearcher(IndexReader.open(writer, true))) {
+        try {
             Set<MessageUid> uids = new HashSet<>();
 
             // query for all the documents sorted by uid
@@ -1157,24 +1235,24 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
      * @return query
      * @throws UnsupportedSearchException
      */
-    private Query createConjunctionQuery(SearchQuery.ConjunctionCriterion crit, Query inMailboxes, Collection<MessageUid> recentUids) throws UnsupportedSearchException, MailboxException {
+    private Query createConjunctionQuery(SearchQuery.ConjunctionCriterion crit, IndexSearcher searcher, Query inMailboxes, Collection<MessageUid> recentUids) throws UnsupportedSearchException, MailboxException {
         List<Criterion> crits = crit.getCriteria();
         BooleanQuery conQuery = new BooleanQuery();
         switch (crit.getType()) {
         case AND:
             for (Criterion criterion : crits) {
-                conQuery.add(createQuery(criterion, inMailboxes, recentUids), BooleanClause.Occur.MUST);
+                conQuery.add(createQuery(criterion, searcher, inMailboxes, recentUids), BooleanClause.Occur.MUST);
             }
             return conQuery;
         case OR:
             for (Criterion criterion : crits) {
-                conQuery.add(createQuery(criterion, inMailboxes, recentUids), BooleanClause.Occur.SHOULD);
+                conQuery.add(createQuery(criterion, searcher, inMailboxes, recentUids), BooleanClause.Occur.SHOULD);
             }
             return conQuery;
         case NOR:
             BooleanQuery nor = new BooleanQuery();
             for (Criterion criterion : crits) {
-                conQuery.add(createQuery(criterion, inMailboxes, recentUids), BooleanClause.Occur.SHOULD);
+                conQuery.add(createQuery(criterion, searcher, inMailboxes, recentUids), BooleanClause.Occur.SHOULD);
             }
             nor.add(inMailboxes, BooleanClause.Occur.MUST);
 
@@ -1193,7 +1271,7 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
      * @return query
      * @throws UnsupportedSearchException
      */
-    private Query createQuery(Criterion criterion, Query inMailboxes, Collection<MessageUid> recentUids) throws MailboxException {
+    private Query createQuery(Criterion criterion, IndexSearcher searcher, Query inMailboxes, Collection<MessageUid> recentUids) throws MailboxException {
         if (criterion instanceof SearchQuery.InternalDateCriterion) {
             SearchQuery.InternalDateCriterion crit = (SearchQuery.InternalDateCriterion) criterion;
             return createInternalDateQuery(crit);
@@ -1208,13 +1286,13 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
             return createUidQuery(crit);
         } else if (criterion instanceof SearchQuery.FlagCriterion) {
             FlagCriterion crit = (FlagCriterion) criterion;
-            return createFlagQuery(toString(crit.getFlag()), crit.getOperator().isSet(), inMailboxes, recentUids);
+            return createFlagQuery(toString(crit.getFlag()), crit.getOperator().isSet(), searcher, inMailboxes, recentUids);
         } else if (criterion instanceof SearchQuery.AttachmentCriterion) {
             AttachmentCriterion crit = (AttachmentCriterion) criterion;
             return createAttachmentQuery(crit.getOperator().isSet());
         } else if (criterion instanceof SearchQuery.CustomFlagCriterion) {
             CustomFlagCriterion crit = (CustomFlagCriterion) criterion;
-            return createFlagQuery(crit.getFlag(), crit.getOperator().isSet(), inMailboxes, recentUids);
+            return createFlagQuery(crit.getFlag(), crit.getOperator().isSet(), searcher, inMailboxes, recentUids);
         } else if (criterion instanceof SearchQuery.TextCriterion) {
             SearchQuery.TextCriterion crit = (SearchQuery.TextCriterion) criterion;
             return createTextQuery(crit);
@@ -1222,7 +1300,7 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
             return createAllQuery((AllCriterion) criterion);
         } else if (criterion instanceof SearchQuery.ConjunctionCriterion) {
             SearchQuery.ConjunctionCriterion crit = (SearchQuery.ConjunctionCriterion) criterion;
-            return createConjunctionQuery(crit, inMailboxes, recentUids);
+            return createConjunctionQuery(crit, searcher, inMailboxes, recentUids);
         } else if (criterion instanceof SearchQuery.ModSeqCriterion) {
             return createModSeqQuery((SearchQuery.ModSeqCriterion) criterion);
         } else if (criterion instanceof SearchQuery.MimeMessageIDCriterion) {
@@ -1237,8 +1315,14 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
         Document doc = createMessageDocument(session, membership);
         Document flagsDoc = createFlagsDocument(membership);
 
-        writer.addDocument(doc);
-        writer.addDocument(flagsDoc);
+        LuceneIndexShard shard = shards.acquire(mailbox.getMailboxId());
+        try {
+            shard.getWriter().addDocument(doc);
+            shard.getWriter().addDocument(flagsDoc);
+            shard.getSearcherManager().changed();
+        } finally {
+            shard.release();
+        }
     }
 
     @Override
@@ -1249,7 +1333,9 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
     }
 
     private void update(Mailbox mailbox, MessageUid uid, Flags f) throws IOException {
-        try (IndexSearcher searcher = new IndexSearcher(IndexReader.open(writer, true))) {
+        LuceneIndexShard shard = shards.acquire(mailbox.getMailboxId());
+        try (IndexSearcherManager.Lease lease = shard.getSearcherManager().acquire()) {
+            IndexSearcher searcher = lease.getSearcher();
             BooleanQuery query = new BooleanQuery();
             query.add(new TermQuery(new Term(MAILBOX_ID_FIELD, mailbox.getMailboxId().serialize())), BooleanClause.Occur.MUST);
             query.add(createQuery(MessageRange.one(uid)), BooleanClause.Occur.MUST);
@@ -1264,10 +1350,13 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
                     doc.removeFields(FLAGS_FIELD);
                     indexFlags(doc, f);
 
-                    writer.updateDocument(new Term(ID_FIELD, doc.get(ID_FIELD)), doc);
+                    shard.getWriter().updateDocument(new Term(ID_FIELD, doc.get(ID_FIELD)), doc);
+                    shard.getSearcherManager().changed();
 
                 }
             }
+        } finally {
+            shard.release();
         }
     }
 
@@ -1343,10 +1432,19 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
         query.add(new TermQuery(new Term(MAILBOX_ID_FIELD, mailboxId.serialize())), BooleanClause.Occur.MUST);
         query.add(createQuery(range), BooleanClause.Occur.MUST);
 
-        writer.deleteDocuments(query);
+        LuceneIndexShard shard = shards.acquire(mailboxId);
+        try {
+            shard.getWriter().deleteDocuments(query);
+            shard.getSearcherManager().changed();
+        } finally {
+            shard.release();
+        }
     }
 
+    /**
+     * Commits the pending changes without waiting for the next periodic commit of the {@link RefreshPolicy}.
+     */
     public void commit() throws IOException {
-        writer.commit();
+        shards.commit();
     }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.lucene.search;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Controls when the changes written to the Lucene index become visible to searches, and when they are committed.
+ *
+ * With refreshOnRead, a search following a write refreshes the shared searcher first so that it sees this write.
+ * Otherwise changes become visible at the next periodic refresh, every refreshInterval. Pending changes are committed
+ * every commitInterval, and upon close.
+ */
+public class RefreshPolicy {
+
+    public static class Builder {
+        private Optional<Boolean> refreshOnRead;
+        private Optional<Duration> refreshInterval;
+        private Optional<Duration> commitInterval;
+
+        private Builder() {
+            refreshOnRead = Optional.empty();
+            refreshInterval = Optional.empty();
+            commitInterval = Optional.empty();
+        }
+
+        public Builder refreshOnRead(boolean refreshOnRead) {
+            this.refreshOnRead = Optional.of(refreshOnRead);
+            return this;
+        }
+
+        public Builder refreshInterval(Duration refreshInterval) {
+            this.refreshInterval = Optional.of(refreshInterval);
+            return this;
+        }
+
+        public Builder commitInterval(Duration commitInterval) {
+            this.commitInterval = Optional.of(commitInterval);
+            return this;
+        }
+
+        public RefreshPolicy build() {
+            Duration refresh = refreshInterval.orElse(DEFAULT_REFRESH_INTERVAL);
+            Duration commit = commitInterval.orElse(DEFAULT_COMMIT_INTERVAL);
+            Preconditions.checkArgument(!refresh.isNegative() && !refresh.isZero(), "'refreshInterval' should be strictly positive");
+            Preconditions.checkArgument(!commit.isNegative() && !commit.isZero(), "'commitInterval' should be strictly positive");
+
+            return new RefreshPolicy(refreshOnRead.orElse(DEFAULT_REFRESH_ON_READ), refresh, commit);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final boolean DEFAULT_REFRESH_ON_READ = true;
+    public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofSeconds(1);
+    public static final Duration DEFAULT_COMMIT_INTERVAL = Duration.ofSeconds(30);
+    public static final RefreshPolicy DEFAULT = builder().build();
+
+    private final boolean refreshOnRead;
+    private final Duration refreshInterval;
+    private final Duration commitInterval;
+
+    private RefreshPolicy(boolean refreshOnRead, Duration refreshInterval, Duration commitInterval) {
+        this.refreshOnRead = refreshOnRead;
+        this.refreshInterval = refreshInterval;
+        this.commitInterval = commitInterval;
+    }
+
+    public boolean isRefreshOnRead() {
+        return refreshOnRead;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public Duration getCommitInterval() {
+        return commitInterval;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof RefreshPolicy) {
+            RefreshPolicy that = (RefreshPolicy) o;
+
+            return Objects.equals(this.refreshOnRead, that.refreshOnRead)
+                && Objects.equals(this.refreshInterval, that.refreshInterval)
+                && Objects.equals(this.commitInterval, that.commitInterval);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(refreshOnRead, refreshInterval, commitInterval);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("refreshOnRead", refreshOnRead)
+            .add("refreshInterval", refreshInterval)
+            .add("commitInterval", commitInterval)
+            .toString();
+    }
+}
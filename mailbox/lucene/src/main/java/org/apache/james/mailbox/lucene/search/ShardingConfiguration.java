@@ -0,0 +1,132 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.lucene.search;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Splits the Lucene index into shardCount independent indexes, a mailbox being stored in the shard designated by the
+ * hash of its id. Changing the shardCount of an existing index thus requires a reindexing.
+ *
+ * At most maxOpenShards shards are kept open, the least recently used one being closed first. Shards unused for
+ * idleTimeout are closed as well.
+ */
+public class ShardingConfiguration {
+
+    public static class Builder {
+        private Optional<Integer> shardCount;
+        private Optional<Integer> maxOpenShards;
+        private Optional<Duration> idleTimeout;
+
+        private Builder() {
+            shardCount = Optional.empty();
+            maxOpenShards = Optional.empty();
+            idleTimeout = Optional.empty();
+        }
+
+        public Builder shardCount(int shardCount) {
+            this.shardCount = Optional.of(shardCount);
+            return this;
+        }
+
+        public Builder maxOpenShards(int maxOpenShards) {
+            this.maxOpenShards = Optional.of(maxOpenShards);
+            return this;
+        }
+
+        public Builder idleTimeout(Duration idleTimeout) {
+            this.idleTimeout = Optional.of(idleTimeout);
+            return this;
+        }
+
+        public ShardingConfiguration build() {
+            int shards = shardCount.orElse(DEFAULT_SHARD_COUNT);
+            int maxOpen = maxOpenShards.orElse(DEFAULT_MAX_OPEN_SHARDS);
+            Duration idle = idleTimeout.orElse(DEFAULT_IDLE_TIMEOUT);
+            Preconditions.checkArgument(shards > 0, "'shardCount' should be strictly positive");
+            Preconditions.checkArgument(maxOpen > 0, "'maxOpenShards' should be strictly positive");
+            Preconditions.checkArgument(!idle.isNegative() && !idle.isZero(), "'idleTimeout' should be strictly positive");
+
+            return new ShardingConfiguration(shards, maxOpen, idle);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final int DEFAULT_SHARD_COUNT = 64;
+    public static final int DEFAULT_MAX_OPEN_SHARDS = 16;
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(10);
+    public static final ShardingConfiguration DEFAULT = builder().build();
+
+    private final int shardCount;
+    private final int maxOpenShards;
+    private final Duration idleTimeout;
+
+    private ShardingConfiguration(int shardCount, int maxOpenShards, Duration idleTimeout) {
+        this.shardCount = shardCount;
+        this.maxOpenShards = maxOpenShards;
+        this.idleTimeout = idleTimeout;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int getMaxOpenShards() {
+        return maxOpenShards;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof ShardingConfiguration) {
+            ShardingConfiguration that = (ShardingConfiguration) o;
+
+            return Objects.equals(this.shardCount, that.shardCount)
+                && Objects.equals(this.maxOpenShards, that.maxOpenShards)
+                && Objects.equals(this.idleTimeout, that.idleTimeout);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(shardCount, maxOpenShards, idleTimeout);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("shardCount", shardCount)
+            .add("maxOpenShards", maxOpenShards)
+            .add("idleTimeout", idleTimeout)
+            .toString();
+    }
+}
@@ -0,0 +1,67 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.lucene.search;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.lucene.store.AlreadyClosedException;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Stores every mailbox in the same index.
+ */
+public class SingleIndexShards implements IndexShards {
+    private final LuceneIndexShard shard;
+
+    public SingleIndexShards(LuceneIndexShard shard) {
+        this.shard = shard;
+    }
+
+    @Override
+    public LuceneIndexShard acquire(MailboxId mailboxId) {
+        return acquire();
+    }
+
+    @Override
+    public List<LuceneIndexShard> acquire(Collection<MailboxId> mailboxIds) {
+        return ImmutableList.of(acquire());
+    }
+
+    private LuceneIndexShard acquire() {
+        if (!shard.tryAcquire()) {
+            throw new AlreadyClosedException("The Lucene index is closed");
+        }
+        return shard;
+    }
+
+    @Override
+    public void commit() throws IOException {
+        shard.commit();
+    }
+
+    @Override
+    public void close() throws IOException {
+        shard.close();
+    }
+}
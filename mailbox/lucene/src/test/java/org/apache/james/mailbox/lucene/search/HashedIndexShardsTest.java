@@ -0,0 +1,158 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.lucene.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.james.mailbox.inmemory.InMemoryId;
+import org.apache.lucene.analysis.KeywordAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.Field.Index;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.Version;
+import org.awaitility.Awaitility;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class HashedIndexShardsTest {
+    private static final InMemoryId MAILBOX_1 = InMemoryId.of(1);
+    private static final InMemoryId MAILBOX_2 = InMemoryId.of(2);
+    private static final ShardingConfiguration SINGLE_OPEN_SHARD = ShardingConfiguration.builder()
+        .shardCount(4)
+        .maxOpenShards(1)
+        .build();
+
+    private Map<Integer, RAMDirectory> directories;
+    private HashedIndexShards testee;
+
+    @Before
+    public void setUp() {
+        directories = new ConcurrentHashMap<>();
+        testee = new HashedIndexShards(
+            shard -> directories.computeIfAbsent(shard, any -> new RAMDirectory()),
+            dropIndex -> new IndexWriterConfig(Version.LUCENE_31, new KeywordAnalyzer())
+                .setOpenMode(dropIndex ? OpenMode.CREATE : OpenMode.CREATE_OR_APPEND),
+            true,
+            RefreshPolicy.DEFAULT,
+            SINGLE_OPEN_SHARD);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        testee.close();
+    }
+
+    @Test
+    public void mailboxesShouldBeSpreadOverShards() {
+        assertThat(testee.shardFor(MAILBOX_1)).isNotEqualTo(testee.shardFor(MAILBOX_2));
+    }
+
+    @Test
+    public void shardsShouldBeOpenedLazily() throws Exception {
+        assertThat(testee.openShardCount()).isEqualTo(0);
+
+        testee.acquire(MAILBOX_1).release();
+
+        assertThat(testee.openShardCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void acquireShouldReturnTheSameShardForAMailbox() throws Exception {
+        LuceneIndexShard first = testee.acquire(MAILBOX_1);
+        first.release();
+        LuceneIndexShard second = testee.acquire(MAILBOX_1);
+        second.release();
+
+        assertThat(first).isSameAs(second);
+    }
+
+    @Test
+    public void acquireShouldReturnDistinctShards() throws Exception {
+        List<LuceneIndexShard> shards = testee.acquire(ImmutableList.of(MAILBOX_1, MAILBOX_2, MAILBOX_1));
+        shards.forEach(LuceneIndexShard::release);
+
+        assertThat(shards).hasSize(2);
+    }
+
+    @Test
+    public void acquireShouldReopenAClosedShard() throws Exception {
+        LuceneIndexShard closed = testee.acquire(MAILBOX_1);
+        closed.release();
+        closed.close();
+
+        LuceneIndexShard reopened = testee.acquire(MAILBOX_1);
+        reopened.release();
+
+        assertThat(reopened).isNotSameAs(closed);
+        assertThat(reopened.isClosed()).isFalse();
+    }
+
+    @Test
+    public void leastRecentlyUsedShardsShouldBeClosed() throws Exception {
+        testee.acquire(MAILBOX_1).release();
+        testee.acquire(MAILBOX_2).release();
+
+        Awaitility.await()
+            .atMost(10, TimeUnit.SECONDS)
+            .until(() -> testee.openShardCount() == 1);
+    }
+
+    @Test
+    public void reopenedShardsShouldKeepTheirDocuments() throws Exception {
+        addDocument(MAILBOX_1);
+        testee.acquire(MAILBOX_2).release();
+
+        assertThat(documentCount(MAILBOX_1)).isEqualTo(1);
+    }
+
+    private void addDocument(InMemoryId mailboxId) throws IOException {
+        LuceneIndexShard shard = testee.acquire(mailboxId);
+        try {
+            Document document = new Document();
+            document.add(new Field("mailboxId", mailboxId.serialize(), Store.YES, Index.NOT_ANALYZED));
+            shard.getWriter().addDocument(document);
+            shard.getSearcherManager().changed();
+        } finally {
+            shard.release();
+        }
+    }
+
+    private int documentCount(InMemoryId mailboxId) throws IOException {
+        LuceneIndexShard shard = testee.acquire(mailboxId);
+        try (IndexSearcherManager.Lease lease = shard.getSearcherManager().acquire()) {
+            return lease.getSearcher().getIndexReader().numDocs();
+        } finally {
+            shard.release();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.lucene.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.analysis.KeywordAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.Field.Index;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.Version;
+import org.awaitility.Awaitility;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IndexSearcherManagerTest {
+    private static final RefreshPolicy REFRESH_ON_READ = RefreshPolicy.builder()
+        .refreshOnRead(true)
+        .refreshInterval(Duration.ofHours(1))
+        .commitInterval(Duration.ofHours(1))
+        .build();
+
+    private RAMDirectory directory;
+    private IndexWriter writer;
+    private IndexSearcherManager testee;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = new RAMDirectory();
+        writer = new IndexWriter(directory, new IndexWriterConfig(Version.LUCENE_31, new KeywordAnalyzer()));
+        testee = new IndexSearcherManager(writer, REFRESH_ON_READ);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        testee.close();
+        writer.close();
+    }
+
+    @Test
+    public void acquireShouldSeePreviousWritesWhenRefreshOnRead() throws Exception {
+        addDocument("1");
+
+        assertThat(visibleDocuments()).isEqualTo(1);
+    }
+
+    @Test
+    public void acquireShouldNotSeeWritesBeforeRefreshWhenNotRefreshOnRead() throws Exception {
+        useRefreshPolicy(RefreshPolicy.builder()
+            .refreshOnRead(false)
+            .refreshInterval(Duration.ofHours(1))
+            .build());
+
+        addDocument("1");
+
+        assertThat(visibleDocuments()).isEqualTo(0);
+    }
+
+    @Test
+    public void refreshShouldExposeWrites() throws Exception {
+        useRefreshPolicy(RefreshPolicy.builder()
+            .refreshOnRead(false)
+            .refreshInterval(Duration.ofHours(1))
+            .build());
+        addDocument("1");
+
+        testee.refresh();
+
+        assertThat(visibleDocuments()).isEqualTo(1);
+    }
+
+    @Test
+    public void periodicRefreshShouldExposeWrites() throws Exception {
+        useRefreshPolicy(RefreshPolicy.builder()
+            .refreshOnRead(false)
+            .refreshInterval(Duration.ofMillis(50))
+            .build());
+
+        addDocument("1");
+
+        Awaitility.await().atMost(10, TimeUnit.SECONDS)
+            .until(() -> visibleDocuments() == 1);
+    }
+
+    @Test
+    public void acquireShouldReuseTheSearcherWhenNoWrite() throws Exception {
+        addDocument("1");
+
+        IndexSearcher first;
+        try (IndexSearcherManager.Lease lease = testee.acquire()) {
+            first = lease.getSearcher();
+        }
+        try (IndexSearcherManager.Lease lease = testee.acquire()) {
+            assertThat(lease.getSearcher()).isSameAs(first);
+        }
+    }
+
+    @Test
+    public void acquireShouldOpenANewSearcherAfterAWrite() throws Exception {
+        IndexSearcher first;
+        try (IndexSearcherManager.Lease lease = testee.acquire()) {
+            first = lease.getSearcher();
+        }
+
+        addDocument("1");
+
+        try (IndexSearcherManager.Lease lease = testee.acquire()) {
+            assertThat(lease.getSearcher()).isNotSameAs(first);
+        }
+    }
+
+    @Test
+    public void writesShouldNotBeCommittedBeforeCommit() throws Exception {
+        addDocument("1");
+
+        assertThat(committedDocuments()).isEqualTo(0);
+    }
+
+    @Test
+    public void commitShouldPersistWrites() throws Exception {
+        addDocument("1");
+
+        testee.commit();
+
+        assertThat(committedDocuments()).isEqualTo(1);
+    }
+
+    @Test
+    public void periodicCommitShouldPersistWrites() throws Exception {
+        useRefreshPolicy(RefreshPolicy.builder()
+            .commitInterval(Duration.ofMillis(50))
+            .build());
+
+        addDocument("1");
+
+        Awaitility.await().atMost(10, TimeUnit.SECONDS)
+            .until(() -> committedDocuments() == 1);
+    }
+
+    @Test
+    public void closeShouldCommitPendingWrites() throws Exception {
+        addDocument("1");
+
+        testee.close();
+
+        assertThat(committedDocuments()).isEqualTo(1);
+    }
+
+    private void useRefreshPolicy(RefreshPolicy refreshPolicy) throws IOException {
+        testee.close();
+        testee = new IndexSearcherManager(writer, refreshPolicy);
+    }
+
+    private void addDocument(String id) throws IOException {
+        Document document = new Document();
+        document.add(new Field("id", id, Store.YES, Index.NOT_ANALYZED));
+        writer.addDocument(document);
+        testee.changed();
+    }
+
+    private int visibleDocuments() throws IOException {
+        try (IndexSearcherManager.Lease lease = testee.acquire()) {
+            return lease.getSearcher().getIndexReader().numDocs();
+        }
+    }
+
+    private int committedDocuments() throws IOException {
+        if (!IndexReader.indexExists(directory)) {
+            return 0;
+        }
+        try (IndexReader reader = IndexReader.open(directory)) {
+            return reader.numDocs();
+        }
+    }
+}
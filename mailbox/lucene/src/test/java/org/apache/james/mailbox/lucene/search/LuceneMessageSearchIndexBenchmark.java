@@ -0,0 +1,168 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.lucene.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.mail.Flags;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MailboxSessionUtil;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.model.Mailbox;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.SearchQuery;
+import org.apache.james.mailbox.model.TestId;
+import org.apache.james.mailbox.model.TestMessageId;
+import org.apache.james.mailbox.model.UpdatedFlags;
+import org.apache.james.mailbox.store.SimpleMailboxMembership;
+import org.apache.lucene.store.FSDirectory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Measures the latency of IMAP like searches on an index holding up to a million messages, spread amongst
+ * {@link #MAILBOX_COUNT} mailboxes.
+ *
+ * The former implementation opened a new reader on every segment for each search, making search latency grow with
+ * the index size. Run the same benchmark on the previous revision to compare.
+ *
+ * Run it with the main method once test classes are compiled, for instance from the IDE. Indexing the messages takes
+ * a few minutes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class LuceneMessageSearchIndexBenchmark {
+    private static final int MAILBOX_COUNT = 100;
+    private static final Map<String, String> HEADERS = ImmutableMap.of(
+        "Subject", "Weekly report",
+        "From", "Harry <harry@example.org>",
+        "To", "Bob <bob@example.org>");
+    private static final byte[] BODY = "This is a simple email\r\nIt needs naught else.\r\n".getBytes(StandardCharsets.UTF_8);
+    private static final SearchQuery SEARCH_QUERY = new SearchQuery(
+        SearchQuery.headerContains("Subject", "report"),
+        SearchQuery.flagIsSet(Flags.Flag.SEEN));
+
+    @Param({"10000", "1000000"})
+    public int messageCount;
+
+    private File indexDirectory;
+    private LuceneMessageSearchIndex index;
+    private MailboxSession session;
+    private List<Mailbox> mailboxes;
+
+    @Setup(Level.Trial)
+    public void indexMessages() throws Exception {
+        indexDirectory = Files.createTempDirectory("lucene-benchmark").toFile();
+        TestMessageId.Factory messageIdFactory = new TestMessageId.Factory();
+        index = new LuceneMessageSearchIndex(null, new TestId.Factory(), FSDirectory.open(indexDirectory), true, true, messageIdFactory, null);
+        session = MailboxSessionUtil.create("bob");
+        mailboxes = IntStream.range(0, MAILBOX_COUNT)
+            .mapToObj(i -> new Mailbox(MailboxPath.forUser("bob", "box" + i), 42, TestId.of(i)))
+            .collect(Collectors.toList());
+
+        for (int i = 0; i < messageCount; i++) {
+            Mailbox mailbox = mailboxes.get(i % MAILBOX_COUNT);
+            Flags flags = i % 2 == 0 ? new Flags(Flags.Flag.SEEN) : new Flags();
+            index.add(session, mailbox, new SimpleMailboxMembership(messageIdFactory.generate(), (TestId) mailbox.getMailboxId(),
+                MessageUid.of(i / MAILBOX_COUNT + 1), 0, new Date(), BODY.length, flags, BODY, HEADERS));
+        }
+        index.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteIndex() throws IOException {
+        index.close();
+        FileUtils.deleteDirectory(indexDirectory);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<MessageUid> search() throws Exception {
+        return index.search(session, randomMailbox(), SEARCH_QUERY)
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<MessageUid> concurrentSearch() throws Exception {
+        return index.search(session, randomMailbox(), SEARCH_QUERY)
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<MessageUid> searchAfterFlagsUpdate() throws Exception {
+        Mailbox mailbox = randomMailbox();
+        MessageUid uid = MessageUid.of(ThreadLocalRandom.current().nextInt(messageCount / MAILBOX_COUNT) + 1);
+        index.update(session, mailbox, ImmutableList.of(UpdatedFlags.builder()
+            .uid(uid)
+            .modSeq(1)
+            .oldFlags(new Flags())
+            .newFlags(new Flags(Flags.Flag.SEEN))
+            .build()));
+        return index.search(session, mailbox, SEARCH_QUERY)
+            .collect(Collectors.toList());
+    }
+
+    private Mailbox randomMailbox() {
+        return mailboxes.get(ThreadLocalRandom.current().nextInt(MAILBOX_COUNT));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(LuceneMessageSearchIndexBenchmark.class.getSimpleName())
+            .build())
+            .run();
+    }
+}
@@ -0,0 +1,58 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.lucene.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+public class RefreshPolicyTest {
+    @Test
+    public void shouldRespectBeanContract() {
+        EqualsVerifier.forClass(RefreshPolicy.class)
+            .verify();
+    }
+
+    @Test
+    public void buildShouldUseDefaultValues() {
+        RefreshPolicy refreshPolicy = RefreshPolicy.builder().build();
+
+        assertThat(refreshPolicy.isRefreshOnRead()).isEqualTo(RefreshPolicy.DEFAULT_REFRESH_ON_READ);
+        assertThat(refreshPolicy.getRefreshInterval()).isEqualTo(RefreshPolicy.DEFAULT_REFRESH_INTERVAL);
+        assertThat(refreshPolicy.getCommitInterval()).isEqualTo(RefreshPolicy.DEFAULT_COMMIT_INTERVAL);
+    }
+
+    @Test
+    public void buildShouldThrowWhenRefreshIntervalIsZero() {
+        assertThatThrownBy(() -> RefreshPolicy.builder().refreshInterval(Duration.ZERO).build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void buildShouldThrowWhenCommitIntervalIsNegative() {
+        assertThatThrownBy(() -> RefreshPolicy.builder().commitInterval(Duration.ofSeconds(-1)).build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,64 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.lucene.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+public class ShardingConfigurationTest {
+    @Test
+    public void shouldRespectBeanContract() {
+        EqualsVerifier.forClass(ShardingConfiguration.class)
+            .verify();
+    }
+
+    @Test
+    public void buildShouldUseDefaultValues() {
+        ShardingConfiguration configuration = ShardingConfiguration.builder().build();
+
+        assertThat(configuration.getShardCount()).isEqualTo(ShardingConfiguration.DEFAULT_SHARD_COUNT);
+        assertThat(configuration.getMaxOpenShards()).isEqualTo(ShardingConfiguration.DEFAULT_MAX_OPEN_SHARDS);
+        assertThat(configuration.getIdleTimeout()).isEqualTo(ShardingConfiguration.DEFAULT_IDLE_TIMEOUT);
+    }
+
+    @Test
+    public void buildShouldThrowWhenShardCountIsZero() {
+        assertThatThrownBy(() -> ShardingConfiguration.builder().shardCount(0).build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void buildShouldThrowWhenMaxOpenShardsIsNegative() {
+        assertThatThrownBy(() -> ShardingConfiguration.builder().maxOpenShards(-1).build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void buildShouldThrowWhenIdleTimeoutIsZero() {
+        assertThatThrownBy(() -> ShardingConfiguration.builder().idleTimeout(Duration.ZERO).build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
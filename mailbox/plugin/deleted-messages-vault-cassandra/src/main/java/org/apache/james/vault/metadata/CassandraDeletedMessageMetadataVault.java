@@ -19,23 +19,45 @@
 
 package org.apache.james.vault.metadata;
 
+import java.util.Set;
+
 import javax.inject.Inject;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.james.blob.api.BucketName;
 import org.apache.james.core.User;
 import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.vault.search.IndexedQuery;
+import org.apache.james.vault.search.Query;
 import org.reactivestreams.Publisher;
 
+import com.github.steveash.guavate.Guavate;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Sets;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 public class CassandraDeletedMessageMetadataVault implements DeletedMessageMetadataVault {
+    private static final long CHECKED_PARTITIONS_MAXIMUM_SIZE = 10_000L;
+
     private final MetadataDAO metadataDAO;
     private final StorageInformationDAO storageInformationDAO;
     private final UserPerBucketDAO userPerBucketDAO;
+    private final MetadataIndexDAO metadataIndexDAO;
+    private final Cache<Pair<BucketName, User>, Boolean> checkedPartitions;
 
     @Inject
-    CassandraDeletedMessageMetadataVault(MetadataDAO metadataDAO, StorageInformationDAO storageInformationDAO, UserPerBucketDAO userPerBucketDAO) {
+    CassandraDeletedMessageMetadataVault(MetadataDAO metadataDAO, StorageInformationDAO storageInformationDAO, UserPerBucketDAO userPerBucketDAO,
+                                         MetadataIndexDAO metadataIndexDAO) {
         this.metadataDAO = metadataDAO;
         this.storageInformationDAO = storageInformationDAO;
         this.userPerBucketDAO = userPerBucketDAO;
+        this.metadataIndexDAO = metadataIndexDAO;
+        this.checkedPartitions = CacheBuilder.newBuilder()
+            .maximumSize(CHECKED_PARTITIONS_MAXIMUM_SIZE)
+            .build();
     }
 
     @Override
@@ -44,6 +66,8 @@ public class CassandraDeletedMessageMetadataVault implements DeletedMessageMetad
         User owner = deletedMessage.getDeletedMessage().getOwner();
         MessageId messageId = deletedMessage.getDeletedMessage().getMessageId();
         return storageInformationDAO.referenceStorageInformation(owner, messageId, deletedMessage.getStorageInformation())
+            .then(markIndexedWhenFirstStored(bucketName, owner))
+            .then(metadataIndexDAO.index(bucketName, owner, messageId, IndexedQuery.indexKeys(deletedMessage.getDeletedMessage())))
             .then(metadataDAO.store(deletedMessage))
             .then(userPerBucketDAO.addUser(bucketName, owner));
     }
@@ -56,13 +80,17 @@ public class CassandraDeletedMessageMetadataVault implements DeletedMessageMetad
                 .concatMap(deletedMessageIdentifier -> storageInformationDAO.deleteStorageInformation(
                     deletedMessageIdentifier.getOwner(),
                     deletedMessageIdentifier.getMessageId()))
-                .then(metadataDAO.deleteInBucket(bucketName, user)))
+                .then(metadataDAO.deleteInBucket(bucketName, user))
+                .then(metadataIndexDAO.deleteInBucket(bucketName, user))
+                .then(Mono.fromRunnable(() -> checkedPartitions.invalidate(Pair.of(bucketName, user)))))
             .then(userPerBucketDAO.deleteBucket(bucketName));
     }
 
     @Override
     public Publisher<Void> remove(BucketName bucketName, User user, MessageId messageId) {
-        return storageInformationDAO.deleteStorageInformation(user, messageId)
+        return metadataDAO.retrieveMetadata(bucketName, user, messageId)
+            .flatMap(metadata -> metadataIndexDAO.unindex(bucketName, user, messageId, IndexedQuery.indexKeys(metadata.getDeletedMessage())))
+            .then(storageInformationDAO.deleteStorageInformation(user, messageId))
             .then(metadataDAO.deleteMessage(bucketName, user, messageId));
     }
 
@@ -76,8 +104,61 @@ public class CassandraDeletedMessageMetadataVault implements DeletedMessageMetad
         return metadataDAO.retrieveMetadata(bucketName, user);
     }
 
+    @Override
+    public Publisher<DeletedMessageWithStorageInformation> search(BucketName bucketName, User user, Query query) {
+        IndexedQuery indexedQuery = IndexedQuery.from(query);
+        if (!indexedQuery.isIndexed()) {
+            return scan(bucketName, user, query);
+        }
+        return metadataIndexDAO.isIndexed(bucketName, user)
+            .flatMapMany(indexed -> {
+                if (indexed) {
+                    return candidates(bucketName, user, indexedQuery)
+                        .flatMapMany(Flux::fromIterable)
+                        .flatMap(messageId -> metadataDAO.retrieveMetadata(bucketName, user, messageId))
+                        .filter(message -> indexedQuery.getResidualPredicate().test(message.getDeletedMessage()));
+                }
+                return scan(bucketName, user, query);
+            });
+    }
+
     @Override
     public Publisher<BucketName> listRelatedBuckets() {
         return userPerBucketDAO.retrieveBuckets();
     }
+
+    /**
+     * Partitions are only checked once per node: their marker is never removed, and the partitions storing messages
+     * before the index existed only get marked by the {@link MetadataIndexBackfillTask}.
+     */
+    private Mono<Void> markIndexedWhenFirstStored(BucketName bucketName, User owner) {
+        Pair<BucketName, User> partition = Pair.of(bucketName, owner);
+        if (checkedPartitions.getIfPresent(partition) != null) {
+            return Mono.empty();
+        }
+        return metadataIndexDAO.isIndexed(bucketName, owner)
+            .filter(indexed -> !indexed)
+            .flatMap(any -> metadataDAO.retrieveMessageIds(bucketName, owner).hasElements())
+            .filter(hasMessages -> !hasMessages)
+            .flatMap(any -> metadataIndexDAO.markIndexed(bucketName, owner))
+            .then(Mono.fromRunnable(() -> checkedPartitions.put(partition, true)));
+    }
+
+    private Flux<DeletedMessageWithStorageInformation> scan(BucketName bucketName, User user, Query query) {
+        return metadataDAO.retrieveMetadata(bucketName, user)
+            .filter(message -> query.toPredicate().test(message.getDeletedMessage()));
+    }
+
+    private Mono<Set<MessageId>> candidates(BucketName bucketName, User user, IndexedQuery indexedQuery) {
+        Flux<Set<MessageId>> keyMatches = Flux.fromIterable(indexedQuery.getKeys())
+            .concatMap(key -> metadataIndexDAO.retrieveMessageIds(bucketName, user, key)
+                .collect(Guavate.toImmutableSet()));
+        Flux<Set<MessageId>> deletionDateMatches = Flux.just(indexedQuery)
+            .filter(IndexedQuery::hasDeletionDateRange)
+            .concatMap(query -> metadataIndexDAO.retrieveMessageIds(bucketName, user, query.getDeletionDateLowerKey(), query.getDeletionDateUpperKey())
+                .collect(Guavate.toImmutableSet()));
+
+        return Flux.concat(keyMatches, deletionDateMatches)
+            .reduce((set1, set2) -> Sets.intersection(set1, set2));
+    }
 }
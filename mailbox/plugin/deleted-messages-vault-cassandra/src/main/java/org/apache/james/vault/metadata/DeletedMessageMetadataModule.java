@@ -53,6 +53,15 @@ public interface DeletedMessageMetadataModule {
         String PAYLOAD = "payload";
     }
 
+    interface DeletedMessageMetadataIndexTable {
+        String TABLE = "deletedMessageMetadataIndex";
+
+        String BUCKET_NAME = "bucketName";
+        String OWNER = "owner";
+        String INDEX_KEY = "indexKey";
+        String MESSAGE_ID = "messageId";
+    }
+
     CassandraModule MODULE = CassandraModule
         .builder()
 
@@ -84,5 +93,15 @@ public interface DeletedMessageMetadataModule {
             .addClusteringColumn(DeletedMessageMetadataTable.MESSAGE_ID, text())
             .addColumn(DeletedMessageMetadataTable.PAYLOAD, text()))
 
+        .table(DeletedMessageMetadataIndexTable.TABLE)
+        .comment("Holds a secondary index of the deleted messages metadata in the BlobStore based DeletedMessages vault")
+        .options(options -> options
+            .caching(SchemaBuilder.KeyCaching.ALL, SchemaBuilder.noRows()))
+        .statement(statement -> statement
+            .addPartitionKey(DeletedMessageMetadataIndexTable.BUCKET_NAME, text())
+            .addPartitionKey(DeletedMessageMetadataIndexTable.OWNER, text())
+            .addClusteringColumn(DeletedMessageMetadataIndexTable.INDEX_KEY, text())
+            .addClusteringColumn(DeletedMessageMetadataIndexTable.MESSAGE_ID, text()))
+
         .build();
 }
@@ -49,6 +49,7 @@ public class MetadataDAO {
     private final PreparedStatement removeStatement;
     private final PreparedStatement removeAllStatement;
     private final PreparedStatement readStatement;
+    private final PreparedStatement readOneStatement;
     private final PreparedStatement readMessageIdStatement;
     private final MessageId.Factory messageIdFactory;
     private final MetadataSerializer metadataSerializer;
@@ -60,6 +61,7 @@ public class MetadataDAO {
         this.removeStatement = prepareRemove(session);
         this.removeAllStatement = prepareRemoveAll(session);
         this.readStatement = prepareRead(session, PAYLOAD);
+        this.readOneStatement = prepareReadOne(session);
         this.readMessageIdStatement = prepareRead(session, MESSAGE_ID);
         this.messageIdFactory = messageIdFactory;
         this.metadataSerializer = metadataSerializer;
@@ -71,6 +73,13 @@ public class MetadataDAO {
             .and(eq(OWNER, bindMarker(OWNER))));
     }
 
+    private PreparedStatement prepareReadOne(Session session) {
+        return session.prepare(select(PAYLOAD).from(TABLE)
+            .where(eq(BUCKET_NAME, bindMarker(BUCKET_NAME)))
+            .and(eq(OWNER, bindMarker(OWNER)))
+            .and(eq(MESSAGE_ID, bindMarker(MESSAGE_ID))));
+    }
+
     private PreparedStatement prepareAdd(Session session) {
         return session.prepare(insertInto(TABLE)
             .value(BUCKET_NAME, bindMarker(BUCKET_NAME))
@@ -112,6 +121,16 @@ public class MetadataDAO {
             .flatMap(metadataSerializer::deserialize);
     }
 
+    Mono<DeletedMessageWithStorageInformation> retrieveMetadata(BucketName bucketName, User user, MessageId messageId) {
+        return cassandraAsyncExecutor.executeSingleRow(
+            readOneStatement.bind()
+                .setString(BUCKET_NAME, bucketName.asString())
+                .setString(OWNER, user.asString())
+                .setString(MESSAGE_ID, messageId.serialize()))
+            .map(row -> row.getString(PAYLOAD))
+            .flatMap(metadataSerializer::deserialize);
+    }
+
     Flux<MessageId> retrieveMessageIds(BucketName bucketName, User user) {
         return cassandraAsyncExecutor.executeRows(
             readMessageIdStatement.bind()
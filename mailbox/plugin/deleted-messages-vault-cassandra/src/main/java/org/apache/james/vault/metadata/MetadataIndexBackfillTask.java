@@ -0,0 +1,116 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.vault.metadata;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.james.task.Task;
+import org.apache.james.task.TaskExecutionDetails;
+import org.apache.james.task.TaskType;
+
+/**
+ * Indexes the deleted messages metadata of every user in every bucket, then marks them as indexed.
+ *
+ * This backfills the index of the messages stored before it existed, so that searches on them stop reading all the
+ * messages of their user. Indexing being idempotent, partitions already marked as indexed are indexed again too.
+ */
+public class MetadataIndexBackfillTask implements Task {
+    public static final TaskType TYPE = TaskType.of("cassandra-deleted-messages-vault-index-backfill");
+
+    public static class Details implements TaskExecutionDetails.AdditionalInformation {
+        private final long processedPartitionCount;
+        private final long failedPartitionCount;
+        private final Instant timestamp;
+
+        public Details(long processedPartitionCount, long failedPartitionCount, Instant timestamp) {
+            this.processedPartitionCount = processedPartitionCount;
+            this.failedPartitionCount = failedPartitionCount;
+            this.timestamp = timestamp;
+        }
+
+        public long getProcessedPartitionCount() {
+            return processedPartitionCount;
+        }
+
+        public long getFailedPartitionCount() {
+            return failedPartitionCount;
+        }
+
+        @Override
+        public Instant timestamp() {
+            return timestamp;
+        }
+    }
+
+    public static class Context {
+        private final AtomicLong processedPartitionCount;
+        private final AtomicLong failedPartitionCount;
+
+        public Context() {
+            this.processedPartitionCount = new AtomicLong(0L);
+            this.failedPartitionCount = new AtomicLong(0L);
+        }
+
+        public long getProcessedPartitionCount() {
+            return processedPartitionCount.get();
+        }
+
+        public long getFailedPartitionCount() {
+            return failedPartitionCount.get();
+        }
+
+        public void incrementProcessedCount() {
+            processedPartitionCount.incrementAndGet();
+        }
+
+        public void incrementFailedCount() {
+            failedPartitionCount.incrementAndGet();
+        }
+    }
+
+    private final MetadataIndexBackfillTaskRunner taskRunner;
+    private final Context context;
+
+    public MetadataIndexBackfillTask(MetadataIndexBackfillTaskRunner taskRunner) {
+        this.taskRunner = taskRunner;
+        this.context = new Context();
+    }
+
+    @Override
+    public Result run() {
+        return taskRunner.run(context);
+    }
+
+    @Override
+    public TaskType type() {
+        return TYPE;
+    }
+
+    @Override
+    public Optional<TaskExecutionDetails.AdditionalInformation> details() {
+        return Optional.of(new Details(
+            context.getProcessedPartitionCount(),
+            context.getFailedPartitionCount(),
+            Clock.systemUTC().instant()));
+    }
+}
@@ -0,0 +1,86 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.vault.metadata;
+
+import java.time.Instant;
+
+import org.apache.james.json.DTOModule;
+import org.apache.james.server.task.json.dto.AdditionalInformationDTO;
+import org.apache.james.server.task.json.dto.AdditionalInformationDTOModule;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class MetadataIndexBackfillTaskAdditionalInformationDTO implements AdditionalInformationDTO {
+    private static MetadataIndexBackfillTaskAdditionalInformationDTO fromDomainObject(MetadataIndexBackfillTask.Details details, String type) {
+        return new MetadataIndexBackfillTaskAdditionalInformationDTO(
+            type,
+            details.getProcessedPartitionCount(),
+            details.getFailedPartitionCount(),
+            details.timestamp());
+    }
+
+    public static final AdditionalInformationDTOModule<MetadataIndexBackfillTask.Details, MetadataIndexBackfillTaskAdditionalInformationDTO> SERIALIZATION_MODULE =
+        DTOModule.forDomainObject(MetadataIndexBackfillTask.Details.class)
+            .convertToDTO(MetadataIndexBackfillTaskAdditionalInformationDTO.class)
+            .toDomainObjectConverter(MetadataIndexBackfillTaskAdditionalInformationDTO::toDomainObject)
+            .toDTOConverter(MetadataIndexBackfillTaskAdditionalInformationDTO::fromDomainObject)
+            .typeName(MetadataIndexBackfillTask.TYPE.asString())
+            .withFactory(AdditionalInformationDTOModule::new);
+
+    private final String type;
+    private final long processedPartitionCount;
+    private final long failedPartitionCount;
+    private final Instant timestamp;
+
+    public MetadataIndexBackfillTaskAdditionalInformationDTO(@JsonProperty("type") String type,
+                                                             @JsonProperty("processedPartitionCount") long processedPartitionCount,
+                                                             @JsonProperty("failedPartitionCount") long failedPartitionCount,
+                                                             @JsonProperty("timestamp") Instant timestamp) {
+        this.type = type;
+        this.processedPartitionCount = processedPartitionCount;
+        this.failedPartitionCount = failedPartitionCount;
+        this.timestamp = timestamp;
+    }
+
+    public long getProcessedPartitionCount() {
+        return processedPartitionCount;
+    }
+
+    public long getFailedPartitionCount() {
+        return failedPartitionCount;
+    }
+
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    private MetadataIndexBackfillTask.Details toDomainObject() {
+        return new MetadataIndexBackfillTask.Details(
+            processedPartitionCount,
+            failedPartitionCount,
+            timestamp);
+    }
+}
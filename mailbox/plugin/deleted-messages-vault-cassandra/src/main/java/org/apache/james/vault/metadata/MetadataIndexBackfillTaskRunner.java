@@ -0,0 +1,70 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.vault.metadata;
+
+import javax.inject.Inject;
+
+import org.apache.james.blob.api.BucketName;
+import org.apache.james.core.User;
+import org.apache.james.task.Task;
+import org.apache.james.vault.search.IndexedQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reactor.core.publisher.Mono;
+
+public class MetadataIndexBackfillTaskRunner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetadataIndexBackfillTaskRunner.class);
+
+    private final MetadataDAO metadataDAO;
+    private final UserPerBucketDAO userPerBucketDAO;
+    private final MetadataIndexDAO metadataIndexDAO;
+
+    @Inject
+    public MetadataIndexBackfillTaskRunner(MetadataDAO metadataDAO, UserPerBucketDAO userPerBucketDAO, MetadataIndexDAO metadataIndexDAO) {
+        this.metadataDAO = metadataDAO;
+        this.userPerBucketDAO = userPerBucketDAO;
+        this.metadataIndexDAO = metadataIndexDAO;
+    }
+
+    public Task.Result run(MetadataIndexBackfillTask.Context context) {
+        return userPerBucketDAO.retrieveBuckets()
+            .concatMap(bucketName -> userPerBucketDAO.retrieveUsers(bucketName)
+                .concatMap(user -> backfill(bucketName, user, context)))
+            .reduce(Task.Result.COMPLETED, Task::combine)
+            .block();
+    }
+
+    private Mono<Task.Result> backfill(BucketName bucketName, User user, MetadataIndexBackfillTask.Context context) {
+        return metadataDAO.retrieveMetadata(bucketName, user)
+            .map(DeletedMessageWithStorageInformation::getDeletedMessage)
+            .concatMap(message -> metadataIndexDAO.index(bucketName, user, message.getMessageId(), IndexedQuery.indexKeys(message)))
+            .then(metadataIndexDAO.markIndexed(bucketName, user))
+            .then(Mono.fromCallable(() -> {
+                context.incrementProcessedCount();
+                return Task.Result.COMPLETED;
+            }))
+            .onErrorResume(e -> {
+                LOGGER.error("Failed indexing the deleted messages of {} in bucket {}", user.asString(), bucketName.asString(), e);
+                context.incrementFailedCount();
+                return Mono.just(Task.Result.PARTIAL);
+            });
+    }
+}
@@ -0,0 +1,176 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.vault.metadata;
+
+import static com.datastax.driver.core.querybuilder.QueryBuilder.bindMarker;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.delete;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.gte;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.insertInto;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.lte;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.select;
+import static org.apache.james.vault.metadata.DeletedMessageMetadataModule.DeletedMessageMetadataIndexTable.BUCKET_NAME;
+import static org.apache.james.vault.metadata.DeletedMessageMetadataModule.DeletedMessageMetadataIndexTable.INDEX_KEY;
+import static org.apache.james.vault.metadata.DeletedMessageMetadataModule.DeletedMessageMetadataIndexTable.MESSAGE_ID;
+import static org.apache.james.vault.metadata.DeletedMessageMetadataModule.DeletedMessageMetadataIndexTable.OWNER;
+import static org.apache.james.vault.metadata.DeletedMessageMetadataModule.DeletedMessageMetadataIndexTable.TABLE;
+
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.apache.james.backends.cassandra.utils.CassandraAsyncExecutor;
+import org.apache.james.blob.api.BucketName;
+import org.apache.james.core.User;
+import org.apache.james.mailbox.model.MessageId;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Session;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stores the {@link org.apache.james.vault.search.IndexedQuery} keys of the deleted messages of a user in a bucket.
+ *
+ * Partitions holding messages stored before this index existed are not indexed. A partition is marked as indexed when
+ * its first message is stored, or once {@link MetadataIndexBackfillTask} indexed its messages. Only marked partitions
+ * can be searched through the index.
+ */
+public class MetadataIndexDAO {
+    private static final String INDEXED_MARKER = "indexed";
+    private static final String NO_MESSAGE_ID = "";
+    private static final String LOWER_KEY = "lowerKey";
+    private static final String UPPER_KEY = "upperKey";
+
+    private final CassandraAsyncExecutor cassandraAsyncExecutor;
+    private final PreparedStatement addStatement;
+    private final PreparedStatement removeStatement;
+    private final PreparedStatement removeAllStatement;
+    private final PreparedStatement readStatement;
+    private final PreparedStatement readRangeStatement;
+    private final MessageId.Factory messageIdFactory;
+
+    @Inject
+    MetadataIndexDAO(Session session, MessageId.Factory messageIdFactory) {
+        this.cassandraAsyncExecutor = new CassandraAsyncExecutor(session);
+        this.addStatement = prepareAdd(session);
+        this.removeStatement = prepareRemove(session);
+        this.removeAllStatement = prepareRemoveAll(session);
+        this.readStatement = prepareRead(session);
+        this.readRangeStatement = prepareReadRange(session);
+        this.messageIdFactory = messageIdFactory;
+    }
+
+    private PreparedStatement prepareAdd(Session session) {
+        return session.prepare(insertInto(TABLE)
+            .value(BUCKET_NAME, bindMarker(BUCKET_NAME))
+            .value(OWNER, bindMarker(OWNER))
+            .value(INDEX_KEY, bindMarker(INDEX_KEY))
+            .value(MESSAGE_ID, bindMarker(MESSAGE_ID)));
+    }
+
+    private PreparedStatement prepareRemove(Session session) {
+        return session.prepare(delete().from(TABLE)
+            .where(eq(BUCKET_NAME, bindMarker(BUCKET_NAME)))
+            .and(eq(OWNER, bindMarker(OWNER)))
+            .and(eq(INDEX_KEY, bindMarker(INDEX_KEY)))
+            .and(eq(MESSAGE_ID, bindMarker(MESSAGE_ID))));
+    }
+
+    private PreparedStatement prepareRemoveAll(Session session) {
+        return session.prepare(delete().from(TABLE)
+            .where(eq(BUCKET_NAME, bindMarker(BUCKET_NAME)))
+            .and(eq(OWNER, bindMarker(OWNER))));
+    }
+
+    private PreparedStatement prepareRead(Session session) {
+        return session.prepare(select(MESSAGE_ID).from(TABLE)
+            .where(eq(BUCKET_NAME, bindMarker(BUCKET_NAME)))
+            .and(eq(OWNER, bindMarker(OWNER)))
+            .and(eq(INDEX_KEY, bindMarker(INDEX_KEY))));
+    }
+
+    private PreparedStatement prepareReadRange(Session session) {
+        return session.prepare(select(MESSAGE_ID).from(TABLE)
+            .where(eq(BUCKET_NAME, bindMarker(BUCKET_NAME)))
+            .and(eq(OWNER, bindMarker(OWNER)))
+            .and(gte(INDEX_KEY, bindMarker(LOWER_KEY)))
+            .and(lte(INDEX_KEY, bindMarker(UPPER_KEY))));
+    }
+
+    Mono<Void> index(BucketName bucketName, User owner, MessageId messageId, Set<String> keys) {
+        return Flux.fromIterable(keys)
+            .flatMap(key -> add(bucketName, owner, key, messageId.serialize()))
+            .then();
+    }
+
+    Mono<Void> unindex(BucketName bucketName, User owner, MessageId messageId, Set<String> keys) {
+        return Flux.fromIterable(keys)
+            .flatMap(key -> cassandraAsyncExecutor.executeVoid(removeStatement.bind()
+                .setString(BUCKET_NAME, bucketName.asString())
+                .setString(OWNER, owner.asString())
+                .setString(INDEX_KEY, key)
+                .setString(MESSAGE_ID, messageId.serialize())))
+            .then();
+    }
+
+    Mono<Void> markIndexed(BucketName bucketName, User owner) {
+        return add(bucketName, owner, INDEXED_MARKER, NO_MESSAGE_ID);
+    }
+
+    Mono<Boolean> isIndexed(BucketName bucketName, User owner) {
+        return cassandraAsyncExecutor.executeReturnExists(readStatement.bind()
+            .setString(BUCKET_NAME, bucketName.asString())
+            .setString(OWNER, owner.asString())
+            .setString(INDEX_KEY, INDEXED_MARKER));
+    }
+
+    Flux<MessageId> retrieveMessageIds(BucketName bucketName, User owner, String key) {
+        return cassandraAsyncExecutor.executeRows(readStatement.bind()
+                .setString(BUCKET_NAME, bucketName.asString())
+                .setString(OWNER, owner.asString())
+                .setString(INDEX_KEY, key))
+            .map(row -> messageIdFactory.fromString(row.getString(MESSAGE_ID)));
+    }
+
+    Flux<MessageId> retrieveMessageIds(BucketName bucketName, User owner, String lowerKey, String upperKey) {
+        return cassandraAsyncExecutor.executeRows(readRangeStatement.bind()
+                .setString(BUCKET_NAME, bucketName.asString())
+                .setString(OWNER, owner.asString())
+                .setString(LOWER_KEY, lowerKey)
+                .setString(UPPER_KEY, upperKey))
+            .map(row -> messageIdFactory.fromString(row.getString(MESSAGE_ID)));
+    }
+
+    Mono<Void> deleteInBucket(BucketName bucketName, User owner) {
+        return cassandraAsyncExecutor.executeVoid(removeAllStatement.bind()
+            .setString(BUCKET_NAME, bucketName.asString())
+            .setString(OWNER, owner.asString()));
+    }
+
+    private Mono<Void> add(BucketName bucketName, User owner, String key, String messageId) {
+        return cassandraAsyncExecutor.executeVoid(addStatement.bind()
+            .setString(BUCKET_NAME, bucketName.asString())
+            .setString(OWNER, owner.asString())
+            .setString(INDEX_KEY, key)
+            .setString(MESSAGE_ID, messageId));
+    }
+}
@@ -26,9 +26,13 @@ import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.DELETED_MESSAGE;
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.DELETED_MESSAGE_2;
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.STORAGE_INFORMATION;
+import static org.apache.mailet.base.MailAddressFixture.SENDER;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
@@ -39,7 +43,10 @@ import org.apache.james.backends.cassandra.CassandraClusterExtension;
 import org.apache.james.blob.api.HashBlobId;
 import org.apache.james.mailbox.inmemory.InMemoryId;
 import org.apache.james.mailbox.inmemory.InMemoryMessageId;
+import org.apache.james.task.Task;
 import org.apache.james.vault.dto.DeletedMessageWithStorageInformationConverter;
+import org.apache.james.vault.search.CriterionFactory;
+import org.apache.james.vault.search.Query;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -56,6 +63,7 @@ public class CassandraDeletedMessageMetadataVaultTest implements DeletedMessageM
     private MetadataDAO metadataDAO;
     private StorageInformationDAO storageInformationDAO;
     private UserPerBucketDAO userPerBucketDAO;
+    private MetadataIndexDAO metadataIndexDAO;
 
     @BeforeEach
     void setUp(CassandraCluster cassandra) {
@@ -67,7 +75,9 @@ public class CassandraDeletedMessageMetadataVaultTest implements DeletedMessageM
         storageInformationDAO = spy(new StorageInformationDAO(cassandra.getConf(), blobIdFactory));
         userPerBucketDAO = spy(new UserPerBucketDAO(cassandra.getConf()));
 
-        testee = new CassandraDeletedMessageMetadataVault(metadataDAO, storageInformationDAO, userPerBucketDAO);
+        metadataIndexDAO = spy(new MetadataIndexDAO(cassandra.getConf(), messageIdFactory));
+
+        testee = new CassandraDeletedMessageMetadataVault(metadataDAO, storageInformationDAO, userPerBucketDAO, metadataIndexDAO);
     }
 
     @Override
@@ -75,6 +85,51 @@ public class CassandraDeletedMessageMetadataVaultTest implements DeletedMessageM
         return testee;
     }
 
+    @Test
+    void searchShouldReadAllMessagesOfPartitionsStoredBeforeTheIndex() {
+        metadataDAO.store(DELETED_MESSAGE).block();
+        Mono.from(testee.store(DELETED_MESSAGE_2)).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(testee.search(BUCKET_NAME, USER,
+            Query.of(CriterionFactory.hasSender(SENDER)))).toStream();
+        assertThat(messages).containsOnly(DELETED_MESSAGE, DELETED_MESSAGE_2);
+    }
+
+    @Test
+    void searchShouldReadIndexedMessagesOnlyOfBackfilledPartitions() {
+        metadataDAO.store(DELETED_MESSAGE).block();
+        userPerBucketDAO.addUser(BUCKET_NAME, USER).block();
+        new MetadataIndexBackfillTaskRunner(metadataDAO, userPerBucketDAO, metadataIndexDAO)
+            .run(new MetadataIndexBackfillTask.Context());
+        reset(metadataDAO);
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(testee.search(BUCKET_NAME, USER,
+            Query.of(CriterionFactory.hasSender(SENDER)))).toStream();
+        assertThat(messages).containsOnly(DELETED_MESSAGE);
+        verify(metadataDAO, never()).retrieveMetadata(BUCKET_NAME, USER);
+    }
+
+    @Test
+    void backfillShouldCountProcessedPartitions() {
+        metadataDAO.store(DELETED_MESSAGE).block();
+        userPerBucketDAO.addUser(BUCKET_NAME, USER).block();
+        MetadataIndexBackfillTask.Context context = new MetadataIndexBackfillTask.Context();
+
+        Task.Result result = new MetadataIndexBackfillTaskRunner(metadataDAO, userPerBucketDAO, metadataIndexDAO).run(context);
+
+        assertThat(result).isEqualTo(Task.Result.COMPLETED);
+        assertThat(context.getProcessedPartitionCount()).isEqualTo(1);
+        assertThat(context.getFailedPartitionCount()).isZero();
+    }
+
+    @Test
+    void storeShouldCheckWhetherAPartitionIsIndexedOnlyOnce() {
+        Mono.from(testee.store(DELETED_MESSAGE)).block();
+        Mono.from(testee.store(DELETED_MESSAGE_2)).block();
+
+        verify(metadataIndexDAO, times(1)).isIndexed(BUCKET_NAME, USER);
+    }
+
     @Test
     void listShouldNotReturnMessagesWhenStorageDAOFailed() {
         when(storageInformationDAO.referenceStorageInformation(USER, MESSAGE_ID, STORAGE_INFORMATION))
@@ -134,9 +134,8 @@ public class BlobStoreDeletedMessageVault implements DeletedMessageVault {
 
     private Flux<DeletedMessage> searchOn(User user, Query query) {
         return Flux.from(messageMetadataVault.listRelatedBuckets())
-            .concatMap(bucketName -> Flux.from(messageMetadataVault.listMessages(bucketName, user)))
-            .map(DeletedMessageWithStorageInformation::getDeletedMessage)
-            .filter(query.toPredicate());
+            .concatMap(bucketName -> Flux.from(messageMetadataVault.search(bucketName, user, query)))
+            .map(DeletedMessageWithStorageInformation::getDeletedMessage);
     }
 
     @Override
@@ -19,9 +19,16 @@
 
 package org.apache.james.vault.memory.metadata;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 import org.apache.james.blob.api.BucketName;
 import org.apache.james.core.User;
@@ -29,11 +36,15 @@ import org.apache.james.mailbox.model.MessageId;
 import org.apache.james.vault.metadata.DeletedMessageMetadataVault;
 import org.apache.james.vault.metadata.DeletedMessageWithStorageInformation;
 import org.apache.james.vault.metadata.StorageInformation;
+import org.apache.james.vault.search.IndexedQuery;
+import org.apache.james.vault.search.Query;
 import org.reactivestreams.Publisher;
 
+import com.github.steveash.guavate.Guavate;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 import com.google.common.collect.Table;
 
 import reactor.core.publisher.Flux;
@@ -41,9 +52,11 @@ import reactor.core.publisher.Mono;
 
 public class MemoryDeletedMessageMetadataVault implements DeletedMessageMetadataVault {
     private final Table<BucketName, User, Map<MessageId, DeletedMessageWithStorageInformation>> table;
+    private final Table<BucketName, User, NavigableMap<String, Set<MessageId>>> index;
 
     public MemoryDeletedMessageMetadataVault() {
         table = HashBasedTable.create();
+        index = HashBasedTable.create();
     }
 
     @Override
@@ -55,8 +68,10 @@ public class MemoryDeletedMessageMetadataVault implements DeletedMessageMetadata
         return Mono.fromRunnable(() -> {
             synchronized (table) {
                 Map<MessageId, DeletedMessageWithStorageInformation> userVault = userVault(bucketName, owner);
-                userVault.put(messageId, deletedMessage);
+                Optional.ofNullable(userVault.put(messageId, deletedMessage))
+                    .ifPresent(previous -> unindex(bucketName, previous));
                 table.put(bucketName, owner, userVault);
+                index(bucketName, deletedMessage);
             }
         });
     }
@@ -66,6 +81,7 @@ public class MemoryDeletedMessageMetadataVault implements DeletedMessageMetadata
         return Mono.fromRunnable(() -> {
             synchronized (table) {
                 table.row(bucketName).clear();
+                index.row(bucketName).clear();
             }
         });
     }
@@ -74,7 +90,8 @@ public class MemoryDeletedMessageMetadataVault implements DeletedMessageMetadata
     public Publisher<Void> remove(BucketName bucketName, User user, MessageId messageId) {
         return Mono.fromRunnable(() -> {
             synchronized (table) {
-                userVault(bucketName, user).remove(messageId);
+                Optional.ofNullable(userVault(bucketName, user).remove(messageId))
+                    .ifPresent(removed -> unindex(bucketName, removed));
             }
         });
     }
@@ -101,6 +118,22 @@ public class MemoryDeletedMessageMetadataVault implements DeletedMessageMetadata
         }
     }
 
+    @Override
+    public Publisher<DeletedMessageWithStorageInformation> search(BucketName bucketName, User user, Query query) {
+        IndexedQuery indexedQuery = IndexedQuery.from(query);
+        synchronized (table) {
+            Map<MessageId, DeletedMessageWithStorageInformation> userVault = userVault(bucketName, user);
+            Collection<MessageId> candidates = indexedQuery.isIndexed()
+                ? candidates(bucketName, user, indexedQuery)
+                : userVault.keySet();
+            return Flux.fromIterable(candidates.stream()
+                .map(userVault::get)
+                .filter(Objects::nonNull)
+                .filter(message -> indexedQuery.getResidualPredicate().test(message.getDeletedMessage()))
+                .collect(Guavate.toImmutableList()));
+        }
+    }
+
     @Override
     public Publisher<BucketName> listRelatedBuckets() {
         synchronized (table) {
@@ -108,6 +141,51 @@ public class MemoryDeletedMessageMetadataVault implements DeletedMessageMetadata
         }
     }
 
+    private Set<MessageId> candidates(BucketName bucketName, User user, IndexedQuery indexedQuery) {
+        NavigableMap<String, Set<MessageId>> userIndex = userIndex(bucketName, user);
+        Stream<Set<MessageId>> keyMatches = indexedQuery.getKeys()
+            .stream()
+            .map(key -> userIndex.getOrDefault(key, ImmutableSet.of()));
+        Stream<Set<MessageId>> deletionDateMatches = Stream.of(indexedQuery)
+            .filter(IndexedQuery::hasDeletionDateRange)
+            .map(query -> userIndex.subMap(query.getDeletionDateLowerKey(), true, query.getDeletionDateUpperKey(), true)
+                .values()
+                .stream()
+                .flatMap(Set::stream)
+                .collect(Guavate.toImmutableSet()));
+
+        return Stream.concat(keyMatches, deletionDateMatches)
+            .reduce((set1, set2) -> Sets.intersection(set1, set2))
+            .map(ImmutableSet::copyOf)
+            .orElse(ImmutableSet.of());
+    }
+
+    private void index(BucketName bucketName, DeletedMessageWithStorageInformation message) {
+        User owner = message.getDeletedMessage().getOwner();
+        NavigableMap<String, Set<MessageId>> userIndex = userIndex(bucketName, owner);
+        IndexedQuery.indexKeys(message.getDeletedMessage())
+            .forEach(key -> userIndex.computeIfAbsent(key, any -> new HashSet<>())
+                .add(message.getDeletedMessage().getMessageId()));
+        index.put(bucketName, owner, userIndex);
+    }
+
+    private void unindex(BucketName bucketName, DeletedMessageWithStorageInformation message) {
+        NavigableMap<String, Set<MessageId>> userIndex = userIndex(bucketName, message.getDeletedMessage().getOwner());
+        IndexedQuery.indexKeys(message.getDeletedMessage())
+            .forEach(key -> Optional.ofNullable(userIndex.get(key))
+                .ifPresent(messageIds -> {
+                    messageIds.remove(message.getDeletedMessage().getMessageId());
+                    if (messageIds.isEmpty()) {
+                        userIndex.remove(key);
+                    }
+                }));
+    }
+
+    private NavigableMap<String, Set<MessageId>> userIndex(BucketName bucketName, User owner) {
+        return Optional.ofNullable(index.get(bucketName, owner))
+            .orElse(new TreeMap<>());
+    }
+
     private Map<MessageId, DeletedMessageWithStorageInformation> userVault(BucketName bucketName, User owner) {
         return Optional.ofNullable(table.get(bucketName, owner))
             .orElse(new HashMap<>());
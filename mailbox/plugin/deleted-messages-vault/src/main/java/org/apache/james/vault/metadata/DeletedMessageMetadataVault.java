@@ -22,6 +22,7 @@ package org.apache.james.vault.metadata;
 import org.apache.james.blob.api.BucketName;
 import org.apache.james.core.User;
 import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.vault.search.Query;
 import org.reactivestreams.Publisher;
 
 public interface DeletedMessageMetadataVault {
@@ -35,5 +36,11 @@ public interface DeletedMessageMetadataVault {
 
     Publisher<DeletedMessageWithStorageInformation> listMessages(BucketName bucketName, User user);
 
+    /**
+     * @return the messages of this user stored in this bucket matching the query. Implementations should answer the
+     * criteria supported by {@link org.apache.james.vault.search.IndexedQuery} without reading all the messages.
+     */
+    Publisher<DeletedMessageWithStorageInformation> search(BucketName bucketName, User user, Query query);
+
     Publisher<BucketName> listRelatedBuckets();
 }
@@ -0,0 +1,229 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.vault.search;
+
+import java.time.ZonedDateTime;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.james.core.MailAddress;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.vault.DeletedMessage;
+
+import com.github.steveash.guavate.Guavate;
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Translation of a {@link Query} into lookups on a secondary index of the deleted messages metadata.
+ *
+ * Each deleted message is indexed under the keys returned by {@link #indexKeys(DeletedMessage)}: its sender, its
+ * recipients, its origin mailboxes, whether it has attachments, its deletion date and the trigrams of its subject.
+ * Deletion date keys sort lexicographically in chronological order, so that a deletion date range is a range of keys.
+ *
+ * Subject trigrams are case folded, so that a message matching a subject criterion holds all the trigrams of the
+ * expected value. Holding them does not imply matching it, thus subject criteria are also kept as a residual predicate
+ * to be applied on the candidates read from the index. So are deletion date criteria, as keys have a millisecond
+ * precision, and criteria that can not be answered by the index.
+ */
+public class IndexedQuery {
+    private static final String SENDER_PREFIX = "sender:";
+    private static final String RECIPIENT_PREFIX = "recipient:";
+    private static final String ORIGIN_MAILBOX_PREFIX = "mailbox:";
+    private static final String HAS_ATTACHMENT_PREFIX = "hasAttachment:";
+    private static final String DELETION_DATE_PREFIX = "deletionDate:";
+    private static final String SUBJECT_TRIGRAM_PREFIX = "subject:";
+    private static final int TRIGRAM_LENGTH = 3;
+    private static final int DELETION_DATE_KEY_LENGTH = 20;
+
+    public static Set<String> indexKeys(DeletedMessage deletedMessage) {
+        return Stream.of(
+                deletedMessage.getSender().asOptional().map(IndexedQuery::senderKey).map(Stream::of).orElse(Stream.empty()),
+                deletedMessage.getRecipients().stream().map(IndexedQuery::recipientKey),
+                deletedMessage.getOriginMailboxes().stream().map(IndexedQuery::originMailboxKey),
+                Stream.of(hasAttachmentKey(deletedMessage.hasAttachment())),
+                Stream.of(deletionDateKey(deletedMessage.getDeletionDate())),
+                deletedMessage.getSubject().map(IndexedQuery::subjectTrigramKeys).orElse(Stream.empty()))
+            .flatMap(keys -> keys)
+            .collect(Guavate.toImmutableSet());
+    }
+
+    public static IndexedQuery from(Query query) {
+        ImmutableSet.Builder<String> keys = ImmutableSet.builder();
+        Optional<ZonedDateTime> deletedAfter = Optional.empty();
+        Optional<ZonedDateTime> deletedBefore = Optional.empty();
+        ImmutableList.Builder<Criterion<?>> residualCriteria = ImmutableList.builder();
+
+        for (Criterion<?> criterion : query.getCriteria()) {
+            FieldName fieldName = criterion.getField().fieldName();
+            Operator operator = criterion.getValueMatcher().operator();
+            Object expectedValue = criterion.getValueMatcher().expectedValue();
+
+            if (fieldName == FieldName.DELETION_DATE && operator == Operator.AFTER_OR_EQUALS) {
+                deletedAfter = Optional.of(latest(deletedAfter, (ZonedDateTime) expectedValue));
+                residualCriteria.add(criterion);
+            } else if (fieldName == FieldName.DELETION_DATE && operator == Operator.BEFORE_OR_EQUALS) {
+                deletedBefore = Optional.of(earliest(deletedBefore, (ZonedDateTime) expectedValue));
+                residualCriteria.add(criterion);
+            } else if (fieldName == FieldName.SENDER && operator == Operator.EQUALS) {
+                keys.add(senderKey((MailAddress) expectedValue));
+            } else if (fieldName == FieldName.RECIPIENTS && operator == Operator.CONTAINS) {
+                keys.add(recipientKey((MailAddress) expectedValue));
+            } else if (fieldName == FieldName.ORIGIN_MAILBOXES && operator == Operator.CONTAINS) {
+                keys.add(originMailboxKey((MailboxId) expectedValue));
+            } else if (fieldName == FieldName.HAS_ATTACHMENT && operator == Operator.EQUALS) {
+                keys.add(hasAttachmentKey((Boolean) expectedValue));
+            } else if (fieldName == FieldName.SUBJECT && isAnsweredBySubjectTrigrams(operator, (String) expectedValue)) {
+                subjectTrigramKeys((String) expectedValue).forEach(keys::add);
+                residualCriteria.add(criterion);
+            } else {
+                residualCriteria.add(criterion);
+            }
+        }
+
+        return new IndexedQuery(keys.build(), deletedAfter, deletedBefore, Query.and(residualCriteria.build()));
+    }
+
+    private static ZonedDateTime latest(Optional<ZonedDateTime> current, ZonedDateTime value) {
+        return current.filter(date -> date.isAfter(value)).orElse(value);
+    }
+
+    private static ZonedDateTime earliest(Optional<ZonedDateTime> current, ZonedDateTime value) {
+        return current.filter(date -> date.isBefore(value)).orElse(value);
+    }
+
+    private static String senderKey(MailAddress sender) {
+        return SENDER_PREFIX + sender.asString().toLowerCase(Locale.US);
+    }
+
+    private static String recipientKey(MailAddress recipient) {
+        return RECIPIENT_PREFIX + recipient.asString().toLowerCase(Locale.US);
+    }
+
+    private static String originMailboxKey(MailboxId mailboxId) {
+        return ORIGIN_MAILBOX_PREFIX + mailboxId.serialize();
+    }
+
+    private static String hasAttachmentKey(boolean hasAttachment) {
+        return HAS_ATTACHMENT_PREFIX + hasAttachment;
+    }
+
+    private static boolean isAnsweredBySubjectTrigrams(Operator operator, String expectedValue) {
+        switch (operator) {
+            case EQUALS:
+            case EQUALS_IGNORE_CASE:
+            case CONTAINS:
+                return expectedValue.length() >= TRIGRAM_LENGTH;
+            case CONTAINS_IGNORE_CASE:
+                // Lower casing a whole string is not always a character per character folding, but it is for ASCII
+                return expectedValue.length() >= TRIGRAM_LENGTH && CharMatcher.ascii().matchesAllOf(expectedValue);
+            default:
+                return false;
+        }
+    }
+
+    private static Stream<String> subjectTrigramKeys(String subject) {
+        String foldedSubject = foldCase(subject);
+        return IntStream.rangeClosed(0, foldedSubject.length() - TRIGRAM_LENGTH)
+            .mapToObj(index -> SUBJECT_TRIGRAM_PREFIX + foldedSubject.substring(index, index + TRIGRAM_LENGTH));
+    }
+
+    /**
+     * Two strings are {@link String#equalsIgnoreCase(String)} if and only if their folded forms are equal.
+     */
+    private static String foldCase(String value) {
+        char[] folded = new char[value.length()];
+        for (int i = 0; i < value.length(); i++) {
+            folded[i] = Character.toLowerCase(Character.toUpperCase(value.charAt(i)));
+        }
+        return new String(folded);
+    }
+
+    private static String deletionDateKey(ZonedDateTime deletionDate) {
+        return deletionDateKey(deletionDate.toInstant().toEpochMilli());
+    }
+
+    private static String deletionDateKey(long epochMilli) {
+        // Shifting by Long.MIN_VALUE turns signed ordering into unsigned ordering, which padding keeps lexicographic
+        String unsignedMillis = Long.toUnsignedString(epochMilli - Long.MIN_VALUE);
+        return DELETION_DATE_PREFIX + Strings.padStart(unsignedMillis, DELETION_DATE_KEY_LENGTH, '0');
+    }
+
+    private final Set<String> keys;
+    private final Optional<ZonedDateTime> deletedAfter;
+    private final Optional<ZonedDateTime> deletedBefore;
+    private final Query residualQuery;
+
+    private IndexedQuery(Set<String> keys, Optional<ZonedDateTime> deletedAfter, Optional<ZonedDateTime> deletedBefore, Query residualQuery) {
+        this.keys = keys;
+        this.deletedAfter = deletedAfter;
+        this.deletedBefore = deletedBefore;
+        this.residualQuery = residualQuery;
+    }
+
+    /**
+     * @return false when no criterion can be answered by the index, meaning that all messages need to be read
+     */
+    public boolean isIndexed() {
+        return !keys.isEmpty() || hasDeletionDateRange();
+    }
+
+    /**
+     * @return keys under which all matching messages are indexed
+     */
+    public Set<String> getKeys() {
+        return keys;
+    }
+
+    public boolean hasDeletionDateRange() {
+        return deletedAfter.isPresent() || deletedBefore.isPresent();
+    }
+
+    /**
+     * @return the lowest deletion date key of matching messages, inclusive
+     */
+    public String getDeletionDateLowerKey() {
+        return deletionDateKey(deletedAfter.map(date -> date.toInstant().toEpochMilli()).orElse(Long.MIN_VALUE));
+    }
+
+    /**
+     * @return the highest deletion date key of matching messages, inclusive
+     */
+    public String getDeletionDateUpperKey() {
+        return deletionDateKey(deletedBefore.map(date -> date.toInstant().toEpochMilli()).orElse(Long.MAX_VALUE));
+    }
+
+    public Optional<ZonedDateTime> getDeletedAfter() {
+        return deletedAfter;
+    }
+
+    /**
+     * @return the criteria not answered by the index, to be checked on the candidates read from the index
+     */
+    public Predicate<DeletedMessage> getResidualPredicate() {
+        return residualQuery.toPredicate();
+    }
+}
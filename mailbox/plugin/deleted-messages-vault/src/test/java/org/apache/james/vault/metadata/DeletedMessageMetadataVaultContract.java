@@ -19,12 +19,21 @@
 
 package org.apache.james.vault.metadata;
 
+import static org.apache.james.vault.DeletedMessageFixture.DELETED_MESSAGE_WITH_SUBJECT;
+import static org.apache.james.vault.DeletedMessageFixture.DELETION_DATE;
+import static org.apache.james.vault.DeletedMessageFixture.MAILBOX_ID_1;
+import static org.apache.james.vault.DeletedMessageFixture.MAILBOX_ID_3;
+import static org.apache.james.vault.DeletedMessageFixture.OLD_DELETED_MESSAGE;
 import static org.apache.james.vault.DeletedMessageFixture.USER;
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.BUCKET_NAME;
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.DELETED_MESSAGE;
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.DELETED_MESSAGE_2;
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.DELETED_MESSAGE_2_OTHER_BUCKET;
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.OTHER_BUCKET_NAME;
+import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.STORAGE_INFORMATION;
+import static org.apache.mailet.base.MailAddressFixture.RECIPIENT1;
+import static org.apache.mailet.base.MailAddressFixture.SENDER;
+import static org.apache.mailet.base.MailAddressFixture.SENDER2;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 
@@ -32,6 +41,8 @@ import java.util.Optional;
 import java.util.stream.Stream;
 
 import org.apache.james.blob.api.BucketName;
+import org.apache.james.vault.search.CriterionFactory;
+import org.apache.james.vault.search.Query;
 import org.junit.jupiter.api.Test;
 
 import reactor.core.publisher.Flux;
@@ -192,4 +203,133 @@ public interface DeletedMessageMetadataVaultContract {
 
         assertThat(storageInformation).isEmpty();
     }
+
+    @Test
+    default void searchShouldReturnAllMessagesWhenQueryAll() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+        Mono.from(metadataVault().store(DELETED_MESSAGE_2)).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(BUCKET_NAME, USER, Query.ALL)).toStream();
+        assertThat(messages).containsOnly(DELETED_MESSAGE, DELETED_MESSAGE_2);
+    }
+
+    @Test
+    default void searchShouldReturnMessagesMatchingIndexedCriteria() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+        Mono.from(metadataVault().store(DELETED_MESSAGE_2)).block();
+
+        Query query = Query.of(CriterionFactory.hasSender(SENDER),
+            CriterionFactory.containsRecipient(RECIPIENT1),
+            CriterionFactory.containsOriginMailbox(MAILBOX_ID_1),
+            CriterionFactory.hasNoAttachment());
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(BUCKET_NAME, USER, query)).toStream();
+        assertThat(messages).containsOnly(DELETED_MESSAGE, DELETED_MESSAGE_2);
+    }
+
+    @Test
+    default void searchShouldNotReturnMessagesNotMatchingIndexedCriteria() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(BUCKET_NAME, USER,
+            Query.of(CriterionFactory.hasSender(SENDER2)))).toStream();
+        assertThat(messages).isEmpty();
+    }
+
+    @Test
+    default void searchShouldIntersectIndexedCriteria() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+
+        Query query = Query.of(CriterionFactory.hasSender(SENDER),
+            CriterionFactory.containsOriginMailbox(MAILBOX_ID_3));
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(BUCKET_NAME, USER, query)).toStream();
+        assertThat(messages).isEmpty();
+    }
+
+    @Test
+    default void searchShouldSupportDeletionDateRanges() {
+        DeletedMessageWithStorageInformation oldMessage = new DeletedMessageWithStorageInformation(OLD_DELETED_MESSAGE, STORAGE_INFORMATION);
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+        Mono.from(metadataVault().store(oldMessage)).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(BUCKET_NAME, USER,
+            Query.of(CriterionFactory.deletionDate().beforeOrEquals(DELETION_DATE.minusDays(1))))).toStream();
+        assertThat(messages).containsOnly(oldMessage);
+    }
+
+    @Test
+    default void searchShouldIncludeDeletionDateBounds() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+
+        Query query = Query.of(CriterionFactory.deletionDate().afterOrEquals(DELETION_DATE),
+            CriterionFactory.deletionDate().beforeOrEquals(DELETION_DATE));
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(BUCKET_NAME, USER, query)).toStream();
+        assertThat(messages).containsOnly(DELETED_MESSAGE);
+    }
+
+    @Test
+    default void searchShouldApplyCriteriaNotAnsweredByTheIndex() {
+        DeletedMessageWithStorageInformation messageWithSubject = new DeletedMessageWithStorageInformation(DELETED_MESSAGE_WITH_SUBJECT, STORAGE_INFORMATION);
+        Mono.from(metadataVault().store(messageWithSubject)).block();
+        Mono.from(metadataVault().store(DELETED_MESSAGE_2)).block();
+
+        Query query = Query.of(CriterionFactory.hasSender(SENDER),
+            CriterionFactory.subject().contains("subj"));
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(BUCKET_NAME, USER, query)).toStream();
+        assertThat(messages).containsOnly(messageWithSubject);
+    }
+
+    @Test
+    default void searchShouldMatchSubjectCriteriaRegardlessOfCaseWhenIgnoringCase() {
+        DeletedMessageWithStorageInformation messageWithSubject = new DeletedMessageWithStorageInformation(DELETED_MESSAGE_WITH_SUBJECT, STORAGE_INFORMATION);
+        Mono.from(metadataVault().store(messageWithSubject)).block();
+        Mono.from(metadataVault().store(DELETED_MESSAGE_2)).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(BUCKET_NAME, USER,
+            Query.of(CriterionFactory.subject().containsIgnoreCase("SUBJ")))).toStream();
+        assertThat(messages).containsOnly(messageWithSubject);
+    }
+
+    @Test
+    default void searchShouldNotMatchSubjectCriteriaWithAnotherCase() {
+        DeletedMessageWithStorageInformation messageWithSubject = new DeletedMessageWithStorageInformation(DELETED_MESSAGE_WITH_SUBJECT, STORAGE_INFORMATION);
+        Mono.from(metadataVault().store(messageWithSubject)).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(BUCKET_NAME, USER,
+            Query.of(CriterionFactory.subject().contains("SUBJ")))).toStream();
+        assertThat(messages).isEmpty();
+    }
+
+    @Test
+    default void searchShouldNotReturnMessagesOfOtherBuckets() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+        Mono.from(metadataVault().store(DELETED_MESSAGE_2_OTHER_BUCKET)).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(BUCKET_NAME, USER,
+            Query.of(CriterionFactory.hasSender(SENDER)))).toStream();
+        assertThat(messages).containsOnly(DELETED_MESSAGE);
+    }
+
+    @Test
+    default void searchShouldNotReturnRemovedMessages() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+        Mono.from(metadataVault().remove(BUCKET_NAME, USER, DELETED_MESSAGE.getDeletedMessage().getMessageId())).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(BUCKET_NAME, USER,
+            Query.of(CriterionFactory.hasSender(SENDER)))).toStream();
+        assertThat(messages).isEmpty();
+    }
+
+    @Test
+    default void searchShouldNotReturnMessagesOfRemovedBuckets() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+        Mono.from(metadataVault().removeMetadataRelatedToBucket(BUCKET_NAME)).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(BUCKET_NAME, USER,
+            Query.of(CriterionFactory.hasSender(SENDER)))).toStream();
+        assertThat(messages).isEmpty();
+    }
 }
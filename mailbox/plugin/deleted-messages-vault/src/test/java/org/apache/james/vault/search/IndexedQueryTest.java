@@ -0,0 +1,128 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.vault.search;
+
+import static org.apache.james.vault.DeletedMessageFixture.DELETED_MESSAGE;
+import static org.apache.james.vault.DeletedMessageFixture.DELETED_MESSAGE_WITH_SUBJECT;
+import static org.apache.james.vault.DeletedMessageFixture.DELETION_DATE;
+import static org.apache.james.vault.DeletedMessageFixture.MAILBOX_ID_1;
+import static org.apache.mailet.base.MailAddressFixture.RECIPIENT1;
+import static org.apache.mailet.base.MailAddressFixture.SENDER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.Test;
+
+class IndexedQueryTest {
+    @Test
+    void queryAllShouldNotBeIndexed() {
+        assertThat(IndexedQuery.from(Query.ALL).isIndexed()).isFalse();
+    }
+
+    @Test
+    void subjectCriteriaShouldMatchKeysOfTheMessage() {
+        IndexedQuery indexedQuery = IndexedQuery.from(Query.of(CriterionFactory.subject().contains("bjec")));
+
+        assertThat(indexedQuery.isIndexed()).isTrue();
+        assertThat(IndexedQuery.indexKeys(DELETED_MESSAGE_WITH_SUBJECT)).containsAll(indexedQuery.getKeys());
+    }
+
+    @Test
+    void subjectCriteriaShouldMatchKeysOfTheMessageRegardlessOfCase() {
+        IndexedQuery indexedQuery = IndexedQuery.from(Query.of(CriterionFactory.subject().equalsIgnoreCase("SUBJECT")));
+
+        assertThat(IndexedQuery.indexKeys(DELETED_MESSAGE_WITH_SUBJECT)).containsAll(indexedQuery.getKeys());
+    }
+
+    @Test
+    void subjectCriteriaShouldRemainResidual() {
+        IndexedQuery indexedQuery = IndexedQuery.from(Query.of(CriterionFactory.subject().contains("SUBJ")));
+
+        assertThat(indexedQuery.getResidualPredicate().test(DELETED_MESSAGE_WITH_SUBJECT)).isFalse();
+    }
+
+    @Test
+    void subjectCriteriaShorterThanATrigramShouldNotBeIndexed() {
+        IndexedQuery indexedQuery = IndexedQuery.from(Query.of(CriterionFactory.subject().contains("su")));
+
+        assertThat(indexedQuery.isIndexed()).isFalse();
+        assertThat(indexedQuery.getResidualPredicate().test(DELETED_MESSAGE_WITH_SUBJECT)).isTrue();
+        assertThat(indexedQuery.getResidualPredicate().test(DELETED_MESSAGE)).isFalse();
+    }
+
+    @Test
+    void nonAsciiContainsIgnoreCaseSubjectCriteriaShouldNotBeIndexed() {
+        IndexedQuery indexedQuery = IndexedQuery.from(Query.of(CriterionFactory.subject().containsIgnoreCase("\u039F\u0394\u039F\u03A3")));
+
+        assertThat(indexedQuery.isIndexed()).isFalse();
+    }
+
+    @Test
+    void indexedCriteriaShouldMatchKeysOfTheMessage() {
+        IndexedQuery indexedQuery = IndexedQuery.from(Query.of(
+            CriterionFactory.hasSender(SENDER),
+            CriterionFactory.containsRecipient(RECIPIENT1),
+            CriterionFactory.containsOriginMailbox(MAILBOX_ID_1),
+            CriterionFactory.hasNoAttachment()));
+
+        assertThat(IndexedQuery.indexKeys(DELETED_MESSAGE)).containsAll(indexedQuery.getKeys());
+        assertThat(indexedQuery.getKeys()).hasSize(4);
+    }
+
+    @Test
+    void indexedCriteriaShouldNotBeResidual() {
+        IndexedQuery indexedQuery = IndexedQuery.from(Query.of(CriterionFactory.hasAttachment()));
+
+        assertThat(indexedQuery.getResidualPredicate().test(DELETED_MESSAGE)).isTrue();
+    }
+
+    @Test
+    void deletionDateKeysShouldSortChronologically() {
+        String before = IndexedQuery.from(Query.of(CriterionFactory.deletionDate().afterOrEquals(ZonedDateTime.parse("1960-01-01T00:00:00Z"))))
+            .getDeletionDateLowerKey();
+        String after = IndexedQuery.from(Query.of(CriterionFactory.deletionDate().afterOrEquals(DELETION_DATE)))
+            .getDeletionDateLowerKey();
+
+        assertThat(before).isLessThan(after);
+    }
+
+    @Test
+    void deletionDateRangeShouldIncludeTheMessageKey() {
+        IndexedQuery indexedQuery = IndexedQuery.from(Query.of(
+            CriterionFactory.deletionDate().afterOrEquals(DELETION_DATE),
+            CriterionFactory.deletionDate().beforeOrEquals(DELETION_DATE)));
+
+        assertThat(IndexedQuery.indexKeys(DELETED_MESSAGE))
+            .anySatisfy(key -> {
+                assertThat(key).isGreaterThanOrEqualTo(indexedQuery.getDeletionDateLowerKey());
+                assertThat(key).isLessThanOrEqualTo(indexedQuery.getDeletionDateUpperKey());
+            });
+    }
+
+    @Test
+    void deletionDateRangeShouldKeepTheMostRestrictiveBounds() {
+        IndexedQuery indexedQuery = IndexedQuery.from(Query.of(
+            CriterionFactory.deletionDate().afterOrEquals(DELETION_DATE.minusDays(1)),
+            CriterionFactory.deletionDate().afterOrEquals(DELETION_DATE)));
+
+        assertThat(indexedQuery.getDeletedAfter()).contains(DELETION_DATE);
+    }
+}
@@ -0,0 +1,184 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.mailbox.store;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import javax.inject.Inject;
+
+import org.apache.james.core.User;
+import org.apache.james.mailbox.events.Event;
+import org.apache.james.mailbox.events.EventBus;
+import org.apache.james.mailbox.events.MailboxIdRegistrationKey;
+import org.apache.james.mailbox.events.MailboxListener;
+import org.apache.james.mailbox.events.Registration;
+import org.apache.james.mailbox.events.RegistrationKey;
+import org.apache.james.mailbox.events.UserRegistrationKey;
+import org.apache.james.mailbox.exception.MailboxException;
+import org.apache.james.mailbox.model.MailboxConstants;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.store.mail.MailboxMapper;
+
+import com.github.steveash.guavate.Guavate;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+
+/**
+ * Caches the {@link MailboxTree} of the personal mailboxes of each user.
+ *
+ * While a user is cached, this James server listens to the {@link UserRegistrationKey} of that user: mailbox
+ * creation, deletion, rename and ACL update events carry this key, hence every James server caching the tree of the
+ * user invalidates it. Users not accessed for a configurable delay are evicted and stop being listened to.
+ *
+ * Each user entry holds a generation bumped upon invalidation. A tree loaded while an invalidation happens is not
+ * cached, as it might miss the change that triggered the invalidation.
+ */
+public class MailboxHierarchyCache {
+    public static final Duration DEFAULT_EXPIRATION = Duration.ofMinutes(5);
+    private static final long MAX_CACHED_USERS = 10_000;
+
+    private static class CachedTree {
+        private final long generation;
+        private final MailboxTree tree;
+
+        private CachedTree(long generation, MailboxTree tree) {
+            this.generation = generation;
+            this.tree = tree;
+        }
+    }
+
+    private class UserEntry {
+        private final Registration registration;
+        private final AtomicLong generation = new AtomicLong();
+        private volatile Optional<CachedTree> cachedTree = Optional.empty();
+
+        private UserEntry(Registration registration) {
+            this.registration = registration;
+        }
+
+        private MailboxTree getTree(String user, MailboxMapper mailboxMapper, char delimiter) throws MailboxException {
+            long currentGeneration = generation.get();
+            Optional<CachedTree> cached = cachedTree;
+            if (cached.isPresent() && cached.get().generation == currentGeneration) {
+                return cached.get().tree;
+            }
+            MailboxTree tree = loadTree(user, mailboxMapper, delimiter);
+            if (generation.get() == currentGeneration) {
+                cachedTree = Optional.of(new CachedTree(currentGeneration, tree));
+            }
+            return tree;
+        }
+
+        private void invalidate() {
+            generation.incrementAndGet();
+        }
+    }
+
+    private class InvalidationListener implements MailboxListener {
+        private final String user;
+
+        private InvalidationListener(String user) {
+            this.user = user;
+        }
+
+        @Override
+        public boolean isHandling(Event event) {
+            return event instanceof MailboxAdded
+                || event instanceof MailboxDeletion
+                || event instanceof MailboxRenamed
+                || event instanceof MailboxACLUpdated;
+        }
+
+        @Override
+        public void event(Event event) {
+            invalidate(user);
+        }
+    }
+
+    /**
+     * @return the keys events modifying the hierarchy of the given mailbox paths should be dispatched with
+     */
+    static Set<RegistrationKey> registrationKeys(MailboxId mailboxId, MailboxPath... impactedPaths) {
+        return Stream.concat(
+                Stream.of(new MailboxIdRegistrationKey(mailboxId)),
+                Stream.of(impactedPaths)
+                    .map(MailboxPath::getUser)
+                    .filter(Objects::nonNull)
+                    .map(user -> new UserRegistrationKey(User.fromUsername(user))))
+            .collect(Guavate.toImmutableSet());
+    }
+
+    private final EventBus eventBus;
+    private final Cache<String, UserEntry> entries;
+
+    @Inject
+    public MailboxHierarchyCache(EventBus eventBus) {
+        this(eventBus, DEFAULT_EXPIRATION);
+    }
+
+    public MailboxHierarchyCache(EventBus eventBus, Duration expiration) {
+        this.eventBus = eventBus;
+        this.entries = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_USERS)
+            .expireAfterAccess(expiration.toMillis(), TimeUnit.MILLISECONDS)
+            .removalListener(this::unregister)
+            .build();
+    }
+
+    MailboxTree getTree(String user, MailboxMapper mailboxMapper, char delimiter) throws MailboxException {
+        try {
+            // Registering before loading ensures no change happening after the read is missed
+            return entries.get(user, () -> register(user))
+                .getTree(user, mailboxMapper, delimiter);
+        } catch (ExecutionException e) {
+            throw new MailboxException("Can not listen to the mailbox changes of " + user, e.getCause());
+        }
+    }
+
+    void invalidate(String user) {
+        if (user != null) {
+            Optional.ofNullable(entries.getIfPresent(user))
+                .ifPresent(UserEntry::invalidate);
+        }
+    }
+
+    private UserEntry register(String user) {
+        return new UserEntry(eventBus.register(new InvalidationListener(user),
+            new UserRegistrationKey(User.fromUsername(user))));
+    }
+
+    private void unregister(RemovalNotification<String, UserEntry> notification) {
+        notification.getValue().registration.unregister();
+    }
+
+    private MailboxTree loadTree(String user, MailboxMapper mailboxMapper, char delimiter) throws MailboxException {
+        MailboxPath allMailboxes = new MailboxPath(MailboxConstants.USER_NAMESPACE, user,
+            String.valueOf(StoreMailboxManager.SQL_WILDCARD_CHAR));
+        return MailboxTree.of(mailboxMapper.findMailboxWithPathLike(allMailboxes), delimiter);
+    }
+}
@@ -0,0 +1,149 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.store;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.apache.james.mailbox.model.Mailbox;
+import org.apache.james.mailbox.model.search.MailboxNameExpression;
+import org.apache.james.mailbox.model.search.MailboxQuery;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Splitter;
+
+/**
+ * Trie of the mailboxes of a user, indexed by the delimiter separated segments of their names.
+ *
+ * LIST patterns are answered by descending to their literal prefix then walking the matching sub-trees only, down to
+ * the depth of the pattern when it holds no free wildcard. Whether a mailbox has children is known from its node.
+ *
+ * Instances are immutable once built.
+ */
+class MailboxTree {
+    static class Entry {
+        private final Mailbox mailbox;
+        private final boolean hasChildren;
+
+        private Entry(Mailbox mailbox, boolean hasChildren) {
+            this.mailbox = mailbox;
+            this.hasChildren = hasChildren;
+        }
+
+        Mailbox getMailbox() {
+            return mailbox;
+        }
+
+        boolean hasChildren() {
+            return hasChildren;
+        }
+    }
+
+    private static class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private Optional<Mailbox> mailbox = Optional.empty();
+
+        private Node child(String segment) {
+            return children.computeIfAbsent(segment, any -> new Node());
+        }
+
+        private Stream<Entry> walk(int remainingDepth) {
+            Stream<Entry> self = mailbox.map(value -> Stream.of(new Entry(value, !children.isEmpty())))
+                .orElse(Stream.empty());
+            if (remainingDepth <= 1) {
+                return self;
+            }
+            return Stream.concat(self, children.values()
+                .stream()
+                .flatMap(child -> child.walk(remainingDepth - 1)));
+        }
+    }
+
+    static MailboxTree of(Collection<Mailbox> mailboxes, char delimiter) {
+        MailboxTree tree = new MailboxTree(delimiter);
+        mailboxes.forEach(tree::add);
+        return tree;
+    }
+
+    private final Node root;
+    private final char delimiter;
+    private final Splitter splitter;
+
+    private MailboxTree(char delimiter) {
+        this.root = new Node();
+        this.delimiter = delimiter;
+        this.splitter = Splitter.on(delimiter);
+    }
+
+    private void add(Mailbox mailbox) {
+        Node node = root;
+        for (String segment : splitter.split(mailbox.getName())) {
+            node = node.child(segment);
+        }
+        node.mailbox = Optional.of(mailbox);
+    }
+
+    /**
+     * @return the mailboxes of this tree matching the query, along with their children flag
+     */
+    Stream<Entry> match(MailboxQuery query) {
+        MailboxNameExpression expression = query.getMailboxNameExpression();
+        String combinedName = expression.getCombinedName();
+        int wildcardIndex = CharMatcher.is(expression.getFreeWildcard())
+            .or(CharMatcher.is(expression.getLocalWildcard()))
+            .indexIn(combinedName);
+        String literalPrefix = wildcardIndex < 0 ? combinedName : combinedName.substring(0, wildcardIndex);
+        int maxDepth = combinedName.indexOf(expression.getFreeWildcard()) < 0
+            ? CharMatcher.is(delimiter).countIn(combinedName) + 1
+            : Integer.MAX_VALUE;
+
+        List<String> segments = splitter.splitToList(literalPrefix);
+        Node node = root;
+        for (String segment : segments.subList(0, segments.size() - 1)) {
+            node = node.children.get(segment);
+            if (node == null) {
+                return Stream.empty();
+            }
+        }
+        String partialSegment = segments.get(segments.size() - 1);
+        int remainingDepth = maxDepth - segments.size() + 1;
+
+        return node.children.entrySet()
+            .stream()
+            .filter(child -> child.getKey().startsWith(partialSegment))
+            .flatMap(child -> child.getValue().walk(remainingDepth))
+            .filter(entry -> query.isPathMatch(entry.getMailbox().generateAssociatedPath()));
+    }
+
+    boolean hasChildren(String mailboxName) {
+        Node node = root;
+        for (String segment : splitter.split(mailboxName)) {
+            node = node.children.get(segment);
+            if (node == null) {
+                return false;
+            }
+        }
+        return !node.children.isEmpty();
+    }
+}
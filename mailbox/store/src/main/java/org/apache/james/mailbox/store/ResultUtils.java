@@ -124,6 +124,9 @@ public class ResultUtils {
                 if ((content & FetchGroup.FULL_CONTENT) > 0) {
                     content -= FetchGroup.FULL_CONTENT;
                 }
+                if ((content & FetchGroup.FULL_CONTENT_RANGES) > 0) {
+                    content -= FetchGroup.FULL_CONTENT_RANGES;
+                }
                 if ((content & FetchGroup.MIME_DESCRIPTOR) > 0) {
                     content -= FetchGroup.MIME_DESCRIPTOR;
                 }
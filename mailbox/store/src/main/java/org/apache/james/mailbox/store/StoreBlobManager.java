@@ -67,6 +67,20 @@ public class StoreBlobManager implements BlobManager {
                 .orElseThrow(() -> new BlobNotFoundException(blobId)));
     }
 
+    /**
+     * Attachments are read by range from the underlying storage, while messages are fully loaded.
+     */
+    @Override
+    public Blob retrieve(BlobId blobId, long offset, long length, MailboxSession mailboxSession) throws MailboxException, BlobNotFoundException {
+        try {
+            return attachmentManager.getAttachmentRange(AttachmentId.from(blobId), offset, length, mailboxSession);
+        } catch (AttachmentNotFoundException e) {
+            return getBlobFromMessage(blobId, mailboxSession)
+                .map(blob -> blob.range(offset, length))
+                .orElseThrow(() -> new BlobNotFoundException(blobId));
+        }
+    }
+
     private Optional<Blob> getBlobFromAttachment(BlobId blobId, MailboxSession mailboxSession) throws MailboxException {
         try {
             AttachmentId attachmentId = AttachmentId.from(blobId);
@@ -42,7 +42,6 @@ import org.apache.james.mailbox.MessageManager;
 import org.apache.james.mailbox.MetadataWithMailboxId;
 import org.apache.james.mailbox.StandardMailboxMetaDataComparator;
 import org.apache.james.mailbox.events.EventBus;
-import org.apache.james.mailbox.events.MailboxIdRegistrationKey;
 import org.apache.james.mailbox.exception.HasEmptyMailboxNameInHierarchyException;
 import org.apache.james.mailbox.exception.InboxAlreadyCreated;
 import org.apache.james.mailbox.exception.InsufficientRightsException;
@@ -118,6 +117,7 @@ public class StoreMailboxManager implements MailboxManager {
     private final MessageSearchIndex index;
     private final PreDeletionHooks preDeletionHooks;
     protected final MailboxManagerConfiguration configuration;
+    private final Optional<MailboxHierarchyCache> hierarchyCache;
 
     @Inject
     public StoreMailboxManager(MailboxSessionMapperFactory mailboxSessionMapperFactory, SessionProvider sessionProvider,
@@ -126,6 +126,20 @@ public class StoreMailboxManager implements MailboxManager {
                                EventBus eventBus, StoreRightManager storeRightManager,
                                QuotaComponents quotaComponents, MessageSearchIndex searchIndex, MailboxManagerConfiguration configuration,
                                PreDeletionHooks preDeletionHooks) {
+        this(mailboxSessionMapperFactory, sessionProvider, locker, messageParser, messageIdFactory, annotationManager, eventBus,
+            storeRightManager, quotaComponents, searchIndex, configuration, preDeletionHooks, Optional.empty());
+    }
+
+    /**
+     * @param hierarchyCache caches the personal mailboxes of users for answering mailbox searches. It needs to be
+     *                       invalidated on every James server, which events carrying a {@link UserRegistrationKey} ensure.
+     */
+    public StoreMailboxManager(MailboxSessionMapperFactory mailboxSessionMapperFactory, SessionProvider sessionProvider,
+                               MailboxPathLocker locker, MessageParser messageParser,
+                               MessageId.Factory messageIdFactory, MailboxAnnotationManager annotationManager,
+                               EventBus eventBus, StoreRightManager storeRightManager,
+                               QuotaComponents quotaComponents, MessageSearchIndex searchIndex, MailboxManagerConfiguration configuration,
+                               PreDeletionHooks preDeletionHooks, Optional<MailboxHierarchyCache> hierarchyCache) {
         Preconditions.checkNotNull(eventBus);
         Preconditions.checkNotNull(mailboxSessionMapperFactory);
 
@@ -143,6 +157,7 @@ public class StoreMailboxManager implements MailboxManager {
         this.index = searchIndex;
         this.configuration = configuration;
         this.preDeletionHooks = preDeletionHooks;
+        this.hierarchyCache = hierarchyCache;
     }
 
     public QuotaComponents getQuotaComponents() {
@@ -401,8 +416,9 @@ public class StoreMailboxManager implements MailboxManager {
                         .mailboxSession(mailboxSession)
                         .mailbox(m)
                         .build(),
-                        new MailboxIdRegistrationKey(m.getMailboxId()))
+                        MailboxHierarchyCache.registrationKeys(m.getMailboxId(), mailbox))
                         .block();
+                    invalidateHierarchyCache(mailbox);
                 } catch (MailboxExistsException e) {
                     LOGGER.info("{} mailbox was created concurrently", m.generateAssociatedPath());
                 }
@@ -464,8 +480,9 @@ public class StoreMailboxManager implements MailboxManager {
                 .quotaCount(QuotaCount.count(messageCount))
                 .quotaSize(QuotaSize.size(totalSize))
                 .build(),
-                new MailboxIdRegistrationKey(mailbox.getMailboxId()))
+                MailboxHierarchyCache.registrationKeys(mailbox.getMailboxId(), mailboxPath))
                 .block();
+            invalidateHierarchyCache(mailboxPath);
             return m;
         });
 
@@ -514,8 +531,10 @@ public class StoreMailboxManager implements MailboxManager {
             .oldPath(from)
             .newPath(to)
             .build(),
-            new MailboxIdRegistrationKey(mailbox.getMailboxId()))
+            MailboxHierarchyCache.registrationKeys(mailbox.getMailboxId(), from, to))
             .block();
+        invalidateHierarchyCache(from);
+        invalidateHierarchyCache(to);
 
         // rename submailboxes
         MailboxPath children = new MailboxPath(from.getNamespace(), from.getUser(), from.getName() + getDelimiter() + "%");
@@ -534,7 +553,7 @@ public class StoreMailboxManager implements MailboxManager {
                     .oldPath(fromPath)
                     .newPath(sub.generateAssociatedPath())
                     .build(),
-                    new MailboxIdRegistrationKey(sub.getMailboxId()))
+                    MailboxHierarchyCache.registrationKeys(sub.getMailboxId(), fromPath, sub.generateAssociatedPath()))
                     .block();
 
                 LOGGER.debug("Rename mailbox sub-mailbox {} to {}", subOriginalName, subNewName);
@@ -581,24 +600,45 @@ public class StoreMailboxManager implements MailboxManager {
 
     private List<MailboxMetaData> searchMailboxes(MailboxQuery mailboxExpression, MailboxSession session, Right right) throws MailboxException {
         MailboxMapper mailboxMapper = mailboxSessionMapperFactory.getMailboxMapper(session);
-        Stream<Mailbox> baseMailboxes = mailboxMapper
-            .findMailboxWithPathLike(getPathLike(mailboxExpression, session))
-            .stream();
+        MailboxPath pathLike = getPathLike(mailboxExpression, session);
         Stream<Mailbox> delegatedMailboxes = getDelegatedMailboxes(mailboxMapper, mailboxExpression, right, session);
-        List<Mailbox> mailboxes = Stream.concat(baseMailboxes,
-                delegatedMailboxes)
-            .distinct()
-            .filter(Throwing.predicate(mailbox -> storeRightManager.hasRight(mailbox, right, session)))
-            .collect(Guavate.toImmutableList());
 
-        return mailboxes
-            .stream()
-            .filter(mailbox -> mailboxExpression.isPathMatch(mailbox.generateAssociatedPath()))
-            .map(mailbox -> toMailboxMetadata(session, mailboxes, mailbox))
+        if (isPersonal(pathLike, session)) {
+            Stream<MailboxMetaData> personalMailboxes = personalMailboxTree(mailboxMapper, pathLike, session)
+                .match(mailboxExpression)
+                .filter(Throwing.predicate(entry -> storeRightManager.hasRight(entry.getMailbox(), right, session)))
+                .map(entry -> toMailboxMetadata(entry.getMailbox(), entry.hasChildren()));
+            return Stream.concat(personalMailboxes,
+                    toMailboxMetadata(mailboxExpression, session, delegatedMailboxes, right))
+                .sorted(new StandardMailboxMetaDataComparator())
+                .collect(Guavate.toImmutableList());
+        }
+
+        Stream<Mailbox> baseMailboxes = mailboxMapper
+            .findMailboxWithPathLike(pathLike)
+            .stream();
+        return toMailboxMetadata(mailboxExpression, session, Stream.concat(baseMailboxes, delegatedMailboxes), right)
             .sorted(new StandardMailboxMetaDataComparator())
             .collect(Guavate.toImmutableList());
     }
 
+    private boolean isPersonal(MailboxPath mailboxPath, MailboxSession session) {
+        return MailboxConstants.USER_NAMESPACE.equals(mailboxPath.getNamespace())
+            && session.getUser().asString().equals(mailboxPath.getUser());
+    }
+
+    private MailboxTree personalMailboxTree(MailboxMapper mailboxMapper, MailboxPath pathLike, MailboxSession session) throws MailboxException {
+        if (hierarchyCache.isPresent()) {
+            return hierarchyCache.get().getTree(session.getUser().asString(), mailboxMapper, getDelimiter());
+        }
+        // Children of a mailbox share its prefix, hence the mailboxes matching the path are enough to compute them
+        return MailboxTree.of(mailboxMapper.findMailboxWithPathLike(pathLike), getDelimiter());
+    }
+
+    private void invalidateHierarchyCache(MailboxPath mailboxPath) {
+        hierarchyCache.ifPresent(cache -> cache.invalidate(mailboxPath.getUser()));
+    }
+
     @VisibleForTesting
     public static MailboxPath getPathLike(MailboxQuery mailboxQuery, MailboxSession mailboxSession) {
         MailboxNameExpression nameExpression = mailboxQuery.getMailboxNameExpression();
@@ -621,28 +661,46 @@ public class StoreMailboxManager implements MailboxManager {
         return mailboxMapper.findNonPersonalMailboxes(session.getUser().asString(), right).stream();
     }
 
-    private MailboxMetaData toMailboxMetadata(MailboxSession session, List<Mailbox> mailboxes, Mailbox mailbox) {
+    private Stream<MailboxMetaData> toMailboxMetadata(MailboxQuery mailboxExpression, MailboxSession session,
+                                                      Stream<Mailbox> mailboxes, Right right) {
+        List<Mailbox> visibleMailboxes = mailboxes
+            .distinct()
+            .filter(Throwing.predicate(mailbox -> storeRightManager.hasRight(mailbox, right, session)))
+            .collect(Guavate.toImmutableList());
+        Set<MailboxPath> parents = parentsOf(visibleMailboxes);
+
+        return visibleMailboxes
+            .stream()
+            .filter(mailbox -> mailboxExpression.isPathMatch(mailbox.generateAssociatedPath()))
+            .map(mailbox -> toMailboxMetadata(mailbox, parents.contains(mailbox.generateAssociatedPath())));
+    }
+
+    private Set<MailboxPath> parentsOf(List<Mailbox> mailboxes) {
+        char delimiter = getDelimiter();
+        return mailboxes.stream()
+            .flatMap(mailbox -> mailbox.generateAssociatedPath().getHierarchyLevels(delimiter)
+                .stream()
+                .filter(level -> !level.getName().equals(mailbox.getName())))
+            .collect(Guavate.toImmutableSet());
+    }
+
+    private MailboxMetaData toMailboxMetadata(Mailbox mailbox, boolean hasChildren) {
         return new MailboxMetaData(
             mailbox.generateAssociatedPath(),
             mailbox.getMailboxId(),
             getDelimiter(),
-            computeChildren(session, mailboxes, mailbox),
+            computeChildren(hasChildren),
             Selectability.NONE);
     }
 
-    private MailboxMetaData.Children computeChildren(MailboxSession session, List<Mailbox> potentialChildren, Mailbox mailbox) {
-        if (hasChildIn(mailbox, potentialChildren, session)) {
+    private MailboxMetaData.Children computeChildren(boolean hasChildren) {
+        if (hasChildren) {
             return MailboxMetaData.Children.HAS_CHILDREN;
         } else {
             return MailboxMetaData.Children.HAS_NO_CHILDREN;
         }
     }
 
-    private boolean hasChildIn(Mailbox parentMailbox, List<Mailbox> mailboxesWithPathLike, MailboxSession mailboxSession) {
-        return mailboxesWithPathLike.stream()
-            .anyMatch(mailbox -> mailbox.isChildOf(parentMailbox, mailboxSession));
-    }
-
     @Override
     public List<MessageId> search(MultimailboxesSearchQuery expression, MailboxSession session, long limit) throws MailboxException {
         ImmutableSet<MailboxId> wantedMailboxesId =
@@ -787,6 +845,10 @@ public class StoreMailboxManager implements MailboxManager {
     public boolean hasChildren(MailboxPath mailboxPath, MailboxSession session) throws MailboxException {
         MailboxMapper mapper = mailboxSessionMapperFactory.getMailboxMapper(session);
         Mailbox mailbox = mapper.findMailboxByPath(mailboxPath);
+        if (hierarchyCache.isPresent() && isPersonal(mailboxPath, session)) {
+            return hierarchyCache.get().getTree(mailboxPath.getUser(), mapper, getDelimiter())
+                .hasChildren(mailboxPath.getName());
+        }
         return mapper.hasChildren(mailbox, session.getPathDelimiter());
     }
 }
@@ -63,7 +63,6 @@ import org.apache.james.mailbox.store.mail.MessageMapper;
 import org.apache.james.mailbox.store.mail.model.FlagsFactory;
 import org.apache.james.mailbox.store.mail.model.FlagsFilter;
 import org.apache.james.mailbox.store.mail.model.MailboxMessage;
-import org.apache.james.mailbox.store.mail.model.Message;
 import org.apache.james.mailbox.store.mail.model.impl.PropertyBuilder;
 import org.apache.james.mailbox.store.mail.model.impl.SimpleMailboxMessage;
 import org.apache.james.mailbox.store.quota.QuotaChecker;
@@ -139,8 +138,17 @@ public class StoreMessageIdManager implements MessageIdManager {
 
     @Override
     public List<MessageResult> getMessages(List<MessageId> messageIds, MessageResult.FetchGroup fetchGroup, MailboxSession mailboxSession) throws MailboxException {
+        return getMessages(messageIds, fetchGroup, MessageMapper.FetchType.Full, mailboxSession);
+    }
+
+    @Override
+    public List<MessageResult> getMessagesHonoringFetchGroup(List<MessageId> messageIds, MessageResult.FetchGroup fetchGroup, MailboxSession mailboxSession) throws MailboxException {
+        return getMessages(messageIds, fetchGroup, StoreMessageResultIterator.getFetchType(fetchGroup), mailboxSession);
+    }
+
+    private List<MessageResult> getMessages(List<MessageId> messageIds, MessageResult.FetchGroup fetchGroup, MessageMapper.FetchType fetchType, MailboxSession mailboxSession) throws MailboxException {
         MessageIdMapper messageIdMapper = mailboxSessionMapperFactory.getMessageIdMapper(mailboxSession);
-        List<MailboxMessage> messageList = messageIdMapper.find(messageIds, MessageMapper.FetchType.Full);
+        List<MailboxMessage> messageList = messageIdMapper.find(messageIds, fetchType);
 
         ImmutableSet<MailboxId> allowedMailboxIds = getAllowedMailboxIds(mailboxSession, messageList, Right.Read);
 
@@ -212,11 +220,7 @@ public class StoreMessageIdManager implements MessageIdManager {
 
     private void delete(MessageIdMapper messageIdMapper, List<MailboxMessage> messageList, MailboxSession mailboxSession,
                         ImmutableList<MetadataWithMailboxId> metadataWithMailbox) throws MailboxException {
-        messageIdMapper.delete(
-            messageList.stream()
-                .collect(Guavate.toImmutableListMultimap(
-                    Message::getMessageId,
-                    MailboxMessage::getMailboxId)));
+        messageIdMapper.delete(messageList);
 
         MailboxMapper mailboxMapper = mailboxSessionMapperFactory.getMailboxMapper(mailboxSession);
         Flux.fromIterable(metadataWithMailbox)
@@ -290,7 +294,7 @@ public class StoreMessageIdManager implements MessageIdManager {
         validateQuota(messageMoves, mailboxMessage);
 
         addMessageToMailboxes(mailboxMessage, messageMoves.addedMailboxIds(), mailboxSession);
-        removeMessageFromMailboxes(mailboxMessage, messageMoves.removedMailboxIds(), mailboxSession);
+        removeMessageFromMailboxes(mailboxMessage, currentMailboxMessages, messageMoves.removedMailboxIds(), mailboxSession);
 
         eventBus.dispatch(EventFactory.moved()
             .session(mailboxSession)
@@ -303,13 +307,16 @@ public class StoreMessageIdManager implements MessageIdManager {
             .block();
     }
 
-    private void removeMessageFromMailboxes(MailboxMessage message, Set<MailboxId> mailboxesToRemove, MailboxSession mailboxSession) throws MailboxException {
+    private void removeMessageFromMailboxes(MailboxMessage message, List<MailboxMessage> currentMailboxMessages, Set<MailboxId> mailboxesToRemove, MailboxSession mailboxSession) throws MailboxException {
         MessageIdMapper messageIdMapper = mailboxSessionMapperFactory.getMessageIdMapper(mailboxSession);
         MailboxMapper mailboxMapper = mailboxSessionMapperFactory.getMailboxMapper(mailboxSession);
         MessageMetaData eventPayload = message.metaData();
 
+        messageIdMapper.delete(currentMailboxMessages.stream()
+            .filter(inMailboxes(mailboxesToRemove))
+            .collect(Guavate.toImmutableList()));
+
         for (MailboxId mailboxId: mailboxesToRemove) {
-            messageIdMapper.delete(message.getMessageId(), mailboxesToRemove);
             eventBus.dispatch(EventFactory.expunged()
                 .randomEventId()
                 .mailboxSession(mailboxSession)
@@ -124,6 +124,7 @@ public class StoreMessageManager implements MessageManager {
         .count(0)
         .unseen(0)
         .build();
+    private static final int COPY_BATCH_SIZE = 100;
 
     /**
      * The minimal Permanent flags the {@link MessageManager} must support. <br>
@@ -796,12 +797,12 @@ public class StoreMessageManager implements MessageManager {
         final MessageMapper messageMapper = mapperFactory.getMessageMapper(session);
 
         while (originalRows.hasNext()) {
-            final MailboxMessage originalMessage = originalRows.next();
+            final List<MailboxMessage> batch = nextBatch(originalRows);
             new QuotaChecker(quotaManager, quotaRootResolver, mailbox)
-                .tryAddition(1, originalMessage.getFullContentOctets());
-            MessageMetaData data = messageMapper.execute(
-                () -> messageMapper.copy(getMailboxEntity(), originalMessage));
-            copiedRows.add(data);
+                .tryAddition(batch.size(), batch.stream().mapToLong(MailboxMessage::getFullContentOctets).sum());
+            List<MessageMetaData> data = messageMapper.execute(
+                () -> messageMapper.copy(getMailboxEntity(), batch));
+            copiedRows.addAll(data);
         }
         return copiedRows.iterator();
     }
@@ -812,15 +813,22 @@ public class StoreMessageManager implements MessageManager {
         final MessageMapper messageMapper = mapperFactory.getMessageMapper(session);
 
         while (originalRows.hasNext()) {
-            final MailboxMessage originalMessage = originalRows.next();
-            originalRowsCopy.add(originalMessage.metaData());
-            MessageMetaData data = messageMapper.execute(
-                () -> messageMapper.move(getMailboxEntity(), originalMessage));
-            movedRows.add(data);
+            final List<MailboxMessage> batch = nextBatch(originalRows);
+            batch.forEach(originalMessage -> originalRowsCopy.add(originalMessage.metaData()));
+            List<MessageMetaData> data = messageMapper.execute(
+                () -> messageMapper.move(getMailboxEntity(), batch));
+            movedRows.addAll(data);
         }
         return new MoveResult(movedRows.iterator(), originalRowsCopy.iterator());
     }
 
+    private List<MailboxMessage> nextBatch(Iterator<MailboxMessage> rows) {
+        List<MailboxMessage> batch = new ArrayList<>(COPY_BATCH_SIZE);
+        while (rows.hasNext() && batch.size() < COPY_BATCH_SIZE) {
+            batch.add(rows.next());
+        }
+        return batch;
+    }
 
     private SortedMap<MessageUid, MessageMetaData> copy(MessageRange set, StoreMessageManager to, MailboxSession session) throws MailboxException {
         IteratorWrapper<MailboxMessage> originalRows = new IteratorWrapper<>(retrieveOriginalRows(set, session));
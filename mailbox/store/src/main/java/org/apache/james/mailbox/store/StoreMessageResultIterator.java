@@ -82,8 +82,11 @@ public class StoreMessageResultIterator implements MessageResultIterator {
      * @param group
      * @return fetchType
      */
-    private static FetchType getFetchType(FetchGroup group) {
+    static FetchType getFetchType(FetchGroup group) {
         int content = group.content();
+        if (content == FetchGroup.FULL_CONTENT_RANGES && group.getPartContentDescriptors().isEmpty()) {
+            return FetchType.FullContentRanges;
+        }
         boolean headers = false;
         boolean body = false;
         boolean full = false;
@@ -105,6 +108,12 @@ public class StoreMessageResultIterator implements MessageResultIterator {
             content -= FetchGroup.FULL_CONTENT;
         }
 
+        if ((content & FetchGroup.FULL_CONTENT_RANGES) > 0) {
+            // Other contents need to be loaded anyway
+            full = true;
+            content -= FetchGroup.FULL_CONTENT_RANGES;
+        }
+
         if ((content & FetchGroup.MIME_DESCRIPTOR) > 0) {
             // If we need the mimedescriptor we MAY need the full content later
             // too.
@@ -172,6 +181,8 @@ public class StoreMessageResultIterator implements MessageResultIterator {
             return batchSizes.getFetchBody();
         case Full:
             return batchSizes.getFetchFull();
+        case FullContentRanges:
+            return batchSizes.getFetchMetadata();
         }
         throw new RuntimeException("Unknown fetchTpe: " + fetchType);
     }
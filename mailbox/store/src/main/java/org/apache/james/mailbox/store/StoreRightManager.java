@@ -33,7 +33,6 @@ import org.apache.james.mailbox.acl.ACLDiff;
 import org.apache.james.mailbox.acl.GroupMembershipResolver;
 import org.apache.james.mailbox.acl.MailboxACLResolver;
 import org.apache.james.mailbox.events.EventBus;
-import org.apache.james.mailbox.events.MailboxIdRegistrationKey;
 import org.apache.james.mailbox.exception.DifferentDomainException;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.exception.UnsupportedRightException;
@@ -146,7 +145,7 @@ public class StoreRightManager implements RightManager {
             .mailbox(mailbox)
             .aclDiff(aclDiff)
             .build(),
-            new MailboxIdRegistrationKey(mailbox.getMailboxId()))
+            MailboxHierarchyCache.registrationKeys(mailbox.getMailboxId(), mailbox.generateAssociatedPath()))
             .block();
     }
 
@@ -231,7 +230,7 @@ public class StoreRightManager implements RightManager {
             .mailbox(mailbox)
             .aclDiff(aclDiff)
             .build(),
-            new MailboxIdRegistrationKey(mailbox.getMailboxId()))
+            MailboxHierarchyCache.registrationKeys(mailbox.getMailboxId(), mailbox.generateAssociatedPath()))
             .block();
     }
 
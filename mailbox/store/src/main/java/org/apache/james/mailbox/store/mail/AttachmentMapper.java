@@ -25,6 +25,8 @@ import org.apache.james.mailbox.exception.AttachmentNotFoundException;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.model.Attachment;
 import org.apache.james.mailbox.model.AttachmentId;
+import org.apache.james.mailbox.model.Blob;
+import org.apache.james.mailbox.model.BlobId;
 import org.apache.james.mailbox.model.MessageId;
 import org.apache.james.mailbox.store.mail.model.Username;
 import org.apache.james.mailbox.store.transaction.Mapper;
@@ -33,6 +35,20 @@ public interface AttachmentMapper extends Mapper {
 
     Attachment getAttachment(AttachmentId attachmentId) throws AttachmentNotFoundException;
 
+    /**
+     * @return the attachment as a blob whose payload is at most length bytes of its content, starting at offset.
+     * Implementations able to read a range of the stored content should override it.
+     */
+    default Blob getAttachmentRange(AttachmentId attachmentId, long offset, long length) throws MailboxException {
+        Attachment attachment = getAttachment(attachmentId);
+        return Blob.builder()
+            .id(BlobId.fromString(attachmentId.getId()))
+            .contentType(attachment.getType())
+            .payload(attachment.getBytes())
+            .build()
+            .range(offset, length);
+    }
+
     List<Attachment> getAttachments(Collection<AttachmentId> attachmentIds);
 
     void storeAttachmentForOwner(Attachment attachment, Username owner) throws MailboxException;
@@ -33,6 +33,7 @@ import org.apache.james.mailbox.model.UpdatedFlags;
 import org.apache.james.mailbox.store.mail.MessageMapper.FetchType;
 import org.apache.james.mailbox.store.mail.model.MailboxMessage;
 
+import com.github.steveash.guavate.Guavate;
 import com.google.common.collect.Multimap;
 
 public interface MessageIdMapper {
@@ -54,5 +55,17 @@ public interface MessageIdMapper {
             .forEach(this::delete);
     }
 
+    /**
+     * Deletes these already loaded messages from the mailboxes they belong to.
+     *
+     * Implementations can rely on the loaded metadata, for instance the message size, rather than reading it again.
+     */
+    default void delete(List<MailboxMessage> messages) {
+        delete(messages.stream()
+            .collect(Guavate.toImmutableListMultimap(
+                MailboxMessage::getMessageId,
+                MailboxMessage::getMailboxId)));
+    }
+
     Map<MailboxId, UpdatedFlags> setFlags(MessageId messageId, List<MailboxId> mailboxIds, Flags newState, MessageManager.FlagsUpdateMode updateMode) throws MailboxException;
 }
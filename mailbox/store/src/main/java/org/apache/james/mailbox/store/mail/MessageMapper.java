@@ -37,6 +37,8 @@ import org.apache.james.mailbox.store.mail.model.MailboxMessage;
 import org.apache.james.mailbox.store.mail.model.Property;
 import org.apache.james.mailbox.store.transaction.Mapper;
 
+import com.google.common.collect.ImmutableList;
+
 /**
  * Maps {@link MailboxMessage} in a {@link org.apache.james.mailbox.MessageManager}. A {@link MessageMapper} has a lifecycle from the start of a request
  * to the end of the request.
@@ -84,6 +86,19 @@ public interface MessageMapper extends Mapper {
 
     MailboxCounters getMailboxCounters(Mailbox mailbox) throws MailboxException;
 
+    /**
+     * Return the total size of the messages of the mailbox, for implementations maintaining it.
+     *
+     * When empty, callers need to compute it from the messages.
+     *
+     * @param mailbox
+     * @return size
+     * @throws MailboxException
+     */
+    default Optional<Long> getMailboxSize(Mailbox mailbox) throws MailboxException {
+        return Optional.empty();
+    }
+
     /**
      * Delete the given {@link MailboxMessage}
      * 
@@ -159,6 +174,41 @@ public interface MessageMapper extends Mapper {
      * @throws MailboxException
      */
     MessageMetaData move(Mailbox mailbox,MailboxMessage original) throws MailboxException;
+
+    /**
+     * Copy the given {@link MailboxMessage}s to a new mailbox and return the metadata of the copies, in the same order.
+     *
+     * Implementations may override it to allocate uids and modseqs once for the whole batch.
+     *
+     * @param mailbox the Mailbox to copy to
+     * @param originals the originals to copy
+     * @throws MailboxException
+     */
+    default List<MessageMetaData> copy(Mailbox mailbox, List<MailboxMessage> originals) throws MailboxException {
+        ImmutableList.Builder<MessageMetaData> copied = ImmutableList.builder();
+        for (MailboxMessage original : originals) {
+            copied.add(copy(mailbox, original));
+        }
+        return copied.build();
+    }
+
+    /**
+     * Move the given {@link MailboxMessage}s to a new mailbox and return the metadata of the moved messages, in the same
+     * order.
+     *
+     * Implementations may override it to allocate uids and modseqs once for the whole batch.
+     *
+     * @param mailbox the Mailbox to move to
+     * @param originals the originals to move
+     * @throws MailboxException
+     */
+    default List<MessageMetaData> move(Mailbox mailbox, List<MailboxMessage> originals) throws MailboxException {
+        ImmutableList.Builder<MessageMetaData> moved = ImmutableList.builder();
+        for (MailboxMessage original : originals) {
+            moved.add(move(mailbox, original));
+        }
+        return moved.build();
+    }
     
     
     /**
@@ -224,7 +274,14 @@ public interface MessageMapper extends Mapper {
          * Fetch the complete {@link MailboxMessage}
          * 
          */
-        Full
+        Full,
+
+        /**
+         * Fetch the {@link #Metadata} of the {@link MailboxMessage}, whose full content is then only read by ranges
+         * through {@link MailboxMessage#getFullContent(long, long)}. Implementations able to read these ranges on
+         * demand don't need to load the content. Others should fetch it as {@link #Full}.
+         */
+        FullContentRanges
     }
 
 }
\ No newline at end of file
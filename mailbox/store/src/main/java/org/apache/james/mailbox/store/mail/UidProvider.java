@@ -18,6 +18,7 @@
  ****************************************************************/
 package org.apache.james.mailbox.store.mail;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.apache.james.mailbox.MailboxSession;
@@ -26,6 +27,8 @@ import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.model.Mailbox;
 import org.apache.james.mailbox.model.MailboxId;
 
+import com.google.common.collect.ImmutableList;
+
 /**
  * Take care of provide uids for a given {@link Mailbox}. Be aware that implementations
  * need to be thread-safe!
@@ -47,4 +50,17 @@ public interface UidProvider {
     Optional<MessageUid> lastUid(MailboxSession session, Mailbox mailbox) throws MailboxException;
     
     MessageUid nextUid(MailboxSession session, MailboxId mailboxId) throws MailboxException;
+
+    /**
+     * Return count ascending uids which can be used while appending several MailboxMessages to the {@link Mailbox}, for
+     * instance upon copies and moves. Implementations relying on costly coordination should override this method to
+     * allocate them at once.
+     */
+    default List<MessageUid> nextUids(MailboxSession session, MailboxId mailboxId, int count) throws MailboxException {
+        ImmutableList.Builder<MessageUid> uids = ImmutableList.builder();
+        for (int i = 0; i < count; i++) {
+            uids.add(nextUid(session, mailboxId));
+        }
+        return uids.build();
+    }
 }
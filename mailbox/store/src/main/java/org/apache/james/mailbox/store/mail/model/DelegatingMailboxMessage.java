@@ -81,6 +81,11 @@ public abstract class DelegatingMailboxMessage implements MailboxMessage {
         return message.getFullContent();
     }
 
+    @Override
+    public InputStream getFullContent(long offset, long length) throws IOException {
+        return message.getFullContent(offset, length);
+    }
+
     @Override
     public List<Property> getProperties() {
         return message.getProperties();
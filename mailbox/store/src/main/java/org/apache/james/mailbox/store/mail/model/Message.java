@@ -18,6 +18,8 @@
  ****************************************************************/
 package org.apache.james.mailbox.store.mail.model;
 
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Date;
@@ -26,6 +28,8 @@ import java.util.List;
 import org.apache.james.mailbox.model.MessageAttachment;
 import org.apache.james.mailbox.model.MessageId;
 
+import com.google.common.io.ByteStreams;
+
 public interface Message {
 
     MessageId getMessageId();
@@ -105,6 +109,24 @@ public interface Message {
      */
     InputStream getFullContent() throws IOException;
 
+    /**
+     * Returns at most length octets of the full raw content of the MailboxMessage, starting at offset. An empty
+     * stream is returned when offset is past the end of the content.
+     *
+     * The default implementation skips the leading octets of {@link #getFullContent()}. Implementations able to
+     * read a range of their content should override it.
+     */
+    default InputStream getFullContent(long offset, long length) throws IOException {
+        InputStream inputStream = getFullContent();
+        try {
+            ByteStreams.skipFully(inputStream, offset);
+            return ByteStreams.limit(inputStream, length);
+        } catch (EOFException e) {
+            inputStream.close();
+            return new ByteArrayInputStream(new byte[0]);
+        }
+    }
+
     /**
      * Gets a read-only list of meta-data properties.
      * For properties with multiple values, this list will contain
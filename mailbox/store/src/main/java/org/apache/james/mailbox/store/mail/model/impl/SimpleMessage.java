@@ -121,6 +121,15 @@ public class SimpleMessage implements Message {
         return content.newStream(0, -1);
     }
 
+    @Override
+    public InputStream getFullContent(long offset, long length) throws IOException {
+        long start = Math.min(offset, size);
+        if (length >= size - start) {
+            return content.newStream(start, -1);
+        }
+        return content.newStream(start, start + length);
+    }
+
     @Override
     public List<Property> getProperties() {
         return properties;
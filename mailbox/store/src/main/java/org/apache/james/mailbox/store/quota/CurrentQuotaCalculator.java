@@ -23,6 +23,7 @@ import static org.apache.james.mailbox.store.mail.AbstractMessageMapper.UNLIMITE
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 
 import javax.inject.Inject;
 
@@ -38,48 +39,102 @@ import org.apache.james.mailbox.store.mail.MailboxMapper;
 import org.apache.james.mailbox.store.mail.MessageMapper;
 import org.apache.james.mailbox.store.mail.model.MailboxMessage;
 
-import com.google.common.collect.Lists;
-
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Computes the current quotas of a quota root by summing the message count and size of its mailboxes.
+ *
+ * The size of a mailbox is read from the aggregates maintained by the {@link MessageMapper} when available. Otherwise
+ * the metadata of its messages are read. Up to concurrency mailboxes are handled in parallel, each with its own
+ * {@link MessageMapper}.
+ */
 public class CurrentQuotaCalculator {
+    public static final int DEFAULT_CONCURRENCY = 4;
 
     private final MailboxSessionMapperFactory factory;
     private final QuotaRootResolver quotaRootResolver;
+    private final int concurrency;
 
     @Inject
     public CurrentQuotaCalculator(MailboxSessionMapperFactory factory,
                                   QuotaRootResolver quotaRootResolver) {
+        this(factory, quotaRootResolver, DEFAULT_CONCURRENCY);
+    }
+
+    public CurrentQuotaCalculator(MailboxSessionMapperFactory factory,
+                                  QuotaRootResolver quotaRootResolver,
+                                  int concurrency) {
+        Preconditions.checkArgument(concurrency > 0, "'concurrency' should be strictly positive");
+
         this.factory = factory;
         this.quotaRootResolver = quotaRootResolver;
+        this.concurrency = concurrency;
     }
 
     public CurrentQuotas recalculateCurrentQuotas(QuotaRoot quotaRoot, MailboxSession session) throws MailboxException {
-        List<Mailbox> mailboxes = retrieveMailboxes(quotaRoot, session);
-        MessageMapper mapper = factory.getMessageMapper(session);
-        long messagesSizes = 0;
-        long messageCount = 0;
-        for (Mailbox mailbox : mailboxes) {
-            Iterator<MailboxMessage> messages = mapper.findInMailbox(mailbox, MessageRange.all(), MessageMapper.FetchType.Metadata, UNLIMITED);
-            messageCount += mapper.countMessagesInMailbox(mailbox);
-            while (messages.hasNext()) {
-                messagesSizes +=  messages.next().getFullContentOctets();
+        try {
+            return recalculateCurrentQuotasReactive(quotaRoot, session).block();
+        } catch (RuntimeException e) {
+            Throwable cause = Exceptions.unwrap(e);
+            if (cause instanceof MailboxException) {
+                throw (MailboxException) cause;
+            }
+            throw e;
+        }
+    }
+
+    public Mono<CurrentQuotas> recalculateCurrentQuotasReactive(QuotaRoot quotaRoot, MailboxSession session) {
+        return Mono.fromCallable(() -> retrieveMailboxes(quotaRoot, session))
+            .flatMapMany(Flux::fromIterable)
+            .flatMap(mailbox -> Mono.fromCallable(() -> computeCurrentQuotas(mailbox, session))
+                .subscribeOn(Schedulers.boundedElastic()), concurrency)
+            .reduce(CurrentQuotas.emptyQuotas(), CurrentQuotas::increase);
+    }
+
+    private CurrentQuotas computeCurrentQuotas(Mailbox mailbox, MailboxSession session) throws MailboxException {
+        MessageMapper mapper = factory.createMessageMapper(session);
+        try {
+            long messageCount = mapper.countMessagesInMailbox(mailbox);
+            Optional<Long> mailboxSize = mapper.getMailboxSize(mailbox);
+            if (mailboxSize.isPresent()) {
+                return new CurrentQuotas(messageCount, mailboxSize.get());
             }
+            return new CurrentQuotas(messageCount, computeMailboxSize(mapper, mailbox));
+        } finally {
+            mapper.endRequest();
+        }
+    }
+
+    private long computeMailboxSize(MessageMapper mapper, Mailbox mailbox) throws MailboxException {
+        Iterator<MailboxMessage> messages = mapper.findInMailbox(mailbox, MessageRange.all(), MessageMapper.FetchType.Metadata, UNLIMITED);
+        long messagesSizes = 0;
+        while (messages.hasNext()) {
+            messagesSizes += messages.next().getFullContentOctets();
         }
-        return new CurrentQuotas(messageCount, messagesSizes);
+        return messagesSizes;
     }
 
     private List<Mailbox> retrieveMailboxes(QuotaRoot quotaRoot, MailboxSession session) throws MailboxException {
         List<MailboxPath> paths = quotaRootResolver.retrieveAssociatedMailboxes(quotaRoot, session);
-        final MailboxMapper mapper = factory.getMailboxMapper(session);
-        return Lists.transform(paths, mailboxPath -> {
-            try {
-                return mapper.findMailboxByPath(mailboxPath);
-            } catch (MailboxException e) {
-                throw new RuntimeException(e);
-            }
-        });
+        MailboxMapper mapper = factory.getMailboxMapper(session);
+        ImmutableList.Builder<Mailbox> mailboxes = ImmutableList.builder();
+        for (MailboxPath path : paths) {
+            mailboxes.add(mapper.findMailboxByPath(path));
+        }
+        return mailboxes.build();
     }
 
     public static class CurrentQuotas {
+        public static CurrentQuotas emptyQuotas() {
+            return new CurrentQuotas(0L, 0L);
+        }
+
         private final long count;
         private final long size;
 
@@ -95,6 +150,10 @@ public class CurrentQuotaCalculator {
         public long getSize() {
             return size;
         }
+
+        public CurrentQuotas increase(CurrentQuotas other) {
+            return new CurrentQuotas(count + other.count, size + other.size);
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -18,14 +18,19 @@
  ****************************************************************/
 package org.apache.james.mailbox.store.search;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.apache.james.mailbox.MailboxSession;
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.events.Event;
 import org.apache.james.mailbox.events.MailboxListener;
+import org.apache.james.mailbox.events.PartialBatchFailure;
+import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.model.Mailbox;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MessageRange;
@@ -38,17 +43,22 @@ import org.apache.james.util.streams.Iterators;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.github.fge.lambdas.Throwing;
+import com.github.steveash.guavate.Guavate;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 
 /**
  * {@link MessageSearchIndex} which needs to get registered as global {@link MailboxListener} and so get
  * notified about message changes. This will then allow to update the underlying index.
+ *
+ * Asynchronous event buses deliver the events in batches, so that messages added by consecutive events are
+ * indexed together.
  */
-public abstract class ListeningMessageSearchIndex implements MessageSearchIndex, MailboxListener.GroupMailboxListener {
+public abstract class ListeningMessageSearchIndex implements MessageSearchIndex, MailboxListener.BatchingMailboxListener {
     private static final Logger LOGGER = LoggerFactory.getLogger(ListeningMessageSearchIndex.class);
 
     protected static final int UNLIMITED = -1;
+    private static final int ADDED_MESSAGES_BATCH_SIZE = 100;
     private final MailboxSessionMapperFactory factory;
     private final SessionProvider sessionProvider;
     private static final ImmutableList<Class<? extends Event>> INTERESTING_EVENTS = ImmutableList.of(Added.class, Expunged.class, FlagsUpdated.class, MailboxDeletion.class);
@@ -64,22 +74,69 @@ public abstract class ListeningMessageSearchIndex implements MessageSearchIndex,
     }
 
     /**
-     * Process the {@link Event} and update the index if
-     * something relevant is received
+     * Process the {@link Event}s and update the index if
+     * something relevant is received. Consecutive {@link Added} events
+     * of a mailbox are indexed together.
+     *
+     * A failure does not prevent the following events from being processed: the events that failed are reported
+     * through a {@link PartialBatchFailure} so that only those get retried.
      */
     @Override
-    public void event(Event event) throws Exception {
-        handleMailboxEvent(event,
-            sessionProvider.createSystemSession(event.getUser().asString()),
-            (MailboxEvent) event);
+    public void event(List<Event> events) throws Exception {
+        List<Event> failedEvents = new ArrayList<>();
+        Optional<Exception> firstFailure = Optional.empty();
+        for (List<Event> sameKindEvents : groupConsecutiveAdditions(events)) {
+            Event event = sameKindEvents.get(0);
+            try {
+                handleMailboxEvent(event,
+                    sessionProvider.createSystemSession(event.getUser().asString()),
+                    (MailboxEvent) event,
+                    sameKindEvents);
+            } catch (PartialBatchFailure e) {
+                failedEvents.addAll(e.getFailedEvents());
+                firstFailure = Optional.of(firstFailure.orElse(e));
+            } catch (Exception e) {
+                LOGGER.error("Could not process {} {} event(s)", sameKindEvents.size(), event.getClass().getSimpleName(), e);
+                failedEvents.addAll(sameKindEvents);
+                firstFailure = Optional.of(firstFailure.orElse(e));
+            }
+        }
+        if (!failedEvents.isEmpty()) {
+            throw new PartialBatchFailure(failedEvents, firstFailure.get());
+        }
+    }
+
+    private List<List<Event>> groupConsecutiveAdditions(List<Event> events) {
+        List<List<Event>> groups = new ArrayList<>();
+        for (Event event : events) {
+            if (!groups.isEmpty() && isAdditionTo(Iterables.getLast(Iterables.getLast(groups)), event)) {
+                Iterables.getLast(groups).add(event);
+            } else {
+                groups.add(new ArrayList<>(ImmutableList.of(event)));
+            }
+        }
+        return groups;
     }
 
-    private void handleMailboxEvent(Event event, MailboxSession session, MailboxEvent mailboxEvent) throws Exception {
+    private boolean isAdditionTo(Event previous, Event event) {
+        return previous instanceof Added
+            && event instanceof Added
+            && previous.getUser().equals(event.getUser())
+            && ((Added) previous).getMailboxId().equals(((Added) event).getMailboxId());
+    }
+
+    private List<MessageUid> addedUids(List<Event> addedEvents) {
+        return addedEvents.stream()
+            .flatMap(added -> ((Added) added).getUids().stream())
+            .collect(Guavate.toImmutableList());
+    }
+
+    private void handleMailboxEvent(Event event, MailboxSession session, MailboxEvent mailboxEvent, List<Event> sameKindEvents) throws Exception {
         MailboxId mailboxId = mailboxEvent.getMailboxId();
 
         if (event instanceof Added) {
             Mailbox mailbox = factory.getMailboxMapper(session).findMailboxById(mailboxId);
-            handleAdded(session, mailbox, (Added) event);
+            handleAdded(session, mailbox, sameKindEvents);
         } else if (event instanceof Expunged) {
             Mailbox mailbox = factory.getMailboxMapper(session).findMailboxById(mailboxId);
             Expunged expunged = (Expunged) event;
@@ -93,11 +150,23 @@ public abstract class ListeningMessageSearchIndex implements MessageSearchIndex,
         }
     }
 
-    private void handleAdded(MailboxSession session, Mailbox mailbox, Added added) {
-        MessageRange.toRanges(added.getUids())
+    private void handleAdded(MailboxSession session, Mailbox mailbox, List<Event> addedEvents) throws PartialBatchFailure {
+        Stream<MailboxMessage> messages = MessageRange.toRanges(addedUids(addedEvents))
             .stream()
-            .flatMap(range -> retrieveMailboxMessages(session, mailbox, range))
-            .forEach(Throwing.<MailboxMessage>consumer(mailboxMessage -> add(session, mailbox, mailboxMessage)).sneakyThrow());
+            .flatMap(range -> retrieveMailboxMessages(session, mailbox, range));
+
+        Iterable<List<MailboxMessage>> batches = Iterables.partition(messages::iterator, ADDED_MESSAGES_BATCH_SIZE);
+
+        Set<MessageUid> failedUids = Iterators.toStream(batches.iterator())
+            .flatMap(batch -> add(session, mailbox, batch).stream())
+            .collect(Guavate.toImmutableSet());
+        if (!failedUids.isEmpty()) {
+            List<Event> failedEvents = addedEvents.stream()
+                .filter(added -> ((Added) added).getUids().stream().anyMatch(failedUids::contains))
+                .collect(Guavate.toImmutableList());
+            throw new PartialBatchFailure(failedEvents,
+                new MailboxException("Could not index messages " + failedUids + " in mailbox " + mailbox.getMailboxId().serialize()));
+        }
     }
 
     private Stream<MailboxMessage> retrieveMailboxMessages(MailboxSession session, Mailbox mailbox, MessageRange range) {
@@ -119,6 +188,32 @@ public abstract class ListeningMessageSearchIndex implements MessageSearchIndex,
      */
     public abstract void add(MailboxSession session, Mailbox mailbox, MailboxMessage message) throws Exception;
 
+    /**
+     * Add several {@link MailboxMessage} of the given {@link Mailbox} to the index. Implementations able to index
+     * messages concurrently should override it in order to wait only once for the whole batch.
+     *
+     * @param session The mailbox session performing the message addition
+     * @param mailbox mailbox on which the message addition was performed
+     * @param messages The added messages
+     * @return the UIDs of the messages that could not be indexed
+     */
+    public List<MessageUid> add(MailboxSession session, Mailbox mailbox, List<MailboxMessage> messages) {
+        return messages.stream()
+            .filter(message -> !tryAdd(session, mailbox, message))
+            .map(MailboxMessage::getUid)
+            .collect(Guavate.toImmutableList());
+    }
+
+    private boolean tryAdd(MailboxSession session, Mailbox mailbox, MailboxMessage message) {
+        try {
+            add(session, mailbox, message);
+            return true;
+        } catch (Exception e) {
+            LOGGER.warn("Could not index message {} in mailbox {}", message.getUid(), mailbox.getMailboxId().serialize(), e);
+            return false;
+        }
+    }
+
     /**
      * Delete the concerned UIDs for the given {@link Mailbox} from the index
      *
@@ -66,4 +66,14 @@ public final class InputStreamContent implements Content {
        
     }
 
+    @Override
+    public InputStream getInputStream(long offset, long length) throws IOException {
+        switch (type) {
+        case Full:
+            return m.getFullContent(offset, length);
+        default:
+            return Content.super.getInputStream(offset, length);
+        }
+    }
+
 }
@@ -125,6 +125,22 @@ public abstract class AbstractMessageIdManagerStorageTest {
             .hasSize(1);
     }
 
+    @Test
+    public void getMessagesHonoringFetchGroupShouldReturnStoredResults() throws Exception {
+        MessageId messageId = testingData.persist(aliceMailbox1.getMailboxId(), messageUid1, FLAGS, aliceSession);
+
+        assertThat(messageIdManager.getMessagesHonoringFetchGroup(ImmutableList.of(messageId), FetchGroupImpl.MINIMAL, aliceSession))
+            .extracting(MessageResult::getMessageId)
+            .containsOnly(messageId);
+    }
+
+    @Test
+    public void getMessagesHonoringFetchGroupShouldReturnOnlyMessageBelongingToCurrentUser() throws Exception {
+        MessageId messageId = testingData.persist(aliceMailbox1.getMailboxId(), messageUid1, FLAGS, aliceSession);
+
+        assertThat(messageIdManager.getMessagesHonoringFetchGroup(ImmutableList.of(messageId), FetchGroupImpl.MINIMAL, bobSession)).isEmpty();
+    }
+
     @Test
     public void getMessageShouldReturnOnlyMessageBelongingToCurrentUser() throws Exception {
         MessageId messageId = testingData.persist(aliceMailbox1.getMailboxId(), messageUid1, FLAGS, aliceSession);
@@ -0,0 +1,155 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.mailbox.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.james.core.User;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.events.Event;
+import org.apache.james.mailbox.events.EventBus;
+import org.apache.james.mailbox.events.InVMEventBus;
+import org.apache.james.mailbox.events.MailboxIdRegistrationKey;
+import org.apache.james.mailbox.events.MailboxListener;
+import org.apache.james.mailbox.events.UserRegistrationKey;
+import org.apache.james.mailbox.events.delivery.InVmEventDelivery;
+import org.apache.james.mailbox.model.Mailbox;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.TestId;
+import org.apache.james.mailbox.store.mail.MailboxMapper;
+import org.apache.james.metrics.api.NoopMetricFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class MailboxHierarchyCacheTest {
+    private static final String USER = "user";
+    private static final String OTHER_USER = "other";
+    private static final char DELIMITER = '.';
+    private static final MailboxPath INBOX = MailboxPath.forUser(USER, "INBOX");
+    private static final MailboxPath CHILD = MailboxPath.forUser(USER, "INBOX.child");
+
+    private MailboxMapper mailboxMapper;
+    private EventBus eventBus;
+    private MailboxHierarchyCache testee;
+
+    @Before
+    public void setUp() throws Exception {
+        mailboxMapper = mock(MailboxMapper.class);
+        when(mailboxMapper.findMailboxWithPathLike(any()))
+            .thenReturn(ImmutableList.of(new Mailbox(INBOX, 42)));
+        eventBus = new InVMEventBus(new InVmEventDelivery(new NoopMetricFactory()));
+        testee = new MailboxHierarchyCache(eventBus);
+    }
+
+    @Test
+    public void getTreeShouldLoadTheMailboxesOfTheUser() throws Exception {
+        assertThat(testee.getTree(USER, mailboxMapper, DELIMITER).hasChildren("INBOX")).isFalse();
+    }
+
+    @Test
+    public void getTreeShouldBeCached() throws Exception {
+        testee.getTree(USER, mailboxMapper, DELIMITER);
+        testee.getTree(USER, mailboxMapper, DELIMITER);
+
+        verify(mailboxMapper, times(1)).findMailboxWithPathLike(any());
+    }
+
+    @Test
+    public void invalidateShouldDiscardTheTree() throws Exception {
+        testee.getTree(USER, mailboxMapper, DELIMITER);
+
+        testee.invalidate(USER);
+        testee.getTree(USER, mailboxMapper, DELIMITER);
+
+        verify(mailboxMapper, times(2)).findMailboxWithPathLike(any());
+    }
+
+    @Test
+    public void treeLoadedWhileInvalidatedShouldNotBeCached() throws Exception {
+        when(mailboxMapper.findMailboxWithPathLike(any()))
+            .thenAnswer(invocation -> {
+                testee.invalidate(USER);
+                return ImmutableList.of(new Mailbox(INBOX, 42));
+            })
+            .thenReturn(ImmutableList.of(new Mailbox(INBOX, 42)));
+
+        testee.getTree(USER, mailboxMapper, DELIMITER);
+        testee.getTree(USER, mailboxMapper, DELIMITER);
+        testee.getTree(USER, mailboxMapper, DELIMITER);
+
+        verify(mailboxMapper, times(2)).findMailboxWithPathLike(any());
+    }
+
+    @Test
+    public void mailboxAddedEventDispatchedToTheUserShouldInvalidateTheTree() throws Exception {
+        testee.getTree(USER, mailboxMapper, DELIMITER);
+        when(mailboxMapper.findMailboxWithPathLike(any()))
+            .thenReturn(ImmutableList.of(new Mailbox(INBOX, 42), new Mailbox(CHILD, 43)));
+
+        eventBus.dispatch(new MailboxListener.MailboxAdded(MailboxSession.SessionId.of(18), User.fromUsername(USER),
+                CHILD, TestId.of(43), Event.EventId.random()),
+            MailboxHierarchyCache.registrationKeys(TestId.of(43), CHILD))
+            .block();
+
+        assertThat(testee.getTree(USER, mailboxMapper, DELIMITER).hasChildren("INBOX")).isTrue();
+    }
+
+    @Test
+    public void mailboxRenamedEventShouldInvalidateTheTreeOfBothUsers() throws Exception {
+        MailboxPath otherUserPath = MailboxPath.forUser(OTHER_USER, "INBOX.child");
+        testee.getTree(USER, mailboxMapper, DELIMITER);
+        testee.getTree(OTHER_USER, mailboxMapper, DELIMITER);
+
+        eventBus.dispatch(new MailboxListener.MailboxRenamed(MailboxSession.SessionId.of(18), User.fromUsername(USER),
+                CHILD, TestId.of(43), otherUserPath, Event.EventId.random()),
+            MailboxHierarchyCache.registrationKeys(TestId.of(43), CHILD, otherUserPath))
+            .block();
+        testee.getTree(USER, mailboxMapper, DELIMITER);
+        testee.getTree(OTHER_USER, mailboxMapper, DELIMITER);
+
+        verify(mailboxMapper, times(4)).findMailboxWithPathLike(any());
+    }
+
+    @Test
+    public void eventsOfOtherUsersShouldNotInvalidateTheTree() throws Exception {
+        MailboxPath otherUserPath = MailboxPath.forUser(OTHER_USER, "INBOX.child");
+        testee.getTree(USER, mailboxMapper, DELIMITER);
+
+        eventBus.dispatch(new MailboxListener.MailboxAdded(MailboxSession.SessionId.of(18), User.fromUsername(OTHER_USER),
+                otherUserPath, TestId.of(43), Event.EventId.random()),
+            MailboxHierarchyCache.registrationKeys(TestId.of(43), otherUserPath))
+            .block();
+        testee.getTree(USER, mailboxMapper, DELIMITER);
+
+        verify(mailboxMapper, times(1)).findMailboxWithPathLike(any());
+    }
+
+    @Test
+    public void registrationKeysShouldIgnorePathsWithoutUser() {
+        assertThat(MailboxHierarchyCache.registrationKeys(TestId.of(43), INBOX, new MailboxPath("#public", null, "shared")))
+            .containsOnly(new MailboxIdRegistrationKey(TestId.of(43)), new UserRegistrationKey(User.fromUsername(USER)));
+    }
+}
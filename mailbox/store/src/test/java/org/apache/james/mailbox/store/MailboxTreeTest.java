@@ -0,0 +1,147 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.james.mailbox.model.Mailbox;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.search.ExactName;
+import org.apache.james.mailbox.model.search.MailboxNameExpression;
+import org.apache.james.mailbox.model.search.MailboxQuery;
+import org.apache.james.mailbox.model.search.PrefixedRegex;
+import org.apache.james.mailbox.model.search.PrefixedWildcard;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.steveash.guavate.Guavate;
+import com.google.common.collect.ImmutableList;
+
+public class MailboxTreeTest {
+    private static final String USER = "user";
+    private static final char DELIMITER = '.';
+    private static final long UID_VALIDITY = 42;
+
+    private MailboxTree testee;
+
+    @Before
+    public void setUp() {
+        testee = MailboxTree.of(ImmutableList.of(
+                mailbox("INBOX"),
+                mailbox("INBOX.child"),
+                mailbox("INBOX.child.grandChild"),
+                mailbox("Archive.2019"),
+                mailbox("Sent")),
+            DELIMITER);
+    }
+
+    @Test
+    public void matchShouldReturnAllMailboxesWhenFreeWildcard() {
+        assertThat(match(new PrefixedRegex("", "*", DELIMITER)))
+            .containsOnly("INBOX", "INBOX.child", "INBOX.child.grandChild", "Archive.2019", "Sent");
+    }
+
+    @Test
+    public void matchShouldReturnOnlyTopLevelMailboxesWhenLocalWildcard() {
+        assertThat(match(new PrefixedRegex("", "%", DELIMITER)))
+            .containsOnly("INBOX", "Sent");
+    }
+
+    @Test
+    public void matchShouldReturnDirectChildrenWhenLocalWildcardAfterDelimiter() {
+        assertThat(match(new PrefixedRegex("INBOX.", "%", DELIMITER)))
+            .containsOnly("INBOX.child");
+    }
+
+    @Test
+    public void matchShouldDescendIntermediateLevelsWithoutMailbox() {
+        assertThat(match(new PrefixedRegex("", "Archive.%", DELIMITER)))
+            .containsOnly("Archive.2019");
+    }
+
+    @Test
+    public void matchShouldSupportPartialSegments() {
+        assertThat(match(new PrefixedRegex("", "IN%", DELIMITER)))
+            .containsOnly("INBOX");
+    }
+
+    @Test
+    public void matchShouldReturnSubTreeWhenPrefixedWildcard() {
+        assertThat(match(new PrefixedWildcard("INBOX")))
+            .containsOnly("INBOX", "INBOX.child", "INBOX.child.grandChild");
+    }
+
+    @Test
+    public void matchShouldReturnExactName() {
+        assertThat(match(new ExactName("INBOX.child")))
+            .containsOnly("INBOX.child");
+    }
+
+    @Test
+    public void matchShouldReturnEmptyWhenNoMatch() {
+        assertThat(match(new ExactName("INBOX.unknown.child")))
+            .isEmpty();
+    }
+
+    @Test
+    public void matchShouldComputeChildrenFlag() {
+        assertThat(testee.match(query(new PrefixedRegex("", "*", DELIMITER)))
+                .filter(MailboxTree.Entry::hasChildren)
+                .map(entry -> entry.getMailbox().getName()))
+            .containsOnly("INBOX", "INBOX.child");
+    }
+
+    @Test
+    public void hasChildrenShouldReturnTrueForParentMailboxes() {
+        assertThat(testee.hasChildren("INBOX.child")).isTrue();
+    }
+
+    @Test
+    public void hasChildrenShouldReturnFalseForLeafMailboxes() {
+        assertThat(testee.hasChildren("INBOX.child.grandChild")).isFalse();
+    }
+
+    @Test
+    public void hasChildrenShouldReturnTrueForIntermediateLevelsWithoutMailbox() {
+        assertThat(testee.hasChildren("Archive")).isTrue();
+    }
+
+    @Test
+    public void hasChildrenShouldReturnFalseForUnknownMailboxes() {
+        assertThat(testee.hasChildren("unknown")).isFalse();
+    }
+
+    private ImmutableList<String> match(MailboxNameExpression expression) {
+        return testee.match(query(expression))
+            .map(entry -> entry.getMailbox().getName())
+            .collect(Guavate.toImmutableList());
+    }
+
+    private MailboxQuery query(MailboxNameExpression expression) {
+        return MailboxQuery.builder()
+            .userAndNamespaceFrom(MailboxPath.forUser(USER, ""))
+            .expression(expression)
+            .build();
+    }
+
+    private Mailbox mailbox(String name) {
+        return new Mailbox(MailboxPath.forUser(USER, name), UID_VALIDITY);
+    }
+}
@@ -583,6 +583,24 @@ public abstract class MessageMapperTest {
         assertThat(result.getUid()).isEqualTo(messageMapper.getLastUid(benwaInboxMailbox).get());
     }
 
+    @Test
+    public void copyingSeveralMessagesShouldAllocateAscendingUids() throws MailboxException {
+        saveMessages();
+        MessageUid lastUid = messageMapper.getLastUid(benwaWorkMailbox).get();
+
+        List<MessageMetaData> copied = messageMapper.copy(benwaWorkMailbox, ImmutableList.of(
+            SimpleMailboxMessage.copy(benwaWorkMailbox.getMailboxId(), message1),
+            SimpleMailboxMessage.copy(benwaWorkMailbox.getMailboxId(), message2),
+            SimpleMailboxMessage.copy(benwaWorkMailbox.getMailboxId(), message3)));
+
+        assertThat(copied).hasSize(3);
+        assertThat(copied.get(0).getUid()).isGreaterThan(lastUid);
+        assertThat(copied.get(1).getUid()).isGreaterThan(copied.get(0).getUid());
+        assertThat(copied.get(2).getUid()).isGreaterThan(copied.get(1).getUid());
+        assertThat(messageMapper.getLastUid(benwaWorkMailbox).get()).isGreaterThanOrEqualTo(copied.get(2).getUid());
+        assertThat(messageMapper.countMessagesInMailbox(benwaWorkMailbox)).isEqualTo(4);
+    }
+
     @Test
     public void copyOfSeenMessageShouldNotIncrementUnSeenMessageCount() throws MailboxException {
         message6.setFlags(new Flags(Flags.Flag.SEEN));
@@ -0,0 +1,117 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.store.quota;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.exception.MailboxException;
+import org.apache.james.mailbox.model.Mailbox;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.QuotaRoot;
+import org.apache.james.mailbox.quota.QuotaRootResolver;
+import org.apache.james.mailbox.store.MailboxSessionMapperFactory;
+import org.apache.james.mailbox.store.mail.MailboxMapper;
+import org.apache.james.mailbox.store.mail.MessageMapper;
+import org.apache.james.mailbox.store.mail.model.MailboxMessage;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class CurrentQuotaCalculatorTest {
+    private static final QuotaRoot QUOTA_ROOT = QuotaRoot.quotaRoot("benwa", Optional.empty());
+    private static final MailboxPath INBOX = MailboxPath.forUser("benwa", "INBOX");
+    private static final MailboxPath OUTBOX = MailboxPath.forUser("benwa", "OUTBOX");
+
+    private MailboxSession session;
+    private MessageMapper messageMapper;
+    private Mailbox inbox;
+    private Mailbox outbox;
+    private CurrentQuotaCalculator testee;
+
+    @Before
+    public void setUp() throws Exception {
+        session = mock(MailboxSession.class);
+        messageMapper = mock(MessageMapper.class);
+        MailboxMapper mailboxMapper = mock(MailboxMapper.class);
+        inbox = mock(Mailbox.class);
+        outbox = mock(Mailbox.class);
+        when(mailboxMapper.findMailboxByPath(INBOX)).thenReturn(inbox);
+        when(mailboxMapper.findMailboxByPath(OUTBOX)).thenReturn(outbox);
+
+        QuotaRootResolver quotaRootResolver = mock(QuotaRootResolver.class);
+        when(quotaRootResolver.retrieveAssociatedMailboxes(QUOTA_ROOT, session)).thenReturn(ImmutableList.of(INBOX, OUTBOX));
+
+        MailboxSessionMapperFactory factory = mock(MailboxSessionMapperFactory.class);
+        when(factory.getMailboxMapper(session)).thenReturn(mailboxMapper);
+        when(factory.createMessageMapper(session)).thenReturn(messageMapper);
+
+        testee = new CurrentQuotaCalculator(factory, quotaRootResolver);
+    }
+
+    @Test
+    public void recalculateCurrentQuotasShouldUseMailboxSizeWhenAvailable() throws Exception {
+        when(messageMapper.countMessagesInMailbox(any())).thenReturn(2L);
+        when(messageMapper.getMailboxSize(any())).thenReturn(Optional.of(100L));
+
+        CurrentQuotaCalculator.CurrentQuotas currentQuotas = testee.recalculateCurrentQuotas(QUOTA_ROOT, session);
+
+        assertThat(currentQuotas.getCount()).isEqualTo(4);
+        assertThat(currentQuotas.getSize()).isEqualTo(200);
+        verify(messageMapper, never()).findInMailbox(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    public void recalculateCurrentQuotasShouldReadMessagesWhenMailboxSizeIsNotAvailable() throws Exception {
+        MailboxMessage message1 = mock(MailboxMessage.class);
+        when(message1.getFullContentOctets()).thenReturn(30L);
+        MailboxMessage message2 = mock(MailboxMessage.class);
+        when(message2.getFullContentOctets()).thenReturn(12L);
+        when(messageMapper.countMessagesInMailbox(inbox)).thenReturn(2L);
+        when(messageMapper.getMailboxSize(inbox)).thenReturn(Optional.empty());
+        when(messageMapper.findInMailbox(any(), any(), any(), anyInt()))
+            .thenAnswer(invocation -> ImmutableList.of(message1, message2).iterator());
+        when(messageMapper.countMessagesInMailbox(outbox)).thenReturn(1L);
+        when(messageMapper.getMailboxSize(outbox)).thenReturn(Optional.of(100L));
+
+        CurrentQuotaCalculator.CurrentQuotas currentQuotas = testee.recalculateCurrentQuotas(QUOTA_ROOT, session);
+
+        assertThat(currentQuotas.getCount()).isEqualTo(3);
+        assertThat(currentQuotas.getSize()).isEqualTo(142);
+    }
+
+    @Test
+    public void recalculateCurrentQuotasShouldPropagateMailboxExceptions() throws Exception {
+        when(messageMapper.countMessagesInMailbox(any())).thenThrow(new MailboxException("Boom"));
+
+        assertThatThrownBy(() -> testee.recalculateCurrentQuotas(QUOTA_ROOT, session))
+            .isInstanceOf(MailboxException.class);
+    }
+}
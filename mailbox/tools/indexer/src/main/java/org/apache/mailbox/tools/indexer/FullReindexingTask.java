@@ -19,12 +19,16 @@
 
 package org.apache.mailbox.tools.indexer;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import javax.inject.Inject;
 
 import org.apache.james.json.DTOModule;
 import org.apache.james.mailbox.exception.MailboxException;
+import org.apache.james.mailbox.indexer.RunningOptions;
+import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.server.task.json.dto.TaskDTO;
 import org.apache.james.server.task.json.dto.TaskDTOModule;
 import org.apache.james.task.Task;
@@ -32,20 +36,27 @@ import org.apache.james.task.TaskExecutionDetails;
 import org.apache.james.task.TaskType;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableSet;
 
 public class FullReindexingTask implements Task {
 
     public static final TaskType FULL_RE_INDEXING = TaskType.of("full-reindexing");
 
     private final ReIndexerPerformer reIndexerPerformer;
+    private final RunningOptions runningOptions;
+    private final Set<MailboxId> previouslyProcessedMailboxIds;
     private final ReprocessingContext reprocessingContext;
 
-    public static TaskDTOModule<FullReindexingTask, FullReindexingTaskDTO> module(ReIndexerPerformer reIndexerPerformer) {
+    public static TaskDTOModule<FullReindexingTask, FullReindexingTaskDTO> module(ReIndexerPerformer reIndexerPerformer, MailboxId.Factory mailboxIdFactory) {
         return DTOModule
             .forDomainObject(FullReindexingTask.class)
             .convertToDTO(FullReindexingTask.FullReindexingTaskDTO.class)
-            .toDomainObjectConverter(dto -> new FullReindexingTask(reIndexerPerformer))
-            .toDTOConverter((task, type) -> new FullReindexingTaskDTO(type))
+            .toDomainObjectConverter(dto -> new FullReindexingTask(reIndexerPerformer,
+                RunningOptionsDTO.toDomainObject(dto.getRunningOptions()),
+                ReprocessingContextInformationDTO.deserializeProcessedMailboxIds(mailboxIdFactory, dto.getProcessedMailboxIds())))
+            .toDTOConverter((task, type) -> new FullReindexingTaskDTO(type,
+                Optional.of(RunningOptionsDTO.toDTO(task.getRunningOptions())),
+                ReprocessingContextInformationDTO.serializeProcessedMailboxIds(task.getPreviouslyProcessedMailboxIds())))
             .typeName(FULL_RE_INDEXING.asString())
             .withFactory(TaskDTOModule::new);
     }
@@ -53,9 +64,15 @@ public class FullReindexingTask implements Task {
     public static class FullReindexingTaskDTO implements TaskDTO {
 
         private final String type;
+        private final Optional<RunningOptionsDTO> runningOptions;
+        private final Optional<List<String>> processedMailboxIds;
 
-        public FullReindexingTaskDTO(@JsonProperty("type") String type) {
+        public FullReindexingTaskDTO(@JsonProperty("type") String type,
+                                     @JsonProperty("runningOptions") Optional<RunningOptionsDTO> runningOptions,
+                                     @JsonProperty("processedMailboxIds") Optional<List<String>> processedMailboxIds) {
             this.type = type;
+            this.runningOptions = runningOptions;
+            this.processedMailboxIds = processedMailboxIds;
         }
 
         @Override
@@ -63,24 +80,46 @@ public class FullReindexingTask implements Task {
             return type;
         }
 
+        public Optional<RunningOptionsDTO> getRunningOptions() {
+            return runningOptions;
+        }
+
+        public Optional<List<String>> getProcessedMailboxIds() {
+            return processedMailboxIds;
+        }
+
     }
 
     @Inject
-    public FullReindexingTask(ReIndexerPerformer reIndexerPerformer) {
+    public FullReindexingTask(ReIndexerPerformer reIndexerPerformer, RunningOptions runningOptions) {
+        this(reIndexerPerformer, runningOptions, ImmutableSet.of());
+    }
+
+    public FullReindexingTask(ReIndexerPerformer reIndexerPerformer, RunningOptions runningOptions, Set<MailboxId> previouslyProcessedMailboxIds) {
         this.reIndexerPerformer = reIndexerPerformer;
-        this.reprocessingContext = new ReprocessingContext();
+        this.runningOptions = runningOptions;
+        this.previouslyProcessedMailboxIds = ImmutableSet.copyOf(previouslyProcessedMailboxIds);
+        this.reprocessingContext = new ReprocessingContext(previouslyProcessedMailboxIds);
     }
 
     @Override
     public Result run() {
         try {
-            return reIndexerPerformer.reIndex(reprocessingContext);
+            return reIndexerPerformer.reIndex(reprocessingContext, runningOptions);
         } catch (MailboxException e) {
             return Result.PARTIAL;
         }
     }
 
     @Override
+    public RunningOptions getRunningOptions() {
+        return runningOptions;
+    }
+
+    public Set<MailboxId> getPreviouslyProcessedMailboxIds() {
+        return previouslyProcessedMailboxIds;
+    }
+
     public TaskType type() {
         return FULL_RE_INDEXING;
     }
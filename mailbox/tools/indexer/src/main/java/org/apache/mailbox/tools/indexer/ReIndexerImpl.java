@@ -19,6 +19,8 @@
 
 package org.apache.mailbox.tools.indexer;
 
+import java.util.Set;
+
 import javax.inject.Inject;
 
 import org.apache.james.core.User;
@@ -28,6 +30,7 @@ import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.indexer.ReIndexer;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
+import org.apache.james.mailbox.indexer.RunningOptions;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MailboxPath;
 import org.apache.james.mailbox.store.MailboxSessionMapperFactory;
@@ -56,29 +59,29 @@ public class ReIndexerImpl implements ReIndexer {
     }
 
     @Override
-    public Task reIndex(MailboxPath path) throws MailboxException {
+    public Task reIndex(MailboxPath path, RunningOptions runningOptions) throws MailboxException {
         MailboxSession mailboxSession = mailboxManager.createSystemSession(path.getUser());
 
         MailboxId mailboxId = mailboxManager.getMailbox(path, mailboxSession).getId();
 
-        return new SingleMailboxReindexingTask(reIndexerPerformer, mailboxId);
+        return new SingleMailboxReindexingTask(reIndexerPerformer, mailboxId, runningOptions);
     }
 
     @Override
-    public Task reIndex(MailboxId mailboxId) throws MailboxException {
+    public Task reIndex(MailboxId mailboxId, RunningOptions runningOptions) throws MailboxException {
         validateIdExists(mailboxId);
 
-        return new SingleMailboxReindexingTask(reIndexerPerformer, mailboxId);
+        return new SingleMailboxReindexingTask(reIndexerPerformer, mailboxId, runningOptions);
     }
 
     @Override
-    public Task reIndex() {
-        return new FullReindexingTask(reIndexerPerformer);
+    public Task reIndex(RunningOptions runningOptions, Set<MailboxId> processedMailboxIds) {
+        return new FullReindexingTask(reIndexerPerformer, runningOptions, processedMailboxIds);
     }
 
     @Override
-    public Task reIndex(User user) {
-        return new UserReindexingTask(reIndexerPerformer, user);
+    public Task reIndex(User user, RunningOptions runningOptions, Set<MailboxId> processedMailboxIds) {
+        return new UserReindexingTask(reIndexerPerformer, user, runningOptions, processedMailboxIds);
     }
 
     @Override
@@ -19,6 +19,7 @@
 
 package org.apache.mailbox.tools.indexer;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -30,6 +31,7 @@ import org.apache.james.mailbox.MailboxSession;
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
+import org.apache.james.mailbox.indexer.RunningOptions;
 import org.apache.james.mailbox.model.Mailbox;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MailboxMetaData;
@@ -47,8 +49,23 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.fge.lambdas.Throwing;
+import com.github.steveash.guavate.Guavate;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.RateLimiter;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Mailboxes are re-indexed concurrently, up to {@link RunningOptions#getMailboxConcurrency()}. Messages of a mailbox
+ * are fully read by batches of {@link RunningOptions#getFetchBatchSize()} consecutive UIDs, and each batch is handed
+ * to the index at once, at the optional {@link RunningOptions#getMessagesPerSecond()} pace.
+ *
+ * Full and user re-indexing skip the mailboxes already processed according to their {@link ReprocessingContext}.
+ */
 public class ReIndexerPerformer {
     private static final Logger LOGGER = LoggerFactory.getLogger(ReIndexerPerformer.class);
 
@@ -69,17 +86,27 @@ public class ReIndexerPerformer {
         this.mailboxSessionMapperFactory = mailboxSessionMapperFactory;
     }
 
-    Task.Result reIndex(MailboxId mailboxId, ReprocessingContext reprocessingContext) throws Exception {
+    Task.Result reIndex(MailboxId mailboxId, ReprocessingContext reprocessingContext, RunningOptions runningOptions) throws Exception {
+        return reIndex(mailboxId, reprocessingContext, runningOptions, throttle(runningOptions));
+    }
+
+    private Task.Result reIndex(MailboxId mailboxId, ReprocessingContext reprocessingContext, RunningOptions runningOptions,
+                                Optional<RateLimiter> throttle) throws Exception {
         LOGGER.info("Intend to reindex mailbox with mailboxId {}", mailboxId.serialize());
         MailboxSession mailboxSession = mailboxManager.createSystemSession(RE_INDEXING);
         Mailbox mailbox = mailboxSessionMapperFactory.getMailboxMapper(mailboxSession).findMailboxById(mailboxId);
         messageSearchIndex.deleteAll(mailboxSession, mailboxId);
         try {
-            return Iterators.toStream(
+            List<MessageUid> uids = Iterators.toStream(
                 mailboxSessionMapperFactory.getMessageMapper(mailboxSession)
                     .findInMailbox(mailbox, MessageRange.all(), MessageMapper.FetchType.Metadata, NO_LIMIT))
                 .map(MailboxMessage::getUid)
-                .map(uid -> handleMessageReIndexing(mailboxSession, mailbox, uid, reprocessingContext))
+                .sorted()
+                .collect(Guavate.toImmutableList());
+
+            return Lists.partition(uids, runningOptions.getFetchBatchSize())
+                .stream()
+                .map(batch -> handleBatchReIndexing(mailboxSession, mailbox, batch, reprocessingContext, throttle))
                 .reduce(Task::combine)
                 .orElse(Task.Result.COMPLETED);
         } finally {
@@ -107,7 +134,7 @@ public class ReIndexerPerformer {
         }
     }
 
-    Task.Result reIndex(ReprocessingContext reprocessingContext) throws MailboxException {
+    Task.Result reIndex(ReprocessingContext reprocessingContext, RunningOptions runningOptions) throws MailboxException {
         MailboxSession mailboxSession = mailboxManager.createSystemSession(RE_INDEXING);
         LOGGER.info("Starting a full reindex");
         Stream<MailboxId> mailboxIds = mailboxSessionMapperFactory.getMailboxMapper(mailboxSession).list()
@@ -115,13 +142,13 @@ public class ReIndexerPerformer {
             .map(Mailbox::getMailboxId);
 
         try {
-            return reIndex(mailboxIds, reprocessingContext);
+            return reIndex(mailboxIds, reprocessingContext, runningOptions);
         } finally {
             LOGGER.info("Full reindex finished");
         }
     }
 
-    Task.Result reIndex(User user, ReprocessingContext reprocessingContext) throws MailboxException {
+    Task.Result reIndex(User user, ReprocessingContext reprocessingContext, RunningOptions runningOptions) throws MailboxException {
         MailboxSession mailboxSession = mailboxManager.createSystemSession(user.asString());
         LOGGER.info("Starting a reindex for user {}", user.asString());
 
@@ -130,7 +157,7 @@ public class ReIndexerPerformer {
             .map(MailboxMetaData::getId);
 
         try {
-            return reIndex(mailboxIds, reprocessingContext);
+            return reIndex(mailboxIds, reprocessingContext, runningOptions);
         } finally {
             LOGGER.info("User {} reindex finished", user.asString());
         }
@@ -171,18 +198,84 @@ public class ReIndexerPerformer {
         }
     }
 
-    private Task.Result reIndex(Stream<MailboxId> mailboxIds, ReprocessingContext reprocessingContext) {
-        return mailboxIds
-            .map(mailboxId -> {
-                try {
-                    return reIndex(mailboxId, reprocessingContext);
-                } catch (Throwable e) {
-                    LOGGER.error("Error while proceeding to full reindexing on mailbox with mailboxId {}", mailboxId.serialize(), e);
-                    return Task.Result.PARTIAL;
-                }
-            })
-            .reduce(Task::combine)
-            .orElse(Task.Result.COMPLETED);
+    private Task.Result reIndex(Stream<MailboxId> mailboxIds, ReprocessingContext reprocessingContext, RunningOptions runningOptions) {
+        Optional<RateLimiter> throttle = throttle(runningOptions);
+        return Flux.fromStream(mailboxIds)
+            .filter(mailboxId -> !reprocessingContext.isProcessed(mailboxId))
+            .flatMap(mailboxId -> Mono.fromCallable(() -> reIndex(mailboxId, reprocessingContext, runningOptions, throttle))
+                    // Failed messages are recorded in the failures: only a mailbox failing as a whole is not checkpointed
+                    .doOnNext(any -> reprocessingContext.recordProcessedMailbox(mailboxId))
+                    .onErrorResume(e -> {
+                        LOGGER.error("Error while proceeding to full reindexing on mailbox with mailboxId {}", mailboxId.serialize(), e);
+                        return Mono.just(Task.Result.PARTIAL);
+                    })
+                    .subscribeOn(Schedulers.boundedElastic()),
+                runningOptions.getMailboxConcurrency())
+            .reduce(Task.Result.COMPLETED, Task::combine)
+            .block();
+    }
+
+    private Optional<RateLimiter> throttle(RunningOptions runningOptions) {
+        return runningOptions.getMessagesPerSecond()
+            .map(RateLimiter::create);
+    }
+
+    private Task.Result handleBatchReIndexing(MailboxSession mailboxSession, Mailbox mailbox, List<MessageUid> uids,
+                                              ReprocessingContext reprocessingContext, Optional<RateLimiter> throttle) {
+        MessageRange range = MessageRange.range(uids.get(0), Iterables.getLast(uids));
+        List<MailboxMessage> messages;
+        try {
+            messages = ImmutableList.copyOf(mailboxSessionMapperFactory.getMessageMapper(mailboxSession)
+                .findInMailbox(mailbox, range, MessageMapper.FetchType.Full, NO_LIMIT));
+        } catch (Exception e) {
+            LOGGER.warn("ReIndexing failed for {} {}", mailbox.generateAssociatedPath(), range, e);
+            uids.forEach(uid -> reprocessingContext.recordFailureDetailsForMessage(mailbox.getMailboxId(), uid));
+            return Task.Result.PARTIAL;
+        }
+
+        recordDeletedMessages(uids, messages, reprocessingContext);
+        if (messages.isEmpty()) {
+            return Task.Result.COMPLETED;
+        }
+        throttle.ifPresent(rateLimiter -> rateLimiter.acquire(messages.size()));
+        return reIndex(mailboxSession, mailbox, messages, reprocessingContext);
+    }
+
+    private void recordDeletedMessages(List<MessageUid> uids, List<MailboxMessage> messages, ReprocessingContext reprocessingContext) {
+        // Messages expunged since the UIDs were listed are not an error
+        int deletedMessageCount = uids.size() - messages.size();
+        for (int i = 0; i < deletedMessageCount; i++) {
+            reprocessingContext.recordSuccess();
+        }
+    }
+
+    private Task.Result reIndex(MailboxSession mailboxSession, Mailbox mailbox, List<MailboxMessage> messages, ReprocessingContext reprocessingContext) {
+        List<MessageUid> failedUids = addToIndex(mailboxSession, mailbox, messages);
+
+        failedUids.forEach(uid -> reprocessingContext.recordFailureDetailsForMessage(mailbox.getMailboxId(), uid));
+        for (int i = 0; i < messages.size() - failedUids.size(); i++) {
+            reprocessingContext.recordSuccess();
+        }
+        if (failedUids.isEmpty()) {
+            return Task.Result.COMPLETED;
+        }
+        return Task.Result.PARTIAL;
+    }
+
+    private List<MessageUid> addToIndex(MailboxSession mailboxSession, Mailbox mailbox, List<MailboxMessage> messages) {
+        try {
+            List<MessageUid> failedUids = messageSearchIndex.add(mailboxSession, mailbox, messages);
+            if (!failedUids.isEmpty()) {
+                LOGGER.warn("ReIndexing failed for {} {}", mailbox.generateAssociatedPath(), failedUids);
+            }
+            return failedUids;
+        } catch (Exception e) {
+            List<MessageUid> uids = messages.stream()
+                .map(MailboxMessage::getUid)
+                .collect(Guavate.toImmutableList());
+            LOGGER.warn("ReIndexing failed for {} {}", mailbox.generateAssociatedPath(), uids, e);
+            return uids;
+        }
     }
 
     private Task.Result handleMessageReIndexing(MailboxSession mailboxSession, Mailbox mailbox, MessageUid uid, ReprocessingContext reprocessingContext) {
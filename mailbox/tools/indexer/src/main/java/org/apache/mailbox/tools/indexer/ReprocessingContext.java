@@ -19,6 +19,8 @@
 
 package org.apache.mailbox.tools.indexer;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -27,16 +29,40 @@ import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
 import org.apache.james.mailbox.model.MailboxId;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 
+/**
+ * Progress of a re-indexing task. The mailboxes fully processed so far act as a checkpoint: a task resuming a previous
+ * one starts with the mailboxes this previous task processed, and skips them.
+ */
 class ReprocessingContext {
     private final AtomicInteger successfullyReprocessedMails;
     private final AtomicInteger failedReprocessingMails;
     private final ConcurrentLinkedDeque<ReIndexingExecutionFailures.ReIndexingFailure> failures;
+    private final Set<MailboxId> processedMailboxIds;
 
     ReprocessingContext() {
+        this(ImmutableSet.of());
+    }
+
+    ReprocessingContext(Set<MailboxId> previouslyProcessedMailboxIds) {
         failedReprocessingMails = new AtomicInteger(0);
         successfullyReprocessedMails = new AtomicInteger(0);
         failures = new ConcurrentLinkedDeque<>();
+        processedMailboxIds = ConcurrentHashMap.newKeySet();
+        processedMailboxIds.addAll(previouslyProcessedMailboxIds);
+    }
+
+    void recordProcessedMailbox(MailboxId mailboxId) {
+        processedMailboxIds.add(mailboxId);
+    }
+
+    boolean isProcessed(MailboxId mailboxId) {
+        return processedMailboxIds.contains(mailboxId);
+    }
+
+    Set<MailboxId> processedMailboxIds() {
+        return ImmutableSet.copyOf(processedMailboxIds);
     }
 
     void recordFailureDetailsForMessage(MailboxId mailboxId, MessageUid uid) {
@@ -21,15 +21,20 @@ package org.apache.mailbox.tools.indexer;
 
 import java.time.Clock;
 import java.time.Instant;
+import java.util.List;
+import java.util.Set;
 
 import org.apache.james.mailbox.indexer.IndexingDetailInformation;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
+import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.task.TaskExecutionDetails;
 import org.apache.mailbox.tools.indexer.ReprocessingContextInformationDTO.ReprocessingContextInformationForErrorRecoveryIndexationTask;
 import org.apache.mailbox.tools.indexer.ReprocessingContextInformationDTO.ReprocessingContextInformationForFullReindexingTask;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.steveash.guavate.Guavate;
+import com.google.common.collect.ImmutableSet;
 
 public class ReprocessingContextInformation implements TaskExecutionDetails.AdditionalInformation, IndexingDetailInformation {
 
@@ -46,19 +51,27 @@ public class ReprocessingContextInformation implements TaskExecutionDetails.Addi
             reprocessingContext.successfullyReprocessedMailCount(),
             reprocessingContext.failedReprocessingMailCount(),
             reprocessingContext.failures(),
+            reprocessingContext.processedMailboxIds(),
             Clock.systemUTC().instant());
     }
 
     private final int successfullyReprocessedMailCount;
     private final int failedReprocessedMailCount;
     private final ReIndexingExecutionFailures failures;
+    private final Set<MailboxId> processedMailboxIds;
     private final Instant timestamp;
 
     ReprocessingContextInformation(int successfullyReprocessedMailCount, int failedReprocessedMailCount,
                                    ReIndexingExecutionFailures failures, Instant timestamp) {
+        this(successfullyReprocessedMailCount, failedReprocessedMailCount, failures, ImmutableSet.of(), timestamp);
+    }
+
+    ReprocessingContextInformation(int successfullyReprocessedMailCount, int failedReprocessedMailCount,
+                                   ReIndexingExecutionFailures failures, Set<MailboxId> processedMailboxIds, Instant timestamp) {
         this.successfullyReprocessedMailCount = successfullyReprocessedMailCount;
         this.failedReprocessedMailCount = failedReprocessedMailCount;
         this.failures = failures;
+        this.processedMailboxIds = processedMailboxIds;
         this.timestamp = timestamp;
     }
 
@@ -83,6 +96,19 @@ public class ReprocessingContextInformation implements TaskExecutionDetails.Addi
         return SerializableReIndexingExecutionFailures.from(failures());
     }
 
+    @Override
+    @JsonIgnore
+    public Set<MailboxId> processedMailboxIds() {
+        return processedMailboxIds;
+    }
+
+    @JsonProperty("processedMailboxIds")
+    public List<String> processedMailboxIdsAsJson() {
+        return processedMailboxIds.stream()
+            .map(MailboxId::serialize)
+            .collect(Guavate.toImmutableList());
+    }
+
     @Override
     public Instant timestamp() {
         return timestamp;
@@ -22,6 +22,8 @@ import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.apache.james.json.DTOModule;
@@ -35,6 +37,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.github.steveash.guavate.Guavate;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableSet;
 
 public class ReprocessingContextInformationDTO implements AdditionalInformationDTO {
 
@@ -71,6 +74,7 @@ public class ReprocessingContextInformationDTO implements AdditionalInformationD
                     details.getSuccessfullyReprocessedMailCount(),
                     details.getFailedReprocessedMailCount(),
                     serializeFailures(details.failures()),
+                    Optional.empty(),
                     details.timestamp()))
                 .typeName(ErrorRecoveryIndexationTask.PREVIOUS_FAILURES_INDEXING.asString())
                 .withFactory(AdditionalInformationDTOModule::new);
@@ -85,22 +89,48 @@ public class ReprocessingContextInformationDTO implements AdditionalInformationD
         public static final AdditionalInformationDTOModule<ReprocessingContextInformationForFullReindexingTask, ReprocessingContextInformationDTO> serializationModule(MailboxId.Factory mailboxIdFactory) {
             return DTOModule.forDomainObject(ReprocessingContextInformationForFullReindexingTask.class)
                 .convertToDTO(ReprocessingContextInformationDTO.class)
-                .toDomainObjectConverter(dto -> new ReprocessingContextInformationForFullReindexingTask(dto.successfullyReprocessedMailCount, dto.failedReprocessedMailCount, deserializeFailures(mailboxIdFactory, dto.failures), dto.getTimestamp()))
+                .toDomainObjectConverter(dto -> new ReprocessingContextInformationForFullReindexingTask(
+                    dto.successfullyReprocessedMailCount,
+                    dto.failedReprocessedMailCount,
+                    deserializeFailures(mailboxIdFactory, dto.failures),
+                    deserializeProcessedMailboxIds(mailboxIdFactory, dto.processedMailboxIds),
+                    dto.getTimestamp()))
                 .toDTOConverter((details, type) -> new ReprocessingContextInformationDTO(
                     type,
                     details.getSuccessfullyReprocessedMailCount(),
                     details.getFailedReprocessedMailCount(),
                     serializeFailures(details.failures()),
+                    serializeProcessedMailboxIds(details.processedMailboxIds()),
                     details.timestamp()))
                 .typeName(FullReindexingTask.FULL_RE_INDEXING.asString())
                 .withFactory(AdditionalInformationDTOModule::new);
         }
 
-        ReprocessingContextInformationForFullReindexingTask(int successfullyReprocessedMailCount, int failedReprocessedMailCount, ReIndexingExecutionFailures failures, Instant timestamp) {
-            super(successfullyReprocessedMailCount, failedReprocessedMailCount, failures, timestamp);
+        ReprocessingContextInformationForFullReindexingTask(int successfullyReprocessedMailCount, int failedReprocessedMailCount, ReIndexingExecutionFailures failures,
+                                                            Set<MailboxId> processedMailboxIds, Instant timestamp) {
+            super(successfullyReprocessedMailCount, failedReprocessedMailCount, failures, processedMailboxIds, timestamp);
         }
     }
 
+    /**
+     * Omitted when empty, additional information serialized before checkpoints were recorded having none.
+     */
+    static Optional<List<String>> serializeProcessedMailboxIds(Set<MailboxId> processedMailboxIds) {
+        return Optional.of(processedMailboxIds)
+            .filter(ids -> !ids.isEmpty())
+            .map(ids -> ids.stream()
+                .map(MailboxId::serialize)
+                .collect(Guavate.toImmutableList()));
+    }
+
+    static Set<MailboxId> deserializeProcessedMailboxIds(MailboxId.Factory mailboxIdFactory, Optional<List<String>> processedMailboxIds) {
+        return processedMailboxIds
+            .map(ids -> ids.stream()
+                .map(mailboxIdFactory::fromString)
+                .collect(Guavate.toImmutableSet()))
+            .orElse(ImmutableSet.of());
+    }
+
     static ReIndexingExecutionFailures deserializeFailures(MailboxId.Factory mailboxIdFactory,
                                                            List<ReindexingFailureDTO> failures) {
         List<ReIndexingExecutionFailures.ReIndexingFailure> reIndexingFailures = failures
@@ -148,6 +178,7 @@ public class ReprocessingContextInformationDTO implements AdditionalInformationD
     private final int successfullyReprocessedMailCount;
     private final int failedReprocessedMailCount;
     private final List<ReindexingFailureDTO> failures;
+    private final Optional<List<String>> processedMailboxIds;
     private final Instant timestamp;
 
 
@@ -155,11 +186,13 @@ public class ReprocessingContextInformationDTO implements AdditionalInformationD
                                       @JsonProperty("successfullyReprocessedMailCount") int successfullyReprocessedMailCount,
                                       @JsonProperty("failedReprocessedMailCount") int failedReprocessedMailCount,
                                       @JsonProperty("failures") List<ReindexingFailureDTO> failures,
+                                      @JsonProperty("processedMailboxIds") Optional<List<String>> processedMailboxIds,
                                       @JsonProperty("timestamp") Instant timestamp) {
         this.type = type;
         this.successfullyReprocessedMailCount = successfullyReprocessedMailCount;
         this.failedReprocessedMailCount = failedReprocessedMailCount;
         this.failures = failures;
+        this.processedMailboxIds = processedMailboxIds;
         this.timestamp = timestamp;
     }
 
@@ -175,6 +208,10 @@ public class ReprocessingContextInformationDTO implements AdditionalInformationD
         return failures;
     }
 
+    public Optional<List<String>> getProcessedMailboxIds() {
+        return processedMailboxIds;
+    }
+
     public Instant getTimestamp() {
         return timestamp;
     }
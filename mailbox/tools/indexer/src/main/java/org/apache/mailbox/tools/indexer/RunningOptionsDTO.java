@@ -0,0 +1,76 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.mailbox.tools.indexer;
+
+import java.util.Optional;
+
+import org.apache.james.mailbox.indexer.RunningOptions;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class RunningOptionsDTO {
+    public static RunningOptionsDTO toDTO(RunningOptions runningOptions) {
+        return new RunningOptionsDTO(
+            runningOptions.getMailboxConcurrency(),
+            runningOptions.getFetchBatchSize(),
+            runningOptions.getMessagesPerSecond());
+    }
+
+    /**
+     * Tasks serialized before their running options were exposed re-index with the default ones.
+     */
+    static RunningOptions toDomainObject(Optional<RunningOptionsDTO> runningOptions) {
+        return runningOptions
+            .map(RunningOptionsDTO::toDomainObject)
+            .orElse(RunningOptions.DEFAULT);
+    }
+
+    private final int mailboxConcurrency;
+    private final int fetchBatchSize;
+    private final Optional<Integer> messagesPerSecond;
+
+    public RunningOptionsDTO(@JsonProperty("mailboxConcurrency") int mailboxConcurrency,
+                             @JsonProperty("fetchBatchSize") int fetchBatchSize,
+                             @JsonProperty("messagesPerSecond") Optional<Integer> messagesPerSecond) {
+        this.mailboxConcurrency = mailboxConcurrency;
+        this.fetchBatchSize = fetchBatchSize;
+        this.messagesPerSecond = messagesPerSecond;
+    }
+
+    public int getMailboxConcurrency() {
+        return mailboxConcurrency;
+    }
+
+    public int getFetchBatchSize() {
+        return fetchBatchSize;
+    }
+
+    public Optional<Integer> getMessagesPerSecond() {
+        return messagesPerSecond;
+    }
+
+    public RunningOptions toDomainObject() {
+        RunningOptions.Builder builder = RunningOptions.builder()
+            .mailboxConcurrency(mailboxConcurrency)
+            .fetchBatchSize(fetchBatchSize);
+        messagesPerSecond.ifPresent(builder::messagesPerSecond);
+        return builder.build();
+    }
+}
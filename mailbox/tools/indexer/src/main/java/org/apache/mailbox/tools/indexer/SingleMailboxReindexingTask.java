@@ -26,6 +26,7 @@ import java.util.Optional;
 import javax.inject.Inject;
 
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
+import org.apache.james.mailbox.indexer.RunningOptions;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.task.Task;
 import org.apache.james.task.TaskExecutionDetails;
@@ -61,25 +62,27 @@ public class SingleMailboxReindexingTask implements Task {
 
         public SingleMailboxReindexingTask create(SingleMailboxReindexingTaskDTO dto) {
             MailboxId mailboxId = mailboxIdFactory.fromString(dto.getMailboxId());
-            return new SingleMailboxReindexingTask(reIndexerPerformer, mailboxId);
+            return new SingleMailboxReindexingTask(reIndexerPerformer, mailboxId, RunningOptionsDTO.toDomainObject(dto.getRunningOptions()));
         }
     }
 
     private final ReIndexerPerformer reIndexerPerformer;
     private final MailboxId mailboxId;
+    private final RunningOptions runningOptions;
     private final ReprocessingContext reprocessingContext;
 
     @Inject
-    public SingleMailboxReindexingTask(ReIndexerPerformer reIndexerPerformer, MailboxId mailboxId) {
+    public SingleMailboxReindexingTask(ReIndexerPerformer reIndexerPerformer, MailboxId mailboxId, RunningOptions runningOptions) {
         this.reIndexerPerformer = reIndexerPerformer;
         this.mailboxId = mailboxId;
+        this.runningOptions = runningOptions;
         this.reprocessingContext = new ReprocessingContext();
     }
 
     @Override
     public Result run() {
         try {
-            return reIndexerPerformer.reIndex(mailboxId, reprocessingContext);
+            return reIndexerPerformer.reIndex(mailboxId, reprocessingContext, runningOptions);
         } catch (Exception e) {
             return Result.PARTIAL;
         }
@@ -89,6 +92,10 @@ public class SingleMailboxReindexingTask implements Task {
         return mailboxId;
     }
 
+    public RunningOptions getRunningOptions() {
+        return runningOptions;
+    }
+
     @Override
     public TaskType type() {
         return MAILBOX_RE_INDEXING;
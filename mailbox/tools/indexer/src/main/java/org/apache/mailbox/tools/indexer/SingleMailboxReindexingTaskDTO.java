@@ -18,6 +18,8 @@
  ****************************************************************/
 package org.apache.mailbox.tools.indexer;
 
+import java.util.Optional;
+
 import org.apache.james.json.DTOModule;
 import org.apache.james.server.task.json.dto.TaskDTO;
 import org.apache.james.server.task.json.dto.TaskDTOModule;
@@ -37,15 +39,20 @@ public class SingleMailboxReindexingTaskDTO implements TaskDTO {
     }
 
     public static SingleMailboxReindexingTaskDTO of(SingleMailboxReindexingTask task, String typeName) {
-        return new SingleMailboxReindexingTaskDTO(typeName, task.getMailboxId().serialize());
+        return new SingleMailboxReindexingTaskDTO(typeName, task.getMailboxId().serialize(),
+            Optional.of(RunningOptionsDTO.toDTO(task.getRunningOptions())));
     }
 
     private final String type;
     private final String mailboxId;
+    private final Optional<RunningOptionsDTO> runningOptions;
 
-    public SingleMailboxReindexingTaskDTO(@JsonProperty("type") String type, @JsonProperty("mailboxId") String mailboxId) {
+    public SingleMailboxReindexingTaskDTO(@JsonProperty("type") String type,
+                                          @JsonProperty("mailboxId") String mailboxId,
+                                          @JsonProperty("runningOptions") Optional<RunningOptionsDTO> runningOptions) {
         this.type = type;
         this.mailboxId = mailboxId;
+        this.runningOptions = runningOptions;
     }
 
     @Override
@@ -57,4 +64,8 @@ public class SingleMailboxReindexingTaskDTO implements TaskDTO {
         return mailboxId;
     }
 
+    public Optional<RunningOptionsDTO> getRunningOptions() {
+        return runningOptions;
+    }
+
 }
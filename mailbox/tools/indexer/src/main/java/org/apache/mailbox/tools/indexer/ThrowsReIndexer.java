@@ -19,33 +19,36 @@
 
 package org.apache.mailbox.tools.indexer;
 
+import java.util.Set;
+
 import org.apache.james.core.User;
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.indexer.ReIndexer;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
+import org.apache.james.mailbox.indexer.RunningOptions;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MailboxPath;
 import org.apache.james.task.Task;
 
 public class ThrowsReIndexer implements ReIndexer {
     @Override
-    public Task reIndex(MailboxPath path) throws MailboxException {
+    public Task reIndex(MailboxPath path, RunningOptions runningOptions) throws MailboxException {
         throw new MailboxException("Not implemented");
     }
 
     @Override
-    public Task reIndex(MailboxId mailboxId) throws MailboxException {
+    public Task reIndex(MailboxId mailboxId, RunningOptions runningOptions) throws MailboxException {
         throw new MailboxException("Not implemented");
     }
 
     @Override
-    public Task reIndex() throws MailboxException {
+    public Task reIndex(RunningOptions runningOptions, Set<MailboxId> processedMailboxIds) throws MailboxException {
         throw new MailboxException("Not implemented");
     }
 
     @Override
-    public Task reIndex(User user) throws MailboxException {
+    public Task reIndex(User user, RunningOptions runningOptions, Set<MailboxId> processedMailboxIds) throws MailboxException {
         throw new MailboxException("Not implemented");
     }
 
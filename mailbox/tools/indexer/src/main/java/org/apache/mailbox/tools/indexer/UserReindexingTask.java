@@ -22,16 +22,21 @@ package org.apache.mailbox.tools.indexer;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.Optional;
+import java.util.Set;
 
 import javax.inject.Inject;
 
 import org.apache.james.core.User;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
+import org.apache.james.mailbox.indexer.RunningOptions;
+import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.task.Task;
 import org.apache.james.task.TaskExecutionDetails;
 import org.apache.james.task.TaskType;
 
+import com.google.common.collect.ImmutableSet;
+
 public class UserReindexingTask implements Task {
 
     public static final TaskType USER_RE_INDEXING = TaskType.of("user-reindexing");
@@ -39,8 +44,9 @@ public class UserReindexingTask implements Task {
     public static class AdditionalInformation extends ReprocessingContextInformation {
         private final User user;
 
-        AdditionalInformation(User user, int successfullyReprocessedMailCount, int failedReprocessedMailCount, ReIndexingExecutionFailures failures, Instant timestamp) {
-            super(successfullyReprocessedMailCount, failedReprocessedMailCount, failures, timestamp);
+        AdditionalInformation(User user, int successfullyReprocessedMailCount, int failedReprocessedMailCount, ReIndexingExecutionFailures failures,
+                              Set<MailboxId> processedMailboxIds, Instant timestamp) {
+            super(successfullyReprocessedMailCount, failedReprocessedMailCount, failures, processedMailboxIds, timestamp);
             this.user = user;
         }
 
@@ -52,34 +58,46 @@ public class UserReindexingTask implements Task {
 
     private final ReIndexerPerformer reIndexerPerformer;
     private final User user;
+    private final RunningOptions runningOptions;
+    private final Set<MailboxId> previouslyProcessedMailboxIds;
     private final ReprocessingContext reprocessingContext;
 
     @Inject
-    public UserReindexingTask(ReIndexerPerformer reIndexerPerformer, User user) {
+    public UserReindexingTask(ReIndexerPerformer reIndexerPerformer, User user, RunningOptions runningOptions) {
+        this(reIndexerPerformer, user, runningOptions, ImmutableSet.of());
+    }
+
+    public UserReindexingTask(ReIndexerPerformer reIndexerPerformer, User user, RunningOptions runningOptions, Set<MailboxId> previouslyProcessedMailboxIds) {
         this.reIndexerPerformer = reIndexerPerformer;
         this.user = user;
-        this.reprocessingContext = new ReprocessingContext();
+        this.runningOptions = runningOptions;
+        this.previouslyProcessedMailboxIds = ImmutableSet.copyOf(previouslyProcessedMailboxIds);
+        this.reprocessingContext = new ReprocessingContext(previouslyProcessedMailboxIds);
     }
 
     public static class Factory {
 
         private final ReIndexerPerformer reIndexerPerformer;
+        private final MailboxId.Factory mailboxIdFactory;
 
         @Inject
-        public Factory(ReIndexerPerformer reIndexerPerformer) {
+        public Factory(ReIndexerPerformer reIndexerPerformer, MailboxId.Factory mailboxIdFactory) {
             this.reIndexerPerformer = reIndexerPerformer;
+            this.mailboxIdFactory = mailboxIdFactory;
         }
 
         public UserReindexingTask create(UserReindexingTaskDTO dto) {
             User user = User.fromUsername(dto.getUsername());
-            return new UserReindexingTask(reIndexerPerformer, user);
+            return new UserReindexingTask(reIndexerPerformer, user,
+                RunningOptionsDTO.toDomainObject(dto.getRunningOptions()),
+                ReprocessingContextInformationDTO.deserializeProcessedMailboxIds(mailboxIdFactory, dto.getProcessedMailboxIds()));
         }
     }
 
     @Override
     public Result run() {
         try {
-            return reIndexerPerformer.reIndex(user, reprocessingContext);
+            return reIndexerPerformer.reIndex(user, reprocessingContext, runningOptions);
         } catch (MailboxException e) {
             return Result.PARTIAL;
         }
@@ -89,6 +107,14 @@ public class UserReindexingTask implements Task {
         return user;
     }
 
+    public RunningOptions getRunningOptions() {
+        return runningOptions;
+    }
+
+    public Set<MailboxId> getPreviouslyProcessedMailboxIds() {
+        return previouslyProcessedMailboxIds;
+    }
+
     @Override
     public TaskType type() {
         return USER_RE_INDEXING;
@@ -100,6 +126,7 @@ public class UserReindexingTask implements Task {
             reprocessingContext.successfullyReprocessedMailCount(),
             reprocessingContext.failedReprocessingMailCount(),
             reprocessingContext.failures(),
+            reprocessingContext.processedMailboxIds(),
             Clock.systemUTC().instant())
         );
     }
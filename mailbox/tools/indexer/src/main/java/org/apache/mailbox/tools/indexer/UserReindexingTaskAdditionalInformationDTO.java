@@ -20,6 +20,7 @@ package org.apache.mailbox.tools.indexer;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 import org.apache.james.core.User;
 import org.apache.james.json.DTOModule;
@@ -39,6 +40,7 @@ public class UserReindexingTaskAdditionalInformationDTO implements AdditionalInf
                 dto.getSuccessfullyReprocessedMailCount(),
                 dto.getFailedReprocessedMailCount(),
                 ReprocessingContextInformationDTO.deserializeFailures(factory, dto.getFailures()),
+                ReprocessingContextInformationDTO.deserializeProcessedMailboxIds(factory, dto.getProcessedMailboxIds()),
                 dto.getTimestamp()))
             .toDTOConverter((details, type) -> new UserReindexingTaskAdditionalInformationDTO(
                 type,
@@ -46,6 +48,7 @@ public class UserReindexingTaskAdditionalInformationDTO implements AdditionalInf
                 details.getSuccessfullyReprocessedMailCount(),
                 details.getFailedReprocessedMailCount(),
                 ReprocessingContextInformationDTO.serializeFailures(details.failures()),
+                ReprocessingContextInformationDTO.serializeProcessedMailboxIds(details.processedMailboxIds()),
                 details.timestamp()))
             .typeName(UserReindexingTask.USER_RE_INDEXING.asString())
             .withFactory(AdditionalInformationDTOModule::new);
@@ -60,12 +63,13 @@ public class UserReindexingTaskAdditionalInformationDTO implements AdditionalInf
                                                        @JsonProperty("successfullyReprocessedMailCount") int successfullyReprocessedMailCount,
                                                        @JsonProperty("failedReprocessedMailCount") int failedReprocessedMailCount,
                                                        @JsonProperty("failures") List<ReprocessingContextInformationDTO.ReindexingFailureDTO> failures,
+                                                       @JsonProperty("processedMailboxIds") Optional<List<String>> processedMailboxIds,
                                                        @JsonProperty("timestamp") Instant timestamp) {
         this.user = user;
         this.reprocessingContextInformationDTO = new ReprocessingContextInformationDTO(
             type,
             successfullyReprocessedMailCount,
-            failedReprocessedMailCount, failures, timestamp);
+            failedReprocessedMailCount, failures, processedMailboxIds, timestamp);
     }
 
     @Override
@@ -92,4 +96,8 @@ public class UserReindexingTaskAdditionalInformationDTO implements AdditionalInf
     public List<ReprocessingContextInformationDTO.ReindexingFailureDTO> getFailures() {
         return reprocessingContextInformationDTO.getFailures();
     }
+
+    public Optional<List<String>> getProcessedMailboxIds() {
+        return reprocessingContextInformationDTO.getProcessedMailboxIds();
+    }
 }
@@ -18,6 +18,9 @@
  ****************************************************************/
 package org.apache.mailbox.tools.indexer;
 
+import java.util.List;
+import java.util.Optional;
+
 import org.apache.james.json.DTOModule;
 import org.apache.james.server.task.json.dto.TaskDTO;
 import org.apache.james.server.task.json.dto.TaskDTOModule;
@@ -37,15 +40,24 @@ public class UserReindexingTaskDTO implements TaskDTO {
     }
 
     public static UserReindexingTaskDTO of(UserReindexingTask task, String type) {
-        return new UserReindexingTaskDTO(type, task.getUser().asString());
+        return new UserReindexingTaskDTO(type, task.getUser().asString(),
+            Optional.of(RunningOptionsDTO.toDTO(task.getRunningOptions())),
+            ReprocessingContextInformationDTO.serializeProcessedMailboxIds(task.getPreviouslyProcessedMailboxIds()));
     }
 
     private final String type;
     private final String username;
+    private final Optional<RunningOptionsDTO> runningOptions;
+    private final Optional<List<String>> processedMailboxIds;
 
-    private UserReindexingTaskDTO(@JsonProperty("type") String type, @JsonProperty("username") String username) {
+    private UserReindexingTaskDTO(@JsonProperty("type") String type,
+                                  @JsonProperty("username") String username,
+                                  @JsonProperty("runningOptions") Optional<RunningOptionsDTO> runningOptions,
+                                  @JsonProperty("processedMailboxIds") Optional<List<String>> processedMailboxIds) {
         this.type = type;
         this.username = username;
+        this.runningOptions = runningOptions;
+        this.processedMailboxIds = processedMailboxIds;
     }
 
     @Override
@@ -57,4 +69,12 @@ public class UserReindexingTaskDTO implements TaskDTO {
         return username;
     }
 
+    public Optional<RunningOptionsDTO> getRunningOptions() {
+        return runningOptions;
+    }
+
+    public Optional<List<String>> getProcessedMailboxIds() {
+        return processedMailboxIds;
+    }
+
 }
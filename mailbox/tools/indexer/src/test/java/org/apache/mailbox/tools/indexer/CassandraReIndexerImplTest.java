@@ -19,6 +19,7 @@
 
 package org.apache.mailbox.tools.indexer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -27,6 +28,7 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.List;
 
 import org.apache.james.backends.cassandra.CassandraCluster;
 import org.apache.james.backends.cassandra.CassandraClusterExtension;
@@ -36,6 +38,7 @@ import org.apache.james.mailbox.cassandra.CassandraMailboxManager;
 import org.apache.james.mailbox.cassandra.CassandraMailboxManagerProvider;
 import org.apache.james.mailbox.cassandra.mail.MailboxAggregateModule;
 import org.apache.james.mailbox.indexer.ReIndexer;
+import org.apache.james.mailbox.indexer.RunningOptions;
 import org.apache.james.mailbox.model.Mailbox;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MailboxPath;
@@ -47,6 +50,7 @@ import org.apache.james.util.concurrency.ConcurrentTestRunner;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
 
 import com.google.common.base.Strings;
 
@@ -94,10 +98,15 @@ public class CassandraReIndexerImplTest {
         // When We re-index
         reIndexer.reIndex(INBOX).run();
 
-        // The indexer is called for each message
+        // The indexer is called for each message, by batches
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MailboxMessage>> messagesCaptor = ArgumentCaptor.forClass(List.class);
         verify(messageSearchIndex).deleteAll(any(MailboxSession.class), any(MailboxId.class));
-        verify(messageSearchIndex, times(threadCount * operationCount))
-            .add(any(MailboxSession.class), any(Mailbox.class),any(MailboxMessage.class));
+        verify(messageSearchIndex, times(threadCount * operationCount / RunningOptions.DEFAULT_FETCH_BATCH_SIZE))
+            .add(any(MailboxSession.class), any(Mailbox.class), messagesCaptor.capture());
         verifyNoMoreInteractions(messageSearchIndex);
+
+        assertThat(messagesCaptor.getAllValues().stream().mapToInt(List::size).sum())
+            .isEqualTo(threadCount * operationCount);
     }
 }
@@ -27,6 +27,7 @@ import java.time.Instant;
 
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
+import org.apache.james.mailbox.indexer.RunningOptions;
 import org.apache.james.mailbox.model.TestId;
 import org.apache.james.server.task.json.JsonTaskAdditionalInformationSerializer;
 import org.apache.james.server.task.json.JsonTaskSerializer;
@@ -37,10 +38,16 @@ import org.junit.jupiter.api.Test;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 
 class FullReindexingTaskSerializationTest {
 
     private static final Instant TIMESTAMP = Instant.parse("2018-11-13T12:00:55Z");
+    private static final RunningOptions RUNNING_OPTIONS = RunningOptions.builder()
+        .mailboxConcurrency(2)
+        .fetchBatchSize(50)
+        .messagesPerSecond(100)
+        .build();
 
     private ReIndexerPerformer reIndexerPerformer;
     private JsonTaskSerializer taskSerializer;
@@ -55,13 +62,16 @@ class FullReindexingTaskSerializationTest {
     private final int failedReprocessedMailCount = 2;
     private ReIndexingExecutionFailures reIndexingExecutionFailures;
 
-    private final String serializedFullReindexingTask = "{\"type\": \"full-reindexing\"}";
+    private final String serializedFullReindexingTask = "{\"type\": \"full-reindexing\", \"runningOptions\": {\"mailboxConcurrency\": 2, \"fetchBatchSize\": 50, \"messagesPerSecond\": 100}}";
+    private final String legacySerializedFullReindexingTask = "{\"type\": \"full-reindexing\"}";
     private final String SERIALIZED_ADDITIONAL_INFORMATION = "{\"type\": \"full-reindexing\", \"successfullyReprocessedMailCount\":42,\"failedReprocessedMailCount\":2,\"failures\":[{\"mailboxId\":\"1\",\"uids\":[10]},{\"mailboxId\":\"2\",\"uids\":[20]}], \"timestamp\":\"2018-11-13T12:00:55Z\"}";
+    private final String serializedResumingFullReindexingTask = "{\"type\": \"full-reindexing\", \"runningOptions\": {\"mailboxConcurrency\": 2, \"fetchBatchSize\": 50, \"messagesPerSecond\": 100}, \"processedMailboxIds\": [\"1\", \"2\"]}";
+    private final String SERIALIZED_ADDITIONAL_INFORMATION_WITH_PROCESSED_MAILBOXES = "{\"type\": \"full-reindexing\", \"successfullyReprocessedMailCount\":42,\"failedReprocessedMailCount\":2,\"failures\":[{\"mailboxId\":\"1\",\"uids\":[10]},{\"mailboxId\":\"2\",\"uids\":[20]}], \"processedMailboxIds\": [\"1\", \"2\"], \"timestamp\":\"2018-11-13T12:00:55Z\"}";
 
     @BeforeEach
     void setUp() {
         reIndexerPerformer = mock(ReIndexerPerformer.class);
-        taskSerializer = new JsonTaskSerializer(FullReindexingTask.module(reIndexerPerformer));
+        taskSerializer = new JsonTaskSerializer(FullReindexingTask.module(reIndexerPerformer, new TestId.Factory()));
 
         jsonAdditionalInformationSerializer = new JsonTaskAdditionalInformationSerializer(
             ReprocessingContextInformationForFullReindexingTask.serializationModule(new TestId.Factory()));
@@ -73,7 +83,7 @@ class FullReindexingTaskSerializationTest {
 
     @Test
     void fullReindexingShouldBeSerializable() throws JsonProcessingException {
-        FullReindexingTask task = new FullReindexingTask(reIndexerPerformer);
+        FullReindexingTask task = new FullReindexingTask(reIndexerPerformer, RUNNING_OPTIONS);
 
         assertThatJson(taskSerializer.serialize(task))
             .isEqualTo(serializedFullReindexingTask);
@@ -81,15 +91,39 @@ class FullReindexingTaskSerializationTest {
 
     @Test
     void fullReindexingShouldBeDeserializable() throws IOException {
-        FullReindexingTask task = new FullReindexingTask(reIndexerPerformer);
+        FullReindexingTask task = new FullReindexingTask(reIndexerPerformer, RUNNING_OPTIONS);
 
         assertThat(taskSerializer.deserialize(serializedFullReindexingTask))
-            .isEqualToComparingOnlyGivenFields(task, "reIndexerPerformer");
+            .isEqualToComparingOnlyGivenFields(task, "reIndexerPerformer", "runningOptions");
+    }
+
+    @Test
+    void fullReindexingShouldUseDefaultRunningOptionsWhenDeserializingLegacyTask() throws IOException {
+        FullReindexingTask task = new FullReindexingTask(reIndexerPerformer, RunningOptions.DEFAULT);
+
+        assertThat(taskSerializer.deserialize(legacySerializedFullReindexingTask))
+            .isEqualToComparingOnlyGivenFields(task, "reIndexerPerformer", "runningOptions");
+    }
+
+    @Test
+    void resumingFullReindexingShouldBeSerializable() throws JsonProcessingException {
+        FullReindexingTask task = new FullReindexingTask(reIndexerPerformer, RUNNING_OPTIONS, ImmutableSet.of(mailboxId, mailboxId2));
+
+        assertThatJson(taskSerializer.serialize(task))
+            .isEqualTo(serializedResumingFullReindexingTask);
+    }
+
+    @Test
+    void resumingFullReindexingShouldBeDeserializable() throws IOException {
+        FullReindexingTask task = new FullReindexingTask(reIndexerPerformer, RUNNING_OPTIONS, ImmutableSet.of(mailboxId, mailboxId2));
+
+        assertThat(taskSerializer.deserialize(serializedResumingFullReindexingTask))
+            .isEqualToComparingOnlyGivenFields(task, "reIndexerPerformer", "runningOptions", "previouslyProcessedMailboxIds");
     }
 
     @Test
     void additionalInformationShouldBeSerializable() throws JsonProcessingException {
-        ReprocessingContextInformation details = new ReprocessingContextInformationForFullReindexingTask(successfullyReprocessedMailCount, failedReprocessedMailCount, reIndexingExecutionFailures, TIMESTAMP);
+        ReprocessingContextInformation details = new ReprocessingContextInformationForFullReindexingTask(successfullyReprocessedMailCount, failedReprocessedMailCount, reIndexingExecutionFailures, ImmutableSet.of(), TIMESTAMP);
         assertThatJson(jsonAdditionalInformationSerializer.serialize(details)).isEqualTo(SERIALIZED_ADDITIONAL_INFORMATION);
     }
 
@@ -100,5 +134,18 @@ class FullReindexingTaskSerializationTest {
             .isEqualToComparingFieldByField(details);
     }
 
+    @Test
+    void additionalInformationShouldSerializeProcessedMailboxes() throws JsonProcessingException {
+        ReprocessingContextInformation details = new ReprocessingContextInformationForFullReindexingTask(successfullyReprocessedMailCount, failedReprocessedMailCount, reIndexingExecutionFailures, ImmutableSet.of(mailboxId, mailboxId2), TIMESTAMP);
+        assertThatJson(jsonAdditionalInformationSerializer.serialize(details)).isEqualTo(SERIALIZED_ADDITIONAL_INFORMATION_WITH_PROCESSED_MAILBOXES);
+    }
+
+    @Test
+    void additionalInformationShouldDeserializeProcessedMailboxes() throws IOException {
+        ReprocessingContextInformation details = new ReprocessingContextInformation(successfullyReprocessedMailCount, failedReprocessedMailCount, reIndexingExecutionFailures, ImmutableSet.of(mailboxId, mailboxId2), TIMESTAMP);
+        assertThat(jsonAdditionalInformationSerializer.deserialize(SERIALIZED_ADDITIONAL_INFORMATION_WITH_PROCESSED_MAILBOXES))
+            .isEqualToComparingFieldByField(details);
+    }
+
 }
 
@@ -23,15 +23,19 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import java.util.List;
+
 import org.apache.james.core.User;
 import org.apache.james.mailbox.MailboxSession;
 import org.apache.james.mailbox.MessageManager;
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.exception.MailboxNotFoundException;
 import org.apache.james.mailbox.indexer.ReIndexer;
+import org.apache.james.mailbox.indexer.RunningOptions;
 import org.apache.james.mailbox.inmemory.InMemoryId;
 import org.apache.james.mailbox.inmemory.InMemoryMailboxManager;
 import org.apache.james.mailbox.inmemory.manager.InMemoryIntegrationResources;
@@ -46,6 +50,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import com.github.steveash.guavate.Guavate;
+import com.google.common.collect.ImmutableList;
+
 public class ReIndexerImplTest {
 
     private static final String USERNAME = "benwa@apache.org";
@@ -64,6 +71,11 @@ public class ReIndexerImplTest {
             mailboxManager, mailboxSessionMapperFactory);
     }
 
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<MailboxMessage>> messagesCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
     @Test
     void reIndexAllShouldCallMessageSearchIndex() throws Exception {
         MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
@@ -75,17 +87,17 @@ public class ReIndexerImplTest {
 
         reIndexer.reIndex(INBOX).run();
 
-        ArgumentCaptor<MailboxMessage> messageCaptor = ArgumentCaptor.forClass(MailboxMessage.class);
+        ArgumentCaptor<List<MailboxMessage>> messagesCaptor = messagesCaptor();
         ArgumentCaptor<MailboxId> mailboxCaptor1 = ArgumentCaptor.forClass(MailboxId.class);
         ArgumentCaptor<Mailbox> mailboxCaptor2 = ArgumentCaptor.forClass(Mailbox.class);
 
         verify(messageSearchIndex).deleteAll(any(MailboxSession.class), mailboxCaptor1.capture());
-        verify(messageSearchIndex).add(any(MailboxSession.class), mailboxCaptor2.capture(), messageCaptor.capture());
+        verify(messageSearchIndex).add(any(MailboxSession.class), mailboxCaptor2.capture(), messagesCaptor.capture());
         verifyNoMoreInteractions(messageSearchIndex);
 
         assertThat(mailboxCaptor1.getValue()).satisfies(capturedMailboxId -> assertThat(capturedMailboxId).isEqualTo(mailboxId));
         assertThat(mailboxCaptor2.getValue()).satisfies(mailbox -> assertThat(mailbox.getMailboxId()).isEqualTo(mailboxId));
-        assertThat(messageCaptor.getValue()).satisfies(message -> {
+        assertThat(messagesCaptor.getValue()).hasSize(1).allSatisfy(message -> {
             assertThat(message.getMailboxId()).isEqualTo(mailboxId);
             assertThat(message.getUid()).isEqualTo(createdMessage.getUid());
         });
@@ -101,17 +113,17 @@ public class ReIndexerImplTest {
                 systemSession);
 
         reIndexer.reIndex().run();
-        ArgumentCaptor<MailboxMessage> messageCaptor = ArgumentCaptor.forClass(MailboxMessage.class);
+        ArgumentCaptor<List<MailboxMessage>> messagesCaptor = messagesCaptor();
         ArgumentCaptor<MailboxId> mailboxCaptor1 = ArgumentCaptor.forClass(MailboxId.class);
         ArgumentCaptor<Mailbox> mailboxCaptor2 = ArgumentCaptor.forClass(Mailbox.class);
 
         verify(messageSearchIndex).deleteAll(any(MailboxSession.class), mailboxCaptor1.capture());
-        verify(messageSearchIndex).add(any(MailboxSession.class), mailboxCaptor2.capture(), messageCaptor.capture());
+        verify(messageSearchIndex).add(any(MailboxSession.class), mailboxCaptor2.capture(), messagesCaptor.capture());
         verifyNoMoreInteractions(messageSearchIndex);
 
         assertThat(mailboxCaptor1.getValue()).satisfies(capturedMailboxId -> assertThat(capturedMailboxId).isEqualTo(mailboxId));
         assertThat(mailboxCaptor2.getValue()).satisfies(mailbox -> assertThat(mailbox.getMailboxId()).isEqualTo(mailboxId));
-        assertThat(messageCaptor.getValue()).satisfies(message -> {
+        assertThat(messagesCaptor.getValue()).hasSize(1).allSatisfy(message -> {
             assertThat(message.getMailboxId()).isEqualTo(mailboxId);
             assertThat(message.getUid()).isEqualTo(createdMessage.getUid());
         });
@@ -127,22 +139,48 @@ public class ReIndexerImplTest {
                 systemSession);
 
         reIndexer.reIndex(User.fromUsername(USERNAME)).run();
-        ArgumentCaptor<MailboxMessage> messageCaptor = ArgumentCaptor.forClass(MailboxMessage.class);
+        ArgumentCaptor<List<MailboxMessage>> messagesCaptor = messagesCaptor();
         ArgumentCaptor<MailboxId> mailboxCaptor1 = ArgumentCaptor.forClass(MailboxId.class);
         ArgumentCaptor<Mailbox> mailboxCaptor2 = ArgumentCaptor.forClass(Mailbox.class);
 
         verify(messageSearchIndex).deleteAll(any(MailboxSession.class), mailboxCaptor1.capture());
-        verify(messageSearchIndex).add(any(MailboxSession.class), mailboxCaptor2.capture(), messageCaptor.capture());
+        verify(messageSearchIndex).add(any(MailboxSession.class), mailboxCaptor2.capture(), messagesCaptor.capture());
         verifyNoMoreInteractions(messageSearchIndex);
 
         assertThat(mailboxCaptor1.getValue()).satisfies(capturedMailboxId -> assertThat(capturedMailboxId).isEqualTo(mailboxId));
         assertThat(mailboxCaptor2.getValue()).satisfies(mailbox -> assertThat(mailbox.getMailboxId()).isEqualTo(mailboxId));
-        assertThat(messageCaptor.getValue()).satisfies(message -> {
+        assertThat(messagesCaptor.getValue()).hasSize(1).allSatisfy(message -> {
             assertThat(message.getMailboxId()).isEqualTo(mailboxId);
             assertThat(message.getUid()).isEqualTo(createdMessage.getUid());
         });
     }
 
+    @Test
+    void mailboxReIndexShouldIndexAllMessagesWhenSeveralFetchBatches() throws Exception {
+        MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
+        mailboxManager.createMailbox(INBOX, systemSession);
+        MessageManager inbox = mailboxManager.getMailbox(INBOX, systemSession);
+        for (int i = 0; i < 5; i++) {
+            inbox.appendMessage(MessageManager.AppendCommand.builder().build("header: value\r\n\r\nbody"), systemSession);
+        }
+
+        reIndexer.reIndex(INBOX, RunningOptions.builder().fetchBatchSize(2).build()).run();
+        ArgumentCaptor<List<MailboxMessage>> messagesCaptor = messagesCaptor();
+
+        verify(messageSearchIndex).deleteAll(any(MailboxSession.class), any(MailboxId.class));
+        verify(messageSearchIndex, times(3)).add(any(MailboxSession.class), any(Mailbox.class), messagesCaptor.capture());
+        verifyNoMoreInteractions(messageSearchIndex);
+
+        assertThat(messagesCaptor.getAllValues())
+            .extracting(messages -> messages.stream()
+                .map(MailboxMessage::getUid)
+                .collect(Guavate.toImmutableList()))
+            .containsExactly(
+                ImmutableList.of(MessageUid.of(1), MessageUid.of(2)),
+                ImmutableList.of(MessageUid.of(3), MessageUid.of(4)),
+                ImmutableList.of(MessageUid.of(5)));
+    }
+
     @Test
     void messageReIndexShouldCallMessageSearchIndex() throws Exception {
         MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
@@ -219,17 +257,17 @@ public class ReIndexerImplTest {
                 systemSession);
 
         reIndexer.reIndex(mailboxId).run();
-        ArgumentCaptor<MailboxMessage> messageCaptor = ArgumentCaptor.forClass(MailboxMessage.class);
+        ArgumentCaptor<List<MailboxMessage>> messagesCaptor = messagesCaptor();
         ArgumentCaptor<MailboxId> mailboxIdCaptor = ArgumentCaptor.forClass(MailboxId.class);
         ArgumentCaptor<Mailbox> mailboxCaptor = ArgumentCaptor.forClass(Mailbox.class);
 
         verify(messageSearchIndex).deleteAll(any(MailboxSession.class), mailboxIdCaptor.capture());
-        verify(messageSearchIndex).add(any(MailboxSession.class), mailboxCaptor.capture(), messageCaptor.capture());
+        verify(messageSearchIndex).add(any(MailboxSession.class), mailboxCaptor.capture(), messagesCaptor.capture());
         verifyNoMoreInteractions(messageSearchIndex);
 
         assertThat(mailboxCaptor.getValue()).satisfies(mailbox -> assertThat(mailbox.getMailboxId()).isEqualTo(mailboxId));
         assertThat(mailboxIdCaptor.getValue()).satisfies(capturedMailboxId -> assertThat(capturedMailboxId).isEqualTo(mailboxId));
-        assertThat(messageCaptor.getValue()).satisfies(message -> {
+        assertThat(messagesCaptor.getValue()).hasSize(1).allSatisfy(message -> {
             assertThat(message.getMailboxId()).isEqualTo(mailboxId);
             assertThat(message.getUid()).isEqualTo(createdMessage.getUid());
         });
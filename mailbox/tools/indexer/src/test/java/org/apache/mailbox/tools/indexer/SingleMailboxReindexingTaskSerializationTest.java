@@ -28,6 +28,7 @@ import java.util.List;
 
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
+import org.apache.james.mailbox.indexer.RunningOptions;
 import org.apache.james.mailbox.model.TestId;
 import org.apache.james.server.task.json.JsonTaskAdditionalInformationSerializer;
 import org.apache.james.server.task.json.JsonTaskSerializer;
@@ -40,6 +41,11 @@ import com.google.common.collect.ImmutableList;
 class SingleMailboxReindexingTaskSerializationTest {
 
     private static final Instant TIMESTAMP = Instant.parse("2018-11-13T12:00:55Z");
+    private static final RunningOptions RUNNING_OPTIONS = RunningOptions.builder()
+        .mailboxConcurrency(2)
+        .fetchBatchSize(50)
+        .messagesPerSecond(100)
+        .build();
 
     private ReIndexerPerformer reIndexerPerformer;
     private JsonTaskSerializer taskSerializer;
@@ -49,7 +55,8 @@ class SingleMailboxReindexingTaskSerializationTest {
     private final int failedReprocessedMailCount = 2;
     private  ReIndexingExecutionFailures reIndexingExecutionFailures;
 
-    private final String serializedMailboxReindexingTask = "{\"type\": \"mailbox-reindexing\", \"mailboxId\": \"1\"}";
+    private final String serializedMailboxReindexingTask = "{\"type\": \"mailbox-reindexing\", \"mailboxId\": \"1\", \"runningOptions\": {\"mailboxConcurrency\": 2, \"fetchBatchSize\": 50, \"messagesPerSecond\": 100}}";
+    private final String legacySerializedMailboxReindexingTask = "{\"type\": \"mailbox-reindexing\", \"mailboxId\": \"1\"}";
 
     private final String SERIALIZED_ADDITIONAL_INFORMATION = "{\"type\": \"mailbox-reindexing\", \"mailboxId\": \"1\", \"successfullyReprocessedMailCount\":42,\"failedReprocessedMailCount\":2,\"failures\":[{\"mailboxId\":\"1\",\"uids\":[10, 20]}], \"timestamp\":\"2018-11-13T12:00:55Z\"}";
 
@@ -78,7 +85,7 @@ class SingleMailboxReindexingTaskSerializationTest {
     @Test
     void singleMailboxReindexingShouldBeSerializable() throws JsonProcessingException {
         TestId mailboxId = TestId.of(1L);
-        SingleMailboxReindexingTask task = new SingleMailboxReindexingTask(reIndexerPerformer, mailboxId);
+        SingleMailboxReindexingTask task = new SingleMailboxReindexingTask(reIndexerPerformer, mailboxId, RUNNING_OPTIONS);
 
         assertThatJson(taskSerializer.serialize(task))
             .isEqualTo(serializedMailboxReindexingTask);
@@ -87,10 +94,18 @@ class SingleMailboxReindexingTaskSerializationTest {
     @Test
     void singleMailboxReindexingShouldBeDeserializable() throws IOException {
         TestId mailboxId = TestId.of(1L);
-        SingleMailboxReindexingTask task = new SingleMailboxReindexingTask(reIndexerPerformer, mailboxId);
+        SingleMailboxReindexingTask task = new SingleMailboxReindexingTask(reIndexerPerformer, mailboxId, RUNNING_OPTIONS);
 
         assertThat(taskSerializer.deserialize(serializedMailboxReindexingTask))
-            .isEqualToComparingOnlyGivenFields(task, "reIndexerPerformer", "mailboxId");
+            .isEqualToComparingOnlyGivenFields(task, "reIndexerPerformer", "mailboxId", "runningOptions");
+    }
+
+    @Test
+    void singleMailboxReindexingShouldUseDefaultRunningOptionsWhenDeserializingLegacyTask() throws IOException {
+        SingleMailboxReindexingTask task = new SingleMailboxReindexingTask(reIndexerPerformer, mailboxId, RunningOptions.DEFAULT);
+
+        assertThat(taskSerializer.deserialize(legacySerializedMailboxReindexingTask))
+            .isEqualToComparingOnlyGivenFields(task, "reIndexerPerformer", "mailboxId", "runningOptions");
     }
 
     @Test
@@ -29,6 +29,7 @@ import java.util.List;
 import org.apache.james.core.User;
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
+import org.apache.james.mailbox.indexer.RunningOptions;
 import org.apache.james.mailbox.model.TestId;
 import org.apache.james.server.task.json.JsonTaskAdditionalInformationSerializer;
 import org.apache.james.server.task.json.JsonTaskSerializer;
@@ -37,10 +38,16 @@ import org.junit.jupiter.api.Test;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 
 class UserReindexingTaskSerializationTest {
 
     private static final Instant TIMESTAMP = Instant.parse("2018-11-13T12:00:55Z");
+    private static final RunningOptions RUNNING_OPTIONS = RunningOptions.builder()
+        .mailboxConcurrency(2)
+        .fetchBatchSize(50)
+        .messagesPerSecond(100)
+        .build();
 
     private ReIndexerPerformer reIndexerPerformer;
     private JsonTaskSerializer taskSerializer;
@@ -50,9 +57,12 @@ class UserReindexingTaskSerializationTest {
     private final int successfullyReprocessedMailCount = 42;
     private final int failedReprocessedMailCount = 2;
     private ReIndexingExecutionFailures reIndexingExecutionFailures;
-    private final String serializedUserReindexingTask = "{\"type\": \"user-reindexing\", \"username\": \"foo@apache.org\"}";
+    private final String serializedUserReindexingTask = "{\"type\": \"user-reindexing\", \"username\": \"foo@apache.org\", \"runningOptions\": {\"mailboxConcurrency\": 2, \"fetchBatchSize\": 50, \"messagesPerSecond\": 100}}";
+    private final String serializedResumingUserReindexingTask = "{\"type\": \"user-reindexing\", \"username\": \"foo@apache.org\", \"runningOptions\": {\"mailboxConcurrency\": 2, \"fetchBatchSize\": 50, \"messagesPerSecond\": 100}, \"processedMailboxIds\": [\"1\", \"2\"]}";
+    private final String legacySerializedUserReindexingTask = "{\"type\": \"user-reindexing\", \"username\": \"foo@apache.org\"}";
 
     private final String SERIALIZED_ADDITIONAL_INFORMATION = "{\"type\": \"user-reindexing\", \"user\": \"foo@apache.org\", \"successfullyReprocessedMailCount\":42,\"failedReprocessedMailCount\":2,\"failures\":[{\"mailboxId\":\"1\",\"uids\":[10]},{\"mailboxId\":\"2\",\"uids\":[20]}], \"timestamp\":\"2018-11-13T12:00:55Z\"}";
+    private final String SERIALIZED_ADDITIONAL_INFORMATION_WITH_PROCESSED_MAILBOXES = "{\"type\": \"user-reindexing\", \"user\": \"foo@apache.org\", \"successfullyReprocessedMailCount\":42,\"failedReprocessedMailCount\":2,\"failures\":[{\"mailboxId\":\"1\",\"uids\":[10]},{\"mailboxId\":\"2\",\"uids\":[20]}], \"processedMailboxIds\": [\"1\", \"2\"], \"timestamp\":\"2018-11-13T12:00:55Z\"}";
 
     private final TestId mailboxId = TestId.of(1L);
     private final MessageUid messageUid = MessageUid.of(10L);
@@ -67,7 +77,7 @@ class UserReindexingTaskSerializationTest {
     @BeforeEach
     void setUp() {
         reIndexerPerformer = mock(ReIndexerPerformer.class);
-        UserReindexingTask.Factory factory = new UserReindexingTask.Factory(reIndexerPerformer);
+        UserReindexingTask.Factory factory = new UserReindexingTask.Factory(reIndexerPerformer, new TestId.Factory());
         taskSerializer = new JsonTaskSerializer(UserReindexingTaskDTO.module(factory));
         jsonAdditionalInformationSerializer = new JsonTaskAdditionalInformationSerializer(
             UserReindexingTaskAdditionalInformationDTO.serializationModule(new TestId.Factory()));
@@ -80,7 +90,7 @@ class UserReindexingTaskSerializationTest {
     @Test
     void userReindexingShouldBeSerializable() throws JsonProcessingException {
         User user = User.fromUsername("foo@apache.org");
-        UserReindexingTask task = new UserReindexingTask(reIndexerPerformer, user);
+        UserReindexingTask task = new UserReindexingTask(reIndexerPerformer, user, RUNNING_OPTIONS);
 
         assertThatJson(taskSerializer.serialize(task))
             .isEqualTo(serializedUserReindexingTask);
@@ -89,24 +99,60 @@ class UserReindexingTaskSerializationTest {
     @Test
     void userReindexingShouldBeDeserializable() throws IOException {
         User user = User.fromUsername("foo@apache.org");
-        UserReindexingTask task = new UserReindexingTask(reIndexerPerformer, user);
+        UserReindexingTask task = new UserReindexingTask(reIndexerPerformer, user, RUNNING_OPTIONS);
 
         assertThat(taskSerializer.deserialize(serializedUserReindexingTask))
-            .isEqualToComparingOnlyGivenFields(task, "reIndexerPerformer");
+            .isEqualToComparingOnlyGivenFields(task, "reIndexerPerformer", "user", "runningOptions");
+    }
+
+    @Test
+    void resumingUserReindexingShouldBeSerializable() throws JsonProcessingException {
+        UserReindexingTask task = new UserReindexingTask(reIndexerPerformer, user, RUNNING_OPTIONS, ImmutableSet.of(mailboxId, mailboxId2));
+
+        assertThatJson(taskSerializer.serialize(task))
+            .isEqualTo(serializedResumingUserReindexingTask);
+    }
+
+    @Test
+    void resumingUserReindexingShouldBeDeserializable() throws IOException {
+        UserReindexingTask task = new UserReindexingTask(reIndexerPerformer, user, RUNNING_OPTIONS, ImmutableSet.of(mailboxId, mailboxId2));
+
+        assertThat(taskSerializer.deserialize(serializedResumingUserReindexingTask))
+            .isEqualToComparingOnlyGivenFields(task, "reIndexerPerformer", "user", "runningOptions", "previouslyProcessedMailboxIds");
+    }
+
+    @Test
+    void userReindexingShouldUseDefaultRunningOptionsWhenDeserializingLegacyTask() throws IOException {
+        UserReindexingTask task = new UserReindexingTask(reIndexerPerformer, user, RunningOptions.DEFAULT);
+
+        assertThat(taskSerializer.deserialize(legacySerializedUserReindexingTask))
+            .isEqualToComparingOnlyGivenFields(task, "reIndexerPerformer", "user", "runningOptions");
     }
 
 
     @Test
     void additionalInformationShouldBeSerializable() throws JsonProcessingException {
-        UserReindexingTask.AdditionalInformation details = new UserReindexingTask.AdditionalInformation(user, successfullyReprocessedMailCount, failedReprocessedMailCount, reIndexingExecutionFailures, TIMESTAMP);
+        UserReindexingTask.AdditionalInformation details = new UserReindexingTask.AdditionalInformation(user, successfullyReprocessedMailCount, failedReprocessedMailCount, reIndexingExecutionFailures, ImmutableSet.of(), TIMESTAMP);
         assertThatJson(jsonAdditionalInformationSerializer.serialize(details)).isEqualTo(SERIALIZED_ADDITIONAL_INFORMATION);
     }
 
     @Test
     void additionalInformationShouldBeDeserializable() throws IOException {
-        UserReindexingTask.AdditionalInformation details = new UserReindexingTask.AdditionalInformation(user, successfullyReprocessedMailCount, failedReprocessedMailCount, reIndexingExecutionFailures, TIMESTAMP);
+        UserReindexingTask.AdditionalInformation details = new UserReindexingTask.AdditionalInformation(user, successfullyReprocessedMailCount, failedReprocessedMailCount, reIndexingExecutionFailures, ImmutableSet.of(), TIMESTAMP);
         assertThat(jsonAdditionalInformationSerializer.deserialize(SERIALIZED_ADDITIONAL_INFORMATION))
             .isEqualToComparingFieldByField(details);
     }
-}
 
+    @Test
+    void additionalInformationShouldSerializeProcessedMailboxes() throws JsonProcessingException {
+        UserReindexingTask.AdditionalInformation details = new UserReindexingTask.AdditionalInformation(user, successfullyReprocessedMailCount, failedReprocessedMailCount, reIndexingExecutionFailures, ImmutableSet.of(mailboxId, mailboxId2), TIMESTAMP);
+        assertThatJson(jsonAdditionalInformationSerializer.serialize(details)).isEqualTo(SERIALIZED_ADDITIONAL_INFORMATION_WITH_PROCESSED_MAILBOXES);
+    }
+
+    @Test
+    void additionalInformationShouldDeserializeProcessedMailboxes() throws IOException {
+        UserReindexingTask.AdditionalInformation details = new UserReindexingTask.AdditionalInformation(user, successfullyReprocessedMailCount, failedReprocessedMailCount, reIndexingExecutionFailures, ImmutableSet.of(mailboxId, mailboxId2), TIMESTAMP);
+        assertThat(jsonAdditionalInformationSerializer.deserialize(SERIALIZED_ADDITIONAL_INFORMATION_WITH_PROCESSED_MAILBOXES))
+            .isEqualToComparingFieldByField(details);
+    }
+}
@@ -25,6 +25,8 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface MetricFactory {
+    String ERROR_METRIC_SUFFIX = ":error";
+    String CANCEL_METRIC_SUFFIX = ":cancel";
 
     Metric generate(String name);
 
@@ -39,14 +41,22 @@ public interface MetricFactory {
         }
     }
 
+    /**
+     * Times the given {@link Mono} from its subscription to its termination, be it a success, an error or a
+     * cancellation. Errors and cancellations are also counted under {@link #ERROR_METRIC_SUFFIX} and
+     * {@link #CANCEL_METRIC_SUFFIX} suffixed metrics.
+     */
     default <T> Mono<T> runPublishingTimerMetric(String name, Mono<T> mono) {
-        TimeMetric timer = timer(name);
-        return mono.doOnSuccess(success -> timer.stopAndPublish());
+        return ReactiveTimerMetric.time(this, name, mono);
     }
 
+    /**
+     * Times the given {@link Flux} from its subscription to its termination, be it a completion, an error or a
+     * cancellation. Errors and cancellations are also counted under {@link #ERROR_METRIC_SUFFIX} and
+     * {@link #CANCEL_METRIC_SUFFIX} suffixed metrics.
+     */
     default <T> Flux<T> runPublishingTimerMetric(String name, Flux<T> flux) {
-        TimeMetric timer = timer(name);
-        return flux.doOnComplete(timer::stopAndPublish);
+        return ReactiveTimerMetric.time(this, name, flux);
     }
 
     default void runPublishingTimerMetric(String name, Runnable runnable) {
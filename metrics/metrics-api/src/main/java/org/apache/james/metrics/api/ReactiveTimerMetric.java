@@ -0,0 +1,78 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.metrics.api;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link TimeMetric} started upon subscription rather than upon assembly, and published once whatever the termination
+ * signal is.
+ *
+ * Success is recorded before being propagated downstream, so that a blocking caller observes the published timer. A
+ * cancellation following a success, as done by blocking subscribers, is hence not accounted as a cancellation.
+ */
+class ReactiveTimerMetric {
+
+    static <T> Mono<T> time(MetricFactory metricFactory, String name, Mono<T> mono) {
+        return Mono.defer(() -> {
+            ReactiveTimerMetric timerMetric = new ReactiveTimerMetric(metricFactory, name);
+            return mono.doOnSuccess(any -> timerMetric.success())
+                .doOnError(any -> timerMetric.failure(MetricFactory.ERROR_METRIC_SUFFIX))
+                .doOnCancel(() -> timerMetric.failure(MetricFactory.CANCEL_METRIC_SUFFIX));
+        });
+    }
+
+    static <T> Flux<T> time(MetricFactory metricFactory, String name, Flux<T> flux) {
+        return Flux.defer(() -> {
+            ReactiveTimerMetric timerMetric = new ReactiveTimerMetric(metricFactory, name);
+            return flux.doOnComplete(timerMetric::success)
+                .doOnError(any -> timerMetric.failure(MetricFactory.ERROR_METRIC_SUFFIX))
+                .doOnCancel(() -> timerMetric.failure(MetricFactory.CANCEL_METRIC_SUFFIX));
+        });
+    }
+
+    private final MetricFactory metricFactory;
+    private final String name;
+    private final TimeMetric timer;
+    private final AtomicBoolean published;
+
+    private ReactiveTimerMetric(MetricFactory metricFactory, String name) {
+        this.metricFactory = metricFactory;
+        this.name = name;
+        this.timer = metricFactory.timer(name);
+        this.published = new AtomicBoolean(false);
+    }
+
+    private void success() {
+        if (published.compareAndSet(false, true)) {
+            timer.stopAndPublish();
+        }
+    }
+
+    private void failure(String suffix) {
+        if (published.compareAndSet(false, true)) {
+            timer.stopAndPublish();
+            metricFactory.generate(name + suffix).increment();
+        }
+    }
+}
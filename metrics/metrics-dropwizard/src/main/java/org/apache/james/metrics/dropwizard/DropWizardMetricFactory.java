@@ -29,6 +29,7 @@ import org.apache.james.metrics.api.MetricFactory;
 import org.apache.james.metrics.api.TimeMetric;
 
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.codahale.metrics.jmx.JmxReporter;
 
 public class DropWizardMetricFactory implements MetricFactory, Startable {
@@ -50,7 +51,7 @@ public class DropWizardMetricFactory implements MetricFactory, Startable {
 
     @Override
     public TimeMetric timer(String name) {
-        return new DropWizardTimeMetric(name, metricRegistry.timer(name).time());
+        return new DropWizardTimeMetric(name, metricRegistry.timer(name, () -> new Timer(new HdrHistogramReservoir())).time());
     }
 
     @PostConstruct
@@ -0,0 +1,100 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.metrics.dropwizard;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+
+/**
+ * {@link Reservoir} backed by an HdrHistogram, giving accurate percentiles with a fixed memory footprint, unlike the
+ * sampling of the default exponentially decaying reservoir.
+ *
+ * Values are recorded without locking. Snapshots cover the values recorded during the current time window and the
+ * previous one, so that percentiles reflect recent activity.
+ */
+public class HdrHistogramReservoir implements Reservoir {
+    public static final Duration DEFAULT_WINDOW = Duration.ofMinutes(1);
+    private static final int SIGNIFICANT_VALUE_DIGITS = 2;
+
+    private final Recorder recorder;
+    private final Duration window;
+    private final Clock clock;
+    private Histogram intervalHistogram;
+    private Histogram currentWindow;
+    private Histogram previousWindow;
+    private Instant currentWindowStart;
+
+    public HdrHistogramReservoir() {
+        this(DEFAULT_WINDOW, Clock.systemUTC());
+    }
+
+    HdrHistogramReservoir(Duration window, Clock clock) {
+        this.recorder = new Recorder(SIGNIFICANT_VALUE_DIGITS);
+        this.window = window;
+        this.clock = clock;
+        this.intervalHistogram = recorder.getIntervalHistogram();
+        this.currentWindow = new Histogram(SIGNIFICANT_VALUE_DIGITS);
+        this.previousWindow = new Histogram(SIGNIFICANT_VALUE_DIGITS);
+        this.currentWindowStart = clock.instant();
+    }
+
+    @Override
+    public int size() {
+        return getSnapshot().size();
+    }
+
+    @Override
+    public void update(long value) {
+        recorder.recordValue(Math.max(0, value));
+    }
+
+    @Override
+    public synchronized Snapshot getSnapshot() {
+        intervalHistogram = recorder.getIntervalHistogram(intervalHistogram);
+        rollWindows();
+        currentWindow.add(intervalHistogram);
+
+        Histogram histogram = previousWindow.copy();
+        histogram.add(currentWindow);
+        return new HdrHistogramSnapshot(histogram);
+    }
+
+    private void rollWindows() {
+        Instant now = clock.instant();
+        Duration elapsed = Duration.between(currentWindowStart, now);
+        if (elapsed.compareTo(window) < 0) {
+            return;
+        }
+        if (elapsed.compareTo(window.multipliedBy(2)) < 0) {
+            previousWindow = currentWindow;
+        } else {
+            previousWindow = new Histogram(SIGNIFICANT_VALUE_DIGITS);
+        }
+        currentWindow = new Histogram(SIGNIFICANT_VALUE_DIGITS);
+        currentWindowStart = now;
+    }
+}
@@ -0,0 +1,134 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.metrics.dropwizard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.codahale.metrics.Snapshot;
+
+class HdrHistogramReservoirTest {
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+    private static final Instant NOW = Instant.parse("2020-04-01T10:15:30.00Z");
+
+    private Clock clock;
+    private HdrHistogramReservoir testee;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        testee = new HdrHistogramReservoir(WINDOW, clock);
+    }
+
+    @Test
+    void snapshotShouldBeEmptyWhenNoValues() {
+        Snapshot snapshot = testee.getSnapshot();
+
+        assertThat(snapshot.size()).isEqualTo(0);
+        assertThat(snapshot.getValues()).isEmpty();
+        assertThat(snapshot.getMax()).isEqualTo(0);
+    }
+
+    @Test
+    void snapshotShouldExposeRecordedValues() {
+        testee.update(10);
+        testee.update(20);
+        testee.update(30);
+
+        Snapshot snapshot = testee.getSnapshot();
+
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.getValues()).containsExactly(10, 20, 30);
+        assertThat(snapshot.getMin()).isEqualTo(10);
+        assertThat(snapshot.getMax()).isEqualTo(30);
+        assertThat(snapshot.getMean()).isEqualTo(20);
+    }
+
+    @Test
+    void snapshotShouldComputePercentiles() {
+        IntStream.rangeClosed(1, 1000).forEach(testee::update);
+
+        Snapshot snapshot = testee.getSnapshot();
+
+        assertThat(snapshot.getMedian()).isBetween(495.0, 505.0);
+        assertThat(snapshot.get99thPercentile()).isBetween(985.0, 995.0);
+        assertThat(snapshot.get999thPercentile()).isBetween(995.0, 1000.0);
+    }
+
+    @Test
+    void negativeValuesShouldBeRecordedAsZero() {
+        testee.update(-5);
+
+        assertThat(testee.getSnapshot().getValues()).containsExactly(0);
+    }
+
+    @Test
+    void successiveSnapshotsShouldKeepValuesOfTheCurrentWindow() {
+        testee.update(10);
+        testee.getSnapshot();
+        testee.update(20);
+
+        assertThat(testee.getSnapshot().getValues()).containsExactly(10, 20);
+    }
+
+    @Test
+    void snapshotShouldKeepValuesOfThePreviousWindow() {
+        testee.update(10);
+        testee.getSnapshot();
+
+        when(clock.instant()).thenReturn(NOW.plus(WINDOW));
+        testee.update(20);
+
+        assertThat(testee.getSnapshot().getValues()).containsExactly(10, 20);
+    }
+
+    @Test
+    void snapshotShouldDropValuesOlderThanThePreviousWindow() {
+        testee.update(10);
+        testee.getSnapshot();
+
+        when(clock.instant()).thenReturn(NOW.plus(WINDOW));
+        testee.getSnapshot();
+        when(clock.instant()).thenReturn(NOW.plus(WINDOW.multipliedBy(2)));
+        testee.update(20);
+
+        assertThat(testee.getSnapshot().getValues()).containsExactly(20);
+    }
+
+    @Test
+    void snapshotShouldDropAllValuesAfterALongInactivity() {
+        testee.update(10);
+        testee.getSnapshot();
+
+        when(clock.instant()).thenReturn(NOW.plus(WINDOW.multipliedBy(3)));
+
+        assertThat(testee.getSnapshot().size()).isEqualTo(0);
+    }
+}
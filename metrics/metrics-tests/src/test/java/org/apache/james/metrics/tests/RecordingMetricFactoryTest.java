@@ -20,16 +20,21 @@
 package org.apache.james.metrics.tests;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.time.Duration;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.james.metrics.api.Metric;
+import org.apache.james.metrics.api.MetricFactory;
 import org.apache.james.metrics.api.TimeMetric;
 import org.apache.james.util.concurrency.ConcurrentTestRunner;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 class RecordingMetricFactoryTest {
 
     private static final String TIME_METRIC_NAME = "timerMetric";
@@ -111,4 +116,82 @@ class RecordingMetricFactoryTest {
         assertThat(testee.countFor(METRIC_NAME))
             .isEqualTo(5);
     }
+
+    @Test
+    void publishingTimerMetricShouldNotBeStartedUponAssembly() {
+        testee.runPublishingTimerMetric(TIME_METRIC_NAME, Mono.just(1));
+
+        assertThat(testee.executionTimesFor(TIME_METRIC_NAME))
+            .isEmpty();
+    }
+
+    @Test
+    void publishingTimerMetricShouldBeStartedUponSubscription() {
+        Mono<Integer> mono = testee.runPublishingTimerMetric(TIME_METRIC_NAME,
+            Mono.delay(ONE_SECOND).thenReturn(1));
+
+        mono.block();
+        mono.block();
+
+        assertThat(testee.executionTimesFor(TIME_METRIC_NAME))
+            .hasSize(2)
+            .allSatisfy(duration -> assertThat(duration).isGreaterThanOrEqualTo(ONE_SECOND));
+    }
+
+    @Test
+    void publishingTimerMetricShouldNotRecordBlockingSuccessAsCancellation() {
+        testee.runPublishingTimerMetric(TIME_METRIC_NAME, Mono.just(1)).block();
+
+        assertThat(testee.executionTimesFor(TIME_METRIC_NAME))
+            .hasSize(1);
+        assertThat(testee.countFor(TIME_METRIC_NAME + MetricFactory.CANCEL_METRIC_SUFFIX))
+            .isEqualTo(0);
+        assertThat(testee.countFor(TIME_METRIC_NAME + MetricFactory.ERROR_METRIC_SUFFIX))
+            .isEqualTo(0);
+    }
+
+    @Test
+    void publishingTimerMetricShouldRecordErrors() {
+        assertThatThrownBy(() -> testee.runPublishingTimerMetric(TIME_METRIC_NAME, Mono.error(new RuntimeException())).block())
+            .isInstanceOf(RuntimeException.class);
+
+        assertThat(testee.executionTimesFor(TIME_METRIC_NAME))
+            .hasSize(1);
+        assertThat(testee.countFor(TIME_METRIC_NAME + MetricFactory.ERROR_METRIC_SUFFIX))
+            .isEqualTo(1);
+    }
+
+    @Test
+    void publishingTimerMetricShouldRecordCancellations() {
+        testee.runPublishingTimerMetric(TIME_METRIC_NAME, Mono.never())
+            .subscribe()
+            .dispose();
+
+        assertThat(testee.executionTimesFor(TIME_METRIC_NAME))
+            .hasSize(1);
+        assertThat(testee.countFor(TIME_METRIC_NAME + MetricFactory.CANCEL_METRIC_SUFFIX))
+            .isEqualTo(1);
+    }
+
+    @Test
+    void publishingTimerMetricShouldTimeTheWholeFlux() {
+        testee.runPublishingTimerMetric(TIME_METRIC_NAME, Flux.range(0, 3).delayElements(ONE_SECOND))
+            .blockLast();
+
+        assertThat(testee.executionTimesFor(TIME_METRIC_NAME))
+            .hasSize(1)
+            .allSatisfy(duration -> assertThat(duration).isGreaterThanOrEqualTo(ONE_SECOND.multipliedBy(3)));
+    }
+
+    @Test
+    void publishingTimerMetricShouldRecordFluxCancellations() {
+        testee.runPublishingTimerMetric(TIME_METRIC_NAME, Flux.range(0, 10))
+            .take(2)
+            .blockLast();
+
+        assertThat(testee.executionTimesFor(TIME_METRIC_NAME))
+            .hasSize(1);
+        assertThat(testee.countFor(TIME_METRIC_NAME + MetricFactory.CANCEL_METRIC_SUFFIX))
+            .isEqualTo(1);
+    }
 }
@@ -23,8 +23,10 @@ import java.io.IOException;
 import java.time.ZoneId;
 
 import org.apache.commons.lang3.NotImplementedException;
+import org.apache.james.backends.es.BulkIndexingConfiguration;
 import org.apache.james.backends.es.DockerElasticSearch;
 import org.apache.james.backends.es.DockerElasticSearchSingleton;
+import org.apache.james.backends.es.ElasticSearchBulkIndexer;
 import org.apache.james.backends.es.ElasticSearchConfiguration;
 import org.apache.james.backends.es.ElasticSearchIndexer;
 import org.apache.james.core.quota.QuotaCount;
@@ -99,6 +101,10 @@ public class ElasticSearchHostSystem extends JamesImapHostSystem {
                 preInstanciationStage.getMapperFactory(),
                 new ElasticSearchIndexer(client,
                     MailboxElasticSearchConstants.DEFAULT_MAILBOX_WRITE_ALIAS),
+                new ElasticSearchBulkIndexer(client,
+                    MailboxElasticSearchConstants.DEFAULT_MAILBOX_WRITE_ALIAS,
+                    BulkIndexingConfiguration.DEFAULT_CONFIGURATION,
+                    new DefaultMetricFactory()),
                 new ElasticSearchSearcher(client, new QueryConverter(new CriterionConverter()), ElasticSearchSearcher.DEFAULT_SEARCH_SIZE,
                     new InMemoryId.Factory(), messageIdFactory,
                     MailboxElasticSearchConstants.DEFAULT_MAILBOX_READ_ALIAS, routingKeyFactory),
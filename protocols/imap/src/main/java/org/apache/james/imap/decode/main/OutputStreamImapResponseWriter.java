@@ -61,4 +61,9 @@ public class OutputStreamImapResponseWriter implements ImapResponseWriter {
         output.write(buffer);
     }
 
+    @Override
+    public void write(byte[] buffer, int offset, int length) throws IOException {
+        output.write(buffer, offset, length);
+    }
+
 }
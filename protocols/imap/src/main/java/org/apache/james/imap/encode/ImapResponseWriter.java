@@ -20,6 +20,7 @@
 package org.apache.james.imap.encode;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.apache.james.imap.message.response.Literal;
 
@@ -51,4 +52,22 @@ public interface ImapResponseWriter {
      */
     void write(byte[] buffer) throws IOException;
 
+    /**
+     * Write a part of a byte[] to the client.
+     *
+     * Ownership of the array is transferred to the writer, which can thus send it asynchronously without copying it.
+     * Callers must not modify it afterwards.
+     *
+     * @param buffer
+     *            <code>byte array</code> holding the data to be written, not null
+     * @param offset
+     *            position of the first byte to be written
+     * @param length
+     *            count of bytes to be written
+     * @throws IOException
+     */
+    default void write(byte[] buffer, int offset, int length) throws IOException {
+        write(Arrays.copyOfRange(buffer, offset, offset + length));
+    }
+
 }
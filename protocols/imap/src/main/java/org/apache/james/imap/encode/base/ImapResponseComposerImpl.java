@@ -20,7 +20,8 @@
 package org.apache.james.imap.encode.base;
 
 import java.io.IOException;
-import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import javax.mail.Flags;
 
@@ -32,7 +33,6 @@ import org.apache.james.imap.api.message.UidRange;
 import org.apache.james.imap.encode.ImapResponseComposer;
 import org.apache.james.imap.encode.ImapResponseWriter;
 import org.apache.james.imap.message.response.Literal;
-import org.apache.james.protocols.imap.utils.FastByteArrayOutputStream;
 
 /**
  * Class providing methods to send response messages from the server to the
@@ -45,21 +45,39 @@ public class ImapResponseComposerImpl implements ImapConstants, ImapResponseComp
     public static final String FAILED = "failed.";
     private static final int LOWER_CASE_OFFSET = 'a' - 'A';
     public static final int DEFAULT_BUFFER_SIZE = 2048;
-    
-    
+
+    private static final byte[] UNTAGGED_BYTES = UNTAGGED.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LINE_END_BYTES = LINE_END.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NIL_BYTES = NIL.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FLAGS_BYTES = FLAGS.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ANSWERED_BYTES = "\\Answered".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DELETED_BYTES = "\\Deleted".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DRAFT_BYTES = "\\Draft".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FLAGGED_BYTES = "\\Flagged".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RECENT_BYTES = "\\Recent".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SEEN_BYTES = "\\Seen".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RESPONSE_CODE_START_BYTES = " [".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NO_BUFFER = new byte[0];
+
     private final ImapResponseWriter writer;
 
-    private final FastByteArrayOutputStream buffer;
+    private final int bufferSize;
 
-    private final Charset usAscii;
+    /**
+     * Handed over to the writer with each response. The next one is only allocated when a new response is encoded.
+     */
+    private byte[] buffer;
+
+    private int position;
 
     private boolean skipNextSpace;
 
     public ImapResponseComposerImpl(ImapResponseWriter writer, int bufferSize) {
         skipNextSpace = false;
-        usAscii = Charset.forName("US-ASCII");
         this.writer = writer;
-        this.buffer = new FastByteArrayOutputStream(bufferSize);
+        this.bufferSize = bufferSize;
+        this.buffer = new byte[bufferSize];
+        this.position = 0;
     }
     
     public ImapResponseComposerImpl(ImapResponseWriter writer) {
@@ -113,7 +131,7 @@ public class ImapResponseComposerImpl implements ImapConstants, ImapResponseComp
    
     @Override
     public ImapResponseComposer untagged() throws IOException {
-        writeASCII(UNTAGGED);
+        writeBytes(UNTAGGED_BYTES);
         return this;
     }
 
@@ -132,17 +150,16 @@ public class ImapResponseComposerImpl implements ImapConstants, ImapResponseComp
 
     private void responseCode(String responseCode) throws IOException {
         if (responseCode != null && !"".equals(responseCode)) {
-            writeASCII(" [");
+            writeBytes(RESPONSE_CODE_START_BYTES);
             writeASCII(responseCode);
-            buffer.write(BYTE_CLOSE_SQUARE_BRACKET);
+            writeByte(BYTE_CLOSE_SQUARE_BRACKET);
         }
     }
 
     @Override
     public ImapResponseComposer end() throws IOException {
-        buffer.write(LINE_END.getBytes());
-        writer.write(buffer.toByteArray());
-        buffer.reset();
+        writeBytes(LINE_END_BYTES);
+        flush();
         return this;
     }
 
@@ -168,25 +185,25 @@ public class ImapResponseComposerImpl implements ImapConstants, ImapResponseComp
 
     @Override
     public ImapResponseComposer flags(Flags flags) throws IOException {
-        message(FLAGS);
+        message(FLAGS_BYTES);
         openParen();
         if (flags.contains(Flags.Flag.ANSWERED)) {
-            message("\\Answered");
+            message(ANSWERED_BYTES);
         }
         if (flags.contains(Flags.Flag.DELETED)) {
-            message("\\Deleted");
+            message(DELETED_BYTES);
         }
         if (flags.contains(Flags.Flag.DRAFT)) {
-            message("\\Draft");
+            message(DRAFT_BYTES);
         }
         if (flags.contains(Flags.Flag.FLAGGED)) {
-            message("\\Flagged");
+            message(FLAGGED_BYTES);
         }
         if (flags.contains(Flags.Flag.RECENT)) {
-            message("\\Recent");
+            message(RECENT_BYTES);
         }
         if (flags.contains(Flags.Flag.SEEN)) {
-            message("\\Seen");
+            message(SEEN_BYTES);
         }
         
         String[] userFlags = flags.getUserFlags();
@@ -199,7 +216,7 @@ public class ImapResponseComposerImpl implements ImapConstants, ImapResponseComp
 
     @Override
     public ImapResponseComposer nil() throws IOException {
-        message(NIL);
+        message(NIL_BYTES);
         return this;
     }
 
@@ -224,14 +241,74 @@ public class ImapResponseComposerImpl implements ImapConstants, ImapResponseComp
     }
 
 
-    private void writeASCII(String string) throws IOException {
-        buffer.write(string.getBytes(usAscii));
+    private void message(byte[] token) {
+        space();
+        writeBytes(token);
+    }
+
+    /**
+     * Encodes the string directly into the buffer. Like {@link String#getBytes(java.nio.charset.Charset)} with
+     * US-ASCII, non ASCII characters are replaced by '?'.
+     */
+    private void writeASCII(String string) {
+        int length = string.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            char character = string.charAt(i);
+            if (character < 128) {
+                buffer[position++] = (byte) character;
+            } else {
+                buffer[position++] = BYTE_QUESTION;
+            }
+        }
+    }
+
+    private void writeNumber(long number) {
+        if (number < 0) {
+            writeASCII(Long.toString(number));
+            return;
+        }
+        int digitCount = 1;
+        for (long remaining = number / 10; remaining > 0; remaining /= 10) {
+            digitCount++;
+        }
+        ensureCapacity(digitCount);
+        long remaining = number;
+        for (int i = position + digitCount - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + (remaining % 10));
+            remaining /= 10;
+        }
+        position += digitCount;
+    }
+
+    private void writeByte(byte value) {
+        ensureCapacity(1);
+        buffer[position++] = value;
+    }
+
+    private void writeBytes(byte[] values) {
+        ensureCapacity(values.length);
+        System.arraycopy(values, 0, buffer, position, values.length);
+        position += values.length;
+    }
+
+    private void ensureCapacity(int additionalBytes) {
+        int requiredCapacity = position + additionalBytes;
+        if (requiredCapacity > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(requiredCapacity, Math.max(bufferSize, buffer.length * 2)));
+        }
+    }
+
+    private void flush() throws IOException {
+        writer.write(buffer, 0, position);
+        buffer = NO_BUFFER;
+        position = 0;
     }
 
     @Override
     public ImapResponseComposer message(long number) throws IOException {
         space();
-        writeASCII(Long.toString(number));
+        writeNumber(number);
         return this;
     }
     
@@ -253,32 +330,32 @@ public class ImapResponseComposerImpl implements ImapConstants, ImapResponseComp
         space();
         final int length = message.length();
        
-        buffer.write(BYTE_DQUOTE);
+        writeByte(BYTE_DQUOTE);
         for (int i = 0; i < length; i++) {
             char character = message.charAt(i);
             if (character == ImapConstants.BACK_SLASH || character == DQUOTE) {
-                buffer.write(BYTE_BACK_SLASH);
+                writeByte(BYTE_BACK_SLASH);
             }
             // 7-bit ASCII only
             if (character > 128) {
-                buffer.write(BYTE_QUESTION);
+                writeByte(BYTE_QUESTION);
             } else {
-                buffer.write((byte) character);
+                writeByte((byte) character);
             }
         }
-        buffer.write(BYTE_DQUOTE);
+        writeByte(BYTE_DQUOTE);
         return this;
     }
 
 
     private void closeBracket(byte bracket) throws IOException {
-        buffer.write(bracket);
+        writeByte(bracket);
         clearSkipNextSpace();
     }
 
     private void openBracket(byte bracket) throws IOException {
         space();
-        buffer.write(bracket);
+        writeByte(bracket);
         skipNextSpace();
     }
 
@@ -292,21 +369,21 @@ public class ImapResponseComposerImpl implements ImapConstants, ImapResponseComp
         return this;
     }
 
-    private void space() throws IOException {
+    private void space() {
         if (skipNextSpace) {
             skipNextSpace = false;
         } else {
-            buffer.write(SP.getBytes());
+            writeByte(BYTE_SP);
         }
     }
 
     @Override
     public ImapResponseComposer literal(Literal literal) throws IOException {
         space();
-        buffer.write(BYTE_OPEN_BRACE);
+        writeByte(BYTE_OPEN_BRACE);
         final long size = literal.size();
-        writeASCII(Long.toString(size));
-        buffer.write(BYTE_CLOSE_BRACE);
+        writeNumber(size);
+        writeByte(BYTE_CLOSE_BRACE);
         end();
         if (size > 0) {
             writer.write(literal);
@@ -330,18 +407,19 @@ public class ImapResponseComposerImpl implements ImapConstants, ImapResponseComp
         space();
         final int length = message.length();
         if (quote) {
-            buffer.write(BYTE_DQUOTE);
+            writeByte(BYTE_DQUOTE);
         }
+        ensureCapacity(length);
         for (int i = 0; i < length; i++) {
             final char next = message.charAt(i);
             if (next >= 'a' && next <= 'z') {
-                buffer.write((byte) (next - LOWER_CASE_OFFSET));
+                buffer[position++] = (byte) (next - LOWER_CASE_OFFSET);
             } else {
-                buffer.write((byte) (next));
+                buffer[position++] = (byte) (next);
             }
         }
         if (quote) {
-            buffer.write(BYTE_DQUOTE);
+            writeByte(BYTE_DQUOTE);
         }
     }
 
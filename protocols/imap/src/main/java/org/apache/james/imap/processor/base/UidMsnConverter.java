@@ -19,37 +19,66 @@
 
 package org.apache.james.imap.processor.base;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.TreeSet;
 
 import org.apache.james.mailbox.MessageUid;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Lists;
 
+/**
+ * Maps UIDs of the selected mailbox to their message sequence numbers.
+ *
+ * UIDs are stored as a sorted array of primitive longs, the MSN of a UID being its position in the array plus one.
+ * This keeps the footprint at 8 bytes per message and allows binary searches for UID to MSN lookups.
+ */
 public class UidMsnConverter {
 
     public static final int FIRST_MSN = 1;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long[] EMPTY = new long[0];
 
-    @VisibleForTesting final ArrayList<MessageUid> uids;
+    @VisibleForTesting long[] uids;
+    @VisibleForTesting int size;
 
     public UidMsnConverter() {
-        this.uids = Lists.newArrayList();
+        this.uids = EMPTY;
+        this.size = 0;
     }
 
     public synchronized void addAll(List<MessageUid> addedUids) {
-        TreeSet<MessageUid> tmp = new TreeSet<>();
-        tmp.addAll(uids);
-        tmp.addAll(addedUids);
-        uids.clear();
-        uids.addAll(tmp);
+        long[] merged = Arrays.copyOf(uids, size + addedUids.size());
+        int position = size;
+        boolean sorted = true;
+        for (MessageUid uid : addedUids) {
+            long value = uid.asLong();
+            sorted = sorted && (position == 0 || merged[position - 1] < value);
+            merged[position++] = value;
+        }
+        if (!sorted) {
+            Arrays.sort(merged);
+            position = removeDuplicates(merged);
+        }
+        uids = merged;
+        size = position;
+    }
+
+    private int removeDuplicates(long[] sortedValues) {
+        if (sortedValues.length == 0) {
+            return 0;
+        }
+        int distinctCount = 1;
+        for (int i = 1; i < sortedValues.length; i++) {
+            if (sortedValues[i] != sortedValues[distinctCount - 1]) {
+                sortedValues[distinctCount++] = sortedValues[i];
+            }
+        }
+        return distinctCount;
     }
 
     public synchronized Optional<Integer> getMsn(MessageUid uid) {
-        int position = Collections.binarySearch(uids, uid);
+        int position = Arrays.binarySearch(uids, 0, size, uid.asLong());
         if (position < 0) {
             return Optional.empty();
         }
@@ -57,14 +86,14 @@ public class UidMsnConverter {
     }
 
     public synchronized Optional<MessageUid> getUid(int msn) {
-        if (msn <= uids.size() && msn > 0) {
-            return Optional.of(uids.get(msn - 1));
+        if (msn <= size && msn > 0) {
+            return Optional.of(MessageUid.of(uids[msn - 1]));
         }
         return Optional.empty();
     }
 
     public synchronized Optional<MessageUid> getLastUid() {
-        if (uids.isEmpty()) {
+        if (size == 0) {
             return Optional.empty();
         }
         return getUid(getLastMsn());
@@ -75,37 +104,58 @@ public class UidMsnConverter {
     }
 
     public synchronized int getNumMessage() {
-        return uids.size();
+        return size;
     }
 
     public synchronized void remove(MessageUid uid) {
-        uids.remove(uid);
+        int position = Arrays.binarySearch(uids, 0, size, uid.asLong());
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(uids, position + 1, uids, position, size - position - 1);
+        size--;
+        shrinkIfNeeded();
     }
 
     public synchronized boolean isEmpty() {
-        return uids.isEmpty();
+        return size == 0;
     }
 
     public synchronized void clear() {
-        uids.clear();
+        uids = EMPTY;
+        size = 0;
     }
 
     public synchronized void addUid(MessageUid uid) {
-        if (uids.contains(uid)) {
+        long value = uid.asLong();
+        if (size == 0 || uids[size - 1] < value) {
+            ensureCapacity(size + 1);
+            uids[size++] = value;
             return;
         }
-        if (isLastUid(uid)) {
-            uids.add(uid);
-        } else {
-            uids.add(uid);
-            Collections.sort(uids);
+        int position = Arrays.binarySearch(uids, 0, size, value);
+        if (position >= 0) {
+            return;
         }
+        int insertionPoint = -(position + 1);
+        ensureCapacity(size + 1);
+        System.arraycopy(uids, insertionPoint, uids, insertionPoint + 1, size - insertionPoint);
+        uids[insertionPoint] = value;
+        size++;
     }
 
-    private boolean isLastUid(MessageUid uid) {
-        Optional<MessageUid> lastUid = getLastUid();
-        return !lastUid.isPresent() ||
-            lastUid.get().compareTo(uid) < 0;
+    private void ensureCapacity(int capacity) {
+        if (capacity > uids.length) {
+            int newCapacity = Math.max(Math.max(INITIAL_CAPACITY, capacity), uids.length + (uids.length >> 1));
+            uids = Arrays.copyOf(uids, newCapacity);
+        }
+    }
+
+    private void shrinkIfNeeded() {
+        // Halving only when a quarter of the array is used keeps removals amortized constant time regarding allocations
+        if (uids.length > INITIAL_CAPACITY && size < uids.length / 4) {
+            uids = Arrays.copyOf(uids, Math.max(INITIAL_CAPACITY, uids.length / 2));
+        }
     }
 
     private int getLastMsn() {
@@ -59,4 +59,8 @@ class ContentBodyElement implements BodyElement {
     public InputStream getInputStream() throws IOException {
         return content.getInputStream();
     }
+
+    public InputStream getInputStream(long offset, long length) throws IOException {
+        return content.getInputStream(offset, length);
+    }
 }
\ No newline at end of file
@@ -204,7 +204,9 @@ public class FetchProcessor extends AbstractMailboxProcessor<FetchRequest> {
                 final boolean isBase = (path == null || path.length == 0);
                 switch (sectionType) {
                     case BodyFetchElement.CONTENT:
-                        if (isBase) {
+                        if (isBase && element.getFirstOctet() != null) {
+                            addContent(result, path, isBase, FetchGroup.FULL_CONTENT_RANGES);
+                        } else if (isBase) {
                             addContent(result, path, isBase, FetchGroup.FULL_CONTENT);
                         } else {
                             addContent(result, path, isBase, FetchGroup.MIME_CONTENT);
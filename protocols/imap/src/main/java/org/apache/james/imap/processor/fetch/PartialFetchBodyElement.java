@@ -68,6 +68,10 @@ final class PartialFetchBodyElement implements BodyElement {
 
     @Override
     public InputStream getInputStream() throws IOException {
+        if (delegate instanceof ContentBodyElement) {
+            // Only read the requested range from the underlying storage
+            return ((ContentBodyElement) delegate).getInputStream(firstOctet, size());
+        }
         return new LimitingInputStream(delegate.getInputStream(), firstOctet, size());
     }
 
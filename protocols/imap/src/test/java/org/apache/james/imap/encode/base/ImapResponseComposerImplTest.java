@@ -0,0 +1,134 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.encode.base;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.mail.Flags;
+
+import org.apache.james.imap.encode.ImapResponseComposer;
+import org.apache.james.imap.encode.ImapResponseWriter;
+import org.apache.james.imap.message.response.Literal;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Strings;
+
+public class ImapResponseComposerImplTest {
+    private ByteImapResponseWriter writer;
+    private ImapResponseComposer testee;
+
+    @Before
+    public void setUp() {
+        writer = new ByteImapResponseWriter();
+        testee = new ImapResponseComposerImpl(writer, 16);
+    }
+
+    @Test
+    public void messageShouldEncodeNumbers() throws Exception {
+        testee.untagged().message(0).message(7).message(1234567890123L).message(-42).end();
+
+        assertThat(writer.getString()).isEqualTo("* 0 7 1234567890123 -42\r\n");
+    }
+
+    @Test
+    public void messageShouldReplaceNonAsciiCharacters() throws Exception {
+        testee.untagged().message("caf\u00e9").end();
+
+        assertThat(writer.getString()).isEqualTo("* caf?\r\n");
+    }
+
+    @Test
+    public void flagsShouldEncodeSystemAndUserFlags() throws Exception {
+        Flags flags = new Flags();
+        flags.add(Flags.Flag.SEEN);
+        flags.add(Flags.Flag.ANSWERED);
+        flags.add("custom");
+
+        testee.untagged().flags(flags).end();
+
+        assertThat(writer.getString()).isEqualTo("* FLAGS (\\Answered \\Seen custom)\r\n");
+    }
+
+    @Test
+    public void nilShouldEncodeNil() throws Exception {
+        testee.untagged().openParen().nil().nil().closeParen().end();
+
+        assertThat(writer.getString()).isEqualTo("* (NIL NIL)\r\n");
+    }
+
+    @Test
+    public void responsesBiggerThanTheBufferShouldBeEncoded() throws Exception {
+        String longMessage = Strings.repeat("a", 1000);
+
+        testee.untagged().message(longMessage).end();
+
+        assertThat(writer.getString()).isEqualTo("* " + longMessage + "\r\n");
+    }
+
+    @Test
+    public void successiveResponsesShouldBeEncoded() throws Exception {
+        String longMessage = Strings.repeat("a", 1000);
+
+        testee.untagged().message(longMessage).end();
+        testee.untagged().message(1).message("EXISTS").end();
+        testee.untagged().message(longMessage).end();
+
+        assertThat(writer.getString()).isEqualTo("* " + longMessage + "\r\n"
+            + "* 1 EXISTS\r\n"
+            + "* " + longMessage + "\r\n");
+    }
+
+    @Test
+    public void handedOverBuffersShouldNotBeModifiedByLaterResponses() throws Exception {
+        List<String> sentResponses = new ArrayList<>();
+        List<byte[]> retainedBuffers = new ArrayList<>();
+        List<Integer> retainedLengths = new ArrayList<>();
+        ImapResponseComposer composer = new ImapResponseComposerImpl(new ImapResponseWriter() {
+            @Override
+            public void write(Literal literal) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void write(byte[] buffer) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void write(byte[] buffer, int offset, int length) {
+                sentResponses.add(new String(buffer, offset, length, StandardCharsets.US_ASCII));
+                retainedBuffers.add(buffer);
+                retainedLengths.add(length);
+            }
+        }, 16);
+
+        composer.untagged().message(1).message("EXISTS").end();
+        composer.untagged().message(2).message("RECENT").end();
+
+        assertThat(new String(retainedBuffers.get(0), 0, retainedLengths.get(0), StandardCharsets.US_ASCII))
+            .isEqualTo(sentResponses.get(0))
+            .isEqualTo("* 1 EXISTS\r\n");
+    }
+}
@@ -0,0 +1,190 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.processor.base;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.apache.james.mailbox.MessageUid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Compares {@link UidMsnConverter} with its former boxed, ArrayList based implementation.
+ *
+ * Run it with the main method once test classes are compiled, for instance from the IDE.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UidMsnConverterBenchmark {
+
+    /**
+     * Former implementation, kept here as a baseline.
+     */
+    static class BoxedUidMsnConverter {
+        private final ArrayList<MessageUid> uids = Lists.newArrayList();
+
+        synchronized void addAll(List<MessageUid> addedUids) {
+            TreeSet<MessageUid> tmp = new TreeSet<>();
+            tmp.addAll(uids);
+            tmp.addAll(addedUids);
+            uids.clear();
+            uids.addAll(tmp);
+        }
+
+        synchronized Optional<Integer> getMsn(MessageUid uid) {
+            int position = Collections.binarySearch(uids, uid);
+            if (position < 0) {
+                return Optional.empty();
+            }
+            return Optional.of(position + 1);
+        }
+
+        synchronized Optional<MessageUid> getUid(int msn) {
+            if (msn <= uids.size() && msn > 0) {
+                return Optional.of(uids.get(msn - 1));
+            }
+            return Optional.empty();
+        }
+
+        synchronized void remove(MessageUid uid) {
+            uids.remove(uid);
+        }
+
+        synchronized void addUid(MessageUid uid) {
+            if (uids.contains(uid)) {
+                return;
+            }
+            uids.add(uid);
+            Collections.sort(uids);
+        }
+    }
+
+    @Param({"10000", "500000"})
+    public int messageCount;
+
+    private List<MessageUid> mailboxContent;
+    private UidMsnConverter converter;
+    private BoxedUidMsnConverter boxedConverter;
+
+    @Setup(Level.Trial)
+    public void generateMailboxContent() {
+        mailboxContent = LongStream.rangeClosed(1, messageCount)
+            .mapToObj(MessageUid::of)
+            .collect(Collectors.toList());
+    }
+
+    @Setup(Level.Iteration)
+    public void selectMailbox() {
+        converter = new UidMsnConverter();
+        converter.addAll(mailboxContent);
+        boxedConverter = new BoxedUidMsnConverter();
+        boxedConverter.addAll(mailboxContent);
+    }
+
+    @Benchmark
+    public UidMsnConverter select() {
+        UidMsnConverter result = new UidMsnConverter();
+        result.addAll(mailboxContent);
+        return result;
+    }
+
+    @Benchmark
+    public BoxedUidMsnConverter selectBaseline() {
+        BoxedUidMsnConverter result = new BoxedUidMsnConverter();
+        result.addAll(mailboxContent);
+        return result;
+    }
+
+    @Benchmark
+    public Optional<Integer> getMsn() {
+        return converter.getMsn(randomUid());
+    }
+
+    @Benchmark
+    public Optional<Integer> getMsnBaseline() {
+        return boxedConverter.getMsn(randomUid());
+    }
+
+    @Benchmark
+    public Optional<MessageUid> getUid() {
+        return converter.getUid(randomMsn());
+    }
+
+    @Benchmark
+    public Optional<MessageUid> getUidBaseline() {
+        return boxedConverter.getUid(randomMsn());
+    }
+
+    @Benchmark
+    public void expunge() {
+        MessageUid uid = randomUid();
+        converter.remove(uid);
+        converter.addUid(uid);
+    }
+
+    @Benchmark
+    public void expungeBaseline() {
+        MessageUid uid = randomUid();
+        boxedConverter.remove(uid);
+        boxedConverter.addUid(uid);
+    }
+
+    private MessageUid randomUid() {
+        return MessageUid.of(randomMsn());
+    }
+
+    private int randomMsn() {
+        return ThreadLocalRandom.current().nextInt(messageCount) + 1;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(UidMsnConverterBenchmark.class.getSimpleName())
+            .build())
+            .run();
+    }
+}
@@ -445,10 +445,30 @@ public class UidMsnConverterTest {
             .containsExactlyElementsOf(resultBuilder.build().entrySet());
     }
 
+    @Test
+    public void removeShouldReleaseStorageWhenMostMessagesAreRemoved() {
+        int initialCount = 1000;
+        for (int i = 1; i <= initialCount; i++) {
+            testee.addUid(MessageUid.of(i));
+        }
+
+        for (int i = 1; i <= initialCount - 10; i++) {
+            testee.remove(MessageUid.of(i));
+        }
+
+        ImmutableMap.Builder<Integer, MessageUid> resultBuilder = ImmutableMap.builder();
+        for (int i = 1; i <= 10; i++) {
+            resultBuilder.put(i, MessageUid.of(initialCount - 10 + i));
+        }
+        assertThat(mapTesteeInternalDataToMsnByUid().entrySet())
+            .containsExactlyElementsOf(resultBuilder.build().entrySet());
+        assertThat(testee.uids.length).isLessThan(initialCount / 4);
+    }
+
     private Map<Integer, MessageUid> mapTesteeInternalDataToMsnByUid() {
         ImmutableMap.Builder<Integer, MessageUid> result = ImmutableMap.builder();
-        for (int i = 0; i < testee.uids.size(); i++) {
-            result.put(i + 1, testee.uids.get(i));
+        for (int i = 0; i < testee.size; i++) {
+            result.put(i + 1, MessageUid.of(testee.uids[i]));
         }
         return result.build();
     }
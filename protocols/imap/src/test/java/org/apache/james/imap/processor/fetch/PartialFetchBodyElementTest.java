@@ -21,9 +21,13 @@ package org.apache.james.imap.processor.fetch;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+
 import org.apache.james.imap.message.response.FetchResponse.BodyElement;
+import org.apache.james.mailbox.model.Content;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -97,4 +101,16 @@ public class PartialFetchBodyElementTest {
 
         assertThat(element.size()).describedAs("Content size is less than start. Size should be zero.").isEqualTo(NUMBER_OF_OCTETS);
     }
+
+    @Test
+    public void getInputStreamShouldReadTheRangeFromTheContent() throws Exception {
+        Content content = mock(Content.class);
+        when(content.size()).thenReturn(60L);
+        ByteArrayInputStream range = new ByteArrayInputStream(new byte[50]);
+        when(content.getInputStream(10, 50)).thenReturn(range);
+        PartialFetchBodyElement element = new PartialFetchBodyElement(new ContentBodyElement("Name", content), 10, NUMBER_OF_OCTETS);
+
+        assertThat(element.getInputStream()).isSameAs(range);
+        verify(content).getInputStream(10, 50);
+    }
 }
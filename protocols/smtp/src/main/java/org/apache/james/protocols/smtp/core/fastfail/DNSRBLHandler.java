@@ -22,6 +22,7 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Optional;
 import java.util.StringTokenizer;
 
 import org.apache.james.core.MailAddress;
@@ -35,6 +36,11 @@ import org.apache.james.protocols.smtp.hook.RcptHook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+
 /**
   * Connect handler for DNSRBL processing
   */
@@ -123,47 +129,55 @@ public class DNSRBLHandler implements RcptHook {
             }
             String reversedOctets = sb.toString();
 
-            if (whitelist != null) {
-                String[] rblList = whitelist;
-                for (String rbl : rblList) {
-                    if (resolve(reversedOctets + rbl)) {
-                        LOGGER.info("Connection from {} whitelisted by {}", ipAddress, rbl);
-                        return;
-                    } else {
-                        LOGGER.debug("IpAddress {} not listed on {}", session.getRemoteAddress().getAddress(), rbl);
-                    }
-                }
+            // All the zones are queried in parallel, the first listing zone in configuration order wins
+            Tuple2<Optional<String>, Optional<String>> listings = Mono.zip(
+                    firstListingZone(session, reversedOctets, whitelist),
+                    firstListingZone(session, reversedOctets, blacklist))
+                .block();
+
+            Optional<String> whitelistingZone = listings.getT1();
+            if (whitelistingZone.isPresent()) {
+                LOGGER.info("Connection from {} whitelisted by {}", ipAddress, whitelistingZone.get());
+                return;
             }
 
-            if (blacklist != null) {
-                String[] rblList = blacklist;
-                for (String rbl : rblList) {
-                    if (resolve(reversedOctets + rbl)) {
-                        LOGGER.info("Connection from {} restricted by {} to SMTP AUTH/postmaster/abuse.", ipAddress, rbl);
-
-                        // we should try to retrieve details
-                        if (getDetail) {
-                            Collection<String> txt = resolveTXTRecords(reversedOctets + rbl);
-
-                            // Check if we found a txt record
-                            if (!txt.isEmpty()) {
-                                // Set the detail
-                                String blocklistedDetail = txt.iterator().next().toString();
-
-                                session.setAttachment(RBL_DETAIL_MAIL_ATTRIBUTE_NAME, blocklistedDetail, State.Connection);
-                            }
-                        }
-
-                        session.setAttachment(RBL_BLOCKLISTED_MAIL_ATTRIBUTE_NAME, "true", State.Connection);
-                        return;
-                    } else {
-                        // if it is unknown, it isn't blocked
-                        LOGGER.debug("unknown host exception thrown: {}", rbl);
-                    }
+            listings.getT2().ifPresent(rbl -> {
+                LOGGER.info("Connection from {} restricted by {} to SMTP AUTH/postmaster/abuse.", ipAddress, rbl);
+
+                // we should try to retrieve details
+                if (getDetail) {
+                    Collection<String> txt = resolveTXTRecordsReactive(reversedOctets + rbl).block();
+
+                    // Check if we found a txt record
+                    if (!txt.isEmpty()) {
+                        // Set the detail
+                        String blocklistedDetail = txt.iterator().next().toString();
 
+                        session.setAttachment(RBL_DETAIL_MAIL_ATTRIBUTE_NAME, blocklistedDetail, State.Connection);
+                    }
                 }
-            }
+
+                session.setAttachment(RBL_BLOCKLISTED_MAIL_ATTRIBUTE_NAME, "true", State.Connection);
+            });
+        }
+    }
+
+    private Mono<Optional<String>> firstListingZone(SMTPSession session, String reversedOctets, String[] rblList) {
+        if (rblList == null) {
+            return Mono.just(Optional.empty());
         }
+        return Flux.fromArray(rblList)
+            .flatMapSequential(rbl -> resolveReactive(reversedOctets + rbl)
+                .doOnNext(listed -> {
+                    if (!listed) {
+                        LOGGER.debug("IpAddress {} not listed on {}", session.getRemoteAddress().getAddress(), rbl);
+                    }
+                })
+                .filter(listed -> listed)
+                .map(listed -> rbl))
+            .next()
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty());
     }
     
     @Override
@@ -222,4 +236,32 @@ public class DNSRBLHandler implements RcptHook {
     protected Collection<String> resolveTXTRecords(String ip) {
         return Collections.<String>emptyList();
     }
+
+    /**
+     * Non blocking variant of {@link #resolve(String)}, allowing all the configured zones to be queried in parallel.
+     *
+     * This implementation runs {@link #resolve(String)} on an elastic scheduler. Sub-classes relying on an
+     * asynchronous resolver should override this.
+     *
+     * @param ip
+     * @return canResolve
+     */
+    protected Mono<Boolean> resolveReactive(String ip) {
+        return Mono.fromCallable(() -> resolve(ip))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Non blocking variant of {@link #resolveTXTRecords(String)}.
+     *
+     * This implementation runs {@link #resolveTXTRecords(String)} on an elastic scheduler. Sub-classes relying on an
+     * asynchronous resolver should override this.
+     *
+     * @param ip
+     * @return txtRecords
+     */
+    protected Mono<Collection<String>> resolveTXTRecordsReactive(String ip) {
+        return Mono.fromCallable(() -> resolveTXTRecords(ip))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
 }
@@ -29,6 +29,8 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.james.core.MailAddress;
 import org.apache.james.core.MaybeSender;
@@ -260,6 +262,43 @@ public class DNSRBLHandlerTest {
         assertThat(mockedSMTPSession.getAttachment(RBL_DETAIL_MAIL_ATTRIBUTE_NAME, Connection)).isNull();
         assertThat(mockedSMTPSession.getAttachment(RBL_BLOCKLISTED_MAIL_ATTRIBUTE_NAME, Connection)).withFailMessage("Not blocked").isNull();
     }
-   
+
+    // ip on both whitelist and blacklist
+    @Test
+    public void whitelistShouldTakePrecedenceOverBlacklist() throws Exception {
+        DNSRBLHandler rbl = createHandler();
+
+        setRemoteIp("127.0.0.2");
+        setupMockedSMTPSession(new MailAddress("any@domain"));
+
+        rbl.setWhitelist(new String[] { "bl.spamcop.net." });
+        rbl.setBlacklist(new String[] { "bl.spamcop.net." });
+        rbl.doRcpt(mockedSMTPSession, MaybeSender.nullSender(), new MailAddress("test@localhost"));
+        assertThat(mockedSMTPSession.getAttachment(RBL_BLOCKLISTED_MAIL_ATTRIBUTE_NAME, Connection)).withFailMessage("Not blocked").isNull();
+    }
+
+    // each lookup only succeeds once all the zones are being queried
+    @Test
+    public void zonesShouldBeQueriedConcurrently() throws Exception {
+        CountDownLatch allZonesQueried = new CountDownLatch(2);
+        DNSRBLHandler rbl = new DNSRBLHandler() {
+            @Override
+            protected boolean resolve(String host) {
+                allZonesQueried.countDown();
+                try {
+                    return allZonesQueried.await(10, TimeUnit.SECONDS) && host.endsWith("first.rbl.");
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+
+        setRemoteIp("127.0.0.2");
+        setupMockedSMTPSession(new MailAddress("any@domain"));
+
+        rbl.setBlacklist(new String[] { "first.rbl.", "second.rbl." });
+        rbl.doRcpt(mockedSMTPSession, MaybeSender.nullSender(), new MailAddress("test@localhost"));
+        assertThat(mockedSMTPSession.getAttachment(RBL_BLOCKLISTED_MAIL_ATTRIBUTE_NAME, Connection)).withFailMessage("Blocked").isNotNull();
+    }
 
 }
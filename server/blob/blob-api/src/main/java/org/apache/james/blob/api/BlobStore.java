@@ -18,9 +18,18 @@
  ****************************************************************/
 package org.apache.james.blob.api;
 
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
+import com.google.common.base.Preconditions;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Closeables;
+
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface BlobStore {
@@ -33,6 +42,42 @@ public interface BlobStore {
 
     InputStream read(BucketName bucketName, BlobId blobId);
 
+    /**
+     * Reads at most length bytes of the blob, starting at offset. An empty stream is returned when offset is past
+     * the end of the blob.
+     *
+     * The default implementation reads and discards the leading bytes of the full blob. Implementations able to
+     * address a sub-part of their storage should override it.
+     */
+    default InputStream read(BucketName bucketName, BlobId blobId, long offset, long length) {
+        Preconditions.checkArgument(offset >= 0, "'offset' should not be negative");
+        Preconditions.checkArgument(length >= 0, "'length' should not be negative");
+
+        InputStream inputStream = read(bucketName, blobId);
+        try {
+            ByteStreams.skipFully(inputStream, offset);
+            return ByteStreams.limit(inputStream, length);
+        } catch (EOFException e) {
+            Closeables.closeQuietly(inputStream);
+            return new ByteArrayInputStream(new byte[0]);
+        } catch (IOException e) {
+            Closeables.closeQuietly(inputStream);
+            throw new ObjectStoreException("Failed to read range of blob " + blobId.asString(), e);
+        }
+    }
+
+    /**
+     * Reads the blob as an ordered sequence of buffers, without blocking.
+     *
+     * Implementations storing blobs by parts should override this method to emit each part as soon as it is
+     * available rather than buffering the whole blob in memory.
+     */
+    default Flux<ByteBuffer> readReactive(BucketName bucketName, BlobId blobId) {
+        return readBytes(bucketName, blobId)
+            .map(ByteBuffer::wrap)
+            .flux();
+    }
+
     default Mono<BlobId> save(BucketName bucketName, String data) {
         return save(bucketName, data.getBytes(StandardCharsets.UTF_8));
     }
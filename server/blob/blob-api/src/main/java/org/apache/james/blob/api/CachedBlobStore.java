@@ -0,0 +1,274 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.blob.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.apache.james.metrics.api.Metric;
+import org.apache.james.metrics.api.MetricFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.io.ByteStreams;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Read-through, write-through cache for small blobs of the default bucket, typically message headers, that are read
+ * again and again by mail clients.
+ *
+ * Blobs bigger than the size threshold are never cached and directly served by the backend. Cached content is copied
+ * in and out, so that callers modifying the arrays they get or give do not alter it.
+ */
+public class CachedBlobStore implements BlobStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachedBlobStore.class);
+
+    public static final String BACKEND = "cachedBlobStoreBackend";
+    public static final int DEFAULT_SIZE_THRESHOLD_IN_BYTES = 8 * 1024;
+
+    private static final String BLOB_STORE_CACHE_METRIC_PREFIX = "blobStore:cache:";
+    public static final String HITS_METRIC_NAME = BLOB_STORE_CACHE_METRIC_PREFIX + "hits";
+    public static final String MISSES_METRIC_NAME = BLOB_STORE_CACHE_METRIC_PREFIX + "misses";
+
+    private final BlobStoreCache cache;
+    private final BlobStore backend;
+    private final int sizeThresholdInBytes;
+    private final Metric hitMetric;
+    private final Metric missMetric;
+
+    public CachedBlobStore(MetricFactory metricFactory, BlobStoreCache cache, BlobStore backend, int sizeThresholdInBytes) {
+        Preconditions.checkArgument(sizeThresholdInBytes >= 0, "'sizeThresholdInBytes' should not be negative");
+
+        this.cache = cache;
+        this.backend = backend;
+        this.sizeThresholdInBytes = sizeThresholdInBytes;
+        this.hitMetric = metricFactory.generate(HITS_METRIC_NAME);
+        this.missMetric = metricFactory.generate(MISSES_METRIC_NAME);
+    }
+
+    @Override
+    public Mono<BlobId> save(BucketName bucketName, byte[] data) {
+        Preconditions.checkNotNull(data);
+
+        return backend.save(bucketName, data)
+            .flatMap(blobId -> saveInCache(bucketName, blobId, data)
+                .thenReturn(blobId));
+    }
+
+    @Override
+    public Mono<BlobId> save(BucketName bucketName, InputStream data) {
+        Preconditions.checkNotNull(data);
+
+        if (!isCachable(bucketName)) {
+            return backend.save(bucketName, data);
+        }
+        return Mono.fromCallable(() -> readPrefix(data))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(prefix -> {
+                if (prefix.isComplete) {
+                    return save(bucketName, prefix.bytes);
+                }
+                return backend.save(bucketName, prefix.remainingStream());
+            });
+    }
+
+    @Override
+    public Mono<byte[]> readBytes(BucketName bucketName, BlobId blobId) {
+        if (!isCachable(bucketName)) {
+            return backend.readBytes(bucketName, blobId);
+        }
+        return readFromCache(blobId)
+            .map(bytes -> Arrays.copyOf(bytes, bytes.length))
+            .switchIfEmpty(Mono.defer(() -> backend.readBytes(bucketName, blobId)
+                .flatMap(bytes -> saveInCache(bucketName, blobId, bytes)
+                    .thenReturn(bytes))));
+    }
+
+    @Override
+    public InputStream read(BucketName bucketName, BlobId blobId) {
+        if (!isCachable(bucketName)) {
+            return backend.read(bucketName, blobId);
+        }
+        return readFromCache(blobId)
+            .<InputStream>map(ByteArrayInputStream::new)
+            .switchIfEmpty(Mono.fromCallable(() -> readThroughBackend(bucketName, blobId)))
+            .block();
+    }
+
+    @Override
+    public InputStream read(BucketName bucketName, BlobId blobId, long offset, long length) {
+        Preconditions.checkArgument(offset >= 0, "'offset' should not be negative");
+        Preconditions.checkArgument(length >= 0, "'length' should not be negative");
+
+        if (!isCachable(bucketName)) {
+            return backend.read(bucketName, blobId, offset, length);
+        }
+        return readFromCache(blobId)
+            .<InputStream>map(bytes -> sliceRange(bytes, offset, length))
+            .switchIfEmpty(Mono.fromCallable(() -> backend.read(bucketName, blobId, offset, length)))
+            .block();
+    }
+
+    @Override
+    public Flux<ByteBuffer> readReactive(BucketName bucketName, BlobId blobId) {
+        if (!isCachable(bucketName)) {
+            return backend.readReactive(bucketName, blobId);
+        }
+        return readFromCache(blobId)
+            .map(bytes -> ByteBuffer.wrap(bytes).asReadOnlyBuffer())
+            .flux()
+            .switchIfEmpty(Flux.defer(() -> readReactiveThroughBackend(bucketName, blobId)));
+    }
+
+    @Override
+    public BucketName getDefaultBucketName() {
+        return backend.getDefaultBucketName();
+    }
+
+    @Override
+    public Mono<Void> deleteBucket(BucketName bucketName) {
+        return backend.deleteBucket(bucketName);
+    }
+
+    @Override
+    public Mono<Void> delete(BucketName bucketName, BlobId blobId) {
+        if (!isCachable(bucketName)) {
+            return backend.delete(bucketName, blobId);
+        }
+        return backend.delete(bucketName, blobId)
+            .then(cache.remove(blobId));
+    }
+
+    private Mono<byte[]> readFromCache(BlobId blobId) {
+        return cache.read(blobId)
+            .onErrorResume(e -> {
+                LOGGER.warn("Failed to read blob {} from cache, falling back to the backend", blobId.asString(), e);
+                return Mono.empty();
+            })
+            .doOnNext(any -> hitMetric.increment())
+            .switchIfEmpty(Mono.fromRunnable(missMetric::increment));
+    }
+
+    private InputStream readThroughBackend(BucketName bucketName, BlobId blobId) throws IOException {
+        Prefix prefix = readPrefix(backend.read(bucketName, blobId));
+        if (prefix.isComplete) {
+            saveInCache(bucketName, blobId, prefix.bytes).block();
+            return new ByteArrayInputStream(prefix.bytes);
+        }
+        return prefix.remainingStream();
+    }
+
+    private Flux<ByteBuffer> readReactiveThroughBackend(BucketName bucketName, BlobId blobId) {
+        ChunkAccumulator accumulator = new ChunkAccumulator();
+        return backend.readReactive(bucketName, blobId)
+            .doOnNext(accumulator::append)
+            .concatWith(Mono.defer(() -> accumulator.content()
+                    .map(bytes -> saveInCache(bucketName, blobId, bytes))
+                    .orElse(Mono.empty()))
+                .then(Mono.<ByteBuffer>empty()));
+    }
+
+    private Mono<Void> saveInCache(BucketName bucketName, BlobId blobId, byte[] data) {
+        if (isCachable(bucketName) && data.length <= sizeThresholdInBytes) {
+            return cache.cache(blobId, Arrays.copyOf(data, data.length))
+                .onErrorResume(e -> {
+                    LOGGER.warn("Failed to cache blob {}", blobId.asString(), e);
+                    return Mono.empty();
+                });
+        }
+        return Mono.empty();
+    }
+
+    private InputStream sliceRange(byte[] bytes, long offset, long length) {
+        int from = (int) Math.min(offset, bytes.length);
+        int rangeLength = (int) Math.min(length, bytes.length - from);
+        return new ByteArrayInputStream(bytes, from, rangeLength);
+    }
+
+    private boolean isCachable(BucketName bucketName) {
+        return bucketName.equals(getDefaultBucketName());
+    }
+
+    private Prefix readPrefix(InputStream inputStream) throws IOException {
+        byte[] buffer = new byte[sizeThresholdInBytes + 1];
+        int readCount = ByteStreams.read(inputStream, buffer, 0, buffer.length);
+        if (readCount <= sizeThresholdInBytes) {
+            inputStream.close();
+            return new Prefix(Arrays.copyOf(buffer, readCount), inputStream, true);
+        }
+        return new Prefix(buffer, inputStream, false);
+    }
+
+    /**
+     * Copies the chunks of a reactive read as long as they fit below the size threshold, so that small blobs can be
+     * cached once fully read.
+     */
+    private class ChunkAccumulator {
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        private boolean overflowed = false;
+
+        private void append(ByteBuffer chunk) {
+            if (overflowed) {
+                return;
+            }
+            if (content.size() + chunk.remaining() > sizeThresholdInBytes) {
+                overflowed = true;
+                content.reset();
+                return;
+            }
+            ByteBuffer copy = chunk.duplicate();
+            byte[] bytes = new byte[copy.remaining()];
+            copy.get(bytes);
+            content.write(bytes, 0, bytes.length);
+        }
+
+        private Optional<byte[]> content() {
+            if (overflowed) {
+                return Optional.empty();
+            }
+            return Optional.of(content.toByteArray());
+        }
+    }
+
+    private static class Prefix {
+        private final byte[] bytes;
+        private final InputStream rest;
+        private final boolean isComplete;
+
+        private Prefix(byte[] bytes, InputStream rest, boolean isComplete) {
+            this.bytes = bytes;
+            this.rest = rest;
+            this.isComplete = isComplete;
+        }
+
+        private InputStream remainingStream() {
+            return new SequenceInputStream(new ByteArrayInputStream(bytes), rest);
+        }
+    }
+}
@@ -24,7 +24,9 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
@@ -225,4 +227,144 @@ public interface BlobStoreContract extends DeleteBlobStoreContract, BucketBlobSt
 
         assertThat(read).hasSameContentAs(new ByteArrayInputStream(TWELVE_MEGABYTES));
     }
+
+    @Test
+    default void readReactiveShouldThrowWhenNoExisting() {
+        BlobStore store = testee();
+        BucketName defaultBucketName = store.getDefaultBucketName();
+
+        assertThatThrownBy(() -> store.readReactive(defaultBucketName, blobIdFactory().from("unknown")).blockLast())
+            .isInstanceOf(ObjectNotFoundException.class);
+    }
+
+    @Test
+    default void readReactiveShouldReturnSavedData() {
+        BlobStore store = testee();
+        BucketName defaultBucketName = store.getDefaultBucketName();
+
+        BlobId blobId = store.save(defaultBucketName, SHORT_BYTEARRAY).block();
+
+        List<ByteBuffer> buffers = store.readReactive(defaultBucketName, blobId).collectList().block();
+        ByteBuffer read = ByteBuffer.allocate(buffers.stream().mapToInt(ByteBuffer::remaining).sum());
+        buffers.forEach(read::put);
+
+        assertThat(read.array()).isEqualTo(SHORT_BYTEARRAY);
+    }
+
+    @Test
+    default void readReactiveShouldReturnBigSavedDataInOrder() {
+        BlobStore store = testee();
+        BucketName defaultBucketName = store.getDefaultBucketName();
+
+        BlobId blobId = store.save(defaultBucketName, TWELVE_MEGABYTES).block();
+
+        List<ByteBuffer> buffers = store.readReactive(defaultBucketName, blobId).collectList().block();
+        ByteBuffer read = ByteBuffer.allocate(buffers.stream().mapToInt(ByteBuffer::remaining).sum());
+        buffers.forEach(read::put);
+
+        assertThat(read.array()).isEqualTo(TWELVE_MEGABYTES);
+    }
+
+    @Test
+    default void readRangeShouldThrowWhenNoExisting() {
+        BlobStore store = testee();
+        BucketName defaultBucketName = store.getDefaultBucketName();
+
+        assertThatThrownBy(() -> store.read(defaultBucketName, blobIdFactory().from("unknown"), 0, 10).read())
+            .isInstanceOf(ObjectNotFoundException.class);
+    }
+
+    @Test
+    default void readRangeShouldThrowWhenNegativeOffset() {
+        BlobStore store = testee();
+        BucketName defaultBucketName = store.getDefaultBucketName();
+
+        BlobId blobId = store.save(defaultBucketName, SHORT_BYTEARRAY).block();
+
+        assertThatThrownBy(() -> store.read(defaultBucketName, blobId, -1, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    default void readRangeShouldThrowWhenNegativeLength() {
+        BlobStore store = testee();
+        BucketName defaultBucketName = store.getDefaultBucketName();
+
+        BlobId blobId = store.save(defaultBucketName, SHORT_BYTEARRAY).block();
+
+        assertThatThrownBy(() -> store.read(defaultBucketName, blobId, 0, -1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    default void readRangeShouldReturnRequestedBytes() {
+        BlobStore store = testee();
+        BucketName defaultBucketName = store.getDefaultBucketName();
+
+        BlobId blobId = store.save(defaultBucketName, SHORT_BYTEARRAY).block();
+
+        InputStream read = store.read(defaultBucketName, blobId, 1, 2);
+
+        assertThat(read).hasSameContentAs(new ByteArrayInputStream(SHORT_BYTEARRAY, 1, 2));
+    }
+
+    @Test
+    default void readRangeShouldBeTruncatedAtTheEndOfTheBlob() {
+        BlobStore store = testee();
+        BucketName defaultBucketName = store.getDefaultBucketName();
+
+        BlobId blobId = store.save(defaultBucketName, SHORT_BYTEARRAY).block();
+
+        InputStream read = store.read(defaultBucketName, blobId, 2, 100);
+
+        assertThat(read).hasSameContentAs(new ByteArrayInputStream(SHORT_BYTEARRAY, 2, SHORT_BYTEARRAY.length - 2));
+    }
+
+    @Test
+    default void readRangeShouldReturnEmptyWhenOffsetIsAfterTheEndOfTheBlob() {
+        BlobStore store = testee();
+        BucketName defaultBucketName = store.getDefaultBucketName();
+
+        BlobId blobId = store.save(defaultBucketName, SHORT_BYTEARRAY).block();
+
+        InputStream read = store.read(defaultBucketName, blobId, 100, 10);
+
+        assertThat(read).hasSameContentAs(new ByteArrayInputStream(EMPTY_BYTEARRAY));
+    }
+
+    @Test
+    default void readRangeShouldReturnEmptyWhenZeroLength() {
+        BlobStore store = testee();
+        BucketName defaultBucketName = store.getDefaultBucketName();
+
+        BlobId blobId = store.save(defaultBucketName, SHORT_BYTEARRAY).block();
+
+        InputStream read = store.read(defaultBucketName, blobId, 0, 0);
+
+        assertThat(read).hasSameContentAs(new ByteArrayInputStream(EMPTY_BYTEARRAY));
+    }
+
+    @Test
+    default void readRangeShouldReturnEmptyWhenEmptyBlob() {
+        BlobStore store = testee();
+        BucketName defaultBucketName = store.getDefaultBucketName();
+
+        BlobId blobId = store.save(defaultBucketName, EMPTY_BYTEARRAY).block();
+
+        InputStream read = store.read(defaultBucketName, blobId, 0, 10);
+
+        assertThat(read).hasSameContentAs(new ByteArrayInputStream(EMPTY_BYTEARRAY));
+    }
+
+    @Test
+    default void readRangeShouldReturnRequestedBytesOfBigBlob() {
+        BlobStore store = testee();
+        BucketName defaultBucketName = store.getDefaultBucketName();
+
+        BlobId blobId = store.save(defaultBucketName, TWELVE_MEGABYTES).block();
+
+        InputStream read = store.read(defaultBucketName, blobId, 5_000_000, 3_000_000);
+
+        assertThat(read).hasSameContentAs(new ByteArrayInputStream(TWELVE_MEGABYTES, 5_000_000, 3_000_000));
+    }
 }
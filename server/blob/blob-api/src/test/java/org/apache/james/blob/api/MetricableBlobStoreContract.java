@@ -22,6 +22,7 @@ package org.apache.james.blob.api;
 import static org.apache.james.blob.api.MetricableBlobStore.DELETE_BUCKET_TIMER_NAME;
 import static org.apache.james.blob.api.MetricableBlobStore.DELETE_TIMER_NAME;
 import static org.apache.james.blob.api.MetricableBlobStore.READ_BYTES_TIMER_NAME;
+import static org.apache.james.blob.api.MetricableBlobStore.READ_REACTIVE_TIMER_NAME;
 import static org.apache.james.blob.api.MetricableBlobStore.READ_TIMER_NAME;
 import static org.apache.james.blob.api.MetricableBlobStore.SAVE_BYTES_TIMER_NAME;
 import static org.apache.james.blob.api.MetricableBlobStore.SAVE_INPUT_STREAM_TIMER_NAME;
@@ -114,6 +115,18 @@ public interface MetricableBlobStoreContract extends BlobStoreContract {
             .hasSize(2);
     }
 
+    @Test
+    default void readReactiveShouldPublishReadReactiveTimerMetrics() {
+        BlobStore store = testee();
+
+        BlobId blobId = store.save(store.getDefaultBucketName(), BYTES_CONTENT).block();
+        store.readReactive(store.getDefaultBucketName(), blobId).blockLast();
+        store.readReactive(store.getDefaultBucketName(), blobId).blockLast();
+
+        assertThat(metricsTestExtension.getMetricFactory().executionTimesFor(READ_REACTIVE_TIMER_NAME))
+            .hasSize(2);
+    }
+
     @Test
     default void deleteBucketShouldPublishDeleteBucketTimerMetrics() {
         BlobStore store = testee();
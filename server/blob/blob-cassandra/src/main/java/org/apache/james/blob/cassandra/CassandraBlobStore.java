@@ -19,7 +19,9 @@
 
 package org.apache.james.blob.cassandra;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.util.Comparator;
 import java.util.List;
@@ -29,7 +31,6 @@ import java.util.stream.Stream;
 
 import javax.inject.Inject;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.james.backends.cassandra.init.configuration.CassandraConfiguration;
 import org.apache.james.blob.api.BlobId;
@@ -43,6 +44,10 @@ import org.apache.james.util.ReactorUtils;
 import com.datastax.driver.core.Session;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.FileBackedOutputStream;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -51,7 +56,7 @@ import reactor.core.scheduler.Schedulers;
 public class CassandraBlobStore implements BlobStore {
 
     private static final int PREFETCH = 16;
-    private static final int MAX_CONCURRENCY = 1;
+    private static final int WRITE_CONCURRENCY = 4;
     private final CassandraDefaultBucketDAO defaultBucketDAO;
     private final CassandraBucketDAO bucketDAO;
     private final DataChunker dataChunker;
@@ -101,6 +106,58 @@ public class CassandraBlobStore implements BlobStore {
             .defaultIfEmpty(0);
     }
 
+    private Mono<BlobId> saveAsMono(BucketName bucketName, InputStream data) {
+        return Mono.using(
+            () -> new FileBackedOutputStream(configuration.getBlobPartSize()),
+            spool -> Mono.fromCallable(() -> spoolAndHash(data, spool))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(blobId -> saveBlobParts(bucketName, spool, blobId)
+                    .flatMap(numberOfChunk -> saveBlobPartReference(bucketName, blobId, numberOfChunk)
+                        .then(Mono.just(blobId)))),
+            this::releaseSpool);
+    }
+
+    /**
+     * The blobId is the hash of the content and is thus only known once the stream is fully read, while parts are
+     * keyed by blobId. Content is hence spooled (in memory up to one blob part, on disk beyond) while being hashed,
+     * then streamed back part by part.
+     */
+    private BlobId spoolAndHash(InputStream data, OutputStream spool) throws IOException {
+        HashingInputStream hashingInputStream = new HashingInputStream(Hashing.sha256(), data);
+        ByteStreams.copy(hashingInputStream, spool);
+        spool.close();
+        return blobIdFactory.from(hashingInputStream.hash().toString());
+    }
+
+    private Mono<Integer> saveBlobParts(BucketName bucketName, FileBackedOutputStream spool, BlobId blobId) {
+        return Flux.using(
+            () -> spool.asByteSource().openBufferedStream(),
+            spooledData -> dataChunker.chunkStream(spooledData, configuration.getBlobPartSize())
+                .subscribeOn(Schedulers.boundedElastic()),
+            this::closeQuietly)
+            .flatMap(pair -> writePart(bucketName, blobId, pair.getKey(), pair.getValue())
+                .then(Mono.just(getChunkNum(pair))), WRITE_CONCURRENCY)
+            .collect(Collectors.maxBy(Comparator.comparingInt(x -> x)))
+            .flatMap(Mono::justOrEmpty)
+            .map(this::numToCount)
+            .defaultIfEmpty(0);
+    }
+
+    private void releaseSpool(FileBackedOutputStream spool) {
+        try {
+            spool.reset();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
     private int numToCount(int number) {
         return number + 1;
@@ -112,14 +169,30 @@ public class CassandraBlobStore implements BlobStore {
 
     @Override
     public Mono<byte[]> readBytes(BucketName bucketName, BlobId blobId) {
-        return readBlobParts(bucketName, blobId)
+        return readReactive(bucketName, blobId)
             .collectList()
             .map(this::byteBuffersToBytesArray);
     }
 
     @Override
     public InputStream read(BucketName bucketName, BlobId blobId) {
-        return ReactorUtils.toInputStream(readBlobParts(bucketName, blobId));
+        int rowCount = selectRowCountOrFail(bucketName, blobId).block();
+        return ReactorUtils.toInputStream(readBlobParts(bucketName, blobId, rowCount));
+    }
+
+    @Override
+    public InputStream read(BucketName bucketName, BlobId blobId, long offset, long length) {
+        Preconditions.checkArgument(offset >= 0, "'offset' should not be negative");
+        Preconditions.checkArgument(length >= 0, "'length' should not be negative");
+
+        int rowCount = selectRowCountOrFail(bucketName, blobId).block();
+        return ReactorUtils.toInputStream(readBlobRange(bucketName, blobId, rowCount, offset, length));
+    }
+
+    @Override
+    public Flux<ByteBuffer> readReactive(BucketName bucketName, BlobId blobId) {
+        return selectRowCountOrFail(bucketName, blobId)
+            .flatMapMany(rowCount -> readBlobParts(bucketName, blobId, rowCount));
     }
 
     @Override
@@ -127,27 +200,71 @@ public class CassandraBlobStore implements BlobStore {
         return BucketName.DEFAULT;
     }
 
-    private Flux<ByteBuffer> readBlobParts(BucketName bucketName, BlobId blobId) {
-        Integer rowCount = selectRowCount(bucketName, blobId)
-            .publishOn(Schedulers.boundedElastic())
+    private Mono<Integer> selectRowCountOrFail(BucketName bucketName, BlobId blobId) {
+        return selectRowCount(bucketName, blobId)
             .single()
             .onErrorResume(NoSuchElementException.class, e -> Mono.error(
-                new ObjectNotFoundException(String.format("Could not retrieve blob metadata for %s", blobId))))
-            .block();
+                new ObjectNotFoundException(String.format("Could not retrieve blob metadata for %s", blobId))));
+    }
+
+    private Flux<ByteBuffer> readBlobParts(BucketName bucketName, BlobId blobId, int rowCount) {
         return Flux.range(0, rowCount)
-            .publishOn(Schedulers.boundedElastic(), PREFETCH)
-            .flatMapSequential(partIndex -> readPart(bucketName, blobId, partIndex)
-                .single()
-                .onErrorResume(NoSuchElementException.class, e -> Mono.error(
-                    new ObjectNotFoundException(String.format("Missing blob part for blobId %s and position %d", blobId, partIndex)))),
-                MAX_CONCURRENCY, PREFETCH);
+            .flatMapSequential(partIndex -> readPartOrFail(bucketName, blobId, partIndex),
+                configuration.getBlobReadConcurrency(), PREFETCH);
+    }
+
+    /**
+     * All parts but the last one share the same size. As the part size might have been changed in the configuration
+     * since this blob was stored, it is taken from the first part of the blob, which is then reused if it belongs
+     * to the requested range.
+     */
+    private Flux<ByteBuffer> readBlobRange(BucketName bucketName, BlobId blobId, int rowCount, long offset, long length) {
+        if (length == 0) {
+            return Flux.empty();
+        }
+        long end = length > Long.MAX_VALUE - offset ? Long.MAX_VALUE : offset + length;
+        return readPartOrFail(bucketName, blobId, 0)
+            .flatMapMany(firstPart -> {
+                int partSize = firstPart.remaining();
+                if (partSize == 0 || offset / partSize >= rowCount) {
+                    return Flux.empty();
+                }
+                int firstPartIndex = (int) (offset / partSize);
+                int lastPartIndex = (int) Math.min(rowCount - 1, (end - 1) / partSize);
+                return Flux.range(firstPartIndex, lastPartIndex - firstPartIndex + 1)
+                    .flatMapSequential(partIndex -> readPartOrReuse(bucketName, blobId, partIndex, firstPart)
+                            .map(part -> slice(part, (long) partIndex * partSize, offset, end)),
+                        configuration.getBlobReadConcurrency(), PREFETCH);
+            });
+    }
+
+    private Mono<ByteBuffer> readPartOrReuse(BucketName bucketName, BlobId blobId, int partIndex, ByteBuffer firstPart) {
+        if (partIndex == 0) {
+            return Mono.just(firstPart);
+        }
+        return readPartOrFail(bucketName, blobId, partIndex);
+    }
+
+    private ByteBuffer slice(ByteBuffer part, long partStart, long offset, long end) {
+        ByteBuffer slice = part.duplicate();
+        int sliceStart = (int) Math.min(part.remaining(), Math.max(0, offset - partStart));
+        int sliceEnd = (int) Math.min(part.remaining(), end - partStart);
+        slice.position(part.position() + sliceStart);
+        slice.limit(part.position() + sliceEnd);
+        return slice;
+    }
+
+    private Mono<ByteBuffer> readPartOrFail(BucketName bucketName, BlobId blobId, int partIndex) {
+        return readPart(bucketName, blobId, partIndex)
+            .single()
+            .onErrorResume(NoSuchElementException.class, e -> Mono.error(
+                new ObjectNotFoundException(String.format("Missing blob part for blobId %s and position %d", blobId, partIndex))));
     }
 
     @Override
     public Mono<BlobId> save(BucketName bucketName, InputStream data) {
         Preconditions.checkNotNull(data);
-        return Mono.fromCallable(() -> IOUtils.toByteArray(data))
-            .flatMap(bytes -> saveAsMono(bucketName, bytes));
+        return saveAsMono(bucketName, data);
     }
 
     @Override
@@ -120,6 +120,30 @@ public class CassandraBlobStoreTest implements MetricableBlobStoreContract {
             .hasMessageContaining("Missing blob part for blobId");
     }
 
+    @Test
+    void readRangeShouldReturnDataSpanningSeveralChunks() throws IOException {
+        String longString = Strings.repeat("0123456789\n", MULTIPLE_CHUNK_SIZE * CHUNK_SIZE);
+        BlobId blobId = testee.save(testee.getDefaultBucketName(), longString).block();
+
+        InputStream read = testee.read(testee.getDefaultBucketName(), blobId, CHUNK_SIZE - 5, CHUNK_SIZE + 10);
+
+        assertThat(IOUtils.toString(read, StandardCharsets.UTF_8))
+            .isEqualTo(longString.substring(CHUNK_SIZE - 5, 2 * CHUNK_SIZE + 5));
+    }
+
+    @Test
+    void readRangeShouldOnlyReadCoveringChunks() throws IOException {
+        String longString = Strings.repeat("0123456789\n", MULTIPLE_CHUNK_SIZE * CHUNK_SIZE);
+        BlobId blobId = testee.save(testee.getDefaultBucketName(), longString).block();
+
+        when(defaultBucketDAO.readPart(blobId, 3)).thenReturn(Mono.empty());
+
+        InputStream read = testee.read(testee.getDefaultBucketName(), blobId, 2 * CHUNK_SIZE, 10);
+
+        assertThat(IOUtils.toString(read, StandardCharsets.UTF_8))
+            .isEqualTo(longString.substring(2 * CHUNK_SIZE, 2 * CHUNK_SIZE + 10));
+    }
+
     @Test
     void deleteBucketShouldThrowWhenDeletingDefaultBucket() {
         assertThatThrownBy(() ->  testee.deleteBucket(testee.getDefaultBucketName()))
@@ -95,6 +95,18 @@ public class MemoryBlobStore implements BlobStore {
         return new ByteArrayInputStream(retrieveStoredValue(bucketName, blobId));
     }
 
+    @Override
+    public InputStream read(BucketName bucketName, BlobId blobId, long offset, long length) {
+        Preconditions.checkNotNull(bucketName);
+        Preconditions.checkArgument(offset >= 0, "'offset' should not be negative");
+        Preconditions.checkArgument(length >= 0, "'length' should not be negative");
+
+        byte[] storedValue = retrieveStoredValue(bucketName, blobId);
+        int from = (int) Math.min(offset, storedValue.length);
+        int rangeLength = (int) Math.min(length, storedValue.length - from);
+        return new ByteArrayInputStream(storedValue, from, rangeLength);
+    }
+
     @Override
     public Mono<Void> deleteBucket(BucketName bucketName) {
         Preconditions.checkNotNull(bucketName);
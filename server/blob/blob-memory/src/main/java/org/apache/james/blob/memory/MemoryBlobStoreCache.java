@@ -0,0 +1,68 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.blob.memory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.BlobStoreCache;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import reactor.core.publisher.Mono;
+
+public class MemoryBlobStoreCache implements BlobStoreCache {
+    public static final long DEFAULT_MAXIMUM_SIZE_IN_BYTES = 100 * 1024 * 1024;
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofDays(7);
+
+    private final Cache<BlobId, byte[]> cache;
+
+    public MemoryBlobStoreCache() {
+        this(DEFAULT_MAXIMUM_SIZE_IN_BYTES, DEFAULT_TIME_TO_LIVE);
+    }
+
+    public MemoryBlobStoreCache(long maximumSizeInBytes, Duration timeToLive) {
+        Preconditions.checkArgument(maximumSizeInBytes > 0, "'maximumSizeInBytes' needs to be strictly positive");
+        Preconditions.checkArgument(!timeToLive.isNegative() && !timeToLive.isZero(), "'timeToLive' needs to be strictly positive");
+
+        this.cache = CacheBuilder.newBuilder()
+            .maximumWeight(maximumSizeInBytes)
+            .<BlobId, byte[]>weigher((blobId, bytes) -> bytes.length)
+            .expireAfterWrite(timeToLive.toMillis(), TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    @Override
+    public Mono<Void> cache(BlobId blobId, byte[] data) {
+        return Mono.fromRunnable(() -> cache.put(blobId, data));
+    }
+
+    @Override
+    public Mono<byte[]> read(BlobId blobId) {
+        return Mono.fromCallable(() -> cache.getIfPresent(blobId));
+    }
+
+    @Override
+    public Mono<Void> remove(BlobId blobId) {
+        return Mono.fromRunnable(() -> cache.invalidate(blobId));
+    }
+}
@@ -0,0 +1,199 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.blob.memory;
+
+import static org.apache.james.blob.api.CachedBlobStore.HITS_METRIC_NAME;
+import static org.apache.james.blob.api.CachedBlobStore.MISSES_METRIC_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.BlobStore;
+import org.apache.james.blob.api.BlobStoreContract;
+import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.CachedBlobStore;
+import org.apache.james.blob.api.HashBlobId;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.base.Strings;
+
+class CachedBlobStoreTest implements BlobStoreContract {
+
+    private static final HashBlobId.Factory BLOB_ID_FACTORY = new HashBlobId.Factory();
+    private static final int SIZE_THRESHOLD = 1024;
+    private static final BucketName CUSTOM_BUCKET = BucketName.of("custom");
+    private static final byte[] SMALL_DATA = "small".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BIG_DATA = Strings.repeat("0123456789\n", 1000).getBytes(StandardCharsets.UTF_8);
+
+    private MemoryBlobStore backend;
+    private MemoryBlobStoreCache cache;
+    private RecordingMetricFactory metricFactory;
+    private CachedBlobStore testee;
+
+    @BeforeEach
+    void setUp() {
+        backend = new MemoryBlobStore(BLOB_ID_FACTORY);
+        cache = new MemoryBlobStoreCache(1024 * 1024, Duration.ofHours(1));
+        metricFactory = new RecordingMetricFactory();
+        testee = new CachedBlobStore(metricFactory, cache, backend, SIZE_THRESHOLD);
+    }
+
+    @Override
+    public BlobStore testee() {
+        return testee;
+    }
+
+    @Override
+    public BlobId.Factory blobIdFactory() {
+        return BLOB_ID_FACTORY;
+    }
+
+    @Test
+    void saveShouldWriteSmallBlobsInCache() {
+        BlobId blobId = testee.save(BucketName.DEFAULT, SMALL_DATA).block();
+
+        assertThat(cache.read(blobId).block()).isEqualTo(SMALL_DATA);
+    }
+
+    @Test
+    void saveInputStreamShouldWriteSmallBlobsInCache() {
+        BlobId blobId = testee.save(BucketName.DEFAULT, new ByteArrayInputStream(SMALL_DATA)).block();
+
+        assertThat(cache.read(blobId).block()).isEqualTo(SMALL_DATA);
+    }
+
+    @Test
+    void saveShouldNotWriteBigBlobsInCache() {
+        BlobId blobId = testee.save(BucketName.DEFAULT, BIG_DATA).block();
+
+        assertThat(cache.read(blobId).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void saveInputStreamShouldNotWriteBigBlobsInCache() {
+        BlobId blobId = testee.save(BucketName.DEFAULT, new ByteArrayInputStream(BIG_DATA)).block();
+
+        assertThat(cache.read(blobId).blockOptional()).isEmpty();
+        assertThat(backend.readBytes(BucketName.DEFAULT, blobId).block()).isEqualTo(BIG_DATA);
+    }
+
+    @Test
+    void saveShouldNotWriteBlobsOfOtherBucketsInCache() {
+        BlobId blobId = testee.save(CUSTOM_BUCKET, SMALL_DATA).block();
+
+        assertThat(cache.read(blobId).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void readBytesShouldPopulateCacheOnMiss() {
+        BlobId blobId = backend.save(BucketName.DEFAULT, SMALL_DATA).block();
+
+        testee.readBytes(BucketName.DEFAULT, blobId).block();
+
+        assertThat(cache.read(blobId).block()).isEqualTo(SMALL_DATA);
+    }
+
+    @Test
+    void readShouldPopulateCacheOnMiss() {
+        BlobId blobId = backend.save(BucketName.DEFAULT, SMALL_DATA).block();
+
+        assertThat(testee.read(BucketName.DEFAULT, blobId)).hasSameContentAs(new ByteArrayInputStream(SMALL_DATA));
+        assertThat(cache.read(blobId).block()).isEqualTo(SMALL_DATA);
+    }
+
+    @Test
+    void readShouldReturnBigBlobsWithoutCachingThem() {
+        BlobId blobId = backend.save(BucketName.DEFAULT, BIG_DATA).block();
+
+        assertThat(testee.read(BucketName.DEFAULT, blobId)).hasSameContentAs(new ByteArrayInputStream(BIG_DATA));
+        assertThat(cache.read(blobId).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void readReactiveShouldPopulateCacheOnMiss() {
+        BlobId blobId = backend.save(BucketName.DEFAULT, SMALL_DATA).block();
+
+        testee.readReactive(BucketName.DEFAULT, blobId).blockLast();
+
+        assertThat(cache.read(blobId).block()).isEqualTo(SMALL_DATA);
+    }
+
+    @Test
+    void readReactiveShouldNotCacheBigBlobs() {
+        BlobId blobId = backend.save(BucketName.DEFAULT, BIG_DATA).block();
+
+        testee.readReactive(BucketName.DEFAULT, blobId).blockLast();
+
+        assertThat(cache.read(blobId).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void readBytesShouldServeCachedContent() {
+        BlobId blobId = testee.save(BucketName.DEFAULT, SMALL_DATA).block();
+        backend.delete(BucketName.DEFAULT, blobId).block();
+
+        assertThat(testee.readBytes(BucketName.DEFAULT, blobId).block()).isEqualTo(SMALL_DATA);
+    }
+
+    @Test
+    void readBytesShouldNotExposeCachedContent() {
+        BlobId blobId = testee.save(BucketName.DEFAULT, SMALL_DATA).block();
+
+        testee.readBytes(BucketName.DEFAULT, blobId).block()[0] = 'X';
+
+        assertThat(testee.readBytes(BucketName.DEFAULT, blobId).block()).isEqualTo(SMALL_DATA);
+    }
+
+    @Test
+    void saveShouldNotCacheTheArrayOfTheCaller() {
+        byte[] data = Arrays.copyOf(SMALL_DATA, SMALL_DATA.length);
+        BlobId blobId = testee.save(BucketName.DEFAULT, data).block();
+
+        data[0] = 'X';
+
+        assertThat(cache.read(blobId).block()).isEqualTo(SMALL_DATA);
+    }
+
+    @Test
+    void readBytesShouldRecordHitsAndMisses() {
+        BlobId blobId = backend.save(BucketName.DEFAULT, SMALL_DATA).block();
+
+        testee.readBytes(BucketName.DEFAULT, blobId).block();
+        testee.readBytes(BucketName.DEFAULT, blobId).block();
+        testee.readBytes(BucketName.DEFAULT, blobId).block();
+
+        assertThat(metricFactory.countFor(MISSES_METRIC_NAME)).isEqualTo(1);
+        assertThat(metricFactory.countFor(HITS_METRIC_NAME)).isEqualTo(2);
+    }
+
+    @Test
+    void deleteShouldRemoveBlobFromCache() {
+        BlobId blobId = testee.save(BucketName.DEFAULT, SMALL_DATA).block();
+
+        testee.delete(BucketName.DEFAULT, blobId).block();
+
+        assertThat(cache.read(blobId).blockOptional()).isEmpty();
+    }
+}
@@ -20,6 +20,7 @@
 package org.apache.james.blob.objectstorage;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Optional;
@@ -41,6 +42,8 @@ import org.apache.james.blob.objectstorage.swift.SwiftTempAuthObjectStorage;
 import org.jclouds.blobstore.domain.Blob;
 import org.jclouds.blobstore.domain.StorageMetadata;
 import org.jclouds.blobstore.domain.StorageType;
+import org.jclouds.blobstore.options.GetOptions;
+import org.jclouds.http.HttpResponseException;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
@@ -53,6 +56,7 @@ import reactor.core.scheduler.Schedulers;
 
 public class ObjectStorageBlobsDAO implements BlobStore {
     private static final int BUFFERED_SIZE = 256 * 1024;
+    private static final int REQUESTED_RANGE_NOT_SATISFIABLE = 416;
 
     private final BlobId.Factory blobIdFactory;
 
@@ -177,6 +181,44 @@ public class ObjectStorageBlobsDAO implements BlobStore {
         }
     }
 
+    @Override
+    public InputStream read(BucketName bucketName, BlobId blobId, long offset, long length) {
+        Preconditions.checkArgument(offset >= 0, "'offset' should not be negative");
+        Preconditions.checkArgument(length >= 0, "'length' should not be negative");
+
+        if (!payloadCodec.supportsRangeReads()) {
+            return BlobStore.super.read(bucketName, blobId, offset, length);
+        }
+        if (length == 0) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        ObjectStorageBucketName resolvedBucketName = bucketNameResolver.resolve(bucketName);
+        long lastByte = length > Long.MAX_VALUE - offset ? Long.MAX_VALUE : offset + length - 1;
+
+        try {
+            Blob blob = blobStore.getBlob(resolvedBucketName.asString(), blobId.asString(), GetOptions.Builder.range(offset, lastByte));
+            if (blob != null) {
+                return payloadCodec.read(new Payload(blob.getPayload(), Optional.empty()));
+            } else {
+                throw new ObjectNotFoundException("fail to load blob with id " + blobId);
+            }
+        } catch (HttpResponseException cause) {
+            if (isRangeNotSatisfiable(cause)) {
+                return new ByteArrayInputStream(new byte[0]);
+            }
+            throw cause;
+        } catch (IOException cause) {
+            throw new ObjectStoreException(
+                "Failed to read range of blob " + blobId.asString(),
+                cause);
+        }
+    }
+
+    private boolean isRangeNotSatisfiable(HttpResponseException exception) {
+        return exception.getResponse() != null
+            && exception.getResponse().getStatusCode() == REQUESTED_RANGE_NOT_SATISFIABLE;
+    }
+
     @Override
     public BucketName getDefaultBucketName() {
         return defaultBucketName;
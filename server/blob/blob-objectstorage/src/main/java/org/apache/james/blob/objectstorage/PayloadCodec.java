@@ -29,5 +29,12 @@ public interface PayloadCodec {
 
     InputStream read(Payload payload) throws IOException;
 
+    /**
+     * Whether a byte range of the decoded content can be read as the same byte range of the stored payload.
+     */
+    default boolean supportsRangeReads() {
+        return false;
+    }
+
     PayloadCodec DEFAULT_CODEC = new DefaultPayloadCodec();
 }
@@ -0,0 +1,147 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import javax.mail.internet.SharedInputStream;
+
+/**
+ * {@link SharedInputStream} reading the content of a {@link MessageBuffer} from a list of equally sized
+ * {@link ByteBuffer}, without copying them.
+ *
+ * Each stream retains the chunks of its buffer until it is closed, so that they are not reused while being read.
+ */
+class ChunkedSharedInputStream extends InputStream implements SharedInputStream {
+    private final MessageBuffer buffer;
+    private final List<ByteBuffer> chunks;
+    private final int chunkSize;
+    private final long start;
+    private final long end;
+    private long position;
+    private long mark;
+    private boolean closed;
+
+    ChunkedSharedInputStream(MessageBuffer buffer, List<ByteBuffer> chunks, int chunkSize, long start, long end) {
+        this.buffer = buffer;
+        this.chunks = chunks;
+        this.chunkSize = chunkSize;
+        this.start = start;
+        this.end = end;
+        this.position = start;
+        this.mark = start;
+        this.closed = false;
+        buffer.retainChunks();
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+        ensureOpen();
+        if (position >= end) {
+            return -1;
+        }
+        byte b = chunks.get((int) (position / chunkSize)).get((int) (position % chunkSize));
+        position++;
+        return b & 0xff;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if (len == 0) {
+            return 0;
+        }
+        if (position >= end) {
+            return -1;
+        }
+        int toRead = (int) Math.min(len, end - position);
+        int read = 0;
+        while (read < toRead) {
+            ByteBuffer chunk = chunks.get((int) (position / chunkSize)).duplicate();
+            chunk.clear();
+            chunk.position((int) (position % chunkSize));
+            int length = Math.min(chunk.remaining(), toRead - read);
+            chunk.get(b, off + read, length);
+            read += length;
+            position += length;
+        }
+        return read;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            buffer.releaseChunks();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    @Override
+    public long skip(long n) {
+        long skipped = Math.max(0, Math.min(n, end - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, end - position);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        mark = position;
+    }
+
+    @Override
+    public synchronized void reset() {
+        position = mark;
+    }
+
+    @Override
+    public long getPosition() {
+        return position - start;
+    }
+
+    @Override
+    public InputStream newStream(long start, long end) {
+        if (start < 0) {
+            throw new IllegalArgumentException("start < 0");
+        }
+        if (end == -1) {
+            end = this.end - this.start;
+        }
+        return new ChunkedSharedInputStream(buffer, chunks, chunkSize, this.start + start, this.start + end);
+    }
+}
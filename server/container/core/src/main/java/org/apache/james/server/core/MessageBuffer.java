@@ -0,0 +1,230 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.core;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import javax.mail.util.SharedFileInputStream;
+
+import org.apache.commons.io.FileUtils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * {@link OutputStream} holding a message in pooled off-heap chunks, and spilling it to a file once it exceeds the
+ * configured threshold.
+ *
+ * Once closed, the message can be read any number of times through {@link #newInputStream()}. Streams, and the
+ * sub streams derived from them, keep reading the content after the buffer is disposed: its chunks only go back to the
+ * pool once the last of them is closed. Chunks of streams that are never closed are left to the garbage collector.
+ */
+public class MessageBuffer extends OutputStream {
+    /**
+     * Size of the regions a spill file is mapped with, as a single mapping is limited to 2GB.
+     */
+    private static final int MAPPED_REGION_SIZE = 1024 * 1024 * 1024;
+
+    private final MessageBufferFactory factory;
+    private final MessageBufferingConfiguration configuration;
+    private final String prefix;
+    private final List<ByteBuffer> chunks;
+    private long byteCount;
+    private Optional<File> file;
+    private OutputStream fileOutputStream;
+    private List<ByteBuffer> mappedRegions;
+    private boolean closed;
+    private boolean disposed;
+    private int openStreams;
+
+    MessageBuffer(MessageBufferFactory factory, MessageBufferingConfiguration configuration, String prefix) {
+        this.factory = factory;
+        this.configuration = configuration;
+        this.prefix = prefix;
+        this.chunks = new ArrayList<>();
+        this.byteCount = 0;
+        this.file = Optional.empty();
+        this.closed = false;
+        this.disposed = false;
+        this.openStreams = 0;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("Message buffer is closed");
+        }
+        if (fileOutputStream == null && byteCount + len > configuration.getThreshold()) {
+            spill();
+        }
+        if (fileOutputStream != null) {
+            fileOutputStream.write(b, off, len);
+        } else {
+            writeInChunks(b, off, len);
+        }
+        byteCount += len;
+    }
+
+    private void writeInChunks(byte[] b, int off, int len) {
+        int written = 0;
+        while (written < len) {
+            ByteBuffer chunk = currentChunk();
+            int length = Math.min(chunk.remaining(), len - written);
+            chunk.put(b, off + written, length);
+            written += length;
+        }
+    }
+
+    private ByteBuffer currentChunk() {
+        if (chunks.isEmpty() || !chunks.get(chunks.size() - 1).hasRemaining()) {
+            chunks.add(factory.acquireChunk());
+        }
+        return chunks.get(chunks.size() - 1);
+    }
+
+    private void spill() throws IOException {
+        File spillFile = File.createTempFile(prefix, ".m64", configuration.getSpillDirectory());
+        file = Optional.of(spillFile);
+        fileOutputStream = new BufferedOutputStream(new FileOutputStream(spillFile));
+        byte[] bytes = new byte[configuration.getChunkSize()];
+        for (ByteBuffer chunk : chunks) {
+            ByteBuffer content = chunk.duplicate();
+            content.flip();
+            int length = content.remaining();
+            content.get(bytes, 0, length);
+            fileOutputStream.write(bytes, 0, length);
+        }
+        factory.releaseChunks(chunks);
+        chunks.clear();
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        if (fileOutputStream != null) {
+            fileOutputStream.flush();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (fileOutputStream != null) {
+            fileOutputStream.close();
+        }
+        factory.recordBuffered(isInMemory());
+    }
+
+    public synchronized boolean isInMemory() {
+        return !file.isPresent();
+    }
+
+    public synchronized long getByteCount() {
+        return byteCount;
+    }
+
+    public synchronized Optional<File> getFile() {
+        return file;
+    }
+
+    /**
+     * @return a {@link javax.mail.internet.SharedInputStream} over the content of this buffer
+     */
+    public synchronized InputStream newInputStream() throws IOException {
+        if (disposed) {
+            throw new IOException("Message buffer was disposed");
+        }
+        if (isInMemory()) {
+            return new ChunkedSharedInputStream(this, ImmutableList.copyOf(chunks), configuration.getChunkSize(), 0, byteCount);
+        }
+        if (configuration.isMemoryMappedSpill()) {
+            return new ChunkedSharedInputStream(this, mappedRegions(), MAPPED_REGION_SIZE, 0, byteCount);
+        }
+        return new SharedFileInputStream(file.get());
+    }
+
+    private List<ByteBuffer> mappedRegions() throws IOException {
+        if (mappedRegions == null) {
+            ImmutableList.Builder<ByteBuffer> regions = ImmutableList.builder();
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.get(), "r");
+                 FileChannel channel = randomAccessFile.getChannel()) {
+                for (long position = 0; position < byteCount; position += MAPPED_REGION_SIZE) {
+                    regions.add(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPED_REGION_SIZE, byteCount - position)));
+                }
+            }
+            mappedRegions = regions.build();
+        }
+        return mappedRegions;
+    }
+
+    synchronized void retainChunks() {
+        Preconditions.checkState(!disposed || openStreams > 0, "Message buffer was disposed");
+        openStreams++;
+    }
+
+    synchronized void releaseChunks() {
+        openStreams--;
+        if (disposed && openStreams == 0) {
+            factory.recycleChunks(chunks);
+            chunks.clear();
+        }
+    }
+
+    /**
+     * Releases the chunks of this buffer, once no stream reads them anymore, and deletes its spill file.
+     */
+    public synchronized void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        try {
+            close();
+        } catch (IOException e) {
+            //ignore exception during close
+        }
+        factory.forgetChunks(chunks);
+        if (openStreams == 0) {
+            factory.recycleChunks(chunks);
+            chunks.clear();
+        }
+        // Mapped regions are unmapped upon garbage collection
+        mappedRegions = null;
+        file.ifPresent(FileUtils::deleteQuietly);
+    }
+}
@@ -0,0 +1,130 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.core;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.james.metrics.api.Metric;
+import org.apache.james.metrics.api.MetricFactory;
+import org.apache.james.metrics.api.NoopMetricFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Creates the {@link MessageBuffer} holding incoming messages, and pools the off-heap chunks they are made of.
+ */
+public class MessageBufferFactory {
+    public static final String IN_MEMORY_METRIC_NAME = "messageBuffer:inMemory";
+    public static final String SPILLED_METRIC_NAME = "messageBuffer:spilled";
+
+    public static final MessageBufferFactory DEFAULT = new MessageBufferFactory(MessageBufferingConfiguration.DEFAULT, new NoopMetricFactory());
+
+    private final MessageBufferingConfiguration configuration;
+    private final Metric inMemoryMetric;
+    private final Metric spilledMetric;
+    private final ConcurrentLinkedQueue<ByteBuffer> pool;
+    private final AtomicInteger pooledChunks;
+    private final AtomicInteger inUseDirectChunks;
+
+    public MessageBufferFactory(MessageBufferingConfiguration configuration, MetricFactory metricFactory) {
+        this.configuration = configuration;
+        this.inMemoryMetric = metricFactory.generate(IN_MEMORY_METRIC_NAME);
+        this.spilledMetric = metricFactory.generate(SPILLED_METRIC_NAME);
+        this.pool = new ConcurrentLinkedQueue<>();
+        this.pooledChunks = new AtomicInteger(0);
+        this.inUseDirectChunks = new AtomicInteger(0);
+    }
+
+    /**
+     * @param prefix the prefix of the spill file name, should any be needed
+     */
+    public MessageBuffer create(String prefix) {
+        return new MessageBuffer(this, configuration, prefix);
+    }
+
+    public MessageBufferingConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    @VisibleForTesting
+    int pooledChunkCount() {
+        return pooledChunks.get();
+    }
+
+    /**
+     * Off-heap chunks held by buffers are bounded by maxPooledChunks: once reached, chunks are allocated on the heap.
+     */
+    ByteBuffer acquireChunk() {
+        ByteBuffer chunk = pool.poll();
+        if (chunk != null) {
+            pooledChunks.decrementAndGet();
+            inUseDirectChunks.incrementAndGet();
+            return chunk;
+        }
+        if (inUseDirectChunks.incrementAndGet() <= configuration.getMaxPooledChunks()) {
+            return ByteBuffer.allocateDirect(configuration.getChunkSize());
+        }
+        inUseDirectChunks.decrementAndGet();
+        return ByteBuffer.allocate(configuration.getChunkSize());
+    }
+
+    void releaseChunks(Collection<ByteBuffer> chunks) {
+        forgetChunks(chunks);
+        recycleChunks(chunks);
+    }
+
+    /**
+     * Stops accounting the given chunks as held by a buffer. They might still be read by open streams.
+     */
+    void forgetChunks(Collection<ByteBuffer> chunks) {
+        chunks.stream()
+            .filter(ByteBuffer::isDirect)
+            .forEach(any -> inUseDirectChunks.decrementAndGet());
+    }
+
+    /**
+     * Hands chunks nobody reads anymore back to the pool.
+     */
+    void recycleChunks(Collection<ByteBuffer> chunks) {
+        for (ByteBuffer chunk : chunks) {
+            if (!chunk.isDirect()) {
+                continue;
+            }
+            if (pooledChunks.incrementAndGet() <= configuration.getMaxPooledChunks()) {
+                chunk.clear();
+                pool.offer(chunk);
+            } else {
+                // The pool is full: the chunk is left to the garbage collector
+                pooledChunks.decrementAndGet();
+            }
+        }
+    }
+
+    void recordBuffered(boolean inMemory) {
+        if (inMemory) {
+            inMemoryMetric.increment();
+        } else {
+            spilledMetric.increment();
+        }
+    }
+}
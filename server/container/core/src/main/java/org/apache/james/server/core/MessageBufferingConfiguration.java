@@ -0,0 +1,167 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.core;
+
+import java.io.File;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Messages are buffered in off-heap chunks of chunkSize bytes, taken from a pool retaining at most maxPooledChunks
+ * released chunks. Buffers hold at most maxPooledChunks off-heap chunks, further chunks are allocated on the heap. Messages bigger than threshold are spilled to a file of spillDirectory, which can be read back
+ * through a memory mapping when memoryMappedSpill is enabled.
+ */
+public class MessageBufferingConfiguration {
+
+    public static class Builder {
+        private Optional<Integer> threshold;
+        private Optional<Integer> chunkSize;
+        private Optional<Integer> maxPooledChunks;
+        private Optional<File> spillDirectory;
+        private Optional<Boolean> memoryMappedSpill;
+
+        private Builder() {
+            threshold = Optional.empty();
+            chunkSize = Optional.empty();
+            maxPooledChunks = Optional.empty();
+            spillDirectory = Optional.empty();
+            memoryMappedSpill = Optional.empty();
+        }
+
+        public Builder threshold(int threshold) {
+            this.threshold = Optional.of(threshold);
+            return this;
+        }
+
+        public Builder chunkSize(int chunkSize) {
+            this.chunkSize = Optional.of(chunkSize);
+            return this;
+        }
+
+        public Builder maxPooledChunks(int maxPooledChunks) {
+            this.maxPooledChunks = Optional.of(maxPooledChunks);
+            return this;
+        }
+
+        public Builder spillDirectory(File spillDirectory) {
+            this.spillDirectory = Optional.of(spillDirectory);
+            return this;
+        }
+
+        public Builder memoryMappedSpill(boolean memoryMappedSpill) {
+            this.memoryMappedSpill = Optional.of(memoryMappedSpill);
+            return this;
+        }
+
+        public MessageBufferingConfiguration build() {
+            int thresholdValue = threshold.orElse(DEFAULT_THRESHOLD);
+            int chunkSizeValue = chunkSize.orElse(DEFAULT_CHUNK_SIZE);
+            int maxPooledChunksValue = maxPooledChunks.orElse(DEFAULT_MAX_POOLED_CHUNKS);
+            Preconditions.checkArgument(thresholdValue >= 0, "'threshold' should be positive");
+            Preconditions.checkArgument(chunkSizeValue > 0, "'chunkSize' should be strictly positive");
+            Preconditions.checkArgument(maxPooledChunksValue >= 0, "'maxPooledChunks' should be positive");
+
+            return new MessageBufferingConfiguration(thresholdValue, chunkSizeValue, maxPooledChunksValue,
+                spillDirectory.orElseGet(MessageBufferingConfiguration::defaultSpillDirectory),
+                memoryMappedSpill.orElse(DEFAULT_MEMORY_MAPPED_SPILL));
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static File defaultSpillDirectory() {
+        return new File(System.getProperty("java.io.tmpdir"));
+    }
+
+    public static final int DEFAULT_THRESHOLD = 100 * 1024;
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024;
+    public static final int DEFAULT_MAX_POOLED_CHUNKS = 1024;
+    public static final boolean DEFAULT_MEMORY_MAPPED_SPILL = false;
+    public static final MessageBufferingConfiguration DEFAULT = builder().build();
+
+    private final int threshold;
+    private final int chunkSize;
+    private final int maxPooledChunks;
+    private final File spillDirectory;
+    private final boolean memoryMappedSpill;
+
+    private MessageBufferingConfiguration(int threshold, int chunkSize, int maxPooledChunks, File spillDirectory, boolean memoryMappedSpill) {
+        this.threshold = threshold;
+        this.chunkSize = chunkSize;
+        this.maxPooledChunks = maxPooledChunks;
+        this.spillDirectory = spillDirectory;
+        this.memoryMappedSpill = memoryMappedSpill;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getMaxPooledChunks() {
+        return maxPooledChunks;
+    }
+
+    public File getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public boolean isMemoryMappedSpill() {
+        return memoryMappedSpill;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof MessageBufferingConfiguration) {
+            MessageBufferingConfiguration that = (MessageBufferingConfiguration) o;
+
+            return Objects.equals(this.threshold, that.threshold)
+                && Objects.equals(this.chunkSize, that.chunkSize)
+                && Objects.equals(this.maxPooledChunks, that.maxPooledChunks)
+                && Objects.equals(this.spillDirectory, that.spillDirectory)
+                && Objects.equals(this.memoryMappedSpill, that.memoryMappedSpill);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(threshold, chunkSize, maxPooledChunks, spillDirectory, memoryMappedSpill);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("threshold", threshold)
+            .add("chunkSize", chunkSize)
+            .add("maxPooledChunks", maxPooledChunks)
+            .add("spillDirectory", spillDirectory)
+            .add("memoryMappedSpill", memoryMappedSpill)
+            .toString();
+    }
+}
@@ -19,7 +19,6 @@
 
 package org.apache.james.server.core;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -27,27 +26,24 @@ import java.util.ArrayList;
 import java.util.List;
 
 import javax.mail.MessagingException;
-import javax.mail.util.SharedByteArrayInputStream;
-import javax.mail.util.SharedFileInputStream;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.io.output.DeferredFileOutputStream;
 import org.apache.james.lifecycle.api.Disposable;
 
 /**
  * Takes an input stream and creates a repeatable input stream source for a
  * MimeMessageWrapper. It does this by completely reading the input stream and
- * saving that to data to an {@link DeferredFileOutputStream} with its threshold set to 100kb
+ * saving that to data to a {@link MessageBuffer}, holding small messages in pooled off-heap
+ * memory and spilling bigger ones to a file.
  */
 public class MimeMessageInputStreamSource extends MimeMessageSource implements Disposable {
 
     private final List<InputStream> streams = new ArrayList<>();
 
     /**
-     * A temporary file used to hold the message stream
+     * The buffer holding the message stream
      */
-    private DeferredFileOutputStream out;
+    private MessageBuffer out;
 
     /**
      * The full path of the temporary file
@@ -55,14 +51,16 @@ public class MimeMessageInputStreamSource extends MimeMessageSource implements D
     private final String sourceId;
 
     /**
-     * 100kb threshold for the stream.
-     */
-    private static final int THRESHOLD = 1024 * 100;
-
-    /**
-     * Temporary directory to use
+     * Construct a new MimeMessageInputStreamSource from an
+     * <code>InputStream</code> that contains the bytes of a MimeMessage.
+     *
+     * @param key the prefix for the name of the temp file
+     * @param in  the stream containing the MimeMessage
+     * @throws MessagingException if an error occurs while trying to store the stream
      */
-    private static final File TMPDIR = new File(System.getProperty("java.io.tmpdir"));
+    public MimeMessageInputStreamSource(String key, InputStream in) throws MessagingException {
+        this(key, in, MessageBufferFactory.DEFAULT);
+    }
 
     /**
      * Construct a new MimeMessageInputStreamSource from an
@@ -70,21 +68,19 @@ public class MimeMessageInputStreamSource extends MimeMessageSource implements D
      *
      * @param key the prefix for the name of the temp file
      * @param in  the stream containing the MimeMessage
+     * @param bufferFactory the factory of the buffer holding the message
      * @throws MessagingException if an error occurs while trying to store the stream
      */
-    public MimeMessageInputStreamSource(String key, InputStream in) throws MessagingException {
+    public MimeMessageInputStreamSource(String key, InputStream in, MessageBufferFactory bufferFactory) throws MessagingException {
         super();
-        // We want to immediately read this into a temporary file
-        // Create a temp file and channel the input stream into it
+        // We want to immediately read this into a buffer
+        // Create a buffer and channel the input stream into it
         try {
-            out = new DeferredFileOutputStream(THRESHOLD, "mimemessage-" + key, ".m64", TMPDIR);
+            out = bufferFactory.create("mimemessage-" + key);
             IOUtils.copy(in, out);
             sourceId = key;
         } catch (IOException ioe) {
-            File file = out.getFile();
-            if (file != null) {
-                FileUtils.deleteQuietly(file);
-            }
+            out.dispose();
             throw new MessagingException("Unable to retrieve the data: " + ioe.getMessage(), ioe);
         } finally {
             try {
@@ -107,8 +103,12 @@ public class MimeMessageInputStreamSource extends MimeMessageSource implements D
     }
 
     public MimeMessageInputStreamSource(String key) {
+        this(key, MessageBufferFactory.DEFAULT);
+    }
+
+    public MimeMessageInputStreamSource(String key, MessageBufferFactory bufferFactory) {
         super();
-        out = new DeferredFileOutputStream(THRESHOLD, key, ".m64", TMPDIR);
+        out = bufferFactory.create(key);
         sourceId = key;
     }
 
@@ -123,26 +123,21 @@ public class MimeMessageInputStreamSource extends MimeMessageSource implements D
     }
 
     /**
-     * Get an input stream to retrieve the data stored in the temporary file
+     * Get an input stream to retrieve the buffered data
      *
-     * @return a <code>BufferedInputStream</code> containing the data
+     * @return a <code>SharedInputStream</code> containing the data
      */
     @Override
     public synchronized InputStream getInputStream() throws IOException {
-        InputStream in;
-        if (out.isInMemory()) {
-            in = new SharedByteArrayInputStream(out.getData());
-        } else {
-            in = new SharedFileInputStream(out.getFile());
-        }
+        InputStream in = out.newInputStream();
         streams.add(in);
         return in;
     }
 
     /**
-     * Get the size of the temp file
+     * Get the size of the buffered data
      *
-     * @return the size of the temp file
+     * @return the size of the buffered data
      * @throws IOException if an error is encoutered while computing the size of the
      *                     message
      */
@@ -167,16 +162,7 @@ public class MimeMessageInputStreamSource extends MimeMessageSource implements D
         }
 
         if (out != null) {
-            try {
-                out.close();
-            } catch (IOException e) {
-                //ignore exception during close
-            }
-            File file = out.getFile();
-            if (file != null) {
-                FileUtils.deleteQuietly(file);
-                file = null;
-            }
+            out.dispose();
             out = null;
         }
     }
@@ -0,0 +1,268 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.mail.internet.SharedInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.base.Strings;
+
+class MessageBufferTest {
+    private static final int CHUNK_SIZE = 16;
+    private static final int THRESHOLD = 64;
+    private static final byte[] SMALL_CONTENT = Strings.repeat("0123456789", 5).getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BIG_CONTENT = Strings.repeat("0123456789", 50).getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    File spillDirectory;
+
+    private RecordingMetricFactory metricFactory;
+    private MessageBufferFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        metricFactory = new RecordingMetricFactory();
+        factory = factory(false);
+    }
+
+    private MessageBufferFactory factory(boolean memoryMappedSpill) {
+        return new MessageBufferFactory(MessageBufferingConfiguration.builder()
+            .threshold(THRESHOLD)
+            .chunkSize(CHUNK_SIZE)
+            .maxPooledChunks(4)
+            .spillDirectory(spillDirectory)
+            .memoryMappedSpill(memoryMappedSpill)
+            .build(),
+            metricFactory);
+    }
+
+    private MessageBuffer buffer(MessageBufferFactory factory, byte[] content) throws IOException {
+        MessageBuffer buffer = factory.create("test-");
+        IOUtils.copy(new ByteArrayInputStream(content), buffer);
+        buffer.close();
+        return buffer;
+    }
+
+    @Test
+    void smallMessagesShouldBeReadableFromMemory() throws Exception {
+        MessageBuffer buffer = buffer(factory, SMALL_CONTENT);
+
+        assertThat(buffer.isInMemory()).isTrue();
+        assertThat(buffer.getByteCount()).isEqualTo(SMALL_CONTENT.length);
+        assertThat(buffer.newInputStream()).hasSameContentAs(new ByteArrayInputStream(SMALL_CONTENT));
+        assertThat(spillDirectory.list()).isEmpty();
+    }
+
+    @Test
+    void bigMessagesShouldBeSpilledToTheSpillDirectory() throws Exception {
+        MessageBuffer buffer = buffer(factory, BIG_CONTENT);
+
+        assertThat(buffer.isInMemory()).isFalse();
+        assertThat(buffer.getFile()).hasValueSatisfying(file -> assertThat(file.getParentFile()).isEqualTo(spillDirectory));
+        assertThat(buffer.newInputStream()).hasSameContentAs(new ByteArrayInputStream(BIG_CONTENT));
+    }
+
+    @Test
+    void spilledMessagesShouldBeReadableThroughMemoryMapping() throws Exception {
+        MessageBuffer buffer = buffer(factory(true), BIG_CONTENT);
+
+        InputStream inputStream = buffer.newInputStream();
+
+        assertThat(inputStream).isInstanceOf(SharedInputStream.class);
+        assertThat(inputStream).hasSameContentAs(new ByteArrayInputStream(BIG_CONTENT));
+    }
+
+    @Test
+    void messagesShouldBeReadableSeveralTimes() throws Exception {
+        MessageBuffer buffer = buffer(factory, SMALL_CONTENT);
+
+        assertThat(buffer.newInputStream()).hasSameContentAs(new ByteArrayInputStream(SMALL_CONTENT));
+        assertThat(buffer.newInputStream()).hasSameContentAs(new ByteArrayInputStream(SMALL_CONTENT));
+    }
+
+    @Test
+    void newStreamShouldReturnTheRequestedRange() throws Exception {
+        MessageBuffer buffer = buffer(factory, SMALL_CONTENT);
+        SharedInputStream sharedInputStream = (SharedInputStream) buffer.newInputStream();
+
+        InputStream range = sharedInputStream.newStream(15, 35);
+
+        assertThat(range).hasSameContentAs(new ByteArrayInputStream(SMALL_CONTENT, 15, 20));
+    }
+
+    @Test
+    void newStreamShouldBeRelativeToTheParentStream() throws Exception {
+        MessageBuffer buffer = buffer(factory, SMALL_CONTENT);
+        SharedInputStream sharedInputStream = (SharedInputStream) buffer.newInputStream();
+        SharedInputStream parent = (SharedInputStream) sharedInputStream.newStream(10, -1);
+
+        InputStream range = parent.newStream(5, 10);
+
+        assertThat(range).hasSameContentAs(new ByteArrayInputStream(SMALL_CONTENT, 15, 5));
+    }
+
+    @Test
+    void getPositionShouldReturnTheNumberOfBytesRead() throws Exception {
+        MessageBuffer buffer = buffer(factory, SMALL_CONTENT);
+        InputStream inputStream = buffer.newInputStream();
+
+        inputStream.read(new byte[20]);
+
+        assertThat(((SharedInputStream) inputStream).getPosition()).isEqualTo(20);
+    }
+
+    @Test
+    void disposeShouldReleaseTheChunksToThePool() throws Exception {
+        MessageBuffer buffer = buffer(factory, SMALL_CONTENT);
+
+        buffer.dispose();
+
+        assertThat(factory.pooledChunkCount()).isEqualTo(4);
+    }
+
+    @Test
+    void poolShouldRetainAtMostMaxPooledChunks() throws Exception {
+        MessageBuffer first = buffer(factory, SMALL_CONTENT);
+        MessageBuffer second = buffer(factory, SMALL_CONTENT);
+
+        first.dispose();
+        second.dispose();
+
+        assertThat(factory.pooledChunkCount()).isEqualTo(4);
+    }
+
+    @Test
+    void spillingShouldReleaseTheChunksToThePool() throws Exception {
+        MessageBuffer buffer = factory.create("test-");
+        buffer.write(SMALL_CONTENT);
+        buffer.write(BIG_CONTENT);
+        buffer.close();
+
+        assertThat(factory.pooledChunkCount()).isEqualTo(4);
+    }
+
+    @Test
+    void pooledChunksShouldBeReused() throws Exception {
+        buffer(factory, SMALL_CONTENT).dispose();
+
+        MessageBuffer buffer = buffer(factory, SMALL_CONTENT);
+
+        assertThat(factory.pooledChunkCount()).isEqualTo(0);
+        assertThat(buffer.newInputStream()).hasSameContentAs(new ByteArrayInputStream(SMALL_CONTENT));
+    }
+
+    @Test
+    void openStreamsShouldRemainReadableOnceDisposed() throws Exception {
+        MessageBuffer buffer = buffer(factory, SMALL_CONTENT);
+        InputStream inputStream = buffer.newInputStream();
+        InputStream subStream = ((SharedInputStream) inputStream).newStream(10, -1);
+
+        buffer.dispose();
+
+        assertThat(inputStream).hasSameContentAs(new ByteArrayInputStream(SMALL_CONTENT));
+        assertThat(subStream).hasSameContentAs(new ByteArrayInputStream(SMALL_CONTENT, 10, SMALL_CONTENT.length - 10));
+    }
+
+    @Test
+    void disposeShouldNotReleaseChunksReadByOpenStreams() throws Exception {
+        MessageBuffer buffer = buffer(factory, SMALL_CONTENT);
+        InputStream inputStream = buffer.newInputStream();
+
+        buffer.dispose();
+
+        assertThat(factory.pooledChunkCount()).isEqualTo(0);
+    }
+
+    @Test
+    void closingTheLastStreamShouldReleaseTheChunksOfADisposedBuffer() throws Exception {
+        MessageBuffer buffer = buffer(factory, SMALL_CONTENT);
+        InputStream inputStream = buffer.newInputStream();
+        InputStream subStream = ((SharedInputStream) inputStream).newStream(10, -1);
+        buffer.dispose();
+
+        inputStream.close();
+        subStream.close();
+
+        assertThat(factory.pooledChunkCount()).isEqualTo(4);
+    }
+
+    @Test
+    void readingShouldFailOnceClosed() throws Exception {
+        MessageBuffer buffer = buffer(factory, SMALL_CONTENT);
+        InputStream inputStream = buffer.newInputStream();
+
+        inputStream.close();
+
+        assertThatThrownBy(inputStream::read)
+            .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void newInputStreamShouldFailOnceDisposed() throws Exception {
+        MessageBuffer buffer = buffer(factory, SMALL_CONTENT);
+
+        buffer.dispose();
+
+        assertThatThrownBy(buffer::newInputStream)
+            .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void chunksShouldBeAllocatedOnHeapOnceMaxPooledChunksAreInUse() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(factory.acquireChunk().isDirect()).isTrue();
+        }
+
+        assertThat(factory.acquireChunk().isDirect()).isFalse();
+    }
+
+    @Test
+    void disposeShouldDeleteTheSpillFile() throws Exception {
+        MessageBuffer buffer = buffer(factory, BIG_CONTENT);
+
+        buffer.dispose();
+
+        assertThat(spillDirectory.list()).isEmpty();
+    }
+
+    @Test
+    void closeShouldRecordInMemoryAndSpilledMessages() throws Exception {
+        buffer(factory, SMALL_CONTENT);
+        buffer(factory, SMALL_CONTENT);
+        buffer(factory, BIG_CONTENT);
+
+        assertThat(metricFactory.countFor(MessageBufferFactory.IN_MEMORY_METRIC_NAME)).isEqualTo(2);
+        assertThat(metricFactory.countFor(MessageBufferFactory.SPILLED_METRIC_NAME)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,67 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+
+import org.junit.jupiter.api.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+class MessageBufferingConfigurationTest {
+
+    @Test
+    void shouldMatchBeanContract() {
+        EqualsVerifier.forClass(MessageBufferingConfiguration.class)
+            .verify();
+    }
+
+    @Test
+    void builderShouldApplyDefaultValues() {
+        MessageBufferingConfiguration configuration = MessageBufferingConfiguration.builder().build();
+
+        assertThat(configuration.getThreshold()).isEqualTo(MessageBufferingConfiguration.DEFAULT_THRESHOLD);
+        assertThat(configuration.getChunkSize()).isEqualTo(MessageBufferingConfiguration.DEFAULT_CHUNK_SIZE);
+        assertThat(configuration.getMaxPooledChunks()).isEqualTo(MessageBufferingConfiguration.DEFAULT_MAX_POOLED_CHUNKS);
+        assertThat(configuration.getSpillDirectory()).isEqualTo(new File(System.getProperty("java.io.tmpdir")));
+        assertThat(configuration.isMemoryMappedSpill()).isFalse();
+    }
+
+    @Test
+    void builderShouldThrowWhenThresholdIsNegative() {
+        assertThatThrownBy(() -> MessageBufferingConfiguration.builder().threshold(-1).build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void builderShouldThrowWhenChunkSizeIsNotPositive() {
+        assertThatThrownBy(() -> MessageBufferingConfiguration.builder().chunkSize(0).build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void builderShouldThrowWhenMaxPooledChunksIsNegative() {
+        assertThatThrownBy(() -> MessageBufferingConfiguration.builder().maxPooledChunks(-1).build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -29,6 +29,7 @@ import org.apache.james.vault.metadata.CassandraDeletedMessageMetadataVault;
 import org.apache.james.vault.metadata.DeletedMessageMetadataModule;
 import org.apache.james.vault.metadata.DeletedMessageMetadataVault;
 import org.apache.james.vault.metadata.MetadataDAO;
+import org.apache.james.vault.metadata.MetadataIndexDAO;
 import org.apache.james.vault.metadata.StorageInformationDAO;
 import org.apache.james.vault.metadata.UserPerBucketDAO;
 
@@ -48,6 +49,7 @@ public class CassandraDeletedMessageVaultModule extends AbstractModule {
             .toInstance(DeletedMessageMetadataModule.MODULE);
 
         bind(MetadataDAO.class).in(Scopes.SINGLETON);
+        bind(MetadataIndexDAO.class).in(Scopes.SINGLETON);
         bind(StorageInformationDAO.class).in(Scopes.SINGLETON);
         bind(UserPerBucketDAO.class).in(Scopes.SINGLETON);
         bind(DeletedMessageWithStorageInformationConverter.class).in(Scopes.SINGLETON);
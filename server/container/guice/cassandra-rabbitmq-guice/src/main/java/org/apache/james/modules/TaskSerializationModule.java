@@ -27,6 +27,12 @@ import org.apache.james.eventsourcing.eventstore.cassandra.dto.EventDTOModule;
 import org.apache.james.mailbox.cassandra.mail.task.MailboxMergingTaskAdditionalInformationDTO;
 import org.apache.james.mailbox.cassandra.mail.task.MailboxMergingTaskDTO;
 import org.apache.james.mailbox.cassandra.mail.task.MailboxMergingTaskRunner;
+import org.apache.james.mailbox.cassandra.mail.task.MailboxUsageSolveInconsistenciesTaskAdditionalInformationDTO;
+import org.apache.james.mailbox.cassandra.mail.task.MailboxUsageSolveInconsistenciesTaskDTO;
+import org.apache.james.mailbox.cassandra.mail.task.MailboxUsageSolveInconsistenciesTaskRunner;
+import org.apache.james.mailbox.cassandra.mail.task.RecomputeCurrentQuotasTaskAdditionalInformationDTO;
+import org.apache.james.mailbox.cassandra.mail.task.RecomputeCurrentQuotasTaskDTO;
+import org.apache.james.mailbox.cassandra.mail.task.RecomputeCurrentQuotasTaskRunner;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MessageId;
 import org.apache.james.queue.api.MailQueueFactory;
@@ -42,6 +48,9 @@ import org.apache.james.task.eventsourcing.distributed.TasksSerializationModule;
 import org.apache.james.vault.blob.BlobStoreVaultGarbageCollectionTask;
 import org.apache.james.vault.blob.BlobStoreVaultGarbageCollectionTaskAdditionalInformationDTO;
 import org.apache.james.vault.blob.BlobStoreVaultGarbageCollectionTaskDTO;
+import org.apache.james.vault.metadata.MetadataIndexBackfillTaskAdditionalInformationDTO;
+import org.apache.james.vault.metadata.MetadataIndexBackfillTaskDTO;
+import org.apache.james.vault.metadata.MetadataIndexBackfillTaskRunner;
 import org.apache.james.webadmin.service.CassandraMappingsSolveInconsistenciesTask;
 import org.apache.james.webadmin.service.ClearMailQueueTaskAdditionalInformationDTO;
 import org.apache.james.webadmin.service.ClearMailQueueTaskDTO;
@@ -176,8 +185,8 @@ public class TaskSerializationModule extends AbstractModule {
     }
 
     @ProvidesIntoSet
-    public TaskDTOModule<?, ?> fullReindexTask(ReIndexerPerformer performer) {
-        return FullReindexingTask.module(performer);
+    public TaskDTOModule<?, ?> fullReindexTask(ReIndexerPerformer performer, MailboxId.Factory mailboxIdFactory) {
+        return FullReindexingTask.module(performer, mailboxIdFactory);
     }
 
     @ProvidesIntoSet
@@ -190,6 +199,21 @@ public class TaskSerializationModule extends AbstractModule {
         return MailboxMergingTaskDTO.module(taskRunner);
     }
 
+    @ProvidesIntoSet
+    public TaskDTOModule<?, ?> mailboxUsageSolveInconsistenciesTask(MailboxUsageSolveInconsistenciesTaskRunner taskRunner) {
+        return MailboxUsageSolveInconsistenciesTaskDTO.module(taskRunner);
+    }
+
+    @ProvidesIntoSet
+    public TaskDTOModule<?, ?> recomputeCurrentQuotasTask(RecomputeCurrentQuotasTaskRunner taskRunner) {
+        return RecomputeCurrentQuotasTaskDTO.module(taskRunner);
+    }
+
+    @ProvidesIntoSet
+    public TaskDTOModule<?, ?> metadataIndexBackfillTask(MetadataIndexBackfillTaskRunner taskRunner) {
+        return MetadataIndexBackfillTaskDTO.module(taskRunner);
+    }
+
     @ProvidesIntoSet
     public TaskDTOModule<?, ?> messageIdReindexingTask(MessageIdReIndexingTask.Factory factory) {
         return MessageIdReindexingTaskDTO.module(factory);
@@ -295,6 +319,21 @@ public class TaskSerializationModule extends AbstractModule {
         return MailboxMergingTaskAdditionalInformationDTO.SERIALIZATION_MODULE;
     }
 
+    @ProvidesIntoSet
+    public AdditionalInformationDTOModule<?, ?> mailboxUsageSolveInconsistenciesAdditionalInformation() {
+        return MailboxUsageSolveInconsistenciesTaskAdditionalInformationDTO.SERIALIZATION_MODULE;
+    }
+
+    @ProvidesIntoSet
+    public AdditionalInformationDTOModule<?, ?> recomputeCurrentQuotasAdditionalInformation() {
+        return RecomputeCurrentQuotasTaskAdditionalInformationDTO.SERIALIZATION_MODULE;
+    }
+
+    @ProvidesIntoSet
+    public AdditionalInformationDTOModule<?, ?> metadataIndexBackfillAdditionalInformation() {
+        return MetadataIndexBackfillTaskAdditionalInformationDTO.SERIALIZATION_MODULE;
+    }
+
     @ProvidesIntoSet
     public AdditionalInformationDTOModule<?, ?> messageIdReindexingAdditionalInformation(MessageId.Factory messageIdFactory) {
         return MessageIdReindexingTaskAdditionalInformationDTO.serializationModule(messageIdFactory);
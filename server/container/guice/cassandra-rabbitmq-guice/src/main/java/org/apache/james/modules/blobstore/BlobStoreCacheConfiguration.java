@@ -0,0 +1,112 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.modules.blobstore;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.james.blob.api.CachedBlobStore;
+import org.apache.james.blob.memory.MemoryBlobStoreCache;
+import org.apache.james.util.DurationParser;
+import org.apache.james.util.Size;
+
+import com.github.fge.lambdas.Throwing;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+public class BlobStoreCacheConfiguration {
+    static final String CACHE_ENABLE_PROPERTY = "cache.enable";
+    static final String CACHE_SIZE_THRESHOLD_PROPERTY = "cache.sizeThreshold";
+    static final String CACHE_TTL_PROPERTY = "cache.ttl";
+
+    static BlobStoreCacheConfiguration from(Configuration configuration) {
+        boolean enabled = configuration.getBoolean(CACHE_ENABLE_PROPERTY, false);
+
+        long sizeThresholdInBytes = Optional.ofNullable(configuration.getString(CACHE_SIZE_THRESHOLD_PROPERTY, null))
+            .map(Throwing.function(Size::parse))
+            .map(Size::asBytes)
+            .orElse((long) CachedBlobStore.DEFAULT_SIZE_THRESHOLD_IN_BYTES);
+
+        Duration timeToLive = Optional.ofNullable(configuration.getString(CACHE_TTL_PROPERTY, null))
+            .map(rawString -> DurationParser.parse(rawString, ChronoUnit.SECONDS))
+            .orElse(MemoryBlobStoreCache.DEFAULT_TIME_TO_LIVE);
+
+        return new BlobStoreCacheConfiguration(enabled, sizeThresholdInBytes, timeToLive);
+    }
+
+    public static BlobStoreCacheConfiguration disabled() {
+        return new BlobStoreCacheConfiguration(false, CachedBlobStore.DEFAULT_SIZE_THRESHOLD_IN_BYTES, MemoryBlobStoreCache.DEFAULT_TIME_TO_LIVE);
+    }
+
+    private final boolean enabled;
+    private final int sizeThresholdInBytes;
+    private final Duration timeToLive;
+
+    BlobStoreCacheConfiguration(boolean enabled, long sizeThresholdInBytes, Duration timeToLive) {
+        Preconditions.checkArgument(sizeThresholdInBytes >= 0, "'%s' should not be negative", CACHE_SIZE_THRESHOLD_PROPERTY);
+        Preconditions.checkArgument(sizeThresholdInBytes < Integer.MAX_VALUE, "'%s' should be smaller than 2GB", CACHE_SIZE_THRESHOLD_PROPERTY);
+        Preconditions.checkArgument(!timeToLive.isNegative() && !timeToLive.isZero(), "'%s' needs to be strictly positive", CACHE_TTL_PROPERTY);
+
+        this.enabled = enabled;
+        this.sizeThresholdInBytes = (int) sizeThresholdInBytes;
+        this.timeToLive = timeToLive;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    int getSizeThresholdInBytes() {
+        return sizeThresholdInBytes;
+    }
+
+    Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof BlobStoreCacheConfiguration) {
+            BlobStoreCacheConfiguration that = (BlobStoreCacheConfiguration) o;
+
+            return Objects.equals(this.enabled, that.enabled)
+                && Objects.equals(this.sizeThresholdInBytes, that.sizeThresholdInBytes)
+                && Objects.equals(this.timeToLive, that.timeToLive);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(enabled, sizeThresholdInBytes, timeToLive);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("enabled", enabled)
+            .add("sizeThresholdInBytes", sizeThresholdInBytes)
+            .add("timeToLive", timeToLive)
+            .toString();
+    }
+}
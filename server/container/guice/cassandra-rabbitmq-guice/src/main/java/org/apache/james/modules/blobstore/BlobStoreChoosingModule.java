@@ -29,11 +29,14 @@ import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.james.backends.cassandra.components.CassandraModule;
 import org.apache.james.blob.api.BlobStore;
+import org.apache.james.blob.api.CachedBlobStore;
 import org.apache.james.blob.api.MetricableBlobStore;
 import org.apache.james.blob.cassandra.CassandraBlobModule;
 import org.apache.james.blob.cassandra.CassandraBlobStore;
+import org.apache.james.blob.memory.MemoryBlobStoreCache;
 import org.apache.james.blob.objectstorage.ObjectStorageBlobsDAO;
 import org.apache.james.blob.union.UnionBlobStore;
+import org.apache.james.metrics.api.MetricFactory;
 import org.apache.james.modules.mailbox.ConfigurationComponent;
 import org.apache.james.modules.objectstorage.ObjectStorageDependenciesModule;
 import org.apache.james.utils.PropertiesProvider;
@@ -69,10 +72,39 @@ public class BlobStoreChoosingModule extends AbstractModule {
         }
     }
 
+    @VisibleForTesting
+    @Provides
+    @Singleton
+    BlobStoreCacheConfiguration provideCacheConfiguration(PropertiesProvider propertiesProvider) throws ConfigurationException {
+        try {
+            Configuration configuration = propertiesProvider.getConfigurations(ConfigurationComponent.NAMES);
+            return BlobStoreCacheConfiguration.from(configuration);
+        } catch (FileNotFoundException e) {
+            LOGGER.warn("Could not find " + ConfigurationComponent.NAME + " configuration file, disabling the blobstore cache");
+            return BlobStoreCacheConfiguration.disabled();
+        }
+    }
+
     @VisibleForTesting
     @Provides
     @Named(MetricableBlobStore.BLOB_STORE_IMPLEMENTATION)
     @Singleton
+    BlobStore provideCachedBlobStore(BlobStoreCacheConfiguration cacheConfiguration,
+                                     MetricFactory metricFactory,
+                                     @Named(CachedBlobStore.BACKEND) BlobStore backend) {
+        if (cacheConfiguration.isEnabled()) {
+            return new CachedBlobStore(metricFactory,
+                new MemoryBlobStoreCache(MemoryBlobStoreCache.DEFAULT_MAXIMUM_SIZE_IN_BYTES, cacheConfiguration.getTimeToLive()),
+                backend,
+                cacheConfiguration.getSizeThresholdInBytes());
+        }
+        return backend;
+    }
+
+    @VisibleForTesting
+    @Provides
+    @Named(CachedBlobStore.BACKEND)
+    @Singleton
     BlobStore provideBlobStore(BlobStoreChoosingConfiguration choosingConfiguration,
                                Provider<CassandraBlobStore> cassandraBlobStoreProvider,
                                Provider<ObjectStorageBlobsDAO> swiftBlobStoreProvider) {
@@ -19,35 +19,54 @@
 
 package org.apache.james.modules.event;
 
+import static org.apache.james.modules.rabbitmq.RabbitMQModule.RABBITMQ_CONFIGURATION_NAME;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.apache.commons.configuration2.Configuration;
 import org.apache.james.event.json.EventSerializer;
+import org.apache.james.mailbox.events.BinaryEventSerializer;
 import org.apache.james.mailbox.events.EventBus;
+import org.apache.james.mailbox.events.EventWireFormat;
 import org.apache.james.mailbox.events.MailboxIdRegistrationKey;
 import org.apache.james.mailbox.events.RabbitMQEventBus;
 import org.apache.james.mailbox.events.RegistrationKey;
 import org.apache.james.mailbox.events.RetryBackoffConfiguration;
+import org.apache.james.mailbox.events.UserRegistrationKey;
 import org.apache.james.utils.InitializationOperation;
 import org.apache.james.utils.InitilizationOperationBuilder;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
 import com.google.inject.Scopes;
 import com.google.inject.multibindings.Multibinder;
 import com.google.inject.multibindings.ProvidesIntoSet;
 
 public class RabbitMQEventBusModule extends AbstractModule {
+    private static final String PUBLISH_FORMAT_PROPERTY = "event.bus.publish.format";
 
     @Override
     protected void configure() {
         bind(EventSerializer.class).in(Scopes.SINGLETON);
+        bind(BinaryEventSerializer.class).in(Scopes.SINGLETON);
 
         bind(RabbitMQEventBus.class).in(Scopes.SINGLETON);
         bind(EventBus.class).to(RabbitMQEventBus.class);
 
-        Multibinder.newSetBinder(binder(), RegistrationKey.Factory.class)
-            .addBinding().to(MailboxIdRegistrationKey.Factory.class);
+        Multibinder<RegistrationKey.Factory> registrationKeyFactories = Multibinder.newSetBinder(binder(), RegistrationKey.Factory.class);
+        registrationKeyFactories.addBinding().to(MailboxIdRegistrationKey.Factory.class);
+        registrationKeyFactories.addBinding().to(UserRegistrationKey.Factory.class);
 
         bind(RetryBackoffConfiguration.class).toInstance(RetryBackoffConfiguration.DEFAULT);
     }
 
+    @Provides
+    @Singleton
+    EventWireFormat provideEventWireFormat(@Named(RABBITMQ_CONFIGURATION_NAME) Configuration configuration) {
+        return EventWireFormat.parse(configuration.getString(PUBLISH_FORMAT_PROPERTY, EventWireFormat.DEFAULT.name()));
+    }
+
     @ProvidesIntoSet
     InitializationOperation workQueue(RabbitMQEventBus instance) {
         return InitilizationOperationBuilder
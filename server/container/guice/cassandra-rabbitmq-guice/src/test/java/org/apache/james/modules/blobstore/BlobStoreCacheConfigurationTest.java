@@ -0,0 +1,85 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.modules.blobstore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.junit.jupiter.api.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+class BlobStoreCacheConfigurationTest {
+
+    @Test
+    void shouldMatchBeanContract() {
+        EqualsVerifier.forClass(BlobStoreCacheConfiguration.class)
+            .verify();
+    }
+
+    @Test
+    void fromShouldReturnDisabledWhenEmpty() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+
+        assertThat(BlobStoreCacheConfiguration.from(configuration))
+            .isEqualTo(BlobStoreCacheConfiguration.disabled());
+    }
+
+    @Test
+    void fromShouldReadAllProperties() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("cache.enable", true);
+        configuration.addProperty("cache.sizeThreshold", "16K");
+        configuration.addProperty("cache.ttl", "2 hours");
+
+        assertThat(BlobStoreCacheConfiguration.from(configuration))
+            .isEqualTo(new BlobStoreCacheConfiguration(true, 16 * 1024, Duration.ofHours(2)));
+    }
+
+    @Test
+    void fromShouldUseSecondsAsDefaultTtlUnit() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("cache.ttl", "3600");
+
+        assertThat(BlobStoreCacheConfiguration.from(configuration).getTimeToLive())
+            .isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    void fromShouldThrowWhenTtlIsZero() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("cache.ttl", "0");
+
+        assertThatThrownBy(() -> BlobStoreCacheConfiguration.from(configuration))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fromShouldThrowWhenSizeThresholdIsTooBig() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("cache.sizeThreshold", "3G");
+
+        assertThatThrownBy(() -> BlobStoreCacheConfiguration.from(configuration))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
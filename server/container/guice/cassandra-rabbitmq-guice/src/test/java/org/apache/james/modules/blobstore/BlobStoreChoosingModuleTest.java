@@ -23,11 +23,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 
+import java.time.Duration;
+
 import org.apache.commons.configuration2.PropertiesConfiguration;
 import org.apache.james.FakePropertiesProvider;
+import org.apache.james.blob.api.CachedBlobStore;
 import org.apache.james.blob.cassandra.CassandraBlobStore;
 import org.apache.james.blob.objectstorage.ObjectStorageBlobsDAO;
 import org.apache.james.blob.union.UnionBlobStore;
+import org.apache.james.metrics.api.NoopMetricFactory;
 import org.apache.james.modules.blobstore.BlobStoreChoosingConfiguration.BlobStoreImplName;
 import org.apache.james.modules.mailbox.ConfigurationComponent;
 import org.junit.jupiter.api.Test;
@@ -156,4 +160,31 @@ class BlobStoreChoosingModuleTest {
             CASSANDRA_BLOBSTORE_PROVIDER, OBJECT_STORAGE_BLOBSTORE_PROVIDER))
             .isInstanceOf(UnionBlobStore.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void provideCacheConfigurationShouldReturnDisabledWhenNoFile() throws Exception {
+        BlobStoreChoosingModule module = new BlobStoreChoosingModule();
+        FakePropertiesProvider propertyProvider = FakePropertiesProvider.builder()
+            .build();
+
+        assertThat(module.provideCacheConfiguration(propertyProvider))
+            .isEqualTo(BlobStoreCacheConfiguration.disabled());
+    }
+
+    @Test
+    void provideCachedBlobStoreShouldReturnBackendWhenCacheDisabled() {
+        BlobStoreChoosingModule module = new BlobStoreChoosingModule();
+
+        assertThat(module.provideCachedBlobStore(BlobStoreCacheConfiguration.disabled(), new NoopMetricFactory(), CASSANDRA_BLOBSTORE))
+            .isEqualTo(CASSANDRA_BLOBSTORE);
+    }
+
+    @Test
+    void provideCachedBlobStoreShouldWrapBackendWhenCacheEnabled() {
+        BlobStoreChoosingModule module = new BlobStoreChoosingModule();
+        BlobStoreCacheConfiguration cacheConfiguration = new BlobStoreCacheConfiguration(true, 1024, Duration.ofHours(1));
+
+        assertThat(module.provideCachedBlobStore(cacheConfiguration, new NoopMetricFactory(), CASSANDRA_BLOBSTORE))
+            .isInstanceOf(CachedBlobStore.class);
+    }
+}
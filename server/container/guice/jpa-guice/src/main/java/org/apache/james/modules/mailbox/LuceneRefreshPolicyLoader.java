@@ -0,0 +1,46 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.modules.mailbox;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.james.mailbox.lucene.search.RefreshPolicy;
+import org.apache.james.util.DurationParser;
+
+public class LuceneRefreshPolicyLoader {
+    private static final String REFRESH_ON_READ = "lucene.refresh.onRead";
+    private static final String REFRESH_INTERVAL = "lucene.refresh.interval";
+    private static final String COMMIT_INTERVAL = "lucene.commit.interval";
+
+    public static RefreshPolicy fromProperties(Configuration configuration) {
+        RefreshPolicy.Builder builder = RefreshPolicy.builder();
+        Optional.ofNullable(configuration.getBoolean(REFRESH_ON_READ, null))
+            .ifPresent(builder::refreshOnRead);
+        Optional.ofNullable(configuration.getString(REFRESH_INTERVAL, null))
+            .map(value -> DurationParser.parse(value, ChronoUnit.SECONDS))
+            .ifPresent(builder::refreshInterval);
+        Optional.ofNullable(configuration.getString(COMMIT_INTERVAL, null))
+            .map(value -> DurationParser.parse(value, ChronoUnit.SECONDS))
+            .ifPresent(builder::commitInterval);
+        return builder.build();
+    }
+}
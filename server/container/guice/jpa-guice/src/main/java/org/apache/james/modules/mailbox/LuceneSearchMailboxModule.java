@@ -19,27 +19,42 @@
 
 package org.apache.james.modules.mailbox;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.Optional;
 
+import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.james.filesystem.api.FileSystem;
 import org.apache.james.mailbox.events.MailboxListener;
 import org.apache.james.mailbox.lucene.search.LuceneMessageSearchIndex;
+import org.apache.james.mailbox.lucene.search.RefreshPolicy;
+import org.apache.james.mailbox.lucene.search.ShardDirectoryFactory;
+import org.apache.james.mailbox.lucene.search.ShardingConfiguration;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.mailbox.store.MailboxSessionMapperFactory;
+import org.apache.james.mailbox.store.SessionProvider;
 import org.apache.james.mailbox.store.search.ListeningMessageSearchIndex;
 import org.apache.james.mailbox.store.search.MessageSearchIndex;
+import org.apache.james.utils.PropertiesProvider;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provider;
 import com.google.inject.Provides;
-import com.google.inject.Scopes;
 import com.google.inject.Singleton;
 import com.google.inject.multibindings.Multibinder;
 
 public class LuceneSearchMailboxModule extends AbstractModule {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LuceneSearchMailboxModule.class);
+
+    public static final String LUCENE_CONFIGURATION_NAME = "lucene";
 
     @Override
     protected void configure() {
-        bind(LuceneMessageSearchIndex.class).in(Scopes.SINGLETON);
         bind(MessageSearchIndex.class).to(LuceneMessageSearchIndex.class);
         bind(ListeningMessageSearchIndex.class).to(LuceneMessageSearchIndex.class);
 
@@ -48,6 +63,41 @@ public class LuceneSearchMailboxModule extends AbstractModule {
             .to(LuceneMessageSearchIndex.class);
     }
 
+    @Provides
+    @Singleton
+    RefreshPolicy provideRefreshPolicy(PropertiesProvider propertiesProvider) throws ConfigurationException {
+        try {
+            return LuceneRefreshPolicyLoader.fromProperties(propertiesProvider.getConfiguration(LUCENE_CONFIGURATION_NAME));
+        } catch (FileNotFoundException e) {
+            LOGGER.info("Could not find " + LUCENE_CONFIGURATION_NAME + " configuration file, using the default refresh policy");
+            return RefreshPolicy.DEFAULT;
+        }
+    }
+
+    @Provides
+    @Singleton
+    Optional<ShardingConfiguration> provideShardingConfiguration(PropertiesProvider propertiesProvider) throws ConfigurationException {
+        try {
+            return LuceneShardingConfigurationLoader.fromProperties(propertiesProvider.getConfiguration(LUCENE_CONFIGURATION_NAME));
+        } catch (FileNotFoundException e) {
+            LOGGER.info("Could not find " + LUCENE_CONFIGURATION_NAME + " configuration file, using a single index");
+            return Optional.empty();
+        }
+    }
+
+    @Provides
+    @Singleton
+    LuceneMessageSearchIndex provideLuceneMessageSearchIndex(MailboxSessionMapperFactory factory, MailboxId.Factory mailboxIdFactory,
+                                                             MessageId.Factory messageIdFactory, SessionProvider sessionProvider,
+                                                             RefreshPolicy refreshPolicy, Optional<ShardingConfiguration> shardingConfiguration,
+                                                             FileSystem fileSystem, Provider<Directory> directory) throws IOException {
+        if (shardingConfiguration.isPresent()) {
+            return new LuceneMessageSearchIndex(factory, mailboxIdFactory, ShardDirectoryFactory.inFileSystem(fileSystem.getBasedir()),
+                shardingConfiguration.get(), false, true, messageIdFactory, sessionProvider, refreshPolicy);
+        }
+        return new LuceneMessageSearchIndex(factory, mailboxIdFactory, directory.get(), messageIdFactory, sessionProvider, refreshPolicy);
+    }
+
     @Provides
     @Singleton
     Directory provideDirectory(FileSystem fileSystem) throws IOException {
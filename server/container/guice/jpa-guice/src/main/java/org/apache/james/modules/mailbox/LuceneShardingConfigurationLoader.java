@@ -0,0 +1,52 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.modules.mailbox;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.james.mailbox.lucene.search.ShardingConfiguration;
+import org.apache.james.util.DurationParser;
+
+public class LuceneShardingConfigurationLoader {
+    private static final String SHARD_COUNT = "lucene.shards.count";
+    private static final String MAX_OPEN_SHARDS = "lucene.shards.maxOpen";
+    private static final String IDLE_TIMEOUT = "lucene.shards.idleTimeout";
+
+    /**
+     * @return empty when no shard count is configured, the index then being stored in a single directory
+     */
+    public static Optional<ShardingConfiguration> fromProperties(Configuration configuration) {
+        Optional<Integer> shardCount = Optional.ofNullable(configuration.getInteger(SHARD_COUNT, null));
+        if (!shardCount.isPresent()) {
+            return Optional.empty();
+        }
+
+        ShardingConfiguration.Builder builder = ShardingConfiguration.builder()
+            .shardCount(shardCount.get());
+        Optional.ofNullable(configuration.getInteger(MAX_OPEN_SHARDS, null))
+            .ifPresent(builder::maxOpenShards);
+        Optional.ofNullable(configuration.getString(IDLE_TIMEOUT, null))
+            .map(value -> DurationParser.parse(value, ChronoUnit.SECONDS))
+            .ifPresent(builder::idleTimeout);
+        return Optional.of(builder.build());
+    }
+}
@@ -0,0 +1,71 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.modules.mailbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.apache.james.mailbox.lucene.search.RefreshPolicy;
+import org.junit.jupiter.api.Test;
+
+class LuceneRefreshPolicyLoaderTest {
+
+    @Test
+    void fromPropertiesShouldReturnDefaultWhenEmpty() {
+        assertThat(LuceneRefreshPolicyLoader.fromProperties(new PropertiesConfiguration()))
+            .isEqualTo(RefreshPolicy.DEFAULT);
+    }
+
+    @Test
+    void fromPropertiesShouldReadAllValues() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("lucene.refresh.onRead", "false");
+        configuration.addProperty("lucene.refresh.interval", "500ms");
+        configuration.addProperty("lucene.commit.interval", "2m");
+
+        assertThat(LuceneRefreshPolicyLoader.fromProperties(configuration))
+            .isEqualTo(RefreshPolicy.builder()
+                .refreshOnRead(false)
+                .refreshInterval(Duration.ofMillis(500))
+                .commitInterval(Duration.ofMinutes(2))
+                .build());
+    }
+
+    @Test
+    void fromPropertiesShouldDefaultToSecondsWhenNoUnit() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("lucene.refresh.interval", "5");
+
+        assertThat(LuceneRefreshPolicyLoader.fromProperties(configuration).getRefreshInterval())
+            .isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void fromPropertiesShouldRejectZeroIntervals() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("lucene.commit.interval", "0");
+
+        assertThatThrownBy(() -> LuceneRefreshPolicyLoader.fromProperties(configuration))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
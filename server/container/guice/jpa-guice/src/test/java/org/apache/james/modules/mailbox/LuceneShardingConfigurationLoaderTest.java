@@ -0,0 +1,76 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.modules.mailbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.apache.james.mailbox.lucene.search.ShardingConfiguration;
+import org.junit.jupiter.api.Test;
+
+class LuceneShardingConfigurationLoaderTest {
+
+    @Test
+    void fromPropertiesShouldReturnEmptyWhenNoShardCount() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("lucene.shards.maxOpen", "4");
+
+        assertThat(LuceneShardingConfigurationLoader.fromProperties(configuration))
+            .isEmpty();
+    }
+
+    @Test
+    void fromPropertiesShouldUseDefaultsWhenOnlyShardCount() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("lucene.shards.count", "8");
+
+        assertThat(LuceneShardingConfigurationLoader.fromProperties(configuration))
+            .contains(ShardingConfiguration.builder()
+                .shardCount(8)
+                .build());
+    }
+
+    @Test
+    void fromPropertiesShouldReadAllValues() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("lucene.shards.count", "8");
+        configuration.addProperty("lucene.shards.maxOpen", "4");
+        configuration.addProperty("lucene.shards.idleTimeout", "5m");
+
+        assertThat(LuceneShardingConfigurationLoader.fromProperties(configuration))
+            .contains(ShardingConfiguration.builder()
+                .shardCount(8)
+                .maxOpenShards(4)
+                .idleTimeout(Duration.ofMinutes(5))
+                .build());
+    }
+
+    @Test
+    void fromPropertiesShouldRejectZeroShardCount() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("lucene.shards.count", "0");
+
+        assertThatThrownBy(() -> LuceneShardingConfigurationLoader.fromProperties(configuration))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
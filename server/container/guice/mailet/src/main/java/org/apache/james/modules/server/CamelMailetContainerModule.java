@@ -19,10 +19,14 @@
 
 package org.apache.james.modules.server;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import javax.inject.Provider;
 
 import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.impl.SimpleRegistry;
@@ -40,6 +44,9 @@ import org.apache.james.mailetcontainer.impl.JamesMailetContext;
 import org.apache.james.mailetcontainer.impl.MatcherMailetPair;
 import org.apache.james.mailetcontainer.impl.camel.CamelCompositeProcessor;
 import org.apache.james.mailetcontainer.impl.camel.CamelMailetProcessor;
+import org.apache.james.mailetcontainer.impl.direct.DirectCompositeProcessor;
+import org.apache.james.mailetcontainer.impl.direct.DirectMailetProcessor;
+import org.apache.james.mailetcontainer.lib.AbstractStateCompositeProcessor;
 import org.apache.james.server.core.configuration.ConfigurationProvider;
 import org.apache.james.transport.mailets.RemoveMimeHeader;
 import org.apache.james.transport.matchers.All;
@@ -78,7 +85,8 @@ public class CamelMailetContainerModule extends AbstractModule {
     @Override
     protected void configure() {
         bind(CamelCompositeProcessor.class).in(Scopes.SINGLETON);
-        bind(MailProcessor.class).to(CamelCompositeProcessor.class);
+        bind(DirectCompositeProcessor.class).in(Scopes.SINGLETON);
+        bind(MailProcessor.class).to(AbstractStateCompositeProcessor.class);
 
         bind(JamesMailSpooler.class).in(Scopes.SINGLETON);
         bind(MailSpoolerMBean.class).to(JamesMailSpooler.class);
@@ -107,6 +115,30 @@ public class CamelMailetContainerModule extends AbstractModule {
         return camelContext;
     }
 
+    @Singleton
+    @Provides
+    AbstractStateCompositeProcessor provideCompositeProcessor(ConfigurationProvider configurationProvider,
+                                                              Provider<CamelCompositeProcessor> camelCompositeProcessor,
+                                                              Provider<DirectCompositeProcessor> directCompositeProcessor) {
+        switch (ProcessorsEngine.parse(getProcessorsEngine(configurationProvider))) {
+            case DIRECT:
+                return directCompositeProcessor.get();
+            case CAMEL:
+            default:
+                return camelCompositeProcessor.get();
+        }
+    }
+
+    private String getProcessorsEngine(ConfigurationProvider configurationProvider) {
+        try {
+            return configurationProvider.getConfiguration("mailetcontainer")
+                .getString("processors[@engine]", ProcessorsEngine.CAMEL.getValue());
+        } catch (Exception e) {
+            LOGGER.warn("Could not load configuration for Processors. Fallback to the {} engine.", ProcessorsEngine.CAMEL.getValue());
+            return ProcessorsEngine.CAMEL.getValue();
+        }
+    }
+
     @ProvidesIntoSet
     InitializationOperation startSpooler(JamesMailSpooler jamesMailSpooler, ConfigurationProvider configurationProvider) {
         return InitilizationOperationBuilder
@@ -147,18 +179,18 @@ public class CamelMailetContainerModule extends AbstractModule {
     @Singleton
     public static class MailetModuleInitializationOperation implements InitializationOperation {
         private final ConfigurationProvider configurationProvider;
-        private final CamelCompositeProcessor camelCompositeProcessor;
+        private final AbstractStateCompositeProcessor compositeProcessor;
         private final DefaultProcessorsConfigurationSupplier defaultProcessorsConfigurationSupplier;
         private final Set<TransportProcessorCheck> transportProcessorCheckSet;
-        private final DefaultCamelContext camelContext;
+        private final Provider<DefaultCamelContext> camelContext;
 
         @Inject
         public MailetModuleInitializationOperation(ConfigurationProvider configurationProvider,
-                                                   CamelCompositeProcessor camelCompositeProcessor,
+                                                   AbstractStateCompositeProcessor compositeProcessor,
                                                    Set<TransportProcessorCheck> transportProcessorCheckSet,
-                                                   DefaultProcessorsConfigurationSupplier defaultProcessorsConfigurationSupplier, DefaultCamelContext camelContext) {
+                                                   DefaultProcessorsConfigurationSupplier defaultProcessorsConfigurationSupplier, Provider<DefaultCamelContext> camelContext) {
             this.configurationProvider = configurationProvider;
-            this.camelCompositeProcessor = camelCompositeProcessor;
+            this.compositeProcessor = compositeProcessor;
             this.transportProcessorCheckSet = transportProcessorCheckSet;
             this.defaultProcessorsConfigurationSupplier = defaultProcessorsConfigurationSupplier;
             this.camelContext = camelContext;
@@ -166,14 +198,16 @@ public class CamelMailetContainerModule extends AbstractModule {
 
         @Override
         public void initModule() throws Exception {
-            configureProcessors(camelContext);
+            configureProcessors();
             checkProcessors();
         }
 
-        private void configureProcessors(DefaultCamelContext camelContext) throws Exception {
-            camelCompositeProcessor.setCamelContext(camelContext);
-            camelCompositeProcessor.configure(getProcessorConfiguration());
-            camelCompositeProcessor.init();
+        private void configureProcessors() throws Exception {
+            if (compositeProcessor instanceof CamelCompositeProcessor) {
+                ((CamelCompositeProcessor) compositeProcessor).setCamelContext(camelContext.get());
+            }
+            compositeProcessor.configure(getProcessorConfiguration());
+            compositeProcessor.init();
         }
 
         private HierarchicalConfiguration<ImmutableNode> getProcessorConfiguration() {
@@ -187,21 +221,27 @@ public class CamelMailetContainerModule extends AbstractModule {
         }
 
         private void checkProcessors() throws ConfigurationException {
-            MailProcessor mailProcessor = Optional.ofNullable(camelCompositeProcessor.getProcessor("transport"))
+            MailProcessor mailProcessor = Optional.ofNullable(compositeProcessor.getProcessor("transport"))
                 .orElseThrow(() -> new RuntimeException("JMAP needs a transport processor"));
+            List<MatcherMailetPair> matcherMailetPairs = getPairs(mailProcessor);
+            for (TransportProcessorCheck check : transportProcessorCheckSet) {
+                check.check(matcherMailetPairs);
+            }
+        }
+
+        private List<MatcherMailetPair> getPairs(MailProcessor mailProcessor) {
             if (mailProcessor instanceof CamelMailetProcessor) {
-                List<MatcherMailetPair> matcherMailetPairs = ((CamelMailetProcessor) mailProcessor).getPairs();
-                for (TransportProcessorCheck check : transportProcessorCheckSet) {
-                    check.check(matcherMailetPairs);
-                }
-            } else {
-                throw new RuntimeException("Can not perform checks as transport processor is not an instance of " + MailProcessor.class);
+                return ((CamelMailetProcessor) mailProcessor).getPairs();
+            }
+            if (mailProcessor instanceof DirectMailetProcessor) {
+                return ((DirectMailetProcessor) mailProcessor).getPairs();
             }
+            throw new RuntimeException("Can not perform checks as transport processor is not an instance of " + MailProcessor.class);
         }
 
         @Override
         public Class<? extends Startable> forClass() {
-            return CamelCompositeProcessor.class;
+            return compositeProcessor.getClass();
         }
     }
 
@@ -244,6 +284,29 @@ public class CamelMailetContainerModule extends AbstractModule {
         }
     }
 
+    public enum ProcessorsEngine {
+        CAMEL("camel"),
+        DIRECT("direct");
+
+        public static ProcessorsEngine parse(String value) {
+            return Arrays.stream(values())
+                .filter(engine -> engine.value.equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown processors engine '" + value + "'. Supported values are "
+                    + Arrays.stream(values()).map(ProcessorsEngine::getValue).collect(Collectors.joining(", "))));
+        }
+
+        private final String value;
+
+        ProcessorsEngine(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
     public interface DefaultProcessorsConfigurationSupplier {
         HierarchicalConfiguration<ImmutableNode> getDefaultConfiguration();
     }
@@ -30,7 +30,9 @@ import org.apache.james.mailbox.cassandra.mail.migration.AttachmentV2Migration;
 import org.apache.james.mailbox.cassandra.mail.migration.MailboxPathV2Migration;
 import org.apache.james.rrt.cassandra.migration.MappingsSourcesMigration;
 import org.apache.james.webadmin.Routes;
+import org.apache.james.webadmin.routes.CassandraDeletedMessagesVaultIndexRoutes;
 import org.apache.james.webadmin.routes.CassandraMailboxMergingRoutes;
+import org.apache.james.webadmin.routes.CassandraMailboxUsageRoutes;
 import org.apache.james.webadmin.routes.CassandraMigrationRoutes;
 
 import com.google.inject.AbstractModule;
@@ -51,6 +53,8 @@ public class CassandraRoutesModule extends AbstractModule {
         bind(MigrationTask.Impl.class).in(Scopes.SINGLETON);
         bind(CassandraRoutesModule.class).in(Scopes.SINGLETON);
         bind(CassandraMailboxMergingRoutes.class).in(Scopes.SINGLETON);
+        bind(CassandraMailboxUsageRoutes.class).in(Scopes.SINGLETON);
+        bind(CassandraDeletedMessagesVaultIndexRoutes.class).in(Scopes.SINGLETON);
         bind(CassandraMigrationService.class).in(Scopes.SINGLETON);
 
         bind(MigrationTask.Factory.class).to(MigrationTask.Impl.class);
@@ -58,6 +62,8 @@ public class CassandraRoutesModule extends AbstractModule {
         Multibinder<Routes> routesMultibinder = Multibinder.newSetBinder(binder(), Routes.class);
         routesMultibinder.addBinding().to(CassandraMigrationRoutes.class);
         routesMultibinder.addBinding().to(CassandraMailboxMergingRoutes.class);
+        routesMultibinder.addBinding().to(CassandraMailboxUsageRoutes.class);
+        routesMultibinder.addBinding().to(CassandraDeletedMessagesVaultIndexRoutes.class);
 
         MapBinder<SchemaTransition, Migration> allMigrationClazzBinder = MapBinder.newMapBinder(binder(), SchemaTransition.class, Migration.class);
         allMigrationClazzBinder.addBinding(FROM_V2_TO_V3).toInstance(() -> { });
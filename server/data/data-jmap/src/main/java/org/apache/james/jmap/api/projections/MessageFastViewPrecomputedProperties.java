@@ -0,0 +1,76 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.jmap.api.projections;
+
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Properties of a message that are costly to compute, as they require parsing the whole MIME structure, and are
+ * thus computed once upon append.
+ */
+public class MessageFastViewPrecomputedProperties {
+
+    public static MessageFastViewPrecomputedProperties of(Preview preview, boolean hasAttachment) {
+        Preconditions.checkNotNull(preview, "'preview' should not be null");
+        return new MessageFastViewPrecomputedProperties(preview, hasAttachment);
+    }
+
+    private final Preview preview;
+    private final boolean hasAttachment;
+
+    private MessageFastViewPrecomputedProperties(Preview preview, boolean hasAttachment) {
+        this.preview = preview;
+        this.hasAttachment = hasAttachment;
+    }
+
+    public Preview getPreview() {
+        return preview;
+    }
+
+    public boolean hasAttachment() {
+        return hasAttachment;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof MessageFastViewPrecomputedProperties) {
+            MessageFastViewPrecomputedProperties that = (MessageFastViewPrecomputedProperties) o;
+            return Objects.equals(this.hasAttachment, that.hasAttachment)
+                && Objects.equals(this.preview, that.preview);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(preview, hasAttachment);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("preview", preview)
+            .add("hasAttachment", hasAttachment)
+            .toString();
+    }
+}
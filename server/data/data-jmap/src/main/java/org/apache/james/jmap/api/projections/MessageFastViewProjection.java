@@ -0,0 +1,52 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.jmap.api.projections;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.apache.james.mailbox.model.MessageId;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+/**
+ * Stores, for each message, the properties needed for listing messages that can not be read from its headers.
+ *
+ * This projection is best effort: readers are expected to fall back to computing these properties from the message
+ * content when no entry is found.
+ */
+public interface MessageFastViewProjection {
+
+    Mono<Void> store(MessageId messageId, MessageFastViewPrecomputedProperties precomputedProperties);
+
+    Mono<MessageFastViewPrecomputedProperties> retrieve(MessageId messageId);
+
+    Mono<Void> delete(MessageId messageId);
+
+    default Mono<Map<MessageId, MessageFastViewPrecomputedProperties>> retrieve(Collection<MessageId> messageIds) {
+        return Flux.fromIterable(messageIds)
+            .flatMap(messageId -> retrieve(messageId)
+                .map(precomputedProperties -> Tuples.of(messageId, precomputedProperties)))
+            .collectMap(Tuple2::getT1, Tuple2::getT2);
+    }
+}
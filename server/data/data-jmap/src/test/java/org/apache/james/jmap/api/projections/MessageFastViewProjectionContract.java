@@ -0,0 +1,109 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.jmap.api.projections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.mailbox.model.TestMessageId;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+public interface MessageFastViewProjectionContract {
+
+    MessageId MESSAGE_ID_1 = TestMessageId.of(1);
+    MessageId MESSAGE_ID_2 = TestMessageId.of(2);
+    MessageFastViewPrecomputedProperties PROPERTIES_1 = MessageFastViewPrecomputedProperties.of(Preview.from("preview 1"), false);
+    MessageFastViewPrecomputedProperties PROPERTIES_2 = MessageFastViewPrecomputedProperties.of(Preview.from("preview 2"), true);
+
+    MessageFastViewProjection testee();
+
+    @Test
+    default void retrieveShouldReturnEmptyWhenNotStored() {
+        assertThat(testee().retrieve(MESSAGE_ID_1).blockOptional())
+            .isEmpty();
+    }
+
+    @Test
+    default void retrieveShouldReturnStoredProperties() {
+        testee().store(MESSAGE_ID_1, PROPERTIES_1).block();
+
+        assertThat(testee().retrieve(MESSAGE_ID_1).block())
+            .isEqualTo(PROPERTIES_1);
+    }
+
+    @Test
+    default void storeShouldOverridePreviousProperties() {
+        testee().store(MESSAGE_ID_1, PROPERTIES_1).block();
+        testee().store(MESSAGE_ID_1, PROPERTIES_2).block();
+
+        assertThat(testee().retrieve(MESSAGE_ID_1).block())
+            .isEqualTo(PROPERTIES_2);
+    }
+
+    @Test
+    default void retrieveShouldNotReturnPropertiesOfOtherMessages() {
+        testee().store(MESSAGE_ID_1, PROPERTIES_1).block();
+
+        assertThat(testee().retrieve(MESSAGE_ID_2).blockOptional())
+            .isEmpty();
+    }
+
+    @Test
+    default void deleteShouldRemoveStoredProperties() {
+        testee().store(MESSAGE_ID_1, PROPERTIES_1).block();
+
+        testee().delete(MESSAGE_ID_1).block();
+
+        assertThat(testee().retrieve(MESSAGE_ID_1).blockOptional())
+            .isEmpty();
+    }
+
+    @Test
+    default void deleteShouldNotFailWhenNotStored() {
+        testee().delete(MESSAGE_ID_1).block();
+
+        assertThat(testee().retrieve(MESSAGE_ID_1).blockOptional())
+            .isEmpty();
+    }
+
+    @Test
+    default void retrieveSeveralShouldReturnOnlyStoredProperties() {
+        testee().store(MESSAGE_ID_1, PROPERTIES_1).block();
+
+        assertThat(testee().retrieve(ImmutableList.of(MESSAGE_ID_1, MESSAGE_ID_2)).block())
+            .isEqualTo(ImmutableMap.of(MESSAGE_ID_1, PROPERTIES_1));
+    }
+
+    @Test
+    default void storeShouldThrowWhenNullMessageId() {
+        assertThatThrownBy(() -> testee().store(null, PROPERTIES_1).block())
+            .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    default void storeShouldThrowWhenNullProperties() {
+        assertThatThrownBy(() -> testee().store(MESSAGE_ID_1, null).block())
+            .isInstanceOf(NullPointerException.class);
+    }
+}
@@ -0,0 +1,61 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.jmap.api.projections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.base.Strings;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+class PreviewTest {
+
+    @Test
+    void shouldMatchBeanContract() {
+        EqualsVerifier.forClass(Preview.class).verify();
+    }
+
+    @Test
+    void fromShouldThrowWhenNull() {
+        assertThatThrownBy(() -> Preview.from(null))
+            .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void fromShouldThrowWhenTooLong() {
+        assertThatThrownBy(() -> Preview.from(Strings.repeat("a", Preview.MAX_LENGTH + 1)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fromShouldAcceptMaxLength() {
+        String value = Strings.repeat("a", Preview.MAX_LENGTH);
+
+        assertThat(Preview.from(value).getValue()).isEqualTo(value);
+    }
+
+    @Test
+    void fromShouldAcceptEmptyValue() {
+        assertThat(Preview.from("").getValue()).isEmpty();
+    }
+}
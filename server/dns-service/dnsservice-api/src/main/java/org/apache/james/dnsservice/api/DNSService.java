@@ -22,6 +22,9 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.Collection;
 
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
 /**
  * Provides abstraction for DNS resolutions. The interface is Mail specific. It
  * may be a good idea to make the interface more generic or expose commonly
@@ -59,6 +62,21 @@ public interface DNSService {
      */
     Collection<String> findTXTRecords(String hostname);
 
+    /**
+     * Non blocking variant of {@link #findTXTRecords(String)}.
+     *
+     * This default implementation runs the blocking lookup on an elastic scheduler. Implementations able to
+     * query the DNS asynchronously should override it.
+     *
+     * @param hostname
+     *            The hostname to check
+     * @return collection of strings representing TXT record values
+     */
+    default Mono<Collection<String>> findTXTRecordsReactive(String hostname) {
+        return Mono.fromCallable(() -> findTXTRecords(hostname))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
     /**
      * Resolve the given hostname to an array of InetAddress based on the DNS
      * Server. It should not take into account the hostnames defined in the
@@ -77,6 +95,19 @@ public interface DNSService {
      */
     InetAddress getByName(String host) throws UnknownHostException;
 
+    /**
+     * Non blocking variant of {@link #getByName(String)}.
+     *
+     * This default implementation runs the blocking lookup on an elastic scheduler. Implementations able to
+     * query the DNS asynchronously should override it.
+     *
+     * @return The resolved InetAddress, or an {@link UnknownHostException} error if not resolved
+     */
+    default Mono<InetAddress> getByNameReactive(String host) {
+        return Mono.fromCallable(() -> getByName(host))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
     /**
      * Resolve the local hostname of the machine and returns it. It relies on
      * the hostname defined in the local host table
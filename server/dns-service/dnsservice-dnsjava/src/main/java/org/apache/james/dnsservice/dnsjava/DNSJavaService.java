@@ -25,7 +25,11 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
@@ -48,18 +52,27 @@ import org.xbill.DNS.DClass;
 import org.xbill.DNS.ExtendedResolver;
 import org.xbill.DNS.Lookup;
 import org.xbill.DNS.MXRecord;
+import org.xbill.DNS.Message;
 import org.xbill.DNS.Name;
 import org.xbill.DNS.PTRRecord;
+import org.xbill.DNS.RRset;
+import org.xbill.DNS.Rcode;
 import org.xbill.DNS.Record;
 import org.xbill.DNS.Resolver;
 import org.xbill.DNS.ResolverConfig;
+import org.xbill.DNS.ResolverListener;
 import org.xbill.DNS.ReverseMap;
+import org.xbill.DNS.Section;
+import org.xbill.DNS.SetResponse;
 import org.xbill.DNS.TXTRecord;
 import org.xbill.DNS.TextParseException;
 import org.xbill.DNS.Type;
 
 import com.google.common.collect.ImmutableList;
 
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
 /**
  * Provides DNS client functionality to services running inside James
  */
@@ -68,6 +81,39 @@ public class DNSJavaService implements DNSService, DNSServiceMBean, Configurable
 
     private static final int CACHE_TTL_DISABLE = -1;
 
+    /**
+     * A DNS query, used for de-duplicating the asynchronous lookups in flight.
+     */
+    private static class Question {
+        private final Name name;
+        private final int type;
+
+        Question(Name name, int type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        Message asQuery() {
+            return Message.newQuery(Record.newRecord(name, type, DClass.IN));
+        }
+
+        @Override
+        public final boolean equals(Object o) {
+            if (o instanceof Question) {
+                Question that = (Question) o;
+
+                return Objects.equals(this.type, that.type)
+                    && Objects.equals(this.name, that.name);
+            }
+            return false;
+        }
+
+        @Override
+        public final int hashCode() {
+            return Objects.hash(name, type);
+        }
+    }
+
     /**
      * A resolver instance used to retrieve DNS records. This is a reference to
      * a third party library object.
@@ -121,6 +167,11 @@ public class DNSJavaService implements DNSService, DNSServiceMBean, Configurable
 
     private String localAddress;
 
+    /**
+     * Asynchronous lookups currently in flight: concurrent identical queries share a single DNS request.
+     */
+    private final ConcurrentHashMap<Question, Mono<List<Record>>> inFlightLookups = new ConcurrentHashMap<>();
+
     @Inject
     public DNSJavaService(MetricFactory metricFactory) {
         this.metricFactory = metricFactory;
@@ -392,6 +443,85 @@ public class DNSJavaService implements DNSService, DNSServiceMBean, Configurable
         }
     }
 
+    /**
+     * Non blocking counterpart of {@link #lookup(String, int, String)}.
+     *
+     * The name is looked up as an absolute name, search paths are not applied. Answers are first looked up
+     * in the {@link Cache}, otherwise the query is sent asynchronously to the resolver, identical queries in flight
+     * being shared, and its response is then added to the {@link Cache}.
+     *
+     * @return the matching records, empty if the name or the records do not exist. Fails with a
+     * {@link TemporaryResolutionException} when the DNS server can not be reached.
+     */
+    protected Mono<List<Record>> lookupReactive(String namestr, int type) {
+        Name name;
+        try {
+            name = Name.fromString(namestr, Name.root);
+        } catch (TextParseException tpe) {
+            LOGGER.error("Couldn't parse name {}", namestr, tpe);
+            return Mono.just(ImmutableList.of());
+        }
+        Question question = new Question(name, type);
+        return Mono.defer(() -> lookupInCache(question)
+            .map(Mono::just)
+            .orElseGet(() -> inFlightLookups.computeIfAbsent(question, this::query)));
+    }
+
+    private Optional<List<Record>> lookupInCache(Question question) {
+        SetResponse response = cache.lookupRecords(question.name, question.type, dnsCredibility);
+        if (response.isNXDOMAIN() || response.isNXRRSET()) {
+            return Optional.of(ImmutableList.of());
+        }
+        if (response.isSuccessful()) {
+            ImmutableList.Builder<Record> records = ImmutableList.builder();
+            for (RRset rrset : response.answers()) {
+                Iterator<?> rrs = rrset.rrs();
+                while (rrs.hasNext()) {
+                    records.add((Record) rrs.next());
+                }
+            }
+            return Optional.of(records.build());
+        }
+        return Optional.empty();
+    }
+
+    private Mono<List<Record>> query(Question question) {
+        return Mono.<Message>create(sink -> resolver.sendAsync(question.asQuery(), asListener(sink)))
+            .flatMap(response -> toRecords(question, response))
+            .doFinally(any -> inFlightLookups.remove(question))
+            .cache();
+    }
+
+    private ResolverListener asListener(MonoSink<Message> sink) {
+        return new ResolverListener() {
+            @Override
+            public void receiveMessage(Object id, Message message) {
+                sink.success(message);
+            }
+
+            @Override
+            public void handleException(Object id, Exception e) {
+                LOGGER.warn("Error while querying the DNS", e);
+                sink.error(new TemporaryResolutionException("DNSService is temporary not reachable"));
+            }
+        };
+    }
+
+    private Mono<List<Record>> toRecords(Question question, Message response) {
+        switch (response.getRcode()) {
+            case Rcode.NOERROR:
+                cache.addMessage(response);
+                return Mono.just(Arrays.stream(response.getSectionArray(Section.ANSWER))
+                    .filter(record -> record.getType() == question.type)
+                    .collect(ImmutableList.toImmutableList()));
+            case Rcode.NXDOMAIN:
+                cache.addMessage(response);
+                return Mono.just(ImmutableList.of());
+            default:
+                return Mono.error(new TemporaryResolutionException("DNSService is temporary not reachable"));
+        }
+    }
+
     protected Record[] lookupNoException(String namestr, int type, String typeDesc) {
         try {
             return lookup(namestr, type, typeDesc);
@@ -469,6 +599,39 @@ public class DNSJavaService implements DNSService, DNSServiceMBean, Configurable
         }
     }
 
+    @Override
+    public Mono<InetAddress> getByNameReactive(String host) {
+        String name = allowIPLiteral(host);
+
+        return Mono.defer(() -> metricFactory.runPublishingTimerMetric("getByName", resolveReactive(name)));
+    }
+
+    private Mono<InetAddress> resolveReactive(String name) {
+        try {
+            // Check if its local
+            if (name.equalsIgnoreCase(localHostName) || name.equalsIgnoreCase(localCanonicalHostName) || name.equals(localAddress)) {
+                return Mono.just(getLocalHost());
+            }
+
+            return Mono.just(org.xbill.DNS.Address.getByAddress(name));
+        } catch (UnknownHostException e) {
+            return lookupReactive(name, Type.A)
+                .onErrorResume(TemporaryResolutionException.class, any -> Mono.just(ImmutableList.of()))
+                .flatMap(records -> records.stream()
+                    .findFirst()
+                    .map(record -> toInetAddress(name, (ARecord) record))
+                    .orElse(Mono.error(e)));
+        }
+    }
+
+    private Mono<InetAddress> toInetAddress(String name, ARecord record) {
+        try {
+            return Mono.just(InetAddress.getByAddress(name, record.getAddress().getAddress()));
+        } catch (UnknownHostException e) {
+            return Mono.error(e);
+        }
+    }
+
     @Override
     public Collection<InetAddress> getAllByName(String host) throws UnknownHostException {
         TimeMetric timeMetric = metricFactory.timer("getAllByName");
@@ -519,6 +682,16 @@ public class DNSJavaService implements DNSService, DNSServiceMBean, Configurable
         }
     }
 
+    @Override
+    public Mono<Collection<String>> findTXTRecordsReactive(String hostname) {
+        return Mono.defer(() -> metricFactory.runPublishingTimerMetric("findTXTRecords",
+            lookupReactive(hostname, Type.TXT)
+                .onErrorResume(TemporaryResolutionException.class, any -> Mono.just(ImmutableList.of()))
+                .<Collection<String>>map(records -> records.stream()
+                    .map(record -> ((TXTRecord) record).rdataToString())
+                    .collect(ImmutableList.toImmutableList()))));
+    }
+
     @Override
     public String getHostName(InetAddress addr) {
         TimeMetric timeMetric = metricFactory.timer("getHostName");
@@ -24,10 +24,15 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.net.InetAddress;
 import java.net.URL;
+import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.Collection;
 
@@ -36,17 +41,26 @@ import org.apache.james.server.core.configuration.FileConfigurationProvider;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xbill.DNS.ARecord;
 import org.xbill.DNS.Cache;
 import org.xbill.DNS.DClass;
+import org.xbill.DNS.Flags;
 import org.xbill.DNS.Lookup;
+import org.xbill.DNS.Message;
 import org.xbill.DNS.Name;
+import org.xbill.DNS.Rcode;
 import org.xbill.DNS.Resolver;
+import org.xbill.DNS.ResolverListener;
+import org.xbill.DNS.Section;
 import org.xbill.DNS.Zone;
 
 import com.google.common.io.Resources;
 
+import reactor.core.publisher.Mono;
+
 public class DNSJavaServiceTest {
     private static final Logger LOGGER = LoggerFactory.getLogger(DNSJavaServiceTest.class);
 
@@ -207,6 +221,106 @@ public class DNSJavaServiceTest {
         assertThat(records.size()).isEqualTo(1);
         assertThat(records.contains("mx1.one-mx.bar.")).isTrue();
     }
+    @Test
+    public void getByNameReactiveShouldBeServedByTheCache() throws Exception {
+        doAnswer(new ZoneCacheLookupRecordsAnswer(loadZone("test-zone.com.")))
+                .when(mockedCache).lookupRecords(any(Name.class), anyInt(), anyInt());
+        dnsServer.setCache(mockedCache);
+        Resolver resolver = mock(Resolver.class);
+        dnsServer.setResolver(resolver);
+
+        InetAddress address = dnsServer.getByNameReactive("mail.test-zone.com.").block();
+
+        assertThat(address.getHostAddress()).isEqualTo("201.202.203.204");
+        verifyZeroInteractions(resolver);
+    }
+
+    @Test
+    public void getByNameReactiveShouldShareQueriesInFlight() throws Exception {
+        dnsServer.setCache(new Cache(DClass.IN));
+        Resolver resolver = mock(Resolver.class);
+        dnsServer.setResolver(resolver);
+
+        Mono<InetAddress> first = dnsServer.getByNameReactive("listed.rbl.org.").cache();
+        Mono<InetAddress> second = dnsServer.getByNameReactive("listed.rbl.org.").cache();
+        first.subscribe();
+        second.subscribe();
+        answer(resolver, "127.0.0.2");
+
+        assertThat(first.block().getHostAddress()).isEqualTo("127.0.0.2");
+        assertThat(second.block().getHostAddress()).isEqualTo("127.0.0.2");
+        verify(resolver, times(1)).sendAsync(any(Message.class), any(ResolverListener.class));
+    }
+
+    @Test
+    public void getByNameReactiveShouldCacheAnswers() throws Exception {
+        dnsServer.setCache(new Cache(DClass.IN));
+        Resolver resolver = mock(Resolver.class);
+        dnsServer.setResolver(resolver);
+        Mono<InetAddress> first = dnsServer.getByNameReactive("listed.rbl.org.").cache();
+        first.subscribe();
+        answer(resolver, "127.0.0.2");
+        first.block();
+
+        InetAddress address = dnsServer.getByNameReactive("listed.rbl.org.").block();
+
+        assertThat(address.getHostAddress()).isEqualTo("127.0.0.2");
+        verify(resolver, times(1)).sendAsync(any(Message.class), any(ResolverListener.class));
+    }
+
+    @Test
+    public void getByNameReactiveShouldFailWhenTheNameDoesNotExist() throws Exception {
+        dnsServer.setCache(new Cache(DClass.IN));
+        Resolver resolver = mock(Resolver.class);
+        dnsServer.setResolver(resolver);
+        Mono<InetAddress> result = dnsServer.getByNameReactive("unlisted.rbl.org.").cache();
+        result.subscribe(any -> { }, any -> { });
+
+        ArgumentCaptor<Message> query = ArgumentCaptor.forClass(Message.class);
+        ArgumentCaptor<ResolverListener> listener = ArgumentCaptor.forClass(ResolverListener.class);
+        verify(resolver).sendAsync(query.capture(), listener.capture());
+        Message response = responseTo(query.getValue());
+        response.getHeader().setRcode(Rcode.NXDOMAIN);
+        listener.getValue().receiveMessage(query.getValue().getHeader().getID(), response);
+
+        assertThat(result.map(any -> "resolved")
+                .onErrorResume(UnknownHostException.class, e -> Mono.just("unknown"))
+                .block())
+            .isEqualTo("unknown");
+    }
+
+    @Test
+    public void findTXTRecordsReactiveShouldReturnEmptyWhenTheDNSServerIsNotReachable() throws Exception {
+        dnsServer.setCache(new Cache(DClass.IN));
+        Resolver resolver = mock(Resolver.class);
+        dnsServer.setResolver(resolver);
+        Mono<Collection<String>> result = dnsServer.findTXTRecordsReactive("listed.rbl.org.").cache();
+        result.subscribe();
+
+        ArgumentCaptor<ResolverListener> listener = ArgumentCaptor.forClass(ResolverListener.class);
+        verify(resolver).sendAsync(any(Message.class), listener.capture());
+        listener.getValue().handleException(1, new IOException("timeout"));
+
+        assertThat(result.block()).isEmpty();
+    }
+
+    private void answer(Resolver resolver, String address) throws Exception {
+        ArgumentCaptor<Message> query = ArgumentCaptor.forClass(Message.class);
+        ArgumentCaptor<ResolverListener> listener = ArgumentCaptor.forClass(ResolverListener.class);
+        verify(resolver).sendAsync(query.capture(), listener.capture());
+
+        Message response = responseTo(query.getValue());
+        response.addRecord(new ARecord(query.getValue().getQuestion().getName(), DClass.IN, 3600, InetAddress.getByName(address)), Section.ANSWER);
+        listener.getValue().receiveMessage(query.getValue().getHeader().getID(), response);
+    }
+
+    private Message responseTo(Message query) {
+        Message response = new Message(query.getHeader().getID());
+        response.getHeader().setFlag(Flags.QR);
+        response.addRecord(query.getQuestion(), Section.QUESTION);
+        return response;
+    }
+
     /*
      * public void testCNAMEasMXrecords() throws Exception { // Zone z =
      * loadZone("brandilyncollins.com."); dnsServer.setResolver(null);
@@ -36,4 +36,19 @@ public interface MailSpoolerMBean {
      */
     int getCurrentSpoolCount();
 
+    /**
+     * Return the concurrency mode of the spooler, either "fixed" or "adaptive"
+     *
+     * @return concurrencyMode
+     */
+    String getConcurrencyMode();
+
+    /**
+     * Return the maximum number of mails currently allowed to be processed concurrently. In adaptive mode this
+     * evolves according to the observed processing latency and failures.
+     *
+     * @return concurrencyLimit
+     */
+    int getConcurrencyLimit();
+
 }
@@ -0,0 +1,225 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailetcontainer.impl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.james.metrics.api.Metric;
+import org.apache.james.metrics.api.MetricFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Additive increase / multiplicative decrease limiter bounding the number of mails processed concurrently.
+ *
+ * Each completed processing is a sample: a failure or a latency above the configured threshold shrinks the limit by
+ * the backoff ratio, while a success observed with the limit being actually used grows it by one. The limit always
+ * stays within [minLimit, maxLimit].
+ */
+public class AdaptiveConcurrencyLimiter {
+    public static final String LIMIT_METRIC_NAME = "spooler:concurrency:limit";
+    public static final String IN_FLIGHT_METRIC_NAME = "spooler:concurrency:inFlight";
+    public static final String THROTTLED_METRIC_NAME = "spooler:concurrency:throttled";
+
+    public class Permit {
+        private final Instant start;
+        private final AtomicBoolean released;
+
+        private Permit(Instant start) {
+            this.start = start;
+            this.released = new AtomicBoolean(false);
+        }
+
+        /**
+         * Releases this permit and accounts its processing as a sample for adjusting the limit.
+         */
+        public void complete(boolean success) {
+            if (released.compareAndSet(false, true)) {
+                onComplete(Duration.between(start, clock.instant()), success);
+            }
+        }
+
+        /**
+         * Releases this permit without affecting the limit, for instance upon cancellation.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                onRelease();
+            }
+        }
+    }
+
+    private static class Waiter {
+        private final MonoSink<Permit> sink;
+        // Guarded by the limiter lock
+        private Optional<Permit> permit;
+        private boolean cancelled;
+
+        private Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+            this.permit = Optional.empty();
+            this.cancelled = false;
+        }
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final Duration latencyThreshold;
+    private final double backoffRatio;
+    private final Clock clock;
+    private final Metric limitMetric;
+    private final Metric inFlightMetric;
+    private final Metric throttledMetric;
+    private final Deque<Waiter> waiters;
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(int minLimit, int maxLimit, Duration latencyThreshold, double backoffRatio, MetricFactory metricFactory) {
+        this(minLimit, maxLimit, latencyThreshold, backoffRatio, metricFactory, Clock.systemUTC());
+    }
+
+    @VisibleForTesting
+    AdaptiveConcurrencyLimiter(int minLimit, int maxLimit, Duration latencyThreshold, double backoffRatio, MetricFactory metricFactory, Clock clock) {
+        Preconditions.checkArgument(minLimit > 0, "minLimit should be strictly positive");
+        Preconditions.checkArgument(maxLimit >= minLimit, "maxLimit should be greater than or equal to minLimit");
+        Preconditions.checkArgument(backoffRatio > 0 && backoffRatio < 1, "backoffRatio should be between 0 and 1 (excluded)");
+
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThreshold = latencyThreshold;
+        this.backoffRatio = backoffRatio;
+        this.clock = clock;
+        this.limitMetric = metricFactory.generate(LIMIT_METRIC_NAME);
+        this.inFlightMetric = metricFactory.generate(IN_FLIGHT_METRIC_NAME);
+        this.throttledMetric = metricFactory.generate(THROTTLED_METRIC_NAME);
+        this.waiters = new ArrayDeque<>();
+        this.limit = minLimit;
+        this.inFlight = 0;
+        limitMetric.add(minLimit);
+    }
+
+    /**
+     * @return a permit, emitted as soon as the number of in-flight processings is below the current limit. Upon
+     * cancellation, a permit granted but not yet delivered is released.
+     */
+    public Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            sink.onCancel(() -> cancel(waiter));
+            tryGrant(waiter).ifPresent(sink::success);
+        });
+    }
+
+    public synchronized int currentLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    private synchronized Optional<Permit> tryGrant(Waiter waiter) {
+        if (waiter.cancelled) {
+            return Optional.empty();
+        }
+        if (inFlight < currentLimit()) {
+            return grant(waiter);
+        }
+        throttledMetric.increment();
+        waiters.addLast(waiter);
+        return Optional.empty();
+    }
+
+    private void cancel(Waiter waiter) {
+        cancelWaiter(waiter).ifPresent(Permit::release);
+    }
+
+    /**
+     * @return the permit granted to this waiter, if any, as it will never be delivered
+     */
+    private synchronized Optional<Permit> cancelWaiter(Waiter waiter) {
+        waiter.cancelled = true;
+        waiters.remove(waiter);
+        return waiter.permit;
+    }
+
+    private void onComplete(Duration latency, boolean success) {
+        signal(adjustAndRelease(latency, success));
+    }
+
+    private void onRelease() {
+        signal(releaseAndGrantWaiters());
+    }
+
+    private synchronized List<Waiter> adjustAndRelease(Duration latency, boolean success) {
+        int previousLimit = currentLimit();
+        if (!success || latency.compareTo(latencyThreshold) > 0) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        recordLimitChange(currentLimit() - previousLimit);
+        return releaseAndGrantWaiters();
+    }
+
+    private void recordLimitChange(int delta) {
+        if (delta > 0) {
+            limitMetric.add(delta);
+        } else if (delta < 0) {
+            limitMetric.remove(-delta);
+        }
+    }
+
+    private synchronized List<Waiter> releaseAndGrantWaiters() {
+        inFlight--;
+        inFlightMetric.decrement();
+        List<Waiter> granted = new ArrayList<>();
+        while (inFlight < currentLimit() && !waiters.isEmpty()) {
+            Waiter waiter = waiters.pollFirst();
+            grant(waiter);
+            granted.add(waiter);
+        }
+        return granted;
+    }
+
+    private void signal(List<Waiter> granted) {
+        // Sinks are completed outside of the lock as this triggers the processing of the waiting mails
+        granted.forEach(waiter -> waiter.permit.ifPresent(waiter.sink::success));
+    }
+
+    private Optional<Permit> grant(Waiter waiter) {
+        inFlight++;
+        inFlightMetric.increment();
+        waiter.permit = Optional.of(new Permit(clock.instant()));
+        return waiter.permit;
+    }
+}
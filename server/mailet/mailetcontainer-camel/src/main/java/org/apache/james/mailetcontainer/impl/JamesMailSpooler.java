@@ -19,6 +19,10 @@
 
 package org.apache.james.mailetcontainer.impl;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -49,6 +53,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
 
 /**
  * Manages the mail spool. This class is responsible for retrieving messages
@@ -59,6 +64,24 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
     private static final Logger LOGGER = LoggerFactory.getLogger(JamesMailSpooler.class);
 
     public static final String SPOOL_PROCESSING = "spoolProcessing";
+    public static final int DEFAULT_THREADS = 100;
+    public static final int DEFAULT_MIN_CONCURRENCY = 4;
+    public static final long DEFAULT_LATENCY_THRESHOLD_IN_MS = 5000;
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+    public enum ConcurrencyMode {
+        FIXED,
+        ADAPTIVE;
+
+        public static ConcurrencyMode parse(String value) {
+            return Arrays.stream(values())
+                .filter(mode -> mode.name().equalsIgnoreCase(value.trim()))
+                .findAny()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown spooler concurrency mode " + value
+                    + ". Supported values are 'fixed' and 'adaptive'"));
+        }
+    }
+
     private MailQueue queue;
 
     /**
@@ -66,6 +89,12 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
      */
     private int numThreads;
 
+    private ConcurrencyMode concurrencyMode;
+    private int minConcurrency;
+    private Duration latencyThreshold;
+    private double backoffRatio;
+    private Optional<AdaptiveConcurrencyLimiter> concurrencyLimiter = Optional.empty();
+
     private final AtomicInteger processingActive = new AtomicInteger(0);
 
     private final MetricFactory metricFactory;
@@ -88,7 +117,11 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
 
     @Override
     public void configure(HierarchicalConfiguration<ImmutableNode> config) {
-        numThreads = config.getInt("threads", 100);
+        numThreads = config.getInt("threads", DEFAULT_THREADS);
+        concurrencyMode = ConcurrencyMode.parse(config.getString("concurrency.mode", ConcurrencyMode.FIXED.name()));
+        minConcurrency = Math.min(config.getInt("concurrency.min", DEFAULT_MIN_CONCURRENCY), numThreads);
+        latencyThreshold = Duration.ofMillis(config.getLong("concurrency.latencyThreshold", DEFAULT_LATENCY_THRESHOLD_IN_MS));
+        backoffRatio = config.getDouble("concurrency.backoffRatio", DEFAULT_BACKOFF_RATIO);
     }
 
     /**
@@ -100,6 +133,10 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
         queue = queueFactory.createQueue(MailQueueFactory.SPOOL);
         spooler = Schedulers.fromExecutor(Executors.newFixedThreadPool(numThreads, NamedThreadFactory.withName("spooler")));
         LOGGER.info("uses {} Thread(s)", numThreads);
+        if (concurrencyMode == ConcurrencyMode.ADAPTIVE) {
+            concurrencyLimiter = Optional.of(new AdaptiveConcurrencyLimiter(minConcurrency, numThreads, latencyThreshold, backoffRatio, metricFactory));
+            LOGGER.info("uses adaptive concurrency between {} and {}", minConcurrency, numThreads);
+        }
         run();
     }
 
@@ -108,17 +145,41 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
 
         disposable = Flux.from(queue.deQueue())
             .publishOn(spooler)
-            .flatMap(this::handleOnQueueItem)
+            .flatMap(this::handle, concurrency())
             .onErrorContinue((throwable, item) -> LOGGER.error("Exception processing mail while spooling {}", item, throwable))
             .subscribeOn(Schedulers.boundedElastic())
             .subscribe();
     }
 
+    private int concurrency() {
+        return concurrencyLimiter
+            .map(any -> numThreads)
+            .orElse(Queues.SMALL_BUFFER_SIZE);
+    }
+
+    private Mono<Void> handle(MailQueueItem queueItem) {
+        return concurrencyLimiter
+            .map(limiter -> handleOnQueueItem(queueItem, limiter))
+            .orElseGet(() -> handleOnQueueItem(queueItem));
+    }
+
+    private Mono<Void> handleOnQueueItem(MailQueueItem queueItem, AdaptiveConcurrencyLimiter limiter) {
+        return limiter.acquire()
+            .flatMap(permit -> metricFactory.runPublishingTimerMetric(SPOOL_PROCESSING, Mono.defer(() -> {
+                    processingActive.incrementAndGet();
+                    return processMail(queueItem)
+                        .doFinally(any -> processingActive.decrementAndGet());
+                }))
+                .doOnNext(permit::complete)
+                .doFinally(any -> permit.release()))
+            .then();
+    }
+
     private Mono<Void> handleOnQueueItem(MailQueueItem queueItem) {
         TimeMetric timeMetric = metricFactory.timer(SPOOL_PROCESSING);
         try {
             processingActive.incrementAndGet();
-            return processMail(queueItem);
+            return processMail(queueItem).then();
         } catch (Throwable e) {
             return Mono.error(e);
         } finally {
@@ -127,15 +188,19 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
         }
     }
 
-    private Mono<Void> processMail(MailQueueItem queueItem) {
+    /**
+     * @return whether the mail was successfully processed
+     */
+    private Mono<Boolean> processMail(MailQueueItem queueItem) {
         Mail mail = queueItem.getMail();
         return Mono.fromRunnable(() -> LOGGER.debug("==== Begin processing mail {} ====", mail.getName()))
             .subscribeOn(Schedulers.boundedElastic())
             .then(Mono.fromCallable(() -> performProcessMail(mail)))
-            .flatMap(any -> acknowledgeItem(queueItem, true))
-            .onErrorResume(any -> acknowledgeItem(queueItem, false))
-            .then(Mono.fromRunnable(() -> LOGGER.debug("==== End processing mail {} ====", mail.getName())))
-            .then(Mono.fromRunnable(() -> LifecycleUtil.dispose(mail)));
+            .flatMap(any -> acknowledgeItem(queueItem, true).thenReturn(true))
+            .onErrorResume(any -> acknowledgeItem(queueItem, false).thenReturn(false))
+            .flatMap(success -> Mono.fromRunnable(() -> LOGGER.debug("==== End processing mail {} ====", mail.getName()))
+                .then(Mono.fromRunnable(() -> LifecycleUtil.dispose(mail)))
+                .thenReturn(success));
     }
 
     private Mono<Void> acknowledgeItem(MailQueueItem queueItem, boolean success) {
@@ -181,4 +246,16 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
     public int getCurrentSpoolCount() {
         return processingActive.get();
     }
+
+    @Override
+    public String getConcurrencyMode() {
+        return concurrencyMode.name().toLowerCase(Locale.US);
+    }
+
+    @Override
+    public int getConcurrencyLimit() {
+        return concurrencyLimiter
+            .map(AdaptiveConcurrencyLimiter::currentLimit)
+            .orElse(numThreads);
+    }
 }
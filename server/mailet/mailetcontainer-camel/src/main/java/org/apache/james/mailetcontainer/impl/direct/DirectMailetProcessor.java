@@ -0,0 +1,144 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailetcontainer.impl.direct;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.mail.MessagingException;
+
+import org.apache.james.core.MailAddress;
+import org.apache.james.lifecycle.api.LifecycleUtil;
+import org.apache.james.mailetcontainer.impl.MatcherMailetPair;
+import org.apache.james.mailetcontainer.lib.AbstractStateMailetProcessor;
+import org.apache.james.metrics.api.MetricFactory;
+import org.apache.james.server.core.MailImpl;
+import org.apache.mailet.Mail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * {@link AbstractStateMailetProcessor} implementation executing the {@link MatcherMailetPair}s directly, without
+ * Camel routes nor exchanges.
+ *
+ * The pairs are compiled into an array of steps when routing is set up. Routing semantics are the ones of
+ * {@link org.apache.james.mailetcontainer.impl.camel.CamelMailetProcessor}: when a matcher only matches some of the
+ * recipients, the matched recipients are split into a duplicated mail that is serviced by the mailet then carries on
+ * along the remaining steps before the original mail does. A mail leaving the state of this processor is handed over
+ * to the root processor, and GHOST mails are disposed.
+ */
+public class DirectMailetProcessor extends AbstractStateMailetProcessor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectMailetProcessor.class);
+
+    private final MetricFactory metricFactory;
+    private List<MatcherMailetPair> pairs;
+    private MatcherExecutor[] matchers;
+    private MailetExecutor[] mailets;
+    private MailetExecutor terminatingMailet;
+
+    public DirectMailetProcessor(MetricFactory metricFactory) {
+        this.metricFactory = metricFactory;
+    }
+
+    @Override
+    public void service(Mail mail) throws MessagingException {
+        try {
+            processFrom(mail, 0);
+        } catch (RuntimeException e) {
+            throw new MessagingException("Unable to process mail " + mail.getName(), e);
+        }
+    }
+
+    public List<MatcherMailetPair> getPairs() {
+        return ImmutableList.copyOf(pairs);
+    }
+
+    @Override
+    protected void setupRouting(List<MatcherMailetPair> pairs) {
+        this.pairs = pairs;
+        this.matchers = pairs.stream()
+            .map(pair -> new MatcherExecutor(metricFactory, this, pair))
+            .toArray(MatcherExecutor[]::new);
+        this.mailets = pairs.stream()
+            .map(pair -> new MailetExecutor(metricFactory, this, pair.getMailet()))
+            .toArray(MailetExecutor[]::new);
+        this.terminatingMailet = new MailetExecutor(metricFactory, this, new TerminatingMailet());
+    }
+
+    private void processFrom(Mail mail, int firstStep) throws MessagingException {
+        for (int step = firstStep; step < matchers.length; step++) {
+            Collection<MailAddress> matchedRcpts = matchers[step].match(mail);
+
+            if (!matchedRcpts.isEmpty()) {
+                List<MailAddress> unmatchedRcpts = new ArrayList<>(mail.getRecipients());
+                matchedRcpts.forEach(unmatchedRcpts::remove);
+
+                if (unmatchedRcpts.isEmpty()) {
+                    mailets[step].service(mail);
+                } else {
+                    mail.setRecipients(unmatchedRcpts);
+                    Mail matchedMail = MailImpl.duplicate(mail);
+                    matchedMail.setRecipients(matchedRcpts);
+
+                    mailets[step].service(matchedMail);
+                    if (staysInProcessor(matchedMail)) {
+                        processFrom(matchedMail, step + 1);
+                    }
+                }
+            }
+
+            if (!staysInProcessor(mail)) {
+                return;
+            }
+        }
+        terminate(mail);
+    }
+
+    private boolean staysInProcessor(Mail mail) throws MessagingException {
+        if (mail.getState().equals(Mail.GHOST)) {
+            dispose(mail);
+            return false;
+        }
+        if (!mail.getState().equals(getState())) {
+            toProcessor(mail);
+            LOGGER.debug("End of mailetprocessor for state {} reached", getState());
+            return false;
+        }
+        return true;
+    }
+
+    private void terminate(Mail mail) throws MessagingException {
+        if (mail.getState().equals(getState())) {
+            terminatingMailet.service(mail);
+        }
+        if (mail.getState().equals(Mail.GHOST)) {
+            dispose(mail);
+        }
+        LOGGER.debug("End of mailetprocessor for state {} reached", getState());
+    }
+
+    private void dispose(Mail mail) throws MessagingException {
+        LifecycleUtil.dispose(mail.getMessage());
+        LifecycleUtil.dispose(mail);
+    }
+}
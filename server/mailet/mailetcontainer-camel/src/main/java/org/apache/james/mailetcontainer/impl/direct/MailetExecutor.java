@@ -0,0 +1,116 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailetcontainer.impl.direct;
+
+import java.io.Closeable;
+import java.util.Locale;
+import java.util.Optional;
+
+import javax.mail.MessagingException;
+
+import org.apache.james.mailetcontainer.impl.MailetConfigImpl;
+import org.apache.james.mailetcontainer.impl.ProcessorUtil;
+import org.apache.james.mailetcontainer.lib.AbstractStateMailetProcessor;
+import org.apache.james.mailetcontainer.lib.AbstractStateMailetProcessor.MailetProcessorListener;
+import org.apache.james.metrics.api.MetricFactory;
+import org.apache.james.metrics.api.TimeMetric;
+import org.apache.james.util.MDCBuilder;
+import org.apache.mailet.Mail;
+import org.apache.mailet.Mailet;
+import org.apache.mailet.MailetConfig;
+import org.apache.mailet.base.MailetPipelineLogging;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Calls a {@link Mailet} on behalf of a {@link DirectMailetProcessor}.
+ *
+ * Exceptions are handled as {@link org.apache.james.mailetcontainer.impl.camel.CamelProcessor} does, according to
+ * the onMailetException parameter of the mailet, which is resolved once when the pipeline is built.
+ */
+class MailetExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MailetExecutor.class);
+
+    private final MetricFactory metricFactory;
+    private final AbstractStateMailetProcessor processor;
+    private final Mailet mailet;
+    private final String metricName;
+    private final String onMailetException;
+
+    MailetExecutor(MetricFactory metricFactory, AbstractStateMailetProcessor processor, Mailet mailet) {
+        this.metricFactory = metricFactory;
+        this.processor = processor;
+        this.mailet = mailet;
+        this.metricName = mailet.getClass().getSimpleName();
+        this.onMailetException = onMailetException(mailet.getMailetConfig());
+    }
+
+    private static String onMailetException(MailetConfig mailetConfig) {
+        if (mailetConfig instanceof MailetConfigImpl) {
+            return Optional.ofNullable(mailetConfig.getInitParameter("onMailetException"))
+                .map(s -> s.trim().toLowerCase(Locale.US))
+                .orElse(Mail.ERROR);
+        }
+        return Mail.ERROR;
+    }
+
+    void service(Mail mail) throws MessagingException {
+        long start = System.currentTimeMillis();
+        TimeMetric timeMetric = metricFactory.timer(metricName);
+        Exception ex = null;
+        try (Closeable closeable =
+                 MDCBuilder.create()
+                     .addContext(MDCBuilder.PROTOCOL, "MAILET")
+                     .addContext(MDCBuilder.ACTION, "MAILET")
+                     .addContext(MDCBuilder.HOST, mail.getRemoteHost())
+                     .addContext("state", mail.getState())
+                     .addContext("mailet", metricName)
+                     .addContext("mail", mail.getName())
+                     .addContext("recipients", ImmutableList.copyOf(mail.getRecipients()))
+                     .addContext("sender", mail.getMaybeSender())
+                     .build()) {
+            MailetPipelineLogging.logBeginOfMailetProcess(mailet, mail);
+            mailet.service(mail);
+        } catch (Exception me) {
+            ex = me;
+            if (onMailetException.equalsIgnoreCase("ignore")) {
+                // ignore the exception and continue
+                // this option should not be used if the mail object can be
+                // changed by the mailet
+                LOGGER.warn("Encountered error while executing mailet {}. Ignoring it.", mailet, ex);
+                ProcessorUtil.verifyMailAddresses(mail.getRecipients());
+            } else {
+                ProcessorUtil.handleException(me, mail, mailet.getMailetConfig().getMailetName(), onMailetException, LOGGER);
+            }
+        } finally {
+            timeMetric.stopAndPublish();
+            MailetPipelineLogging.logEndOfMailetProcess(mailet, mail);
+            long complete = System.currentTimeMillis() - start;
+            if (mail.getRecipients().isEmpty()) {
+                mail.setState(Mail.GHOST);
+            }
+            for (MailetProcessorListener listener : processor.getListeners()) {
+                listener.afterMailet(mailet, mail.getName(), mail.getState(), complete, ex);
+            }
+        }
+    }
+}
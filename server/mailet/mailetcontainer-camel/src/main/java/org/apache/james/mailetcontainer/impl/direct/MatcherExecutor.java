@@ -0,0 +1,116 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailetcontainer.impl.direct;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Optional;
+
+import org.apache.james.core.MailAddress;
+import org.apache.james.mailetcontainer.impl.MatcherMailetPair;
+import org.apache.james.mailetcontainer.impl.ProcessorUtil;
+import org.apache.james.mailetcontainer.lib.AbstractStateMailetProcessor;
+import org.apache.james.mailetcontainer.lib.AbstractStateMailetProcessor.MailetProcessorListener;
+import org.apache.james.metrics.api.MetricFactory;
+import org.apache.james.metrics.api.TimeMetric;
+import org.apache.james.util.MDCBuilder;
+import org.apache.mailet.Mail;
+import org.apache.mailet.Matcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Calls a {@link Matcher} on behalf of a {@link DirectMailetProcessor}.
+ *
+ * Exceptions are handled as {@link org.apache.james.mailetcontainer.impl.camel.MatcherSplitter} does, according to
+ * the onMatchException parameter of the paired mailet, which is resolved once when the pipeline is built.
+ */
+class MatcherExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MatcherExecutor.class);
+
+    private final MetricFactory metricFactory;
+    private final AbstractStateMailetProcessor processor;
+    private final Matcher matcher;
+    private final String metricName;
+    private final String onMatchException;
+
+    MatcherExecutor(MetricFactory metricFactory, AbstractStateMailetProcessor processor, MatcherMailetPair pair) {
+        this.metricFactory = metricFactory;
+        this.processor = processor;
+        this.matcher = pair.getMatcher();
+        this.metricName = matcher.getClass().getSimpleName();
+        this.onMatchException = Optional.ofNullable(pair.getOnMatchException())
+            .map(s -> s.trim().toLowerCase(Locale.US))
+            .orElse(Mail.ERROR);
+    }
+
+    /**
+     * @return the matched recipients, empty when the matcher did not match
+     */
+    Collection<MailAddress> match(Mail mail) {
+        Collection<MailAddress> matchedRcpts = ImmutableList.of();
+        Collection<MailAddress> origRcpts = ImmutableList.copyOf(mail.getRecipients());
+        long start = System.currentTimeMillis();
+        Exception ex = null;
+        TimeMetric timeMetric = metricFactory.timer(metricName);
+
+        try (Closeable closeable =
+                 MDCBuilder.create()
+                     .addContext(MDCBuilder.PROTOCOL, "MAILET")
+                     .addContext(MDCBuilder.ACTION, "MATCHER")
+                     .addContext(MDCBuilder.IP, mail.getRemoteAddr())
+                     .addContext(MDCBuilder.HOST, mail.getRemoteHost())
+                     .addContext("matcher", matcher.getMatcherInfo())
+                     .addContext("state", mail.getState())
+                     .addContext("mail", mail.getName())
+                     .addContext("recipients", origRcpts)
+                     .addContext("sender", mail.getMaybeSender())
+                     .build()) {
+            Collection<MailAddress> result = matcher.match(mail);
+            if (result != null) {
+                if (result != mail.getRecipients()) {
+                    ProcessorUtil.verifyMailAddresses(result);
+                }
+                matchedRcpts = result;
+            }
+        } catch (Exception me) {
+            ex = me;
+            if (onMatchException.equalsIgnoreCase("nomatch")) {
+                LOGGER.warn("Encountered error while executing matcher {}. Matching none.", matcher, ex);
+            } else if (onMatchException.equalsIgnoreCase("matchall")) {
+                LOGGER.warn("Encountered error while executing matcher {}. matching all.", matcher, ex);
+                matchedRcpts = mail.getRecipients();
+            } else {
+                ProcessorUtil.handleException(me, mail, matcher.getMatcherConfig().getMatcherName(), onMatchException, LOGGER);
+            }
+        } finally {
+            timeMetric.stopAndPublish();
+            long complete = System.currentTimeMillis() - start;
+            Collection<MailAddress> matches = matchedRcpts.isEmpty() ? null : matchedRcpts;
+            for (MailetProcessorListener listener : processor.getListeners()) {
+                listener.afterMatcher(matcher, mail.getName(), origRcpts, matches, complete, ex);
+            }
+        }
+        return matchedRcpts;
+    }
+}
@@ -0,0 +1,236 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailetcontainer.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final int MIN_LIMIT = 2;
+    private static final int MAX_LIMIT = 4;
+    private static final Duration LATENCY_THRESHOLD = Duration.ofSeconds(1);
+    private static final double BACKOFF_RATIO = 0.5;
+    private static final Instant NOW = Instant.parse("2020-04-01T10:15:30.00Z");
+
+    private Clock clock;
+    private RecordingMetricFactory metricFactory;
+    private AdaptiveConcurrencyLimiter testee;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        metricFactory = new RecordingMetricFactory();
+        testee = new AdaptiveConcurrencyLimiter(MIN_LIMIT, MAX_LIMIT, LATENCY_THRESHOLD, BACKOFF_RATIO, metricFactory, clock);
+    }
+
+    @Test
+    void constructorShouldThrowWhenMinLimitIsNotPositive() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(0, MAX_LIMIT, LATENCY_THRESHOLD, BACKOFF_RATIO, metricFactory, clock))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void constructorShouldThrowWhenMaxLimitIsLowerThanMinLimit() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(MAX_LIMIT, MIN_LIMIT, LATENCY_THRESHOLD, BACKOFF_RATIO, metricFactory, clock))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void constructorShouldThrowWhenBackoffRatioIsNotWithinZeroAndOne() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(MIN_LIMIT, MAX_LIMIT, LATENCY_THRESHOLD, 1, metricFactory, clock))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void limitShouldStartAtMinLimit() {
+        assertThat(testee.currentLimit()).isEqualTo(MIN_LIMIT);
+        assertThat(metricFactory.countFor(AdaptiveConcurrencyLimiter.LIMIT_METRIC_NAME)).isEqualTo(MIN_LIMIT);
+    }
+
+    @Test
+    void acquireShouldGrantPermitsUpToTheLimit() {
+        testee.acquire().block();
+        testee.acquire().block();
+
+        assertThat(testee.inFlight()).isEqualTo(2);
+        assertThat(metricFactory.countFor(AdaptiveConcurrencyLimiter.IN_FLIGHT_METRIC_NAME)).isEqualTo(2);
+    }
+
+    @Test
+    void acquireShouldWaitWhenTheLimitIsReached() {
+        testee.acquire().block();
+        testee.acquire().block();
+
+        Disposable waiting = testee.acquire().subscribe();
+
+        assertThat(testee.inFlight()).isEqualTo(2);
+        assertThat(metricFactory.countFor(AdaptiveConcurrencyLimiter.THROTTLED_METRIC_NAME)).isEqualTo(1);
+        waiting.dispose();
+    }
+
+    @Test
+    void releaseShouldGrantWaitingPermits() {
+        AdaptiveConcurrencyLimiter.Permit permit = testee.acquire().block();
+        testee.acquire().block();
+        StringBuilder granted = new StringBuilder();
+        testee.acquire().subscribe(any -> granted.append("granted"));
+
+        permit.release();
+
+        assertThat(granted.toString()).isEqualTo("granted");
+        assertThat(testee.inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void cancelledWaitersShouldNotBeGranted() {
+        AdaptiveConcurrencyLimiter.Permit permit = testee.acquire().block();
+        testee.acquire().block();
+        testee.acquire().subscribe().dispose();
+
+        permit.release();
+
+        assertThat(testee.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void cancellingAGrantedButUndeliveredPermitShouldReleaseIt() {
+        AdaptiveConcurrencyLimiter.Permit permit = testee.acquire().block();
+        testee.acquire().block();
+        BaseSubscriber<AdaptiveConcurrencyLimiter.Permit> notRequesting = new BaseSubscriber<AdaptiveConcurrencyLimiter.Permit>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                // The granted permit is hence kept by the sink
+            }
+        };
+        testee.acquire().subscribe(notRequesting);
+        permit.release();
+
+        notRequesting.dispose();
+
+        assertThat(testee.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void cancellingAnImmediatelyGrantedButUndeliveredPermitShouldReleaseIt() {
+        BaseSubscriber<AdaptiveConcurrencyLimiter.Permit> notRequesting = new BaseSubscriber<AdaptiveConcurrencyLimiter.Permit>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                // The granted permit is hence kept by the sink
+            }
+        };
+        testee.acquire().subscribe(notRequesting);
+
+        notRequesting.dispose();
+
+        assertThat(testee.inFlight()).isEqualTo(0);
+    }
+
+    @Test
+    void releasingTwiceShouldBeIdempotent() {
+        AdaptiveConcurrencyLimiter.Permit permit = testee.acquire().block();
+
+        permit.complete(true);
+        permit.release();
+
+        assertThat(testee.inFlight()).isEqualTo(0);
+    }
+
+    @Test
+    void fastSuccessShouldIncreaseTheLimitWhenItIsUsed() {
+        AdaptiveConcurrencyLimiter.Permit permit = testee.acquire().block();
+        testee.acquire().block();
+
+        permit.complete(true);
+
+        assertThat(testee.currentLimit()).isEqualTo(MIN_LIMIT + 1);
+        assertThat(metricFactory.countFor(AdaptiveConcurrencyLimiter.LIMIT_METRIC_NAME)).isEqualTo(MIN_LIMIT + 1);
+    }
+
+    @Test
+    void fastSuccessShouldNotIncreaseTheLimitWhenItIsNotUsed() {
+        testee = new AdaptiveConcurrencyLimiter(MAX_LIMIT, MAX_LIMIT + 10, LATENCY_THRESHOLD, BACKOFF_RATIO, metricFactory, clock);
+        AdaptiveConcurrencyLimiter.Permit permit = testee.acquire().block();
+
+        permit.complete(true);
+
+        assertThat(testee.currentLimit()).isEqualTo(MAX_LIMIT);
+    }
+
+    @Test
+    void limitShouldNotExceedMaxLimit() {
+        growToMaxLimit();
+
+        assertThat(testee.currentLimit()).isEqualTo(MAX_LIMIT);
+    }
+
+    @Test
+    void failureShouldDecreaseTheLimit() {
+        growToMaxLimit();
+        AdaptiveConcurrencyLimiter.Permit permit = testee.acquire().block();
+
+        permit.complete(false);
+
+        assertThat(testee.currentLimit()).isEqualTo((int) (MAX_LIMIT * BACKOFF_RATIO));
+        assertThat(metricFactory.countFor(AdaptiveConcurrencyLimiter.LIMIT_METRIC_NAME)).isEqualTo((int) (MAX_LIMIT * BACKOFF_RATIO));
+    }
+
+    @Test
+    void slowSuccessShouldDecreaseTheLimit() {
+        growToMaxLimit();
+        AdaptiveConcurrencyLimiter.Permit permit = testee.acquire().block();
+        when(clock.instant()).thenReturn(NOW.plus(LATENCY_THRESHOLD).plusMillis(1));
+
+        permit.complete(true);
+
+        assertThat(testee.currentLimit()).isEqualTo((int) (MAX_LIMIT * BACKOFF_RATIO));
+    }
+
+    @Test
+    void limitShouldNotGoBelowMinLimit() {
+        for (int i = 0; i < 10; i++) {
+            testee.acquire().block().complete(false);
+        }
+
+        assertThat(testee.currentLimit()).isEqualTo(MIN_LIMIT);
+    }
+
+    private void growToMaxLimit() {
+        for (int i = 0; i < 10; i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = testee.acquire().block();
+            testee.acquire().block().complete(true);
+            permit.complete(true);
+        }
+    }
+}
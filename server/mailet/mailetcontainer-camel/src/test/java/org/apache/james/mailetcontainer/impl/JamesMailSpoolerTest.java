@@ -20,6 +20,7 @@
 package org.apache.james.mailetcontainer.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.awaitility.Duration.ONE_HUNDRED_MILLISECONDS;
 import static org.awaitility.Duration.TEN_SECONDS;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,6 +39,7 @@ import org.apache.commons.configuration2.plist.PropertyListConfiguration;
 import org.apache.james.mailetcontainer.api.MailProcessor;
 import org.apache.james.metrics.api.MetricFactory;
 import org.apache.james.metrics.api.TimeMetric;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
 import org.apache.james.queue.api.MailQueue;
 import org.apache.james.queue.api.MailQueueFactory;
 import org.apache.mailet.Mail;
@@ -124,6 +126,54 @@ class JamesMailSpoolerTest {
         assertThat(item.getDones()).containsExactly(false, true);
     }
 
+    @Test
+    void adaptiveModeShouldAckTheItem() throws MessagingException {
+        RecordingMetricFactory metricFactory = new RecordingMetricFactory();
+        MailQueueFactory<?> queueFactory = mock(MailQueueFactory.class);
+        MailProcessor mailProcessor = mock(MailProcessor.class);
+        JamesMailSpooler spooler = new JamesMailSpooler(metricFactory, mailProcessor, queueFactory);
+
+        UnicastProcessor<MockedMailQueueItem> workQueue = UnicastProcessor.create();
+        MockedMailQueueItem item = new MockedMailQueueItem();
+        item.addCallback(isDone -> {
+            if (!isDone) {
+                workQueue.onNext(item);
+            }
+        });
+        MailQueue queue = mock(MailQueue.class);
+        workQueue.onNext(item);
+        when(queue.deQueue()).thenAnswer(any -> workQueue.limitRate(1).filter(MockedMailQueueItem::isNotDone));
+        when(queueFactory.createQueue(MailQueueFactory.SPOOL)).thenAnswer(any -> queue);
+
+        doThrow(new RuntimeException("Arbitrary failure"))
+            .doNothing()
+            .when(mailProcessor).service(any());
+
+        PropertyListConfiguration configuration = new PropertyListConfiguration();
+        configuration.addProperty("threads", 2);
+        configuration.addProperty("concurrency.mode", "adaptive");
+        configuration.addProperty("concurrency.min", 1);
+        spooler.configure(configuration);
+        spooler.init();
+
+        CALMLY_AWAIT.until(() -> item.getDones().size() == 2);
+
+        assertThat(item.getDones()).containsExactly(false, true);
+        assertThat(spooler.getConcurrencyMode()).isEqualTo("adaptive");
+        CALMLY_AWAIT.until(() -> spooler.getCurrentSpoolCount() == 0);
+    }
+
+    @Test
+    void configureShouldThrowOnUnknownConcurrencyMode() {
+        JamesMailSpooler spooler = new JamesMailSpooler(mock(MetricFactory.class), mock(MailProcessor.class), mock(MailQueueFactory.class));
+
+        PropertyListConfiguration configuration = new PropertyListConfiguration();
+        configuration.addProperty("concurrency.mode", "unknown");
+
+        assertThatThrownBy(() -> spooler.configure(configuration))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
     private class MockedMailQueueItem implements MailQueue.MailQueueItem {
         private final Collection<Boolean> dones;
         private Consumer<Boolean> doneCallback;
@@ -0,0 +1,215 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailetcontainer.impl.direct;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.commons.configuration2.HierarchicalConfiguration;
+import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.apache.james.core.builder.MimeMessageBuilder;
+import org.apache.james.mailetcontainer.api.MailProcessor;
+import org.apache.james.mailetcontainer.api.mock.MockMailet;
+import org.apache.james.mailetcontainer.api.mock.MockMailetLoader;
+import org.apache.james.mailetcontainer.api.mock.MockMatcher;
+import org.apache.james.mailetcontainer.api.mock.MockMatcherLoader;
+import org.apache.james.mailetcontainer.impl.camel.CamelMailetProcessor;
+import org.apache.james.mailetcontainer.lib.AbstractStateCompositeProcessor;
+import org.apache.james.mailetcontainer.lib.AbstractStateMailetProcessor;
+import org.apache.james.metrics.api.NoopMetricFactory;
+import org.apache.james.server.core.MailImpl;
+import org.apache.james.server.core.configuration.FileConfigurationProvider;
+import org.apache.mailet.Attribute;
+import org.apache.mailet.AttributeName;
+import org.apache.mailet.AttributeValue;
+import org.apache.mailet.Mail;
+import org.apache.mailet.base.GenericMailet;
+import org.apache.mailet.base.test.FakeMailContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the throughput of {@link DirectMailetProcessor} with the one of {@link CamelMailetProcessor}.
+ *
+ * The pipeline mimics a default mailetcontainer.xml: a few mailets tagging the mail in the root processor, a partial
+ * match splitting local recipients to a local-delivery processor, the remote ones going to the transport processor.
+ *
+ * Run it with the main method once test classes are compiled, for instance from the IDE.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MailetPipelineBenchmark {
+
+    public static class SetAttribute extends GenericMailet {
+        private AttributeName name;
+
+        @Override
+        public void init() {
+            name = AttributeName.of(getInitParameter("name"));
+        }
+
+        @Override
+        public void service(Mail mail) {
+            mail.setAttribute(new Attribute(name, AttributeValue.of(true)));
+        }
+    }
+
+    private MimeMessage message;
+    private AbstractStateCompositeProcessor directProcessor;
+    private AbstractStateCompositeProcessor camelProcessor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        message = MimeMessageBuilder.mimeMessageBuilder()
+            .setSubject("benchmark")
+            .setText("content")
+            .build();
+        directProcessor = compositeProcessor(DirectMailetProcessor::new);
+        camelProcessor = compositeProcessor(metricFactory -> {
+            CamelMailetProcessor processor = new CamelMailetProcessor(metricFactory);
+            processor.setCamelContext(new DefaultCamelContext());
+            return processor;
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        directProcessor.dispose();
+        camelProcessor.dispose();
+    }
+
+    @Benchmark
+    public Mail direct() throws MessagingException {
+        Mail mail = newMail();
+        directProcessor.service(mail);
+        return mail;
+    }
+
+    @Benchmark
+    public Mail camel() throws MessagingException {
+        Mail mail = newMail();
+        camelProcessor.service(mail);
+        return mail;
+    }
+
+    private Mail newMail() throws MessagingException {
+        return MailImpl.builder()
+            .name(MailImpl.getId())
+            .sender("sender@domain.tld")
+            .addRecipient("local@domain.tld")
+            .addRecipient("remote@other.tld")
+            .mimeMessage(message)
+            .state(Mail.DEFAULT)
+            .build();
+    }
+
+    @FunctionalInterface
+    private interface MailetProcessorFactory {
+        AbstractStateMailetProcessor create(NoopMetricFactory metricFactory);
+    }
+
+    private AbstractStateCompositeProcessor compositeProcessor(MailetProcessorFactory factory) throws Exception {
+        AbstractStateCompositeProcessor compositeProcessor = new AbstractStateCompositeProcessor() {
+            @Override
+            protected MailProcessor createMailProcessor(String state, HierarchicalConfiguration<ImmutableNode> config) throws Exception {
+                AbstractStateMailetProcessor processor = factory.create(new NoopMetricFactory());
+                processor.setMailetContext(FakeMailContext.defaultContext());
+                processor.setMailetLoader(new MockMailetLoader());
+                processor.setMatcherLoader(new MockMatcherLoader());
+                processor.setRootMailProcessor(this);
+                processor.configure(config);
+                processor.init();
+                return processor;
+            }
+        };
+        compositeProcessor.configure(FileConfigurationProvider.getConfig(
+            new ByteArrayInputStream(pipeline().getBytes(StandardCharsets.UTF_8))));
+        compositeProcessor.init();
+        return compositeProcessor;
+    }
+
+    private String pipeline() {
+        return "<processors enableJmx=\"false\">"
+            + "<processor state=\"root\">"
+            + setAttribute("received")
+            + setAttribute("spf")
+            + setAttribute("dkim")
+            + setAttribute("bounce")
+            + setAttribute("headers")
+            + mailet(1, "local-delivery")
+            + mailet(2, "transport")
+            + "</processor>"
+            + "<processor state=\"local-delivery\">"
+            + setAttribute("sieve")
+            + setAttribute("quota")
+            + mailet(2, Mail.GHOST)
+            + "</processor>"
+            + "<processor state=\"transport\">"
+            + setAttribute("dkim-sign")
+            + setAttribute("remote-delivery")
+            + mailet(2, Mail.GHOST)
+            + "</processor>"
+            + "<processor state=\"error\">"
+            + mailet(2, Mail.GHOST)
+            + "</processor>"
+            + "</processors>";
+    }
+
+    private String setAttribute(String name) {
+        return "<mailet match=\"" + MockMatcher.class.getName() + "=2\" class=\"" + SetAttribute.class.getName() + "\">"
+            + "<name>" + name + "</name>"
+            + "</mailet>";
+    }
+
+    private String mailet(int matchedRecipients, String state) {
+        return "<mailet match=\"" + MockMatcher.class.getName() + "=" + matchedRecipients + "\" class=\"" + MockMailet.class.getName() + "\">"
+            + "<state>" + state + "</state>"
+            + "</mailet>";
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(MailetPipelineBenchmark.class.getSimpleName())
+            .build())
+            .run();
+    }
+}
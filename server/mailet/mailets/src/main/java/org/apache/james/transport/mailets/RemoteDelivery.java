@@ -113,6 +113,22 @@ import com.google.common.collect.HashMultimap;
  * Note: This facility should be used with extreme care by expert users with a thorough knowledge of the relevant RFCs and
  * the ability to perform their own problem resolutions.</li>
  * <li><b>debug</b> (optional) - a Boolean (true/false) indicating whether debugging is on. Default is false.</li>
+ * <li><b>connectionPoolEnabled</b> (optional) - a Boolean (true/false) indicating whether SMTP connections should be kept
+ * open and reused across mails delivered to the same remote host. Default is false.</li>
+ * <li><b>connectionPoolMaxIdlePerHost</b> (optional) - an Integer for the maximum number of idle connections kept per
+ * remote host. Default is 4.</li>
+ * <li><b>connectionPoolMaxMessagesPerConnection</b> (optional) - an Integer for the number of mails after which a pooled
+ * connection is closed. Default is 100.</li>
+ * <li><b>connectionPoolIdleTimeout</b> (optional) - an Integer for the time in milliseconds after which an idle pooled
+ * connection is closed. Default is 30000.</li>
+ * <li><b>coalescingEnabled</b> (optional) - a Boolean (true/false) indicating whether queued mails sharing the same sender,
+ * content and destination domain should be delivered in a single SMTP transaction. Default is false.</li>
+ * <li><b>coalescingMaxMails</b> (optional) - an Integer for the maximum number of queued mails considered together for
+ * coalescing. Default is 50.</li>
+ * <li><b>coalescingMaxRecipients</b> (optional) - an Integer for the maximum number of recipients of a coalesced
+ * transaction. Default is 100.</li>
+ * <li><b>coalescingWindow</b> (optional) - an Integer for the time in milliseconds to wait for more queued mails before
+ * coalescing the ones already dequeued. Default is 100.</li>
  * </ul>
  */
 public class RemoteDelivery extends GenericMailet {
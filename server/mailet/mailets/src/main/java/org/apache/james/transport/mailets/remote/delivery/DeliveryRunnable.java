@@ -21,9 +21,16 @@ package org.apache.james.transport.mailets.remote.delivery;
 
 import java.time.Duration;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
+import javax.mail.MessagingException;
+
+import org.apache.james.core.MailAddress;
 import org.apache.james.dnsservice.api.DNSService;
 import org.apache.james.lifecycle.api.LifecycleUtil;
 import org.apache.james.metrics.api.Metric;
@@ -33,68 +40,135 @@ import org.apache.james.queue.api.MailPrioritySupport;
 import org.apache.james.queue.api.MailQueue;
 import org.apache.mailet.Mail;
 import org.apache.mailet.MailetContext;
+import org.apache.mailet.PerRecipientHeaders;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.steveash.guavate.Guavate;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.UnicastProcessor;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
 
 public class DeliveryRunnable implements Disposable {
     private static final Logger LOGGER = LoggerFactory.getLogger(DeliveryRunnable.class);
+    private static final int MAX_COALESCED_MAILS_IN_FLIGHT = Queues.SMALL_BUFFER_SIZE;
+
+    private static class CoalescedExecutionResult {
+        private final ExecutionResult executionResult;
+        private final Set<MailAddress> remainingRecipients;
+
+        private CoalescedExecutionResult(ExecutionResult executionResult, Set<MailAddress> remainingRecipients) {
+            this.executionResult = executionResult;
+            this.remainingRecipients = remainingRecipients;
+        }
+    }
 
     public static final Supplier<Date> CURRENT_DATE_SUPPLIER = Date::new;
     public static final AtomicBoolean DEFAULT_NOT_STARTED = new AtomicBoolean(false);
     public static final String OUTGOING_MAILS = "outgoingMails";
     public static final String REMOTE_DELIVERY_TRIAL = "RemoteDeliveryTrial";
+    public static final String COALESCED_MAILS = "remoteDelivery:coalescedMails";
 
     private final MailQueue queue;
     private final RemoteDeliveryConfiguration configuration;
     private final Metric outgoingMailsMetric;
+    private final Metric coalescedMailsMetric;
     private final MetricFactory metricFactory;
     private final Bouncer bouncer;
     private final MailDelivrer mailDelivrer;
     private final Supplier<Date> dateSupplier;
+    private final Optional<SMTPConnectionPool> connectionPool;
     private Disposable disposable;
     private Scheduler remoteDeliveryScheduler;
 
     public DeliveryRunnable(MailQueue queue, RemoteDeliveryConfiguration configuration, DNSService dnsServer, MetricFactory metricFactory,
                             MailetContext mailetContext, Bouncer bouncer) {
+        this(queue, configuration, dnsServer, metricFactory, mailetContext, bouncer, createConnectionPool(configuration, metricFactory));
+    }
+
+    private DeliveryRunnable(MailQueue queue, RemoteDeliveryConfiguration configuration, DNSService dnsServer, MetricFactory metricFactory,
+                             MailetContext mailetContext, Bouncer bouncer, Optional<SMTPConnectionPool> connectionPool) {
         this(queue, configuration, metricFactory, bouncer,
-            new MailDelivrer(configuration, new MailDelivrerToHost(configuration, mailetContext), dnsServer, bouncer),
-            CURRENT_DATE_SUPPLIER);
+            new MailDelivrer(configuration, new MailDelivrerToHost(configuration, mailetContext, connectionPool), dnsServer, bouncer),
+            CURRENT_DATE_SUPPLIER, connectionPool);
     }
 
     @VisibleForTesting
     DeliveryRunnable(MailQueue queue, RemoteDeliveryConfiguration configuration, MetricFactory metricFactory, Bouncer bouncer,
                      MailDelivrer mailDelivrer, Supplier<Date> dateSupplier) {
+        this(queue, configuration, metricFactory, bouncer, mailDelivrer, dateSupplier, Optional.empty());
+    }
+
+    private DeliveryRunnable(MailQueue queue, RemoteDeliveryConfiguration configuration, MetricFactory metricFactory, Bouncer bouncer,
+                             MailDelivrer mailDelivrer, Supplier<Date> dateSupplier, Optional<SMTPConnectionPool> connectionPool) {
         this.queue = queue;
         this.configuration = configuration;
         this.outgoingMailsMetric = metricFactory.generate(OUTGOING_MAILS);
+        this.coalescedMailsMetric = metricFactory.generate(COALESCED_MAILS);
         this.bouncer = bouncer;
         this.mailDelivrer = mailDelivrer;
         this.dateSupplier = dateSupplier;
         this.metricFactory = metricFactory;
+        this.connectionPool = connectionPool;
+    }
+
+    private static Optional<SMTPConnectionPool> createConnectionPool(RemoteDeliveryConfiguration configuration, MetricFactory metricFactory) {
+        if (configuration.isConnectionPoolEnabled()) {
+            return Optional.of(new SMTPConnectionPool(configuration, metricFactory));
+        }
+        return Optional.empty();
     }
 
     public void start() {
         remoteDeliveryScheduler = Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "RemoteDelivery");
-        disposable = Flux.from(queue.deQueue())
-            .publishOn(remoteDeliveryScheduler)
-            .flatMap(this::runStep)
+        disposable = deliveries()
             .onErrorContinue(((throwable, nothing) -> LOGGER.error("Exception caught in RemoteDelivery", throwable)))
             .subscribeOn(remoteDeliveryScheduler)
             .subscribe();
     }
 
-    private Mono<Void> runStep(MailQueue.MailQueueItem queueItem) {
+    private Flux<Void> deliveries() {
+        if (configuration.isCoalescingEnabled()) {
+            return coalescedDeliveries();
+        }
+        return Flux.from(queue.deQueue())
+            .publishOn(remoteDeliveryScheduler)
+            .flatMap(queueItem -> runStep(ImmutableList.of(queueItem)));
+    }
+
+    private Flux<Void> coalescedDeliveries() {
+        MailCoalescer mailCoalescer = new MailCoalescer(configuration.getCoalescingMaxRecipients());
+        UnicastProcessor<Boolean> credits = UnicastProcessor.create();
+        FluxSink<Boolean> creditSink = credits.sink();
+        IntStream.range(0, MAX_COALESCED_MAILS_IN_FLIGHT).forEach(any -> creditSink.next(true));
+
+        // Each dequeued mail takes a credit, given back once processed: this bounds the mails held by the buffers below
+        return Flux.zip(Flux.from(queue.deQueue()), credits, (queueItem, credit) -> queueItem)
+            .bufferTimeout(configuration.getCoalescingMaxMails(), configuration.getCoalescingWindow())
+            // bufferTimeout emits upon timeout regardless of the demand
+            .onBackpressureBuffer()
+            .flatMapIterable(mailCoalescer::coalesce)
+            .publishOn(remoteDeliveryScheduler)
+            .flatMap(queueItems -> runStep(queueItems)
+                .doFinally(any -> queueItems.forEach(queueItem -> creditSink.next(true))));
+    }
+
+    private Mono<Void> runStep(List<MailQueue.MailQueueItem> queueItems) {
         TimeMetric timeMetric = metricFactory.timer(REMOTE_DELIVERY_TRIAL);
         try {
-            return processMail(queueItem);
+            if (queueItems.size() == 1) {
+                return processMail(queueItems.get(0));
+            }
+            return processMails(queueItems);
         } catch (Throwable e) {
             return Mono.error(e);
         } finally {
@@ -122,9 +196,123 @@ public class DeliveryRunnable implements Disposable {
         }
     }
 
+    private Mono<Void> processMails(List<MailQueue.MailQueueItem> queueItems) throws MailQueue.MailQueueException {
+        List<Mail> mails = queueItems.stream()
+            .map(MailQueue.MailQueueItem::getMail)
+            .collect(Guavate.toImmutableList());
+
+        try {
+            LOGGER.debug("will process mails {} within a single transaction", mails.stream().map(Mail::getName).collect(Guavate.toImmutableList()));
+            CoalescedExecutionResult executionResult;
+            try {
+                executionResult = deliverCoalesced(mails);
+            } catch (Exception e) {
+                // Same as processMail: never catch Error here
+                for (MailQueue.MailQueueItem queueItem : queueItems) {
+                    queueItem.done(false);
+                }
+                return Mono.error(e);
+            }
+            return dispatchResults(queueItems, executionResult);
+        } finally {
+            mails.forEach(LifecycleUtil::dispose);
+        }
+    }
+
+    /**
+     * Each mail is acknowledged on its own: a mail whose result could not be handled must not cause the redelivery
+     * of the other ones, already delivered.
+     */
+    private Mono<Void> dispatchResults(List<MailQueue.MailQueueItem> queueItems, CoalescedExecutionResult executionResult) throws MailQueue.MailQueueException {
+        Optional<Exception> firstFailure = Optional.empty();
+        for (MailQueue.MailQueueItem queueItem : queueItems) {
+            boolean success;
+            try {
+                dispatchResult(queueItem.getMail(), executionResult);
+                success = true;
+            } catch (Exception e) {
+                LOGGER.error("Could not handle the delivery result of {}", queueItem.getMail().getName(), e);
+                firstFailure = Optional.of(firstFailure.orElse(e));
+                success = false;
+            }
+            queueItem.done(success);
+        }
+        return firstFailure.map(Mono::<Void>error)
+            .orElse(Mono.empty());
+    }
+
+    /**
+     * Delivers mails sharing sender, attributes, content and destination domain within a single SMTP transaction
+     * carrying the recipients of all of them. The outcome is then dispatched back to each mail, restricted to its own recipients.
+     */
+    @VisibleForTesting
+    void attemptDelivery(List<Mail> mails) throws MessagingException {
+        CoalescedExecutionResult executionResult = deliverCoalesced(mails);
+        for (Mail mail : mails) {
+            dispatchResult(mail, executionResult);
+        }
+    }
+
+    private CoalescedExecutionResult deliverCoalesced(List<Mail> mails) throws MessagingException {
+        Mail coalescedMail = mails.get(0).duplicate();
+        try {
+            coalescedMail.setRecipients(mails.stream()
+                .flatMap(mail -> mail.getRecipients().stream())
+                .distinct()
+                .collect(Guavate.toImmutableList()));
+            mails.stream()
+                .skip(1)
+                .forEach(mail -> addMissingSpecificHeaders(coalescedMail, mail));
+            ExecutionResult executionResult = mailDelivrer.deliver(coalescedMail);
+            coalescedMailsMetric.add(mails.size());
+
+            // On failure, recipients of the coalesced mail are narrowed down to the ones still requiring handling
+            return new CoalescedExecutionResult(executionResult, ImmutableSet.copyOf(coalescedMail.getRecipients()));
+        } finally {
+            LifecycleUtil.dispose(coalescedMail);
+        }
+    }
+
+    /**
+     * The coalesced mail duplicates the first mail: the recipient specific headers of the other mails are added for
+     * their recipients.
+     */
+    private void addMissingSpecificHeaders(Mail coalescedMail, Mail mail) {
+        PerRecipientHeaders coalescedHeaders = coalescedMail.getPerRecipientSpecificHeaders();
+        mail.getPerRecipientSpecificHeaders()
+            .getHeadersByRecipient()
+            .asMap()
+            .forEach((recipient, headers) -> {
+                if (coalescedHeaders.getHeadersForRecipient(recipient).isEmpty()) {
+                    headers.forEach(header -> coalescedMail.addSpecificHeaderForRecipient(header, recipient));
+                }
+            });
+    }
+
+    private void dispatchResult(Mail mail, CoalescedExecutionResult coalescedExecutionResult) throws MailQueue.MailQueueException {
+        ExecutionResult executionResult = coalescedExecutionResult.executionResult;
+        if (executionResult.getExecutionState() == ExecutionResult.ExecutionState.SUCCESS) {
+            handleResult(mail, executionResult);
+            return;
+        }
+        List<MailAddress> undeliveredRecipients = mail.getRecipients()
+            .stream()
+            .filter(coalescedExecutionResult.remainingRecipients::contains)
+            .collect(Guavate.toImmutableList());
+        if (undeliveredRecipients.isEmpty()) {
+            handleResult(mail, ExecutionResult.success());
+            return;
+        }
+        mail.setRecipients(undeliveredRecipients);
+        handleResult(mail, executionResult);
+    }
+
     @VisibleForTesting
     void attemptDelivery(Mail mail) throws MailQueue.MailQueueException {
-        ExecutionResult executionResult = mailDelivrer.deliver(mail);
+        handleResult(mail, mailDelivrer.deliver(mail));
+    }
+
+    private void handleResult(Mail mail, ExecutionResult executionResult) throws MailQueue.MailQueueException {
         switch (executionResult.getExecutionState()) {
             case SUCCESS:
                 outgoingMailsMetric.increment();
@@ -179,5 +367,6 @@ public class DeliveryRunnable implements Disposable {
     public void dispose() {
         disposable.dispose();
         remoteDeliveryScheduler.dispose();
+        connectionPool.ifPresent(SMTPConnectionPool::dispose);
     }
 }
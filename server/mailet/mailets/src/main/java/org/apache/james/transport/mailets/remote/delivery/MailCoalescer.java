@@ -0,0 +1,206 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.transport.mailets.remote.delivery;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.mail.MessagingException;
+
+import org.apache.james.core.Domain;
+import org.apache.james.core.MailAddress;
+import org.apache.james.core.MaybeSender;
+import org.apache.james.queue.api.MailQueue;
+import org.apache.mailet.Attribute;
+import org.apache.mailet.Mail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.steveash.guavate.Guavate;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Groups dequeued mails that can share a single SMTP transaction: same sender, same destination domain, same
+ * attributes and byte-identical content. Such mails only differ by their recipients, thus one DATA can carry all their
+ * RCPT TO.
+ *
+ * Mails are first grouped by sender, domain, attributes, Message-ID and size, which are cheap to read. The content of a mail is
+ * only hashed when another mail shares these, in order to tell identical contents apart.
+ *
+ * Mails being retried are never coalesced, so that their retry bookkeeping stays untouched.
+ */
+public class MailCoalescer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MailCoalescer.class);
+
+    static class CandidateKey {
+        private final MaybeSender sender;
+        private final Domain domain;
+        private final ImmutableSet<Attribute> attributes;
+        private final Optional<String> messageId;
+        private final long size;
+
+        CandidateKey(MaybeSender sender, Domain domain, ImmutableSet<Attribute> attributes, Optional<String> messageId, long size) {
+            this.sender = sender;
+            this.domain = domain;
+            this.attributes = attributes;
+            this.messageId = messageId;
+            this.size = size;
+        }
+
+        @Override
+        public final boolean equals(Object o) {
+            if (o instanceof CandidateKey) {
+                CandidateKey that = (CandidateKey) o;
+
+                return Objects.equals(this.size, that.size)
+                    && Objects.equals(this.sender, that.sender)
+                    && Objects.equals(this.domain, that.domain)
+                    && Objects.equals(this.attributes, that.attributes)
+                    && Objects.equals(this.messageId, that.messageId);
+            }
+            return false;
+        }
+
+        @Override
+        public final int hashCode() {
+            return Objects.hash(sender, domain, attributes, messageId, size);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                .add("sender", sender)
+                .add("domain", domain)
+                .add("attributes", attributes)
+                .add("messageId", messageId)
+                .add("size", size)
+                .toString();
+        }
+    }
+
+    private final int maxRecipients;
+
+    public MailCoalescer(int maxRecipients) {
+        this.maxRecipients = maxRecipients;
+    }
+
+    /**
+     * @return the given items split in groups that can each be delivered within a single SMTP transaction. Items that
+     * can not be coalesced are returned as singleton groups. Dequeue order is preserved within groups.
+     */
+    public List<List<MailQueue.MailQueueItem>> coalesce(List<MailQueue.MailQueueItem> items) {
+        Map<CandidateKey, List<MailQueue.MailQueueItem>> candidates = new LinkedHashMap<>();
+        ImmutableList.Builder<List<MailQueue.MailQueueItem>> result = ImmutableList.builder();
+
+        for (MailQueue.MailQueueItem item : items) {
+            Optional<CandidateKey> key = computeCandidateKey(item.getMail());
+            if (key.isPresent()) {
+                candidates.computeIfAbsent(key.get(), any -> new ArrayList<>()).add(item);
+            } else {
+                result.add(ImmutableList.of(item));
+            }
+        }
+
+        candidates.values().forEach(sameCandidateKeyItems -> coalesceSameCandidates(sameCandidateKeyItems, result));
+        return result.build();
+    }
+
+    private void coalesceSameCandidates(List<MailQueue.MailQueueItem> items, ImmutableList.Builder<List<MailQueue.MailQueueItem>> result) {
+        if (items.size() == 1) {
+            result.add(ImmutableList.copyOf(items));
+            return;
+        }
+        Map<HashCode, List<List<MailQueue.MailQueueItem>>> groups = new LinkedHashMap<>();
+        for (MailQueue.MailQueueItem item : items) {
+            Optional<HashCode> contentHash = hashContent(item.getMail());
+            if (contentHash.isPresent()) {
+                List<List<MailQueue.MailQueueItem>> batches = groups.computeIfAbsent(contentHash.get(), any -> new ArrayList<>());
+                addToBatches(batches, item);
+            } else {
+                result.add(ImmutableList.of(item));
+            }
+        }
+        groups.values().forEach(result::addAll);
+    }
+
+    private void addToBatches(List<List<MailQueue.MailQueueItem>> batches, MailQueue.MailQueueItem item) {
+        int itemRecipientCount = item.getMail().getRecipients().size();
+        for (List<MailQueue.MailQueueItem> batch : batches) {
+            if (recipientCount(batch) + itemRecipientCount <= maxRecipients) {
+                batch.add(item);
+                return;
+            }
+        }
+        List<MailQueue.MailQueueItem> newBatch = new ArrayList<>();
+        newBatch.add(item);
+        batches.add(newBatch);
+    }
+
+    private int recipientCount(List<MailQueue.MailQueueItem> batch) {
+        return batch.stream()
+            .mapToInt(item -> item.getMail().getRecipients().size())
+            .sum();
+    }
+
+    private Optional<CandidateKey> computeCandidateKey(Mail mail) {
+        if (Mail.ERROR.equals(mail.getState()) || mail.getRecipients().isEmpty()) {
+            return Optional.empty();
+        }
+        List<Domain> domains = mail.getRecipients()
+            .stream()
+            .map(MailAddress::getDomain)
+            .distinct()
+            .collect(Guavate.toImmutableList());
+        if (domains.size() != 1) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new CandidateKey(mail.getMaybeSender(), domains.get(0),
+                mail.attributes().collect(Guavate.toImmutableSet()),
+                Optional.ofNullable(mail.getMessage().getMessageID()), mail.getMessageSize()));
+        } catch (MessagingException e) {
+            LOGGER.warn("Could not read the Message-ID or the size of {}, it will not be coalesced", mail.getName(), e);
+            return Optional.empty();
+        }
+    }
+
+    private Optional<HashCode> hashContent(Mail mail) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        try (OutputStream outputStream = Funnels.asOutputStream(hasher)) {
+            mail.getMessage().writeTo(outputStream);
+        } catch (IOException | MessagingException e) {
+            LOGGER.warn("Could not compute the content hash of {}, it will not be coalesced", mail.getName(), e);
+            return Optional.empty();
+        }
+        return Optional.of(hasher.hash());
+    }
+}
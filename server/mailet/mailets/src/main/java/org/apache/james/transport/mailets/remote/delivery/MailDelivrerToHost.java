@@ -21,6 +21,7 @@ package org.apache.james.transport.mailets.remote.delivery;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Optional;
 import java.util.Properties;
 
 import javax.mail.MessagingException;
@@ -44,11 +45,17 @@ public class MailDelivrerToHost {
     private final RemoteDeliveryConfiguration configuration;
     private final Converter7Bit converter7Bit;
     private final Session session;
+    private final Optional<SMTPConnectionPool> connectionPool;
 
     public MailDelivrerToHost(RemoteDeliveryConfiguration remoteDeliveryConfiguration, MailetContext mailetContext) {
+        this(remoteDeliveryConfiguration, mailetContext, Optional.empty());
+    }
+
+    public MailDelivrerToHost(RemoteDeliveryConfiguration remoteDeliveryConfiguration, MailetContext mailetContext, Optional<SMTPConnectionPool> connectionPool) {
         this.configuration = remoteDeliveryConfiguration;
         this.converter7Bit = new Converter7Bit(mailetContext);
         this.session = Session.getInstance(configuration.createFinalJavaxProperties());
+        this.connectionPool = connectionPool;
     }
 
     public ExecutionResult tryDeliveryToHost(Mail mail, Collection<InternetAddress> addr, HostAddress outgoingMailServer) throws MessagingException {
@@ -62,6 +69,10 @@ public class MailDelivrerToHost {
         // "mail.smtp.dsn.ret"        //default to nothing... appended as RET= after MAIL FROM line.
         // "mail.smtp.dsn.notify"     //default to nothing... appended as NOTIFY= after RCPT TO line.
 
+        if (connectionPool.isPresent()) {
+            return tryPooledDeliveryToHost(mail, addr, outgoingMailServer, props, connectionPool.get());
+        }
+
         SMTPTransport transport = null;
         try {
             transport = (SMTPTransport) session.getTransport(outgoingMailServer);
@@ -76,6 +87,45 @@ public class MailDelivrerToHost {
         return ExecutionResult.success();
     }
 
+    private ExecutionResult tryPooledDeliveryToHost(Mail mail, Collection<InternetAddress> addr, HostAddress outgoingMailServer,
+                                                    Properties props, SMTPConnectionPool pool) throws MessagingException {
+        Optional<SMTPConnectionPool.PooledConnection> reusedConnection = pool.borrow(outgoingMailServer);
+        SMTPConnectionPool.PooledConnection connection;
+        if (reusedConnection.isPresent()) {
+            connection = reusedConnection.get();
+        } else {
+            connection = pool.register(openTransport(mail, outgoingMailServer, props));
+        }
+
+        SMTPTransport transport = connection.getTransport();
+        boolean sent = false;
+        try {
+            transport.sendMessage(adaptToTransport(mail.getMessage(), transport), toArray(addr));
+            sent = true;
+            LOGGER.debug("Mail ({})  sent successfully to {} at {} from {} for {} using a pooled connection", mail.getName(), outgoingMailServer.getHostName(),
+                outgoingMailServer.getHost(), props.get("mail.smtp.from"), mail.getRecipients());
+        } finally {
+            if (sent) {
+                pool.release(outgoingMailServer, connection);
+            } else {
+                closeTransport(mail, outgoingMailServer, transport);
+            }
+        }
+        return ExecutionResult.success();
+    }
+
+    private SMTPTransport openTransport(Mail mail, HostAddress outgoingMailServer, Properties props) throws MessagingException {
+        SMTPTransport transport = (SMTPTransport) session.getTransport(outgoingMailServer);
+        try {
+            transport.setLocalHost(props.getProperty("mail.smtp.localhost", configuration.getHeloNameProvider().getHeloName()));
+            connect(outgoingMailServer, transport);
+            return transport;
+        } catch (MessagingException e) {
+            closeTransport(mail, outgoingMailServer, transport);
+            throw e;
+        }
+    }
+
     private InternetAddress[] toArray(Collection<InternetAddress> addr) {
         InternetAddress[] addresses = new InternetAddress[addr.size()];
         addr.toArray(addresses);
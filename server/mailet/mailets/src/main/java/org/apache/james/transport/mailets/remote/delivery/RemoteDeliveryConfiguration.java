@@ -61,11 +61,25 @@ public class RemoteDeliveryConfiguration {
     public static final String MAX_RETRIES = "maxRetries";
     public static final String DELAY_TIME = "delayTime";
     public static final String DEBUG = "debug";
+    public static final String CONNECTION_POOL_ENABLED = "connectionPoolEnabled";
+    public static final String CONNECTION_POOL_MAX_IDLE_PER_HOST = "connectionPoolMaxIdlePerHost";
+    public static final String CONNECTION_POOL_MAX_MESSAGES_PER_CONNECTION = "connectionPoolMaxMessagesPerConnection";
+    public static final String CONNECTION_POOL_IDLE_TIMEOUT = "connectionPoolIdleTimeout";
+    public static final String COALESCING_ENABLED = "coalescingEnabled";
+    public static final String COALESCING_MAX_MAILS = "coalescingMaxMails";
+    public static final String COALESCING_MAX_RECIPIENTS = "coalescingMaxRecipients";
+    public static final String COALESCING_WINDOW = "coalescingWindow";
     public static final int DEFAULT_SMTP_TIMEOUT = 180000;
     public static final String DEFAULT_OUTGOING_QUEUE_NAME = "outgoing";
     public static final int DEFAULT_CONNECTION_TIMEOUT = 60000;
     public static final int DEFAULT_DNS_RETRY_PROBLEM = 0;
     public static final int DEFAULT_MAX_RETRY = 5;
+    public static final int DEFAULT_CONNECTION_POOL_MAX_IDLE_PER_HOST = 4;
+    public static final int DEFAULT_CONNECTION_POOL_MAX_MESSAGES_PER_CONNECTION = 100;
+    public static final int DEFAULT_CONNECTION_POOL_IDLE_TIMEOUT = 30000;
+    public static final int DEFAULT_COALESCING_MAX_MAILS = 50;
+    public static final int DEFAULT_COALESCING_MAX_RECIPIENTS = 100;
+    public static final int DEFAULT_COALESCING_WINDOW = 100;
     public static final String ADDRESS_PORT_SEPARATOR = ":";
 
     private final boolean isDebug;
@@ -74,10 +88,18 @@ public class RemoteDeliveryConfiguration {
     private final boolean isSSLEnable;
     private final boolean isBindUsed;
     private final boolean sendPartial;
+    private final boolean connectionPoolEnabled;
     private final int maxRetries;
     private final long smtpTimeout;
     private final int dnsProblemRetry;
     private final int connectionTimeout;
+    private final int connectionPoolMaxIdlePerHost;
+    private final int connectionPoolMaxMessagesPerConnection;
+    private final Duration connectionPoolIdleTimeout;
+    private final boolean coalescingEnabled;
+    private final int coalescingMaxMails;
+    private final int coalescingMaxRecipients;
+    private final Duration coalescingWindow;
     private final List<Duration> delayTimes;
     private final HeloNameProvider heloNameProvider;
     private final String outGoingQueueName;
@@ -94,6 +116,7 @@ public class RemoteDeliveryConfiguration {
         isSSLEnable = MailetUtil.getInitParameter(mailetConfig, SSL_ENABLE).orElse(false);
         usePriority = MailetUtil.getInitParameter(mailetConfig, USE_PRIORITY).orElse(false);
         sendPartial = MailetUtil.getInitParameter(mailetConfig, SENDPARTIAL).orElse(false);
+        connectionPoolEnabled = MailetUtil.getInitParameter(mailetConfig, CONNECTION_POOL_ENABLED).orElse(false);
         outGoingQueueName = Optional.ofNullable(mailetConfig.getInitParameter(OUTGOING)).orElse(DEFAULT_OUTGOING_QUEUE_NAME);
         bounceProcessor = mailetConfig.getInitParameter(BOUNCE_PROCESSOR);
         bindAddress = mailetConfig.getInitParameter(BIND);
@@ -104,6 +127,13 @@ public class RemoteDeliveryConfiguration {
         smtpTimeout = computeSmtpTimeout(mailetConfig);
         connectionTimeout = computeConnectionTimeout(mailetConfig);
         dnsProblemRetry = computeDnsProblemRetry(mailetConfig);
+        connectionPoolMaxIdlePerHost = computeStrictlyPositiveInteger(mailetConfig, CONNECTION_POOL_MAX_IDLE_PER_HOST, DEFAULT_CONNECTION_POOL_MAX_IDLE_PER_HOST);
+        connectionPoolMaxMessagesPerConnection = computeStrictlyPositiveInteger(mailetConfig, CONNECTION_POOL_MAX_MESSAGES_PER_CONNECTION, DEFAULT_CONNECTION_POOL_MAX_MESSAGES_PER_CONNECTION);
+        connectionPoolIdleTimeout = Duration.ofMillis(computeStrictlyPositiveInteger(mailetConfig, CONNECTION_POOL_IDLE_TIMEOUT, DEFAULT_CONNECTION_POOL_IDLE_TIMEOUT));
+        coalescingEnabled = MailetUtil.getInitParameter(mailetConfig, COALESCING_ENABLED).orElse(false);
+        coalescingMaxMails = computeStrictlyPositiveInteger(mailetConfig, COALESCING_MAX_MAILS, DEFAULT_COALESCING_MAX_MAILS);
+        coalescingMaxRecipients = computeStrictlyPositiveInteger(mailetConfig, COALESCING_MAX_RECIPIENTS, DEFAULT_COALESCING_MAX_RECIPIENTS);
+        coalescingWindow = Duration.ofMillis(computeStrictlyPositiveInteger(mailetConfig, COALESCING_WINDOW, DEFAULT_COALESCING_WINDOW));
         heloNameProvider = new HeloNameProvider(mailetConfig.getInitParameter(HELO_NAME), domainList);
 
         String gatewayPort = mailetConfig.getInitParameter(GATEWAY_PORT);
@@ -152,6 +182,24 @@ public class RemoteDeliveryConfiguration {
         }
     }
 
+    private int computeStrictlyPositiveInteger(MailetConfig mailetConfig, String parameterName, int defaultValue) {
+        String value = mailetConfig.getInitParameter(parameterName);
+        if (Strings.isNullOrEmpty(value)) {
+            return defaultValue;
+        }
+        try {
+            int result = Integer.parseInt(value);
+            if (result > 0) {
+                return result;
+            }
+            LOGGER.warn("Invalid {} setting: {}", parameterName, value);
+            return defaultValue;
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid {} setting: {}", parameterName, value);
+            return defaultValue;
+        }
+    }
+
     private long computeSmtpTimeout(MailetConfig mailetConfig) {
         try {
             if (mailetConfig.getInitParameter(TIMEOUT) != null) {
@@ -260,6 +308,38 @@ public class RemoteDeliveryConfiguration {
         return connectionTimeout;
     }
 
+    public boolean isConnectionPoolEnabled() {
+        return connectionPoolEnabled;
+    }
+
+    public int getConnectionPoolMaxIdlePerHost() {
+        return connectionPoolMaxIdlePerHost;
+    }
+
+    public int getConnectionPoolMaxMessagesPerConnection() {
+        return connectionPoolMaxMessagesPerConnection;
+    }
+
+    public Duration getConnectionPoolIdleTimeout() {
+        return connectionPoolIdleTimeout;
+    }
+
+    public boolean isCoalescingEnabled() {
+        return coalescingEnabled;
+    }
+
+    public int getCoalescingMaxMails() {
+        return coalescingMaxMails;
+    }
+
+    public int getCoalescingMaxRecipients() {
+        return coalescingMaxRecipients;
+    }
+
+    public Duration getCoalescingWindow() {
+        return coalescingWindow;
+    }
+
     public Collection<String> getGatewayServer() {
         return gatewayServer;
     }
@@ -0,0 +1,208 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.transport.mailets.remote.delivery;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+import javax.mail.MessagingException;
+
+import org.apache.james.metrics.api.Metric;
+import org.apache.james.metrics.api.MetricFactory;
+import org.apache.mailet.HostAddress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.sun.mail.smtp.SMTPTransport;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Keeps connected SMTP transports per remote host so that subsequent deliveries to that host skip the connection
+ * setup (TCP, EHLO, STARTTLS, AUTH).
+ *
+ * A reused connection is reset (RSET) before being handed out, and is discarded when the reset fails. Connections are
+ * closed when idle for too long, or once they carried the configured maximum number of messages.
+ */
+public class SMTPConnectionPool implements Disposable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SMTPConnectionPool.class);
+
+    public static final String CREATED_CONNECTIONS = "remoteDelivery:pool:createdConnections";
+    public static final String REUSED_CONNECTIONS = "remoteDelivery:pool:reusedConnections";
+    public static final String EVICTED_CONNECTIONS = "remoteDelivery:pool:evictedConnections";
+    public static final String IDLE_CONNECTIONS = "remoteDelivery:pool:idleConnections";
+    private static final int RSET_SUCCESS_CODE = 250;
+
+    public static class PooledConnection {
+        private final SMTPTransport transport;
+        private int messageCount;
+        private Instant lastUsed;
+
+        private PooledConnection(SMTPTransport transport, Instant lastUsed) {
+            this.transport = transport;
+            this.messageCount = 0;
+            this.lastUsed = lastUsed;
+        }
+
+        public SMTPTransport getTransport() {
+            return transport;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Deque<PooledConnection>> idleConnections;
+    private final int maxIdlePerHost;
+    private final int maxMessagesPerConnection;
+    private final Duration idleTimeout;
+    private final Clock clock;
+    private final Metric createdConnectionsMetric;
+    private final Metric reusedConnectionsMetric;
+    private final Metric evictedConnectionsMetric;
+    private final Metric idleConnectionsMetric;
+    private final Disposable evictionTask;
+
+    public SMTPConnectionPool(RemoteDeliveryConfiguration configuration, MetricFactory metricFactory) {
+        this(configuration.getConnectionPoolMaxIdlePerHost(), configuration.getConnectionPoolMaxMessagesPerConnection(),
+            configuration.getConnectionPoolIdleTimeout(), metricFactory, Clock.systemUTC());
+    }
+
+    @VisibleForTesting
+    SMTPConnectionPool(int maxIdlePerHost, int maxMessagesPerConnection, Duration idleTimeout, MetricFactory metricFactory, Clock clock) {
+        this.idleConnections = new ConcurrentHashMap<>();
+        this.maxIdlePerHost = maxIdlePerHost;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.idleTimeout = idleTimeout;
+        this.clock = clock;
+        this.createdConnectionsMetric = metricFactory.generate(CREATED_CONNECTIONS);
+        this.reusedConnectionsMetric = metricFactory.generate(REUSED_CONNECTIONS);
+        this.evictedConnectionsMetric = metricFactory.generate(EVICTED_CONNECTIONS);
+        this.idleConnectionsMetric = metricFactory.generate(IDLE_CONNECTIONS);
+        this.evictionTask = Flux.interval(idleTimeout, Schedulers.boundedElastic())
+            .subscribe(any -> evictIdleConnections());
+    }
+
+    /**
+     * Returns a reset, connected transport to the given host, if one is available.
+     */
+    public Optional<PooledConnection> borrow(HostAddress host) {
+        Deque<PooledConnection> connections = idleConnections.get(key(host));
+        if (connections == null) {
+            return Optional.empty();
+        }
+        PooledConnection connection = connections.pollFirst();
+        while (connection != null) {
+            idleConnectionsMetric.decrement();
+            if (isReusable(connection) && reset(connection)) {
+                reusedConnectionsMetric.increment();
+                return Optional.of(connection);
+            }
+            evict(connection);
+            connection = connections.pollFirst();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Wraps a newly connected transport so that it can be released into the pool once used.
+     */
+    public PooledConnection register(SMTPTransport transport) {
+        createdConnectionsMetric.increment();
+        return new PooledConnection(transport, clock.instant());
+    }
+
+    /**
+     * Gives back a connection that successfully completed a mail transaction.
+     */
+    public void release(HostAddress host, PooledConnection connection) {
+        connection.messageCount++;
+        connection.lastUsed = clock.instant();
+        if (connection.messageCount >= maxMessagesPerConnection) {
+            evict(connection);
+            return;
+        }
+        Deque<PooledConnection> connections = idleConnections.computeIfAbsent(key(host), any -> new ConcurrentLinkedDeque<>());
+        if (connections.size() >= maxIdlePerHost) {
+            evict(connection);
+            return;
+        }
+        connections.offerFirst(connection);
+        idleConnectionsMetric.increment();
+    }
+
+    @VisibleForTesting
+    void evictIdleConnections() {
+        idleConnections.values()
+            .forEach(connections -> connections.stream()
+                .filter(connection -> !isReusable(connection))
+                .filter(connections::removeFirstOccurrence)
+                .forEach(connection -> {
+                    idleConnectionsMetric.decrement();
+                    evict(connection);
+                }));
+    }
+
+    private boolean isReusable(PooledConnection connection) {
+        return connection.transport.isConnected()
+            && connection.lastUsed.plus(idleTimeout).isAfter(clock.instant());
+    }
+
+    private boolean reset(PooledConnection connection) {
+        try {
+            connection.transport.issueCommand("RSET", RSET_SUCCESS_CODE);
+            return true;
+        } catch (MessagingException e) {
+            LOGGER.debug("Could not reset pooled SMTP connection, discarding it", e);
+            return false;
+        }
+    }
+
+    private void evict(PooledConnection connection) {
+        evictedConnectionsMetric.increment();
+        try {
+            connection.transport.close();
+        } catch (MessagingException e) {
+            LOGGER.debug("Could not close pooled SMTP connection", e);
+        }
+    }
+
+    private String key(HostAddress host) {
+        return host.getHostName() + "@" + host.getHost() + ":" + host.getPort();
+    }
+
+    @Override
+    public void dispose() {
+        evictionTask.dispose();
+        idleConnections.values()
+            .forEach(connections -> {
+                PooledConnection connection = connections.pollFirst();
+                while (connection != null) {
+                    idleConnectionsMetric.decrement();
+                    evict(connection);
+                    connection = connections.pollFirst();
+                }
+            });
+    }
+}
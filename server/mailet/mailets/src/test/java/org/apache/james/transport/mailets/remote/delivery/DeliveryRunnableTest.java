@@ -19,7 +19,11 @@
 
 package org.apache.james.transport.mailets.remote.delivery;
 
+import static org.apache.james.transport.mailets.remote.delivery.DeliveryRunnable.COALESCED_MAILS;
 import static org.apache.james.transport.mailets.remote.delivery.DeliveryRunnable.OUTGOING_MAILS;
+import static org.apache.mailet.base.MailAddressFixture.ANY_AT_JAMES;
+import static org.apache.mailet.base.MailAddressFixture.OTHER_AT_JAMES;
+import static org.apache.mailet.base.MailAddressFixture.POSTMASTER_AT_JAMES;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -36,12 +40,16 @@ import org.apache.james.domainlist.api.DomainList;
 import org.apache.james.metrics.tests.RecordingMetricFactory;
 import org.apache.james.queue.api.MailQueue;
 import org.apache.mailet.Mail;
+import org.apache.mailet.PerRecipientHeaders;
 import org.apache.mailet.base.test.FakeMail;
 import org.apache.mailet.base.test.FakeMailetConfig;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockito.ArgumentCaptor;
+
+import com.google.common.collect.ImmutableList;
 
 public class DeliveryRunnableTest {
 
@@ -244,4 +252,92 @@ public class DeliveryRunnableTest {
             Duration.ofSeconds(1));
         verifyNoMoreInteractions(mailQueue);
     }
+
+    @Test
+    public void coalescedDeliveryShouldSendASingleMailToAllRecipients() throws Exception {
+        FakeMail fakeMail1 = FakeMail.builder().name("name1").state(Mail.DEFAULT).recipient(ANY_AT_JAMES).build();
+        FakeMail fakeMail2 = FakeMail.builder().name("name2").state(Mail.DEFAULT).recipient(OTHER_AT_JAMES).build();
+        when(mailDelivrer.deliver(any())).thenReturn(ExecutionResult.success());
+
+        testee.attemptDelivery(ImmutableList.of(fakeMail1, fakeMail2));
+
+        ArgumentCaptor<Mail> mailCaptor = ArgumentCaptor.forClass(Mail.class);
+        verify(mailDelivrer).deliver(mailCaptor.capture());
+        assertThat(mailCaptor.getValue().getRecipients()).containsOnly(ANY_AT_JAMES, OTHER_AT_JAMES);
+    }
+
+    @Test
+    public void coalescedDeliveryShouldKeepTheRecipientSpecificHeadersOfEachMail() throws Exception {
+        PerRecipientHeaders.Header header1 = PerRecipientHeaders.Header.builder().name("X-Header").value("1").build();
+        PerRecipientHeaders.Header header2 = PerRecipientHeaders.Header.builder().name("X-Header").value("2").build();
+        FakeMail fakeMail1 = FakeMail.builder().name("name1").state(Mail.DEFAULT).recipient(ANY_AT_JAMES)
+            .addHeaderForRecipient(header1, ANY_AT_JAMES)
+            .build();
+        FakeMail fakeMail2 = FakeMail.builder().name("name2").state(Mail.DEFAULT).recipient(OTHER_AT_JAMES)
+            .addHeaderForRecipient(header2, OTHER_AT_JAMES)
+            .build();
+        when(mailDelivrer.deliver(any())).thenReturn(ExecutionResult.success());
+
+        testee.attemptDelivery(ImmutableList.of(fakeMail1, fakeMail2));
+
+        ArgumentCaptor<Mail> mailCaptor = ArgumentCaptor.forClass(Mail.class);
+        verify(mailDelivrer).deliver(mailCaptor.capture());
+        PerRecipientHeaders headers = mailCaptor.getValue().getPerRecipientSpecificHeaders();
+        assertThat(headers.getHeadersForRecipient(ANY_AT_JAMES)).containsOnly(header1);
+        assertThat(headers.getHeadersForRecipient(OTHER_AT_JAMES)).containsOnly(header2);
+    }
+
+    @Test
+    public void coalescedDeliverySuccessShouldIncrementMetricsForEachMail() throws Exception {
+        FakeMail fakeMail1 = FakeMail.builder().name("name1").state(Mail.DEFAULT).recipient(ANY_AT_JAMES).build();
+        FakeMail fakeMail2 = FakeMail.builder().name("name2").state(Mail.DEFAULT).recipient(OTHER_AT_JAMES).build();
+        when(mailDelivrer.deliver(any())).thenReturn(ExecutionResult.success());
+
+        testee.attemptDelivery(ImmutableList.of(fakeMail1, fakeMail2));
+
+        assertThat(metricFactory.countFor(OUTGOING_MAILS))
+            .isEqualTo(2);
+        assertThat(metricFactory.countFor(COALESCED_MAILS))
+            .isEqualTo(2);
+    }
+
+    @Test
+    public void coalescedDeliveryPermanentFailureShouldBounceEachMail() throws Exception {
+        FakeMail fakeMail1 = FakeMail.builder().name("name1").state(Mail.DEFAULT).recipient(ANY_AT_JAMES).build();
+        FakeMail fakeMail2 = FakeMail.builder().name("name2").state(Mail.DEFAULT).recipient(OTHER_AT_JAMES).build();
+        Exception exception = new Exception();
+        when(mailDelivrer.deliver(any())).thenReturn(ExecutionResult.permanentFailure(exception));
+
+        testee.attemptDelivery(ImmutableList.of(fakeMail1, fakeMail2));
+
+        verify(bouncer).bounce(fakeMail1, exception);
+        verify(bouncer).bounce(fakeMail2, exception);
+        verifyNoMoreInteractions(bouncer);
+    }
+
+    @Test
+    public void coalescedDeliveryTemporaryFailureShouldOnlyRetryUndeliveredRecipients() throws Exception {
+        FakeMail fakeMail1 = FakeMail.builder().name("name1").state(Mail.DEFAULT).recipient(ANY_AT_JAMES).build();
+        FakeMail fakeMail2 = FakeMail.builder().name("name2").state(Mail.DEFAULT).recipients(OTHER_AT_JAMES, POSTMASTER_AT_JAMES).build();
+        Exception exception = new Exception();
+        when(mailDelivrer.deliver(any())).thenAnswer(invocation -> {
+            Mail coalescedMail = invocation.getArgument(0);
+            coalescedMail.setRecipients(ImmutableList.of(POSTMASTER_AT_JAMES));
+            return ExecutionResult.temporaryFailure(exception);
+        });
+
+        testee.attemptDelivery(ImmutableList.of(fakeMail1, fakeMail2));
+
+        verify(mailQueue).enQueue(FakeMail.builder()
+                .name("name2")
+                .recipient(POSTMASTER_AT_JAMES)
+                .attribute(DeliveryRetriesHelper.makeAttribute(1))
+                .state(Mail.ERROR)
+                .lastUpdated(FIXED_DATE)
+                .build(),
+            Duration.ofSeconds(1));
+        verifyNoMoreInteractions(mailQueue);
+        assertThat(metricFactory.countFor(OUTGOING_MAILS))
+            .isEqualTo(1);
+    }
 }
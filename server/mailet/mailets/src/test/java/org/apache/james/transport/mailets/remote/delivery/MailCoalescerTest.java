@@ -0,0 +1,196 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.transport.mailets.remote.delivery;
+
+import static org.apache.mailet.base.MailAddressFixture.ANY_AT_JAMES;
+import static org.apache.mailet.base.MailAddressFixture.ANY_AT_JAMES2;
+import static org.apache.mailet.base.MailAddressFixture.OTHER_AT_JAMES;
+import static org.apache.mailet.base.MailAddressFixture.OTHER_AT_JAMES2;
+import static org.apache.mailet.base.MailAddressFixture.POSTMASTER_AT_JAMES;
+import static org.apache.mailet.base.MailAddressFixture.SENDER;
+import static org.apache.mailet.base.MailAddressFixture.SENDER2;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import javax.mail.internet.AddressException;
+import javax.mail.internet.MimeMessage;
+
+import org.apache.james.core.MailAddress;
+import org.apache.james.core.builder.MimeMessageBuilder;
+import org.apache.james.queue.api.MailQueue;
+import org.apache.mailet.Attribute;
+import org.apache.mailet.AttributeName;
+import org.apache.mailet.AttributeValue;
+import org.apache.mailet.Mail;
+import org.apache.mailet.base.test.FakeMail;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class MailCoalescerTest {
+    private static final int MAX_RECIPIENTS = 3;
+    private static final MailAddress SENDER_AT_JAMES = createMailAddress("sender@james.apache.org");
+    private static final MailAddress RECIPIENT_AT_JAMES = createMailAddress("recipient@james.apache.org");
+
+    private static MailAddress createMailAddress(String address) {
+        try {
+            return new MailAddress(address);
+        } catch (AddressException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private MailCoalescer testee;
+    private MimeMessage content;
+    private MimeMessage otherContent;
+
+    @Before
+    public void setUp() throws Exception {
+        testee = new MailCoalescer(MAX_RECIPIENTS);
+        content = MimeMessageBuilder.mimeMessageBuilder()
+            .setSubject("subject")
+            .setText("content")
+            .build();
+        otherContent = MimeMessageBuilder.mimeMessageBuilder()
+            .setSubject("subject")
+            .setText("other content")
+            .build();
+    }
+
+    @Test
+    public void coalesceShouldGroupMailsWithSameSenderContentAndDomain() throws Exception {
+        MailQueue.MailQueueItem item1 = item(SENDER, content, ANY_AT_JAMES);
+        MailQueue.MailQueueItem item2 = item(SENDER, content, OTHER_AT_JAMES);
+
+        assertThat(testee.coalesce(ImmutableList.of(item1, item2)))
+            .containsExactly(ImmutableList.of(item1, item2));
+    }
+
+    @Test
+    public void coalesceShouldNotGroupMailsWithDifferentContent() throws Exception {
+        MailQueue.MailQueueItem item1 = item(SENDER, content, ANY_AT_JAMES);
+        MailQueue.MailQueueItem item2 = item(SENDER, otherContent, OTHER_AT_JAMES);
+
+        assertThat(testee.coalesce(ImmutableList.of(item1, item2)))
+            .containsExactly(ImmutableList.of(item1), ImmutableList.of(item2));
+    }
+
+    @Test
+    public void coalesceShouldNotGroupMailsWithDifferentSenders() throws Exception {
+        MailQueue.MailQueueItem item1 = item(SENDER, content, ANY_AT_JAMES);
+        MailQueue.MailQueueItem item2 = item(SENDER2, content, OTHER_AT_JAMES);
+
+        assertThat(testee.coalesce(ImmutableList.of(item1, item2)))
+            .containsExactly(ImmutableList.of(item1), ImmutableList.of(item2));
+    }
+
+    @Test
+    public void coalesceShouldNotGroupMailsWithDifferentAttributes() throws Exception {
+        MailQueue.MailQueueItem item1 = item(SENDER, content, ANY_AT_JAMES);
+        MailQueue.MailQueueItem item2 = item(SENDER, content, OTHER_AT_JAMES);
+        item2.getMail().setAttribute(new Attribute(AttributeName.of("name"), AttributeValue.of("value")));
+
+        assertThat(testee.coalesce(ImmutableList.of(item1, item2)))
+            .containsExactly(ImmutableList.of(item1), ImmutableList.of(item2));
+    }
+
+    @Test
+    public void coalesceShouldGroupMailsWithSameAttributes() throws Exception {
+        MailQueue.MailQueueItem item1 = item(SENDER, content, ANY_AT_JAMES);
+        MailQueue.MailQueueItem item2 = item(SENDER, content, OTHER_AT_JAMES);
+        item1.getMail().setAttribute(new Attribute(AttributeName.of("name"), AttributeValue.of("value")));
+        item2.getMail().setAttribute(new Attribute(AttributeName.of("name"), AttributeValue.of("value")));
+
+        assertThat(testee.coalesce(ImmutableList.of(item1, item2)))
+            .containsExactly(ImmutableList.of(item1, item2));
+    }
+
+    @Test
+    public void coalesceShouldNotGroupMailsWithDifferentDomains() throws Exception {
+        MailQueue.MailQueueItem item1 = item(SENDER, content, ANY_AT_JAMES);
+        MailQueue.MailQueueItem item2 = item(SENDER, content, ANY_AT_JAMES2);
+
+        assertThat(testee.coalesce(ImmutableList.of(item1, item2)))
+            .containsExactly(ImmutableList.of(item1), ImmutableList.of(item2));
+    }
+
+    @Test
+    public void coalesceShouldNotGroupMailsTargetingSeveralDomains() throws Exception {
+        MailQueue.MailQueueItem item1 = item(SENDER, content, ANY_AT_JAMES, ANY_AT_JAMES2);
+        MailQueue.MailQueueItem item2 = item(SENDER, content, OTHER_AT_JAMES, OTHER_AT_JAMES2);
+
+        assertThat(testee.coalesce(ImmutableList.of(item1, item2)))
+            .containsExactly(ImmutableList.of(item1), ImmutableList.of(item2));
+    }
+
+    @Test
+    public void coalesceShouldNotGroupMailsBeingRetried() throws Exception {
+        MailQueue.MailQueueItem item1 = item(SENDER, content, ANY_AT_JAMES);
+        MailQueue.MailQueueItem item2 = item(SENDER, content, OTHER_AT_JAMES);
+        item2.getMail().setState(Mail.ERROR);
+
+        assertThat(testee.coalesce(ImmutableList.of(item1, item2)))
+            .containsExactlyInAnyOrder(ImmutableList.of(item1), ImmutableList.of(item2));
+    }
+
+    @Test
+    public void coalesceShouldSplitGroupsExceedingMaxRecipients() throws Exception {
+        MailQueue.MailQueueItem item1 = item(SENDER, content, ANY_AT_JAMES, OTHER_AT_JAMES);
+        MailQueue.MailQueueItem item2 = item(SENDER, content, POSTMASTER_AT_JAMES, SENDER_AT_JAMES);
+        MailQueue.MailQueueItem item3 = item(SENDER, content, RECIPIENT_AT_JAMES);
+
+        assertThat(testee.coalesce(ImmutableList.of(item1, item2, item3)))
+            .containsExactly(ImmutableList.of(item1, item3), ImmutableList.of(item2));
+    }
+
+    @Test
+    public void coalesceShouldNotHashTheContentOfMailsWithoutCandidates() throws Exception {
+        MimeMessage mimeMessage = mock(MimeMessage.class);
+        MailQueue.MailQueueItem item1 = item(SENDER, mimeMessage, ANY_AT_JAMES);
+        MailQueue.MailQueueItem item2 = item(SENDER2, content, OTHER_AT_JAMES);
+
+        assertThat(testee.coalesce(ImmutableList.of(item1, item2)))
+            .containsExactly(ImmutableList.of(item1), ImmutableList.of(item2));
+        verify(mimeMessage, never()).writeTo(any());
+    }
+
+    @Test
+    public void coalesceShouldReturnEmptyWhenNoItems() {
+        assertThat(testee.coalesce(ImmutableList.of())).isEmpty();
+    }
+
+    private MailQueue.MailQueueItem item(MailAddress sender, MimeMessage mimeMessage, MailAddress... recipients) throws Exception {
+        Mail mail = FakeMail.builder()
+            .name("mail")
+            .sender(sender)
+            .recipients(recipients)
+            .state(Mail.DEFAULT)
+            .mimeMessage(mimeMessage)
+            .build();
+        MailQueue.MailQueueItem item = mock(MailQueue.MailQueueItem.class);
+        when(item.getMail()).thenReturn(mail);
+        return item;
+    }
+}
@@ -832,4 +832,91 @@ public class RemoteDeliveryConfigurationTest {
                 MapEntry.entry("mail.smtp.starttls.enable", "true"),
                 MapEntry.entry("mail.smtp.auth", "true"));
     }
+
+    @Test
+    public void isConnectionPoolEnabledShouldBeFalseByDefault() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .build();
+
+        assertThat(new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)).isConnectionPoolEnabled()).isFalse();
+    }
+
+    @Test
+    public void isConnectionPoolEnabledShouldBeTrueIfSpecified() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_POOL_ENABLED, "true")
+            .build();
+
+        assertThat(new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)).isConnectionPoolEnabled()).isTrue();
+    }
+
+    @Test
+    public void connectionPoolSettingsShouldReturnDefaults() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .build();
+
+        RemoteDeliveryConfiguration configuration = new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class));
+
+        assertThat(configuration.getConnectionPoolMaxIdlePerHost()).isEqualTo(RemoteDeliveryConfiguration.DEFAULT_CONNECTION_POOL_MAX_IDLE_PER_HOST);
+        assertThat(configuration.getConnectionPoolMaxMessagesPerConnection()).isEqualTo(RemoteDeliveryConfiguration.DEFAULT_CONNECTION_POOL_MAX_MESSAGES_PER_CONNECTION);
+        assertThat(configuration.getConnectionPoolIdleTimeout()).isEqualTo(Duration.ofMillis(RemoteDeliveryConfiguration.DEFAULT_CONNECTION_POOL_IDLE_TIMEOUT));
+    }
+
+    @Test
+    public void connectionPoolSettingsShouldReturnProvidedValues() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_POOL_MAX_IDLE_PER_HOST, "8")
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_POOL_MAX_MESSAGES_PER_CONNECTION, "50")
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_POOL_IDLE_TIMEOUT, "5000")
+            .build();
+
+        RemoteDeliveryConfiguration configuration = new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class));
+
+        assertThat(configuration.getConnectionPoolMaxIdlePerHost()).isEqualTo(8);
+        assertThat(configuration.getConnectionPoolMaxMessagesPerConnection()).isEqualTo(50);
+        assertThat(configuration.getConnectionPoolIdleTimeout()).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void connectionPoolSettingsShouldReturnDefaultsWhenInvalid() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_POOL_MAX_IDLE_PER_HOST, "-1")
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_POOL_MAX_MESSAGES_PER_CONNECTION, "invalid")
+            .build();
+
+        RemoteDeliveryConfiguration configuration = new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class));
+
+        assertThat(configuration.getConnectionPoolMaxIdlePerHost()).isEqualTo(RemoteDeliveryConfiguration.DEFAULT_CONNECTION_POOL_MAX_IDLE_PER_HOST);
+        assertThat(configuration.getConnectionPoolMaxMessagesPerConnection()).isEqualTo(RemoteDeliveryConfiguration.DEFAULT_CONNECTION_POOL_MAX_MESSAGES_PER_CONNECTION);
+    }
+
+    @Test
+    public void coalescingSettingsShouldReturnDefaults() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .build();
+
+        RemoteDeliveryConfiguration configuration = new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class));
+
+        assertThat(configuration.isCoalescingEnabled()).isFalse();
+        assertThat(configuration.getCoalescingMaxMails()).isEqualTo(RemoteDeliveryConfiguration.DEFAULT_COALESCING_MAX_MAILS);
+        assertThat(configuration.getCoalescingMaxRecipients()).isEqualTo(RemoteDeliveryConfiguration.DEFAULT_COALESCING_MAX_RECIPIENTS);
+        assertThat(configuration.getCoalescingWindow()).isEqualTo(Duration.ofMillis(RemoteDeliveryConfiguration.DEFAULT_COALESCING_WINDOW));
+    }
+
+    @Test
+    public void coalescingSettingsShouldReturnProvidedValues() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.COALESCING_ENABLED, "true")
+            .setProperty(RemoteDeliveryConfiguration.COALESCING_MAX_MAILS, "20")
+            .setProperty(RemoteDeliveryConfiguration.COALESCING_MAX_RECIPIENTS, "500")
+            .setProperty(RemoteDeliveryConfiguration.COALESCING_WINDOW, "250")
+            .build();
+
+        RemoteDeliveryConfiguration configuration = new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class));
+
+        assertThat(configuration.isCoalescingEnabled()).isTrue();
+        assertThat(configuration.getCoalescingMaxMails()).isEqualTo(20);
+        assertThat(configuration.getCoalescingMaxRecipients()).isEqualTo(500);
+        assertThat(configuration.getCoalescingWindow()).isEqualTo(Duration.ofMillis(250));
+    }
 }
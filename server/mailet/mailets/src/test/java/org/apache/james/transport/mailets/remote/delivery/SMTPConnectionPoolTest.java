@@ -0,0 +1,192 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.transport.mailets.remote.delivery;
+
+import static org.apache.james.transport.mailets.remote.delivery.SMTPConnectionPool.CREATED_CONNECTIONS;
+import static org.apache.james.transport.mailets.remote.delivery.SMTPConnectionPool.REUSED_CONNECTIONS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import javax.mail.MessagingException;
+
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.apache.james.utils.UpdatableTickingClock;
+import org.apache.mailet.HostAddress;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.mail.smtp.SMTPTransport;
+
+@SuppressWarnings("deprecation")
+public class SMTPConnectionPoolTest {
+    private static final HostAddress HOST_ADDRESS_1 = new HostAddress("mx1.james.org", "smtp://1.2.3.4:25");
+    private static final HostAddress HOST_ADDRESS_2 = new HostAddress("mx2.james.org", "smtp://5.6.7.8:25");
+    private static final int MAX_IDLE_PER_HOST = 2;
+    private static final int MAX_MESSAGES_PER_CONNECTION = 3;
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(10);
+    private static final Instant NOW = Instant.parse("2019-10-01T10:15:30.00Z");
+
+    private UpdatableTickingClock clock;
+    private RecordingMetricFactory metricFactory;
+    private SMTPConnectionPool testee;
+
+    @Before
+    public void setUp() {
+        clock = new UpdatableTickingClock(NOW);
+        metricFactory = new RecordingMetricFactory();
+        testee = new SMTPConnectionPool(MAX_IDLE_PER_HOST, MAX_MESSAGES_PER_CONNECTION, IDLE_TIMEOUT, metricFactory, clock);
+    }
+
+    @After
+    public void tearDown() {
+        testee.dispose();
+    }
+
+    @Test
+    public void borrowShouldReturnEmptyWhenNoConnection() {
+        assertThat(testee.borrow(HOST_ADDRESS_1)).isEmpty();
+    }
+
+    @Test
+    public void borrowShouldReturnReleasedConnection() throws Exception {
+        SMTPTransport transport = connectedTransport();
+        SMTPConnectionPool.PooledConnection connection = testee.register(transport);
+        testee.release(HOST_ADDRESS_1, connection);
+
+        assertThat(testee.borrow(HOST_ADDRESS_1)).contains(connection);
+        verify(transport).issueCommand("RSET", 250);
+    }
+
+    @Test
+    public void borrowShouldNotReturnConnectionsOfOtherHosts() {
+        testee.release(HOST_ADDRESS_1, testee.register(connectedTransport()));
+
+        assertThat(testee.borrow(HOST_ADDRESS_2)).isEmpty();
+    }
+
+    @Test
+    public void borrowShouldNotReturnTheSameConnectionTwice() {
+        testee.release(HOST_ADDRESS_1, testee.register(connectedTransport()));
+
+        testee.borrow(HOST_ADDRESS_1);
+
+        assertThat(testee.borrow(HOST_ADDRESS_1)).isEmpty();
+    }
+
+    @Test
+    public void borrowShouldDiscardDisconnectedConnections() throws Exception {
+        SMTPTransport transport = connectedTransport();
+        testee.release(HOST_ADDRESS_1, testee.register(transport));
+        when(transport.isConnected()).thenReturn(false);
+
+        assertThat(testee.borrow(HOST_ADDRESS_1)).isEmpty();
+        verify(transport).close();
+    }
+
+    @Test
+    public void borrowShouldDiscardConnectionsFailingToReset() throws Exception {
+        SMTPTransport transport = connectedTransport();
+        testee.release(HOST_ADDRESS_1, testee.register(transport));
+        doThrow(new MessagingException("reset failed")).when(transport).issueCommand(anyString(), anyInt());
+
+        assertThat(testee.borrow(HOST_ADDRESS_1)).isEmpty();
+        verify(transport).close();
+    }
+
+    @Test
+    public void borrowShouldDiscardExpiredConnections() throws Exception {
+        SMTPTransport transport = connectedTransport();
+        testee.release(HOST_ADDRESS_1, testee.register(transport));
+        clock.setInstant(NOW.plus(IDLE_TIMEOUT).plusSeconds(1));
+
+        assertThat(testee.borrow(HOST_ADDRESS_1)).isEmpty();
+        verify(transport).close();
+    }
+
+    @Test
+    public void evictIdleConnectionsShouldCloseExpiredConnections() throws Exception {
+        SMTPTransport transport = connectedTransport();
+        testee.release(HOST_ADDRESS_1, testee.register(transport));
+        clock.setInstant(NOW.plus(IDLE_TIMEOUT).plusSeconds(1));
+
+        testee.evictIdleConnections();
+
+        verify(transport).close();
+    }
+
+    @Test
+    public void releaseShouldCloseConnectionsExceedingMaxIdlePerHost() throws Exception {
+        SMTPTransport transport = connectedTransport();
+        testee.release(HOST_ADDRESS_1, testee.register(connectedTransport()));
+        testee.release(HOST_ADDRESS_1, testee.register(connectedTransport()));
+
+        testee.release(HOST_ADDRESS_1, testee.register(transport));
+
+        verify(transport).close();
+    }
+
+    @Test
+    public void releaseShouldCloseConnectionsHavingReachedMaxMessages() throws Exception {
+        SMTPTransport transport = connectedTransport();
+        SMTPConnectionPool.PooledConnection connection = testee.register(transport);
+
+        for (int i = 0; i < MAX_MESSAGES_PER_CONNECTION; i++) {
+            testee.release(HOST_ADDRESS_1, connection);
+            testee.borrow(HOST_ADDRESS_1);
+        }
+
+        verify(transport).close();
+        assertThat(testee.borrow(HOST_ADDRESS_1)).isEmpty();
+    }
+
+    @Test
+    public void poolShouldRecordCreatedAndReusedConnections() {
+        SMTPConnectionPool.PooledConnection connection = testee.register(connectedTransport());
+        testee.release(HOST_ADDRESS_1, connection);
+        testee.borrow(HOST_ADDRESS_1);
+
+        assertThat(metricFactory.countFor(CREATED_CONNECTIONS)).isEqualTo(1);
+        assertThat(metricFactory.countFor(REUSED_CONNECTIONS)).isEqualTo(1);
+    }
+
+    @Test
+    public void disposeShouldCloseIdleConnections() throws Exception {
+        SMTPTransport transport = connectedTransport();
+        testee.release(HOST_ADDRESS_1, testee.register(transport));
+
+        testee.dispose();
+
+        verify(transport).close();
+    }
+
+    private SMTPTransport connectedTransport() {
+        SMTPTransport transport = mock(SMTPTransport.class);
+        when(transport.isConnected()).thenReturn(true);
+        return transport;
+    }
+}
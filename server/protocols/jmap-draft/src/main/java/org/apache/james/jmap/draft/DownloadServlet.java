@@ -22,6 +22,8 @@ import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
 import static javax.servlet.http.HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
 import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
 import static javax.servlet.http.HttpServletResponse.SC_OK;
+import static javax.servlet.http.HttpServletResponse.SC_PARTIAL_CONTENT;
+import static javax.servlet.http.HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE;
 
 import java.io.IOException;
 import java.util.Optional;
@@ -34,6 +36,7 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.james.jmap.draft.api.SimpleTokenFactory;
+import org.apache.james.jmap.draft.utils.ByteRange;
 import org.apache.james.jmap.draft.utils.DownloadPath;
 import org.apache.james.mailbox.BlobManager;
 import org.apache.james.mailbox.MailboxSession;
@@ -113,19 +116,24 @@ public class DownloadServlet extends HttpServlet {
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException {
         String pathInfo = req.getPathInfo();
         try {
-            download(getMailboxSession(req), DownloadPath.from(pathInfo), resp);
+            download(getMailboxSession(req), DownloadPath.from(pathInfo), ByteRange.parse(req.getHeader("Range")), resp);
         } catch (IllegalArgumentException e) {
             LOGGER.error("Error while downloading '{}'", pathInfo, e);
             resp.setStatus(SC_BAD_REQUEST);
         }
     }
 
-    @VisibleForTesting void download(MailboxSession mailboxSession, DownloadPath downloadPath, HttpServletResponse resp) {
+    @VisibleForTesting void download(MailboxSession mailboxSession, DownloadPath downloadPath, Optional<ByteRange> byteRange, HttpServletResponse resp) {
         String blobId = downloadPath.getBlobId();
         try {
+            if (byteRange.isPresent()) {
+                downloadRange(mailboxSession, downloadPath, byteRange.get(), resp);
+                return;
+            }
             Blob blob = blobManager.retrieve(BlobId.fromString(blobId), mailboxSession);
 
             addContentDispositionHeader(downloadPath.getName(), resp);
+            resp.setHeader("Accept-Ranges", "bytes");
             resp.setHeader("Content-Length", String.valueOf(blob.getSize()));
             resp.setHeader("Content-Type", blob.getContentType());
             resp.setStatus(SC_OK);
@@ -139,6 +147,23 @@ public class DownloadServlet extends HttpServlet {
         }
     }
 
+    private void downloadRange(MailboxSession mailboxSession, DownloadPath downloadPath, ByteRange byteRange, HttpServletResponse resp) throws MailboxException, IOException {
+        Blob blob = blobManager.retrieve(BlobId.fromString(downloadPath.getBlobId()), byteRange.getFirst(), byteRange.getLength(), mailboxSession);
+
+        if (byteRange.getFirst() >= blob.getSize()) {
+            resp.setHeader("Content-Range", "bytes */" + blob.getSize());
+            resp.setStatus(SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        long lastByte = byteRange.getFirst() + blob.getPayload().length - 1;
+        addContentDispositionHeader(downloadPath.getName(), resp);
+        resp.setHeader("Content-Range", "bytes " + byteRange.getFirst() + "-" + lastByte + "/" + blob.getSize());
+        resp.setHeader("Content-Length", String.valueOf(blob.getPayload().length));
+        resp.setHeader("Content-Type", blob.getContentType());
+        resp.setStatus(SC_PARTIAL_CONTENT);
+        IOUtils.copy(blob.getStream(), resp.getOutputStream());
+    }
+
     private void addContentDispositionHeader(Optional<String> optionalName, HttpServletResponse resp) {
         optionalName.ifPresent(name -> addContentDispositionHeaderRegardingEncoding(name, resp));
     }
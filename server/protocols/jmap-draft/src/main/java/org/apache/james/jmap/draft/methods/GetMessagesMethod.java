@@ -21,12 +21,15 @@ package org.apache.james.jmap.draft.methods;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 import javax.inject.Inject;
 
+import org.apache.james.jmap.api.projections.MessageFastViewPrecomputedProperties;
+import org.apache.james.jmap.api.projections.MessageFastViewProjection;
 import org.apache.james.jmap.draft.JmapFieldNotSupportedException;
 import org.apache.james.jmap.draft.json.FieldNamePropertyFilter;
 import org.apache.james.jmap.draft.model.GetMessagesRequest;
@@ -37,6 +40,7 @@ import org.apache.james.jmap.draft.model.MessageFactory;
 import org.apache.james.jmap.draft.model.MessageFactory.MetaDataWithContent;
 import org.apache.james.jmap.draft.model.MessageProperties;
 import org.apache.james.jmap.draft.model.MessageProperties.HeaderProperty;
+import org.apache.james.jmap.draft.model.MessageProperties.MessageProperty;
 import org.apache.james.jmap.draft.model.MethodCallId;
 import org.apache.james.jmap.draft.utils.KeywordsCombiner;
 import org.apache.james.mailbox.MailboxSession;
@@ -44,7 +48,9 @@ import org.apache.james.mailbox.MessageIdManager;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.model.FetchGroupImpl;
 import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MessageId;
 import org.apache.james.mailbox.model.MessageResult;
+import org.apache.james.metrics.api.Metric;
 import org.apache.james.metrics.api.MetricFactory;
 import org.apache.james.util.MDCBuilder;
 import org.slf4j.Logger;
@@ -55,8 +61,12 @@ import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import com.github.steveash.guavate.Guavate;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 
+import reactor.core.publisher.Mono;
+
 public class GetMessagesMethod implements Method {
 
     public static final String HEADERS_FILTER = "headersFilter";
@@ -65,20 +75,57 @@ public class GetMessagesMethod implements Method {
     private static final Method.Request.Name METHOD_NAME = Method.Request.name("getMessages");
     private static final Method.Response.Name RESPONSE_NAME = Method.Response.name("messages");
     private static final KeywordsCombiner ACCUMULATOR = new KeywordsCombiner();
+    @VisibleForTesting static final String FAST_VIEW_HIT_METRIC_NAME = JMAP_PREFIX + "getMessages:fastView:hit";
+    @VisibleForTesting static final String FAST_VIEW_MISS_METRIC_NAME = JMAP_PREFIX + "getMessages:fastView:miss";
+
+    /**
+     * Properties that can be computed from the message headers, its metadata and its precomputed properties.
+     */
+    private static final ImmutableSet<MessageProperty> FAST_VIEW_PROPERTIES = ImmutableSet.of(
+        MessageProperty.id,
+        MessageProperty.blobId,
+        MessageProperty.threadId,
+        MessageProperty.mailboxIds,
+        MessageProperty.inReplyToMessageId,
+        MessageProperty.isUnread,
+        MessageProperty.isFlagged,
+        MessageProperty.isAnswered,
+        MessageProperty.isDraft,
+        MessageProperty.isForwarded,
+        MessageProperty.hasAttachment,
+        MessageProperty.headers,
+        MessageProperty.from,
+        MessageProperty.to,
+        MessageProperty.cc,
+        MessageProperty.bcc,
+        MessageProperty.replyTo,
+        MessageProperty.subject,
+        MessageProperty.date,
+        MessageProperty.size,
+        MessageProperty.preview,
+        MessageProperty.keywords);
+
     private final MessageFactory messageFactory;
     private final MessageIdManager messageIdManager;
+    private final MessageFastViewProjection messageFastViewProjection;
     private final MetricFactory metricFactory;
     private final Keywords.KeywordsFactory keywordsFactory;
+    private final Metric fastViewHitMetric;
+    private final Metric fastViewMissMetric;
 
     @Inject
     @VisibleForTesting GetMessagesMethod(
             MessageFactory messageFactory,
             MessageIdManager messageIdManager,
+            MessageFastViewProjection messageFastViewProjection,
             MetricFactory metricFactory) {
         this.messageFactory = messageFactory;
         this.messageIdManager = messageIdManager;
+        this.messageFastViewProjection = messageFastViewProjection;
         this.metricFactory = metricFactory;
         this.keywordsFactory = Keywords.lenientFactory();
+        this.fastViewHitMetric = metricFactory.generate(FAST_VIEW_HIT_METRIC_NAME);
+        this.fastViewMissMetric = metricFactory.generate(FAST_VIEW_MISS_METRIC_NAME);
     }
     
     @Override
@@ -108,7 +155,7 @@ public class GetMessagesMethod implements Method {
                 .addContext("properties", getMessagesRequest.getProperties())
                 .wrapArround(
                     () -> Stream.of(JmapResponse.builder().methodCallId(methodCallId)
-                        .response(getMessagesResponse(mailboxSession, getMessagesRequest))
+                        .response(getMessagesResponse(mailboxSession, getMessagesRequest, outputProperties))
                         .responseName(RESPONSE_NAME)
                         .properties(outputProperties.getOptionalMessageProperties())
                         .filterProvider(buildOptionalHeadersFilteringFilterProvider(outputProperties))
@@ -126,22 +173,12 @@ public class GetMessagesMethod implements Method {
         return new FieldNamePropertyFilter((fieldName) -> headerProperties.contains(HeaderProperty.fromFieldName(fieldName)));
     }
 
-    private GetMessagesResponse getMessagesResponse(MailboxSession mailboxSession, GetMessagesRequest getMessagesRequest) {
+    private GetMessagesResponse getMessagesResponse(MailboxSession mailboxSession, GetMessagesRequest getMessagesRequest, MessageProperties outputProperties) {
         getMessagesRequest.getAccountId().ifPresent((input) -> notImplemented("accountId"));
 
         try {
             return GetMessagesResponse.builder()
-                .messages(
-                    messageIdManager.getMessages(getMessagesRequest.getIds(), FetchGroupImpl.FULL_CONTENT, mailboxSession)
-                        .stream()
-                        .collect(Guavate.toImmutableListMultimap(MessageResult::getMessageId))
-                        .asMap()
-                        .values()
-                        .stream()
-                        .filter(collection -> !collection.isEmpty())
-                        .flatMap(toMetaDataWithContent())
-                        .flatMap(toMessage())
-                        .collect(Guavate.toImmutableList()))
+                .messages(retrieveMessages(getMessagesRequest.getIds(), outputProperties, mailboxSession))
                 .expectedMessageIds(getMessagesRequest.getIds())
                 .build();
         } catch (MailboxException e) {
@@ -149,6 +186,88 @@ public class GetMessagesMethod implements Method {
         }
     }
 
+    private List<Message> retrieveMessages(List<MessageId> messageIds, MessageProperties outputProperties, MailboxSession mailboxSession) throws MailboxException {
+        if (canUseFastView(outputProperties)) {
+            return retrieveMessagesUsingFastView(messageIds, mailboxSession);
+        }
+        return retrieveFullMessages(messageIds, mailboxSession);
+    }
+
+    private boolean canUseFastView(MessageProperties outputProperties) {
+        return outputProperties.getOptionalMessageProperties()
+            .map(FAST_VIEW_PROPERTIES::containsAll)
+            .orElse(false);
+    }
+
+    private List<Message> retrieveFullMessages(List<MessageId> messageIds, MailboxSession mailboxSession) throws MailboxException {
+        if (messageIds.isEmpty()) {
+            return ImmutableList.of();
+        }
+        return groupByMessageId(messageIdManager.getMessages(messageIds, FetchGroupImpl.FULL_CONTENT, mailboxSession))
+            .flatMap(toMetaDataWithContent(MetaDataWithContent::builderFromMessageResult))
+            .flatMap(toMessage())
+            .collect(Guavate.toImmutableList());
+    }
+
+    /**
+     * Reads only the headers of the messages having precomputed properties, and fully reads the other ones.
+     * Messages are returned in the requested order.
+     */
+    private List<Message> retrieveMessagesUsingFastView(List<MessageId> messageIds, MailboxSession mailboxSession) throws MailboxException {
+        Map<MessageId, MessageFastViewPrecomputedProperties> fastViews = messageFastViewProjection.retrieve(messageIds)
+            .onErrorResume(e -> {
+                LOGGER.error("Can not retrieve message fast views, falling back to full messages", e);
+                return Mono.just(ImmutableMap.of());
+            })
+            .block();
+        ImmutableList<MessageId> missingMessageIds = messageIds.stream()
+            .filter(messageId -> !fastViews.containsKey(messageId))
+            .collect(Guavate.toImmutableList());
+        fastViewHitMetric.add(messageIds.size() - missingMessageIds.size());
+        fastViewMissMetric.add(missingMessageIds.size());
+
+        ImmutableList<MessageId> fastViewMessageIds = ImmutableList.copyOf(fastViews.keySet());
+        Stream<Message> fastViewMessages = retrieveFastViewMessages(fastViewMessageIds, fastViews, mailboxSession);
+        Stream<Message> fullMessages = retrieveFullMessages(missingMessageIds, mailboxSession).stream();
+        Map<MessageId, Message> messagesById = Stream.concat(fastViewMessages, fullMessages)
+            .collect(Guavate.toImmutableMap(Message::getId, Function.identity()));
+
+        return messageIds.stream()
+            .distinct()
+            .filter(messagesById::containsKey)
+            .map(messagesById::get)
+            .collect(Guavate.toImmutableList());
+    }
+
+    private Stream<Message> retrieveFastViewMessages(List<MessageId> messageIds, Map<MessageId, MessageFastViewPrecomputedProperties> fastViews, MailboxSession mailboxSession) throws MailboxException {
+        if (messageIds.isEmpty()) {
+            return Stream.of();
+        }
+        return groupByMessageId(messageIdManager.getMessagesHonoringFetchGroup(messageIds, FetchGroupImpl.HEADERS, mailboxSession))
+            .flatMap(toMetaDataWithContent(MetaDataWithContent::builderWithHeadersFromMessageResult))
+            .flatMap(toFastViewMessage(fastViews));
+    }
+
+    private Stream<Collection<MessageResult>> groupByMessageId(List<MessageResult> messageResults) {
+        return messageResults.stream()
+            .collect(Guavate.toImmutableListMultimap(MessageResult::getMessageId))
+            .asMap()
+            .values()
+            .stream()
+            .filter(collection -> !collection.isEmpty());
+    }
+
+    private Function<MetaDataWithContent, Stream<Message>> toFastViewMessage(Map<MessageId, MessageFastViewPrecomputedProperties> fastViews) {
+        return metaDataWithContent -> {
+            try {
+                return Stream.of(messageFactory.fromMetaDataWithHeaders(metaDataWithContent, fastViews.get(metaDataWithContent.getMessageId())));
+            } catch (Exception e) {
+                LOGGER.error("Can not convert metaData with headers to Message for {}", metaDataWithContent.getMessageId(), e);
+                return Stream.of();
+            }
+        };
+    }
+
     private Function<MetaDataWithContent, Stream<Message>> toMessage() {
         return metaDataWithContent -> {
             try {
@@ -160,7 +279,7 @@ public class GetMessagesMethod implements Method {
         };
     }
 
-    private Function<Collection<MessageResult>, Stream<MetaDataWithContent>> toMetaDataWithContent() {
+    private Function<Collection<MessageResult>, Stream<MetaDataWithContent>> toMetaDataWithContent(MetaDataWithContentBuilderFactory builderFactory) {
         return messageResults -> {
             MessageResult firstMessageResult = messageResults.iterator().next();
             List<MailboxId> mailboxIds = messageResults.stream()
@@ -174,7 +293,7 @@ public class GetMessagesMethod implements Method {
                     .reduce(ACCUMULATOR)
                     .get();
                 return Stream.of(
-                    MetaDataWithContent.builderFromMessageResult(firstMessageResult)
+                    builderFactory.builderFrom(firstMessageResult)
                         .messageId(firstMessageResult.getMessageId())
                         .mailboxIds(mailboxIds)
                         .keywords(keywords)
@@ -186,6 +305,11 @@ public class GetMessagesMethod implements Method {
         };
     }
 
+    @FunctionalInterface
+    private interface MetaDataWithContentBuilderFactory {
+        MetaDataWithContent.Builder builderFrom(MessageResult messageResult) throws MailboxException;
+    }
+
     private static void notImplemented(String field) {
         throw new JmapFieldNotSupportedException(ISSUER, field);
     }
@@ -72,6 +72,7 @@ public class Message {
         private final ImmutableList.Builder<Attachment> attachments;
         private final ImmutableMap.Builder<BlobId, SubMessage> attachedMessages;
         private Optional<Keywords> keywords = Optional.empty();
+        private Optional<Boolean> hasAttachment = Optional.empty();
 
         private Builder() {
             to = ImmutableList.builder();
@@ -192,6 +193,14 @@ public class Message {
             return this;
         }
 
+        /**
+         * Overrides the value computed from the attachments, for messages built without their attachments.
+         */
+        public Builder hasAttachment(boolean hasAttachment) {
+            this.hasAttachment = Optional.of(hasAttachment);
+            return this;
+        }
+
         public Message build() {
             Preconditions.checkState(id != null, "'id' is mandatory");
             Preconditions.checkState(blobId != null, "'blobId' is mandatory");
@@ -204,7 +213,7 @@ public class Message {
             ImmutableList<Attachment> attachments = this.attachments.build();
             ImmutableMap<BlobId, SubMessage> attachedMessages = this.attachedMessages.build();
             Preconditions.checkState(areAttachedMessagesKeysInAttachments(attachments, attachedMessages), "'attachedMessages' keys must be in 'attachements'");
-            boolean hasAttachment = hasAttachment(attachments);
+            boolean hasAttachment = this.hasAttachment.orElseGet(() -> Message.hasAttachment(attachments));
 
             return new Message(id, blobId, threadId, mailboxIds, Optional.ofNullable(inReplyToMessageId),
                 hasAttachment, headers, Optional.ofNullable(from),
@@ -224,7 +233,7 @@ public class Message {
             .anyMatch(blobId -> blobId.equals(key));
     }
 
-    private static boolean hasAttachment(List<Attachment> attachments) {
+    static boolean hasAttachment(List<Attachment> attachments) {
         return attachments.stream()
                 .anyMatch(attachment -> !attachment.isInlinedWithCid());
     }
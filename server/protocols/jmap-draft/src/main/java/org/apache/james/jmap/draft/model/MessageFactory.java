@@ -34,6 +34,8 @@ import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.mail.internet.SharedInputStream;
 
+import org.apache.james.jmap.api.projections.MessageFastViewPrecomputedProperties;
+import org.apache.james.jmap.api.projections.Preview;
 import org.apache.james.jmap.draft.utils.HtmlTextExtractor;
 import org.apache.james.mailbox.BlobManager;
 import org.apache.james.mailbox.MessageUid;
@@ -84,6 +86,36 @@ public class MessageFactory {
         Optional<String> mainTextContent = mainTextContent(messageContent);
         Optional<String> textBody = computeTextBodyIfNeeded(messageContent, mainTextContent);
         String preview = messagePreview.compute(mainTextContent);
+        return headersAndMetaDataBuilder(message, mimeMessage)
+                .textBody(textBody)
+                .htmlBody(htmlBody)
+                .preview(preview)
+                .attachments(getAttachments(message.getAttachments()))
+                .build();
+    }
+
+    /**
+     * Builds a message whose content is limited to its headers, relying on precomputed properties for the preview and
+     * the attachment presence. Bodies and attachments of the resulting message are left empty.
+     */
+    public Message fromMetaDataWithHeaders(MetaDataWithContent message, MessageFastViewPrecomputedProperties precomputedProperties) throws MailboxException {
+        org.apache.james.mime4j.dom.Message mimeMessage = parse(message);
+        return headersAndMetaDataBuilder(message, mimeMessage)
+                .preview(precomputedProperties.getPreview().getValue())
+                .hasAttachment(precomputedProperties.hasAttachment())
+                .build();
+    }
+
+    public MessageFastViewPrecomputedProperties computePrecomputedProperties(MetaDataWithContent message) throws MailboxException {
+        org.apache.james.mime4j.dom.Message mimeMessage = parse(message);
+        MessageContent messageContent = extractContent(mimeMessage);
+        String preview = messagePreview.compute(mainTextContent(messageContent));
+        return MessageFastViewPrecomputedProperties.of(
+            Preview.from(preview),
+            Message.hasAttachment(getAttachments(message.getAttachments())));
+    }
+
+    private Message.Builder headersAndMetaDataBuilder(MetaDataWithContent message, org.apache.james.mime4j.dom.Message mimeMessage) {
         return Message.builder()
                 .id(message.getMessageId())
                 .blobId(BlobId.of(blobManager.toBlobId(message.getMessageId())))
@@ -99,12 +131,7 @@ public class MessageFactory {
                 .bcc(fromAddressList(mimeMessage.getBcc()))
                 .replyTo(fromAddressList(mimeMessage.getReplyTo()))
                 .size(message.getSize())
-                .date(getDateFromHeaderOrInternalDateOtherwise(mimeMessage, message))
-                .textBody(textBody)
-                .htmlBody(htmlBody)
-                .preview(preview)
-                .attachments(getAttachments(message.getAttachments()))
-                .build();
+                .date(getDateFromHeaderOrInternalDateOtherwise(mimeMessage, message));
     }
 
     private Instant getDateFromHeaderOrInternalDateOtherwise(org.apache.james.mime4j.dom.Message mimeMessage, MetaDataWithContent message) {
@@ -228,18 +255,34 @@ public class MessageFactory {
         }
         
         public static Builder builderFromMessageResult(MessageResult messageResult) throws MailboxException {
-            Builder builder = builder()
+            Builder builder = metaDataBuilderFromMessageResult(messageResult);
+            try {
+                return builder.content(messageResult.getFullContent().getInputStream());
+            } catch (IOException e) {
+                throw new MailboxException("Can't get message full content: " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * The content of the resulting builder is limited to the headers of the message.
+         */
+        public static Builder builderWithHeadersFromMessageResult(MessageResult messageResult) throws MailboxException {
+            Builder builder = metaDataBuilderFromMessageResult(messageResult);
+            try {
+                return builder.content(messageResult.getHeaders().getInputStream());
+            } catch (IOException e) {
+                throw new MailboxException("Can't get message headers: " + e.getMessage(), e);
+            }
+        }
+
+        private static Builder metaDataBuilderFromMessageResult(MessageResult messageResult) throws MailboxException {
+            return builder()
                 .uid(messageResult.getUid())
                 .modSeq(messageResult.getModSeq())
                 .size(messageResult.getSize())
                 .internalDate(messageResult.getInternalDate().toInstant())
                 .attachments(messageResult.getAttachments())
                 .mailboxId(messageResult.getMailboxId());
-            try {
-                return builder.content(messageResult.getFullContent().getInputStream());
-            } catch (IOException e) {
-                throw new MailboxException("Can't get message full content: " + e.getMessage(), e);
-            }
         }
         
         public static class Builder {
@@ -0,0 +1,79 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.jmap.draft.utils;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A single byte range, as requested by a HTTP Range header (RFC 7233).
+ *
+ * Suffix ranges and multiple ranges are not supported: servers are allowed to ignore such Range headers and to
+ * return the full content.
+ */
+public class ByteRange {
+    private static final Pattern SINGLE_BYTE_RANGE = Pattern.compile("^bytes=(\\d+)-(\\d*)$");
+
+    public static Optional<ByteRange> parse(String rangeHeader) {
+        if (rangeHeader == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = SINGLE_BYTE_RANGE.matcher(rangeHeader.trim());
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        try {
+            long first = Long.parseLong(matcher.group(1));
+            Optional<Long> last = Optional.of(matcher.group(2))
+                .filter(value -> !value.isEmpty())
+                .map(Long::parseLong);
+            if (last.isPresent() && last.get() < first) {
+                return Optional.empty();
+            }
+            return Optional.of(new ByteRange(first, last));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private final long first;
+    private final Optional<Long> last;
+
+    private ByteRange(long first, Optional<Long> last) {
+        Preconditions.checkArgument(first >= 0, "'first' should not be negative");
+        this.first = first;
+        this.last = last;
+    }
+
+    public long getFirst() {
+        return first;
+    }
+
+    /**
+     * @return the number of requested bytes, unbounded when the range extends to the end of the content.
+     */
+    public long getLength() {
+        return last.map(value -> value - first + 1)
+            .orElse(Long.MAX_VALUE);
+    }
+}
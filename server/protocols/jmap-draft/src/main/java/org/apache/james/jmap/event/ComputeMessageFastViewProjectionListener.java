@@ -0,0 +1,154 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.jmap.event;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.apache.james.jmap.api.projections.MessageFastViewPrecomputedProperties;
+import org.apache.james.jmap.api.projections.MessageFastViewProjection;
+import org.apache.james.jmap.draft.model.Keywords;
+import org.apache.james.jmap.draft.model.MessageFactory;
+import org.apache.james.jmap.draft.model.MessageFactory.MetaDataWithContent;
+import org.apache.james.mailbox.MailboxManager;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageIdManager;
+import org.apache.james.mailbox.events.Event;
+import org.apache.james.mailbox.events.Group;
+import org.apache.james.mailbox.events.MailboxListener;
+import org.apache.james.mailbox.exception.MailboxException;
+import org.apache.james.mailbox.model.FetchGroupImpl;
+import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.mailbox.model.MessageMetaData;
+import org.apache.james.mailbox.model.MessageResult;
+
+import com.github.fge.lambdas.Throwing;
+import com.github.steveash.guavate.Guavate;
+import com.google.common.collect.ImmutableSet;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Computes the {@link org.apache.james.jmap.api.projections.MessageFastViewPrecomputedProperties} of appended
+ * messages, so that listing them does not require parsing their content.
+ *
+ * Entries are removed once the message is no longer in any mailbox of the user.
+ */
+public class ComputeMessageFastViewProjectionListener implements MailboxListener.GroupMailboxListener {
+    public static class ComputeMessageFastViewProjectionListenerGroup extends Group {
+
+    }
+
+    private static final Group GROUP = new ComputeMessageFastViewProjectionListenerGroup();
+
+    private final MailboxManager mailboxManager;
+    private final MessageIdManager messageIdManager;
+    private final MessageFastViewProjection messageFastViewProjection;
+    private final MessageFactory messageFactory;
+
+    @Inject
+    public ComputeMessageFastViewProjectionListener(MailboxManager mailboxManager, MessageIdManager messageIdManager,
+                                                    MessageFastViewProjection messageFastViewProjection, MessageFactory messageFactory) {
+        this.mailboxManager = mailboxManager;
+        this.messageIdManager = messageIdManager;
+        this.messageFastViewProjection = messageFastViewProjection;
+        this.messageFactory = messageFactory;
+    }
+
+    @Override
+    public Group getDefaultGroup() {
+        return GROUP;
+    }
+
+    @Override
+    public ExecutionMode getExecutionMode() {
+        return ExecutionMode.ASYNCHRONOUS;
+    }
+
+    @Override
+    public boolean isHandling(Event event) {
+        return event instanceof Added || event instanceof Expunged;
+    }
+
+    @Override
+    public void event(Event event) throws MailboxException {
+        if (event instanceof Added) {
+            Added added = (Added) event;
+            handleAddedEvent(added, messageIds(added));
+        } else if (event instanceof Expunged) {
+            Expunged expunged = (Expunged) event;
+            handleExpungedEvent(expunged, messageIds(expunged));
+        }
+    }
+
+    private ImmutableSet<MessageId> messageIds(MetaDataHoldingEvent event) {
+        return event.getUids()
+            .stream()
+            .map(event::getMetaData)
+            .map(MessageMetaData::getMessageId)
+            .collect(Guavate.toImmutableSet());
+    }
+
+    private void handleAddedEvent(Added event, ImmutableSet<MessageId> messageIds) throws MailboxException {
+        Map<MessageId, MessageFastViewPrecomputedProperties> alreadyComputed = messageFastViewProjection.retrieve(messageIds).block();
+        List<MessageId> notYetComputed = messageIds.stream()
+            .filter(messageId -> !alreadyComputed.containsKey(messageId))
+            .collect(Guavate.toImmutableList());
+        if (notYetComputed.isEmpty()) {
+            return;
+        }
+
+        MailboxSession session = createMailboxSession(event);
+        Flux.fromIterable(messageIdManager.getMessages(notYetComputed, FetchGroupImpl.FULL_CONTENT, session))
+            .distinct(MessageResult::getMessageId)
+            .flatMap(Throwing.function(this::storePrecomputedProperties).sneakyThrow())
+            .then()
+            .block();
+    }
+
+    private void handleExpungedEvent(Expunged event, ImmutableSet<MessageId> messageIds) throws MailboxException {
+        MailboxSession session = createMailboxSession(event);
+        ImmutableSet<MessageId> remainingMessageIds = messageIdManager.getMessagesHonoringFetchGroup(messageIds.asList(), FetchGroupImpl.MINIMAL, session)
+            .stream()
+            .map(MessageResult::getMessageId)
+            .collect(Guavate.toImmutableSet());
+
+        Flux.fromIterable(messageIds)
+            .filter(messageId -> !remainingMessageIds.contains(messageId))
+            .flatMap(messageFastViewProjection::delete)
+            .then()
+            .block();
+    }
+
+    private Mono<Void> storePrecomputedProperties(MessageResult messageResult) throws MailboxException {
+        MetaDataWithContent message = MetaDataWithContent.builderFromMessageResult(messageResult)
+            .messageId(messageResult.getMessageId())
+            .keywords(Keywords.DEFAULT_VALUE)
+            .build();
+        return messageFastViewProjection.store(message.getMessageId(), messageFactory.computePrecomputedProperties(message));
+    }
+
+    private MailboxSession createMailboxSession(Event event) throws MailboxException {
+        return mailboxManager.createSystemSession(event.getUser().asString());
+    }
+}
@@ -25,15 +25,22 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.james.jmap.draft.DownloadServlet;
 import org.apache.james.jmap.draft.api.SimpleTokenFactory;
+import org.apache.james.jmap.draft.utils.ByteRange;
 import org.apache.james.jmap.draft.utils.DownloadPath;
 import org.apache.james.mailbox.BlobManager;
 import org.apache.james.mailbox.MailboxSession;
 import org.apache.james.mailbox.MailboxSessionUtil;
 import org.apache.james.mailbox.exception.MailboxException;
+import org.apache.james.mailbox.model.Blob;
+import org.apache.james.mailbox.model.BlobId;
 import org.apache.james.metrics.api.NoopMetricFactory;
 import org.junit.Test;
 
@@ -50,8 +57,52 @@ public class DownloadServletTest {
         DownloadServlet testee = new DownloadServlet(mockedBlobManager, nullSimpleTokenFactory, new NoopMetricFactory());
 
         HttpServletResponse resp = mock(HttpServletResponse.class);
-        testee.download(mailboxSession, DownloadPath.from("/blobId"), resp);
+        testee.download(mailboxSession, DownloadPath.from("/blobId"), Optional.empty(), resp);
 
         verify(resp).setStatus(500);
     }
+
+    @Test
+    public void downloadShouldServePartialContentWhenRange() throws Exception {
+        MailboxSession mailboxSession = MailboxSessionUtil.create("User");
+        BlobManager mockedBlobManager = mock(BlobManager.class);
+        when(mockedBlobManager.retrieve(any(), eq(2L), eq(3L), eq(mailboxSession)))
+            .thenReturn(Blob.builder()
+                .id(BlobId.fromString("blobId"))
+                .payload("cde".getBytes(StandardCharsets.UTF_8))
+                .contentType("text/plain")
+                .size(10)
+                .build());
+
+        DownloadServlet testee = new DownloadServlet(mockedBlobManager, null, new NoopMetricFactory());
+
+        HttpServletResponse resp = mock(HttpServletResponse.class);
+        when(resp.getOutputStream()).thenReturn(mock(ServletOutputStream.class));
+        testee.download(mailboxSession, DownloadPath.from("/blobId"), ByteRange.parse("bytes=2-4"), resp);
+
+        verify(resp).setHeader("Content-Range", "bytes 2-4/10");
+        verify(resp).setHeader("Content-Length", "3");
+        verify(resp).setStatus(206);
+    }
+
+    @Test
+    public void downloadShouldRejectRangeStartingAfterContent() throws Exception {
+        MailboxSession mailboxSession = MailboxSessionUtil.create("User");
+        BlobManager mockedBlobManager = mock(BlobManager.class);
+        when(mockedBlobManager.retrieve(any(), eq(12L), eq(Long.MAX_VALUE), eq(mailboxSession)))
+            .thenReturn(Blob.builder()
+                .id(BlobId.fromString("blobId"))
+                .payload(new byte[0])
+                .contentType("text/plain")
+                .size(10)
+                .build());
+
+        DownloadServlet testee = new DownloadServlet(mockedBlobManager, null, new NoopMetricFactory());
+
+        HttpServletResponse resp = mock(HttpServletResponse.class);
+        testee.download(mailboxSession, DownloadPath.from("/blobId"), ByteRange.parse("bytes=12-"), resp);
+
+        verify(resp).setHeader("Content-Range", "bytes */10");
+        verify(resp).setStatus(416);
+    }
 }
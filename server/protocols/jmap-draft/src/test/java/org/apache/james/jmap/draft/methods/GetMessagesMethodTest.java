@@ -36,6 +36,8 @@ import javax.mail.Flags.Flag;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.james.core.User;
+import org.apache.james.jmap.api.projections.MessageFastViewPrecomputedProperties;
+import org.apache.james.jmap.api.projections.Preview;
 import org.apache.james.jmap.draft.model.MethodCallId;
 import org.apache.james.jmap.draft.model.GetMessagesRequest;
 import org.apache.james.jmap.draft.model.GetMessagesResponse;
@@ -45,6 +47,7 @@ import org.apache.james.jmap.draft.model.MessagePreviewGenerator;
 import org.apache.james.jmap.draft.model.MessageProperties.MessageProperty;
 import org.apache.james.jmap.draft.utils.HtmlTextExtractor;
 import org.apache.james.jmap.draft.utils.JsoupHtmlTextExtractor;
+import org.apache.james.jmap.memory.projections.MemoryMessageFastViewProjection;
 import org.apache.james.mailbox.BlobManager;
 import org.apache.james.mailbox.FlagsBuilder;
 import org.apache.james.mailbox.MailboxSession;
@@ -85,6 +88,7 @@ public class GetMessagesMethodTest {
     private static final User ROBERT = User.fromUsername("robert");
 
     private MessageIdManager messageIdManager;
+    private MemoryMessageFastViewProjection messageFastViewProjection;
     private org.apache.james.mime4j.dom.Message messageContent1;
     private org.apache.james.mime4j.dom.Message messageContent2;
     private org.apache.james.mime4j.dom.Message messageContent3;
@@ -98,6 +102,7 @@ public class GetMessagesMethodTest {
     @Before
     public void setup() throws Exception {
         methodCallId = MethodCallId.of("#0");
+        messageFastViewProjection = new MemoryMessageFastViewProjection();
         HtmlTextExtractor htmlTextExtractor = new JsoupHtmlTextExtractor();
         MessagePreviewGenerator messagePreview = new MessagePreviewGenerator();
         MessageContentExtractor messageContentExtractor = new MessageContentExtractor();
@@ -113,7 +118,7 @@ public class GetMessagesMethodTest {
         mailboxManager.createMailbox(inboxPath, session);
         mailboxManager.createMailbox(customMailboxPath, session);
         messageIdManager = resources.getMessageIdManager();
-        testee = new GetMessagesMethod(messageFactory, messageIdManager, new DefaultMetricFactory());
+        testee = new GetMessagesMethod(messageFactory, messageIdManager, messageFastViewProjection, new DefaultMetricFactory());
 
         messageContent1 = org.apache.james.mime4j.dom.Message.Builder.of()
             .setSubject("message 1 subject")
@@ -463,7 +468,7 @@ public class GetMessagesMethodTest {
     @Test
     public void processShouldNotFailOnSingleMessageFailure() throws Exception {
         MessageFactory messageFactory = mock(MessageFactory.class);
-        testee = new GetMessagesMethod(messageFactory, messageIdManager, new DefaultMetricFactory());
+        testee = new GetMessagesMethod(messageFactory, messageIdManager, messageFastViewProjection, new DefaultMetricFactory());
         MessageManager inbox = mailboxManager.getMailbox(inboxPath, session);
 
         org.apache.james.mime4j.dom.Message messageContent = org.apache.james.mime4j.dom.Message.Builder.of()
@@ -634,4 +639,105 @@ public class GetMessagesMethodTest {
                             FORWARDED, true)));
     }
 
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void processShouldServePrecomputedPropertiesWhenOnlyFastViewPropertiesAreRequested() throws Exception {
+        MessageManager inbox = mailboxManager.getMailbox(inboxPath, session);
+        ComposedMessageId message1 = inbox.appendMessage(AppendCommand.from(messageContent1), session);
+        messageFastViewProjection.store(message1.getMessageId(),
+            MessageFastViewPrecomputedProperties.of(Preview.from("precomputed preview"), true)).block();
+
+        GetMessagesRequest request = GetMessagesRequest.builder()
+            .ids(ImmutableList.of(message1.getMessageId()))
+            .properties(ImmutableList.of(MessageProperty.subject.asFieldName(), MessageProperty.preview.asFieldName(), MessageProperty.hasAttachment.asFieldName()))
+            .build();
+
+        List<JmapResponse> result = testee.process(request, methodCallId, session).collect(Collectors.toList());
+
+        assertThat(result).hasSize(1)
+            .extracting(JmapResponse::getResponse)
+            .hasOnlyElementsOfType(GetMessagesResponse.class)
+            .extracting(GetMessagesResponse.class::cast)
+            .flatExtracting(GetMessagesResponse::list)
+            .extracting(Message::getId, Message::getSubject, Message::getPreview, Message::isHasAttachment)
+            .containsOnly(Tuple.tuple(message1.getMessageId(), "message 1 subject", "precomputed preview", true));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void processShouldComputePreviewWhenNoPrecomputedProperties() throws Exception {
+        MessageManager inbox = mailboxManager.getMailbox(inboxPath, session);
+        ComposedMessageId message1 = inbox.appendMessage(AppendCommand.from(messageContent1), session);
+        ComposedMessageId message2 = inbox.appendMessage(AppendCommand.from(messageContent2), session);
+        messageFastViewProjection.store(message1.getMessageId(),
+            MessageFastViewPrecomputedProperties.of(Preview.from("precomputed preview"), false)).block();
+
+        GetMessagesRequest request = GetMessagesRequest.builder()
+            .ids(ImmutableList.of(message1.getMessageId(), message2.getMessageId()))
+            .properties(ImmutableList.of(MessageProperty.subject.asFieldName(), MessageProperty.preview.asFieldName()))
+            .build();
+
+        List<JmapResponse> result = testee.process(request, methodCallId, session).collect(Collectors.toList());
+
+        assertThat(result).hasSize(1)
+            .extracting(JmapResponse::getResponse)
+            .hasOnlyElementsOfType(GetMessagesResponse.class)
+            .extracting(GetMessagesResponse.class::cast)
+            .flatExtracting(GetMessagesResponse::list)
+            .extracting(Message::getId, Message::getSubject, Message::getPreview)
+            .containsOnly(
+                Tuple.tuple(message1.getMessageId(), "message 1 subject", "precomputed preview"),
+                Tuple.tuple(message2.getMessageId(), "message 2 subject", "my message"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void processShouldKeepRequestedOrderWhenMixingPrecomputedAndComputedPreviews() throws Exception {
+        MessageManager inbox = mailboxManager.getMailbox(inboxPath, session);
+        ComposedMessageId message1 = inbox.appendMessage(AppendCommand.from(messageContent1), session);
+        ComposedMessageId message2 = inbox.appendMessage(AppendCommand.from(messageContent2), session);
+        ComposedMessageId message3 = inbox.appendMessage(AppendCommand.from(messageContent3), session);
+        messageFastViewProjection.store(message2.getMessageId(),
+            MessageFastViewPrecomputedProperties.of(Preview.from("precomputed preview"), false)).block();
+
+        GetMessagesRequest request = GetMessagesRequest.builder()
+            .ids(ImmutableList.of(message3.getMessageId(), message1.getMessageId(), message2.getMessageId()))
+            .properties(ImmutableList.of(MessageProperty.subject.asFieldName(), MessageProperty.preview.asFieldName()))
+            .build();
+
+        List<JmapResponse> result = testee.process(request, methodCallId, session).collect(Collectors.toList());
+
+        assertThat(result).hasSize(1)
+            .extracting(JmapResponse::getResponse)
+            .hasOnlyElementsOfType(GetMessagesResponse.class)
+            .extracting(GetMessagesResponse.class::cast)
+            .flatExtracting(GetMessagesResponse::list)
+            .extracting(Message::getId)
+            .containsExactly(message3.getMessageId(), message1.getMessageId(), message2.getMessageId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void processShouldNotServePrecomputedPropertiesWhenBodyIsRequested() throws Exception {
+        MessageManager inbox = mailboxManager.getMailbox(inboxPath, session);
+        ComposedMessageId message1 = inbox.appendMessage(AppendCommand.from(messageContent1), session);
+        messageFastViewProjection.store(message1.getMessageId(),
+            MessageFastViewPrecomputedProperties.of(Preview.from("precomputed preview"), false)).block();
+
+        GetMessagesRequest request = GetMessagesRequest.builder()
+            .ids(ImmutableList.of(message1.getMessageId()))
+            .properties(ImmutableList.of(MessageProperty.preview.asFieldName(), MessageProperty.textBody.asFieldName()))
+            .build();
+
+        List<JmapResponse> result = testee.process(request, methodCallId, session).collect(Collectors.toList());
+
+        assertThat(result).hasSize(1)
+            .extracting(JmapResponse::getResponse)
+            .hasOnlyElementsOfType(GetMessagesResponse.class)
+            .extracting(GetMessagesResponse.class::cast)
+            .flatExtracting(GetMessagesResponse::list)
+            .extracting(Message::getPreview, Message::getTextBody)
+            .containsOnly(Tuple.tuple("my message", Optional.of("my message")));
+    }
 }
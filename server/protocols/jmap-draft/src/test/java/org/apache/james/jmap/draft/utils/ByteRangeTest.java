@@ -0,0 +1,73 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.jmap.draft.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class ByteRangeTest {
+
+    @Test
+    public void parseShouldReturnEmptyWhenNoHeader() {
+        assertThat(ByteRange.parse(null)).isEmpty();
+    }
+
+    @Test
+    public void parseShouldReturnEmptyWhenNotBytes() {
+        assertThat(ByteRange.parse("items=0-10")).isEmpty();
+    }
+
+    @Test
+    public void parseShouldReturnEmptyWhenSuffixRange() {
+        assertThat(ByteRange.parse("bytes=-500")).isEmpty();
+    }
+
+    @Test
+    public void parseShouldReturnEmptyWhenMultipleRanges() {
+        assertThat(ByteRange.parse("bytes=0-10,20-30")).isEmpty();
+    }
+
+    @Test
+    public void parseShouldReturnEmptyWhenLastIsBeforeFirst() {
+        assertThat(ByteRange.parse("bytes=10-5")).isEmpty();
+    }
+
+    @Test
+    public void parseShouldReturnEmptyWhenOverflowing() {
+        assertThat(ByteRange.parse("bytes=99999999999999999999-")).isEmpty();
+    }
+
+    @Test
+    public void parseShouldReadBoundedRange() {
+        ByteRange byteRange = ByteRange.parse("bytes=10-19").get();
+
+        assertThat(byteRange.getFirst()).isEqualTo(10L);
+        assertThat(byteRange.getLength()).isEqualTo(10L);
+    }
+
+    @Test
+    public void parseShouldReadOpenEndedRange() {
+        ByteRange byteRange = ByteRange.parse("bytes=10-").get();
+
+        assertThat(byteRange.getFirst()).isEqualTo(10L);
+        assertThat(byteRange.getLength()).isEqualTo(Long.MAX_VALUE);
+    }
+}
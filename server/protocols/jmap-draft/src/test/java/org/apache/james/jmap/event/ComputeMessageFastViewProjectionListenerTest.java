@@ -0,0 +1,153 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.jmap.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Duration.ONE_HUNDRED_MILLISECONDS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.james.jmap.api.projections.MessageFastViewPrecomputedProperties;
+import org.apache.james.jmap.api.projections.Preview;
+import org.apache.james.jmap.draft.model.MessageFactory;
+import org.apache.james.jmap.draft.model.MessagePreviewGenerator;
+import org.apache.james.jmap.draft.utils.JsoupHtmlTextExtractor;
+import org.apache.james.jmap.memory.projections.MemoryMessageFastViewProjection;
+import org.apache.james.mailbox.BlobManager;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MailboxSessionUtil;
+import org.apache.james.mailbox.MessageIdManager;
+import org.apache.james.mailbox.MessageManager.AppendCommand;
+import org.apache.james.mailbox.events.Group;
+import org.apache.james.mailbox.events.MailboxListener;
+import org.apache.james.mailbox.inmemory.manager.InMemoryIntegrationResources;
+import org.apache.james.mailbox.model.BlobId;
+import org.apache.james.mailbox.model.ComposedMessageId;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.mailbox.store.StoreMailboxManager;
+import org.apache.james.mime4j.dom.Message;
+import org.apache.james.util.mime.MessageContentExtractor;
+import org.awaitility.Awaitility;
+import org.awaitility.Duration;
+import org.awaitility.core.ConditionFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class ComputeMessageFastViewProjectionListenerTest {
+    private static final String USER = "user";
+    private static final MailboxPath INBOX = MailboxPath.forUser(USER, "INBOX");
+    private static final MailboxPath OTHER_MAILBOX = MailboxPath.forUser(USER, "other");
+    private static final ConditionFactory AWAIT = Awaitility
+        .with().pollInterval(ONE_HUNDRED_MILLISECONDS)
+        .atMost(Duration.FIVE_SECONDS)
+        .await();
+
+    private StoreMailboxManager mailboxManager;
+    private MessageIdManager messageIdManager;
+    private MemoryMessageFastViewProjection messageFastViewProjection;
+    private ComputeMessageFastViewProjectionListener testee;
+    private MailboxSession mailboxSession;
+    private MailboxId inboxId;
+    private MailboxId otherMailboxId;
+
+    @Before
+    public void setup() throws Exception {
+        InMemoryIntegrationResources resources = InMemoryIntegrationResources.defaultResources();
+        mailboxManager = resources.getMailboxManager();
+        messageIdManager = resources.getMessageIdManager();
+        messageFastViewProjection = new MemoryMessageFastViewProjection();
+        BlobManager blobManager = mock(BlobManager.class);
+        when(blobManager.toBlobId(any(MessageId.class))).thenReturn(BlobId.fromString("fake"));
+        MessageFactory messageFactory = new MessageFactory(blobManager, new MessagePreviewGenerator(),
+            new MessageContentExtractor(), new JsoupHtmlTextExtractor());
+
+        testee = new ComputeMessageFastViewProjectionListener(mailboxManager, messageIdManager, messageFastViewProjection, messageFactory);
+        mailboxManager.getEventBus().register(testee);
+
+        mailboxSession = MailboxSessionUtil.create(USER);
+        inboxId = mailboxManager.createMailbox(INBOX, mailboxSession).get();
+        otherMailboxId = mailboxManager.createMailbox(OTHER_MAILBOX, mailboxSession).get();
+    }
+
+    @Test
+    public void deserializeComputeMessageFastViewProjectionListenerGroup() throws Exception {
+        assertThat(Group.deserialize("org.apache.james.jmap.event.ComputeMessageFastViewProjectionListener$ComputeMessageFastViewProjectionListenerGroup"))
+            .isEqualTo(new ComputeMessageFastViewProjectionListener.ComputeMessageFastViewProjectionListenerGroup());
+    }
+
+    @Test
+    public void getExecutionModeShouldReturnAsynchronous() {
+        assertThat(testee.getExecutionMode()).isEqualTo(MailboxListener.ExecutionMode.ASYNCHRONOUS);
+    }
+
+    @Test
+    public void appendShouldStorePrecomputedProperties() throws Exception {
+        MessageId messageId = appendMessage("my message");
+
+        AWAIT.untilAsserted(() -> assertThat(messageFastViewProjection.retrieve(messageId).block())
+            .isEqualTo(MessageFastViewPrecomputedProperties.of(Preview.from("my message"), false)));
+    }
+
+    @Test
+    public void appendShouldStoreEmptyPreviewWhenNoBody() throws Exception {
+        MessageId messageId = appendMessage("");
+
+        AWAIT.untilAsserted(() -> assertThat(messageFastViewProjection.retrieve(messageId).block())
+            .isEqualTo(MessageFastViewPrecomputedProperties.of(Preview.from(MessagePreviewGenerator.NO_BODY), false)));
+    }
+
+    @Test
+    public void expungeShouldDeletePrecomputedPropertiesWhenMessageIsNoLongerInAnyMailbox() throws Exception {
+        MessageId messageId = appendMessage("my message");
+        AWAIT.untilAsserted(() -> assertThat(messageFastViewProjection.retrieve(messageId).blockOptional()).isPresent());
+
+        messageIdManager.delete(messageId, ImmutableList.of(inboxId), mailboxSession);
+
+        AWAIT.untilAsserted(() -> assertThat(messageFastViewProjection.retrieve(messageId).blockOptional()).isEmpty());
+    }
+
+    @Test
+    public void expungeShouldKeepPrecomputedPropertiesWhenMessageIsStillInAnotherMailbox() throws Exception {
+        MessageId messageId = appendMessage("my message");
+        messageIdManager.setInMailboxes(messageId, ImmutableList.of(inboxId, otherMailboxId), mailboxSession);
+        AWAIT.untilAsserted(() -> assertThat(messageFastViewProjection.retrieve(messageId).blockOptional()).isPresent());
+
+        messageIdManager.delete(messageId, ImmutableList.of(inboxId), mailboxSession);
+
+        Thread.sleep(ONE_HUNDRED_MILLISECONDS.getValueInMS() * 5);
+        assertThat(messageFastViewProjection.retrieve(messageId).blockOptional()).isPresent();
+    }
+
+    private MessageId appendMessage(String body) throws Exception {
+        ComposedMessageId composedMessageId = mailboxManager.getMailbox(inboxId, mailboxSession)
+            .appendMessage(AppendCommand.from(Message.Builder.of()
+                    .setSubject("subject")
+                    .setBody(body, StandardCharsets.UTF_8)),
+                mailboxSession);
+        return composedMessageId.getMessageId();
+    }
+}
@@ -61,6 +61,13 @@ public class ChannelImapResponseWriter implements ImapResponseWriter {
         }
     }
 
+    @Override
+    public void write(byte[] buffer, int offset, int length) throws IOException {
+        if (channel.isConnected()) {
+            channel.write(ChannelBuffers.wrappedBuffer(buffer, offset, length));
+        }
+    }
+
     @Override
     public void write(Literal literal) throws IOException {
         if (channel.isConnected()) {
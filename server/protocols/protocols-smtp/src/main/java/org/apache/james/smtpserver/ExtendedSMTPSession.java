@@ -21,6 +21,7 @@ package org.apache.james.smtpserver;
 import org.apache.james.protocols.api.ProtocolTransport;
 import org.apache.james.protocols.smtp.SMTPConfiguration;
 import org.apache.james.protocols.smtp.SMTPSession;
+import org.apache.james.server.core.MessageBufferFactory;
 import org.apache.james.smtpserver.netty.SMTPServer.SMTPHandlerConfigurationDataImpl;
 
 /**
@@ -38,4 +39,11 @@ public class ExtendedSMTPSession extends org.apache.james.protocols.smtp.SMTPSes
     public boolean verifyIdentity() {
         return !(smtpConfiguration instanceof SMTPHandlerConfigurationDataImpl) || ((SMTPHandlerConfigurationDataImpl) smtpConfiguration).verifyIdentity();
     }
+
+    public MessageBufferFactory getMessageBufferFactory() {
+        if (smtpConfiguration instanceof SMTPHandlerConfigurationDataImpl) {
+            return ((SMTPHandlerConfigurationDataImpl) smtpConfiguration).getMessageBufferFactory();
+        }
+        return MessageBufferFactory.DEFAULT;
+    }
 }
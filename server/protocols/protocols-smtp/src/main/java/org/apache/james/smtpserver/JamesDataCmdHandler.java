@@ -27,6 +27,7 @@ import org.apache.james.protocols.smtp.SMTPRetCode;
 import org.apache.james.protocols.smtp.SMTPSession;
 import org.apache.james.protocols.smtp.core.DataCmdHandler;
 import org.apache.james.server.core.MailImpl;
+import org.apache.james.server.core.MessageBufferFactory;
 import org.apache.james.server.core.MimeMessageInputStreamSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,7 +53,7 @@ public class JamesDataCmdHandler extends DataCmdHandler {
     @Override
     protected SMTPResponse doDATA(SMTPSession session, String argument) {
         try {
-            MimeMessageInputStreamSource mmiss = new MimeMessageInputStreamSource(MailImpl.getId());
+            MimeMessageInputStreamSource mmiss = new MimeMessageInputStreamSource(MailImpl.getId(), messageBufferFactory(session));
             session.setAttachment(SMTPConstants.DATA_MIMEMESSAGE_STREAMSOURCE, mmiss, State.Transaction);
         } catch (Exception e) {
             LOGGER.warn("Error creating mimemessagesource for incoming data", e);
@@ -65,4 +66,11 @@ public class JamesDataCmdHandler extends DataCmdHandler {
         return new SMTPResponse(SMTPRetCode.DATA_READY, "Ok Send data ending with <CRLF>.<CRLF>");
     }
 
+    private MessageBufferFactory messageBufferFactory(SMTPSession session) {
+        if (session instanceof ExtendedSMTPSession) {
+            return ((ExtendedSMTPSession) session).getMessageBufferFactory();
+        }
+        return MessageBufferFactory.DEFAULT;
+    }
+
 }
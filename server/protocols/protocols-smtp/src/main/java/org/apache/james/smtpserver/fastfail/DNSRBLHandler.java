@@ -32,6 +32,8 @@ import org.apache.commons.configuration2.tree.ImmutableNode;
 import org.apache.james.dnsservice.api.DNSService;
 import org.apache.james.protocols.api.handler.ProtocolHandler;
 
+import reactor.core.publisher.Mono;
+
 public class DNSRBLHandler extends org.apache.james.protocols.smtp.core.fastfail.DNSRBLHandler implements ProtocolHandler {
 
     private DNSService dns;
@@ -82,4 +84,16 @@ public class DNSRBLHandler extends org.apache.james.protocols.smtp.core.fastfail
     protected Collection<String> resolveTXTRecords(String ip) {
         return dns.findTXTRecords(ip);
     }
+
+    @Override
+    protected Mono<Boolean> resolveReactive(String ip) {
+        return dns.getByNameReactive(ip)
+            .map(any -> true)
+            .onErrorResume(UnknownHostException.class, e -> Mono.just(false));
+    }
+
+    @Override
+    protected Mono<Collection<String>> resolveTXTRecordsReactive(String ip) {
+        return dns.findTXTRecordsReactive(ip);
+    }
 }
@@ -23,7 +23,7 @@ import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.Optional;
 
 import javax.inject.Inject;
 import javax.mail.MessagingException;
@@ -46,6 +46,11 @@ import org.apache.mailet.Mail;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.steveash.guavate.Guavate;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 /**
  * Extract domains from message and check against URIRBLServer. For more
  * information see <a href="http://www.surbl.org">www.surbl.org</a>
@@ -59,6 +64,16 @@ public class URIRBLHandler implements JamesMessageHook, ProtocolHandler {
 
     private static final String URBLSERVER = "URBL_SERVER";
 
+    private static class Listing {
+        private final String domain;
+        private final String uRblServer;
+
+        private Listing(String domain, String uRblServer) {
+            this.domain = domain;
+            this.uRblServer = uRblServer;
+        }
+    }
+
     private DNSService dnsService;
 
     private Collection<String> uriRbl;
@@ -194,36 +209,40 @@ public class URIRBLHandler implements JamesMessageHook, ProtocolHandler {
 
             HashSet<String> domains = scanMailForDomains(message, session);
 
-            for (String domain : domains) {
-                Iterator<String> uRbl = uriRbl.iterator();
-                String target = domain;
-
-                while (uRbl.hasNext()) {
-                    try {
-                        String uRblServer = uRbl.next();
-                        String address = target + "." + uRblServer;
-
-                        LOGGER.debug("Lookup {}", address);
-
-                        dnsService.getByName(address);
-
-                        // store server name for later use
-                        session.setAttachment(URBLSERVER, uRblServer, State.Transaction);
-                        session.setAttachment(LISTED_DOMAIN, target, State.Transaction);
-
-                        return true;
-
-                    } catch (UnknownHostException uhe) {
-                        // domain not found. keep processing
-                    }
-                }
-            }
+            // All the lookups are fired in parallel, the first listing in domain then server order wins
+            Optional<Listing> listing = Flux.fromIterable(domains)
+                .flatMapIterable(domain -> uriRbl.stream()
+                    .map(uRblServer -> new Listing(domain, uRblServer))
+                    .collect(Guavate.toImmutableList()))
+                .flatMapSequential(candidate -> isListed(candidate)
+                    .filter(listed -> listed)
+                    .map(listed -> candidate))
+                .next()
+                .blockOptional();
+
+            listing.ifPresent(found -> {
+                // store server name for later use
+                session.setAttachment(URBLSERVER, found.uRblServer, State.Transaction);
+                session.setAttachment(LISTED_DOMAIN, found.domain, State.Transaction);
+            });
+            return listing.isPresent();
         } catch (MessagingException | IOException e) {
             LOGGER.error(e.getMessage());
         }
         return false;
     }
 
+    private Mono<Boolean> isListed(Listing candidate) {
+        String address = candidate.domain + "." + candidate.uRblServer;
+
+        LOGGER.debug("Lookup {}", address);
+
+        return dnsService.getByNameReactive(address)
+            .map(any -> true)
+            // domain not found. keep processing
+            .onErrorResume(UnknownHostException.class, e -> Mono.just(false));
+    }
+
     @Override
     public void init(Configuration config) throws ConfigurationException {
         String[] servers = config.getStringArray("uriRblServers.server");
@@ -18,6 +18,7 @@
  ****************************************************************/
 package org.apache.james.smtpserver.netty;
 
+import java.io.File;
 import java.util.Locale;
 
 import javax.inject.Inject;
@@ -25,8 +26,11 @@ import javax.inject.Inject;
 import org.apache.commons.configuration2.HierarchicalConfiguration;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.apache.commons.io.FileUtils;
 import org.apache.james.dnsservice.api.DNSService;
 import org.apache.james.dnsservice.library.netmatcher.NetMatcher;
+import org.apache.james.metrics.api.MetricFactory;
+import org.apache.james.metrics.api.NoopMetricFactory;
 import org.apache.james.protocols.api.ProtocolSession;
 import org.apache.james.protocols.api.ProtocolTransport;
 import org.apache.james.protocols.lib.handler.HandlersPackage;
@@ -36,9 +40,12 @@ import org.apache.james.protocols.netty.ChannelHandlerFactory;
 import org.apache.james.protocols.smtp.AllButStartTlsLineChannelHandlerFactory;
 import org.apache.james.protocols.smtp.SMTPConfiguration;
 import org.apache.james.protocols.smtp.SMTPProtocol;
+import org.apache.james.server.core.MessageBufferFactory;
+import org.apache.james.server.core.MessageBufferingConfiguration;
 import org.apache.james.smtpserver.CoreCmdHandlerLoader;
 import org.apache.james.smtpserver.ExtendedSMTPSession;
 import org.apache.james.smtpserver.jmx.JMXHandlersLoader;
+import org.apache.james.util.Size;
 import org.jboss.netty.channel.ChannelUpstreamHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -91,6 +98,13 @@ public class SMTPServer extends AbstractProtocolAsyncServer implements SMTPServe
 
     private DNSService dns;
     private String authorizedAddresses;
+
+    /**
+     * The buffering of the incoming messages
+     */
+    private MetricFactory metricFactory = new NoopMetricFactory();
+    private MessageBufferingConfiguration messageBufferingConfiguration = MessageBufferingConfiguration.DEFAULT;
+    private MessageBufferFactory messageBufferFactory = MessageBufferFactory.DEFAULT;
     
     private SMTPChannelUpstreamHandler coreHandler;
 
@@ -102,6 +116,11 @@ public class SMTPServer extends AbstractProtocolAsyncServer implements SMTPServe
     public void setDnsService(DNSService dns) {
         this.dns = dns;
     }
+
+    @Inject
+    public void setMetricFactory(MetricFactory metricFactory) {
+        this.metricFactory = metricFactory;
+    }
     
     @Override
     protected void preInit() throws Exception {
@@ -115,6 +134,8 @@ public class SMTPServer extends AbstractProtocolAsyncServer implements SMTPServe
             }
             authorizedNetworks = new NetMatcher(networks, dns);
         }
+        FileUtils.forceMkdir(messageBufferingConfiguration.getSpillDirectory());
+        messageBufferFactory = new MessageBufferFactory(messageBufferingConfiguration, metricFactory);
         SMTPProtocol transport = new SMTPProtocol(getProtocolHandlerChain(), theConfigData) {
 
             @Override
@@ -189,6 +210,33 @@ public class SMTPServer extends AbstractProtocolAsyncServer implements SMTPServe
 
             verifyIdentity = configuration.getBoolean("verifyIdentity", true);
 
+            messageBufferingConfiguration = parseMessageBuffering(configuration);
+            LOGGER.info("Incoming messages are buffered with {}", messageBufferingConfiguration);
+        }
+    }
+
+    private MessageBufferingConfiguration parseMessageBuffering(HierarchicalConfiguration<ImmutableNode> configuration) throws ConfigurationException {
+        try {
+            MessageBufferingConfiguration.Builder builder = MessageBufferingConfiguration.builder();
+            String threshold = configuration.getString("messageBuffering.threshold", null);
+            if (threshold != null) {
+                builder.threshold(Math.toIntExact(Size.parse(threshold).asBytes()));
+            }
+            String chunkSize = configuration.getString("messageBuffering.chunkSize", null);
+            if (chunkSize != null) {
+                builder.chunkSize(Math.toIntExact(Size.parse(chunkSize).asBytes()));
+            }
+            if (configuration.containsKey("messageBuffering.maxPooledChunks")) {
+                builder.maxPooledChunks(configuration.getInt("messageBuffering.maxPooledChunks"));
+            }
+            String spillDirectory = configuration.getString("messageBuffering.spillDirectory", null);
+            if (spillDirectory != null) {
+                builder.spillDirectory(new File(spillDirectory));
+            }
+            builder.memoryMappedSpill(configuration.getBoolean("messageBuffering.memoryMappedSpill", MessageBufferingConfiguration.DEFAULT_MEMORY_MAPPED_SPILL));
+            return builder.build();
+        } catch (Exception e) {
+            throw new ConfigurationException("Invalid messageBuffering configuration", e);
         }
     }
 
@@ -268,6 +316,15 @@ public class SMTPServer extends AbstractProtocolAsyncServer implements SMTPServe
             return SMTPServer.this.verifyIdentity;
         }
 
+        /**
+         * Return the factory of the buffers holding incoming messages
+         *
+         * @return messageBufferFactory
+         */
+        public MessageBufferFactory getMessageBufferFactory() {
+            return SMTPServer.this.messageBufferFactory;
+        }
+
         @Override
         public String getGreeting() {
             return SMTPServer.this.smtpGreeting;
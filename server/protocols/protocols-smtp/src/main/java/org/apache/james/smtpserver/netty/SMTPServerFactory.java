@@ -40,6 +40,7 @@ public class SMTPServerFactory extends AbstractServerFactory {
     protected final ProtocolHandlerLoader loader;
     protected final FileSystem fileSystem;
     protected final SmtpMetricsImpl smtpMetrics;
+    protected final MetricFactory metricFactory;
     private final HashedWheelTimer hashedWheelTimer;
 
     @Inject
@@ -49,6 +50,7 @@ public class SMTPServerFactory extends AbstractServerFactory {
         this.loader = loader;
         this.fileSystem = fileSystem;
         this.smtpMetrics = new SmtpMetricsImpl(metricFactory);
+        this.metricFactory = metricFactory;
         this.hashedWheelTimer = hashedWheelTimer;
     }
 
@@ -65,6 +67,7 @@ public class SMTPServerFactory extends AbstractServerFactory {
         for (HierarchicalConfiguration<ImmutableNode> serverConfig: configs) {
             SMTPServer server = createServer();
             server.setDnsService(dns);
+            server.setMetricFactory(metricFactory);
             server.setProtocolHandlerLoader(loader);
             server.setFileSystem(fileSystem);
             server.setHashWheelTimer(hashedWheelTimer);
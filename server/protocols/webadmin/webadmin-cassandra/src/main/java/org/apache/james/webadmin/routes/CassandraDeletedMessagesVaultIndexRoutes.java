@@ -0,0 +1,110 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.webadmin.routes;
+
+import javax.inject.Inject;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+import org.apache.james.task.TaskId;
+import org.apache.james.task.TaskManager;
+import org.apache.james.vault.metadata.MetadataIndexBackfillTask;
+import org.apache.james.vault.metadata.MetadataIndexBackfillTaskRunner;
+import org.apache.james.webadmin.Constants;
+import org.apache.james.webadmin.Routes;
+import org.apache.james.webadmin.dto.TaskIdDto;
+import org.apache.james.webadmin.utils.ErrorResponder;
+import org.apache.james.webadmin.utils.ErrorResponder.ErrorType;
+import org.apache.james.webadmin.utils.JsonTransformer;
+import org.eclipse.jetty.http.HttpStatus;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import io.swagger.annotations.ResponseHeader;
+import spark.Request;
+import spark.Response;
+import spark.Service;
+
+@Api(tags = "Cassandra Deleted Messages Vault Index Operations")
+@Path(CassandraDeletedMessagesVaultIndexRoutes.BASE)
+@Produces(Constants.JSON_CONTENT_TYPE)
+public class CassandraDeletedMessagesVaultIndexRoutes implements Routes {
+    public static final String BASE = "/cassandra/deletedMessages/index";
+    private static final String BACKFILL = "Backfill";
+
+    private final MetadataIndexBackfillTaskRunner taskRunner;
+    private final TaskManager taskManager;
+    private final JsonTransformer jsonTransformer;
+
+    @Inject
+    CassandraDeletedMessagesVaultIndexRoutes(MetadataIndexBackfillTaskRunner taskRunner, TaskManager taskManager, JsonTransformer jsonTransformer) {
+        this.taskRunner = taskRunner;
+        this.taskManager = taskManager;
+        this.jsonTransformer = jsonTransformer;
+    }
+
+    @Override
+    public String getBasePath() {
+        return BASE;
+    }
+
+    @Override
+    public void define(Service service) {
+        service.post(BASE, this::performActionOnIndex, jsonTransformer);
+    }
+
+    @POST
+    @ApiOperation(value = "Performing operations on the index of the deleted messages vault metadata")
+    @ApiImplicitParams({
+        @ApiImplicitParam(
+            required = true,
+            dataType = "String",
+            name = "action",
+            paramType = "query",
+            example = "?action=Backfill",
+            value = "Specify the action to perform on the index. 'Backfill' indexes the deleted messages of every user, "
+                + "including the ones stored before the index existed."),
+    })
+    @ApiResponses(value = {
+        @ApiResponse(code = HttpStatus.CREATED_201, message = "The taskId of the given scheduled task", response = TaskIdDto.class,
+            responseHeaders = {
+                @ResponseHeader(name = "Location", description = "URL of the resource associated with the scheduled task")
+            }),
+        @ApiResponse(code = HttpStatus.BAD_REQUEST_400, message = "Invalid action argument for performing operation on the index")
+    })
+    public TaskIdDto performActionOnIndex(Request request, Response response) {
+        String action = request.queryParams("action");
+        if (BACKFILL.equals(action)) {
+            TaskId taskId = taskManager.submit(new MetadataIndexBackfillTask(taskRunner));
+            return TaskIdDto.respond(response, taskId);
+        }
+        throw ErrorResponder.builder()
+            .statusCode(HttpStatus.BAD_REQUEST_400)
+            .type(ErrorType.INVALID_ARGUMENT)
+            .message("Invalid action argument for performing operation on the deleted messages vault index. Supported actions: "
+                + BACKFILL)
+            .haltError();
+    }
+}
@@ -0,0 +1,150 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.webadmin.routes;
+
+import java.util.Optional;
+
+import javax.inject.Inject;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+import org.apache.james.mailbox.cassandra.mail.task.MailboxUsageSolveInconsistenciesTask;
+import org.apache.james.mailbox.cassandra.mail.task.MailboxUsageSolveInconsistenciesTaskRunner;
+import org.apache.james.mailbox.cassandra.mail.task.RecomputeCurrentQuotasTask;
+import org.apache.james.mailbox.cassandra.mail.task.RecomputeCurrentQuotasTaskRunner;
+import org.apache.james.task.TaskId;
+import org.apache.james.task.TaskManager;
+import org.apache.james.webadmin.Constants;
+import org.apache.james.webadmin.Routes;
+import org.apache.james.webadmin.dto.TaskIdDto;
+import org.apache.james.webadmin.utils.ErrorResponder;
+import org.apache.james.webadmin.utils.ErrorResponder.ErrorType;
+import org.apache.james.webadmin.utils.JsonTransformer;
+import org.eclipse.jetty.http.HttpStatus;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import io.swagger.annotations.ResponseHeader;
+import spark.Request;
+import spark.Response;
+import spark.Service;
+
+@Api(tags = "Cassandra Mailbox Usage Operations")
+@Path(CassandraMailboxUsageRoutes.BASE)
+@Produces(Constants.JSON_CONTENT_TYPE)
+public class CassandraMailboxUsageRoutes implements Routes {
+    public static final String BASE = "/cassandra/mailbox/usage";
+    private static final String SOLVE_INCONSISTENCIES = "SolveInconsistencies";
+    private static final String RECOMPUTE_CURRENT_QUOTAS = "RecomputeCurrentQuotas";
+    private static final String USERS_PER_SECOND_QUERY_PARAM = "usersPerSecond";
+
+    private final MailboxUsageSolveInconsistenciesTaskRunner taskRunner;
+    private final RecomputeCurrentQuotasTaskRunner recomputeCurrentQuotasTaskRunner;
+    private final TaskManager taskManager;
+    private final JsonTransformer jsonTransformer;
+
+    @Inject
+    CassandraMailboxUsageRoutes(MailboxUsageSolveInconsistenciesTaskRunner taskRunner, RecomputeCurrentQuotasTaskRunner recomputeCurrentQuotasTaskRunner,
+                                TaskManager taskManager, JsonTransformer jsonTransformer) {
+        this.taskRunner = taskRunner;
+        this.recomputeCurrentQuotasTaskRunner = recomputeCurrentQuotasTaskRunner;
+        this.taskManager = taskManager;
+        this.jsonTransformer = jsonTransformer;
+    }
+
+    @Override
+    public String getBasePath() {
+        return BASE;
+    }
+
+    @Override
+    public void define(Service service) {
+        service.post(BASE, this::performActionOnMailboxUsage, jsonTransformer);
+    }
+
+    @POST
+    @ApiOperation(value = "Performing operations on the usage (message count and size) of Cassandra mailboxes")
+    @ApiImplicitParams({
+        @ApiImplicitParam(
+            required = true,
+            dataType = "String",
+            name = "action",
+            paramType = "query",
+            example = "?action=SolveInconsistencies",
+            value = "Specify the action to perform on mailbox usage. 'SolveInconsistencies' recomputes the usage of every mailbox "
+                + "from the messages it contains. 'RecomputeCurrentQuotas' recomputes the current quotas of every user from the "
+                + "usage of its mailboxes."),
+        @ApiImplicitParam(
+            required = false,
+            dataType = "Integer",
+            name = "usersPerSecond",
+            paramType = "query",
+            example = "?usersPerSecond=10",
+            value = "Only for 'RecomputeCurrentQuotas': throttles the count of users handled per second. Unlimited by default."),
+    })
+    @ApiResponses(value = {
+        @ApiResponse(code = HttpStatus.CREATED_201, message = "The taskId of the given scheduled task", response = TaskIdDto.class,
+            responseHeaders = {
+                @ResponseHeader(name = "Location", description = "URL of the resource associated with the scheduled task")
+            }),
+        @ApiResponse(code = HttpStatus.BAD_REQUEST_400, message = "Invalid action argument for performing operation on mailbox usage")
+    })
+    public TaskIdDto performActionOnMailboxUsage(Request request, Response response) {
+        String action = request.queryParams("action");
+        if (SOLVE_INCONSISTENCIES.equals(action)) {
+            TaskId taskId = taskManager.submit(new MailboxUsageSolveInconsistenciesTask(taskRunner));
+            return TaskIdDto.respond(response, taskId);
+        }
+        if (RECOMPUTE_CURRENT_QUOTAS.equals(action)) {
+            TaskId taskId = taskManager.submit(new RecomputeCurrentQuotasTask(recomputeCurrentQuotasTaskRunner, extractUsersPerSecond(request)));
+            return TaskIdDto.respond(response, taskId);
+        }
+        throw ErrorResponder.builder()
+            .statusCode(HttpStatus.BAD_REQUEST_400)
+            .type(ErrorType.INVALID_ARGUMENT)
+            .message("Invalid action argument for performing operation on mailbox usage. Supported actions: "
+                + SOLVE_INCONSISTENCIES + ", " + RECOMPUTE_CURRENT_QUOTAS)
+            .haltError();
+    }
+
+    private Optional<Integer> extractUsersPerSecond(Request request) {
+        try {
+            Optional<Integer> usersPerSecond = Optional.ofNullable(Strings.emptyToNull(request.queryParams(USERS_PER_SECOND_QUERY_PARAM)))
+                .map(Integer::valueOf);
+            Preconditions.checkArgument(usersPerSecond.map(value -> value > 0).orElse(true));
+            return usersPerSecond;
+        } catch (IllegalArgumentException e) {
+            throw ErrorResponder.builder()
+                .statusCode(HttpStatus.BAD_REQUEST_400)
+                .type(ErrorType.INVALID_ARGUMENT)
+                .message("'" + USERS_PER_SECOND_QUERY_PARAM + "' needs to be a strictly positive integer")
+                .cause(e)
+                .haltError();
+        }
+    }
+}
@@ -19,6 +19,9 @@
 
 package org.apache.james.webadmin.routes;
 
+import java.util.Optional;
+import java.util.Set;
+
 import javax.inject.Inject;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
@@ -30,6 +33,7 @@ import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.exception.MailboxNotFoundException;
 import org.apache.james.mailbox.indexer.IndexingDetailInformation;
 import org.apache.james.mailbox.indexer.ReIndexer;
+import org.apache.james.mailbox.indexer.RunningOptions;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.task.Task;
 import org.apache.james.task.TaskId;
@@ -43,6 +47,7 @@ import org.apache.james.webadmin.utils.JsonTransformer;
 import org.eclipse.jetty.http.HttpStatus;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
@@ -66,6 +71,10 @@ public class ReindexingRoutes implements Routes {
     private static final String BASE_PATH = "/mailboxes";
     private static final String USER_QUERY_PARAM = "user";
     private static final String RE_INDEX_FAILED_MESSAGES_QUERY_PARAM = "reIndexFailedMessagesOf";
+    private static final String RESUME_FROM_QUERY_PARAM = "resumeFrom";
+    private static final String MAILBOX_CONCURRENCY_QUERY_PARAM = "mailboxConcurrency";
+    private static final String FETCH_BATCH_SIZE_QUERY_PARAM = "fetchBatchSize";
+    private static final String MESSAGES_PER_SECOND_QUERY_PARAM = "messagesPerSecond";
     private static final String MAILBOX_PARAM = ":mailbox";
     private static final String UID_PARAM = ":uid";
     private static final String MAILBOX_PATH = BASE_PATH + "/" + MAILBOX_PARAM;
@@ -124,7 +133,36 @@ public class ReindexingRoutes implements Routes {
             defaultValue = "none",
             example = "?reIndexFailedMessagesOf=3294a976-ce63-491e-bd52-1b6f465ed7a2",
             value = "optional. References a previously run reIndexing task. if present, the messages that this previous " +
-                "task failed to index will be reIndexed.")
+                "task failed to index will be reIndexed."),
+        @ApiImplicitParam(
+            name = "resumeFrom",
+            paramType = "query parameter",
+            dataType = "String",
+            defaultValue = "none",
+            example = "?resumeFrom=3294a976-ce63-491e-bd52-1b6f465ed7a2",
+            value = "optional. References a previously run, for instance cancelled, full or user reIndexing task. If present, " +
+                "the mailboxes this previous task fully processed will be skipped."),
+        @ApiImplicitParam(
+            name = "mailboxConcurrency",
+            paramType = "query parameter",
+            dataType = "Integer",
+            defaultValue = "4",
+            example = "?mailboxConcurrency=2",
+            value = "optional. Count of mailboxes re-indexed concurrently."),
+        @ApiImplicitParam(
+            name = "fetchBatchSize",
+            paramType = "query parameter",
+            dataType = "Integer",
+            defaultValue = "20",
+            example = "?fetchBatchSize=50",
+            value = "optional. Count of messages read at once from a mailbox and handed together to the index."),
+        @ApiImplicitParam(
+            name = "messagesPerSecond",
+            paramType = "query parameter",
+            dataType = "Integer",
+            defaultValue = "none",
+            example = "?messagesPerSecond=100",
+            value = "optional. If present, limits the count of messages re-indexed per second.")
     })
     @ApiResponses(value = {
         @ApiResponse(code = HttpStatus.CREATED_201, message = "Task is created", response = TaskIdDto.class),
@@ -134,21 +172,33 @@ public class ReindexingRoutes implements Routes {
     private TaskIdDto reIndexAll(Request request, Response response) {
         boolean userReIndexing = !Strings.isNullOrEmpty(request.queryParams(USER_QUERY_PARAM));
         boolean indexingCorrection = !Strings.isNullOrEmpty(request.queryParams(RE_INDEX_FAILED_MESSAGES_QUERY_PARAM));
+        boolean resuming = !Strings.isNullOrEmpty(request.queryParams(RESUME_FROM_QUERY_PARAM));
         if (userReIndexing && indexingCorrection) {
-            return rejectInvalidQueryParameterCombination();
+            return rejectInvalidQueryParameterCombination(USER_QUERY_PARAM, RE_INDEX_FAILED_MESSAGES_QUERY_PARAM);
         }
-        if (userReIndexing) {
-            return wrap(request, response, () -> reIndexer.reIndex(extractUser(request)));
+        if (resuming && indexingCorrection) {
+            return rejectInvalidQueryParameterCombination(RESUME_FROM_QUERY_PARAM, RE_INDEX_FAILED_MESSAGES_QUERY_PARAM);
         }
         if (indexingCorrection) {
-            IndexingDetailInformation indexingDetailInformation = retrieveIndexingExecutionDetails(request);
+            IndexingDetailInformation indexingDetailInformation = retrieveIndexingExecutionDetails(request, RE_INDEX_FAILED_MESSAGES_QUERY_PARAM);
             return wrap(request, response, () -> reIndexer.reIndex(indexingDetailInformation.failures()));
         }
-        return wrap(request, response, reIndexer::reIndex);
+        Set<MailboxId> processedMailboxIds = extractProcessedMailboxIds(request, resuming);
+        if (userReIndexing) {
+            return wrap(request, response, () -> reIndexer.reIndex(extractUser(request), extractRunningOptions(request), processedMailboxIds));
+        }
+        return wrap(request, response, () -> reIndexer.reIndex(extractRunningOptions(request), processedMailboxIds));
     }
 
-    private IndexingDetailInformation retrieveIndexingExecutionDetails(Request request) {
-        TaskId taskId = getTaskId(request);
+    private Set<MailboxId> extractProcessedMailboxIds(Request request, boolean resuming) {
+        if (resuming) {
+            return retrieveIndexingExecutionDetails(request, RESUME_FROM_QUERY_PARAM).processedMailboxIds();
+        }
+        return ImmutableSet.of();
+    }
+
+    private IndexingDetailInformation retrieveIndexingExecutionDetails(Request request, String taskIdQueryParameter) {
+        TaskId taskId = getTaskId(request, taskIdQueryParameter);
         try {
             return previousReIndexingService.retrieveIndexingExecutionDetails(taskId);
         } catch (PreviousReIndexingService.NotAnIndexingRetriableTask | PreviousReIndexingService.TaskNotYetFinishedException e) {
@@ -168,9 +218,9 @@ public class ReindexingRoutes implements Routes {
         }
     }
 
-    private TaskId getTaskId(Request request) {
+    private TaskId getTaskId(Request request, String taskIdQueryParameter) {
         try {
-            String id = request.queryParams(RE_INDEX_FAILED_MESSAGES_QUERY_PARAM);
+            String id = request.queryParams(taskIdQueryParameter);
             return TaskId.fromString(id);
         } catch (Exception e) {
             throw ErrorResponder.builder()
@@ -182,11 +232,11 @@ public class ReindexingRoutes implements Routes {
         }
     }
 
-    private TaskIdDto rejectInvalidQueryParameterCombination() {
+    private TaskIdDto rejectInvalidQueryParameterCombination(String firstQueryParameter, String secondQueryParameter) {
         throw ErrorResponder.builder()
             .statusCode(HttpStatus.BAD_REQUEST_400)
             .type(ErrorResponder.ErrorType.INVALID_ARGUMENT)
-            .message("Can not specify '" + USER_QUERY_PARAM + "' and '" + RE_INDEX_FAILED_MESSAGES_QUERY_PARAM + "' query parameters at the same time")
+            .message("Can not specify '" + firstQueryParameter + "' and '" + secondQueryParameter + "' query parameters at the same time")
             .haltError();
     }
 
@@ -216,7 +266,28 @@ public class ReindexingRoutes implements Routes {
             paramType = "path parameter",
             dataType = "String",
             defaultValue = "none",
-            value = "Compulsory. Needs to be a valid mailbox ID")
+            value = "Compulsory. Needs to be a valid mailbox ID"),
+        @ApiImplicitParam(
+            name = "mailboxConcurrency",
+            paramType = "query parameter",
+            dataType = "Integer",
+            defaultValue = "4",
+            example = "?mailboxConcurrency=2",
+            value = "optional. Count of mailboxes re-indexed concurrently."),
+        @ApiImplicitParam(
+            name = "fetchBatchSize",
+            paramType = "query parameter",
+            dataType = "Integer",
+            defaultValue = "20",
+            example = "?fetchBatchSize=50",
+            value = "optional. Count of messages read at once from a mailbox and handed together to the index."),
+        @ApiImplicitParam(
+            name = "messagesPerSecond",
+            paramType = "query parameter",
+            dataType = "Integer",
+            defaultValue = "none",
+            example = "?messagesPerSecond=100",
+            value = "optional. If present, limits the count of messages re-indexed per second.")
     })
     @ApiResponses(value = {
         @ApiResponse(code = HttpStatus.CREATED_201, message = "Task is created", response = TaskIdDto.class),
@@ -225,7 +296,7 @@ public class ReindexingRoutes implements Routes {
     })
     private TaskIdDto reIndexMailbox(Request request, Response response) {
         return wrap(request, response,
-            () -> reIndexer.reIndex(extractMailboxId(request)));
+            () -> reIndexer.reIndex(extractMailboxId(request), extractRunningOptions(request)));
     }
 
     @POST
@@ -299,6 +370,29 @@ public class ReindexingRoutes implements Routes {
         }
     }
 
+    private RunningOptions extractRunningOptions(Request request) {
+        try {
+            RunningOptions.Builder builder = RunningOptions.builder();
+            extractIntQueryParameter(request, MAILBOX_CONCURRENCY_QUERY_PARAM).ifPresent(builder::mailboxConcurrency);
+            extractIntQueryParameter(request, FETCH_BATCH_SIZE_QUERY_PARAM).ifPresent(builder::fetchBatchSize);
+            extractIntQueryParameter(request, MESSAGES_PER_SECOND_QUERY_PARAM).ifPresent(builder::messagesPerSecond);
+            return builder.build();
+        } catch (IllegalArgumentException e) {
+            throw ErrorResponder.builder()
+                .statusCode(HttpStatus.BAD_REQUEST_400)
+                .type(ErrorResponder.ErrorType.INVALID_ARGUMENT)
+                .message("Invalid running options: '" + MAILBOX_CONCURRENCY_QUERY_PARAM + "', '" + FETCH_BATCH_SIZE_QUERY_PARAM
+                    + "' and '" + MESSAGES_PER_SECOND_QUERY_PARAM + "' need to be strictly positive integers")
+                .cause(e)
+                .haltError();
+        }
+    }
+
+    private Optional<Integer> extractIntQueryParameter(Request request, String parameterName) {
+        return Optional.ofNullable(Strings.emptyToNull(request.queryParams(parameterName)))
+            .map(Integer::valueOf);
+    }
+
     private MailboxId extractMailboxId(Request request) {
         try {
             return mailboxIdFactory.fromString(request.params(MAILBOX_PARAM));
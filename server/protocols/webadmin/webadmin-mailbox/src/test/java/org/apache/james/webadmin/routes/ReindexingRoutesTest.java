@@ -26,10 +26,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
@@ -84,6 +87,7 @@ class ReindexingRoutesTest {
         MemoryTaskManager taskManager = new MemoryTaskManager(new Hostname("foo"));
         InMemoryId.Factory mailboxIdFactory = new InMemoryId.Factory();
         searchIndex = mock(ListeningMessageSearchIndex.class);
+        doCallRealMethod().when(searchIndex).add(any(MailboxSession.class), any(Mailbox.class), anyList());
         ReIndexerPerformer reIndexerPerformer = new ReIndexerPerformer(
             mailboxManager,
             searchIndex,
@@ -142,6 +146,28 @@ class ReindexingRoutesTest {
                     .body("type", is(ErrorResponder.ErrorType.INVALID_ARGUMENT.getType()))
                     .body("message", is("task query parameter is mandatory. The only supported value is `reIndex`"));
             }
+
+            @Test
+            void fullReprocessingShouldFailWithNonPositiveFetchBatchSize() {
+                when()
+                    .post("/mailboxes?task=reIndex&fetchBatchSize=0")
+                .then()
+                    .statusCode(HttpStatus.BAD_REQUEST_400)
+                    .body("statusCode", is(400))
+                    .body("type", is(ErrorResponder.ErrorType.INVALID_ARGUMENT.getType()))
+                    .body("message", is("Invalid running options: 'mailboxConcurrency', 'fetchBatchSize' and 'messagesPerSecond' need to be strictly positive integers"));
+            }
+
+            @Test
+            void fullReprocessingShouldFailWithNonNumericMailboxConcurrency() {
+                when()
+                    .post("/mailboxes?task=reIndex&mailboxConcurrency=abc")
+                .then()
+                    .statusCode(HttpStatus.BAD_REQUEST_400)
+                    .body("statusCode", is(400))
+                    .body("type", is(ErrorResponder.ErrorType.INVALID_ARGUMENT.getType()))
+                    .body("message", is("Invalid running options: 'mailboxConcurrency', 'fetchBatchSize' and 'messagesPerSecond' need to be strictly positive integers"));
+            }
         }
 
         @Nested
@@ -230,6 +256,40 @@ class ReindexingRoutesTest {
                     .body("startedDate", is(notNullValue()))
                     .body("submitDate", is(notNullValue()));
             }
+
+            @Test
+            void fullReprocessingShouldSkipMailboxesProcessedByTheResumedTask() throws Exception {
+                MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
+                mailboxManager.createMailbox(INBOX, systemSession).get();
+                mailboxManager.getMailbox(INBOX, systemSession)
+                    .appendMessage(
+                        MessageManager.AppendCommand.builder().build("header: value\r\n\r\nbody"),
+                        systemSession);
+
+                String previousTaskId = with()
+                    .post("/mailboxes?task=reIndex")
+                    .jsonPath()
+                    .get("taskId");
+                with()
+                    .basePath(TasksRoutes.BASE)
+                    .get(previousTaskId + "/await");
+
+                String taskId = with()
+                    .queryParam("resumeFrom", previousTaskId)
+                    .post("/mailboxes?task=reIndex")
+                    .jsonPath()
+                    .get("taskId");
+
+                given()
+                    .basePath(TasksRoutes.BASE)
+                .when()
+                    .get(taskId + "/await")
+                .then()
+                    .body("status", is("completed"))
+                    .body("type", is(FullReindexingTask.FULL_RE_INDEXING.asString()))
+                    .body("additionalInformation.successfullyReprocessedMailCount", is(0))
+                    .body("additionalInformation.failedReprocessedMailCount", is(0));
+            }
         }
 
         @Nested
@@ -260,6 +320,7 @@ class ReindexingRoutesTest {
                 ArgumentCaptor<Mailbox> mailboxCaptor2 = ArgumentCaptor.forClass(Mailbox.class);
 
                 verify(searchIndex).deleteAll(any(MailboxSession.class), mailboxIdCaptor.capture());
+                verify(searchIndex).add(any(MailboxSession.class), any(Mailbox.class), anyList());
                 verify(searchIndex).add(any(MailboxSession.class), mailboxCaptor2.capture(), messageCaptor.capture());
                 verifyNoMoreInteractions(searchIndex);
 
@@ -268,6 +329,28 @@ class ReindexingRoutesTest {
                 assertThat(messageCaptor.getValue()).matches(message -> message.getMailboxId().equals(mailboxId)
                     && message.getUid().equals(createdMessage.getUid()));
             }
+
+            @Test
+            void fullReprocessingShouldIndexMessagesByFetchBatchSize() throws Exception {
+                MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
+                mailboxManager.createMailbox(INBOX, systemSession);
+                MessageManager inbox = mailboxManager.getMailbox(INBOX, systemSession);
+                inbox.appendMessage(MessageManager.AppendCommand.builder().build("header: value\r\n\r\nbody"), systemSession);
+                inbox.appendMessage(MessageManager.AppendCommand.builder().build("header: value\r\n\r\nbody"), systemSession);
+
+                String taskId = with()
+                    .post("/mailboxes?task=reIndex&fetchBatchSize=1")
+                    .jsonPath()
+                    .get("taskId");
+
+                with()
+                    .basePath(TasksRoutes.BASE)
+                    .get(taskId + "/await")
+                    .then()
+                    .body("status", is("completed"));
+
+                verify(searchIndex, times(2)).add(any(MailboxSession.class), any(Mailbox.class), anyList());
+            }
         }
     }
 
@@ -447,6 +530,7 @@ class ReindexingRoutesTest {
                 ArgumentCaptor<Mailbox> mailboxCaptor2 = ArgumentCaptor.forClass(Mailbox.class);
 
                 verify(searchIndex).deleteAll(any(MailboxSession.class), mailboxIdCaptor.capture());
+                verify(searchIndex).add(any(MailboxSession.class), any(Mailbox.class), anyList());
                 verify(searchIndex).add(any(MailboxSession.class), mailboxCaptor2.capture(), messageCaptor.capture());
                 verifyNoMoreInteractions(searchIndex);
 
@@ -635,6 +719,7 @@ class ReindexingRoutesTest {
                 ArgumentCaptor<Mailbox> mailboxCaptor2 = ArgumentCaptor.forClass(Mailbox.class);
 
                 verify(searchIndex).deleteAll(any(MailboxSession.class), mailboxIdCaptor.capture());
+                verify(searchIndex).add(any(MailboxSession.class), any(Mailbox.class), anyList());
                 verify(searchIndex).add(any(MailboxSession.class), mailboxCaptor2.capture(), messageCaptor.capture());
                 verifyNoMoreInteractions(searchIndex);
 
@@ -987,6 +1072,30 @@ class ReindexingRoutesTest {
                     .body("message", is("Can not specify 'user' and 'reIndexFailedMessagesOf' query parameters at the same time"));
             }
 
+            @Test
+            void fixingReIndexingShouldThrowOnResumeFromParameter() {
+                String taskId = with()
+                    .post("/mailboxes?task=reIndex")
+                    .jsonPath()
+                    .get("taskId");
+
+                with()
+                    .basePath(TasksRoutes.BASE)
+                    .get(taskId + "/await");
+
+                given()
+                    .queryParam("reIndexFailedMessagesOf", taskId)
+                    .queryParam("task", "reIndex")
+                    .queryParam("resumeFrom", taskId)
+                .when()
+                    .post("/mailboxes")
+                .then()
+                    .statusCode(HttpStatus.BAD_REQUEST_400)
+                    .body("statusCode", is(400))
+                    .body("type", is(ErrorResponder.ErrorType.INVALID_ARGUMENT.getType()))
+                    .body("message", is("Can not specify 'resumeFrom' and 'reIndexFailedMessagesOf' query parameters at the same time"));
+            }
+
             @Test
             void fixingReIndexingShouldFailWithBadTask() {
                 String taskId = with()
@@ -28,6 +28,9 @@ import org.apache.mailet.Mail;
 import org.reactivestreams.Publisher;
 import org.threeten.extra.Temporals;
 
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
 /**
  * <p>
  * A Queue/Spool for Mails. How the Queue handles the ordering of the dequeuing
@@ -63,6 +66,7 @@ public interface MailQueue {
     String ENQUEUED_METRIC_NAME_PREFIX = "enqueuedMail:";
     String DEQUEUED_METRIC_NAME_PREFIX = "dequeuedMail:";
     String ENQUEUED_TIMER_METRIC_NAME_PREFIX = "enqueueTime:";
+    String DEQUEUED_TIMER_METRIC_NAME_PREFIX = "dequeueTime:";
     String QUEUE_SIZE_METRIC_NAME_PREFIX = "mailQueueSize:";
 
     /**
@@ -104,6 +108,23 @@ public interface MailQueue {
      */
     void enQueue(Mail mail) throws MailQueueException;
 
+    /**
+     * Enqueue the Mail to the queue without blocking the caller.
+     *
+     * Implementations relying on non blocking drivers should override this method. The default one runs the blocking
+     * {@link #enQueue(Mail)} on a bounded elastic scheduler.
+     *
+     * @param mail
+     * @return a publisher completing once the Mail is enqueued, or failing with a {@link MailQueueException}
+     */
+    default Publisher<Void> enqueueReactive(Mail mail) {
+        return Mono.<Void>fromCallable(() -> {
+                enQueue(mail);
+                return null;
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
     /**
      * Dequeue the next ready-to-process Mail of the queue. This method will
      * block until a Mail is ready and then process the operation.
@@ -134,6 +134,32 @@ public interface MailQueueContract {
         assertThat(dequeuedItemNames).hasSize(2).containsOnly(name);
     }
 
+    @Test
+    default void enqueueReactiveShouldEnqueueTheMail() throws Exception {
+        Mono.from(getMailQueue().enqueueReactive(defaultMail()
+                .name("name")
+                .recipients(RECIPIENT1, RECIPIENT2)
+                .build()))
+            .block();
+
+        MailQueue.MailQueueItem mailQueueItem = Flux.from(getMailQueue().deQueue()).blockFirst();
+        assertThat(mailQueueItem.getMail().getName()).isEqualTo("name");
+        assertThat(mailQueueItem.getMail().getRecipients()).containsOnly(RECIPIENT1, RECIPIENT2);
+    }
+
+    @Test
+    default void enqueueReactiveShouldBeLazy() throws Exception {
+        getMailQueue().enqueueReactive(defaultMail()
+            .name("lazy")
+            .build());
+        enQueue(defaultMail()
+            .name("name")
+            .build());
+
+        MailQueue.MailQueueItem mailQueueItem = Flux.from(getMailQueue().deQueue()).blockFirst();
+        assertThat(mailQueueItem.getMail().getName()).isEqualTo("name");
+    }
+
     @Test
     default void queueShouldHandleNoSender() throws Exception {
         enQueue(FakeMail.builder()
@@ -20,6 +20,7 @@
 package org.apache.james.queue.rabbitmq;
 
 import static org.apache.james.queue.api.MailQueue.DEQUEUED_METRIC_NAME_PREFIX;
+import static org.apache.james.queue.api.MailQueue.DEQUEUED_TIMER_METRIC_NAME_PREFIX;
 
 import java.io.IOException;
 import java.util.function.Consumer;
@@ -74,6 +75,8 @@ class Dequeuer {
 
     private final Function<MailReferenceDTO, MailWithEnqueueId> mailLoader;
     private final Metric dequeueMetric;
+    private final MetricFactory metricFactory;
+    private final String dequeueTimerName;
     private final MailReferenceSerializer mailReferenceSerializer;
     private final MailQueueView mailQueueView;
 
@@ -83,15 +86,18 @@ class Dequeuer {
         this.mailLoader = mailLoader;
         this.mailReferenceSerializer = serializer;
         this.mailQueueView = mailQueueView;
+        this.metricFactory = metricFactory;
         this.dequeueMetric = metricFactory.generate(DEQUEUED_METRIC_NAME_PREFIX + name.asString());
+        this.dequeueTimerName = DEQUEUED_TIMER_METRIC_NAME_PREFIX + name.asString();
         this.flux = reactorRabbitMQChannelPool.createReceiver()
             .consumeManualAck(name.toWorkQueueName().asString(), new ConsumeOptions().qos(EXECUTION_RATE))
             .filter(getResponse -> getResponse.getBody() != null);
     }
 
     Flux<? extends MailQueue.MailQueueItem> deQueue() {
-        return flux.concatMap(this::loadItem)
-            .concatMap(this::filterIfDeleted);
+        return flux.concatMap(response -> metricFactory.runPublishingTimerMetric(dequeueTimerName,
+            Mono.defer(() -> loadItem(response))
+                .flatMap(this::filterIfDeleted)));
     }
 
     private Mono<RabbitMQMailQueueItem> filterIfDeleted(RabbitMQMailQueueItem item) {
@@ -37,10 +37,10 @@ import org.apache.james.queue.rabbitmq.view.api.MailQueueView;
 import org.apache.mailet.Mail;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.github.fge.lambdas.Throwing;
 
 import reactor.core.publisher.Mono;
 import reactor.rabbitmq.OutboundMessage;
+import reactor.rabbitmq.OutboundMessageResult;
 import reactor.rabbitmq.Sender;
 
 class Enqueuer {
@@ -64,38 +64,52 @@ class Enqueuer {
         this.enqueueMetric = metricFactory.generate(ENQUEUED_METRIC_NAME_PREFIX + name.asString());
     }
 
-    void enQueue(Mail mail) throws MailQueue.MailQueueException {
+    /**
+     * The blob is saved first as both the RabbitMQ message and the view entry reference its parts. The view is then
+     * updated only once RabbitMQ confirmed the publication, so that it never lists a mail that is not enqueued.
+     */
+    Mono<Void> enqueueReactive(Mail mail) {
         EnqueueId enqueueId = EnqueueId.generate();
-        saveMail(mail)
+        return Mono.defer(() -> saveMail(mail))
             .map(partIds -> new MailReference(enqueueId, mail, partIds))
-            .flatMap(Throwing.function(this::publishReferenceToRabbit).sneakyThrow())
-            .flatMap(mailQueueView::storeMail)
-            .thenEmpty(Mono.fromRunnable(enqueueMetric::increment))
-            .block();
+            .flatMap(mailReference -> publishReferenceToRabbit(mailReference)
+                .then(Mono.defer(() -> mailQueueView.storeMail(asEnqueuedItem(mailReference)))))
+            .then(Mono.fromRunnable(enqueueMetric::increment));
     }
 
-    private Mono<MimeMessagePartsId> saveMail(Mail mail) throws MailQueue.MailQueueException {
+    private Mono<MimeMessagePartsId> saveMail(Mail mail) {
         try {
             return mimeMessageStore.save(mail.getMessage());
         } catch (MessagingException e) {
-            throw new MailQueue.MailQueueException("Error while saving blob", e);
+            return Mono.error(new MailQueue.MailQueueException("Error while saving blob", e));
         }
     }
 
-    private Mono<EnqueuedItem> publishReferenceToRabbit(MailReference mailReference) throws MailQueue.MailQueueException {
-        OutboundMessage data = new OutboundMessage(
-            name.toRabbitExchangeName().asString(),
-            EMPTY_ROUTING_KEY,
-            getMailReferenceBytes(mailReference));
-        return sender.send(Mono.just(data))
-            .then(Mono.just(
-                EnqueuedItem.builder()
-                    .enqueueId(mailReference.getEnqueueId())
-                    .mailQueueName(name)
-                    .mail(mailReference.getMail())
-                    .enqueuedTime(clock.instant())
-                    .mimeMessagePartsId(mailReference.getPartsId())
-                    .build()));
+    private Mono<Void> publishReferenceToRabbit(MailReference mailReference) {
+        return Mono.fromCallable(() -> new OutboundMessage(
+                name.toRabbitExchangeName().asString(),
+                EMPTY_ROUTING_KEY,
+                getMailReferenceBytes(mailReference)))
+            .flatMapMany(data -> sender.sendWithPublishConfirms(Mono.just(data)))
+            .flatMap(this::checkAcknowledged)
+            .then();
+    }
+
+    private Mono<Void> checkAcknowledged(OutboundMessageResult result) {
+        if (result.isAck()) {
+            return Mono.empty();
+        }
+        return Mono.error(new MailQueue.MailQueueException("RabbitMQ did not confirm the publication of the mail reference in " + name.asString()));
+    }
+
+    private EnqueuedItem asEnqueuedItem(MailReference mailReference) {
+        return EnqueuedItem.builder()
+            .enqueueId(mailReference.getEnqueueId())
+            .mailQueueName(name)
+            .mail(mailReference.getMail())
+            .enqueuedTime(clock.instant())
+            .mimeMessagePartsId(mailReference.getPartsId())
+            .build();
     }
 
     private byte[] getMailReferenceBytes(MailReference mailReference) throws MailQueue.MailQueueException {
@@ -30,9 +30,10 @@ import org.apache.mailet.Mail;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.github.fge.lambdas.Throwing;
 import com.google.common.base.MoreObjects;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public class RabbitMQMailQueue implements ManageableMailQueue {
 
@@ -70,9 +71,22 @@ public class RabbitMQMailQueue implements ManageableMailQueue {
     }
 
     @Override
-    public void enQueue(Mail mail) {
-        metricFactory.runPublishingTimerMetric(ENQUEUED_TIMER_METRIC_NAME_PREFIX + name.asString(),
-            Throwing.runnable(() -> enqueuer.enQueue(mail)).sneakyThrow());
+    public void enQueue(Mail mail) throws MailQueueException {
+        try {
+            enqueueReactive(mail).block();
+        } catch (RuntimeException e) {
+            Throwable cause = Exceptions.unwrap(e);
+            if (cause instanceof MailQueueException) {
+                throw (MailQueueException) cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Mono<Void> enqueueReactive(Mail mail) {
+        return metricFactory.runPublishingTimerMetric(ENQUEUED_TIMER_METRIC_NAME_PREFIX + name.asString(),
+            enqueuer.enqueueReactive(mail));
     }
 
     @Override